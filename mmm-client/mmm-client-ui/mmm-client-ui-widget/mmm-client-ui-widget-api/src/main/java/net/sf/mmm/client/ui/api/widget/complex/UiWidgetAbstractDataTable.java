@@ -12,6 +12,7 @@ import net.sf.mmm.client.ui.api.widget.UiWidgetRegular;
 import net.sf.mmm.client.ui.api.widget.UiWidgetWithValue;
 import net.sf.mmm.client.ui.api.widget.factory.UiSingleWidgetFactory;
 import net.sf.mmm.util.lang.api.EqualsChecker;
+import net.sf.mmm.util.lang.api.HashCodeFunction;
 import net.sf.mmm.util.pojo.path.api.TypedProperty;
 import net.sf.mmm.util.value.api.PropertyAccessor;
 
@@ -166,4 +167,29 @@ public interface UiWidgetAbstractDataTable<ROW> extends UiWidgetRegular, UiFeatu
    */
   void setRowEqualsChecker(EqualsChecker<ROW> equalsChecker);
 
+  /**
+   * @see #setRowEqualsChecker(EqualsChecker, HashCodeFunction)
+   * 
+   * @return the {@link HashCodeFunction} that is consistent with the {@link #getRowEqualsChecker() row equals
+   *         checker} or <code>null</code> if unknown.
+   */
+  HashCodeFunction<ROW> getRowHashCodeFunction();
+
+  /**
+   * This method sets the {@link EqualsChecker} used to compare if two given rows are considered equal together
+   * with a {@link HashCodeFunction} that is consistent with it (rows considered equal have the same hash code).
+   * This allows to look up rows via a hash index. For
+   * {@link net.sf.mmm.util.lang.api.EqualsCheckerIsSame} and {@link net.sf.mmm.util.lang.api.EqualsCheckerIsEqual}
+   * the according {@link HashCodeFunction} is determined automatically by
+   * {@link #setRowEqualsChecker(EqualsChecker)}. For other {@link EqualsChecker}s rows are looked up by a linear
+   * scan unless a {@link HashCodeFunction} is given here.
+   * 
+   * @see #setRowEqualsChecker(EqualsChecker)
+   * 
+   * @param equalsChecker is the new {@link EqualsChecker} to use.
+   * @param hashCodeFunction is the {@link HashCodeFunction} consistent with the given <code>equalsChecker</code>
+   *        or <code>null</code> to look up rows by a linear scan.
+   */
+  void setRowEqualsChecker(EqualsChecker<ROW> equalsChecker, HashCodeFunction<ROW> hashCodeFunction);
+
 }
@@ -2,6 +2,9 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.client.ui.api.widget.complex;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 import net.sf.mmm.client.ui.api.widget.UiWidgetListBase;
 
 /**
@@ -75,4 +78,64 @@ public interface UiWidgetAbstractListTable<ROW> extends UiWidgetAbstractDataTabl
    */
   boolean removeRow(ROW row);
 
+  /**
+   * This method starts a batch update. All modifications of the rows (e.g. {@link #addRow(Object)},
+   * {@link #removeRow(Object)} or {@link #replaceRow(Object, Object)}) until the according call of
+   * {@link #endUpdate()} are collected and sent to the native widget as a single change set. This is
+   * strongly recommended for bulk updates of large tables. Calls may be nested.
+   */
+  void beginUpdate();
+
+  /**
+   * This method ends a batch update started by {@link #beginUpdate()}. If this is the outermost call, the
+   * collected changes are applied to the native widget.
+   */
+  void endUpdate();
+
+  /**
+   * This method sets a {@link UiListTableDataProvider} that lazily supplies the rows of this list table.
+   * Instead of {@link #setValue(Object) setting} all rows at once, only the rows that actually need to be
+   * displayed are requested and materialized page by page. Setting the data provider replaces the current
+   * rows.
+   * 
+   * @param dataProvider is the {@link UiListTableDataProvider} or <code>null</code> to remove the current
+   *        data provider (the rows materialized so far will remain).
+   */
+  void setDataProvider(UiListTableDataProvider<ROW> dataProvider);
+
+  /**
+   * This is the interface for a lazy provider of the rows for a {@link UiWidgetAbstractListTable}. It allows
+   * to display huge lists of rows where only the visible pages are actually loaded (e.g. from the server).
+   * 
+   * @param <ROW> is the generic type of the rows.
+   */
+  interface UiListTableDataProvider<ROW> {
+
+    /**
+     * @return the total number of rows available from this provider.
+     */
+    int getRowCount();
+
+    /**
+     * This method gets a page of rows.
+     * 
+     * @param offset is the index of the first requested row.
+     * @param count is the number of requested rows.
+     * @return the {@link List} of rows or <code>null</code> if NOT available and
+     *         {@link #getRowsAsync(int, int, Consumer) asynchronous loading} is required.
+     */
+    List<ROW> getRows(int offset, int count);
+
+    /**
+     * This method gets a page of rows asynchronously.
+     * 
+     * @param offset is the index of the first requested row.
+     * @param count is the number of requested rows.
+     * @param callback is the {@link Consumer} that will be {@link Consumer#accept(Object) called} when the
+     *        rows are available.
+     */
+    void getRowsAsync(int offset, int count, Consumer<List<ROW>> callback);
+
+  }
+
 }
@@ -27,7 +27,7 @@ import net.sf.mmm.util.pojo.descriptor.api.accessor.PojoPropertyAccessorOneArg;
 import net.sf.mmm.util.pojo.descriptor.api.accessor.PojoPropertyAccessorOneArgMode;
 import net.sf.mmm.util.pojo.path.api.TypedProperty;
 import net.sf.mmm.util.validation.api.ValueValidator;
-import net.sf.mmm.util.validation.base.ValidatorJsr303;
+import net.sf.mmm.util.validation.base.ValidatorPlanJsr303;
 import net.sf.mmm.util.value.api.Range;
 
 /**
@@ -49,8 +49,8 @@ public class UiDataBindingAdapterImpl<VALUE> implements UiDataBindingAdapter<VAL
   /** The {@link DatatypeDetector} instance. */
   private final DatatypeDetector datatypeDetector;
 
-  /** The {@link Validator} instance. */
-  private final Validator validator;
+  /** The {@link ValidatorPlanJsr303} instance. */
+  private final ValidatorPlanJsr303 validatorPlan;
 
   /** @see #getMathUtil() */
   private final MathUtilLimited mathUtil;
@@ -67,11 +67,27 @@ public class UiDataBindingAdapterImpl<VALUE> implements UiDataBindingAdapter<VAL
   public UiDataBindingAdapterImpl(Class<VALUE> type, PojoDescriptorBuilderFactory descriptorBuilderFactory,
       DatatypeDetector datatypeDetector, Validator validator, MathUtilLimited mathUtil) {
 
+    this(type, descriptorBuilderFactory, datatypeDetector, new ValidatorPlanJsr303(validator), mathUtil);
+  }
+
+  /**
+   * The constructor.
+   * 
+   * @param type is the {@link Class} reflecting the value to adapt.
+   * @param descriptorBuilderFactory is the {@link PojoDescriptorBuilderFactory} instance.
+   * @param datatypeDetector is the {@link DatatypeDetector} instance.
+   * @param validatorPlan is the {@link ValidatorPlanJsr303} instance that may be shared across multiple
+   *        adapters.
+   * @param mathUtil is the {@link MathUtilLimited} instance.
+   */
+  public UiDataBindingAdapterImpl(Class<VALUE> type, PojoDescriptorBuilderFactory descriptorBuilderFactory,
+      DatatypeDetector datatypeDetector, ValidatorPlanJsr303 validatorPlan, MathUtilLimited mathUtil) {
+
     super();
     this.descriptorBuilder = descriptorBuilderFactory.createPublicMethodDescriptorBuilder();
     this.descriptor = this.descriptorBuilder.getDescriptor(type);
     this.datatypeDetector = datatypeDetector;
-    this.validator = validator;
+    this.validatorPlan = validatorPlan;
     this.mathUtil = mathUtil;
   }
 
@@ -150,7 +166,8 @@ public class UiDataBindingAdapterImpl<VALUE> implements UiDataBindingAdapter<VAL
   @Override
   public <T> ValueValidator<T> getPropertyValidator(TypedProperty<T> property, Class<T> propertyType) {
 
-    return new ValidatorJsr303<T>(this.validator, this.descriptor.getPojoClass(), property.getSegment(), propertyType);
+    return this.validatorPlan.getPropertyValidator(this.descriptor.getPojoClass(), property.getSegment(),
+        propertyType);
   }
 
   /**
@@ -159,8 +176,11 @@ public class UiDataBindingAdapterImpl<VALUE> implements UiDataBindingAdapter<VAL
   @SuppressWarnings({ "unchecked", "rawtypes" })
   public <T> Range<?> getRangeConstraints(TypedProperty<T> property, Class<T> propertyType) {
 
-    PropertyDescriptor propertyDescriptor = this.validator.getConstraintsForClass(this.descriptor.getPojoClass())
-        .getConstraintsForProperty(property.getSegment());
+    PropertyDescriptor propertyDescriptor = this.validatorPlan.getPropertyDescriptor(this.descriptor.getPojoClass(),
+        property.getSegment());
+    if (propertyDescriptor == null) {
+      return null;
+    }
 
     NumberType<?> numberType = this.mathUtil.getNumberType(propertyType);
     Object minimum = null;
@@ -15,6 +15,7 @@ import net.sf.mmm.client.ui.base.widget.custom.UiWidgetCustomComposite;
 import net.sf.mmm.util.math.api.MathUtilLimited;
 import net.sf.mmm.util.math.base.MathUtilLimitedImpl;
 import net.sf.mmm.util.pojo.descriptor.api.PojoDescriptorBuilderFactory;
+import net.sf.mmm.util.validation.base.ValidatorPlanJsr303;
 
 /**
  * This is the (default) implementation of {@link net.sf.mmm.client.ui.base.binding.UiDataBindingFactory}.
@@ -27,6 +28,9 @@ public class UiDataBindingFactoryImpl extends AbstractUiDataBindingFactory {
   /** @see #getValidator() */
   private Validator validator;
 
+  /** @see #getValidatorPlan() */
+  private ValidatorPlanJsr303 validatorPlan;
+
   /** @see #getMathUtil() */
   private MathUtilLimited mathUtil;
 
@@ -58,6 +62,18 @@ public class UiDataBindingFactoryImpl extends AbstractUiDataBindingFactory {
     this.validator = validator;
   }
 
+  /**
+   * @return the {@link ValidatorPlanJsr303} shared by all {@link UiDataBindingAdapterImpl adapters} so the
+   *         constraints are only resolved once per type and property.
+   */
+  protected ValidatorPlanJsr303 getValidatorPlan() {
+
+    if (this.validatorPlan == null) {
+      this.validatorPlan = new ValidatorPlanJsr303(getValidator());
+    }
+    return this.validatorPlan;
+  }
+
   /**
    * @return the instance of {@link MathUtilLimited}.
    */
@@ -138,7 +154,7 @@ public class UiDataBindingFactoryImpl extends AbstractUiDataBindingFactory {
     PojoDescriptorBuilderFactory descriptorBuilderFactory = context.getContainer().get(
         PojoDescriptorBuilderFactory.class);
     UiDataBindingAdapter<VALUE> adapter = new UiDataBindingAdapterImpl<VALUE>(valueType, descriptorBuilderFactory,
-        datatypeDetector, getValidator(), this.mathUtil);
+        datatypeDetector, getValidatorPlan(), this.mathUtil);
     if (widget instanceof UiWidgetCustomComposite) {
       return new UiDataBindingPojoComposite<VALUE>(widget, adapter);
     } else {
@@ -24,6 +24,11 @@ import net.sf.mmm.client.ui.base.widget.AbstractUiWidgetActive;
 import net.sf.mmm.client.ui.base.widget.complex.adapter.UiWidgetAdapterAbstractDataTable;
 import net.sf.mmm.client.ui.base.widget.complex.adapter.UiWidgetAdapterTableColumn;
 import net.sf.mmm.util.lang.api.EqualsChecker;
+import net.sf.mmm.util.lang.api.EqualsCheckerIsEqual;
+import net.sf.mmm.util.lang.api.EqualsCheckerIsSame;
+import net.sf.mmm.util.lang.api.HashCodeFunction;
+import net.sf.mmm.util.lang.api.HashCodeFunctionDefault;
+import net.sf.mmm.util.lang.api.HashCodeFunctionSystemIdentity;
 import net.sf.mmm.util.lang.api.SortOrder;
 import net.sf.mmm.util.pojo.path.api.TypedProperty;
 import net.sf.mmm.util.value.api.PropertyAccessor;
@@ -58,6 +63,9 @@ public abstract class AbstractUiWidgetAbstractDataTable<ADAPTER extends UiWidget
   /** @see #getRowEqualsChecker() */
   private EqualsChecker<ROW> rowEqualsChecker;
 
+  /** @see #getRowHashCodeFunction() */
+  private HashCodeFunction<ROW> rowHashCodeFunction;
+
   /**
    * The constructor.
    * 
@@ -72,6 +80,8 @@ public abstract class AbstractUiWidgetAbstractDataTable<ADAPTER extends UiWidget
     this.columns = new ArrayList<UiWidgetTableColumnImpl<ROW, ?>>();
     this.selectionMode = SelectionMode.SINGLE_SELECTION;
     this.selectedValues = new HashSet<TableRowContainer<ROW>>();
+    this.rowEqualsChecker = EqualsCheckerIsSame.getInstance();
+    this.rowHashCodeFunction = HashCodeFunctionSystemIdentity.getInstance();
   }
 
   /**
@@ -461,7 +471,32 @@ public abstract class AbstractUiWidgetAbstractDataTable<ADAPTER extends UiWidget
   @Override
   public void setRowEqualsChecker(EqualsChecker<ROW> rowEqualsChecker) {
 
+    HashCodeFunction<ROW> hashCodeFunction = null;
+    if (rowEqualsChecker instanceof EqualsCheckerIsSame) {
+      hashCodeFunction = HashCodeFunctionSystemIdentity.getInstance();
+    } else if (rowEqualsChecker instanceof EqualsCheckerIsEqual) {
+      hashCodeFunction = HashCodeFunctionDefault.getInstance();
+    }
+    setRowEqualsChecker(rowEqualsChecker, hashCodeFunction);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public HashCodeFunction<ROW> getRowHashCodeFunction() {
+
+    return this.rowHashCodeFunction;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setRowEqualsChecker(EqualsChecker<ROW> rowEqualsChecker, HashCodeFunction<ROW> hashCodeFunction) {
+
     this.rowEqualsChecker = rowEqualsChecker;
+    this.rowHashCodeFunction = hashCodeFunction;
   }
 
   /**
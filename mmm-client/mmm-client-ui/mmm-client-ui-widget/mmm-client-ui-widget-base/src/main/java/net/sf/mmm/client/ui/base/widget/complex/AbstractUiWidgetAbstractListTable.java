@@ -4,36 +4,85 @@ package net.sf.mmm.client.ui.base.widget.complex;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 import net.sf.mmm.client.ui.api.UiContext;
 import net.sf.mmm.client.ui.api.widget.complex.UiWidgetAbstractListTable;
 import net.sf.mmm.client.ui.base.widget.complex.adapter.ColumnContainerComparator;
 import net.sf.mmm.client.ui.base.widget.complex.adapter.UiWidgetAdapterAbstractListTable;
+import net.sf.mmm.util.collection.base.CustomHashKey;
 import net.sf.mmm.util.lang.api.EqualsChecker;
+import net.sf.mmm.util.lang.api.HashCodeFunction;
 import net.sf.mmm.util.lang.api.SortOrder;
+import net.sf.mmm.util.nls.api.NlsIllegalStateException;
 
 /**
- * This is the abstract base implementation of {@link UiWidgetAbstractListTable}.
- * 
+ * This is the abstract base implementation of {@link UiWidgetAbstractListTable}. <br/>
+ * It keeps a hash index from the {@literal <ROW>}s (according to the {@link #getRowEqualsChecker() row equals
+ * checker} and {@link #getRowHashCodeFunction() row hash code function}) to their {@link TableRowContainer}s
+ * and maintains the index positions of the rows lazily. Hence {@link #getRowIndex(Object)},
+ * {@link #removeRow(Object)} and {@link #replaceRow(Object, Object)} do not need to scan the rows. Only if no
+ * {@link #getRowHashCodeFunction() row hash code function} is available, the rows are scanned linearly. All
+ * modifications are sent to the {@link #getWidgetAdapter() widget adapter} as change sets of
+ * {@link TableRowChange}s (see {@link #beginUpdate()}).
+ *
  * @param <ADAPTER> is the generic type of {@link #getWidgetAdapter()}.
  * @param <ROW> is the generic type of a row in the {@link #getValue() value list}.
- * 
+ *
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 1.0.0
  */
 public abstract class AbstractUiWidgetAbstractListTable<ADAPTER extends UiWidgetAdapterAbstractListTable<ROW>, ROW>
     extends AbstractUiWidgetAbstractDataTable<ADAPTER, ROW> implements UiWidgetAbstractListTable<ROW> {
 
+  /** The default for {@link #setPageSize(int)}. */
+  private static final int DEFAULT_PAGE_SIZE = 50;
+
   /** @see #getRowsInternal() */
   private final List<TableRowContainer<ROW>> rows;
 
   /** The {@link ColumnContainerComparator} for this table. */
   private final ColumnContainerComparator<ROW> comparator;
 
+  /**
+   * The hash index of the {@link #rows} or <code>null</code> if it has to be rebuilt or no
+   * {@link #getRowHashCodeFunction() row hash code function} is available.
+   */
+  private Map<CustomHashKey<ROW>, TableRowContainer<ROW>> rowMap;
+
+  /** The {@link HashCodeFunction} of the {@link #rowMap}. */
+  private HashCodeFunction<ROW> rowHashCodeFunction;
+
+  /** The number of rows that are NOT in {@link #rowMap} because an equal row is already contained. */
+  private int duplicateCount;
+
+  /** The number of leading {@link #rows} that have a valid {@link TableRowContainer#index}. */
+  private int validIndexCount;
+
+  /** The collected {@link TableRowChange}s that have NOT yet been sent to the widget adapter. */
+  private List<TableRowChange<ROW>> changes;
+
+  /** The nesting depth of {@link #beginUpdate()}. */
+  private int updateDepth;
+
+  /** @see #setDataProvider(UiListTableDataProvider) */
+  private UiListTableDataProvider<ROW> dataProvider;
+
+  /** The total number of rows of the {@link #dataProvider}. */
+  private int rowCount;
+
+  /** The requested number of rows to materialize while an asynchronous load is pending or <code>0</code>. */
+  private int pendingRowCount;
+
+  /** @see #setPageSize(int) */
+  private int pageSize;
+
   /**
    * The constructor.
-   * 
+   *
    * @param context is the {@link #getContext() context}.
    * @param widgetAdapter is the {@link #getWidgetAdapter() widget adapter}. Typically <code>null</code> for
    *        lazy initialization.
@@ -43,6 +92,8 @@ public abstract class AbstractUiWidgetAbstractListTable<ADAPTER extends UiWidget
     super(context, widgetAdapter);
     this.rows = new ArrayList<TableRowContainer<ROW>>();
     this.comparator = new ColumnContainerComparator<ROW>();
+    this.changes = new ArrayList<TableRowChange<ROW>>();
+    this.pageSize = DEFAULT_PAGE_SIZE;
   }
 
   /**
@@ -58,11 +109,12 @@ public abstract class AbstractUiWidgetAbstractListTable<ADAPTER extends UiWidget
   /**
    * Returns the {@link List} with all rows of this list table. <br/>
    * <b>ATTENTION:</b><br/>
-   * The result is an internal reference that shall not be passed to users as result of API methods.
-   * 
+   * The result is an internal reference that shall not be passed to users as result of API methods. It shall
+   * also not be modified directly.
+   *
    * @see net.sf.mmm.client.ui.api.widget.complex.UiWidgetListTable#getValue()
    * @see net.sf.mmm.client.ui.api.widget.complex.UiWidgetOptionListTable#getOptions()
-   * 
+   *
    * @return the {@link List} with all rows of this list table.
    */
   List<TableRowContainer<ROW>> getRowsInternal() {
@@ -70,17 +122,48 @@ public abstract class AbstractUiWidgetAbstractListTable<ADAPTER extends UiWidget
     return this.rows;
   }
 
+  /**
+   * This method replaces the rows of this list table with the given <code>newRows</code>. Existing
+   * {@link TableRowContainer}s are reused so only the difference is sent to the widget adapter.
+   *
+   * @param newRows are the new {@literal <ROW>}s.
+   */
+  void setRowsInternal(List<ROW> newRows) {
+
+    beginUpdate();
+    try {
+      // rebuilding the hash index once is cheaper than maintaining it for every row
+      this.rowMap = null;
+      int size = this.rows.size();
+      int i = 0;
+      for (ROW newRow : newRows) {
+        if (i < size) {
+          TableRowContainer<ROW> container = this.rows.get(i);
+          if (container.getValue() != newRow) {
+            container.setValue(newRow);
+            fireRowChange(TableRowChange.Type.UPDATE, container, i, -1);
+          }
+        } else {
+          insertRowInternal(i, newRow);
+        }
+        i++;
+      }
+      for (int j = this.rows.size() - 1; j >= i; j--) {
+        removeRowInternal(this.rows.get(j), j);
+      }
+      getSelectedValuesInternal().clear();
+    } finally {
+      endUpdate();
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public void addRow(ROW row) {
 
-    TableRowContainer<ROW> rowContainer = createRowContainer(row);
-    this.rows.add(rowContainer);
-    if (hasWidgetAdapter()) {
-      // getWidgetAdapter().addRow(row);
-    }
+    insertRowInternal(this.rows.size(), row);
   }
 
   /**
@@ -89,11 +172,42 @@ public abstract class AbstractUiWidgetAbstractListTable<ADAPTER extends UiWidget
   @Override
   public void addRow(ROW row, int index) {
 
+    insertRowInternal(index, row);
+  }
+
+  /**
+   * @param index is the index where to insert the new row.
+   * @param row is the {@literal <ROW>} to insert.
+   */
+  private void insertRowInternal(int index, ROW row) {
+
     TableRowContainer<ROW> rowContainer = createRowContainer(row);
     this.rows.add(index, rowContainer);
-    if (hasWidgetAdapter()) {
-      // getWidgetAdapter().addRow(row, index);
+    rowContainer.index = index;
+    if (index < this.validIndexCount) {
+      this.validIndexCount = index;
+    } else if ((index == this.validIndexCount) && (index == this.rows.size() - 1)) {
+      // appended to fully indexed rows
+      this.validIndexCount++;
     }
+    addToRowMap(rowContainer);
+    fireRowChange(TableRowChange.Type.INSERT, rowContainer, index, -1);
+  }
+
+  /**
+   * @param rowContainer is the {@link TableRowContainer} to remove.
+   * @param index is the current index of the given <code>rowContainer</code>.
+   */
+  private void removeRowInternal(TableRowContainer<ROW> rowContainer, int index) {
+
+    this.rows.remove(index);
+    if (index < this.validIndexCount) {
+      this.validIndexCount = index;
+    }
+    rowContainer.index = -1;
+    removeFromRowMap(rowContainer);
+    getSelectedValuesInternal().remove(rowContainer);
+    fireRowChange(TableRowChange.Type.REMOVE, rowContainer, index, -1);
   }
 
   /**
@@ -102,13 +216,19 @@ public abstract class AbstractUiWidgetAbstractListTable<ADAPTER extends UiWidget
   @Override
   protected TableRowContainer<ROW> getRowContainer(ROW row) {
 
-    EqualsChecker<ROW> rowEqualsChecker = getRowEqualsChecker();
-    for (TableRowContainer<ROW> rowContainer : this.rows) {
-      if (rowEqualsChecker.isEqual(rowContainer.getValue(), row)) {
-        return rowContainer;
+    if (this.rowMap == null) {
+      buildRowMap();
+      if (this.rowMap == null) {
+        EqualsChecker<ROW> rowEqualsChecker = getRowEqualsChecker();
+        for (TableRowContainer<ROW> rowContainer : this.rows) {
+          if (rowEqualsChecker.isEqual(rowContainer.getValue(), row)) {
+            return rowContainer;
+          }
+        }
+        return null;
       }
     }
-    return null;
+    return this.rowMap.get(createRowKey(row));
   }
 
   /**
@@ -121,10 +241,7 @@ public abstract class AbstractUiWidgetAbstractListTable<ADAPTER extends UiWidget
     if (rowContainer == null) {
       return false;
     }
-    this.rows.remove(rowContainer);
-    if (hasWidgetAdapter()) {
-      // getWidgetAdapter().removeRow(row);
-    }
+    removeRowInternal(rowContainer, getIndex(rowContainer));
     return true;
   }
 
@@ -134,13 +251,27 @@ public abstract class AbstractUiWidgetAbstractListTable<ADAPTER extends UiWidget
   @Override
   public int getRowIndex(ROW row) {
 
-    EqualsChecker<ROW> equalsChecker = getRowEqualsChecker();
-    for (int i = 0; i < this.rows.size(); i++) {
-      if (equalsChecker.isEqual(row, this.rows.get(i).getValue())) {
-        return i;
+    TableRowContainer<ROW> rowContainer = getRowContainer(row);
+    if (rowContainer == null) {
+      return -1;
+    }
+    return getIndex(rowContainer);
+  }
+
+  /**
+   * @param rowContainer is a {@link TableRowContainer} contained in this list table.
+   * @return the current index of the given <code>rowContainer</code>.
+   */
+  int getIndex(TableRowContainer<ROW> rowContainer) {
+
+    if (rowContainer.index >= this.validIndexCount) {
+      int size = this.rows.size();
+      for (int i = this.validIndexCount; i < size; i++) {
+        this.rows.get(i).index = i;
       }
+      this.validIndexCount = size;
     }
-    return -1;
+    return rowContainer.index;
   }
 
   /**
@@ -158,14 +289,256 @@ public abstract class AbstractUiWidgetAbstractListTable<ADAPTER extends UiWidget
     if (selected) {
       selection.remove(rowContainer);
     }
+    removeFromRowMap(rowContainer);
     rowContainer.setValue(newRow);
+    addToRowMap(rowContainer);
     if (selected) {
       selection.add(rowContainer);
     }
+    fireRowChange(TableRowChange.Type.UPDATE, rowContainer, getIndex(rowContainer), -1);
+    return true;
+  }
+
+  /**
+   * @param row is the {@literal <ROW>}.
+   * @return the key for the {@link #rowMap}.
+   */
+  private CustomHashKey<ROW> createRowKey(ROW row) {
+
+    return new CustomHashKey<ROW>(row, getRowEqualsChecker(), this.rowHashCodeFunction);
+  }
+
+  /**
+   * Rebuilds the {@link #rowMap} from scratch. If no {@link #getRowHashCodeFunction() row hash code function}
+   * is available, the {@link #rowMap} remains <code>null</code>.
+   */
+  private void buildRowMap() {
+
+    this.rowHashCodeFunction = getRowHashCodeFunction();
+    if (this.rowHashCodeFunction == null) {
+      return;
+    }
+    this.rowMap = new HashMap<CustomHashKey<ROW>, TableRowContainer<ROW>>(this.rows.size() * 4 / 3 + 16);
+    this.duplicateCount = 0;
+    for (TableRowContainer<ROW> rowContainer : this.rows) {
+      addToRowMap(rowContainer);
+    }
+  }
+
+  /**
+   * @param rowContainer is the {@link TableRowContainer} to add to the {@link #rowMap}.
+   */
+  private void addToRowMap(TableRowContainer<ROW> rowContainer) {
+
+    if (this.rowMap == null) {
+      return;
+    }
+    CustomHashKey<ROW> key = createRowKey(rowContainer.getValue());
+    if (this.rowMap.containsKey(key)) {
+      this.duplicateCount++;
+    } else {
+      this.rowMap.put(key, rowContainer);
+    }
+  }
+
+  /**
+   * @param rowContainer is the {@link TableRowContainer} to remove from the {@link #rowMap}.
+   */
+  private void removeFromRowMap(TableRowContainer<ROW> rowContainer) {
+
+    if (this.rowMap == null) {
+      return;
+    }
+    CustomHashKey<ROW> key = createRowKey(rowContainer.getValue());
+    if (this.rowMap.get(key) == rowContainer) {
+      this.rowMap.remove(key);
+      if (this.duplicateCount > 0) {
+        // only in this rare case we have to search for an equal row that was hidden as duplicate
+        EqualsChecker<ROW> equalsChecker = getRowEqualsChecker();
+        for (TableRowContainer<ROW> container : this.rows) {
+          if ((container != rowContainer) && equalsChecker.isEqual(container.getValue(), rowContainer.getValue())) {
+            this.rowMap.put(key, container);
+            this.duplicateCount--;
+            break;
+          }
+        }
+      }
+    } else {
+      this.duplicateCount--;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setRowEqualsChecker(EqualsChecker<ROW> rowEqualsChecker, HashCodeFunction<ROW> hashCodeFunction) {
+
+    super.setRowEqualsChecker(rowEqualsChecker, hashCodeFunction);
+    this.rowMap = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void beginUpdate() {
+
+    this.updateDepth++;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void endUpdate() {
+
+    if (this.updateDepth <= 0) {
+      throw new NlsIllegalStateException();
+    }
+    this.updateDepth--;
+    if (this.updateDepth == 0) {
+      flushRowChanges();
+    }
+  }
+
+  /**
+   * Records a {@link TableRowChange} for the widget adapter. It is sent immediately unless a
+   * {@link #beginUpdate() batch update} is active.
+   *
+   * @param type is the {@link TableRowChange.Type}.
+   * @param rowContainer is the changed {@link TableRowContainer}.
+   * @param index is the {@link TableRowChange#getIndex() index}.
+   * @param oldIndex is the {@link TableRowChange#getOldIndex() old index}.
+   */
+  private void fireRowChange(TableRowChange.Type type, TableRowContainer<ROW> rowContainer, int index, int oldIndex) {
+
+    if (!hasWidgetAdapter()) {
+      // initializeWidgetAdapter will send all rows
+      return;
+    }
+    this.changes.add(new TableRowChange<ROW>(type, rowContainer, index, oldIndex));
+    if (this.updateDepth == 0) {
+      flushRowChanges();
+    }
+  }
+
+  /**
+   * Sends the collected {@link TableRowChange}s to the widget adapter.
+   */
+  private void flushRowChanges() {
+
+    if (this.changes.isEmpty()) {
+      return;
+    }
+    List<TableRowChange<ROW>> changeSet = this.changes;
+    this.changes = new ArrayList<TableRowChange<ROW>>();
+    getWidgetAdapter().applyChanges(changeSet);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setDataProvider(UiListTableDataProvider<ROW> provider) {
+
+    this.dataProvider = provider;
+    this.pendingRowCount = 0;
+    if (provider == null) {
+      return;
+    }
+    List<ROW> emptyList = new ArrayList<ROW>();
+    setRowsInternal(emptyList);
+    this.rowCount = provider.getRowCount();
     if (hasWidgetAdapter()) {
-      // getWidgetAdapter().setRow(index, newRow);
+      getWidgetAdapter().setRowCount(this.rowCount);
+    }
+    loadRows(0, this.pageSize);
+  }
+
+  /**
+   * @param pageSize is the number of rows to request from the
+   *        {@link #setDataProvider(UiListTableDataProvider) data provider} at once. The default is 50.
+   */
+  public void setPageSize(int pageSize) {
+
+    this.pageSize = pageSize;
+  }
+
+  /**
+   * Called from adapter if the rows in the given range shall be displayed. Rows are materialized in
+   * ascending order so all rows before <code>offset</code> will also be requested from the
+   * {@link #setDataProvider(UiListTableDataProvider) data provider} if missing.
+   *
+   * @param offset is the index of the first row to display.
+   * @param count is the number of rows to display. Will be increased to the
+   *        {@link #setPageSize(int) page size} if smaller.
+   */
+  public void loadRows(int offset, int count) {
+
+    if (this.dataProvider == null) {
+      return;
+    }
+    int end = Math.min(offset + Math.max(count, this.pageSize), this.rowCount);
+    int start = this.rows.size();
+    if (end <= start) {
+      return;
+    }
+    if (this.pendingRowCount > 0) {
+      this.pendingRowCount = Math.max(this.pendingRowCount, end);
+      return;
+    }
+    List<ROW> page = this.dataProvider.getRows(start, end - start);
+    if (page == null) {
+      this.pendingRowCount = end;
+      final UiListTableDataProvider<ROW> provider = this.dataProvider;
+      provider.getRowsAsync(start, end - start, new Consumer<List<ROW>>() {
+
+        @Override
+        public void accept(List<ROW> rowPage) {
+
+          onRowsLoaded(provider, rowPage);
+        }
+      });
+    } else {
+      appendRows(page);
+    }
+  }
+
+  /**
+   * Called if a page of rows has been loaded asynchronously.
+   *
+   * @param provider is the {@link UiListTableDataProvider} that has loaded the rows.
+   * @param page is the {@link List} with the loaded rows.
+   */
+  private void onRowsLoaded(UiListTableDataProvider<ROW> provider, List<ROW> page) {
+
+    if (provider != this.dataProvider) {
+      // data provider has been replaced in the meantime
+      return;
+    }
+    int requested = this.pendingRowCount;
+    this.pendingRowCount = 0;
+    appendRows(page);
+    int size = this.rows.size();
+    if (requested > size) {
+      loadRows(size, requested - size);
+    }
+  }
+
+  /**
+   * @param page is the {@link List} of {@literal <ROW>}s to append.
+   */
+  private void appendRows(List<ROW> page) {
+
+    beginUpdate();
+    try {
+      for (ROW row : page) {
+        insertRowInternal(this.rows.size(), row);
+      }
+    } finally {
+      endUpdate();
     }
-    return true;
   }
 
   /**
@@ -175,8 +548,16 @@ public abstract class AbstractUiWidgetAbstractListTable<ADAPTER extends UiWidget
   protected void initializeWidgetAdapter(ADAPTER adapter) {
 
     super.initializeWidgetAdapter(adapter);
+    if (this.dataProvider != null) {
+      adapter.setRowCount(this.rowCount);
+    }
     if (!this.rows.isEmpty()) {
-      // adapter.setRows(rows);
+      List<TableRowChange<ROW>> changeSet = new ArrayList<TableRowChange<ROW>>(this.rows.size());
+      int i = 0;
+      for (TableRowContainer<ROW> rowContainer : this.rows) {
+        changeSet.add(new TableRowChange<ROW>(TableRowChange.Type.INSERT, rowContainer, i++, -1));
+      }
+      adapter.applyChanges(changeSet);
     }
   }
 
@@ -186,9 +567,29 @@ public abstract class AbstractUiWidgetAbstractListTable<ADAPTER extends UiWidget
   @Override
   void sort(AbstractUiWidgetTableColumn<?, ROW, ?> column, SortOrder sortOrder) {
 
+    int size = this.rows.size();
+    if (size > 0) {
+      // ensure all indices are valid to determine the old index
+      getIndex(this.rows.get(size - 1));
+    }
     this.comparator.sort(this.rows, column, sortOrder);
-    if (hasWidgetAdapter()) {
-      // getWidgetAdapter().updateRows();
+    int first = 0;
+    while ((first < size) && (this.rows.get(first).index == first)) {
+      first++;
+    }
+    int last = size - 1;
+    while ((last > first) && (this.rows.get(last).index == last)) {
+      last--;
+    }
+    beginUpdate();
+    try {
+      for (int i = first; i <= last; i++) {
+        TableRowContainer<ROW> rowContainer = this.rows.get(i);
+        fireRowChange(TableRowChange.Type.MOVE, rowContainer, i, rowContainer.index);
+        rowContainer.index = i;
+      }
+    } finally {
+      endUpdate();
     }
   }
 
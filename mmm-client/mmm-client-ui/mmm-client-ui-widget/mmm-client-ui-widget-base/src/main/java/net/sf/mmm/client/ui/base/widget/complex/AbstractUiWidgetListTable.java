@@ -41,32 +41,8 @@ public abstract class AbstractUiWidgetListTable<ADAPTER extends UiWidgetAdapterL
   protected void doSetValue(List<ROW> newValue, boolean forUser) {
 
     super.doSetValue(newValue, forUser);
-    boolean hasWidgetAdapter = hasWidgetAdapter();
-    List<TableRowContainer<ROW>> rows = getRowsInternal();
-    int i = 0;
-    int size = rows.size();
-    TableRowContainer<ROW> container;
-    for (ROW newRow : newValue) {
-      if (i < size) {
-        container = rows.get(i);
-        container.setValue(newRow);
-      } else {
-        container = createRowContainer(newRow);
-        rows.add(container);
-        if (hasWidgetAdapter) {
-          getWidgetAdapter().addRow(container, i);
-        }
-      }
-      i++;
-    }
-    for (int j = rows.size() - 1; j >= i; j--) {
-      // TODO potentially pool obsolete rows for later reuse...
-      TableRowContainer<ROW> removedRow = rows.remove(j);
-      if (hasWidgetAdapter) {
-        getWidgetAdapter().removeRow(removedRow);
-      }
-    }
-    getSelectedValuesInternal().clear();
+    setDataProvider(null);
+    setRowsInternal(newValue);
   }
 
   /**
@@ -83,18 +59,4 @@ public abstract class AbstractUiWidgetListTable<ADAPTER extends UiWidgetAdapterL
     return result;
   }
 
-  /**
-   * {@inheritDoc}
-   */
-  @Override
-  protected void initializeWidgetAdapter(ADAPTER adapter) {
-
-    super.initializeWidgetAdapter(adapter);
-    int i = 0;
-    for (TableRowContainer<ROW> row : getRowsInternal()) {
-      getWidgetAdapter().addRow(row, i++);
-    }
-
-  }
-
 }
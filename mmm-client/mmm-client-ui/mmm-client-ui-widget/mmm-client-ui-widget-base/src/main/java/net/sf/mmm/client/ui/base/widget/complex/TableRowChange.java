@@ -0,0 +1,113 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.client.ui.base.widget.complex;
+
+/**
+ * This class represents a single change of the rows of a
+ * {@link net.sf.mmm.client.ui.api.widget.complex.UiWidgetAbstractListTable list table}. The changes are
+ * collected by {@link AbstractUiWidgetAbstractListTable} and pushed to the
+ * {@link net.sf.mmm.client.ui.base.widget.complex.adapter.UiWidgetAdapterAbstractListTable widget adapter}
+ * as a change set. The changes of such change set have to be applied in the given order as each
+ * {@link #getIndex() index} is relative to the state after the previous change has been applied.
+ *
+ * @param <ROW> is the generic type of the {@link TableRowContainer#getValue() row}.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class TableRowChange<ROW> {
+
+  /** @see #getType() */
+  private final Type type;
+
+  /** @see #getRow() */
+  private final TableRowContainer<ROW> row;
+
+  /** @see #getIndex() */
+  private final int index;
+
+  /** @see #getOldIndex() */
+  private final int oldIndex;
+
+  /**
+   * The constructor.
+   *
+   * @param type is the {@link #getType() type}.
+   * @param row is the {@link #getRow() row}.
+   * @param index is the {@link #getIndex() index}.
+   * @param oldIndex is the {@link #getOldIndex() old index}.
+   */
+  TableRowChange(Type type, TableRowContainer<ROW> row, int index, int oldIndex) {
+
+    super();
+    this.type = type;
+    this.row = row;
+    this.index = index;
+    this.oldIndex = oldIndex;
+  }
+
+  /**
+   * @return the {@link Type} of this change.
+   */
+  public Type getType() {
+
+    return this.type;
+  }
+
+  /**
+   * @return the {@link TableRowContainer} that has been changed.
+   */
+  public TableRowContainer<ROW> getRow() {
+
+    return this.row;
+  }
+
+  /**
+   * @return the index of the {@link #getRow() row}. For {@link Type#REMOVE} this is the index where the row
+   *         has been located before it was removed. For {@link Type#MOVE} this is the index where the row has
+   *         to be moved to.
+   */
+  public int getIndex() {
+
+    return this.index;
+  }
+
+  /**
+   * @return the index where the {@link #getRow() row} was located before a {@link Type#MOVE}. Only for
+   *         information as the adapter has to {@link #getIndex() place} the row regardless of its current
+   *         position. Will be <code>-1</code> for all other {@link #getType() types}.
+   */
+  public int getOldIndex() {
+
+    return this.oldIndex;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+
+    return this.type + "@" + this.index + ":" + this.row.getValue();
+  }
+
+  /**
+   * This enum contains the available types of a {@link TableRowChange}.
+   */
+  public static enum Type {
+
+    /** A new {@link TableRowChange#getRow() row} has been inserted at {@link TableRowChange#getIndex() index}. */
+    INSERT,
+
+    /** The {@link TableRowContainer#getValue() value} of the {@link TableRowChange#getRow() row} has changed. */
+    UPDATE,
+
+    /** The {@link TableRowChange#getRow() row} has been removed. */
+    REMOVE,
+
+    /** The {@link TableRowChange#getRow() row} has to be moved to {@link TableRowChange#getIndex() index}. */
+    MOVE
+
+  }
+
+}
@@ -25,6 +25,12 @@ public abstract class TableRowContainer<ROW> implements AttributeWriteValue<ROW>
   /** @see #getValue() */
   private ROW row;
 
+  /**
+   * The index of this row in the list table. Maintained lazily by {@link AbstractUiWidgetAbstractListTable}
+   * and therefore only valid if below its watermark of renumbered rows.
+   */
+  int index;
+
   /**
    * The constructor.
    * 
@@ -4,7 +4,7 @@ package net.sf.mmm.client.ui.base.widget.complex.adapter;
 
 import java.util.List;
 
-import net.sf.mmm.client.ui.base.widget.complex.TableRowContainer;
+import net.sf.mmm.client.ui.base.widget.complex.TableRowChange;
 import net.sf.mmm.util.lang.api.attribute.AttributeWriteValue;
 
 /**
@@ -20,18 +20,24 @@ public interface UiWidgetAdapterAbstractListTable<ROW> extends UiWidgetAdapterAb
     AttributeWriteValue<List<ROW>> {
 
   /**
-   * @see net.sf.mmm.client.ui.api.widget.complex.UiWidgetAbstractListTable#addRow(Object, int)
+   * This method applies a change set to the rows displayed by the native widget. Only the affected rows have
+   * to be updated instead of rendering the entire table again.
    * 
-   * @param row is the {@literal <ROW>} to add.
-   * @param index is the index where to add the new row.
+   * @see net.sf.mmm.client.ui.api.widget.complex.UiWidgetAbstractListTable#beginUpdate()
+   * 
+   * @param changes is the {@link List} of {@link TableRowChange}s to apply in the given order.
    */
-  void addRow(TableRowContainer<ROW> row, int index);
+  void applyChanges(List<TableRowChange<ROW>> changes);
 
   /**
-   * @see net.sf.mmm.client.ui.api.widget.complex.UiWidgetAbstractListTable#removeRow(Object)
+   * This method sets the total number of rows available from the
+   * {@link net.sf.mmm.client.ui.api.widget.complex.UiWidgetAbstractListTable.UiListTableDataProvider data
+   * provider}. This can be larger than the number of rows currently materialized. If further rows become
+   * visible the adapter requests them via
+   * {@link net.sf.mmm.client.ui.base.widget.complex.AbstractUiWidgetAbstractListTable#loadRows(int, int)}.
    * 
-   * @param row is the {@literal <ROW>} to remove.
+   * @param rowCount is the total number of rows.
    */
-  void removeRow(TableRowContainer<ROW> row);
+  void setRowCount(int rowCount);
 
 }
@@ -8,6 +8,7 @@ import net.sf.mmm.client.ui.api.UiContext;
 import net.sf.mmm.client.ui.api.widget.factory.UiWidgetFactoryNative;
 import net.sf.mmm.client.ui.api.widget.window.UiWidgetMainWindow;
 import net.sf.mmm.client.ui.base.widget.AbstractUiWidgetFactoryNative;
+import net.sf.mmm.client.ui.impl.test.widget.complex.UiWidgetListTableTestImpl;
 import net.sf.mmm.client.ui.impl.test.widget.complex.UiWidgetTreeTestImpl;
 import net.sf.mmm.client.ui.impl.test.widget.core.UiWidgetButtonTestImpl;
 import net.sf.mmm.client.ui.impl.test.widget.core.UiWidgetCollapsableSectionTestImpl;
@@ -106,6 +107,7 @@ public class UiWidgetFactoryNativeTestImpl extends AbstractUiWidgetFactoryNative
     register(new UiWidgetMenuItemSeparatorTestImpl.Factory());
     // complex
     register(new UiWidgetTreeTestImpl.Factory());
+    register(new UiWidgetListTableTestImpl.Factory());
     // window
     register(new UiWidgetPopupTestImpl.Factory());
   }
@@ -0,0 +1,60 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.client.ui.impl.test.widget.complex;
+
+import net.sf.mmm.client.ui.api.common.SelectionMode;
+import net.sf.mmm.client.ui.base.widget.complex.AbstractUiWidgetAbstractDataTable;
+import net.sf.mmm.client.ui.base.widget.complex.TableRowContainer;
+
+/**
+ * This is the implementation of {@link TableRowContainer} for testing without a native toolkit.
+ * 
+ * @param <ROW> is the generic type of the {@link #getValue() contained} row.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class TableRowContainerTestImpl<ROW> extends TableRowContainer<ROW> {
+
+  /** @see #isSelected() */
+  private boolean selected;
+
+  /**
+   * The constructor.
+   * 
+   * @param dataTable is the {@link AbstractUiWidgetAbstractDataTable} creating and owning this
+   *        {@link TableRowContainerTestImpl}.
+   */
+  public TableRowContainerTestImpl(AbstractUiWidgetAbstractDataTable<?, ROW> dataTable) {
+
+    super(dataTable);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isSelected() {
+
+    return this.selected;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setSelected(boolean selected) {
+
+    this.selected = selected;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setSelectionMode(SelectionMode selectionMode) {
+
+    // nothing to do...
+  }
+
+}
@@ -0,0 +1,107 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.client.ui.impl.test.widget.complex;
+
+import net.sf.mmm.client.ui.api.UiContext;
+import net.sf.mmm.client.ui.api.widget.complex.UiWidgetListTable;
+import net.sf.mmm.client.ui.base.widget.complex.AbstractUiWidgetListTable;
+import net.sf.mmm.client.ui.base.widget.factory.AbstractUiSingleWidgetFactoryNative;
+import net.sf.mmm.client.ui.impl.test.widget.complex.adapter.UiWidgetAdapterTestListTable;
+
+/**
+ * This is the implementation of {@link UiWidgetListTable} for testing without a native toolkit.
+ * 
+ * @param <ROW> is the generic type of a row in the {@link #getValue() value list}.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class UiWidgetListTableTestImpl<ROW> extends AbstractUiWidgetListTable<UiWidgetAdapterTestListTable<ROW>, ROW> {
+
+  /** @see #getHeightInRows() */
+  private int heightInRows;
+
+  /**
+   * The constructor.
+   * 
+   * @param context is the {@link #getContext() context}.
+   * @param widgetAdapter is the {@link #getWidgetAdapter() widget adapter}. Typically <code>null</code> for
+   *        lazy initialization.
+   */
+  public UiWidgetListTableTestImpl(UiContext context, UiWidgetAdapterTestListTable<ROW> widgetAdapter) {
+
+    super(context, widgetAdapter);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected TableRowContainerTestImpl<ROW> createRowContainer() {
+
+    return new TableRowContainerTestImpl<ROW>(this);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setHeightInRows(int rows) {
+
+    this.heightInRows = rows;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getHeightInRows() {
+
+    return this.heightInRows;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected UiWidgetAdapterTestListTable<ROW> createWidgetAdapter() {
+
+    return new UiWidgetAdapterTestListTable<ROW>();
+  }
+
+  /**
+   * This method gives access to the {@link #getWidgetAdapter() widget adapter} for testing.
+   * 
+   * @return the {@link UiWidgetAdapterTestListTable}.
+   */
+  public UiWidgetAdapterTestListTable<ROW> getTestAdapter() {
+
+    return getWidgetAdapter();
+  }
+
+  /**
+   * This inner class is the {@link AbstractUiSingleWidgetFactoryNative factory} for this widget.
+   */
+  @SuppressWarnings("rawtypes")
+  public static class Factory extends AbstractUiSingleWidgetFactoryNative<UiWidgetListTable> {
+
+    /**
+     * The constructor.
+     */
+    public Factory() {
+
+      super(UiWidgetListTable.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public UiWidgetListTable create(UiContext context) {
+
+      return new UiWidgetListTableTestImpl(context, null);
+    }
+
+  }
+
+}
@@ -0,0 +1,229 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.client.ui.impl.test.widget.complex.adapter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import net.sf.mmm.client.ui.api.widget.complex.UiWidgetTableColumn;
+import net.sf.mmm.client.ui.base.widget.complex.AbstractUiWidgetAbstractListTable;
+import net.sf.mmm.client.ui.base.widget.complex.AbstractUiWidgetTableColumn;
+import net.sf.mmm.client.ui.base.widget.complex.TableRowChange;
+import net.sf.mmm.client.ui.base.widget.complex.TableRowContainer;
+import net.sf.mmm.client.ui.base.widget.complex.UiWidgetTableColumnImpl;
+import net.sf.mmm.client.ui.base.widget.complex.adapter.UiWidgetAdapterListTable;
+import net.sf.mmm.client.ui.base.widget.complex.adapter.UiWidgetAdapterTableColumn;
+import net.sf.mmm.client.ui.impl.test.widget.adapter.UiWidgetAdapterTest;
+import net.sf.mmm.util.lang.api.SortOrder;
+import net.sf.mmm.util.nls.api.IllegalCaseException;
+
+/**
+ * This is the implementation of {@link UiWidgetAdapterListTable} for testing without a native toolkit. It
+ * applies the {@link TableRowChange}s to a plain {@link List} of {@link #getDisplayedRows() displayed rows}
+ * so tests can verify the change sets sent by the widget.
+ *
+ * @param <ROW> is the generic type of a row in the list.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class UiWidgetAdapterTestListTable<ROW> extends UiWidgetAdapterTest implements UiWidgetAdapterListTable<ROW> {
+
+  /** @see #getDisplayedRows() */
+  private final List<TableRowContainer<ROW>> displayedRows;
+
+  /** @see #setColumns(List) */
+  private List<UiWidgetTableColumnImpl<ROW, ?>> columns;
+
+  /** @see #isEditable() */
+  private boolean editable;
+
+  /** @see #getRowCount() */
+  private int rowCount;
+
+  /** @see #getChangeSetCount() */
+  private int changeSetCount;
+
+  /** @see #getLastChanges() */
+  private List<TableRowChange<ROW>> lastChanges;
+
+  /**
+   * The constructor.
+   */
+  public UiWidgetAdapterTestListTable() {
+
+    super();
+    this.displayedRows = new ArrayList<TableRowContainer<ROW>>();
+    this.lastChanges = Collections.emptyList();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public UiWidgetAdapterTableColumn createTableColumnAdapter(UiWidgetTableColumn<?, ?> column) {
+
+    verifyNotDisposed();
+    return new UiWidgetAdapterTestTableColumn();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setColumns(List<UiWidgetTableColumnImpl<ROW, ?>> columns) {
+
+    verifyNotDisposed();
+    this.columns = columns;
+  }
+
+  /**
+   * @return the columns that have been set.
+   */
+  public List<UiWidgetTableColumnImpl<ROW, ?>> getColumns() {
+
+    return this.columns;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void sort(AbstractUiWidgetTableColumn<?, ROW, ?> column, SortOrder sortOrder) {
+
+    verifyNotDisposed();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isEditable() {
+
+    return this.editable;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setEditable(boolean editableFlag) {
+
+    verifyNotDisposed();
+    this.editable = editableFlag;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void applyChanges(List<TableRowChange<ROW>> changes) {
+
+    verifyNotDisposed();
+    for (TableRowChange<ROW> change : changes) {
+      TableRowContainer<ROW> row = change.getRow();
+      switch (change.getType()) {
+        case INSERT:
+          this.displayedRows.add(change.getIndex(), row);
+          break;
+        case UPDATE:
+          if (this.displayedRows.get(change.getIndex()) != row) {
+            throw new IllegalStateException("Updated row not at index " + change.getIndex());
+          }
+          break;
+        case REMOVE:
+          if (this.displayedRows.remove(change.getIndex()) != row) {
+            throw new IllegalStateException("Removed row not at index " + change.getIndex());
+          }
+          break;
+        case MOVE:
+          this.displayedRows.remove(row);
+          this.displayedRows.add(change.getIndex(), row);
+          break;
+        default :
+          throw new IllegalCaseException(TableRowChange.Type.class, change.getType());
+      }
+    }
+    this.changeSetCount++;
+    this.lastChanges = changes;
+  }
+
+  /**
+   * @return the {@link List} of rows as currently displayed after all change sets have been applied.
+   */
+  public List<ROW> getDisplayedRows() {
+
+    List<ROW> result = new ArrayList<ROW>(this.displayedRows.size());
+    for (TableRowContainer<ROW> row : this.displayedRows) {
+      result.add(row.getValue());
+    }
+    return result;
+  }
+
+  /**
+   * @return the number of change sets that have been {@link #applyChanges(List) applied}.
+   */
+  public int getChangeSetCount() {
+
+    return this.changeSetCount;
+  }
+
+  /**
+   * @return the last change set that has been {@link #applyChanges(List) applied}.
+   */
+  public List<TableRowChange<ROW>> getLastChanges() {
+
+    return this.lastChanges;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setRowCount(int rowCount) {
+
+    verifyNotDisposed();
+    this.rowCount = rowCount;
+  }
+
+  /**
+   * @return the total number of rows available from the data provider.
+   */
+  public int getRowCount() {
+
+    return this.rowCount;
+  }
+
+  /**
+   * Simulates that the end-user scrolled so that the given range of rows becomes visible.
+   *
+   * @param offset is the index of the first visible row.
+   * @param count is the number of visible rows.
+   */
+  @SuppressWarnings("unchecked")
+  public void showRows(int offset, int count) {
+
+    verifyNotDisposed();
+    ((AbstractUiWidgetAbstractListTable<?, ROW>) getUiWidget()).loadRows(offset, count);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<ROW> getValue() {
+
+    return getDisplayedRows();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setValue(List<ROW> value) {
+
+    verifyNotDisposed();
+  }
+
+}
@@ -0,0 +1,68 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.client.ui.impl.test.widget.complex.adapter;
+
+import net.sf.mmm.client.ui.base.widget.complex.adapter.UiWidgetAdapterTableColumn;
+import net.sf.mmm.client.ui.impl.test.widget.adapter.UiWidgetAdapterTest;
+
+/**
+ * This is the implementation of {@link UiWidgetAdapterTableColumn} for testing without a native toolkit.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class UiWidgetAdapterTestTableColumn extends UiWidgetAdapterTest implements UiWidgetAdapterTableColumn {
+
+  /** @see #isResizable() */
+  private boolean resizable;
+
+  /** @see #isReorderable() */
+  private boolean reorderable;
+
+  /**
+   * The constructor.
+   */
+  public UiWidgetAdapterTestTableColumn() {
+
+    super();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isResizable() {
+
+    return this.resizable;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setResizable(boolean resizable) {
+
+    verifyNotDisposed();
+    this.resizable = resizable;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isReorderable() {
+
+    return this.reorderable;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setReorderable(boolean reorderable) {
+
+    verifyNotDisposed();
+    this.reorderable = reorderable;
+  }
+
+}
@@ -0,0 +1,242 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.client.ui.impl.test.widget.complex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import net.sf.mmm.client.ui.api.widget.complex.UiWidgetAbstractListTable.UiListTableDataProvider;
+import net.sf.mmm.client.ui.api.widget.complex.UiWidgetListTable;
+import net.sf.mmm.client.ui.base.widget.complex.TableRowChange;
+import net.sf.mmm.client.ui.impl.test.AbstractUiTest;
+import net.sf.mmm.client.ui.impl.test.widget.complex.adapter.UiWidgetAdapterTestListTable;
+import net.sf.mmm.util.lang.api.AbstractEqualsChecker;
+import net.sf.mmm.util.lang.api.AbstractHashCodeFunction;
+import net.sf.mmm.util.lang.api.EqualsChecker;
+import net.sf.mmm.util.lang.api.HashCodeFunction;
+
+import org.junit.Test;
+
+/**
+ * This is the test-case for {@link UiWidgetListTable} and {@link UiWidgetListTableTestImpl}.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ */
+@SuppressWarnings("all")
+public class UiWidgetListTableTest extends AbstractUiTest {
+
+  /**
+   * The constructor.
+   * 
+   * @param springConfig is the Spring XML config location or <code>null</code> to test without spring.
+   */
+  public UiWidgetListTableTest(String springConfig) {
+
+    super(springConfig);
+  }
+
+  private UiWidgetListTableTestImpl<String> createTable() {
+
+    UiWidgetListTable<String> table = getContext().getWidgetFactory().create(UiWidgetListTable.class);
+    return (UiWidgetListTableTestImpl<String>) table;
+  }
+
+  @Test
+  public void testChangeSets() {
+
+    UiWidgetListTableTestImpl<String> table = createTable();
+    UiWidgetAdapterTestListTable<String> adapter = table.getTestAdapter();
+    table.setValue(Arrays.asList("a", "b", "c"));
+    assertEquals(1, adapter.getChangeSetCount());
+    assertEquals(Arrays.asList("a", "b", "c"), adapter.getDisplayedRows());
+    assertEquals(2, table.getRowIndex("c"));
+
+    table.beginUpdate();
+    table.addRow("d");
+    table.addRow("x", 0);
+    assertTrue(table.removeRow("b"));
+    assertFalse(table.removeRow("b"));
+    assertTrue(table.replaceRow("c", "C"));
+    table.endUpdate();
+    assertEquals(2, adapter.getChangeSetCount());
+    List<TableRowChange<String>> changes = adapter.getLastChanges();
+    assertEquals(4, changes.size());
+    assertEquals(TableRowChange.Type.INSERT, changes.get(0).getType());
+    assertEquals(TableRowChange.Type.REMOVE, changes.get(2).getType());
+    assertEquals(2, changes.get(2).getIndex());
+    assertEquals(TableRowChange.Type.UPDATE, changes.get(3).getType());
+    List<String> expected = Arrays.asList("x", "a", "C", "d");
+    assertEquals(expected, table.getValue());
+    assertEquals(expected, adapter.getDisplayedRows());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(i, table.getRowIndex(expected.get(i)));
+    }
+    assertEquals(-1, table.getRowIndex("c"));
+
+    // without batch every modification is sent immediately
+    table.addRow("y", 1);
+    assertEquals(3, adapter.getChangeSetCount());
+    assertEquals(Arrays.asList("x", "y", "a", "C", "d"), adapter.getDisplayedRows());
+    assertEquals(4, table.getRowIndex("d"));
+  }
+
+  @Test
+  public void testLargeTable() {
+
+    UiWidgetListTableTestImpl<String> table = createTable();
+    UiWidgetAdapterTestListTable<String> adapter = table.getTestAdapter();
+    int count = 20000;
+    List<String> rows = new ArrayList<String>(count);
+    for (int i = 0; i < count; i++) {
+      rows.add("row" + i);
+    }
+    table.setValue(rows);
+    table.beginUpdate();
+    for (int i = 0; i < count; i += 2) {
+      assertTrue(table.removeRow(rows.get(i)));
+    }
+    table.endUpdate();
+    assertEquals(2, adapter.getChangeSetCount());
+    assertEquals(count / 2, adapter.getDisplayedRows().size());
+    assertEquals(0, table.getRowIndex(rows.get(1)));
+    assertEquals(count / 2 - 1, table.getRowIndex(rows.get(count - 1)));
+  }
+
+  @Test
+  public void testCustomEqualsChecker() {
+
+    UiWidgetListTableTestImpl<String> table = createTable();
+    table.setValue(Arrays.asList("a", "b", "c"));
+    EqualsChecker<String> equalsChecker = new AbstractEqualsChecker<String>() {
+
+      @Override
+      protected boolean isEqualNotNull(String value1, String value2) {
+
+        return value1.equalsIgnoreCase(value2);
+      }
+    };
+    // without hash code function the rows are scanned linearly
+    table.setRowEqualsChecker(equalsChecker);
+    assertNull(table.getRowHashCodeFunction());
+    assertEquals(1, table.getRowIndex("B"));
+    assertTrue(table.replaceRow("C", "x"));
+    assertEquals(2, table.getRowIndex("X"));
+
+    HashCodeFunction<String> hashCodeFunction = new AbstractHashCodeFunction<String>() {
+
+      @Override
+      protected int hashCodeNotNull(String value) {
+
+        return value.toLowerCase().hashCode();
+      }
+    };
+    table.setRowEqualsChecker(equalsChecker, hashCodeFunction);
+    assertEquals(1, table.getRowIndex("B"));
+    assertTrue(table.removeRow("A"));
+    assertEquals(0, table.getRowIndex("B"));
+    assertEquals(1, table.getRowIndex("X"));
+    assertEquals(-1, table.getRowIndex("a"));
+  }
+
+  @Test
+  public void testDataProvider() {
+
+    UiWidgetListTableTestImpl<String> table = createTable();
+    UiWidgetAdapterTestListTable<String> adapter = table.getTestAdapter();
+    TestDataProvider provider = new TestDataProvider(1000, false);
+    table.setDataProvider(provider);
+    assertEquals(1000, adapter.getRowCount());
+    assertEquals(50, adapter.getDisplayedRows().size());
+    adapter.showRows(120, 10);
+    assertEquals(170, adapter.getDisplayedRows().size());
+    assertEquals("row169", adapter.getDisplayedRows().get(169));
+    adapter.showRows(990, 50);
+    assertEquals(1000, table.getValue().size());
+    assertEquals(3, provider.requestCount);
+  }
+
+  @Test
+  public void testDataProviderAsync() {
+
+    UiWidgetListTableTestImpl<String> table = createTable();
+    UiWidgetAdapterTestListTable<String> adapter = table.getTestAdapter();
+    TestDataProvider provider = new TestDataProvider(100, true);
+    table.setDataProvider(provider);
+    assertEquals(0, adapter.getDisplayedRows().size());
+    // scrolling while loading
+    adapter.showRows(60, 10);
+    assertEquals(1, provider.requestCount);
+    provider.complete();
+    assertEquals(50, adapter.getDisplayedRows().size());
+    assertEquals(2, provider.requestCount);
+    provider.complete();
+    assertEquals(100, adapter.getDisplayedRows().size());
+    assertEquals("row99", adapter.getDisplayedRows().get(99));
+  }
+
+  private static class TestDataProvider implements UiListTableDataProvider<String> {
+
+    private final int rowCount;
+
+    private final boolean async;
+
+    private int requestCount;
+
+    private int offset;
+
+    private int count;
+
+    private Consumer<List<String>> callback;
+
+    public TestDataProvider(int rowCount, boolean async) {
+
+      super();
+      this.rowCount = rowCount;
+      this.async = async;
+    }
+
+    @Override
+    public int getRowCount() {
+
+      return this.rowCount;
+    }
+
+    @Override
+    public List<String> getRows(int start, int size) {
+
+      if (this.async) {
+        return null;
+      }
+      this.requestCount++;
+      return createRows(start, size);
+    }
+
+    private List<String> createRows(int start, int size) {
+
+      List<String> rows = new ArrayList<String>(size);
+      for (int i = start; i < start + size; i++) {
+        rows.add("row" + i);
+      }
+      return rows;
+    }
+
+    @Override
+    public void getRowsAsync(int start, int size, Consumer<List<String>> consumer) {
+
+      this.requestCount++;
+      this.offset = start;
+      this.count = size;
+      this.callback = consumer;
+    }
+
+    public void complete() {
+
+      Consumer<List<String>> consumer = this.callback;
+      this.callback = null;
+      consumer.accept(createRows(this.offset, this.count));
+    }
+  }
+
+}
@@ -9,22 +9,32 @@ import net.sf.mmm.client.ui.api.common.UiMode;
 import net.sf.mmm.client.ui.api.widget.UiWidgetWithValue;
 import net.sf.mmm.client.ui.api.widget.factory.UiSingleWidgetFactory;
 import net.sf.mmm.client.ui.api.widget.field.UiWidgetField;
+import net.sf.mmm.client.ui.base.widget.complex.AbstractUiWidgetAbstractListTable;
+import net.sf.mmm.client.ui.base.widget.complex.TableRowChange;
 import net.sf.mmm.client.ui.base.widget.complex.TableRowContainer;
 import net.sf.mmm.client.ui.base.widget.complex.UiWidgetTableColumnImpl;
 import net.sf.mmm.client.ui.base.widget.complex.adapter.UiWidgetAdapterAbstractListTable;
+import net.sf.mmm.client.ui.impl.gwt.gwtwidgets.TableBody;
 import net.sf.mmm.client.ui.impl.gwt.gwtwidgets.TableRow;
 import net.sf.mmm.client.ui.impl.gwt.widget.complex.TableRowContainerGwt;
+import net.sf.mmm.util.nls.api.IllegalCaseException;
 import net.sf.mmm.util.pojo.path.api.TypedProperty;
 
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
 import com.google.gwt.event.dom.client.HasAllFocusHandlers;
 import com.google.gwt.event.dom.client.HasKeyPressHandlers;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.Window;
+import com.google.gwt.user.client.Window.ScrollEvent;
+import com.google.gwt.user.client.Window.ScrollHandler;
 import com.google.gwt.user.client.ui.Focusable;
 import com.google.gwt.user.client.ui.SimpleCheckBox;
 
 /**
  * This is the implementation of {@link UiWidgetAdapterAbstractListTable} using GWT.
  * 
- * @param <ROW> is the generic type of a {@link #addRow(TableRowContainer, int) row} in the list.
+ * @param <ROW> is the generic type of a {@link TableRowContainer row} in the list.
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 1.0.0
@@ -32,6 +42,15 @@ import com.google.gwt.user.client.ui.SimpleCheckBox;
 public class UiWidgetAdapterGwtAbstractListTable<ROW> extends UiWidgetAdapterGwtAbstractDataTable<ROW> implements
     UiWidgetAdapterAbstractListTable<ROW> {
 
+  /** @see #setRowCount(int) */
+  private int rowCount;
+
+  /** The {@link HandlerRegistration} for the {@link ScrollHandler} or <code>null</code>. */
+  private HandlerRegistration scrollHandlerRegistration;
+
+  /** <code>true</code> if {@link #loadVisibleRows()} has already been scheduled. */
+  private boolean loadScheduled;
+
   /**
    * The constructor.
    */
@@ -43,11 +62,45 @@ public class UiWidgetAdapterGwtAbstractListTable<ROW> extends UiWidgetAdapterGwt
   /**
    * {@inheritDoc}
    */
-  @SuppressWarnings("unchecked")
   @Override
-  public void addRow(TableRowContainer<ROW> row, int index) {
+  public void applyChanges(List<TableRowChange<ROW>> changes) {
+
+    TableBody tableBody = getTableWidget().getTableBody();
+    for (TableRowChange<ROW> change : changes) {
+      TableRowContainerGwt<ROW> gwtRow = (TableRowContainerGwt<ROW>) change.getRow();
+      switch (change.getType()) {
+        case INSERT:
+          tableBody.insert(getTableRow(gwtRow), change.getIndex());
+          break;
+        case UPDATE:
+          TableRow oldTableRow = gwtRow.getTableRow();
+          if (oldTableRow != null) {
+            int index = tableBody.getWidgetIndex(oldTableRow);
+            tableBody.remove(oldTableRow);
+            gwtRow.setTableRow(null);
+            tableBody.insert(getTableRow(gwtRow), index);
+          }
+          break;
+        case REMOVE:
+          tableBody.remove(gwtRow.getTableRow());
+          break;
+        case MOVE:
+          // insert of a contained widget moves it (all rows before the index are already in place)
+          tableBody.insert(gwtRow.getTableRow(), change.getIndex());
+          break;
+        default :
+          throw new IllegalCaseException(TableRowChange.Type.class, change.getType());
+      }
+    }
+    scheduleLoadVisibleRows();
+  }
+
+  /**
+   * @param gwtRow is the {@link TableRowContainerGwt}.
+   * @return the {@link TableRow} of the given <code>gwtRow</code>. Will be created on the first call.
+   */
+  private TableRow getTableRow(TableRowContainerGwt<ROW> gwtRow) {
 
-    TableRowContainerGwt<ROW> gwtRow = (TableRowContainerGwt<ROW>) row;
     TableRow tableRow = gwtRow.getTableRow();
     if (tableRow == null) {
       tableRow = new TableRow();
@@ -61,7 +114,7 @@ public class UiWidgetAdapterGwtAbstractListTable<ROW> extends UiWidgetAdapterGwt
         UiSingleWidgetFactory<? extends UiWidgetWithValue<?>> widgetFactory = column.getWidgetFactory();
         @SuppressWarnings("rawtypes")
         UiWidgetWithValue cellWidget;
-        Object cellValue = column.getPropertyAccessor().getValue(row.getValue());
+        Object cellValue = column.getPropertyAccessor().getValue(gwtRow.getValue());
         if (widgetFactory == null) {
           Class<?> cellType = determineCellType(column, cellValue);
           cellWidget = getContext().getWidgetFactory().createForDatatype(cellType);
@@ -76,7 +129,79 @@ public class UiWidgetAdapterGwtAbstractListTable<ROW> extends UiWidgetAdapterGwt
         tableRow.addCell(getToplevelWidget(cellWidget));
       }
     }
-    getTableWidget().getTableBody().insert(tableRow, index);
+    return tableRow;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setRowCount(int rowCount) {
+
+    this.rowCount = rowCount;
+    if (this.scrollHandlerRegistration == null) {
+      this.scrollHandlerRegistration = Window.addWindowScrollHandler(new ScrollHandler() {
+
+        @Override
+        public void onWindowScroll(ScrollEvent event) {
+
+          loadVisibleRows();
+        }
+      });
+    }
+    scheduleLoadVisibleRows();
+  }
+
+  /**
+   * Schedules {@link #loadVisibleRows()} after the browser has layed out the table.
+   */
+  private void scheduleLoadVisibleRows() {
+
+    if (this.loadScheduled || (getTableWidget().getTableBody().getWidgetCount() >= this.rowCount)) {
+      return;
+    }
+    this.loadScheduled = true;
+    Scheduler.get().scheduleDeferred(new ScheduledCommand() {
+
+      @Override
+      public void execute() {
+
+        UiWidgetAdapterGwtAbstractListTable.this.loadScheduled = false;
+        loadVisibleRows();
+      }
+    });
+  }
+
+  /**
+   * Requests the next rows from the list table if the end of the table body is visible in the browser
+   * window. Only the rows that actually become visible are materialized.
+   */
+  @SuppressWarnings("unchecked")
+  private void loadVisibleRows() {
+
+    TableBody tableBody = getTableWidget().getTableBody();
+    int loadedRows = tableBody.getWidgetCount();
+    if (loadedRows >= this.rowCount) {
+      return;
+    }
+    int visibleBottom = Window.getScrollTop() + Window.getClientHeight();
+    int tableBottom = tableBody.getAbsoluteTop() + tableBody.getOffsetHeight();
+    if (tableBottom <= visibleBottom) {
+      ((AbstractUiWidgetAbstractListTable<?, ROW>) getUiWidget()).loadRows(loadedRows, 0);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void dispose() {
+
+    if (this.scrollHandlerRegistration != null) {
+      this.scrollHandlerRegistration.removeHandler();
+      this.scrollHandlerRegistration = null;
+    }
+    super.dispose();
   }
 
   /**
@@ -105,17 +230,6 @@ public class UiWidgetAdapterGwtAbstractListTable<ROW> extends UiWidgetAdapterGwt
     return cellType;
   }
 
-  /**
-   * {@inheritDoc}
-   */
-  @Override
-  public void removeRow(TableRowContainer<ROW> row) {
-
-    TableRowContainerGwt<ROW> gwtRow = (TableRowContainerGwt<ROW>) row;
-    TableRow tableRow = gwtRow.getTableRow();
-    getTableWidget().getTableBody().remove(tableRow);
-  }
-
   /**
    * {@inheritDoc}
    */
@@ -42,4 +42,19 @@ public interface MutableBlob extends Blob {
    */
   void writeData(InputStream inputStream, boolean append) throws RuntimeIoException;
 
+  /**
+   * This method writes the data from the give input stream to this BLOB and
+   * computes the {@link Checksum checksums} of the data in the same pass. The
+   * BLOB is overridden and the given input stream will be closed at the end.
+   * 
+   * @param inputStream is an input stream containing the data to write to this
+   *        BLOB.
+   * @param algorithms are the {@link Checksum#getChecksum(String) keys} of the
+   *        checksums to compute. If none are given {@link Checksum#KEY_MD5} and
+   *        {@link Checksum#KEY_SHA1} are computed.
+   * @return the {@link Checksum} of the written data.
+   * @throws RuntimeIoException if the writing fails.
+   */
+  Checksum writeDataAndChecksum(InputStream inputStream, String... algorithms) throws RuntimeIoException;
+
 }
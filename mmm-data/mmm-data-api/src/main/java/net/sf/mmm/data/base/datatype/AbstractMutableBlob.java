@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import net.sf.mmm.data.api.datatype.Checksum;
 import net.sf.mmm.data.api.datatype.MutableBlob;
 import net.sf.mmm.util.io.api.IoMode;
 import net.sf.mmm.util.io.api.RuntimeIoException;
@@ -58,4 +59,32 @@ public abstract class AbstractMutableBlob extends AbstractBlob implements Mutabl
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  public Checksum writeDataAndChecksum(InputStream inputStream, String... algorithms) {
+
+    try {
+      OutputStream outputStream = null;
+      ChecksumOutputStream checksumStream = null;
+      try {
+        outputStream = getWriteAccess(false);
+        checksumStream = new ChecksumOutputStream(outputStream, algorithms);
+        outputStream = checksumStream;
+        getStreamUtil().transfer(inputStream, outputStream, false);
+      } finally {
+        try {
+          inputStream.close();
+        } finally {
+          if (outputStream != null) {
+            outputStream.close();
+          }
+        }
+      }
+      return checksumStream;
+    } catch (IOException e) {
+      throw new RuntimeIoException(e, IoMode.COPY);
+    }
+  }
+
 }
@@ -0,0 +1,169 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.data.base.datatype;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import net.sf.mmm.data.api.datatype.Checksum;
+import net.sf.mmm.util.nls.api.NlsIllegalArgumentException;
+import net.sf.mmm.util.nls.api.NlsIllegalStateException;
+
+/**
+ * This is an {@link OutputStream} that computes the {@link Checksum checksums} of all data written to it in a
+ * single pass. Each chunk of data is forwarded to the underlying {@link OutputStream} and then fed from the same
+ * buffer into the {@link MessageDigest} of every configured algorithm. This avoids reading the data a second
+ * time just to compute the checksums (e.g. for large media files).<br/>
+ * After the stream has been {@link #close() closed} the checksums are available via
+ * {@link #getChecksum(String)}.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class ChecksumOutputStream extends FilterOutputStream implements Checksum {
+
+  /** The digits for the lowercase hex encoding. */
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /** The names of the algorithms used as {@link #getChecksum(String) keys}. */
+  private final String[] algorithms;
+
+  /** The {@link MessageDigest}s in the same order as {@link #algorithms}. */
+  private final MessageDigest[] digests;
+
+  /** The hex encoded checksums or <code>null</code> if NOT yet {@link #close() closed}. */
+  private String[] checksums;
+
+  /** @see #getByteCount() */
+  private long byteCount;
+
+  /**
+   * The constructor for the default checksums {@link Checksum#KEY_MD5 MD5} and {@link Checksum#KEY_SHA1 SHA-1}.
+   *
+   * @param out is the underlying {@link OutputStream} to write the data to.
+   */
+  public ChecksumOutputStream(OutputStream out) {
+
+    this(out, KEY_MD5, KEY_SHA1);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param out is the underlying {@link OutputStream} to write the data to.
+   * @param algorithms are the names of the {@link MessageDigest#getInstance(String) digest algorithms} to
+   *        compute. They are also used as {@link #getChecksum(String) keys}. If none is given, the default
+   *        checksums {@link Checksum#KEY_MD5 MD5} and {@link Checksum#KEY_SHA1 SHA-1} are computed.
+   */
+  public ChecksumOutputStream(OutputStream out, String... algorithms) {
+
+    super(out);
+    if (algorithms.length == 0) {
+      this.algorithms = new String[] { KEY_MD5, KEY_SHA1 };
+    } else {
+      this.algorithms = algorithms.clone();
+    }
+    this.digests = new MessageDigest[this.algorithms.length];
+    for (int i = 0; i < this.digests.length; i++) {
+      try {
+        this.digests[i] = MessageDigest.getInstance(this.algorithms[i]);
+      } catch (NoSuchAlgorithmException e) {
+        throw new NlsIllegalArgumentException(this.algorithms[i], "algorithm");
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(int b) throws IOException {
+
+    this.out.write(b);
+    byte value = (byte) b;
+    for (MessageDigest digest : this.digests) {
+      digest.update(value);
+    }
+    this.byteCount++;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void write(byte[] buffer, int offset, int length) throws IOException {
+
+    this.out.write(buffer, offset, length);
+    for (MessageDigest digest : this.digests) {
+      digest.update(buffer, offset, length);
+    }
+    this.byteCount = this.byteCount + length;
+  }
+
+  /**
+   * {@inheritDoc}<br/>
+   * Further this method completes the {@link #getChecksum(String) checksums}.
+   */
+  @Override
+  public void close() throws IOException {
+
+    try {
+      super.close();
+    } finally {
+      if (this.checksums == null) {
+        String[] hexChecksums = new String[this.digests.length];
+        for (int i = 0; i < this.digests.length; i++) {
+          hexChecksums[i] = toHexString(this.digests[i].digest());
+        }
+        this.checksums = hexChecksums;
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws NlsIllegalStateException if this stream has NOT been {@link #close() closed} yet.
+   */
+  public String getChecksum(String key) throws NlsIllegalStateException {
+
+    if (this.checksums == null) {
+      throw new NlsIllegalStateException();
+    }
+    for (int i = 0; i < this.algorithms.length; i++) {
+      if (this.algorithms[i].equals(key)) {
+        return this.checksums[i];
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the number of bytes that have been written.
+   */
+  public long getByteCount() {
+
+    return this.byteCount;
+  }
+
+  /**
+   * This method encodes the given <code>bytes</code> as lowercase hex {@link String} with two digits per byte.
+   *
+   * @param bytes are the bytes to encode (e.g. a {@link MessageDigest#digest() digest}).
+   * @return the hex {@link String}.
+   */
+  public static String toHexString(byte[] bytes) {
+
+    char[] chars = new char[bytes.length * 2];
+    int charIndex = 0;
+    for (byte b : bytes) {
+      chars[charIndex++] = HEX_DIGITS[(b >> 4) & 0x0F];
+      chars[charIndex++] = HEX_DIGITS[b & 0x0F];
+    }
+    return new String(chars);
+  }
+
+}
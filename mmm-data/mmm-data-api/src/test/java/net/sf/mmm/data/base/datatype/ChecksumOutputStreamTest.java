@@ -0,0 +1,55 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.data.base.datatype;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import net.sf.mmm.data.api.datatype.Checksum;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is the test-case for {@link ChecksumOutputStream}.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ */
+public class ChecksumOutputStreamTest {
+
+  /**
+   * Tests that {@link ChecksumOutputStream} passes the data through and computes all checksums in one pass.
+   * 
+   * @throws Exception if something goes wrong.
+   */
+  @Test
+  public void testChecksums() throws Exception {
+
+    byte[] data = "The quick brown fox jumps over the lazy dog".getBytes("US-ASCII");
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    ChecksumOutputStream out = new ChecksumOutputStream(buffer, Checksum.KEY_MD5, Checksum.KEY_SHA1, "SHA-256");
+    out.write(data, 0, 10);
+    out.write(data[10]);
+    out.write(data, 11, data.length - 11);
+    out.close();
+    Assert.assertTrue(Arrays.equals(data, buffer.toByteArray()));
+    Assert.assertEquals(data.length, out.getByteCount());
+    Assert.assertEquals("9e107d9d372bb6826bd81d3542a419d6", out.getChecksum(Checksum.KEY_MD5));
+    Assert.assertEquals("2fd4e1c67a2d28fced849ee1bb76e7391b93eb12", out.getChecksum(Checksum.KEY_SHA1));
+    Assert.assertEquals("d7a8fbb307d7809469ca9abcb0082e4f8d5651e46d3cdb762d02d0bf37c9e592",
+        out.getChecksum("SHA-256"));
+    Assert.assertNull(out.getChecksum("CRC32"));
+  }
+
+  /**
+   * Tests {@link ChecksumOutputStream#toHexString(byte[])}.
+   */
+  @Test
+  public void testToHexString() {
+
+    Assert.assertEquals("", ChecksumOutputStream.toHexString(new byte[0]));
+    Assert.assertEquals("000f10ff7f80", ChecksumOutputStream.toHexString(new byte[] { 0x00, 0x0F, 0x10, (byte) 0xFF,
+        0x7F, (byte) 0x80 }));
+  }
+
+}
@@ -51,8 +51,8 @@ public abstract class AbstractDataClass<CLASS extends DataObject> extends Abstra
   /** @see #getCachingStrategy() */
   private DataClassCachingStrategy cachingStrategy;
 
-  /** @see #getDeclaredFields() (map of content-fields by name) */
-  private final Map<String, AbstractDataField<CLASS, ?>> declaredFields;
+  /** @see #getDeclaredFields() (map of content-fields by name, replaced by a copy on modification) */
+  private volatile Map<String, AbstractDataField<CLASS, ?>> declaredFields;
 
   /** @see #getDeclaredFields() */
   private final Collection<AbstractDataField<CLASS, ?>> declaredFieldsView;
@@ -70,7 +70,7 @@ public abstract class AbstractDataClass<CLASS extends DataObject> extends Abstra
 
     super();
     this.declaredFields = new HashMap<String, AbstractDataField<CLASS, ?>>();
-    this.declaredFieldsView = Collections.unmodifiableCollection(this.declaredFields.values());
+    this.declaredFieldsView = new DeclaredFieldsCollection();
     this.fieldsView = new FieldsCollection();
   }
 
@@ -327,6 +327,29 @@ public abstract class AbstractDataClass<CLASS extends DataObject> extends Abstra
     return isSubClassOf(dataClass);
   }
 
+  /**
+   * This method verifies that the given <code>subClass</code> can be {@link #addSubClass(AbstractDataClass)
+   * added} as {@link #getSubClasses() sub-class} of this class.
+   * 
+   * @param subClass is the sub-class to verify.
+   * @throws DataReflectionException if the given <code>subClass</code> can NOT extend this class.
+   */
+  protected void verifySubClass(AbstractDataClass<? extends DataObject> subClass) throws DataReflectionException {
+
+    if (subClass.getSuperClass() != this) {
+      // TODO: NLS
+      throw new DataReflectionException("Sub-Class must have this class as super-class!");
+    }
+    if (subClass.getModifiers().isSystem() && !getModifiers().isSystem()) {
+      // TODO: NLS
+      throw new DataReflectionException("System-class can NOT extend user-class!");
+    }
+    if (getModifiers().isFinal()) {
+      // TODO: NLS
+      throw new DataReflectionException("Can NOT extend final class!");
+    }
+  }
+
   /**
    * This method adds a {@link #getSubClasses() sub-class} to this class.<br>
    * It is an idempotent operation. Therefore it will have no effect if the given <code>subClass</code> is
@@ -352,12 +375,50 @@ public abstract class AbstractDataClass<CLASS extends DataObject> extends Abstra
     }
     DataField<CLASS, ?> duplicate = this.declaredFields.get(field.getTitle());
     if (duplicate == null) {
-      this.declaredFields.put(field.getTitle(), field);
+      // copy-on-write as this class may already be published
+      Map<String, AbstractDataField<CLASS, ?>> fields = new HashMap<String, AbstractDataField<CLASS, ?>>(
+          this.declaredFields);
+      fields.put(field.getTitle(), field);
+      this.declaredFields = fields;
     } else if (!field.equals(duplicate)) {
       throw new DuplicateObjectException(field.getTitle());
     }
   }
 
+  /**
+   * @see DataClass#getDeclaredFields()
+   */
+  private class DeclaredFieldsCollection extends AbstractCollection<AbstractDataField<CLASS, ?>> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+      return AbstractDataClass.this.declaredFields.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<AbstractDataField<CLASS, ?>> iterator() {
+
+      return Collections.unmodifiableCollection(AbstractDataClass.this.declaredFields.values()).iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean contains(Object o) {
+
+      return AbstractDataClass.this.declaredFields.containsValue(o);
+    }
+
+  }
+
   /**
    * @see DataClass#getFields()
    */
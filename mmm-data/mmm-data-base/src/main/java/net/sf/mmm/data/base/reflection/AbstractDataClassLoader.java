@@ -10,6 +10,7 @@ import net.sf.mmm.data.api.datatype.DataId;
 import net.sf.mmm.data.api.reflection.DataClass;
 import net.sf.mmm.data.api.reflection.DataClassLoader;
 import net.sf.mmm.data.api.reflection.DataField;
+import net.sf.mmm.data.api.reflection.DataReflectionException;
 import net.sf.mmm.data.api.reflection.access.DataClassReadAccessById;
 import net.sf.mmm.data.api.reflection.access.DataClassReadAccessByTitle;
 import net.sf.mmm.data.api.reflection.access.DataFieldReadAccessById;
@@ -72,6 +73,21 @@ public abstract class AbstractDataClassLoader implements DataClassLoader {
     return ReflectionUtilImpl.getInstance();
   }
 
+  /**
+   * This method {@link #loadClasses() loads} the classes of the model and creates a new
+   * {@link DataModelSnapshot} from them. The snapshot is built independently of the current model of the
+   * {@link #getDataReflectionService() service} so it can be verified before it is atomically published via
+   * {@link AbstractDataReflectionService#setModel(DataModelSnapshot)}.
+   * 
+   * @return the new {@link DataModelSnapshot} of the loaded model.
+   * @throws DataReflectionException if the configured model is illegal in any way.
+   */
+  public DataModelSnapshot loadModel() throws DataReflectionException {
+
+    AbstractDataClass<? extends DataObject> rootClass = (AbstractDataClass<? extends DataObject>) loadClasses();
+    return DataModelSnapshot.create(rootClass);
+  }
+
   /**
    * This inner class is the context used to cache results during class-loading.
    */
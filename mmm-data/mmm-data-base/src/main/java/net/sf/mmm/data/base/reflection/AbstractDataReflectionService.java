@@ -3,10 +3,7 @@
 package net.sf.mmm.data.base.reflection;
 
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import net.sf.mmm.data.api.DataIdManager;
 import net.sf.mmm.data.api.DataObject;
@@ -25,14 +22,22 @@ import net.sf.mmm.util.event.api.ChangeType;
 import net.sf.mmm.util.event.api.EventListener;
 import net.sf.mmm.util.event.api.EventSource;
 import net.sf.mmm.util.event.base.AbstractSynchronizedEventSource;
-import net.sf.mmm.util.nls.api.DuplicateObjectException;
 import net.sf.mmm.util.nls.api.NlsNullPointerException;
 import net.sf.mmm.util.nls.api.ObjectMismatchException;
 import net.sf.mmm.util.nls.api.ObjectNotFoundException;
 import net.sf.mmm.util.reflect.api.GenericType;
 
 /**
- * This is the abstract base implementation of the {@link DataReflectionService} interface.
+ * This is the abstract base implementation of the {@link DataReflectionService} interface.<br>
+ * The model is held as an immutable {@link DataModelSnapshot} that is published via a <code>volatile</code>
+ * reference. Therefore lookups are lock-free and never see a partially modified model. Modifications are
+ * serialized, performed on a {@link DataModelSnapshot#newBuilder() copy} and then published atomically. A
+ * {@link #syncClassRecursive(AbstractDataClass, AbstractDataClass) synchronization} collects all its
+ * modifications in a single {@link DataModelSnapshot.Builder} and {@link #fireEvent(DataReflectionEvent) fires}
+ * the according events after the new model has been published and the lock has been released.<br>
+ * Sub-classes and fields added to classes of the published model are only applied to these classes when the
+ * new model is {@link DataModelSnapshot.Builder#build() built}. The classes replace their collections by
+ * modified copies so a concurrent reader never sees a partially modified collection.
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 1.0.0
@@ -40,26 +45,11 @@ import net.sf.mmm.util.reflect.api.GenericType;
 public abstract class AbstractDataReflectionService extends AbstractLoggableComponent implements
     DataReflectionService {
 
-  /** @see #getDataClass(String) */
-  private final Map<String, AbstractDataClass<? extends DataObject>> name2class;
+  /** @see #getModel() */
+  private volatile DataModelSnapshot model;
 
-  /** @see #getDataClass(long) */
-  private final Map<Long, AbstractDataClass<? extends DataObject>> id2class;
-
-  /** @see #getDataClass(Class) */
-  private final Map<Class<? extends DataObject>, AbstractDataClass<? extends DataObject>> class2class;
-
-  /** @see #getDataClasses() */
-  private final List<AbstractDataClass<? extends DataObject>> classes;
-
-  /** @see #getDataClasses() */
-  private final List<AbstractDataClass<? extends DataObject>> classesView;
-
-  /** @see #getDataField(long) */
-  private final Map<Long, AbstractDataField<? extends DataObject, ?>> id2field;
-
-  /** @see #getRootDataClass() */
-  private AbstractDataClass<? extends DataObject> rootClass;
+  /** The lock to serialize modifications of the {@link #getModel() model}. */
+  private final Object modelLock;
 
   /** @see #getEventSource() */
   private final ContentModelEventSource eventSource;
@@ -73,17 +63,38 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
   public AbstractDataReflectionService() {
 
     super();
-    // TODO: use concurrent map?
-    this.name2class = new HashMap<String, AbstractDataClass<? extends DataObject>>();
-    this.id2class = new HashMap<Long, AbstractDataClass<? extends DataObject>>();
-    this.class2class = new HashMap<Class<? extends DataObject>, AbstractDataClass<? extends DataObject>>();
-    this.classes = new ArrayList<AbstractDataClass<? extends DataObject>>();
-    this.classesView = Collections.unmodifiableList(this.classes);
-    this.id2field = new HashMap<Long, AbstractDataField<? extends DataObject, ?>>();
+    this.model = DataModelSnapshot.EMPTY;
+    this.modelLock = new Object();
     // AbstractContentObject.setClassAccess(this);
     this.eventSource = new ContentModelEventSource();
   }
 
+  /**
+   * This method gets the current {@link DataModelSnapshot}. The result is immutable and can therefore be used to
+   * perform multiple lookups on a consistent state of the model.
+   * 
+   * @return the current {@link DataModelSnapshot}.
+   */
+  protected DataModelSnapshot getModel() {
+
+    return this.model;
+  }
+
+  /**
+   * This method atomically replaces the {@link #getModel() model} with the given snapshot (e.g. after the model
+   * has been {@link DataModelSnapshot#create(AbstractDataClass) (re)loaded}). It does NOT
+   * {@link #fireEvent(DataReflectionEvent) fire} any event.
+   * 
+   * @param model is the new {@link DataModelSnapshot}.
+   */
+  protected void setModel(DataModelSnapshot model) {
+
+    NlsNullPointerException.checkNotNull(DataModelSnapshot.class, model);
+    synchronized (this.modelLock) {
+      this.model = model;
+    }
+  }
+
   /**
    * @return the dataIdManager
    */
@@ -137,7 +148,7 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
   @Override
   public AbstractDataClass<? extends DataObject> getDataClass(String title) {
 
-    AbstractDataClass<? extends DataObject> dataClass = this.name2class.get(title);
+    AbstractDataClass<? extends DataObject> dataClass = this.model.getDataClass(title);
     if (dataClass == null) {
       throw new ObjectNotFoundException(DataClass.class, title);
     }
@@ -159,7 +170,7 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
   @Override
   public AbstractDataClass<? extends DataObject> getDataClass(long id) {
 
-    AbstractDataClass<? extends DataObject> dataClass = this.id2class.get(Long.valueOf(id));
+    AbstractDataClass<? extends DataObject> dataClass = this.model.getDataClass(id);
     if (dataClass == null) {
       throw new ObjectNotFoundException(DataClass.class, Long.valueOf(id));
     }
@@ -184,7 +195,7 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
   public <CLASS extends DataObject> AbstractDataClass<CLASS> getDataClass(Class<CLASS> javaClass)
       throws ObjectNotFoundException {
 
-    return (AbstractDataClass<CLASS>) this.class2class.get(javaClass);
+    return (AbstractDataClass<CLASS>) this.model.getDataClass(javaClass);
   }
 
   /**
@@ -206,7 +217,7 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
   @Override
   public AbstractDataField<? extends DataObject, ?> getDataField(long id) throws ObjectNotFoundException {
 
-    AbstractDataField<? extends DataObject, ?> field = this.id2field.get(Long.valueOf(id));
+    AbstractDataField<? extends DataObject, ?> field = this.model.getDataField(id);
     if (field == null) {
       throw new ObjectNotFoundException(DataField.class, Long.valueOf(id));
     }
@@ -219,7 +230,7 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
   @Override
   public List<AbstractDataClass<? extends DataObject>> getDataClasses() {
 
-    return this.classesView;
+    return this.model.getDataClasses();
   }
 
   /**
@@ -228,7 +239,7 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
   @Override
   public AbstractDataClass<? extends DataObject> getRootDataClass() {
 
-    return this.rootClass;
+    return this.model.getRootDataClass();
   }
 
   /**
@@ -238,7 +249,11 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
    */
   protected void setRootClass(AbstractDataClass<? extends DataObject> rootClass) {
 
-    this.rootClass = rootClass;
+    synchronized (this.modelLock) {
+      DataModelSnapshot.Builder builder = this.model.newBuilder();
+      builder.setRootClass(rootClass);
+      this.model = builder.build();
+    }
   }
 
   /**
@@ -250,29 +265,11 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
    */
   protected void addClass(AbstractDataClass<? extends DataObject> contentClass) throws DataReflectionException {
 
-    Long id = contentClass.getId();
-    AbstractDataClass<? extends DataObject> duplicate = this.id2class.get(id);
-    if (duplicate != null) {
-      throw new DuplicateObjectException(contentClass, duplicate);
-    }
-    String name = contentClass.getTitle();
-    duplicate = this.name2class.get(name);
-    if (duplicate != null) {
-      throw new DuplicateObjectException(contentClass, name, duplicate);
-    }
-    for (AbstractDataField<? extends DataObject, ?> field : contentClass.getDeclaredFields()) {
-      if (!this.id2field.containsKey(field.getId())) {
-        addField(field);
-      }
-    }
-    this.name2class.put(name, contentClass);
-    this.id2class.put(id, contentClass);
-    Class<? extends DataObject> javaClass = contentClass.getJavaClass();
-    if (!this.class2class.containsKey(javaClass)) {
-      this.class2class.put(javaClass, contentClass);
+    synchronized (this.modelLock) {
+      DataModelSnapshot.Builder builder = this.model.newBuilder();
+      builder.addClass(contentClass);
+      this.model = builder.build();
     }
-    // TODO: sorted list?!
-    this.classes.add(contentClass);
   }
 
   /**
@@ -286,9 +283,10 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
   protected void addClassRecursive(AbstractDataClass<? extends DataObject> dataClass)
       throws DataReflectionException {
 
-    addClass(dataClass);
-    for (AbstractDataClass<? extends DataObject> subClass : dataClass.getSubClasses()) {
-      addClassRecursive(subClass);
+    synchronized (this.modelLock) {
+      DataModelSnapshot.Builder builder = this.model.newBuilder();
+      builder.addClassRecursive(dataClass);
+      this.model = builder.build();
     }
   }
 
@@ -300,12 +298,11 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
    */
   protected void addField(AbstractDataField<? extends DataObject, ?> contentField) throws DataReflectionException {
 
-    Long id = contentField.getId();
-    AbstractDataField<? extends DataObject, ?> duplicate = this.id2field.get(id);
-    if (duplicate != null) {
-      throw new DuplicateObjectException(contentField, id, duplicate);
+    synchronized (this.modelLock) {
+      DataModelSnapshot.Builder builder = this.model.newBuilder();
+      builder.addField(contentField);
+      this.model = builder.build();
     }
-    this.id2field.put(id, contentField);
   }
 
   /**
@@ -318,19 +315,11 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
    */
   protected void removeClass(AbstractDataClass<? extends DataObject> dataClass) throws DataReflectionException {
 
-    if (dataClass.getModifiers().isSystem()) {
-      throw new DataSystemModifyException(dataClass);
+    synchronized (this.modelLock) {
+      DataModelSnapshot.Builder builder = this.model.newBuilder();
+      builder.removeClass(dataClass);
+      this.model = builder.build();
     }
-    AbstractDataClass<? extends DataObject> old = this.id2class.remove(dataClass.getId());
-    assert (old == dataClass);
-    old = this.name2class.remove(dataClass.getTitle());
-    assert (old == dataClass);
-    old = this.class2class.get(dataClass.getJavaClass());
-    if (old == dataClass) {
-      this.class2class.remove(dataClass.getJavaClass());
-    }
-    boolean removed = this.classes.remove(dataClass);
-    assert (removed);
   }
 
   /**
@@ -370,18 +359,41 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
   protected <CLASS extends DataObject> void syncField(AbstractDataClass<CLASS> dataClass,
       AbstractDataField<CLASS, ?> dataField) {
 
+    synchronized (this.modelLock) {
+      DataModelSnapshot.Builder builder = this.model.newBuilder();
+      syncField(builder, dataClass, dataField);
+      this.model = builder.build();
+    }
+  }
+
+  /**
+   * This method synchronizes the given field that has been added or modified.
+   * 
+   * @param <CLASS> is the generic type of the {@link DataClass#getJavaClass()}.
+   * @param builder is the {@link DataModelSnapshot.Builder} collecting the modifications.
+   * @param dataClass is the {@link DataField#getDeclaringClass() declaring class}.
+   * @param dataField is the {@link DataField} to synchronize.
+   */
+  private <CLASS extends DataObject> void syncField(DataModelSnapshot.Builder builder,
+      AbstractDataClass<CLASS> dataClass, AbstractDataField<CLASS, ?> dataField) {
+
     Long id = dataField.getId();
-    AbstractDataField<? extends DataObject, ?> existingField = this.id2field.get(id);
+    AbstractDataField<? extends DataObject, ?> existingField = null;
+    if (id != null) {
+      existingField = builder.getDataField(id.longValue());
+    }
     if (existingField == null) {
-      dataClass.addDeclaredField(dataField);
-      addField(dataField);
+      // the declaring class is modified when the model is built as it may already be published
+      builder.addDeclaredField(dataField);
     } else {
       // TODO: remove existingField from contentClass and add new field
     }
   }
 
   /**
-   * This method synchronizes the given class that has been added or modified.
+   * This method synchronizes the given class that has been added or modified. All modifications are
+   * published as a single new {@link #getModel() model}. The according events are
+   * {@link #fireEvent(DataReflectionEvent) fired} afterwards.
    * 
    * @param <SUPERCLASS> is the generic type of {@link DataClass#getJavaClass()} for the given <code>superClass</code>.
    * @param <CLASS> is the generic type of {@link DataClass#getJavaClass()} for the given <code>dataClass</code>.
@@ -391,21 +403,51 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
   protected <SUPERCLASS extends DataObject, CLASS extends SUPERCLASS> void syncClassRecursive(
       AbstractDataClass<CLASS> dataClass, AbstractDataClass<SUPERCLASS> superClass) {
 
+    List<DataReflectionEvent<? extends DataObject>> events = new ArrayList<DataReflectionEvent<? extends DataObject>>();
+    synchronized (this.modelLock) {
+      DataModelSnapshot.Builder builder = this.model.newBuilder();
+      syncClassRecursive(builder, events, dataClass, superClass);
+      this.model = builder.build();
+    }
+    for (DataReflectionEvent<? extends DataObject> event : events) {
+      fireEvent(event);
+    }
+  }
+
+  /**
+   * This method synchronizes the given class that has been added or modified.
+   * 
+   * @param <SUPERCLASS> is the generic type of {@link DataClass#getJavaClass()} for the given <code>superClass</code>.
+   * @param <CLASS> is the generic type of {@link DataClass#getJavaClass()} for the given <code>dataClass</code>.
+   * @param builder is the {@link DataModelSnapshot.Builder} collecting the modifications.
+   * @param events is the {@link List} where to add the {@link DataReflectionEvent}s to fire.
+   * @param dataClass is the {@link DataClass} that has changed.
+   * @param superClass is the {@link DataClass#getSuperClass() super class}.
+   */
+  private <SUPERCLASS extends DataObject, CLASS extends SUPERCLASS> void syncClassRecursive(
+      DataModelSnapshot.Builder builder, List<DataReflectionEvent<? extends DataObject>> events,
+      AbstractDataClass<CLASS> dataClass, AbstractDataClass<SUPERCLASS> superClass) {
+
     Long id = dataClass.getId();
-    AbstractDataClass<? extends DataObject> existingClass = this.id2class.get(id);
+    AbstractDataClass<? extends DataObject> existingClass = null;
+    if (id != null) {
+      existingClass = builder.getDataClass(id.longValue());
+    }
     if (existingClass == null) {
       // new content class
 
       // TODO: verification
-      superClass.addSubClass(dataClass);
-      addClass(dataClass);
-      fireEvent(new DataReflectionEvent<CLASS>(dataClass, ChangeType.ADD));
+      builder.addClass(dataClass);
+      // the super-class is modified when the model is built as it is already published
+      builder.addSubClass(superClass, dataClass);
+      events.add(new DataReflectionEvent<CLASS>(dataClass, ChangeType.ADD));
     } else {
       DataClassModifiers existingModifiers = existingClass.getModifiers();
       boolean modified = false;
       if (!existingClass.getTitle().equals(dataClass.getTitle())) {
         // TODO I18N
-        throw new UnsupportedOperationException("Changing the name of a content-class is currently NOT supported!");
+        throw new UnsupportedOperationException(
+            "Changing the name of a content-class is currently NOT supported!");
       }
       if (existingClass.getJavaClass() != dataClass.getJavaClass()) {
         // TODO I18N
@@ -422,16 +464,15 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
             "Changing the modifiers of a content-class is currently NOT supported!");
       }
       for (AbstractDataField<CLASS, ?> field : dataClass.getDeclaredFields()) {
-        syncField(dataClass, field);
+        syncField(builder, dataClass, field);
       }
       for (AbstractDataClass<? extends CLASS> subClass : dataClass.getSubClasses()) {
-        syncClassRecursive(subClass, dataClass);
+        syncClassRecursive(builder, events, subClass, dataClass);
       }
       if (modified) {
-        fireEvent(new DataReflectionEvent<CLASS>(dataClass, ChangeType.UPDATE));
+        events.add(new DataReflectionEvent<CLASS>(dataClass, ChangeType.UPDATE));
       }
     }
-
   }
 
   /**
@@ -460,6 +501,7 @@ public abstract class AbstractDataReflectionService extends AbstractLoggableComp
 
     AbstractDataClass<CLASS> newClass = createDataClass();
     newClass.setId(id);
+    newClass.setTitle(title);
     newClass.setSuperClass(superClass);
     newClass.setModifiers(modifiers);
     newClass.setJavaClass(javaClass);
@@ -0,0 +1,505 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.data.base.reflection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.mmm.data.api.DataObject;
+import net.sf.mmm.data.api.datatype.DataId;
+import net.sf.mmm.data.api.reflection.DataClass;
+import net.sf.mmm.data.api.reflection.DataReflectionException;
+import net.sf.mmm.data.api.reflection.DataSystemModifyException;
+import net.sf.mmm.util.nls.api.DuplicateObjectException;
+import net.sf.mmm.util.nls.api.ObjectNotFoundException;
+
+/**
+ * This is an immutable snapshot of the data-model (the {@link AbstractDataClass classes} and
+ * {@link AbstractDataField fields}) managed by an {@link AbstractDataReflectionService}.<br/>
+ * As a snapshot is never modified after it has been {@link Builder#build() built}, it can be read by any number
+ * of threads without locking. Modifications are performed by creating a {@link #newBuilder() builder} from the
+ * current snapshot and publishing the {@link Builder#build() result} as the new snapshot (copy-on-write).<br/>
+ * {@link DataId#OBJECT_ID_MINIMUM_CUSTOM System} IDs are assigned densely starting from zero. Therefore classes
+ * and fields with such IDs are stored in arrays indexed by their ID. Only custom IDs are looked up via a
+ * {@link Map}.<br/>
+ * Sub-classes and fields added to classes that are already published are
+ * {@link Builder#addSubClass(AbstractDataClass, AbstractDataClass) collected} by the {@link Builder} and
+ * only applied to these classes when the new snapshot is {@link Builder#build() built}. The classes replace
+ * their {@link AbstractDataClass#getSubClasses() sub-classes} and {@link AbstractDataClass#getDeclaredFields()
+ * fields} by modified copies so a concurrent reader never sees a partially modified collection.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public final class DataModelSnapshot {
+
+  /** The empty snapshot without any classes. */
+  public static final DataModelSnapshot EMPTY = new DataModelSnapshot(new Builder());
+
+  /** @see #getRootDataClass() */
+  private final AbstractDataClass<? extends DataObject> rootClass;
+
+  /** @see #getDataClass(String) */
+  private final Map<String, AbstractDataClass<? extends DataObject>> name2class;
+
+  /** @see #getDataClass(Class) */
+  private final Map<Class<? extends DataObject>, AbstractDataClass<? extends DataObject>> class2class;
+
+  /** @see #getDataClasses() */
+  private final List<AbstractDataClass<? extends DataObject>> classes;
+
+  /** The classes with a system ID indexed by their ID. */
+  private final AbstractDataClass<?>[] id2class;
+
+  /** The classes with a custom ID. */
+  private final Map<Long, AbstractDataClass<? extends DataObject>> customId2class;
+
+  /** The fields with a system ID indexed by their ID. */
+  private final AbstractDataField<?, ?>[] id2field;
+
+  /** The fields with a custom ID. */
+  private final Map<Long, AbstractDataField<? extends DataObject, ?>> customId2field;
+
+  /**
+   * The constructor.
+   *
+   * @param builder is the {@link Builder} with the classes and fields.
+   */
+  private DataModelSnapshot(Builder builder) {
+
+    super();
+    this.rootClass = builder.rootClass;
+    this.name2class = new HashMap<String, AbstractDataClass<? extends DataObject>>(builder.name2class);
+    this.class2class = new HashMap<Class<? extends DataObject>, AbstractDataClass<? extends DataObject>>(
+        builder.class2class);
+    this.classes = Collections.unmodifiableList(new ArrayList<AbstractDataClass<? extends DataObject>>(
+        builder.classes));
+    this.customId2class = new HashMap<Long, AbstractDataClass<? extends DataObject>>();
+    this.id2class = new AbstractDataClass<?>[getArrayLength(builder.id2class.keySet())];
+    for (Map.Entry<Long, AbstractDataClass<? extends DataObject>> entry : builder.id2class.entrySet()) {
+      Long id = entry.getKey();
+      if (isDenseId(id)) {
+        this.id2class[id.intValue()] = entry.getValue();
+      } else {
+        this.customId2class.put(id, entry.getValue());
+      }
+    }
+    this.customId2field = new HashMap<Long, AbstractDataField<? extends DataObject, ?>>();
+    this.id2field = new AbstractDataField<?, ?>[getArrayLength(builder.id2field.keySet())];
+    for (Map.Entry<Long, AbstractDataField<? extends DataObject, ?>> entry : builder.id2field.entrySet()) {
+      Long id = entry.getKey();
+      if (isDenseId(id)) {
+        this.id2field[id.intValue()] = entry.getValue();
+      } else {
+        this.customId2field.put(id, entry.getValue());
+      }
+    }
+  }
+
+  /**
+   * This method determines if the given <code>id</code> is stored in an array indexed by the ID.
+   *
+   * @param id is the ID of a class or field.
+   * @return <code>true</code> if the <code>id</code> is a system ID, <code>false</code> if it is a custom ID.
+   */
+  private static boolean isDenseId(long id) {
+
+    return ((id >= 0) && (id < DataId.OBJECT_ID_MINIMUM_CUSTOM));
+  }
+
+  /**
+   * This method determines if the given <code>id</code> is stored in an array indexed by the ID.
+   *
+   * @param id is the ID of a class or field. May be <code>null</code>.
+   * @return <code>true</code> if the <code>id</code> is a system ID, <code>false</code> otherwise.
+   */
+  private static boolean isDenseId(Long id) {
+
+    return ((id != null) && isDenseId(id.longValue()));
+  }
+
+  /**
+   * This method gets the length of the array required to store the system IDs.
+   *
+   * @param ids are the IDs to store.
+   * @return the maximum system ID plus one.
+   */
+  private static int getArrayLength(Iterable<Long> ids) {
+
+    int length = 0;
+    for (Long id : ids) {
+      if (isDenseId(id) && (id.intValue() >= length)) {
+        length = id.intValue() + 1;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * This method gets the {@link AbstractDataClass} with the given {@link AbstractDataClass#getTitle() title}.
+   *
+   * @param title is the {@link AbstractDataClass#getTitle() title} of the requested class.
+   * @return the requested class or <code>null</code> if NOT contained in this snapshot.
+   */
+  public AbstractDataClass<? extends DataObject> getDataClass(String title) {
+
+    return this.name2class.get(title);
+  }
+
+  /**
+   * This method gets the {@link AbstractDataClass} with the given {@link AbstractDataClass#getId() ID}.
+   *
+   * @param id is the {@link AbstractDataClass#getId() ID} of the requested class.
+   * @return the requested class or <code>null</code> if NOT contained in this snapshot.
+   */
+  @SuppressWarnings("unchecked")
+  public AbstractDataClass<? extends DataObject> getDataClass(long id) {
+
+    if (isDenseId(id)) {
+      if (id < this.id2class.length) {
+        return (AbstractDataClass<? extends DataObject>) this.id2class[(int) id];
+      }
+      return null;
+    }
+    return this.customId2class.get(Long.valueOf(id));
+  }
+
+  /**
+   * This method gets the {@link AbstractDataClass} for the given {@link AbstractDataClass#getJavaClass() java
+   * class}.
+   *
+   * @param javaClass is the {@link AbstractDataClass#getJavaClass() java class} of the requested class.
+   * @return the requested class or <code>null</code> if NOT contained in this snapshot.
+   */
+  public AbstractDataClass<? extends DataObject> getDataClass(Class<? extends DataObject> javaClass) {
+
+    return this.class2class.get(javaClass);
+  }
+
+  /**
+   * This method gets the {@link AbstractDataField} with the given {@link AbstractDataField#getId() ID}.
+   *
+   * @param id is the {@link AbstractDataField#getId() ID} of the requested field.
+   * @return the requested field or <code>null</code> if NOT contained in this snapshot.
+   */
+  @SuppressWarnings("unchecked")
+  public AbstractDataField<? extends DataObject, ?> getDataField(long id) {
+
+    if (isDenseId(id)) {
+      if (id < this.id2field.length) {
+        return (AbstractDataField<? extends DataObject, ?>) this.id2field[(int) id];
+      }
+      return null;
+    }
+    return this.customId2field.get(Long.valueOf(id));
+  }
+
+  /**
+   * @return the unmodifiable {@link List} of all classes in the order of their registration.
+   */
+  public List<AbstractDataClass<? extends DataObject>> getDataClasses() {
+
+    return this.classes;
+  }
+
+  /**
+   * @return the root-class or <code>null</code> if NOT set.
+   */
+  public AbstractDataClass<? extends DataObject> getRootDataClass() {
+
+    return this.rootClass;
+  }
+
+  /**
+   * This method creates a new {@link Builder} that is initialized with the content of this snapshot.
+   *
+   * @return the new {@link Builder}.
+   */
+  @SuppressWarnings("unchecked")
+  public Builder newBuilder() {
+
+    Builder builder = new Builder();
+    builder.rootClass = this.rootClass;
+    builder.name2class.putAll(this.name2class);
+    builder.class2class.putAll(this.class2class);
+    builder.classes.addAll(this.classes);
+    for (AbstractDataClass<? extends DataObject> dataClass : this.classes) {
+      builder.id2class.put(dataClass.getId(), dataClass);
+    }
+    for (int i = 0; i < this.id2field.length; i++) {
+      AbstractDataField<?, ?> field = this.id2field[i];
+      if (field != null) {
+        builder.id2field.put(Long.valueOf(i), (AbstractDataField<? extends DataObject, ?>) field);
+      }
+    }
+    builder.id2field.putAll(this.customId2field);
+    return builder;
+  }
+
+  /**
+   * This method creates a new snapshot containing the given <code>rootClass</code> as
+   * {@link #getRootDataClass() root-class} together with all its (transitive)
+   * {@link AbstractDataClass#getSubClasses() sub-classes} and their {@link AbstractDataClass#getDeclaredFields()
+   * fields}.
+   *
+   * @param rootClass is the {@link #getRootDataClass() root-class}.
+   * @return the new snapshot.
+   * @throws DataReflectionException if the model is inconsistent (e.g. contains duplicate IDs).
+   */
+  public static DataModelSnapshot create(AbstractDataClass<? extends DataObject> rootClass)
+      throws DataReflectionException {
+
+    Builder builder = new Builder();
+    builder.setRootClass(rootClass);
+    builder.addClassRecursive(rootClass);
+    return builder.build();
+  }
+
+  /**
+   * This is the mutable builder used to create a {@link DataModelSnapshot}. It is NOT thread-safe and shall
+   * only be used by a single thread.
+   */
+  public static final class Builder {
+
+    /** @see #setRootClass(AbstractDataClass) */
+    private AbstractDataClass<? extends DataObject> rootClass;
+
+    /** @see #getDataClass(String) */
+    private final Map<String, AbstractDataClass<? extends DataObject>> name2class;
+
+    /** @see #getDataClass(long) */
+    private final Map<Long, AbstractDataClass<? extends DataObject>> id2class;
+
+    /** @see DataModelSnapshot#getDataClass(Class) */
+    private final Map<Class<? extends DataObject>, AbstractDataClass<? extends DataObject>> class2class;
+
+    /** @see DataModelSnapshot#getDataClasses() */
+    private final List<AbstractDataClass<? extends DataObject>> classes;
+
+    /** @see #getDataField(long) */
+    private final Map<Long, AbstractDataField<? extends DataObject, ?>> id2field;
+
+    /** @see #addSubClass(AbstractDataClass, AbstractDataClass) */
+    private final List<AbstractDataClass<? extends DataObject>> pendingSubClasses;
+
+    /** @see #addDeclaredField(AbstractDataField) */
+    private final List<AbstractDataField<? extends DataObject, ?>> pendingFields;
+
+    /**
+     * The constructor for an empty builder.
+     */
+    public Builder() {
+
+      super();
+      this.name2class = new HashMap<String, AbstractDataClass<? extends DataObject>>();
+      this.id2class = new HashMap<Long, AbstractDataClass<? extends DataObject>>();
+      this.class2class = new HashMap<Class<? extends DataObject>, AbstractDataClass<? extends DataObject>>();
+      this.classes = new ArrayList<AbstractDataClass<? extends DataObject>>();
+      this.id2field = new HashMap<Long, AbstractDataField<? extends DataObject, ?>>();
+      this.pendingSubClasses = new ArrayList<AbstractDataClass<? extends DataObject>>();
+      this.pendingFields = new ArrayList<AbstractDataField<? extends DataObject, ?>>();
+    }
+
+    /**
+     * @see DataModelSnapshot#getDataClass(String)
+     *
+     * @param title is the {@link AbstractDataClass#getTitle() title} of the requested class.
+     * @return the requested class or <code>null</code> if NOT yet added.
+     */
+    public AbstractDataClass<? extends DataObject> getDataClass(String title) {
+
+      return this.name2class.get(title);
+    }
+
+    /**
+     * @see DataModelSnapshot#getDataClass(long)
+     *
+     * @param id is the {@link AbstractDataClass#getId() ID} of the requested class.
+     * @return the requested class or <code>null</code> if NOT yet added.
+     */
+    public AbstractDataClass<? extends DataObject> getDataClass(long id) {
+
+      return this.id2class.get(Long.valueOf(id));
+    }
+
+    /**
+     * @see DataModelSnapshot#getDataField(long)
+     *
+     * @param id is the {@link AbstractDataField#getId() ID} of the requested field.
+     * @return the requested field or <code>null</code> if NOT yet added.
+     */
+    public AbstractDataField<? extends DataObject, ?> getDataField(long id) {
+
+      return this.id2field.get(Long.valueOf(id));
+    }
+
+    /**
+     * @see DataModelSnapshot#getRootDataClass()
+     *
+     * @param rootClass is the root-class to set.
+     */
+    public void setRootClass(AbstractDataClass<? extends DataObject> rootClass) {
+
+      this.rootClass = rootClass;
+    }
+
+    /**
+     * This method adds the given <code>dataClass</code> together with its
+     * {@link AbstractDataClass#getDeclaredFields() declared fields} that are NOT yet contained.
+     *
+     * @param dataClass is the class to add.
+     * @throws DataReflectionException if a class with the same ID or title is already contained.
+     */
+    public void addClass(AbstractDataClass<? extends DataObject> dataClass) throws DataReflectionException {
+
+      Long id = dataClass.getId();
+      AbstractDataClass<? extends DataObject> duplicate = this.id2class.get(id);
+      if (duplicate != null) {
+        throw new DuplicateObjectException(dataClass, duplicate);
+      }
+      String name = dataClass.getTitle();
+      duplicate = this.name2class.get(name);
+      if (duplicate != null) {
+        throw new DuplicateObjectException(dataClass, name, duplicate);
+      }
+      for (AbstractDataField<? extends DataObject, ?> field : dataClass.getDeclaredFields()) {
+        if (!this.id2field.containsKey(field.getId())) {
+          addField(field);
+        }
+      }
+      this.name2class.put(name, dataClass);
+      this.id2class.put(id, dataClass);
+      Class<? extends DataObject> javaClass = dataClass.getJavaClass();
+      if (!this.class2class.containsKey(javaClass)) {
+        this.class2class.put(javaClass, dataClass);
+      }
+      this.classes.add(dataClass);
+    }
+
+    /**
+     * This method {@link #addClass(AbstractDataClass) adds} the given <code>dataClass</code> and all its
+     * (transitive) {@link AbstractDataClass#getSubClasses() sub-classes}.
+     *
+     * @param dataClass is the class to add.
+     * @throws DataReflectionException if the class or one of its sub-classes could NOT be added.
+     */
+    public void addClassRecursive(AbstractDataClass<? extends DataObject> dataClass) throws DataReflectionException {
+
+      addClass(dataClass);
+      for (AbstractDataClass<? extends DataObject> subClass : dataClass.getSubClasses()) {
+        addClassRecursive(subClass);
+      }
+    }
+
+    /**
+     * This method links the given <code>subClass</code> as sub-class of the given <code>superClass</code>. As the
+     * <code>superClass</code> may already be published, it is only
+     * {@link AbstractDataClass#addSubClass(AbstractDataClass) modified} when the new snapshot is
+     * {@link #build() built}. Linking is idempotent.
+     *
+     * @param superClass is the {@link AbstractDataClass#getSuperClass() super-class}. It has to be contained in
+     *        this builder.
+     * @param subClass is the sub-class to link.
+     * @throws DataReflectionException if the sub-class can NOT extend the given <code>superClass</code>.
+     */
+    public void addSubClass(AbstractDataClass<? extends DataObject> superClass,
+        AbstractDataClass<? extends DataObject> subClass) throws DataReflectionException {
+
+      if (superClass.getSubClasses().contains(subClass)) {
+        return;
+      }
+      if (this.id2class.get(superClass.getId()) != superClass) {
+        throw new ObjectNotFoundException(DataClass.class, superClass.getId());
+      }
+      superClass.verifySubClass(subClass);
+      if (!this.pendingSubClasses.contains(subClass)) {
+        this.pendingSubClasses.add(subClass);
+      }
+    }
+
+    /**
+     * This method {@link #addField(AbstractDataField) adds} the given <code>dataField</code> and registers it as
+     * {@link AbstractDataClass#getDeclaredFields() declared field} of its
+     * {@link AbstractDataField#getDeclaringClass() declaring class}. As the declaring class may already be
+     * published, it is only {@link AbstractDataClass#addDeclaredField(AbstractDataField) modified} when the new
+     * snapshot is {@link #build() built}.
+     *
+     * @param dataField is the field to add.
+     * @throws DataReflectionException if a field with the same ID is already contained.
+     */
+    public void addDeclaredField(AbstractDataField<? extends DataObject, ?> dataField) throws DataReflectionException {
+
+      addField(dataField);
+      this.pendingFields.add(dataField);
+    }
+
+    /**
+     * This method adds the given <code>dataField</code>.
+     *
+     * @param dataField is the field to add.
+     * @throws DataReflectionException if a field with the same ID is already contained.
+     */
+    public void addField(AbstractDataField<? extends DataObject, ?> dataField) throws DataReflectionException {
+
+      Long id = dataField.getId();
+      AbstractDataField<? extends DataObject, ?> duplicate = this.id2field.get(id);
+      if (duplicate != null) {
+        throw new DuplicateObjectException(dataField, id, duplicate);
+      }
+      this.id2field.put(id, dataField);
+    }
+
+    /**
+     * This method removes the given <code>dataClass</code>.
+     *
+     * @param dataClass is the class to remove.
+     * @throws DataReflectionException if the class is a {@link AbstractDataClass#getModifiers() system} class.
+     */
+    public void removeClass(AbstractDataClass<? extends DataObject> dataClass) throws DataReflectionException {
+
+      if (dataClass.getModifiers().isSystem()) {
+        throw new DataSystemModifyException(dataClass);
+      }
+      AbstractDataClass<? extends DataObject> old = this.id2class.remove(dataClass.getId());
+      assert (old == dataClass);
+      old = this.name2class.remove(dataClass.getTitle());
+      assert (old == dataClass);
+      old = this.class2class.get(dataClass.getJavaClass());
+      if (old == dataClass) {
+        this.class2class.remove(dataClass.getJavaClass());
+      }
+      boolean removed = this.classes.remove(dataClass);
+      assert (removed);
+      this.pendingSubClasses.remove(dataClass);
+    }
+
+    /**
+     * This method creates the {@link DataModelSnapshot}. The builder may still be used afterwards without
+     * affecting the created snapshot.<br/>
+     * The {@link #addSubClass(AbstractDataClass, AbstractDataClass) sub-classes} and
+     * {@link #addDeclaredField(AbstractDataField) fields} collected by this builder are applied to their classes
+     * before.
+     *
+     * @return the new {@link DataModelSnapshot}.
+     * @throws DataReflectionException if a collected modification could NOT be applied.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public DataModelSnapshot build() throws DataReflectionException {
+
+      for (AbstractDataField field : this.pendingFields) {
+        field.getDeclaringClass().addDeclaredField(field);
+      }
+      this.pendingFields.clear();
+      for (AbstractDataClass subClass : this.pendingSubClasses) {
+        subClass.getSuperClass().addSubClass(subClass);
+      }
+      this.pendingSubClasses.clear();
+      return new DataModelSnapshot(this);
+    }
+
+  }
+
+}
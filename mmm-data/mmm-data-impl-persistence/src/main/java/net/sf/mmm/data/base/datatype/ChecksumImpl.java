@@ -2,11 +2,6 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.data.base.datatype;
 
-import java.io.FileInputStream;
-import java.io.InputStream;
-import java.security.DigestInputStream;
-import java.security.MessageDigest;
-
 import javax.persistence.Embeddable;
 import javax.persistence.Transient;
 
@@ -35,22 +30,18 @@ public class ChecksumImpl implements Checksum {
     super();
   }
 
-  private static void example() throws Exception {
+  /**
+   * The constructor.
+   * 
+   * @param checksum is the {@link Checksum} to copy (e.g. a
+   *        {@link net.sf.mmm.data.base.datatype.ChecksumOutputStream} after the
+   *        data has been written).
+   */
+  public ChecksumImpl(Checksum checksum) {
 
-    MessageDigest md = MessageDigest.getInstance("MD5");
-    InputStream is = new FileInputStream("file.txt");
-    try {
-      is = new DigestInputStream(is, md);
-      // read stream to EOF as normal...
-    } finally {
-      is.close();
-    }
-    byte[] digest = md.digest();
-    StringBuilder buffer = new StringBuilder(digest.length * 2);
-    for (byte b : digest) {
-      buffer.append(Integer.toString(b, 16));
-    }
-    String md5 = buffer.toString();
+    super();
+    this.checksumMd5 = checksum.getChecksum(KEY_MD5);
+    this.checksumSha1 = checksum.getChecksum(KEY_SHA1);
   }
 
   /**
@@ -0,0 +1,55 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.data.base.repository;
+
+import java.io.InputStream;
+
+import net.sf.mmm.data.api.datatype.Checksum;
+import net.sf.mmm.data.api.datatype.DataId;
+import net.sf.mmm.data.api.datatype.MutableBlob;
+import net.sf.mmm.data.api.entity.resource.DataFile;
+import net.sf.mmm.data.base.datatype.ChecksumImpl;
+import net.sf.mmm.util.component.base.AbstractLoggableComponent;
+
+/**
+ * This is the abstract base implementation of the {@link ContentBlobStore} interface.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public abstract class AbstractContentBlobStore extends AbstractLoggableComponent implements ContentBlobStore {
+
+  /**
+   * The constructor.
+   */
+  public AbstractContentBlobStore() {
+
+    super();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Checksum writeBlob(DataId id, DataFile file, InputStream data) {
+
+    MutableBlob blob = createBlob(id, file);
+    Checksum checksum = blob.writeDataAndChecksum(data, getChecksumAlgorithms());
+    ChecksumImpl checksumImpl = new ChecksumImpl(checksum);
+    file.setChecksum(checksumImpl);
+    return checksumImpl;
+  }
+
+  /**
+   * This method gets the {@link Checksum#getChecksum(String) keys} of the checksums to compute when a BLOB is
+   * {@link #writeBlob(DataId, DataFile, InputStream) written}. Override to compute additional checksums.
+   * 
+   * @return the algorithms for the checksums. The default is {@link Checksum#KEY_MD5} and
+   *         {@link Checksum#KEY_SHA1}.
+   */
+  protected String[] getChecksumAlgorithms() {
+
+    return new String[] { Checksum.KEY_MD5, Checksum.KEY_SHA1 };
+  }
+
+}
@@ -2,6 +2,9 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.data.base.repository;
 
+import java.io.InputStream;
+
+import net.sf.mmm.data.api.datatype.Checksum;
 import net.sf.mmm.data.api.datatype.DataId;
 import net.sf.mmm.data.api.datatype.MutableBlob;
 import net.sf.mmm.data.api.entity.resource.DataFile;
@@ -20,4 +23,19 @@ public interface ContentBlobStore {
 
   void destoryBlob(DataId id, int blobRevision);
 
+  /**
+   * This method {@link #createBlob(DataId, DataFile) creates} the BLOB for the
+   * given <code>file</code> and writes the given <code>data</code> to it. The
+   * {@link Checksum checksums} are computed while the data is written and
+   * {@link DataFile#setChecksum(Checksum) stored} in the <code>file</code>.
+   * 
+   * @param id is the {@link DataId} of the <code>file</code>.
+   * @param file is the {@link DataFile}.
+   * @param data is the {@link InputStream} with the content to write. It will
+   *        be closed at the end.
+   * @return the {@link Checksum} of the written content.
+   * @since 1.0.0
+   */
+  Checksum writeBlob(DataId id, DataFile file, InputStream data);
+
 }
@@ -11,9 +11,11 @@ import net.sf.mmm.data.api.reflection.DataClassLoader;
 import net.sf.mmm.data.api.reflection.DataReflectionEvent;
 import net.sf.mmm.data.api.reflection.DataReflectionException;
 import net.sf.mmm.data.base.reflection.AbstractDataClass;
+import net.sf.mmm.data.base.reflection.AbstractDataClassLoader;
 import net.sf.mmm.data.base.reflection.AbstractDataField;
 import net.sf.mmm.data.base.reflection.AbstractMutableDataReflectionService;
 import net.sf.mmm.data.base.reflection.DataClassLoaderStAX;
+import net.sf.mmm.data.base.reflection.DataModelSnapshot;
 import net.sf.mmm.data.impl.DataIdManagerImpl;
 import net.sf.mmm.util.event.api.ChangeType;
 
@@ -96,26 +98,35 @@ public class CoreDataReflectionService extends AbstractMutableDataReflectionServ
   }
 
   /**
-   * This method loads the content-model.
+   * This method loads the content-model into a new {@link DataModelSnapshot} and atomically replaces the current
+   * model with it.
    */
   protected void loadClasses() {
 
-    AbstractDataClass<? extends DataObject> rootClass = (AbstractDataClass<? extends DataObject>) this.classLoader
-        .loadClasses();
-    setRootClass(rootClass);
-    addClassRecursive(rootClass);
-    AbstractDataClass<? extends DataObject> classClass = getDataClass(getDataIdManager().getClassClassId());
+    DataModelSnapshot newModel;
+    if (this.classLoader instanceof AbstractDataClassLoader) {
+      newModel = ((AbstractDataClassLoader) this.classLoader).loadModel();
+    } else {
+      AbstractDataClass<? extends DataObject> rootClass = (AbstractDataClass<? extends DataObject>) this.classLoader
+          .loadClasses();
+      newModel = DataModelSnapshot.create(rootClass);
+    }
+    AbstractDataClass<? extends DataObject> classClass = newModel.getDataClass(getDataIdManager().getClassClassId()
+        .getObjectId());
     if (classClass == null) {
       // TODO:
       throw new DataReflectionException("Missing class for ContentClass!");
     }
     // ContentClassImpl.setContentClass(classClass);
-    AbstractDataClass<? extends DataObject> fieldClass = getDataClass(getDataIdManager().getFieldClassId());
+    AbstractDataClass<? extends DataObject> fieldClass = newModel.getDataClass(getDataIdManager().getFieldClassId()
+        .getObjectId());
     if (fieldClass == null) {
       // TODO:
       throw new DataReflectionException("Missing class for ContentField!");
     }
     // ContentFieldImpl.setContentClass(fieldClass);
+    // publish the new model atomically (also replaces a previously loaded model on reload)
+    setModel(newModel);
   }
 
   /**
@@ -46,10 +46,10 @@ public final class DataClassImpl<CLASS extends DataObject> extends AbstractDataC
   private Collection<DataFieldImpl> declaredFieldCollection;
 
   /** @see #getSubClassesList() */
-  private List<DataClassImpl<? extends CLASS>> subClasses;
+  private volatile List<DataClassImpl<? extends CLASS>> subClasses;
 
-  /** the list of direct sub-classes */
-  private List<DataClassImpl> subClassesList;
+  /** the list of direct sub-classes (replaced by a copy on modification) */
+  private volatile List<DataClassImpl> subClassesList;
 
   /**
    * The constructor.
@@ -101,21 +101,14 @@ public final class DataClassImpl<CLASS extends DataObject> extends AbstractDataC
   @Override
   protected void addSubClass(AbstractDataClass<? extends CLASS> subClass) throws DataReflectionException {
 
-    if (subClass.getSuperClass() != this) {
-      // TODO: NLS
-      throw new DataReflectionException("Sub-Class must have this class as super-class!");
-    }
-    if (subClass.getModifiers().isSystem() && !getModifiers().isSystem()) {
-      // TODO: NLS
-      throw new DataReflectionException("System-class can NOT extend user-class!");
-    }
-    if (getModifiers().isFinal()) {
-      // TODO: NLS
-      throw new DataReflectionException("Can NOT extend final class!");
-    }
+    verifySubClass(subClass);
     // idem-potent operation
-    if (!this.subClassesList.contains(subClass)) {
-      this.subClassesList.add((DataClassImpl<? extends CLASS>) subClass);
+    List<DataClassImpl> list = getSubClassesList();
+    if (!list.contains(subClass)) {
+      // copy-on-write as this class may already be published
+      list = new ArrayList<DataClassImpl>(list);
+      list.add((DataClassImpl<? extends CLASS>) subClass);
+      setSubClassesList(list);
     }
   }
 
@@ -0,0 +1,124 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.data.base.reflection;
+
+import java.util.List;
+
+import net.sf.mmm.data.api.DataObject;
+import net.sf.mmm.data.api.datatype.DataId;
+import net.sf.mmm.data.api.entity.DataEntity;
+import net.sf.mmm.data.impl.reflection.CoreDataReflectionService;
+import net.sf.mmm.util.nls.api.DuplicateObjectException;
+import net.sf.mmm.util.nls.api.ObjectNotFoundException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is the test-case for {@link DataModelSnapshot}.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ */
+@SuppressWarnings("all")
+public class DataModelSnapshotTest {
+
+  @Test
+  public void testSnapshot() {
+
+    CoreDataReflectionService service = new CoreDataReflectionService();
+    AbstractDataClass rootClass = service.createDataClass(Long.valueOf(DataObject.CLASS_ID), DataObject.CLASS_TITLE,
+        null, DataClassModifiersBean.SYSTEM, DataObject.class, false);
+    AbstractDataField idField = service.createDataField(Long.valueOf(3), DataObject.FIELD_NAME_ID, rootClass, null,
+        DataFieldModifiersBean.FINAL, false);
+    rootClass.addDeclaredField(idField);
+    long customId = DataId.OBJECT_ID_MINIMUM_CUSTOM + 42;
+    AbstractDataClass customClass = service.createDataClass(Long.valueOf(customId), "Custom", rootClass,
+        DataClassModifiersBean.NORMAL, DataEntity.class, false);
+    AbstractDataField customField = service.createDataField(Long.valueOf(customId), "custom", customClass, null,
+        DataFieldModifiersBean.NORMAL, false);
+    customClass.addDeclaredField(customField);
+
+    DataModelSnapshot.Builder builder = new DataModelSnapshot.Builder();
+    builder.setRootClass(rootClass);
+    builder.addClass(rootClass);
+    builder.addClass(customClass);
+    DataModelSnapshot snapshot = builder.build();
+    Assert.assertSame(rootClass, snapshot.getRootDataClass());
+    Assert.assertEquals(2, snapshot.getDataClasses().size());
+    Assert.assertSame(rootClass, snapshot.getDataClass(DataObject.CLASS_ID));
+    Assert.assertSame(rootClass, snapshot.getDataClass(DataObject.CLASS_TITLE));
+    Assert.assertSame(rootClass, snapshot.getDataClass(DataObject.class));
+    Assert.assertSame(customClass, snapshot.getDataClass(customId));
+    Assert.assertSame(customClass, snapshot.getDataClass("Custom"));
+    Assert.assertSame(customClass, snapshot.getDataClass(DataEntity.class));
+    Assert.assertSame(idField, snapshot.getDataField(3));
+    Assert.assertSame(customField, snapshot.getDataField(customId));
+    Assert.assertNull(snapshot.getDataClass(4));
+    Assert.assertNull(snapshot.getDataClass(-1));
+    Assert.assertNull(snapshot.getDataClass(customId + 1));
+    Assert.assertNull(snapshot.getDataField(2));
+    Assert.assertNull(snapshot.getDataField(Long.MAX_VALUE));
+
+    // copy-on-write
+    builder = snapshot.newBuilder();
+    builder.removeClass(customClass);
+    DataModelSnapshot modified = builder.build();
+    Assert.assertNull(modified.getDataClass(customId));
+    Assert.assertSame(idField, modified.getDataField(3));
+    Assert.assertEquals(1, modified.getDataClasses().size());
+    Assert.assertSame(customClass, snapshot.getDataClass(customId));
+    Assert.assertEquals(2, snapshot.getDataClasses().size());
+    try {
+      builder.addClass(rootClass);
+      Assert.fail("Exception expected");
+    } catch (DuplicateObjectException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testSubClassLinks() {
+
+    CoreDataReflectionService service = new CoreDataReflectionService();
+    AbstractDataClass rootClass = service.createDataClass(Long.valueOf(DataObject.CLASS_ID), DataObject.CLASS_TITLE,
+        null, DataClassModifiersBean.SYSTEM, DataObject.class, false);
+    DataModelSnapshot.Builder builder = new DataModelSnapshot.Builder();
+    builder.setRootClass(rootClass);
+    builder.addClass(rootClass);
+    DataModelSnapshot snapshot = builder.build();
+    List subClasses = rootClass.getSubClasses();
+
+    long customId = DataId.OBJECT_ID_MINIMUM_CUSTOM + 42;
+    AbstractDataClass customClass = service.createDataClass(Long.valueOf(customId), "Custom", rootClass,
+        DataClassModifiersBean.NORMAL, DataEntity.class, false);
+    AbstractDataField customField = service.createDataField(Long.valueOf(customId), "custom", rootClass, null,
+        DataFieldModifiersBean.NORMAL, false);
+    builder = snapshot.newBuilder();
+    builder.addClass(customClass);
+    builder.addSubClass(rootClass, customClass);
+    builder.addSubClass(rootClass, customClass);
+    builder.addDeclaredField(customField);
+    // the published class is NOT modified before the new snapshot is built
+    Assert.assertSame(subClasses, rootClass.getSubClasses());
+    Assert.assertFalse(rootClass.getSubClasses().contains(customClass));
+    Assert.assertNull(rootClass.getDeclaredField("custom"));
+    DataModelSnapshot modified = builder.build();
+    Assert.assertEquals(subClasses.size() + 1, rootClass.getSubClasses().size());
+    Assert.assertTrue(rootClass.getSubClasses().contains(customClass));
+    Assert.assertSame(customClass, modified.getDataClass(customId));
+    Assert.assertSame(customField, rootClass.getDeclaredField("custom"));
+    Assert.assertSame(customField, modified.getDataField(customId));
+    // a reader of the previous collection is NOT affected
+    Assert.assertFalse(subClasses.contains(customClass));
+
+    AbstractDataClass otherClass = service.createDataClass(Long.valueOf(customId + 1), "Other", rootClass,
+        DataClassModifiersBean.NORMAL, DataEntity.class, false);
+    try {
+      new DataModelSnapshot.Builder().addSubClass(rootClass, otherClass);
+      Assert.fail("Exception expected");
+    } catch (ObjectNotFoundException e) {
+      // expected
+    }
+  }
+
+}
@@ -15,4 +15,7 @@ public class NlsBundlePersistence extends AbstractResourceBundle {
   public static final String ERR_REVISIONED_ENTITY_WITHOUT_REVISION_SETTER = "The "
       + "entity implementation \"{type}\" has no setter method for the revision property (setRevision(Number))!";
 
+  /** @see net.sf.mmm.persistence.base.sequence.SequenceExhaustedException */
+  public static final String ERR_SEQUENCE_EXHAUSTED = "The sequence \"{name}\" is exhausted!";
+
 }
@@ -0,0 +1,40 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.persistence.base.sequence;
+
+import net.sf.mmm.persistence.api.sequence.Sequence;
+import net.sf.mmm.util.component.base.AbstractLoggableComponent;
+
+/**
+ * This is the abstract base implementation of the {@link SequenceStore} interface.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public abstract class AbstractSequenceStore extends AbstractLoggableComponent implements SequenceStore {
+
+  /**
+   * The constructor.
+   */
+  public AbstractSequenceStore() {
+
+    super();
+  }
+
+  /**
+   * This method gets the qualified name of the given <code>sequence</code> that is unique within the store.
+   * 
+   * @param sequence is the {@link Sequence}.
+   * @return the {@link Sequence#getName() name} qualified with the {@link Sequence#getSchema() schema} (if
+   *         NOT <code>null</code>).
+   */
+  protected String getQualifiedName(Sequence sequence) {
+
+    String schema = sequence.getSchema();
+    if (schema == null) {
+      return sequence.getName();
+    }
+    return schema + "." + sequence.getName();
+  }
+
+}
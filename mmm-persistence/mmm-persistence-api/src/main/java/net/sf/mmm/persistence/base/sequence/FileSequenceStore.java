@@ -0,0 +1,119 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.persistence.base.sequence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.Properties;
+
+import net.sf.mmm.persistence.api.sequence.Sequence;
+import net.sf.mmm.util.io.api.IoMode;
+import net.sf.mmm.util.io.api.RuntimeIoException;
+import net.sf.mmm.util.nls.api.NlsNullPointerException;
+
+/**
+ * This is an implementation of {@link SequenceStore} that stores the next value of each {@link Sequence} in
+ * a properties file. The file is locked while a block is reserved so it may even be shared by multiple
+ * processes on the same machine. It is intended for tests and simple standalone applications without a
+ * database.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class FileSequenceStore extends AbstractSequenceStore {
+
+  /** @see #getFile() */
+  private final File file;
+
+  /**
+   * The constructor.
+   * 
+   * @param file is the {@link #getFile() file}.
+   */
+  public FileSequenceStore(File file) {
+
+    super();
+    NlsNullPointerException.checkNotNull(File.class, file);
+    this.file = file;
+  }
+
+  /**
+   * @return the file where the next values of the {@link Sequence}s are stored. It is created if it does
+   *         NOT yet exist.
+   */
+  public File getFile() {
+
+    return this.file;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public synchronized SequenceBlock allocate(Sequence sequence, long size) {
+
+    return update(sequence, size, 0);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public synchronized void setValue(Sequence sequence, long value) {
+
+    update(sequence, 0, value);
+  }
+
+  /**
+   * This method atomically updates the value of the given <code>sequence</code> in the {@link #getFile()
+   * file}.
+   * 
+   * @param sequence is the {@link Sequence}.
+   * @param size is the number of values to reserve or <code>0</code> to set the value.
+   * @param value is the value to set if <code>size</code> is <code>0</code>.
+   * @return the reserved {@link SequenceBlock} or <code>null</code> if the value was set.
+   */
+  private SequenceBlock update(Sequence sequence, long size, long value) {
+
+    String key = getQualifiedName(sequence);
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(this.file, "rw")) {
+      FileChannel channel = randomAccessFile.getChannel();
+      try (FileLock lock = channel.lock()) {
+        ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+        while (buffer.hasRemaining() && (channel.read(buffer, buffer.position()) >= 0)) {
+          // read entire file
+        }
+        Properties properties = new Properties();
+        properties.load(new ByteArrayInputStream(buffer.array()));
+        SequenceBlock block = null;
+        long next = value;
+        if (size > 0) {
+          String current = properties.getProperty(key);
+          long start;
+          if (current == null) {
+            start = sequence.getMinimumValue();
+          } else {
+            start = Long.parseLong(current);
+          }
+          block = new SequenceBlock(start, size);
+          next = start + size;
+        }
+        properties.setProperty(key, Long.toString(next));
+        ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+        // the stream variant escapes non-latin characters as required by the properties format
+        properties.store(outStream, null);
+        channel.truncate(0);
+        channel.write(ByteBuffer.wrap(outStream.toByteArray()), 0);
+        channel.force(false);
+        return block;
+      }
+    } catch (IOException e) {
+      throw new RuntimeIoException(e, IoMode.WRITE);
+    }
+  }
+
+}
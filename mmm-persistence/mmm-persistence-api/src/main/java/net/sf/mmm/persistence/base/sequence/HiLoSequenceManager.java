@@ -0,0 +1,316 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.persistence.base.sequence;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.inject.Inject;
+
+import net.sf.mmm.persistence.api.sequence.Sequence;
+import net.sf.mmm.util.nls.api.NlsNullPointerException;
+import net.sf.mmm.util.component.api.ResourceMissingException;
+import net.sf.mmm.util.value.api.ValueOutOfRangeException;
+
+/**
+ * This is an implementation of {@link net.sf.mmm.persistence.api.sequence.SequenceManager} using the hi/lo
+ * algorithm. Instead of accessing the database for every single value, it {@link SequenceStore#allocate(
+ * Sequence, long) reserves} an entire block of values at once and hands them out from memory. The values
+ * of the current block are handed out lock-free via an {@link AtomicLong}. Only the thread that exhausts a
+ * block will access the {@link SequenceStore} while concurrent threads for the same {@link Sequence} wait.
+ * <br/>
+ * The size of the blocks is adaptive: if blocks are consumed faster than the
+ * {@link #setAllocationInterval(long) allocation interval} (e.g. during a bulk import) the size is doubled
+ * up to the {@link #setMaximumBlockSize(long) maximum block size}. If blocks last much longer it is reduced
+ * again down to the {@link #setBlockSize(long) initial block size}.<br/>
+ * <b>ATTENTION:</b><br/>
+ * The values not handed out before shutdown are lost. So the values of a sequence are unique but NOT
+ * gap-free and NOT strictly ordered across multiple processes sharing the same {@link SequenceStore}.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class HiLoSequenceManager extends AbstractSequenceManager {
+
+  /** The default for {@link #setBlockSize(long)}. */
+  public static final long DEFAULT_BLOCK_SIZE = 50;
+
+  /** The default for {@link #setMaximumBlockSize(long)}. */
+  public static final long DEFAULT_MAXIMUM_BLOCK_SIZE = 10000;
+
+  /** The default for {@link #setAllocationInterval(long)}. */
+  public static final long DEFAULT_ALLOCATION_INTERVAL = 1000;
+
+  /** The {@link SequenceState}s by {@link Sequence#getName() name}. */
+  private final ConcurrentMap<String, SequenceState> stateMap;
+
+  /** @see #setSequenceStore(SequenceStore) */
+  private SequenceStore sequenceStore;
+
+  /** @see #setBlockSize(long) */
+  private long blockSize;
+
+  /** @see #setMaximumBlockSize(long) */
+  private long maximumBlockSize;
+
+  /** @see #setAllocationInterval(long) */
+  private long allocationInterval;
+
+  /**
+   * The constructor.
+   */
+  public HiLoSequenceManager() {
+
+    super();
+    this.stateMap = new ConcurrentHashMap<String, SequenceState>();
+    this.blockSize = DEFAULT_BLOCK_SIZE;
+    this.maximumBlockSize = DEFAULT_MAXIMUM_BLOCK_SIZE;
+    this.allocationInterval = DEFAULT_ALLOCATION_INTERVAL;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doInitialize() {
+
+    super.doInitialize();
+    if (this.sequenceStore == null) {
+      throw new ResourceMissingException("sequenceStore");
+    }
+    if (this.maximumBlockSize < this.blockSize) {
+      this.maximumBlockSize = this.blockSize;
+    }
+  }
+
+  /**
+   * @param sequenceStore is the {@link SequenceStore} where the {@link Sequence}s are persisted.
+   */
+  @Inject
+  public void setSequenceStore(SequenceStore sequenceStore) {
+
+    getInitializationState().requireNotInitilized();
+    this.sequenceStore = sequenceStore;
+  }
+
+  /**
+   * @param blockSize is the initial and minimum number of values to reserve at once. The default is
+   *        {@link #DEFAULT_BLOCK_SIZE}.
+   */
+  public void setBlockSize(long blockSize) {
+
+    getInitializationState().requireNotInitilized();
+    if (blockSize < 1) {
+      throw new ValueOutOfRangeException(Long.valueOf(blockSize), Long.valueOf(1), Long.valueOf(Long.MAX_VALUE),
+          "blockSize");
+    }
+    this.blockSize = blockSize;
+  }
+
+  /**
+   * @param maximumBlockSize is the maximum number of values to reserve at once. Use the same value as for
+   *        {@link #setBlockSize(long)} to disable the adaptive growth. The default is
+   *        {@link #DEFAULT_MAXIMUM_BLOCK_SIZE}.
+   */
+  public void setMaximumBlockSize(long maximumBlockSize) {
+
+    getInitializationState().requireNotInitilized();
+    this.maximumBlockSize = maximumBlockSize;
+  }
+
+  /**
+   * @param allocationInterval is the targeted duration in milliseconds between two reservations of a block
+   *        for the same {@link Sequence}. If a block is consumed in less than half of this time, the block
+   *        size is doubled. The default is {@link #DEFAULT_ALLOCATION_INTERVAL}.
+   */
+  public void setAllocationInterval(long allocationInterval) {
+
+    getInitializationState().requireNotInitilized();
+    this.allocationInterval = allocationInterval;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public long getNextValue(Sequence sequence) {
+
+    NlsNullPointerException.checkNotNull(Sequence.class, sequence);
+    SequenceState state = getState(sequence);
+    while (true) {
+      SequenceRange range = state.range;
+      if (range != null) {
+        long value = range.next.getAndIncrement();
+        // second check prevents overflow if range ends at Long.MAX_VALUE
+        if ((value <= range.last) && (value >= range.first)) {
+          return value;
+        }
+      }
+      allocate(sequence, state, range);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public void setValue(Sequence sequence, long value) {
+
+    NlsNullPointerException.checkNotNull(Sequence.class, sequence);
+    long min = sequence.getMinimumValue();
+    Long max = sequence.getMaximumValue();
+    if ((value < min) || ((max != null) && (value > max.longValue()))) {
+      throw new ValueOutOfRangeException(Long.valueOf(value), Long.valueOf(min), max, sequence.getName());
+    }
+    SequenceState state = getState(sequence);
+    synchronized (state) {
+      this.sequenceStore.setValue(sequence, value);
+      state.range = null;
+    }
+  }
+
+  /**
+   * @param sequence is the {@link Sequence}.
+   * @return the {@link SequenceState} for the given {@link Sequence}.
+   */
+  private SequenceState getState(Sequence sequence) {
+
+    String key = sequence.getName();
+    String schema = sequence.getSchema();
+    if (schema != null) {
+      key = schema + "." + key;
+    }
+    SequenceState state = this.stateMap.get(key);
+    if (state == null) {
+      state = new SequenceState(this.blockSize);
+      SequenceState existing = this.stateMap.putIfAbsent(key, state);
+      if (existing != null) {
+        state = existing;
+      }
+    }
+    return state;
+  }
+
+  /**
+   * This method reserves a new block of values for the given <code>sequence</code> unless this has already
+   * been done by a concurrent thread.
+   * 
+   * @param sequence is the {@link Sequence}.
+   * @param state is the {@link SequenceState} of the <code>sequence</code>.
+   * @param exhaustedRange is the {@link SequenceRange} that has been exhausted or <code>null</code> if not
+   *        yet available.
+   */
+  private void allocate(Sequence sequence, SequenceState state, SequenceRange exhaustedRange) {
+
+    synchronized (state) {
+      if (state.range != exhaustedRange) {
+        // other thread was faster...
+        return;
+      }
+      long size = getNextBlockSize(state);
+      long min = sequence.getMinimumValue();
+      Long max = sequence.getMaximumValue();
+      SequenceBlock block = this.sequenceStore.allocate(sequence, size);
+      long first = block.getStart();
+      if ((max != null) && (first > max.longValue())) {
+        // wrap around
+        getLogger().debug("Sequence {} reached maximum and is wrapped.", sequence.getName());
+        this.sequenceStore.setValue(sequence, min);
+        block = this.sequenceStore.allocate(sequence, size);
+        first = block.getStart();
+      }
+      if (first < min) {
+        // the store has overflown
+        throw new SequenceExhaustedException(sequence.getName());
+      }
+      long last = first + block.getSize() - 1;
+      if (last < first) {
+        last = Long.MAX_VALUE;
+      }
+      if ((max != null) && (last > max.longValue())) {
+        last = max.longValue();
+      }
+      state.range = new SequenceRange(first, last);
+    }
+  }
+
+  /**
+   * This method determines the size of the next block to reserve and adapts it according to the time the
+   * previous block has lasted.
+   * 
+   * @param state is the {@link SequenceState}.
+   * @return the number of values to reserve.
+   */
+  private long getNextBlockSize(SequenceState state) {
+
+    long now = System.currentTimeMillis();
+    long size = state.blockSize;
+    if (state.lastAllocation > 0) {
+      long duration = now - state.lastAllocation;
+      if (duration < (this.allocationInterval / 2)) {
+        size = Math.min(size * 2, this.maximumBlockSize);
+      } else if (duration > (this.allocationInterval * 4)) {
+        size = Math.max(size / 2, this.blockSize);
+      }
+    }
+    state.blockSize = size;
+    state.lastAllocation = now;
+    return size;
+  }
+
+  /**
+   * This inner class represents the state of a single {@link Sequence}. Changes are synchronized on the
+   * instance itself.
+   */
+  private static class SequenceState {
+
+    /** The current {@link SequenceRange} or <code>null</code> if not yet allocated. */
+    private volatile SequenceRange range;
+
+    /** The current block size. */
+    private long blockSize;
+
+    /** The time of the last allocation. */
+    private long lastAllocation;
+
+    /**
+     * The constructor.
+     * 
+     * @param blockSize is the initial block size.
+     */
+    public SequenceState(long blockSize) {
+
+      super();
+      this.blockSize = blockSize;
+    }
+  }
+
+  /**
+   * This inner class represents a reserved range of values that are handed out lock-free.
+   */
+  private static class SequenceRange {
+
+    /** The first value of the range. */
+    private final long first;
+
+    /** The last value of the range. */
+    private final long last;
+
+    /** The next value to hand out. */
+    private final AtomicLong next;
+
+    /**
+     * The constructor.
+     * 
+     * @param first is the first value.
+     * @param last is the last value.
+     */
+    public SequenceRange(long first, long last) {
+
+      super();
+      this.first = first;
+      this.last = last;
+      this.next = new AtomicLong(first);
+    }
+  }
+
+}
@@ -0,0 +1,60 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.persistence.base.sequence;
+
+/**
+ * This is a simple immutable container for a block of consecutive values of a
+ * {@link net.sf.mmm.persistence.api.sequence.Sequence} that has been
+ * {@link SequenceStore#allocate(net.sf.mmm.persistence.api.sequence.Sequence, long)
+ * reserved} exclusively.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class SequenceBlock {
+
+  /** @see #getStart() */
+  private final long start;
+
+  /** @see #getSize() */
+  private final long size;
+
+  /**
+   * The constructor.
+   * 
+   * @param start is the {@link #getStart() start}.
+   * @param size is the {@link #getSize() size}.
+   */
+  public SequenceBlock(long start, long size) {
+
+    super();
+    this.start = start;
+    this.size = size;
+  }
+
+  /**
+   * @return the first value of this block.
+   */
+  public long getStart() {
+
+    return this.start;
+  }
+
+  /**
+   * @return the number of values in this block.
+   */
+  public long getSize() {
+
+    return this.size;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+
+    return "[" + this.start + "+" + this.size + "]";
+  }
+
+}
@@ -0,0 +1,42 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.persistence.base.sequence;
+
+import net.sf.mmm.persistence.NlsBundlePersistence;
+import net.sf.mmm.persistence.api.PersistenceException;
+
+/**
+ * This exception is thrown if an unbounded {@link net.sf.mmm.persistence.api.sequence.Sequence} has reached
+ * {@link Long#MAX_VALUE} so no further value can be provided.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class SequenceExhaustedException extends PersistenceException {
+
+  /** UID for serialization. */
+  private static final long serialVersionUID = -2404736470395539385L;
+
+  /** @see #getCode() */
+  public static final String MESSAGE_CODE = "SequenceExhausted";
+
+  /**
+   * The constructor.
+   * 
+   * @param sequenceName is the name of the exhausted sequence.
+   */
+  public SequenceExhaustedException(String sequenceName) {
+
+    super(NlsBundlePersistence.ERR_SEQUENCE_EXHAUSTED, toMap(KEY_NAME, sequenceName));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getCode() {
+
+    return MESSAGE_CODE;
+  }
+
+}
@@ -0,0 +1,40 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.persistence.base.sequence;
+
+import net.sf.mmm.persistence.api.sequence.Sequence;
+
+/**
+ * This is the interface for the persistent store of the values of {@link Sequence}s used by
+ * {@link HiLoSequenceManager}. It is only called to reserve entire {@link SequenceBlock blocks} of values so
+ * the values of a block can be handed out without further access to the store. An implementation has to be
+ * thread-safe and has to guarantee that a block is never reserved twice (also across multiple processes
+ * sharing the same store).
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public interface SequenceStore {
+
+  /**
+   * This method reserves a block of consecutive values of the given <code>sequence</code> in a single (short)
+   * transaction. The values are NOT wrapped according to {@link Sequence#getMaximumValue()} - this is left to
+   * the caller.
+   * 
+   * @param sequence is the {@link Sequence}.
+   * @param size is the requested number of values. An implementation may reserve a different number of values
+   *        (e.g. if it is bound to the increment of a database sequence).
+   * @return the reserved {@link SequenceBlock}.
+   */
+  SequenceBlock allocate(Sequence sequence, long size);
+
+  /**
+   * This method sets the given <code>sequence</code> so that the next {@link #allocate(Sequence, long)
+   * reserved} block starts with the given <code>value</code>.
+   * 
+   * @param sequence is the {@link Sequence}.
+   * @param value is the next value.
+   */
+  void setValue(Sequence sequence, long value);
+
+}
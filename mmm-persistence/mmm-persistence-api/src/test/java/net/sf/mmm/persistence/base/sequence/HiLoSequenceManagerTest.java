@@ -0,0 +1,139 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.persistence.base.sequence;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import net.sf.mmm.persistence.api.sequence.Sequence;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is the test-case for {@link HiLoSequenceManager}.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ */
+public class HiLoSequenceManagerTest {
+
+  /**
+   * @param file is the file for the {@link FileSequenceStore}.
+   * @return the initialized {@link HiLoSequenceManager} to test.
+   */
+  protected HiLoSequenceManager createSequenceManager(File file) {
+
+    FileSequenceStore store = new FileSequenceStore(file);
+    store.initialize();
+    HiLoSequenceManager manager = new HiLoSequenceManager();
+    manager.setSequenceStore(store);
+    manager.setBlockSize(10);
+    manager.setMaximumBlockSize(1000);
+    manager.initialize();
+    return manager;
+  }
+
+  /**
+   * @return a new temporary file.
+   * @throws Exception on error.
+   */
+  protected File createTempFile() throws Exception {
+
+    File file = File.createTempFile("sequences", ".properties");
+    file.deleteOnExit();
+    return file;
+  }
+
+  /**
+   * Tests that concurrent threads get unique values.
+   * 
+   * @throws Exception on error.
+   */
+  @Test
+  public void testConcurrentUniqueness() throws Exception {
+
+    final HiLoSequenceManager manager = createSequenceManager(createTempFile());
+    final Sequence sequence = new SequenceImpl("TEST_SEQ");
+    final Set<Long> values = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+    final int threadCount = 8;
+    final int valueCount = 5000;
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<Void>> futures = new ArrayList<Future<Void>>();
+      for (int i = 0; i < threadCount; i++) {
+        futures.add(executor.submit(new Callable<Void>() {
+
+          public Void call() throws Exception {
+
+            for (int j = 0; j < valueCount; j++) {
+              long value = manager.getNextValue(sequence);
+              Assert.assertTrue("duplicate " + value, values.add(Long.valueOf(value)));
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    Assert.assertEquals(threadCount * valueCount, values.size());
+  }
+
+  /**
+   * Tests that a second manager sharing the same store continues after the reserved blocks.
+   * 
+   * @throws Exception on error.
+   */
+  @Test
+  public void testSharedStore() throws Exception {
+
+    File file = createTempFile();
+    Sequence sequence = new SequenceImpl("SHARED_SEQ", 1);
+    HiLoSequenceManager manager1 = createSequenceManager(file);
+    HiLoSequenceManager manager2 = createSequenceManager(file);
+    Assert.assertEquals(1, manager1.getNextValue(sequence));
+    Assert.assertEquals(11, manager2.getNextValue(sequence));
+    Assert.assertEquals(2, manager1.getNextValue(sequence));
+  }
+
+  /**
+   * Tests {@link HiLoSequenceManager#setValue(Sequence, long)}, {@link HiLoSequenceManager#reset(Sequence)}
+   * and the wrap-around at the maximum.
+   * 
+   * @throws Exception on error.
+   */
+  @Test
+  public void testSetValueAndWrap() throws Exception {
+
+    HiLoSequenceManager manager = createSequenceManager(createTempFile());
+    Sequence sequence = new SequenceImpl(null, "WRAP_SEQ", 5, Long.valueOf(25));
+    Assert.assertEquals(5, manager.getNextValue(sequence));
+    manager.setValue(sequence, 20);
+    for (long i = 20; i <= 25; i++) {
+      Assert.assertEquals(i, manager.getNextValue(sequence));
+    }
+    Assert.assertEquals(5, manager.getNextValue(sequence));
+    manager.setValue(sequence, 7);
+    Assert.assertEquals(7, manager.getNextValue(sequence));
+    manager.reset(sequence);
+    Assert.assertEquals(5, manager.getNextValue(sequence));
+    try {
+      manager.setValue(sequence, 26);
+      Assert.fail("exception expected");
+    } catch (RuntimeException e) {
+      Assert.assertTrue(e.getMessage().contains("WRAP_SEQ"));
+    }
+  }
+
+}
@@ -0,0 +1,110 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.persistence.impl.jpa.sequence;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.PersistenceUnit;
+
+import net.sf.mmm.persistence.base.sequence.AbstractSequenceStore;
+import net.sf.mmm.util.component.api.ResourceMissingException;
+
+/**
+ * This is the abstract base implementation of {@link net.sf.mmm.persistence.base.sequence.SequenceStore}
+ * using JPA. Each operation is performed with its own {@link EntityManager} in a short resource-local
+ * transaction that is independent from the transaction of the caller. Therefore a reserved block is never
+ * rolled back and the database row is only locked for the duration of the reservation.<br/>
+ * <b>ATTENTION:</b><br/>
+ * The transactions are controlled via {@link EntityManager#getTransaction()}. Therefore the
+ * {@link #setEntityManagerFactory(EntityManagerFactory) EntityManagerFactory} has to use
+ * <code>RESOURCE_LOCAL</code> transactions (typically a separate persistence-unit for the sequences). For a
+ * <code>JTA</code> persistence-unit override {@link #execute(Operation)} to run the {@link Operation} in a
+ * new container transaction (<code>REQUIRES_NEW</code>).
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public abstract class AbstractJpaSequenceStore extends AbstractSequenceStore {
+
+  /** @see #setEntityManagerFactory(EntityManagerFactory) */
+  private EntityManagerFactory entityManagerFactory;
+
+  /**
+   * The constructor.
+   */
+  public AbstractJpaSequenceStore() {
+
+    super();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doInitialize() {
+
+    super.doInitialize();
+    if (this.entityManagerFactory == null) {
+      throw new ResourceMissingException("entityManagerFactory");
+    }
+  }
+
+  /**
+   * @param entityManagerFactory is the {@link EntityManagerFactory} used to create the {@link EntityManager}
+   *        for the separate transactions. Unless {@link #execute(Operation)} is overridden, it has to use
+   *        <code>RESOURCE_LOCAL</code> transactions.
+   */
+  @PersistenceUnit
+  public void setEntityManagerFactory(EntityManagerFactory entityManagerFactory) {
+
+    getInitializationState().requireNotInitilized();
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  /**
+   * This method performs the given <code>operation</code> in a new transaction. The default implementation
+   * uses a resource-local {@link EntityTransaction}. Override to use a different transaction management
+   * (e.g. JTA).
+   * 
+   * @param <RESULT> is the generic type of the result.
+   * @param operation is the {@link Operation} to perform.
+   * @return the result of the {@link Operation}.
+   */
+  protected <RESULT> RESULT execute(Operation<RESULT> operation) {
+
+    EntityManager entityManager = this.entityManagerFactory.createEntityManager();
+    try {
+      EntityTransaction transaction = entityManager.getTransaction();
+      transaction.begin();
+      try {
+        RESULT result = operation.execute(entityManager);
+        transaction.commit();
+        return result;
+      } finally {
+        if (transaction.isActive()) {
+          transaction.rollback();
+        }
+      }
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  /**
+   * This is the interface for an operation performed in its own transaction via
+   * {@link AbstractJpaSequenceStore#execute(Operation)}.
+   * 
+   * @param <RESULT> is the generic type of the result.
+   */
+  protected interface Operation<RESULT> {
+
+    /**
+     * @param entityManager is the {@link EntityManager} with an active transaction.
+     * @return the result of the operation.
+     */
+    RESULT execute(EntityManager entityManager);
+
+  }
+
+}
@@ -0,0 +1,128 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.persistence.impl.jpa.sequence;
+
+import javax.persistence.EntityManager;
+
+import net.sf.mmm.persistence.api.sequence.Sequence;
+import net.sf.mmm.persistence.base.sequence.SequenceBlock;
+import net.sf.mmm.util.nls.api.NlsIllegalArgumentException;
+
+/**
+ * This is an implementation of {@link net.sf.mmm.persistence.base.sequence.SequenceStore} that uses native
+ * database sequences. A database sequence can only be incremented by its fixed <code>INCREMENT BY</code>
+ * value. Therefore each reservation returns a block of the {@link #setIncrement(long) configured increment}
+ * regardless of the requested size and the <code>INCREMENT BY</code> of all sequences has to match this
+ * value, e.g.:
+ * 
+ * <pre>
+ * CREATE SEQUENCE MY_SEQUENCE START WITH 1 INCREMENT BY 50
+ * </pre>
+ * 
+ * The SQL is configurable to support the dialect of the database. The defaults follow the SQL standard.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class JpaDatabaseSequenceStore extends AbstractJpaSequenceStore {
+
+  /** The default for {@link #setNextValueSql(String)}. */
+  public static final String DEFAULT_NEXT_VALUE_SQL = "SELECT NEXT VALUE FOR {0}";
+
+  /** The default for {@link #setRestartSql(String)}. */
+  public static final String DEFAULT_RESTART_SQL = "ALTER SEQUENCE {0} RESTART WITH {1}";
+
+  /** The default for {@link #setIncrement(long)}. */
+  public static final long DEFAULT_INCREMENT = 50;
+
+  /** @see #setNextValueSql(String) */
+  private String nextValueSql;
+
+  /** @see #setRestartSql(String) */
+  private String restartSql;
+
+  /** @see #setIncrement(long) */
+  private long increment;
+
+  /**
+   * The constructor.
+   */
+  public JpaDatabaseSequenceStore() {
+
+    super();
+    this.nextValueSql = DEFAULT_NEXT_VALUE_SQL;
+    this.restartSql = DEFAULT_RESTART_SQL;
+    this.increment = DEFAULT_INCREMENT;
+  }
+
+  /**
+   * @param nextValueSql is the SQL to get the next value of a database sequence where <code>{0}</code> is
+   *        replaced with the qualified name of the sequence (e.g. <code>SELECT {0}.NEXTVAL FROM DUAL</code>
+   *        for Oracle). The default is {@link #DEFAULT_NEXT_VALUE_SQL}.
+   */
+  public void setNextValueSql(String nextValueSql) {
+
+    getInitializationState().requireNotInitilized();
+    this.nextValueSql = nextValueSql;
+  }
+
+  /**
+   * @param restartSql is the SQL to restart a database sequence where <code>{0}</code> is replaced with the
+   *        qualified name of the sequence and <code>{1}</code> with the new value. The default is
+   *        {@link #DEFAULT_RESTART_SQL}.
+   */
+  public void setRestartSql(String restartSql) {
+
+    getInitializationState().requireNotInitilized();
+    this.restartSql = restartSql;
+  }
+
+  /**
+   * @param increment is the <code>INCREMENT BY</code> of the database sequences and therefore the size of
+   *        each reserved block. The default is {@link #DEFAULT_INCREMENT}.
+   */
+  public void setIncrement(long increment) {
+
+    getInitializationState().requireNotInitilized();
+    if (increment < 1) {
+      throw new NlsIllegalArgumentException(Long.valueOf(increment), "increment");
+    }
+    this.increment = increment;
+  }
+
+  /**
+   * {@inheritDoc}
+   * 
+   * The given <code>size</code> is ignored and the {@link #setIncrement(long) increment} is used instead.
+   */
+  public SequenceBlock allocate(Sequence sequence, long size) {
+
+    final String sql = this.nextValueSql.replace("{0}", getQualifiedName(sequence));
+    Number start = execute(new Operation<Number>() {
+
+      public Number execute(EntityManager entityManager) {
+
+        return (Number) entityManager.createNativeQuery(sql).getSingleResult();
+      }
+    });
+    return new SequenceBlock(start.longValue(), this.increment);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public void setValue(Sequence sequence, long value) {
+
+    final String sql = this.restartSql.replace("{0}", getQualifiedName(sequence)).replace("{1}",
+        Long.toString(value));
+    execute(new Operation<Void>() {
+
+      public Void execute(EntityManager entityManager) {
+
+        entityManager.createNativeQuery(sql).executeUpdate();
+        return null;
+      }
+    });
+  }
+
+}
@@ -0,0 +1,226 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.persistence.impl.jpa.sequence;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+
+import net.sf.mmm.persistence.api.sequence.Sequence;
+import net.sf.mmm.persistence.base.sequence.SequenceBlock;
+
+/**
+ * This is an implementation of {@link net.sf.mmm.persistence.base.sequence.SequenceStore} that stores the
+ * next value of each {@link Sequence} as a row of a generic database table. A block is reserved by a single
+ * atomic <code>UPDATE</code> that increments the value by the block size, so the table works with any
+ * database and is safe across multiple nodes of a cluster. The row of a {@link Sequence} is inserted on its
+ * first use. If multiple nodes do this concurrently, the losing insert fails with a constraint violation and
+ * the node retries the <code>UPDATE</code>.<br/>
+ * The table has to be created in advance, e.g.:
+ * 
+ * <pre>
+ * CREATE TABLE SEQUENCE_STORE (SEQUENCE_NAME VARCHAR(255) PRIMARY KEY, NEXT_VALUE BIGINT NOT NULL)
+ * </pre>
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class JpaTableSequenceStore extends AbstractJpaSequenceStore {
+
+  /** The default for {@link #setTableName(String)}. */
+  public static final String DEFAULT_TABLE_NAME = "SEQUENCE_STORE";
+
+  /** The default for {@link #setNameColumn(String)}. */
+  public static final String DEFAULT_NAME_COLUMN = "SEQUENCE_NAME";
+
+  /** The default for {@link #setValueColumn(String)}. */
+  public static final String DEFAULT_VALUE_COLUMN = "NEXT_VALUE";
+
+  /** @see #setTableName(String) */
+  private String tableName;
+
+  /** @see #setNameColumn(String) */
+  private String nameColumn;
+
+  /** @see #setValueColumn(String) */
+  private String valueColumn;
+
+  /** The SQL to increment the value. */
+  private String updateSql;
+
+  /** The SQL to set the value. */
+  private String setSql;
+
+  /** The SQL to select the value. */
+  private String selectSql;
+
+  /** The SQL to insert a new row. */
+  private String insertSql;
+
+  /**
+   * The constructor.
+   */
+  public JpaTableSequenceStore() {
+
+    super();
+    this.tableName = DEFAULT_TABLE_NAME;
+    this.nameColumn = DEFAULT_NAME_COLUMN;
+    this.valueColumn = DEFAULT_VALUE_COLUMN;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doInitialize() {
+
+    super.doInitialize();
+    String where = " WHERE " + this.nameColumn + " = ?2";
+    this.updateSql = "UPDATE " + this.tableName + " SET " + this.valueColumn + " = " + this.valueColumn
+        + " + ?1" + where;
+    this.setSql = "UPDATE " + this.tableName + " SET " + this.valueColumn + " = ?1" + where;
+    this.selectSql = "SELECT " + this.valueColumn + " FROM " + this.tableName + " WHERE " + this.nameColumn
+        + " = ?1";
+    this.insertSql = "INSERT INTO " + this.tableName + " (" + this.valueColumn + ", " + this.nameColumn
+        + ") VALUES (?1, ?2)";
+  }
+
+  /**
+   * @param tableName is the name of the database table. The default is {@link #DEFAULT_TABLE_NAME}.
+   */
+  public void setTableName(String tableName) {
+
+    getInitializationState().requireNotInitilized();
+    this.tableName = tableName;
+  }
+
+  /**
+   * @param nameColumn is the name of the column with the qualified name of the {@link Sequence}. The default
+   *        is {@link #DEFAULT_NAME_COLUMN}.
+   */
+  public void setNameColumn(String nameColumn) {
+
+    getInitializationState().requireNotInitilized();
+    this.nameColumn = nameColumn;
+  }
+
+  /**
+   * @param valueColumn is the name of the column with the next value of the {@link Sequence}. The default is
+   *        {@link #DEFAULT_VALUE_COLUMN}.
+   */
+  public void setValueColumn(String valueColumn) {
+
+    getInitializationState().requireNotInitilized();
+    this.valueColumn = valueColumn;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public SequenceBlock allocate(final Sequence sequence, final long size) {
+
+    final String name = getQualifiedName(sequence);
+    Operation<SequenceBlock> update = new Operation<SequenceBlock>() {
+
+      public SequenceBlock execute(EntityManager entityManager) {
+
+        int count = entityManager.createNativeQuery(JpaTableSequenceStore.this.updateSql)
+            .setParameter(1, Long.valueOf(size)).setParameter(2, name).executeUpdate();
+        if (count == 0) {
+          return null;
+        }
+        Number next = (Number) entityManager.createNativeQuery(JpaTableSequenceStore.this.selectSql)
+            .setParameter(1, name).getSingleResult();
+        return new SequenceBlock(next.longValue() - size, size);
+      }
+    };
+    SequenceBlock block = execute(update);
+    if (block == null) {
+      long start = sequence.getMinimumValue();
+      boolean inserted = insert(name, start + size);
+      if (inserted) {
+        block = new SequenceBlock(start, size);
+      } else {
+        block = execute(update);
+      }
+    }
+    return block;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public void setValue(Sequence sequence, final long value) {
+
+    final String name = getQualifiedName(sequence);
+    Operation<Boolean> update = new Operation<Boolean>() {
+
+      public Boolean execute(EntityManager entityManager) {
+
+        int count = entityManager.createNativeQuery(JpaTableSequenceStore.this.setSql)
+            .setParameter(1, Long.valueOf(value)).setParameter(2, name).executeUpdate();
+        if (count == 0) {
+          return null;
+        }
+        return Boolean.TRUE;
+      }
+    };
+    if (execute(update) == null) {
+      if (!insert(name, value)) {
+        execute(update);
+      }
+    }
+  }
+
+  /**
+   * This method inserts the row for a {@link Sequence} that does NOT yet exist. As another process may
+   * concurrently insert the same row, a failed insert is NOT an error if the row exists afterwards. The
+   * insert is performed in its own transaction because a failed statement typically marks the transaction
+   * for rollback.
+   * 
+   * @param name is the {@link #getQualifiedName(Sequence) qualified name} of the {@link Sequence}.
+   * @param value is the next value to insert.
+   * @return <code>true</code> if the row has been inserted, <code>false</code> if it has been inserted
+   *         concurrently by someone else so the caller has to perform the <code>UPDATE</code> again.
+   */
+  private boolean insert(final String name, final long value) {
+
+    try {
+      execute(new Operation<Void>() {
+
+        public Void execute(EntityManager entityManager) {
+
+          entityManager.createNativeQuery(JpaTableSequenceStore.this.insertSql)
+              .setParameter(1, Long.valueOf(value)).setParameter(2, name).executeUpdate();
+          return null;
+        }
+      });
+      return true;
+    } catch (PersistenceException e) {
+      // most likely a constraint violation because the row was inserted concurrently
+      if (!exists(name)) {
+        throw e;
+      }
+      return false;
+    }
+  }
+
+  /**
+   * @param name is the {@link #getQualifiedName(Sequence) qualified name} of the {@link Sequence}.
+   * @return <code>true</code> if the row for the {@link Sequence} exists, <code>false</code> otherwise.
+   */
+  private boolean exists(final String name) {
+
+    return execute(new Operation<Boolean>() {
+
+      public Boolean execute(EntityManager entityManager) {
+
+        List<?> result = entityManager.createNativeQuery(JpaTableSequenceStore.this.selectSql)
+            .setParameter(1, name).getResultList();
+        return Boolean.valueOf(!result.isEmpty());
+      }
+    }).booleanValue();
+  }
+
+}
@@ -0,0 +1,10 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+/**
+ * Contains implementations of {@link net.sf.mmm.persistence.base.sequence.SequenceStore} based on the JPA.
+ * <a name="documentation"/><h2>Persistence Impl JPA Sequence</h2>
+ * This package contains implementations of {@link net.sf.mmm.persistence.base.sequence.SequenceStore} for the
+ * {@link net.sf.mmm.persistence.base.sequence.HiLoSequenceManager} that reserve blocks of values either in a
+ * generic database table or via native database sequences.<br/>
+ */
+package net.sf.mmm.persistence.impl.jpa.sequence;
@@ -25,12 +25,19 @@ public class JpqlBuilderImpl extends AbstractLoggableComponent implements JpqlBu
   /** @see #getEntityManager() */
   private EntityManager entityManager;
 
+  /** @see #getStatementCache() */
+  private JpqlStatementCache statementCache;
+
+  /** @see #setStatementCacheSize(int) */
+  private int statementCacheSize;
+
   /**
    * The constructor.
    */
   public JpqlBuilderImpl() {
 
     super();
+    this.statementCacheSize = JpqlStatementCache.DEFAULT_MAXIMUM_SIZE;
   }
 
   /**
@@ -43,6 +50,9 @@ public class JpqlBuilderImpl extends AbstractLoggableComponent implements JpqlBu
     if (this.entityManager == null) {
       throw new ResourceMissingException("entityManager");
     }
+    if (this.statementCacheSize > 0) {
+      this.statementCache = new JpqlStatementCache(this.statementCacheSize);
+    }
   }
 
   /**
@@ -67,6 +77,29 @@ public class JpqlBuilderImpl extends AbstractLoggableComponent implements JpqlBu
     this.entityManager = entityManager;
   }
 
+  /**
+   * @param statementCacheSize is the maximum number of JPQL statements to cache or <code>0</code> to disable
+   *        the {@link #getStatementCache() statement cache}. The default is
+   *        {@link JpqlStatementCache#DEFAULT_MAXIMUM_SIZE}.
+   */
+  public void setStatementCacheSize(int statementCacheSize) {
+
+    getInitializationState().requireNotInitilized();
+    this.statementCacheSize = statementCacheSize;
+  }
+
+  /**
+   * This method gets the {@link JpqlStatementCache} that holds the canonical instance of each statement
+   * shape created by this builder. It may be used to monitor the {@link JpqlStatementCache#getHitCount()
+   * hit} and {@link JpqlStatementCache#getMissCount() miss} counters.
+   * 
+   * @return the {@link JpqlStatementCache} or <code>null</code> if disabled.
+   */
+  public JpqlStatementCache getStatementCache() {
+
+    return this.statementCache;
+  }
+
   /**
    * This method creates the default alias for the given <code>entityType</code>.
    * 
@@ -94,7 +127,8 @@ public class JpqlBuilderImpl extends AbstractLoggableComponent implements JpqlBu
   @Override
   public <E> JpqlFromClause<E> from(Class<E> entityType, String alias) {
 
-    JpqlContext<E> context = new JpqlContext<E>(this.entityManager, entityType, alias);
+    JpqlContext<E> context = new JpqlContext<E>(this.entityManager, entityType, alias, false,
+        this.statementCache);
     return new JpqlFromClauseImpl<E>(context);
   }
 
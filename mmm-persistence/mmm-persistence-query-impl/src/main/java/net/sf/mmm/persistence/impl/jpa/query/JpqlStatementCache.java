@@ -0,0 +1,137 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.persistence.impl.jpa.query;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * This is a thread-safe cache for JPQL statements created by {@link JpqlBuilderImpl}. Parameters are always
+ * added as positional {@link net.sf.mmm.persistence.api.query.jpql.JpqlCore#JPQL_PARAMETER placeholders} so
+ * two statements of the same shape that only differ in their parameters have the same JPQL string. This
+ * cache maps each shape to a single canonical {@link String} instance. As JPA providers cache the parsed
+ * query plans by the JPQL string, handing out the identical instance allows the provider to find the plan
+ * via an identity check instead of re-parsing the statement. Only the parameters are bound per
+ * {@link javax.persistence.Query} via {@link AbstractJpqlContext#applyParameters(javax.persistence.Query)}.
+ * <br/>
+ * The number of {@link #getHitCount() hits} and {@link #getMissCount() misses} is recorded to allow
+ * monitoring the efficiency of the cache.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class JpqlStatementCache {
+
+  /** The default for {@link #getMaximumSize()}. */
+  public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+
+  /** The map with the canonical statements. */
+  private final ConcurrentMap<String, String> statementMap;
+
+  /** @see #getMaximumSize() */
+  private final int maximumSize;
+
+  /** @see #getHitCount() */
+  private final AtomicLong hitCount;
+
+  /** @see #getMissCount() */
+  private final AtomicLong missCount;
+
+  /**
+   * The constructor.
+   */
+  public JpqlStatementCache() {
+
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * The constructor.
+   * 
+   * @param maximumSize - see {@link #getMaximumSize()}.
+   */
+  public JpqlStatementCache(int maximumSize) {
+
+    super();
+    this.maximumSize = maximumSize;
+    this.statementMap = new ConcurrentHashMap<String, String>();
+    this.hitCount = new AtomicLong();
+    this.missCount = new AtomicLong();
+  }
+
+  /**
+   * This method gets the canonical instance of the given JPQL statement.
+   * 
+   * @param jpqlStatement is the JPQL statement.
+   * @return the cached JPQL statement that is {@link String#equals(Object) equal} to the given one.
+   */
+  public String getStatement(String jpqlStatement) {
+
+    String statement = this.statementMap.get(jpqlStatement);
+    if (statement != null) {
+      this.hitCount.incrementAndGet();
+      return statement;
+    }
+    this.missCount.incrementAndGet();
+    if (this.statementMap.size() >= this.maximumSize) {
+      // statements are built dynamically so a generic application may create an unbounded number of shapes
+      this.statementMap.clear();
+    }
+    statement = this.statementMap.putIfAbsent(jpqlStatement, jpqlStatement);
+    if (statement == null) {
+      statement = jpqlStatement;
+    }
+    return statement;
+  }
+
+  /**
+   * @return the maximum number of statements to cache. If exceeded, the cache is {@link #clear() cleared}.
+   */
+  public int getMaximumSize() {
+
+    return this.maximumSize;
+  }
+
+  /**
+   * @return the number of statements currently cached.
+   */
+  public int getSize() {
+
+    return this.statementMap.size();
+  }
+
+  /**
+   * @return the number of {@link #getStatement(String) requests} for a statement that was already cached.
+   */
+  public long getHitCount() {
+
+    return this.hitCount.get();
+  }
+
+  /**
+   * @return the number of {@link #getStatement(String) requests} for a statement that was NOT yet cached.
+   */
+  public long getMissCount() {
+
+    return this.missCount.get();
+  }
+
+  /**
+   * This method removes all cached statements. The {@link #getHitCount() statistics} are preserved.
+   */
+  public void clear() {
+
+    this.statementMap.clear();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+
+    return "size=" + getSize() + ",hits=" + getHitCount() + ",misses=" + getMissCount();
+  }
+
+}
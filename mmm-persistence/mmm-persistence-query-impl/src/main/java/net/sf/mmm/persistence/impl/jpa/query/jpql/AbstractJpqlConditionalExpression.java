@@ -196,7 +196,8 @@ public abstract class AbstractJpqlConditionalExpression<E, SELF extends JpqlCond
   @Override
   public <T> JpqlFromClause<T> newSubQuery(Class<T> entityType, String alias) {
 
-    JpqlContext<T> context = new JpqlContext<T>(getContext().getEntityManager(), entityType, alias, true);
+    JpqlContext<T> context = new JpqlContext<T>(getContext().getEntityManager(), entityType, alias, true,
+        getContext().getStatementCache());
     return new JpqlFromClauseImpl<T>(context);
   }
 
@@ -206,7 +207,8 @@ public abstract class AbstractJpqlConditionalExpression<E, SELF extends JpqlCond
   @Override
   public JpqlFromClause<?> newSubQuery(String basePath, String property, String alias) {
 
-    JpqlContext<Object> context = new JpqlContext<Object>(getContext().getEntityManager(), Object.class, alias, true);
+    JpqlContext<Object> context = new JpqlContext<Object>(getContext().getEntityManager(), Object.class, alias, true,
+        getContext().getStatementCache());
     return new JpqlFromClauseImpl<Object>(context, getProperty(basePath, property));
   }
 
@@ -217,7 +219,7 @@ public abstract class AbstractJpqlConditionalExpression<E, SELF extends JpqlCond
   public <T> JpqlFromClause<T> newSubQuery(String basePath, TypedProperty<T> property, String alias) {
 
     JpqlContext<T> context = new JpqlContext<T>(getContext().getEntityManager(), property.getPropertyType(), alias,
-        true);
+        true, getContext().getStatementCache());
     return new JpqlFromClauseImpl<T>(context, getProperty(basePath, property.getPojoPath()));
   }
 
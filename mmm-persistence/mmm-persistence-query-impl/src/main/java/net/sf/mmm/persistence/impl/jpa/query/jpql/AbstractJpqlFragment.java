@@ -125,7 +125,7 @@ public abstract class AbstractJpqlFragment<E> extends AbstractJpqlPropertySuppor
     if (this.context.isSubQuery()) {
       statement.append(')');
     }
-    return statement.toString();
+    return this.context.getCachedStatement(statement.toString());
   }
 
   /**
@@ -7,6 +7,7 @@ import javax.persistence.EntityManager;
 import net.sf.mmm.persistence.api.query.jpql.JpqlCore;
 import net.sf.mmm.persistence.api.query.jpql.JpqlSegment;
 import net.sf.mmm.persistence.impl.jpa.query.AbstractJpqlContext;
+import net.sf.mmm.persistence.impl.jpa.query.JpqlStatementCache;
 
 /**
  * This class is the container for the context and state required to build a JPQL query.
@@ -30,6 +31,9 @@ public class JpqlContext<E> extends AbstractJpqlContext implements JpqlSegment<E
   /** @see #isSubQuery() */
   private boolean subQuery;
 
+  /** @see #getStatementCache() */
+  private final JpqlStatementCache statementCache;
+
   /**
    * The constructor.
    * 
@@ -52,11 +56,27 @@ public class JpqlContext<E> extends AbstractJpqlContext implements JpqlSegment<E
    */
   public JpqlContext(EntityManager entityManager, Class<E> entityType, String entityAlias, boolean subQuery) {
 
+    this(entityManager, entityType, entityAlias, subQuery, null);
+  }
+
+  /**
+   * The constructor.
+   * 
+   * @param entityManager - see {@link #getEntityManager()}.
+   * @param entityType - see {@link #getEntityType()}.
+   * @param entityAlias - see {@link #getEntityAlias()}.
+   * @param subQuery - see {@link #isSubQuery()}.
+   * @param statementCache - see {@link #getStatementCache()}.
+   */
+  public JpqlContext(EntityManager entityManager, Class<E> entityType, String entityAlias, boolean subQuery,
+      JpqlStatementCache statementCache) {
+
     super(entityManager);
     this.entityType = entityType;
     this.entityAlias = entityAlias;
     this.queryBuffer = new StringBuilder(48);
     this.subQuery = subQuery;
+    this.statementCache = statementCache;
   }
 
   /**
@@ -106,6 +126,29 @@ public class JpqlContext<E> extends AbstractJpqlContext implements JpqlSegment<E
     return this.subQuery;
   }
 
+  /**
+   * @return the {@link JpqlStatementCache} or <code>null</code> if statements shall NOT be cached.
+   */
+  public JpqlStatementCache getStatementCache() {
+
+    return this.statementCache;
+  }
+
+  /**
+   * This method gets the canonical instance of the given JPQL statement from the
+   * {@link #getStatementCache() statement cache}.
+   * 
+   * @param jpqlStatement is the complete JPQL statement.
+   * @return the cached JPQL statement that is {@link String#equals(Object) equal} to the given one.
+   */
+  public String getCachedStatement(String jpqlStatement) {
+
+    if ((this.statementCache == null) || this.subQuery) {
+      return jpqlStatement;
+    }
+    return this.statementCache.getStatement(jpqlStatement);
+  }
+
   /**
    * {@inheritDoc}
    */
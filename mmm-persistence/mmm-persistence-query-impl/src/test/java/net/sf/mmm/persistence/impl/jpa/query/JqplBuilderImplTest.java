@@ -3,6 +3,8 @@
 package net.sf.mmm.persistence.impl.jpa.query;
 
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.persistence.TypedQuery;
 
@@ -15,6 +17,7 @@ import net.sf.mmm.persistence.api.query.jpql.JpqlOperator;
 import net.sf.mmm.persistence.api.query.jpql.JpqlOrderByClause;
 import net.sf.mmm.persistence.api.query.jpql.JpqlWhereClause;
 import net.sf.mmm.test.jpa.EntityManagerMock;
+import net.sf.mmm.test.jpa.TypedQueryMock;
 import net.sf.mmm.util.lang.api.SortOrder;
 import net.sf.mmm.util.pojo.path.api.TypedProperty;
 
@@ -237,4 +240,86 @@ public class JqplBuilderImplTest {
     Assert.assertSame(propertyMax, query.getOrCreateQuery().getParameterValue(1));
   }
 
+  /**
+   * Test of the {@link JpqlStatementCache} used by {@link JpqlBuilderImpl}.
+   */
+  @Test
+  public void testStatementCache() {
+
+    // given
+    JpqlBuilderImpl builder = (JpqlBuilderImpl) getQueryBuilder();
+    JpqlStatementCache cache = builder.getStatementCache();
+    Integer value1 = Integer.valueOf(42);
+    Integer value2 = Integer.valueOf(4711);
+
+    // then
+    ListQuery<DummyFooEntity> query1 = builder.from(DummyFooEntity.class).where()
+        .property(DummyFooEntity.PROPERTY_NUMBER).isEqual(value1).select();
+    ListQuery<DummyFooEntity> query2 = builder.from(DummyFooEntity.class).where()
+        .property(DummyFooEntity.PROPERTY_NUMBER).isEqual(value2).select();
+
+    // test
+    Assert.assertSame(query1.getJpqlStatement(), query2.getJpqlStatement());
+    Assert.assertEquals(1, cache.getMissCount());
+    Assert.assertEquals(1, cache.getHitCount());
+    Assert.assertEquals(1, cache.getSize());
+    Assert.assertSame(value1, query1.getOrCreateQuery().getParameterValue(0));
+    Assert.assertSame(value2, query2.getOrCreateQuery().getParameterValue(0));
+  }
+
+  /**
+   * Test of the {@link JpqlStatementCache} used by {@link JpqlBuilderImpl} with queries of the same shape that
+   * are executed with different parameters.
+   */
+  @Test
+  public void testStatementCacheRebindsParameters() {
+
+    // given
+    final List<DummyFooEntity> entities = new ArrayList<DummyFooEntity>();
+    for (int i = 0; i < 3; i++) {
+      DummyFooEntity entity = new DummyFooEntity();
+      entity.setNumber(i);
+      entities.add(entity);
+    }
+    JpqlBuilderImpl builder = new JpqlBuilderImpl();
+    builder.setEntityManager(new EntityManagerMock() {
+
+      @Override
+      public <T> TypedQuery<T> createQuery(String query, Class<T> resultType) {
+
+        return new TypedQueryMock<T>(query, resultType) {
+
+          @Override
+          @SuppressWarnings("unchecked")
+          public List<T> getResultList() {
+
+            List<T> result = new ArrayList<T>();
+            for (DummyFooEntity entity : entities) {
+              if (getParameterValue(0).equals(Integer.valueOf(entity.getNumber()))) {
+                result.add((T) entity);
+              }
+            }
+            return result;
+          }
+        };
+      }
+    });
+    builder.initialize();
+    JpqlStatementCache cache = builder.getStatementCache();
+
+    // then
+    List<DummyFooEntity> result1 = builder.from(DummyFooEntity.class).where()
+        .property(DummyFooEntity.PROPERTY_NUMBER).isEqual(Integer.valueOf(1)).select().getResultList();
+    List<DummyFooEntity> result2 = builder.from(DummyFooEntity.class).where()
+        .property(DummyFooEntity.PROPERTY_NUMBER).isEqual(Integer.valueOf(2)).select().getResultList();
+
+    // test
+    Assert.assertEquals(1, cache.getMissCount());
+    Assert.assertEquals(1, cache.getHitCount());
+    Assert.assertEquals(1, result1.size());
+    Assert.assertSame(entities.get(1), result1.get(0));
+    Assert.assertEquals(1, result2.size());
+    Assert.assertSame(entities.get(2), result2.get(0));
+  }
+
 }
@@ -18,4 +18,12 @@ public interface SearchIndexConfiguration {
    */
   String getLocation();
 
+  /**
+   * This method gets the type how the files of the search-index are accessed.
+   * 
+   * @return the {@link SearchIndexDirectoryType}. Will be {@link SearchIndexDirectoryType#AUTO} if NOT
+   *         configured.
+   */
+  SearchIndexDirectoryType getDirectoryType();
+
 }
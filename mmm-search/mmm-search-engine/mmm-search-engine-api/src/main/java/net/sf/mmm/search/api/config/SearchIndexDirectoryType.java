@@ -0,0 +1,64 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.search.api.config;
+
+/**
+ * This enum contains the available types how the files of a {@link SearchIndexConfiguration search-index}
+ * are accessed. The best choice depends on the size of the index, the available memory and the ratio of
+ * searches to updates.
+ * 
+ * @see SearchIndexConfiguration#getDirectoryType()
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.2
+ */
+public enum SearchIndexDirectoryType {
+
+  /**
+   * Automatically chooses the type suitable for the current platform. This is the default.
+   */
+  AUTO,
+
+  /**
+   * Memory-maps the files of the index. This is typically the fastest option for read-mostly search-nodes on
+   * 64-bit systems as the operating system caches the index without copying it onto the heap.
+   */
+  MMAP,
+
+  /**
+   * Reads the files of the index via positional NIO channels allowing concurrent reads without locking.
+   */
+  NIO,
+
+  /**
+   * Reads the files of the index via simple random-access files. This is the most compatible option.
+   */
+  SIMPLE,
+
+  /**
+   * Copies the entire index into the heap when it is opened. This is only suitable for small but hot
+   * indexes. Changes are NOT written back to the file-system so this type is only used for searching and
+   * NOT for indexing.
+   */
+  RAM_CACHED,
+
+  /**
+   * Memory-maps the files of the index that are accessed randomly during a search (term dictionary, stored
+   * fields and the compound file containing them) while all other files (e.g. the segment infos) are
+   * accessed like {@link #NIO}.
+   */
+  HYBRID;
+
+  /**
+   * This method determines if changes to a search-index opened with this type are written to the
+   * file-system.
+   * 
+   * @return <code>true</code> if persistent, <code>false</code> if only a transient copy is modified (
+   *         {@link #RAM_CACHED}).
+   */
+  public boolean isPersistent() {
+
+    return (this != RAM_CACHED);
+  }
+
+}
@@ -5,8 +5,12 @@ package net.sf.mmm.search.base.config;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
 
 import net.sf.mmm.search.api.config.SearchIndexConfiguration;
+import net.sf.mmm.search.api.config.SearchIndexDirectoryType;
+import net.sf.mmm.util.nls.api.NlsNullPointerException;
+import net.sf.mmm.util.xml.base.jaxb.XmlAdapterEnum;
 
 /**
  * This is implementation of {@link SearchIndexConfiguration} as JAXB-ready Java-Bean.
@@ -21,12 +25,18 @@ public class SearchIndexConfigurationBean implements SearchIndexConfiguration {
   @XmlAttribute(name = "location")
   private String location;
 
+  /** @see #getDirectoryType() */
+  @XmlAttribute(name = "directory-type")
+  @XmlJavaTypeAdapter(value = XmlAdapterSearchIndexDirectoryType.class)
+  private SearchIndexDirectoryType directoryType;
+
   /**
    * The constructor.
    */
   public SearchIndexConfigurationBean() {
 
     super();
+    this.directoryType = SearchIndexDirectoryType.AUTO;
   }
 
   /**
@@ -46,4 +56,37 @@ public class SearchIndexConfigurationBean implements SearchIndexConfiguration {
     this.location = location;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SearchIndexDirectoryType getDirectoryType() {
+
+    return this.directoryType;
+  }
+
+  /**
+   * @param directoryType is the directoryType to set
+   */
+  public void setDirectoryType(SearchIndexDirectoryType directoryType) {
+
+    NlsNullPointerException.checkNotNull(SearchIndexDirectoryType.class, directoryType);
+    this.directoryType = directoryType;
+  }
+
+  /**
+   * @see XmlAdapterEnum
+   */
+  public static class XmlAdapterSearchIndexDirectoryType extends XmlAdapterEnum<SearchIndexDirectoryType> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Class<SearchIndexDirectoryType> getEnumClass() {
+
+      return SearchIndexDirectoryType.class;
+    }
+  }
+
 }
@@ -3,6 +3,7 @@
 package net.sf.mmm.search.impl.lucene;
 
 import net.sf.mmm.search.api.config.SearchIndexConfiguration;
+import net.sf.mmm.search.api.config.SearchIndexDirectoryType;
 
 import org.apache.lucene.store.Directory;
 
@@ -24,6 +25,18 @@ public interface LuceneDirectoryBuilder {
    */
   Directory createDirectory(SearchIndexConfiguration configuration);
 
+  /**
+   * This method creates a {@link Directory} for the given
+   * <code>configuration</code> but with the given <code>directoryType</code>
+   * instead of the {@link SearchIndexConfiguration#getDirectoryType()
+   * configured type}.
+   * 
+   * @param configuration is the {@link SearchIndexConfiguration}.
+   * @param directoryType is the {@link SearchIndexDirectoryType} to use.
+   * @return the according {@link Directory}.
+   */
+  Directory createDirectory(SearchIndexConfiguration configuration, SearchIndexDirectoryType directoryType);
+
   /**
    * This method creates a {@link Directory} for the given
    * <code>directory</code>.
@@ -33,4 +46,14 @@ public interface LuceneDirectoryBuilder {
    */
   Directory createDirectory(String directory);
 
+  /**
+   * This method creates a {@link Directory} for the given
+   * <code>directory</code>.
+   * 
+   * @param directory is the path pointing to a directory for the index.
+   * @param directoryType is the {@link SearchIndexDirectoryType}.
+   * @return the according {@link Directory}.
+   */
+  Directory createDirectory(String directory, SearchIndexDirectoryType directoryType);
+
 }
@@ -4,13 +4,19 @@ package net.sf.mmm.search.impl.lucene;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Locale;
+import java.util.Set;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
 import net.sf.mmm.search.api.config.SearchIndexConfiguration;
+import net.sf.mmm.search.api.config.SearchIndexDirectoryType;
 import net.sf.mmm.util.component.base.AbstractComponent;
 import net.sf.mmm.util.file.api.FileUtil;
 import net.sf.mmm.util.file.base.FileUtilImpl;
@@ -21,7 +27,11 @@ import net.sf.mmm.util.lang.api.SystemUtil;
 import net.sf.mmm.util.lang.base.SystemUtilImpl;
 
 import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.FileSwitchDirectory;
+import org.apache.lucene.store.MMapDirectory;
 import org.apache.lucene.store.NIOFSDirectory;
+import org.apache.lucene.store.RAMDirectory;
 import org.apache.lucene.store.SimpleFSDirectory;
 
 /**
@@ -37,6 +47,15 @@ public class LuceneDirectoryBuilderImpl extends AbstractComponent implements Luc
   /** The suffix for the lucene directory. */
   private static final String PATH_SUFFIX_LUCENE = "/lucene";
 
+  /**
+   * The extensions of the files that are memory-mapped for {@link SearchIndexDirectoryType#HYBRID}: the term
+   * dictionary (tis), its index (tii) and the stored fields (fdt/fdx). These files are accessed randomly
+   * while searching and fetching hits. As lucene writes the index in compound format by default, the
+   * compound files (cfs/cfx) containing these files are memory-mapped as well.
+   */
+  private static final Set<String> HYBRID_MMAP_EXTENSIONS = Collections.unmodifiableSet(new HashSet<String>(
+      Arrays.asList("tis", "tii", "fdt", "fdx", "cfs", "cfx")));
+
   /** @see #setFileUtil(FileUtil) */
   private FileUtil fileUtil;
 
@@ -91,7 +110,15 @@ public class LuceneDirectoryBuilderImpl extends AbstractComponent implements Luc
    */
   public Directory createDirectory(SearchIndexConfiguration configuration) {
 
-    return createDirectory(configuration.getLocation() + PATH_SUFFIX_LUCENE);
+    return createDirectory(configuration, configuration.getDirectoryType());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public Directory createDirectory(SearchIndexConfiguration configuration, SearchIndexDirectoryType directoryType) {
+
+    return createDirectory(configuration.getLocation() + PATH_SUFFIX_LUCENE, directoryType);
   }
 
   /**
@@ -99,22 +126,96 @@ public class LuceneDirectoryBuilderImpl extends AbstractComponent implements Luc
    */
   public Directory createDirectory(String directory) {
 
+    return createDirectory(directory, SearchIndexDirectoryType.AUTO);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public Directory createDirectory(String directory, SearchIndexDirectoryType directoryType) {
+
     String location = this.fileUtil.normalizePath(directory);
     if (location.toLowerCase(Locale.US).startsWith("file://")) {
       // "file://".length() ==
       location = location.substring(7);
     }
     File path = new File(location);
-    boolean windows = SystemInformation.SYSTEM_TYPE_WINDOWS.equals(this.systemUtil
-        .getSystemInformation().getSystemType());
+    SearchIndexDirectoryType type = directoryType;
+    if (type == null) {
+      type = SearchIndexDirectoryType.AUTO;
+    }
     try {
-      if (windows) {
-        return new SimpleFSDirectory(path);
-      } else {
-        return new NIOFSDirectory(path);
+      switch (type) {
+        case MMAP:
+          return new MMapDirectory(path);
+        case NIO:
+          return new NIOFSDirectory(path);
+        case SIMPLE:
+          return new SimpleFSDirectory(path);
+        case RAM_CACHED:
+          FSDirectory fsDirectory = createDefaultDirectory(path);
+          try {
+            return new RAMDirectory(fsDirectory);
+          } finally {
+            fsDirectory.close();
+          }
+        case HYBRID:
+          return new HybridDirectory(new MMapDirectory(path), new NIOFSDirectory(path));
+        default :
+          return createDefaultDirectory(path);
       }
     } catch (IOException e) {
       throw new RuntimeIoException(e, IoMode.READ);
     }
   }
+
+  /**
+   * This method creates the {@link FSDirectory} for {@link SearchIndexDirectoryType#AUTO}.
+   * 
+   * @param path is the directory of the index.
+   * @return the according {@link FSDirectory}.
+   * @throws IOException if an I/O error occurred.
+   */
+  protected FSDirectory createDefaultDirectory(File path) throws IOException {
+
+    boolean windows = SystemInformation.SYSTEM_TYPE_WINDOWS.equals(this.systemUtil
+        .getSystemInformation().getSystemType());
+    if (windows) {
+      // NIO positional reads are synchronized on windows (sun bug 6265734)
+      return new SimpleFSDirectory(path);
+    } else {
+      return new NIOFSDirectory(path);
+    }
+  }
+
+  /**
+   * This is the {@link FileSwitchDirectory} for {@link SearchIndexDirectoryType#HYBRID}. As both
+   * {@link Directory directories} point to the same path, {@link #listAll()} has to remove the duplicates
+   * that {@link FileSwitchDirectory} would return otherwise.
+   */
+  private static class HybridDirectory extends FileSwitchDirectory {
+
+    /**
+     * The constructor.
+     * 
+     * @param mmapDirectory is the {@link MMapDirectory} for the {@link #HYBRID_MMAP_EXTENSIONS}.
+     * @param nioDirectory is the {@link NIOFSDirectory} for all other files.
+     */
+    public HybridDirectory(MMapDirectory mmapDirectory, NIOFSDirectory nioDirectory) {
+
+      super(HYBRID_MMAP_EXTENSIONS, mmapDirectory, nioDirectory, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] listAll() throws IOException {
+
+      Set<String> files = new LinkedHashSet<String>(Arrays.asList(getPrimaryDir().listAll()));
+      files.addAll(Arrays.asList(getSecondaryDir().listAll()));
+      return files.toArray(new String[files.size()]);
+    }
+  }
+
 }
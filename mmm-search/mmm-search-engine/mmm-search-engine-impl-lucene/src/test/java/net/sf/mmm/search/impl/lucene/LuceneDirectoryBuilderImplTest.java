@@ -0,0 +1,112 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.search.impl.lucene;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import net.sf.mmm.search.api.config.SearchIndexDirectoryType;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FileSwitchDirectory;
+import org.apache.lucene.store.IndexInput;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.store.NIOFSDirectory;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.store.SimpleFSDirectory;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is the test-case for {@link LuceneDirectoryBuilderImpl}.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ */
+public class LuceneDirectoryBuilderImplTest {
+
+  /** The location of the search-index used for testing. */
+  private static final String INDEX_LOCATION = "src/test/resources/net/sf/mmm/search/engine/impl/lucene/index/lucene";
+
+  /**
+   * This method opens the test-index with the given {@link SearchIndexDirectoryType}.
+   * 
+   * @param builder is the {@link LuceneDirectoryBuilder} to test.
+   * @param type is the {@link SearchIndexDirectoryType}.
+   * @param expectedClass is the expected type of the {@link Directory}.
+   */
+  private void checkDirectory(LuceneDirectoryBuilder builder, SearchIndexDirectoryType type,
+      Class<? extends Directory> expectedClass) throws Exception {
+
+    Directory directory = builder.createDirectory(INDEX_LOCATION, type);
+    Assert.assertTrue(expectedClass.isInstance(directory));
+    IndexReader reader = IndexReader.open(directory, true);
+    try {
+      Assert.assertEquals(744, reader.numDocs());
+      Assert.assertNotNull(reader.document(0).get("uri"));
+    } finally {
+      reader.close();
+      directory.close();
+    }
+  }
+
+  /**
+   * Tests {@link LuceneDirectoryBuilder#createDirectory(String, SearchIndexDirectoryType)} for all
+   * {@link SearchIndexDirectoryType}s.
+   */
+  @Test
+  public void testDirectoryTypes() throws Exception {
+
+    LuceneDirectoryBuilderImpl builder = new LuceneDirectoryBuilderImpl();
+    builder.initialize();
+    checkDirectory(builder, SearchIndexDirectoryType.MMAP, MMapDirectory.class);
+    checkDirectory(builder, SearchIndexDirectoryType.NIO, NIOFSDirectory.class);
+    checkDirectory(builder, SearchIndexDirectoryType.SIMPLE, SimpleFSDirectory.class);
+    checkDirectory(builder, SearchIndexDirectoryType.RAM_CACHED, RAMDirectory.class);
+    checkDirectory(builder, SearchIndexDirectoryType.HYBRID, FileSwitchDirectory.class);
+    Directory directory = builder.createDirectory(INDEX_LOCATION, SearchIndexDirectoryType.AUTO);
+    Assert.assertTrue((directory instanceof NIOFSDirectory) || (directory instanceof SimpleFSDirectory));
+    directory.close();
+  }
+
+  /**
+   * Tests that {@link SearchIndexDirectoryType#HYBRID} memory-maps the compound file while the other files are
+   * accessed via NIO and that no file is listed twice.
+   */
+  @Test
+  public void testHybridDirectory() throws Exception {
+
+    LuceneDirectoryBuilderImpl builder = new LuceneDirectoryBuilderImpl();
+    builder.initialize();
+    Directory directory = builder.createDirectory(INDEX_LOCATION, SearchIndexDirectoryType.HYBRID);
+    try {
+      String[] files = directory.listAll();
+      Set<String> fileSet = new HashSet<String>(Arrays.asList(files));
+      Assert.assertEquals(files.length, fileSet.size());
+      Assert.assertTrue(fileSet.contains("_0.cfs"));
+      Assert.assertTrue(fileSet.contains("segments_2"));
+      checkInput(directory, "_0.cfs", MMapDirectory.class);
+      checkInput(directory, "segments_2", NIOFSDirectory.class);
+    } finally {
+      directory.close();
+    }
+  }
+
+  /**
+   * @param directory is the {@link Directory} to open the file from.
+   * @param file is the name of the file to open.
+   * @param expectedDirectoryClass is the {@link Directory} that is expected to provide the {@link IndexInput}.
+   */
+  private void checkInput(Directory directory, String file, Class<? extends Directory> expectedDirectoryClass)
+      throws Exception {
+
+    IndexInput input = directory.openInput(file);
+    try {
+      Assert.assertSame(expectedDirectoryClass, input.getClass().getEnclosingClass());
+    } finally {
+      input.close();
+    }
+  }
+
+}
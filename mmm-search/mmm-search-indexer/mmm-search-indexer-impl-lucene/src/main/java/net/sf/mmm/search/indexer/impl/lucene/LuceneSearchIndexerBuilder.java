@@ -9,6 +9,8 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import net.sf.mmm.search.api.SearchException;
+import net.sf.mmm.search.api.config.SearchIndexConfiguration;
+import net.sf.mmm.search.api.config.SearchIndexDirectoryType;
 import net.sf.mmm.search.base.SearchDependencies;
 import net.sf.mmm.search.base.SearchDependenciesImpl;
 import net.sf.mmm.search.engine.impl.lucene.LuceneFieldManager;
@@ -186,7 +188,13 @@ public class LuceneSearchIndexerBuilder extends AbstractSearchIndexerBuilder {
     SearchIndexerConfiguration configuration = configurationHolder.getBean();
     NlsNullPointerException.checkNotNull(SearchIndexerConfiguration.class, configuration);
     try {
-      Directory directory = this.luceneDirectoryBuilder.createDirectory(configuration.getSearchIndex());
+      SearchIndexConfiguration searchIndex = configuration.getSearchIndex();
+      SearchIndexDirectoryType directoryType = searchIndex.getDirectoryType();
+      if ((directoryType == null) || !directoryType.isPersistent()) {
+        // the indexer has to write to the file-system...
+        directoryType = SearchIndexDirectoryType.AUTO;
+      }
+      Directory directory = this.luceneDirectoryBuilder.createDirectory(searchIndex, directoryType);
       IndexWriter indexWriter;
       MaxFieldLength maxFieldLength = MaxFieldLength.UNLIMITED;
       if (options.isOverwriteIndex()) {
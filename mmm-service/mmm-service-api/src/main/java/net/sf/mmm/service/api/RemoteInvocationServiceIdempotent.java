@@ -0,0 +1,33 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.service.api;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * This annotation marks a method of a {@link RemoteInvocationService} as <em>idempotent</em>. Such method
+ * does not modify any data so invoking it multiple times with the same arguments has the same effect as
+ * invoking it once (e.g. loading an enumeration or performing a lookup). This allows the
+ * {@link net.sf.mmm.service.api.client.RemoteInvocationServiceCaller} to collapse identical calls that are
+ * in-flight into a single invocation and optionally to cache the result on the client for the given
+ * {@link #cacheTimeToLive() time to live}.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RemoteInvocationServiceIdempotent {
+
+  /**
+   * @return the time in milliseconds the result of the annotated method may be cached on the client. The
+   *         default is <code>0</code> for no caching so only identical in-flight calls are collapsed.
+   */
+  long cacheTimeToLive() default 0;
+
+}
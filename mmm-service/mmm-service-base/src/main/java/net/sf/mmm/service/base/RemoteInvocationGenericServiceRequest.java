@@ -24,6 +24,12 @@ public class RemoteInvocationGenericServiceRequest implements Serializable {
   /** @see #getRequestId() */
   private int requestId;
 
+  /** @see #getMethodTableId() */
+  private int methodTableId;
+
+  /** @see #isMethodTableRequested() */
+  private boolean methodTableRequested;
+
   /**
    * The constructor for (de)serialization.
    */
@@ -76,4 +82,39 @@ public class RemoteInvocationGenericServiceRequest implements Serializable {
     return this.transactionalCalls;
   }
 
+  /**
+   * @return the {@link RemoteInvocationServiceMethodTable#getId() ID of the method table} the
+   *         {@link RemoteInvocationServiceCall#getMethodId() method IDs} of the contained calls refer to or
+   *         <code>0</code> if the calls are only identified by their names.
+   */
+  public int getMethodTableId() {
+
+    return this.methodTableId;
+  }
+
+  /**
+   * @param methodTableId is the {@link #getMethodTableId() method table ID} to set.
+   */
+  public void setMethodTableId(int methodTableId) {
+
+    this.methodTableId = methodTableId;
+  }
+
+  /**
+   * @return <code>true</code> if the client requests the {@link RemoteInvocationServiceMethodTable} of the
+   *         server as handshake for the compact protocol, <code>false</code> otherwise (default).
+   */
+  public boolean isMethodTableRequested() {
+
+    return this.methodTableRequested;
+  }
+
+  /**
+   * @param methodTableRequested is the {@link #isMethodTableRequested() method table requested flag} to set.
+   */
+  public void setMethodTableRequested(boolean methodTableRequested) {
+
+    this.methodTableRequested = methodTableRequested;
+  }
+
 }
@@ -22,6 +22,9 @@ public class RemoteInvocationGenericServiceResponse implements Serializable {
   /** @see #getRequestId() */
   private int requestId;
 
+  /** @see #getMethodTable() */
+  private RemoteInvocationServiceMethodTable methodTable;
+
   /**
    * The constructor.
    */
@@ -74,4 +77,23 @@ public class RemoteInvocationGenericServiceResponse implements Serializable {
     return this.transactionalResults;
   }
 
+  /**
+   * @return the {@link RemoteInvocationServiceMethodTable} of the server if it has been
+   *         {@link RemoteInvocationGenericServiceRequest#isMethodTableRequested() requested} or if the
+   *         {@link RemoteInvocationGenericServiceRequest#getMethodTableId() method table} of the client is
+   *         outdated, otherwise <code>null</code>.
+   */
+  public RemoteInvocationServiceMethodTable getMethodTable() {
+
+    return this.methodTable;
+  }
+
+  /**
+   * @param methodTable is the {@link #getMethodTable() method table} to set.
+   */
+  public void setMethodTable(RemoteInvocationServiceMethodTable methodTable) {
+
+    this.methodTable = methodTable;
+  }
+
 }
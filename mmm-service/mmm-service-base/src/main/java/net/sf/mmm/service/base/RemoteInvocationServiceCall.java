@@ -8,7 +8,10 @@ import net.sf.mmm.util.lang.api.attribute.AttributeReadTitle;
 
 /**
  * This is the generic transfer-object for an invocation of a
- * {@link net.sf.mmm.service.api.RemoteInvocationService}. It contains the data for a single method call.
+ * {@link net.sf.mmm.service.api.RemoteInvocationService}. It contains the data for a single method call.<br/>
+ * The method to invoke is either identified by its {@link #getServiceInterfaceName() service},
+ * {@link #getMethodName() name} and {@link #getSignature() signature} or (for the compact protocol) only by
+ * its {@link #getMethodId() method ID}.
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 1.0.0
@@ -30,6 +33,12 @@ public class RemoteInvocationServiceCall implements Serializable, AttributeReadT
   /** @see #getArguments() */
   private Serializable[] arguments;
 
+  /** @see #getMethodId() */
+  private int methodId;
+
+  /** @see #getMethodKey() */
+  private transient String methodKey;
+
   /**
    * The constructor for (de)serialization.
    */
@@ -56,6 +65,19 @@ public class RemoteInvocationServiceCall implements Serializable, AttributeReadT
     this.arguments = arguments;
   }
 
+  /**
+   * The constructor for a compact call only identified by its {@link #getMethodId() method ID}.
+   * 
+   * @param methodId - see {@link #getMethodId()}.
+   * @param arguments - see {@link #getArguments()}.
+   */
+  public RemoteInvocationServiceCall(int methodId, Serializable[] arguments) {
+
+    super();
+    this.methodId = methodId;
+    this.arguments = arguments;
+  }
+
   /**
    * @return the {@link Class#getName() qualified classname} of the
    *         {@link net.sf.mmm.service.api.RemoteInvocationService} interface to invoke.
@@ -86,6 +108,34 @@ public class RemoteInvocationServiceCall implements Serializable, AttributeReadT
     return this.signature;
   }
 
+  /**
+   * This method gets the ID of the method to invoke. It is the position (starting with <code>1</code>) of the
+   * method in the {@link RemoteInvocationServiceMethodTable} identified by
+   * {@link RemoteInvocationGenericServiceRequest#getMethodTableId()}. If the ID is present, the
+   * {@link #getServiceInterfaceName() service interface name} and {@link #getMethodName() method name} are
+   * omitted and will be <code>null</code>.
+   * 
+   * @return the method ID or <code>0</code> if the method is identified by {@link #getServiceInterfaceName()
+   *         service}, {@link #getMethodName() name} and {@link #getSignature() signature}.
+   */
+  public int getMethodId() {
+
+    return this.methodId;
+  }
+
+  /**
+   * @return the {@link RemoteInvocationServiceMethodTable#getMethodKey(String, String, int) method key} or
+   *         <code>null</code> if this call only has a {@link #getMethodId() method ID}.
+   */
+  public String getMethodKey() {
+
+    if ((this.methodKey == null) && (this.serviceInterfaceName != null)) {
+      this.methodKey = RemoteInvocationServiceMethodTable.getMethodKey(this.serviceInterfaceName, this.methodName,
+          this.signature);
+    }
+    return this.methodKey;
+  }
+
   /**
    * This method calculates the {@link #getSignature() signature}.
    * 
@@ -157,9 +207,15 @@ public class RemoteInvocationServiceCall implements Serializable, AttributeReadT
    */
   public String toString(boolean hideArguments) {
 
-    StringBuilder buffer = new StringBuilder(this.serviceInterfaceName);
-    buffer.append('.');
-    buffer.append(this.methodName);
+    StringBuilder buffer = new StringBuilder();
+    if (this.serviceInterfaceName == null) {
+      buffer.append('#');
+      buffer.append(this.methodId);
+    } else {
+      buffer.append(this.serviceInterfaceName);
+      buffer.append('.');
+      buffer.append(this.methodName);
+    }
     buffer.append('(');
     String separator = "";
     if (this.arguments != null) {
@@ -0,0 +1,143 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.service.base;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * This is the transfer-object for the table of all {@link net.sf.mmm.service.api.RemoteInvocationService}
+ * methods offered by a server. It is sent to the client as handshake of the compact protocol (see
+ * {@link RemoteInvocationGenericServiceRequest#isMethodTableRequested()}). The position of a method in this
+ * table determines its {@link RemoteInvocationServiceCall#getMethodId() method ID} so the client can send a
+ * single number instead of the service and method names and the server can dispatch the call by a simple
+ * array index.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class RemoteInvocationServiceMethodTable implements Serializable {
+
+  /** UID for serialization. */
+  private static final long serialVersionUID = -2164406377893207915L;
+
+  /** @see #getId() */
+  private int id;
+
+  /** @see #getMethodKeys() */
+  private String[] methodKeys;
+
+  /** @see #getMethodId(String) */
+  private transient Map<String, Integer> methodIdMap;
+
+  /**
+   * The constructor for (de)serialization.
+   */
+  protected RemoteInvocationServiceMethodTable() {
+
+    super();
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param methodKeys - see {@link #getMethodKeys()}.
+   */
+  public RemoteInvocationServiceMethodTable(String[] methodKeys) {
+
+    super();
+    this.methodKeys = methodKeys;
+    int hash = 1;
+    for (String key : methodKeys) {
+      hash = (31 * hash) + key.hashCode();
+    }
+    if (hash == 0) {
+      // 0 is reserved for "no method table"
+      hash = 1;
+    }
+    this.id = hash;
+  }
+
+  /**
+   * @return the identifier of this table. It is calculated from the {@link #getMethodKeys() method keys} so a
+   *         client can detect that its table is outdated (e.g. after a redeployment of the server). Will never
+   *         be <code>0</code>.
+   */
+  public int getId() {
+
+    return this.id;
+  }
+
+  /**
+   * @return the array with the {@link #getMethodKey(String, String, int) method keys}. The index of a key
+   *         plus one is the according {@link RemoteInvocationServiceCall#getMethodId() method ID}.
+   */
+  public String[] getMethodKeys() {
+
+    return this.methodKeys;
+  }
+
+  /**
+   * @param methodKey is the {@link #getMethodKey(String, String, int) method key}.
+   * @return the according {@link RemoteInvocationServiceCall#getMethodId() method ID} or <code>0</code> if
+   *         the method is NOT contained in this table.
+   */
+  public int getMethodId(String methodKey) {
+
+    if (this.methodIdMap == null) {
+      Map<String, Integer> map = new HashMap<String, Integer>(this.methodKeys.length * 2);
+      for (int i = 0; i < this.methodKeys.length; i++) {
+        map.put(this.methodKeys[i], Integer.valueOf(i + 1));
+      }
+      this.methodIdMap = map;
+    }
+    Integer methodId = this.methodIdMap.get(methodKey);
+    if (methodId == null) {
+      return 0;
+    }
+    return methodId.intValue();
+  }
+
+  /**
+   * @param methodId is the {@link RemoteInvocationServiceCall#getMethodId() method ID}.
+   * @return the according {@link #getMethodKey(String, String, int) method key} or <code>null</code> if the
+   *         given <code>methodId</code> is invalid.
+   */
+  public String getMethodKey(int methodId) {
+
+    if ((methodId <= 0) || (methodId > this.methodKeys.length)) {
+      return null;
+    }
+    return this.methodKeys[methodId - 1];
+  }
+
+  /**
+   * This method gets the unique key for a method of a remote service.
+   *
+   * @param serviceName is the {@link Class#getName() name} of the
+   *        {@link net.sf.mmm.service.api.RemoteInvocationService} interface.
+   * @param methodName is the {@link java.lang.reflect.Method#getName() method name}.
+   * @param signature is the {@link RemoteInvocationServiceCall#getSignature() signature}.
+   * @return the method key.
+   */
+  public static String getMethodKey(String serviceName, String methodName, int signature) {
+
+    StringBuilder buffer = new StringBuilder(serviceName);
+    buffer.append('.');
+    buffer.append(methodName);
+    buffer.append('@');
+    buffer.append(signature);
+    return buffer.toString();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+
+    return "MethodTable#" + this.id + "[" + this.methodKeys.length + "]";
+  }
+
+}
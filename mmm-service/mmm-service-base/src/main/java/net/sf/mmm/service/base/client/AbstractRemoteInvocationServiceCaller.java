@@ -3,8 +3,14 @@
 package net.sf.mmm.service.base.client;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import net.sf.mmm.service.api.RemoteInvocationService;
@@ -17,10 +23,12 @@ import net.sf.mmm.service.api.client.RemoteInvocationServiceQueue.TransactionMod
 import net.sf.mmm.service.base.RemoteInvocationGenericServiceRequest;
 import net.sf.mmm.service.base.RemoteInvocationGenericServiceResponse;
 import net.sf.mmm.service.base.RemoteInvocationServiceCall;
+import net.sf.mmm.service.base.RemoteInvocationServiceMethodTable;
 import net.sf.mmm.service.base.RemoteInvocationServiceTransactionalCalls;
 import net.sf.mmm.service.base.RemoteInvocationServiceTransactionalResults;
 import net.sf.mmm.util.component.base.AbstractLoggableComponent;
 import net.sf.mmm.util.nls.api.IllegalCaseException;
+import net.sf.mmm.util.nls.api.NlsIllegalArgumentException;
 import net.sf.mmm.util.nls.api.NlsIllegalStateException;
 import net.sf.mmm.util.nls.api.NlsNullPointerException;
 import net.sf.mmm.util.nls.api.ObjectMismatchException;
@@ -28,7 +36,27 @@ import net.sf.mmm.util.reflect.api.ReflectionUtilLimited;
 import net.sf.mmm.util.reflect.base.ReflectionUtilLimitedImpl;
 
 /**
- * This is the abstract base-implementation of {@link RemoteInvocationServiceCaller}.
+ * This is the abstract base-implementation of {@link RemoteInvocationServiceCaller}.<br/>
+ * If the {@link #setCompactProtocol(boolean) compact protocol} is enabled, the first request also
+ * {@link RemoteInvocationGenericServiceRequest#isMethodTableRequested() requests} the
+ * {@link RemoteInvocationServiceMethodTable} from the server. All further calls are then only sent with their
+ * {@link RemoteInvocationServiceCall#getMethodId() method ID}. If the server has changed in the meantime
+ * (e.g. after a redeployment) the server rejects the calls of that request and sends its current table. The
+ * rejected calls are then automatically sent again identified by their names and the updated table is used
+ * for subsequent requests.<br/>
+ * Further, this implementation supports the following optimizations:
+ * <ul>
+ * <li>If a {@link #setBatchDelay(int) batch delay} is configured, the calls of all queues
+ * {@link RemoteInvocationServiceQueue#commit() committed} within that time window are sent together in a
+ * single request.</li>
+ * <li>Calls of {@link #setCacheTimeToLive(String, long) idempotent methods} are collapsed so an identical
+ * call (same method and equal arguments) that is still in-flight is not sent again but receives the result of
+ * the pending call.</li>
+ * <li>The results of idempotent methods with a positive {@link #setCacheTimeToLive(String, long) time to
+ * live} are cached on the client until they expire or are {@link #invalidateCache(Class) invalidated}. The
+ * cache is bounded by the {@link #setCacheMaximumSize(int) maximum size} and evicts the least recently used
+ * or expired results first.</li>
+ * </ul>
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 1.0.0
@@ -36,6 +64,9 @@ import net.sf.mmm.util.reflect.base.ReflectionUtilLimitedImpl;
 public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLoggableComponent implements
     RemoteInvocationServiceCaller, AttributeTransactionMode {
 
+  /** The default {@link #getCacheMaximumSize() maximum size} of the result cache. */
+  public static final int DEFAULT_CACHE_MAXIMUM_SIZE = 256;
+
   /** @see #nextRequestId() */
   private int requestCount;
 
@@ -45,6 +76,27 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
   /** @see #getTransactionMode() */
   private TransactionMode transactionMode;
 
+  /** @see #isCompactProtocol() */
+  private boolean compactProtocol;
+
+  /** The {@link RemoteInvocationServiceMethodTable} received from the server or <code>null</code>. */
+  private volatile RemoteInvocationServiceMethodTable methodTable;
+
+  /** @see #setBatchDelay(int) */
+  private int batchDelay;
+
+  /** The {@link RequestBuilder} collecting the calls of the current batch or <code>null</code>. */
+  private RequestBuilder pendingBatch;
+
+  /** @see #setCacheTimeToLive(String, long) */
+  private final Map<String, Long> cacheTimeToLiveMap;
+
+  /** The cached results of idempotent calls. */
+  private final ResultCache resultCache;
+
+  /** The idempotent calls that have been sent and wait for their result. */
+  private final Map<CallKey, ServiceCallData<?>> inFlightMap;
+
   /**
    * The constructor.
    */
@@ -52,6 +104,9 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
 
     super();
     this.transactionMode = TransactionMode.ALL_INVOCATIONS;
+    this.cacheTimeToLiveMap = new HashMap<String, Long>();
+    this.resultCache = new ResultCache();
+    this.inFlightMap = new HashMap<CallKey, ServiceCallData<?>>();
   }
 
   /**
@@ -72,6 +127,111 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
     this.transactionMode = transactionMode;
   }
 
+  /**
+   * @return <code>true</code> if the compact protocol with {@link RemoteInvocationServiceCall#getMethodId()
+   *         method IDs} is used, <code>false</code> otherwise (default).
+   */
+  public boolean isCompactProtocol() {
+
+    return this.compactProtocol;
+  }
+
+  /**
+   * @param compactProtocol is the {@link #isCompactProtocol() compact protocol flag} to set.
+   */
+  public void setCompactProtocol(boolean compactProtocol) {
+
+    this.compactProtocol = compactProtocol;
+    if (!compactProtocol) {
+      this.methodTable = null;
+    }
+  }
+
+  /**
+   * @return the delay in milliseconds to wait for further {@link RemoteInvocationServiceQueue#commit()
+   *         committed} queues before the collected calls are sent in a single request. The default is
+   *         <code>0</code> to send the request immediately on commit.
+   */
+  public int getBatchDelay() {
+
+    return this.batchDelay;
+  }
+
+  /**
+   * @see #getBatchDelay()
+   * 
+   * @param batchDelay is the batch delay in milliseconds. A value of <code>0</code> disables batching.
+   *        <b>ATTENTION:</b> If batching is enabled, the request is sent and the callbacks are invoked by
+   *        the {@link #schedule(Runnable, int) scheduled} task (e.g. in a timer thread) rather than in the
+   *        thread that {@link RemoteInvocationServiceQueue#commit() committed} the queue.
+   */
+  public void setBatchDelay(int batchDelay) {
+
+    this.batchDelay = batchDelay;
+  }
+
+  /**
+   * This method marks a service method as idempotent. Identical calls of this method that are in-flight are
+   * collapsed into a single invocation.
+   * 
+   * @see net.sf.mmm.service.api.RemoteInvocationServiceIdempotent
+   * 
+   * @param methodKey is the {@link RemoteInvocationServiceCall#getMethodKey() method key} of the idempotent
+   *        method.
+   * @param timeToLive is the time in milliseconds the result of the method may be cached. Use <code>0</code>
+   *        to disable caching.
+   */
+  public synchronized void setCacheTimeToLive(String methodKey, long timeToLive) {
+
+    this.cacheTimeToLiveMap.put(methodKey, Long.valueOf(timeToLive));
+  }
+
+  /**
+   * @return the maximum number of results of idempotent calls that are cached. If exceeded, the least recently
+   *         used result is evicted. The default is {@link #DEFAULT_CACHE_MAXIMUM_SIZE}.
+   */
+  public synchronized int getCacheMaximumSize() {
+
+    return this.resultCache.maximumSize;
+  }
+
+  /**
+   * @param cacheMaximumSize is the {@link #getCacheMaximumSize() maximum cache size} to set.
+   */
+  public synchronized void setCacheMaximumSize(int cacheMaximumSize) {
+
+    if (cacheMaximumSize < 0) {
+      throw new NlsIllegalArgumentException(Integer.valueOf(cacheMaximumSize), "cacheMaximumSize");
+    }
+    this.resultCache.maximumSize = cacheMaximumSize;
+    this.resultCache.purge();
+  }
+
+  /**
+   * This method invalidates the entire client-side cache of results of idempotent calls.
+   */
+  public synchronized void invalidateCache() {
+
+    this.resultCache.clear();
+  }
+
+  /**
+   * This method invalidates all cached results of idempotent calls to the given service. It should be called
+   * after a call that modifies data returned by that service.
+   * 
+   * @param serviceInterface is the interface of the {@link RemoteInvocationService}.
+   */
+  public synchronized void invalidateCache(Class<? extends RemoteInvocationService> serviceInterface) {
+
+    String prefix = serviceInterface.getName() + ".";
+    Iterator<CallKey> iterator = this.resultCache.keySet().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().methodKey.startsWith(prefix)) {
+        iterator.remove();
+      }
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -172,19 +332,168 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
 
   /**
    * This method finally performs a request with the invocations collected by the given <code>queue</code>.
+   * If a {@link #setBatchDelay(int) batch delay} is configured, the invocations are only added to the
+   * current batch that is {@link #flushBatch() sent} after the delay.
    * 
    * @param queue is the {@link RemoteInvocationServiceQueueImpl}.
    */
   protected void performRequest(RemoteInvocationServiceQueueImpl queue) {
 
     assert (queue == this.currentQueue);
-    RequestBuilder builder = new RequestBuilder();
-    queue.collectCalls(builder, false);
-    if (builder.txCallList.isEmpty()) {
-      return;
+    if (this.batchDelay > 0) {
+      boolean newBatch;
+      synchronized (this) {
+        newBatch = (this.pendingBatch == null);
+        if (newBatch) {
+          this.pendingBatch = new RequestBuilder();
+        }
+        queue.collectCalls(this.pendingBatch, false);
+      }
+      if (newBatch) {
+        schedule(new Runnable() {
+
+          @Override
+          public void run() {
+
+            flushBatch();
+          }
+        }, this.batchDelay);
+      }
+    } else {
+      RequestBuilder builder = new RequestBuilder();
+      queue.collectCalls(builder, false);
+      performRequest(builder);
+    }
+  }
+
+  /**
+   * This method immediately sends the calls of the current batch (see {@link #setBatchDelay(int)}). It does
+   * nothing if no calls are pending.
+   */
+  public void flushBatch() {
+
+    RequestBuilder builder;
+    synchronized (this) {
+      builder = this.pendingBatch;
+      this.pendingBatch = null;
+    }
+    if (builder != null) {
+      performRequest(builder);
+    }
+  }
+
+  /**
+   * This method schedules the given <code>task</code> to be run after the given delay. It is used to
+   * {@link #flushBatch() flush} a batch (see {@link #setBatchDelay(int)}). The default implementation runs the
+   * task immediately what effectively disables batching. Implementations should override this method
+   * according to their environment (e.g. using a timer).
+   * 
+   * @param task is the {@link Runnable} to run.
+   * @param delayMillis is the delay in milliseconds.
+   */
+  protected void schedule(Runnable task, int delayMillis) {
+
+    task.run();
+  }
+
+  /**
+   * This method builds and performs the request for the given {@link RequestBuilder}.
+   * 
+   * @param builder is the {@link RequestBuilder} with the collected calls.
+   */
+  private void performRequest(RequestBuilder builder) {
+
+    try {
+      if (builder.txCallList.isEmpty()) {
+        return;
+      }
+      RemoteInvocationGenericServiceRequest request;
+      if (this.compactProtocol) {
+        RemoteInvocationServiceMethodTable table = this.methodTable;
+        if (table == null) {
+          request = builder.build(nextRequestId(), null);
+          request.setMethodTableRequested(true);
+        } else {
+          request = builder.build(nextRequestId(), table);
+          request.setMethodTableId(table.getId());
+        }
+      } else {
+        request = builder.build(nextRequestId(), null);
+      }
+      try {
+        performRequest(request, builder);
+      } catch (RuntimeException e) {
+        builder.abort(e);
+        throw e;
+      }
+    } finally {
+      builder.handleCachedResults();
+    }
+  }
+
+  /**
+   * This method checks if the given call is idempotent and can be resolved without sending it to the server.
+   * 
+   * @param data is the {@link ServiceCallData} to resolve.
+   * @param builder is the {@link RequestBuilder} collecting the call.
+   * @return <code>true</code> if the call has been resolved from the cache or joined an identical in-flight
+   *         call, <code>false</code> if it has to be sent to the server.
+   */
+  synchronized boolean resolveCall(ServiceCallData<?> data, RequestBuilder builder) {
+
+    if (this.cacheTimeToLiveMap.isEmpty()) {
+      return false;
+    }
+    RemoteInvocationServiceCall call = data.call;
+    Long timeToLive = this.cacheTimeToLiveMap.get(call.getMethodKey());
+    if (timeToLive == null) {
+      return false;
+    }
+    CallKey key = new CallKey(call);
+    CacheEntry entry = this.resultCache.get(key);
+    if (entry != null) {
+      if (entry.expiration > System.currentTimeMillis()) {
+        builder.addCachedResult(data, entry.result);
+        return true;
+      }
+      this.resultCache.remove(key);
     }
-    RemoteInvocationGenericServiceRequest request = builder.build(nextRequestId());
-    performRequest(request, builder);
+    ServiceCallData<?> inFlightCall = this.inFlightMap.get(key);
+    if (inFlightCall != null) {
+      if (inFlightCall.followers == null) {
+        inFlightCall.followers = new ArrayList<ServiceCallData<?>>();
+      }
+      inFlightCall.followers.add(data);
+      return true;
+    }
+    data.cacheKey = key;
+    data.cacheTimeToLive = timeToLive.longValue();
+    this.inFlightMap.put(key, data);
+    return false;
+  }
+
+  /**
+   * This method is called when an idempotent call that was in-flight has been completed.
+   * 
+   * @param data is the completed {@link ServiceCallData}.
+   * @param result is the result of the call or <code>null</code> if it failed.
+   * @param success - <code>true</code> if the call succeeded, <code>false</code> if it failed.
+   * @return the {@link ServiceCallData} of the identical calls that have been collapsed into the given one.
+   *         Will be <code>null</code> if there are none.
+   */
+  synchronized List<ServiceCallData<?>> completeCall(ServiceCallData<?> data, Serializable result, boolean success) {
+
+    if (data.cacheKey == null) {
+      return null;
+    }
+    this.inFlightMap.remove(data.cacheKey);
+    if (success && (data.cacheTimeToLive > 0) && (this.resultCache.maximumSize > 0)) {
+      this.resultCache.put(data.cacheKey,
+          new CacheEntry(result, System.currentTimeMillis() + data.cacheTimeToLive));
+    }
+    List<ServiceCallData<?>> followers = data.followers;
+    data.followers = null;
+    return followers;
   }
 
   /**
@@ -242,6 +551,18 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
       throw new ObjectMismatchException(Integer.valueOf(transactionalResults.length),
           Integer.valueOf(transactionalCalls.length), source);
     }
+    RemoteInvocationServiceMethodTable responseMethodTable = response.getMethodTable();
+    if ((responseMethodTable != null) && this.compactProtocol) {
+      this.methodTable = responseMethodTable;
+    }
+    int methodTableId = request.getMethodTableId();
+    if ((methodTableId != 0) && (responseMethodTable != null) && (responseMethodTable.getId() != methodTableId)) {
+      // server rejected the method IDs of our outdated table - resend the calls identified by their names
+      getLogger().debug("Method table #" + methodTableId + " is outdated - resending calls by names.");
+      RemoteInvocationGenericServiceRequest retryRequest = builder.build(nextRequestId(), null);
+      performRequest(retryRequest, builder);
+      return;
+    }
     builder.handleResponse(response);
   }
 
@@ -260,6 +581,153 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
     builder.handleFailure(failure);
   }
 
+  /**
+   * Passes the given <code>failure</code> to the failure callback of the given call and all identical calls
+   * that have been collapsed into it.
+   * 
+   * @param callData is the failed {@link ServiceCallData}.
+   * @param failure is the {@link Throwable} that occurred.
+   */
+  private void handleFailure(ServiceCallData<?> callData, Throwable failure) {
+
+    List<ServiceCallData<?>> followers = completeCall(callData, null, false);
+    callData.failureCallback.accept(failure);
+    if (followers != null) {
+      for (ServiceCallData<?> follower : followers) {
+        follower.failureCallback.accept(failure);
+      }
+    }
+  }
+
+  /**
+   * This inner class is the key to identify equal calls of an idempotent method.
+   */
+  private static class CallKey {
+
+    /** The {@link RemoteInvocationServiceCall#getMethodKey() method key}. */
+    private final String methodKey;
+
+    /** The {@link RemoteInvocationServiceCall#getArguments() arguments}. */
+    private final Serializable[] arguments;
+
+    /** The pre-calculated {@link #hashCode() hash code}. */
+    private final int hash;
+
+    /**
+     * The constructor.
+     * 
+     * @param call is the {@link RemoteInvocationServiceCall}.
+     */
+    public CallKey(RemoteInvocationServiceCall call) {
+
+      super();
+      this.methodKey = call.getMethodKey();
+      this.arguments = call.getArguments();
+      this.hash = (31 * this.methodKey.hashCode()) + Arrays.deepHashCode(this.arguments);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+
+      return this.hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+
+      if (obj == this) {
+        return true;
+      }
+      if ((obj == null) || (obj.getClass() != CallKey.class)) {
+        return false;
+      }
+      CallKey other = (CallKey) obj;
+      return (this.hash == other.hash) && this.methodKey.equals(other.methodKey)
+          && Arrays.deepEquals(this.arguments, other.arguments);
+    }
+  }
+
+  /**
+   * This inner class is an entry of the cache for results of idempotent calls.
+   */
+  private static class CacheEntry {
+
+    /** The cached result. */
+    private final Serializable result;
+
+    /** The point in time ({@link System#currentTimeMillis()}) when this entry expires. */
+    private final long expiration;
+
+    /**
+     * The constructor.
+     * 
+     * @param result is the cached result.
+     * @param expiration is the point in time when this entry expires.
+     */
+    public CacheEntry(Serializable result, long expiration) {
+
+      super();
+      this.result = result;
+      this.expiration = expiration;
+    }
+  }
+
+  /**
+   * This inner class is the cache for results of idempotent calls. It is a {@link LinkedHashMap} in
+   * access-order that evicts the least recently used entry if the {@link #maximumSize maximum size} is
+   * exceeded and drops the eldest entry on insert if it has expired.
+   */
+  private static class ResultCache extends LinkedHashMap<CallKey, CacheEntry> {
+
+    /** UID for serialization. */
+    private static final long serialVersionUID = 1L;
+
+    /** @see AbstractRemoteInvocationServiceCaller#getCacheMaximumSize() */
+    private int maximumSize;
+
+    /**
+     * The constructor.
+     */
+    public ResultCache() {
+
+      super(16, 0.75f, true);
+      this.maximumSize = DEFAULT_CACHE_MAXIMUM_SIZE;
+    }
+
+    /**
+     * This method removes all expired entries and the least recently used entries exceeding the
+     * {@link #maximumSize maximum size}.
+     */
+    public void purge() {
+
+      long now = System.currentTimeMillis();
+      int excess = size() - this.maximumSize;
+      Iterator<CacheEntry> iterator = values().iterator();
+      while (iterator.hasNext()) {
+        CacheEntry entry = iterator.next();
+        if ((excess > 0) || (entry.expiration <= now)) {
+          iterator.remove();
+          excess--;
+        }
+      }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<CallKey, CacheEntry> eldest) {
+
+      return (size() > this.maximumSize) || (eldest.getValue().expiration <= System.currentTimeMillis());
+    }
+  }
+
   /**
    * This inner class is the implementation of {@link RemoteInvocationServiceQueue}.
    */
@@ -556,26 +1024,30 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
       requireOpen();
       requireNoCurrentCall();
       requireNoChildQueue();
+      boolean rootQueue = (this.parentQueue == null);
       try {
-        if (this.parentQueue == null) {
+        if (rootQueue) {
           performRequest(this);
-          // } else {
-          // this.parentQueue.callQueue.addAll(this.callQueue);
+        } else {
+          // calls are collected and sent with the parent queue
+          this.parentQueue.subQueues.add(this);
         }
         this.state = State.COMITTED;
       } finally {
         if (this.state != State.COMITTED) {
           this.state = State.FAILED;
         }
+        close(rootQueue);
       }
     }
 
     /**
      * This method closes this queue. It is called from {@link #commit()} and {@link #cancel()}.
+     * 
+     * @param freeResources - <code>true</code> if the collected calls can be discarded, <code>false</code> if
+     *        they are still needed by the parent queue.
      */
-    private void close() {
-
-      // this.open = false;
+    private void close(boolean freeResources) {
 
       // disconnect from parent
       if (this.parentQueue != null) {
@@ -585,12 +1057,14 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
 
       assert (AbstractRemoteInvocationServiceCaller.this.currentQueue == this);
       AbstractRemoteInvocationServiceCaller.this.currentQueue = this.parentQueue;
-
-      // free resources
-      this.callQueue = null;
-      this.defaultFailureCallback = null;
-      this.childQueue = null;
       this.parentQueue = null;
+
+      if (freeResources) {
+        this.callQueue = null;
+        this.subQueues = null;
+        this.defaultFailureCallback = null;
+        this.childQueue = null;
+      }
     }
 
     /**
@@ -607,7 +1081,7 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
         this.childQueue.cancel();
       }
       this.currentCall = null;
-      close();
+      close(true);
     }
 
   }
@@ -637,6 +1111,15 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
     /** The {@link RemoteInvocationServiceCall}. */
     private RemoteInvocationServiceCall call;
 
+    /** The {@link CallKey} if this is an idempotent call in-flight, otherwise <code>null</code>. */
+    private CallKey cacheKey;
+
+    /** @see AbstractRemoteInvocationServiceCaller#setCacheTimeToLive(String, long) */
+    private long cacheTimeToLive;
+
+    /** The identical calls collapsed into this one or <code>null</code>. */
+    private List<ServiceCallData<?>> followers;
+
     /**
      * The constructor.
      * 
@@ -713,14 +1196,23 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
     }
 
     /**
+     * @param table is the {@link RemoteInvocationServiceMethodTable} to use for compact calls or
+     *        <code>null</code> to send the calls with their names.
      * @return the new {@link RemoteInvocationServiceTransactionalCalls} instance for this builder.
      */
-    public RemoteInvocationServiceTransactionalCalls build() {
+    public RemoteInvocationServiceTransactionalCalls build(RemoteInvocationServiceMethodTable table) {
 
       RemoteInvocationServiceCall[] calls = new RemoteInvocationServiceCall[this.callDataList.size()];
       int i = 0;
       for (ServiceCallData<?> data : this.callDataList) {
-        calls[i++] = data.call;
+        RemoteInvocationServiceCall call = data.call;
+        if (table != null) {
+          int methodId = table.getMethodId(call.getMethodKey());
+          if (methodId > 0) {
+            call = new RemoteInvocationServiceCall(methodId, call.getArguments());
+          }
+        }
+        calls[i++] = call;
       }
       return new RemoteInvocationServiceTransactionalCalls(calls);
     }
@@ -736,7 +1228,7 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
       Throwable failure = results.getFailure();
       if (failure != null) {
         for (ServiceCallData<?> callData : this.callDataList) {
-          callData.failureCallback.accept(failure);
+          handleFailure(callData, failure);
         }
       } else {
         Serializable[] resultValues = results.getResults();
@@ -746,8 +1238,15 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
         }
         int i = 0;
         for (ServiceCallData callData : this.callDataList) {
+          Serializable result = resultValues[i++];
+          List<ServiceCallData<?>> followers = completeCall(callData, result, true);
           try {
-            callData.successCallback.accept(resultValues[i++]);
+            callData.successCallback.accept(result);
+            if (followers != null) {
+              for (ServiceCallData follower : followers) {
+                follower.successCallback.accept(result);
+              }
+            }
           } catch (RuntimeException e) {
             getLogger().error("Error processing call: " + callData.call.getTitle(), e);
             throw e;
@@ -762,12 +1261,18 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
    */
   protected class RequestBuilder {
 
-    /** @see #build(int) */
+    /** @see #build(int, RemoteInvocationServiceMethodTable) */
     private final List<TransactionalCallBuilder> txCallList;
 
     /** @see #addToCurrentTx(ServiceCallData) */
     private TransactionalCallBuilder currentTx;
 
+    /** @see #addCachedResult(ServiceCallData, Serializable) */
+    private List<ServiceCallData<?>> cachedCalls;
+
+    /** @see #addCachedResult(ServiceCallData, Serializable) */
+    private List<Serializable> cachedResults;
+
     /**
      * The constructor.
      */
@@ -777,6 +1282,42 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
       this.txCallList = new LinkedList<TransactionalCallBuilder>();
     }
 
+    /**
+     * Adds a call that has been resolved from the cache.
+     * 
+     * @param data is the {@link ServiceCallData}.
+     * @param result is the cached result.
+     */
+    void addCachedResult(ServiceCallData<?> data, Serializable result) {
+
+      if (this.cachedCalls == null) {
+        this.cachedCalls = new ArrayList<ServiceCallData<?>>();
+        this.cachedResults = new ArrayList<Serializable>();
+      }
+      this.cachedCalls.add(data);
+      this.cachedResults.add(result);
+    }
+
+    /**
+     * Passes the {@link #addCachedResult(ServiceCallData, Serializable) cached results} to the according
+     * success callbacks.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void handleCachedResults() {
+
+      if (this.cachedCalls == null) {
+        return;
+      }
+      List<ServiceCallData<?>> calls = this.cachedCalls;
+      List<Serializable> results = this.cachedResults;
+      this.cachedCalls = null;
+      this.cachedResults = null;
+      for (int i = 0; i < calls.size(); i++) {
+        ServiceCallData callData = calls.get(i);
+        callData.successCallback.accept(results.get(i));
+      }
+    }
+
     /**
      * Processes the given <code>failure</code>.
      * 
@@ -787,8 +1328,29 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
       for (TransactionalCallBuilder txCall : this.txCallList) {
         for (ServiceCallData<?> callData : txCall.callDataList) {
           RemoteInvocationServiceCall call = callData.getCall();
-          callData.failureCallback.accept(new RemoteInvocationServiceCallFailedException(failure, call
-              .getServiceInterfaceName(), call.getMethodName() + "@" + call.getSignature()));
+          AbstractRemoteInvocationServiceCaller.this.handleFailure(callData,
+              new RemoteInvocationServiceCallFailedException(failure, call.getServiceInterfaceName(), call
+                  .getMethodName() + "@" + call.getSignature()));
+        }
+      }
+    }
+
+    /**
+     * Releases the idempotent calls of this builder that are in-flight if the request could not be performed.
+     * Identical calls that have been collapsed into them receive the given <code>failure</code>.
+     * 
+     * @param failure is the failure that occurred.
+     */
+    void abort(Throwable failure) {
+
+      for (TransactionalCallBuilder txCall : this.txCallList) {
+        for (ServiceCallData<?> callData : txCall.callDataList) {
+          List<ServiceCallData<?>> followers = completeCall(callData, null, false);
+          if (followers != null) {
+            for (ServiceCallData<?> follower : followers) {
+              follower.failureCallback.accept(failure);
+            }
+          }
         }
       }
     }
@@ -832,7 +1394,9 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
       if (this.currentTx == null) {
         throw new IllegalStateException();
       }
-      this.currentTx.add(data);
+      if (!resolveCall(data, this)) {
+        this.currentTx.add(data);
+      }
     }
 
     /**
@@ -844,6 +1408,9 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
       if (this.currentTx != null) {
         throw new IllegalStateException();
       }
+      if (resolveCall(data, this)) {
+        return;
+      }
       TransactionalCallBuilder txCallBuilder = new TransactionalCallBuilder();
       txCallBuilder.add(data);
       this.txCallList.add(txCallBuilder);
@@ -867,15 +1434,17 @@ public abstract class AbstractRemoteInvocationServiceCaller extends AbstractLogg
      * Builds the {@link RemoteInvocationGenericServiceRequest} instance.
      * 
      * @param requestId is the {@link RemoteInvocationGenericServiceRequest#getRequestId() request ID}.
+     * @param table is the {@link RemoteInvocationServiceMethodTable} to use for compact calls or
+     *        <code>null</code> to send the calls with their names.
      * @return the new {@link RemoteInvocationGenericServiceRequest} instance for this builder.
      */
-    public RemoteInvocationGenericServiceRequest build(int requestId) {
+    public RemoteInvocationGenericServiceRequest build(int requestId, RemoteInvocationServiceMethodTable table) {
 
       RemoteInvocationServiceTransactionalCalls[] transactionalCalls = new RemoteInvocationServiceTransactionalCalls[this.txCallList
           .size()];
       int i = 0;
       for (TransactionalCallBuilder txCall : this.txCallList) {
-        transactionalCalls[i++] = txCall.build();
+        transactionalCalls[i++] = txCall.build(table);
       }
       return new RemoteInvocationGenericServiceRequest(requestId, transactionalCalls);
     }
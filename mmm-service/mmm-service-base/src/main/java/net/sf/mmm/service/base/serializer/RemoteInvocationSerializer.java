@@ -0,0 +1,57 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.service.base.serializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import net.sf.mmm.service.base.RemoteInvocationGenericServiceRequest;
+import net.sf.mmm.service.base.RemoteInvocationGenericServiceResponse;
+
+/**
+ * This is the interface for a serializer of the bodies of {@link RemoteInvocationGenericServiceRequest
+ * requests} and {@link RemoteInvocationGenericServiceResponse responses} of the
+ * {@link net.sf.mmm.service.base.RemoteInvocationGenericService}. The format is identified by its
+ * {@link #getContentType() content-type} so client and server can negotiate the format (e.g. via HTTP
+ * headers).
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public interface RemoteInvocationSerializer {
+
+  /**
+   * @return the content-type (mime-type) of the format written by this serializer.
+   */
+  String getContentType();
+
+  /**
+   * @param request is the {@link RemoteInvocationGenericServiceRequest} to write.
+   * @param out is the {@link OutputStream} to write to. It will NOT be closed.
+   * @throws IOException if an I/O error occurred.
+   */
+  void writeRequest(RemoteInvocationGenericServiceRequest request, OutputStream out) throws IOException;
+
+  /**
+   * @param in is the {@link InputStream} to read from. It will NOT be closed.
+   * @return the {@link RemoteInvocationGenericServiceRequest} that has been read.
+   * @throws IOException if an I/O error occurred or the data is corrupt.
+   */
+  RemoteInvocationGenericServiceRequest readRequest(InputStream in) throws IOException;
+
+  /**
+   * @param response is the {@link RemoteInvocationGenericServiceResponse} to write.
+   * @param out is the {@link OutputStream} to write to. It will NOT be closed.
+   * @throws IOException if an I/O error occurred.
+   */
+  void writeResponse(RemoteInvocationGenericServiceResponse response, OutputStream out) throws IOException;
+
+  /**
+   * @param in is the {@link InputStream} to read from. It will NOT be closed.
+   * @return the {@link RemoteInvocationGenericServiceResponse} that has been read.
+   * @throws IOException if an I/O error occurred or the data is corrupt.
+   */
+  RemoteInvocationGenericServiceResponse readResponse(InputStream in) throws IOException;
+
+}
@@ -0,0 +1,388 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.service.base.serializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+
+import net.sf.mmm.service.base.RemoteInvocationGenericServiceRequest;
+import net.sf.mmm.service.base.RemoteInvocationGenericServiceResponse;
+import net.sf.mmm.service.base.RemoteInvocationServiceCall;
+import net.sf.mmm.service.base.RemoteInvocationServiceMethodTable;
+import net.sf.mmm.service.base.RemoteInvocationServiceTransactionalCalls;
+import net.sf.mmm.service.base.RemoteInvocationServiceTransactionalResults;
+
+/**
+ * This is the implementation of {@link RemoteInvocationSerializer} for a compact binary format. The envelope
+ * (requests, transactions, calls and results) is written field by field as primitive data so neither class
+ * descriptors nor reflective field access is required for it. Together with
+ * {@link RemoteInvocationServiceCall#getMethodId() method IDs} a call only costs a few bytes plus its
+ * arguments. Arguments and results of common types ({@link String}, {@link Integer}, {@link Long},
+ * {@link Boolean}, {@link Double}) are also written directly while any other {@link Serializable} value
+ * falls back to java serialization within the same stream (so class descriptors are shared across values).<br/>
+ * The lengths of arrays read from the stream are limited by the {@link #getMaximumLength() maximum length}
+ * so a corrupt or malicious stream can not cause the allocation of huge arrays.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class RemoteInvocationSerializerCompact implements RemoteInvocationSerializer {
+
+  /** The {@link #getContentType() content-type} of the compact format. */
+  public static final String CONTENT_TYPE = "application/x-mmm-remote-invocation";
+
+  /** The default {@link #getMaximumLength() maximum length}. */
+  public static final int DEFAULT_MAXIMUM_LENGTH = 0xFFFF;
+
+  /** The version of the format written as first byte. */
+  private static final int VERSION = 1;
+
+  /** The maximum length of a {@link String} that can always be written via {@link ObjectOutputStream#writeUTF}. */
+  private static final int MAX_UTF_LENGTH = 0xFFFF / 3;
+
+  /** Tag for <code>null</code>. */
+  private static final byte TAG_NULL = 0;
+
+  /** Tag for a {@link String}. */
+  private static final byte TAG_STRING = 1;
+
+  /** Tag for an {@link Integer}. */
+  private static final byte TAG_INTEGER = 2;
+
+  /** Tag for a {@link Long}. */
+  private static final byte TAG_LONG = 3;
+
+  /** Tag for a {@link Boolean}. */
+  private static final byte TAG_BOOLEAN = 4;
+
+  /** Tag for a {@link Double}. */
+  private static final byte TAG_DOUBLE = 5;
+
+  /** Tag for any other object written via java serialization. */
+  private static final byte TAG_OBJECT = 6;
+
+  /** @see #getMaximumLength() */
+  private int maximumLength;
+
+  /**
+   * The constructor.
+   */
+  public RemoteInvocationSerializerCompact() {
+
+    super();
+    this.maximumLength = DEFAULT_MAXIMUM_LENGTH;
+  }
+
+  /**
+   * @return the maximum length of an array (e.g. of calls, arguments or method keys) that is accepted when
+   *         reading. The default is {@link #DEFAULT_MAXIMUM_LENGTH}.
+   */
+  public int getMaximumLength() {
+
+    return this.maximumLength;
+  }
+
+  /**
+   * @param maximumLength is the {@link #getMaximumLength() maximum length} to set.
+   */
+  public void setMaximumLength(int maximumLength) {
+
+    this.maximumLength = maximumLength;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getContentType() {
+
+    return CONTENT_TYPE;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void writeRequest(RemoteInvocationGenericServiceRequest request, OutputStream out) throws IOException {
+
+    ObjectOutputStream objectOut = new ObjectOutputStream(out);
+    objectOut.writeByte(VERSION);
+    objectOut.writeInt(request.getRequestId());
+    objectOut.writeInt(request.getMethodTableId());
+    objectOut.writeBoolean(request.isMethodTableRequested());
+    RemoteInvocationServiceTransactionalCalls[] transactionalCalls = request.getTransactionalCalls();
+    objectOut.writeInt(transactionalCalls.length);
+    for (RemoteInvocationServiceTransactionalCalls txCalls : transactionalCalls) {
+      RemoteInvocationServiceCall[] calls = txCalls.getCalls();
+      objectOut.writeInt(calls.length);
+      for (RemoteInvocationServiceCall call : calls) {
+        int methodId = call.getMethodId();
+        objectOut.writeInt(methodId);
+        if (methodId == 0) {
+          objectOut.writeUTF(call.getServiceInterfaceName());
+          objectOut.writeUTF(call.getMethodName());
+          objectOut.writeInt(call.getSignature());
+        }
+        writeValues(call.getArguments(), objectOut);
+      }
+    }
+    objectOut.flush();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public RemoteInvocationGenericServiceRequest readRequest(InputStream in) throws IOException {
+
+    ObjectInputStream objectIn = new ObjectInputStream(in);
+    readVersion(objectIn);
+    int requestId = objectIn.readInt();
+    int methodTableId = objectIn.readInt();
+    boolean methodTableRequested = objectIn.readBoolean();
+    RemoteInvocationServiceTransactionalCalls[] transactionalCalls = new RemoteInvocationServiceTransactionalCalls[readLength(objectIn)];
+    for (int i = 0; i < transactionalCalls.length; i++) {
+      RemoteInvocationServiceCall[] calls = new RemoteInvocationServiceCall[readLength(objectIn)];
+      for (int j = 0; j < calls.length; j++) {
+        int methodId = objectIn.readInt();
+        if (methodId == 0) {
+          String serviceInterfaceName = objectIn.readUTF();
+          String methodName = objectIn.readUTF();
+          int signature = objectIn.readInt();
+          calls[j] = new RemoteInvocationServiceCall(serviceInterfaceName, methodName, signature,
+              readValues(objectIn));
+        } else {
+          calls[j] = new RemoteInvocationServiceCall(methodId, readValues(objectIn));
+        }
+      }
+      transactionalCalls[i] = new RemoteInvocationServiceTransactionalCalls(calls);
+    }
+    RemoteInvocationGenericServiceRequest request = new RemoteInvocationGenericServiceRequest(requestId,
+        transactionalCalls);
+    request.setMethodTableId(methodTableId);
+    request.setMethodTableRequested(methodTableRequested);
+    return request;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void writeResponse(RemoteInvocationGenericServiceResponse response, OutputStream out) throws IOException {
+
+    ObjectOutputStream objectOut = new ObjectOutputStream(out);
+    objectOut.writeByte(VERSION);
+    objectOut.writeInt(response.getRequestId());
+    RemoteInvocationServiceMethodTable methodTable = response.getMethodTable();
+    if (methodTable == null) {
+      objectOut.writeInt(-1);
+    } else {
+      String[] methodKeys = methodTable.getMethodKeys();
+      objectOut.writeInt(methodKeys.length);
+      for (String key : methodKeys) {
+        objectOut.writeUTF(key);
+      }
+    }
+    RemoteInvocationServiceTransactionalResults[] transactionalResults = response.getTransactionalResults();
+    objectOut.writeInt(transactionalResults.length);
+    for (RemoteInvocationServiceTransactionalResults txResults : transactionalResults) {
+      Throwable failure = txResults.getFailure();
+      if (failure == null) {
+        objectOut.writeBoolean(false);
+        writeValues(txResults.getResults(), objectOut);
+      } else {
+        objectOut.writeBoolean(true);
+        objectOut.writeObject(failure);
+      }
+    }
+    objectOut.flush();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public RemoteInvocationGenericServiceResponse readResponse(InputStream in) throws IOException {
+
+    ObjectInputStream objectIn = new ObjectInputStream(in);
+    readVersion(objectIn);
+    int requestId = objectIn.readInt();
+    RemoteInvocationServiceMethodTable methodTable = null;
+    int methodCount = readOptionalLength(objectIn);
+    if (methodCount >= 0) {
+      String[] methodKeys = new String[methodCount];
+      for (int i = 0; i < methodCount; i++) {
+        methodKeys[i] = objectIn.readUTF();
+      }
+      methodTable = new RemoteInvocationServiceMethodTable(methodKeys);
+    }
+    RemoteInvocationServiceTransactionalResults[] transactionalResults = new RemoteInvocationServiceTransactionalResults[readLength(objectIn)];
+    for (int i = 0; i < transactionalResults.length; i++) {
+      boolean failed = objectIn.readBoolean();
+      if (failed) {
+        transactionalResults[i] = new RemoteInvocationServiceTransactionalResults((Throwable) readObject(objectIn));
+      } else {
+        transactionalResults[i] = new RemoteInvocationServiceTransactionalResults(readValues(objectIn));
+      }
+    }
+    RemoteInvocationGenericServiceResponse response = new RemoteInvocationGenericServiceResponse(requestId,
+        transactionalResults);
+    response.setMethodTable(methodTable);
+    return response;
+  }
+
+  /**
+   * @param objectIn is the {@link ObjectInputStream} to read from.
+   * @throws IOException if the version is not supported.
+   */
+  private void readVersion(ObjectInputStream objectIn) throws IOException {
+
+    int version = objectIn.readByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported version " + version + " of content-type " + CONTENT_TYPE);
+    }
+  }
+
+  /**
+   * @param objectIn is the {@link ObjectInputStream} to read from.
+   * @return the length of an array.
+   * @throws IOException if the length is invalid.
+   */
+  private int readLength(ObjectInputStream objectIn) throws IOException {
+
+    int length = readOptionalLength(objectIn);
+    if (length < 0) {
+      throw new IOException("Invalid length " + length);
+    }
+    return length;
+  }
+
+  /**
+   * @param objectIn is the {@link ObjectInputStream} to read from.
+   * @return the length of an array or <code>-1</code> for <code>null</code>.
+   * @throws IOException if the length is invalid or exceeds the {@link #getMaximumLength() maximum length}.
+   */
+  private int readOptionalLength(ObjectInputStream objectIn) throws IOException {
+
+    int length = objectIn.readInt();
+    if ((length < -1) || (length > this.maximumLength)) {
+      throw new IOException("Invalid length " + length);
+    }
+    return length;
+  }
+
+  /**
+   * @param values are the values to write. May be <code>null</code>.
+   * @param objectOut is the {@link ObjectOutputStream} to write to.
+   * @throws IOException if an I/O error occurred.
+   */
+  private void writeValues(Serializable[] values, ObjectOutputStream objectOut) throws IOException {
+
+    if (values == null) {
+      objectOut.writeInt(-1);
+    } else {
+      objectOut.writeInt(values.length);
+      for (Serializable value : values) {
+        writeValue(value, objectOut);
+      }
+    }
+  }
+
+  /**
+   * @param objectIn is the {@link ObjectInputStream} to read from.
+   * @return the values that have been read. May be <code>null</code>.
+   * @throws IOException if an I/O error occurred.
+   */
+  private Serializable[] readValues(ObjectInputStream objectIn) throws IOException {
+
+    int length = readOptionalLength(objectIn);
+    if (length < 0) {
+      return null;
+    }
+    Serializable[] values = new Serializable[length];
+    for (int i = 0; i < length; i++) {
+      values[i] = readValue(objectIn);
+    }
+    return values;
+  }
+
+  /**
+   * @param value is the value to write. May be <code>null</code>.
+   * @param objectOut is the {@link ObjectOutputStream} to write to.
+   * @throws IOException if an I/O error occurred.
+   */
+  private void writeValue(Serializable value, ObjectOutputStream objectOut) throws IOException {
+
+    if (value == null) {
+      objectOut.writeByte(TAG_NULL);
+    } else {
+      Class<?> type = value.getClass();
+      if ((type == String.class) && (((String) value).length() <= MAX_UTF_LENGTH)) {
+        objectOut.writeByte(TAG_STRING);
+        objectOut.writeUTF((String) value);
+      } else if (type == Integer.class) {
+        objectOut.writeByte(TAG_INTEGER);
+        objectOut.writeInt(((Integer) value).intValue());
+      } else if (type == Long.class) {
+        objectOut.writeByte(TAG_LONG);
+        objectOut.writeLong(((Long) value).longValue());
+      } else if (type == Boolean.class) {
+        objectOut.writeByte(TAG_BOOLEAN);
+        objectOut.writeBoolean(((Boolean) value).booleanValue());
+      } else if (type == Double.class) {
+        objectOut.writeByte(TAG_DOUBLE);
+        objectOut.writeDouble(((Double) value).doubleValue());
+      } else {
+        objectOut.writeByte(TAG_OBJECT);
+        objectOut.writeObject(value);
+      }
+    }
+  }
+
+  /**
+   * @param objectIn is the {@link ObjectInputStream} to read from.
+   * @return the value that has been read. May be <code>null</code>.
+   * @throws IOException if an I/O error occurred.
+   */
+  private Serializable readValue(ObjectInputStream objectIn) throws IOException {
+
+    byte tag = objectIn.readByte();
+    switch (tag) {
+      case TAG_NULL:
+        return null;
+      case TAG_STRING:
+        return objectIn.readUTF();
+      case TAG_INTEGER:
+        return Integer.valueOf(objectIn.readInt());
+      case TAG_LONG:
+        return Long.valueOf(objectIn.readLong());
+      case TAG_BOOLEAN:
+        return Boolean.valueOf(objectIn.readBoolean());
+      case TAG_DOUBLE:
+        return Double.valueOf(objectIn.readDouble());
+      case TAG_OBJECT:
+        return (Serializable) readObject(objectIn);
+      default :
+        throw new IOException("Invalid tag " + tag);
+    }
+  }
+
+  /**
+   * @param objectIn is the {@link ObjectInputStream} to read from.
+   * @return the object that has been read via java serialization.
+   * @throws IOException if an I/O error occurred.
+   */
+  private Object readObject(ObjectInputStream objectIn) throws IOException {
+
+    try {
+      return objectIn.readObject();
+    } catch (ClassNotFoundException e) {
+      throw new IOException(e);
+    }
+  }
+
+}
@@ -0,0 +1,111 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.service.base.serializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+
+import net.sf.mmm.service.base.RemoteInvocationGenericServiceRequest;
+import net.sf.mmm.service.base.RemoteInvocationGenericServiceResponse;
+
+/**
+ * This is the implementation of {@link RemoteInvocationSerializer} using plain java serialization. It is
+ * wire-compatible with remoting transports such as the spring HTTP invoker and therefore the default and
+ * fallback.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class RemoteInvocationSerializerJava implements RemoteInvocationSerializer {
+
+  /** The {@link #getContentType() content-type} of java serialization. */
+  public static final String CONTENT_TYPE = "application/x-java-serialized-object";
+
+  /**
+   * The constructor.
+   */
+  public RemoteInvocationSerializerJava() {
+
+    super();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String getContentType() {
+
+    return CONTENT_TYPE;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void writeRequest(RemoteInvocationGenericServiceRequest request, OutputStream out) throws IOException {
+
+    writeObject(request, out);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public RemoteInvocationGenericServiceRequest readRequest(InputStream in) throws IOException {
+
+    return readObject(in, RemoteInvocationGenericServiceRequest.class);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void writeResponse(RemoteInvocationGenericServiceResponse response, OutputStream out) throws IOException {
+
+    writeObject(response, out);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public RemoteInvocationGenericServiceResponse readResponse(InputStream in) throws IOException {
+
+    return readObject(in, RemoteInvocationGenericServiceResponse.class);
+  }
+
+  /**
+   * @param object is the object to write.
+   * @param out is the {@link OutputStream} to write to.
+   * @throws IOException if an I/O error occurred.
+   */
+  private void writeObject(Object object, OutputStream out) throws IOException {
+
+    ObjectOutputStream objectOut = new ObjectOutputStream(out);
+    objectOut.writeObject(object);
+    objectOut.flush();
+  }
+
+  /**
+   * @param <T> is the generic type of the object to read.
+   * @param in is the {@link InputStream} to read from.
+   * @param type is the expected {@link Class} of the object.
+   * @return the object that has been read.
+   * @throws IOException if an I/O error occurred.
+   */
+  private <T> T readObject(InputStream in, Class<T> type) throws IOException {
+
+    ObjectInputStream objectIn = new ObjectInputStream(in);
+    try {
+      return type.cast(objectIn.readObject());
+    } catch (ClassNotFoundException e) {
+      throw new IOException(e);
+    } catch (ClassCastException e) {
+      throw new IOException(e);
+    }
+  }
+
+}
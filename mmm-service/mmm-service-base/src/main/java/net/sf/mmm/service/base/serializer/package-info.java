@@ -0,0 +1,14 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+/**
+ * Contains the serializers for the request and response bodies of remote services.
+ * <a name="documentation"/><h2>Service Base Serializer</h2> 
+ * This package contains the {@link net.sf.mmm.service.base.serializer.RemoteInvocationSerializer} that is
+ * used to transfer {@link net.sf.mmm.service.base.RemoteInvocationGenericServiceRequest requests} and
+ * {@link net.sf.mmm.service.base.RemoteInvocationGenericServiceResponse responses} over the wire. The
+ * {@link net.sf.mmm.service.base.serializer.RemoteInvocationSerializerJava default implementation} uses plain
+ * java serialization while {@link net.sf.mmm.service.base.serializer.RemoteInvocationSerializerCompact} writes
+ * a compact binary format.<br/>
+ */
+package net.sf.mmm.service.base.serializer;
+
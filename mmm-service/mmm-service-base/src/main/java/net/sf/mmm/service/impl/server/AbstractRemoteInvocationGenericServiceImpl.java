@@ -2,8 +2,12 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.service.impl.server;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -16,8 +20,12 @@ import net.sf.mmm.service.base.RemoteInvocationGenericService;
 import net.sf.mmm.service.base.RemoteInvocationGenericServiceRequest;
 import net.sf.mmm.service.base.RemoteInvocationGenericServiceResponse;
 import net.sf.mmm.service.base.RemoteInvocationServiceCall;
+import net.sf.mmm.service.base.RemoteInvocationServiceMethodTable;
 import net.sf.mmm.service.base.RemoteInvocationServiceTransactionalCalls;
 import net.sf.mmm.service.base.RemoteInvocationServiceTransactionalResults;
+import net.sf.mmm.service.base.serializer.RemoteInvocationSerializer;
+import net.sf.mmm.service.base.serializer.RemoteInvocationSerializerCompact;
+import net.sf.mmm.service.base.serializer.RemoteInvocationSerializerJava;
 import net.sf.mmm.util.component.api.AlreadyInitializedException;
 import net.sf.mmm.util.component.base.AbstractLoggableComponent;
 import net.sf.mmm.util.lang.api.attribute.AttributeReadTitle;
@@ -31,7 +39,13 @@ import net.sf.mmm.util.nls.api.ObjectNotFoundException;
  * This is the server-side default implementation of {@link RemoteInvocationGenericService}. You can extend
  * this class to add custom logic. E.g. you could add
  * {@link #doSecurityCheck(RemoteInvocationGenericServiceRequest) custom security checks} or override the
- * {@link #handleFailure(RemoteInvocationServiceCall, Throwable) error handling}.
+ * {@link #handleFailure(RemoteInvocationServiceCall, Throwable) error handling}.<br/>
+ * All registered service methods are collected in a {@link #getMethodTable() method table} that is sent to
+ * clients on request as handshake of the compact protocol. Calls with a
+ * {@link RemoteInvocationServiceCall#getMethodId() method ID} are then dispatched by a simple array index
+ * while calls identified by names are still supported as fallback. Further, the request and response bodies
+ * can be {@link #callServices(String, InputStream, OutputStream) processed} with any registered
+ * {@link RemoteInvocationSerializer}.
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 1.0.0
@@ -42,6 +56,12 @@ public abstract class AbstractRemoteInvocationGenericServiceImpl extends Abstrac
   /** @see #registerService(RemoteInvocationService) */
   private final Map<String, RemoteInvocationServiceMethod<?>> serviceMap;
 
+  /** @see #getSerializer(String) */
+  private final Map<String, RemoteInvocationSerializer> serializerMap;
+
+  /** The {@link MethodDispatcher} published atomically after services have been registered. */
+  private volatile MethodDispatcher dispatcher;
+
   /**
    * The constructor.
    */
@@ -49,6 +69,67 @@ public abstract class AbstractRemoteInvocationGenericServiceImpl extends Abstrac
 
     super();
     this.serviceMap = new HashMap<String, RemoteInvocationServiceMethod<?>>();
+    this.serializerMap = new HashMap<String, RemoteInvocationSerializer>();
+    this.dispatcher = new MethodDispatcher(new RemoteInvocationServiceMethodTable(new String[0]),
+        new RemoteInvocationServiceMethod<?>[0]);
+    addSerializer(new RemoteInvocationSerializerJava());
+    addSerializer(new RemoteInvocationSerializerCompact());
+  }
+
+  /**
+   * This method processes a request that is read from the given {@link InputStream} and writes the response
+   * to the given {@link OutputStream}. It is intended for transport endpoints (e.g. a servlet) that want to
+   * support other formats than java serialization. Request and response use the same
+   * {@link RemoteInvocationSerializer}.
+   * 
+   * @param contentType is the {@link RemoteInvocationSerializer#getContentType() content-type} of the
+   *        request. If <code>null</code> or unknown, java serialization is used as fallback.
+   * @param in is the {@link InputStream} to read the {@link RemoteInvocationGenericServiceRequest} from.
+   * @param out is the {@link OutputStream} to write the {@link RemoteInvocationGenericServiceResponse} to.
+   * @throws IOException if an I/O error occurred.
+   */
+  public void callServices(String contentType, InputStream in, OutputStream out) throws IOException {
+
+    RemoteInvocationSerializer serializer = getSerializer(contentType);
+    RemoteInvocationGenericServiceRequest request = serializer.readRequest(in);
+    RemoteInvocationGenericServiceResponse response = callServices(request);
+    serializer.writeResponse(response, out);
+  }
+
+  /**
+   * @param contentType is the {@link RemoteInvocationSerializer#getContentType() content-type}. May be
+   *        <code>null</code>.
+   * @return the according {@link RemoteInvocationSerializer} or the one for java serialization as fallback.
+   */
+  protected RemoteInvocationSerializer getSerializer(String contentType) {
+
+    RemoteInvocationSerializer serializer = null;
+    if (contentType != null) {
+      serializer = this.serializerMap.get(contentType);
+    }
+    if (serializer == null) {
+      serializer = this.serializerMap.get(RemoteInvocationSerializerJava.CONTENT_TYPE);
+    }
+    return serializer;
+  }
+
+  /**
+   * This method adds a custom {@link RemoteInvocationSerializer}. It replaces a previous serializer with the
+   * same {@link RemoteInvocationSerializer#getContentType() content-type}.
+   * 
+   * @param serializer is the {@link RemoteInvocationSerializer} to add.
+   */
+  public void addSerializer(RemoteInvocationSerializer serializer) {
+
+    this.serializerMap.put(serializer.getContentType(), serializer);
+  }
+
+  /**
+   * @return the {@link RemoteInvocationServiceMethodTable} with all registered service methods.
+   */
+  public RemoteInvocationServiceMethodTable getMethodTable() {
+
+    return this.dispatcher.methodTable;
   }
 
   /**
@@ -61,25 +142,37 @@ public abstract class AbstractRemoteInvocationGenericServiceImpl extends Abstrac
     getLogger().debug("start processing request {}.", request);
     doSecurityCheck(request);
 
+    RemoteInvocationServiceMethodTable table = this.dispatcher.methodTable;
+    int methodTableId = request.getMethodTableId();
+    boolean methodTableOutdated = (methodTableId != 0) && (methodTableId != table.getId());
     RemoteInvocationServiceTransactionalCalls[] transactionalCalls = request.getTransactionalCalls();
     RemoteInvocationServiceTransactionalResults[] transactionalResults = new RemoteInvocationServiceTransactionalResults[transactionalCalls.length];
     int i = 0;
     for (RemoteInvocationServiceTransactionalCalls txCall : transactionalCalls) {
       RemoteInvocationServiceTransactionalResults txResult;
-      try {
-        txResult = callServicesInTransaction(txCall);
-      } catch (RemoteInvocationServiceCallFailedException e) {
-        txResult = new RemoteInvocationServiceTransactionalResults(e.getCause());
-      } catch (Throwable e) {
-        logFailure(txCall, e);
-        // TODO hohwille add a hook to allow users to prevent stacktrace or technical errors from being set to
-        // client.
-        txResult = new RemoteInvocationServiceTransactionalResults(e);
+      if (methodTableOutdated) {
+        // method IDs of client refer to a different method table - the client resends the calls by name
+        txResult = new RemoteInvocationServiceTransactionalResults(new ObjectMismatchException(
+            Integer.valueOf(methodTableId), Integer.valueOf(table.getId()), "methodTable"));
+      } else {
+        try {
+          txResult = callServicesInTransaction(txCall);
+        } catch (RemoteInvocationServiceCallFailedException e) {
+          txResult = new RemoteInvocationServiceTransactionalResults(e.getCause());
+        } catch (Throwable e) {
+          logFailure(txCall, e);
+          // TODO hohwille add a hook to allow users to prevent stacktrace or technical errors from being set to
+          // client.
+          txResult = new RemoteInvocationServiceTransactionalResults(e);
+        }
       }
       transactionalResults[i++] = txResult;
     }
     RemoteInvocationGenericServiceResponse response = new RemoteInvocationGenericServiceResponse(
         request.getRequestId(), transactionalResults);
+    if (request.isMethodTableRequested() || methodTableOutdated) {
+      response.setMethodTable(table);
+    }
     getLogger().debug("end processing request {}.", request);
     return response;
   }
@@ -117,11 +210,7 @@ public abstract class AbstractRemoteInvocationGenericServiceImpl extends Abstrac
       if (getLogger().isDebugEnabled()) {
         getLogger().debug("start processing call {}.", call.toString(true));
       }
-      String id = RemoteInvocationServiceMethod.getId(call);
-      RemoteInvocationServiceMethod<?> serviceMethod = this.serviceMap.get(id);
-      if (serviceMethod == null) {
-        throw new ObjectNotFoundException(RemoteInvocationServiceMethod.class.getSimpleName(), id);
-      }
+      RemoteInvocationServiceMethod<?> serviceMethod = getServiceMethod(call);
       // method found, invoke it and add result to response...
       try {
         Serializable result = serviceMethod.invoke(call.getArguments());
@@ -137,6 +226,34 @@ public abstract class AbstractRemoteInvocationGenericServiceImpl extends Abstrac
     return new RemoteInvocationServiceTransactionalResults(results);
   }
 
+  /**
+   * @param call is the {@link RemoteInvocationServiceCall}.
+   * @return the {@link RemoteInvocationServiceMethod} to invoke.
+   * @throws ObjectNotFoundException if no such method is registered.
+   */
+  private RemoteInvocationServiceMethod<?> getServiceMethod(RemoteInvocationServiceCall call)
+      throws ObjectNotFoundException {
+
+    int methodId = call.getMethodId();
+    if (methodId > 0) {
+      RemoteInvocationServiceMethod<?>[] methodArray = this.dispatcher.methods;
+      if (methodId <= methodArray.length) {
+        return methodArray[methodId - 1];
+      }
+      throw new ObjectNotFoundException(RemoteInvocationServiceMethod.class.getSimpleName(), "#" + methodId);
+    }
+    // the method key is computed only once per call...
+    String id = call.getMethodKey();
+    RemoteInvocationServiceMethod<?> serviceMethod = null;
+    if (id != null) {
+      serviceMethod = this.serviceMap.get(id);
+    }
+    if (serviceMethod == null) {
+      throw new ObjectNotFoundException(RemoteInvocationServiceMethod.class.getSimpleName(), id);
+    }
+    return serviceMethod;
+  }
+
   /**
    * This method contains the failure handling if a {@link Throwable} occurred while processing a
    * {@link RemoteInvocationServiceCall}.
@@ -148,7 +265,14 @@ public abstract class AbstractRemoteInvocationGenericServiceImpl extends Abstrac
   protected RemoteInvocationServiceCallFailedException handleFailure(RemoteInvocationServiceCall call, Throwable error) {
 
     logFailure(call, error);
-    return new RemoteInvocationServiceCallFailedException(error, call.getServiceInterfaceName(), call.getMethodName());
+    String serviceName = call.getServiceInterfaceName();
+    String methodName = call.getMethodName();
+    if (serviceName == null) {
+      RemoteInvocationServiceMethod<?> serviceMethod = getServiceMethod(call);
+      serviceName = serviceMethod.getServiceInterface().getName();
+      methodName = serviceMethod.getMethod().getName();
+    }
+    return new RemoteInvocationServiceCallFailedException(error, serviceName, methodName);
   }
 
   /**
@@ -236,5 +360,48 @@ public abstract class AbstractRemoteInvocationGenericServiceImpl extends Abstrac
     if (!registered) {
       throw new ObjectMismatchException(service, RemoteInvocationService.class);
     }
+    updateMethodTable();
+  }
+
+  /**
+   * Updates the {@link #getMethodTable() method table} after services have been
+   * {@link #registerService(RemoteInvocationService) registered}. The methods are sorted by their ID so the
+   * table is the same for all servers with the same services (e.g. in a cluster).
+   */
+  private void updateMethodTable() {
+
+    String[] methodKeys = this.serviceMap.keySet().toArray(new String[this.serviceMap.size()]);
+    Arrays.sort(methodKeys);
+    RemoteInvocationServiceMethod<?>[] methodArray = new RemoteInvocationServiceMethod<?>[methodKeys.length];
+    for (int i = 0; i < methodKeys.length; i++) {
+      methodArray[i] = this.serviceMap.get(methodKeys[i]);
+    }
+    this.dispatcher = new MethodDispatcher(new RemoteInvocationServiceMethodTable(methodKeys), methodArray);
+  }
+
+  /**
+   * This inner class is the immutable container for the {@link RemoteInvocationServiceMethodTable} and the
+   * according {@link RemoteInvocationServiceMethod}s so both are always published together.
+   */
+  private static final class MethodDispatcher {
+
+    /** @see AbstractRemoteInvocationGenericServiceImpl#getMethodTable() */
+    private final RemoteInvocationServiceMethodTable methodTable;
+
+    /** The service methods in the order of {@link #methodTable} for dispatching by method ID. */
+    private final RemoteInvocationServiceMethod<?>[] methods;
+
+    /**
+     * The constructor.
+     *
+     * @param methodTable is the {@link RemoteInvocationServiceMethodTable}.
+     * @param methods are the according {@link RemoteInvocationServiceMethod}s.
+     */
+    public MethodDispatcher(RemoteInvocationServiceMethodTable methodTable, RemoteInvocationServiceMethod<?>[] methods) {
+
+      super();
+      this.methodTable = methodTable;
+      this.methods = methods;
+    }
   }
 }
@@ -8,6 +8,7 @@ import java.lang.reflect.Method;
 
 import net.sf.mmm.service.api.RemoteInvocationService;
 import net.sf.mmm.service.base.RemoteInvocationServiceCall;
+import net.sf.mmm.service.base.RemoteInvocationServiceMethodTable;
 import net.sf.mmm.util.nls.api.ObjectMismatchException;
 import net.sf.mmm.util.reflect.api.AccessFailedException;
 
@@ -98,7 +99,7 @@ class RemoteInvocationServiceMethod<SERVICE extends RemoteInvocationService> {
    */
   public static String getId(RemoteInvocationServiceCall call) {
 
-    return getId(call.getServiceInterfaceName(), call.getMethodName(), call.getSignature());
+    return call.getMethodKey();
   }
 
   /**
@@ -111,12 +112,7 @@ class RemoteInvocationServiceMethod<SERVICE extends RemoteInvocationService> {
    */
   static String getId(String serviceName, String methodName, int signature) {
 
-    StringBuilder buffer = new StringBuilder(serviceName);
-    buffer.append('.');
-    buffer.append(methodName);
-    buffer.append('@');
-    buffer.append(signature);
-    return buffer.toString();
+    return RemoteInvocationServiceMethodTable.getMethodKey(serviceName, methodName, signature);
   }
 
   /**
@@ -3,6 +3,8 @@
 package net.sf.mmm.service.base.client;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
 import net.sf.mmm.service.TestService;
@@ -11,10 +13,12 @@ import net.sf.mmm.service.api.client.RemoteInvocationServiceQueue;
 import net.sf.mmm.service.base.RemoteInvocationGenericServiceRequest;
 import net.sf.mmm.service.base.RemoteInvocationGenericServiceResponse;
 import net.sf.mmm.service.base.RemoteInvocationServiceCall;
+import net.sf.mmm.service.base.RemoteInvocationServiceMethodTable;
 import net.sf.mmm.service.base.RemoteInvocationServiceTransactionalCalls;
 import net.sf.mmm.service.base.RemoteInvocationServiceTransactionalResults;
 import net.sf.mmm.service.base.client.AbstractRemoteInvocationServiceCallerTest.RemoteInvocationServiceCallerTestImpl;
 import net.sf.mmm.util.lang.api.GenericBean;
+import net.sf.mmm.util.nls.api.ObjectMismatchException;
 
 import org.junit.Test;
 
@@ -26,6 +30,15 @@ import org.junit.Test;
 public class AbstractRemoteInvocationServiceCallerTest extends
     RemoteInvocationServiceCallerBaseTest<RemoteInvocationServiceCallerTestImpl> {
 
+  private static final Consumer<Throwable> FAILURE = new Consumer<Throwable>() {
+
+    @Override
+    public void accept(Throwable failure) {
+
+      throw new IllegalStateException(failure);
+    }
+  };
+
   /**
    * This method tests
    * {@link RemoteInvocationServiceCaller#getServiceClient(Class, Class, Consumer, Consumer)}.
@@ -104,6 +117,162 @@ public class AbstractRemoteInvocationServiceCallerTest extends
     assertSame(TestService.MAGIC_VALUE, resultBean.getValue());
   }
 
+  /**
+   * This method tests that identical calls of an idempotent method are collapsed and cached.
+   */
+  @Test
+  public void testIdempotentCalls() {
+
+    RemoteInvocationServiceCallerTestImpl caller = getServiceCaller();
+    caller.setCacheTimeToLive(getMagicValueKey(), 0);
+    List<String> results = new ArrayList<String>();
+
+    // collapse identical calls within one request
+    RemoteInvocationServiceQueue queue = newQueue(caller);
+    queue.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    queue.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    queue.commit();
+    assertEquals(1, getCallCount(caller.currentRequest));
+    assertEquals(2, results.size());
+    assertSame(TestService.MAGIC_VALUE, results.get(1));
+
+    // no caching
+    caller.reset();
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    assertEquals(1, getCallCount(caller.currentRequest));
+    assertEquals(3, results.size());
+
+    // cached
+    caller.setCacheTimeToLive(getMagicValueKey(), 60000);
+    caller.reset();
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    assertEquals(1, getCallCount(caller.currentRequest));
+    caller.reset();
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    caller.verifyNoRequest();
+    assertEquals(5, results.size());
+    assertSame(TestService.MAGIC_VALUE, results.get(4));
+
+    // invalidated
+    caller.invalidateCache(TestService.class);
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    assertEquals(1, getCallCount(caller.currentRequest));
+    assertEquals(6, results.size());
+  }
+
+  /**
+   * This method tests that the result cache respects the
+   * {@link AbstractRemoteInvocationServiceCaller#setCacheMaximumSize(int) maximum size}.
+   */
+  @Test
+  public void testCacheMaximumSize() {
+
+    RemoteInvocationServiceCallerTestImpl caller = getServiceCaller();
+    caller.setCacheTimeToLive(getMagicValueKey(), 60000);
+    assertEquals(AbstractRemoteInvocationServiceCaller.DEFAULT_CACHE_MAXIMUM_SIZE, caller.getCacheMaximumSize());
+    caller.setCacheMaximumSize(0);
+    List<String> results = new ArrayList<String>();
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    assertEquals(1, getCallCount(caller.currentRequest));
+    caller.reset();
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    assertEquals(1, getCallCount(caller.currentRequest));
+
+    caller.setCacheMaximumSize(1);
+    caller.reset();
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    assertEquals(1, getCallCount(caller.currentRequest));
+    caller.reset();
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    caller.verifyNoRequest();
+
+    // shrinking the cache evicts the cached result
+    caller.setCacheMaximumSize(0);
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    assertEquals(1, getCallCount(caller.currentRequest));
+    assertEquals(5, results.size());
+  }
+
+  /**
+   * This method tests that the calls of multiple queues are sent in a single request if a batch delay is
+   * configured.
+   */
+  @Test
+  public void testBatch() {
+
+    RemoteInvocationServiceCallerTestImpl caller = getServiceCaller();
+    caller.setBatchDelay(10);
+    List<String> results = new ArrayList<String>();
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    RemoteInvocationServiceQueue queue = newQueue(caller);
+    queue.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    queue.commit();
+    assertNull(caller.getCurrentQueue());
+    caller.verifyNoRequest();
+    assertTrue(results.isEmpty());
+    assertNotNull(caller.scheduledTask);
+
+    caller.scheduledTask.run();
+    assertEquals(3, getCallCount(caller.currentRequest));
+    assertEquals(3, results.size());
+  }
+
+  /**
+   * This method tests the compact protocol including the resend of calls that have been rejected because of
+   * an outdated method table.
+   */
+  @Test
+  public void testCompactProtocolWithOutdatedMethodTable() {
+
+    RemoteInvocationServiceCallerTestImpl caller = getServiceCaller();
+    caller.setCompactProtocol(true);
+    caller.serverMethodTable = new RemoteInvocationServiceMethodTable(new String[] { getMagicValueKey() });
+    List<String> results = new ArrayList<String>();
+
+    // handshake
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    assertTrue(caller.currentRequest.isMethodTableRequested());
+    assertEquals(1, results.size());
+
+    // server has been redeployed with a different method table
+    RemoteInvocationServiceMethodTable oldMethodTable = caller.serverMethodTable;
+    caller.serverMethodTable = new RemoteInvocationServiceMethodTable(new String[] { "a.Service.foo@0",
+        getMagicValueKey() });
+    caller.reset();
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    assertNotNull(caller.rejectedRequest);
+    assertEquals(oldMethodTable.getId(), caller.rejectedRequest.getMethodTableId());
+    assertEquals(0, caller.currentRequest.getMethodTableId());
+    assertEquals(0, caller.currentRequest.getTransactionalCalls()[0].getCalls()[0].getMethodId());
+    assertEquals(2, results.size());
+    assertSame(TestService.MAGIC_VALUE, results.get(1));
+
+    // updated method table is used for subsequent requests
+    caller.reset();
+    caller.getServiceClient(TestService.class, String.class, new ResultCollector(results), FAILURE).getMagicValue();
+    assertNull(caller.rejectedRequest);
+    assertEquals(caller.serverMethodTable.getId(), caller.currentRequest.getMethodTableId());
+    assertEquals(2, caller.currentRequest.getTransactionalCalls()[0].getCalls()[0].getMethodId());
+    assertEquals(3, results.size());
+  }
+
+  private static String getMagicValueKey() {
+
+    return RemoteInvocationServiceMethodTable.getMethodKey(TestService.class.getName(), "getMagicValue",
+        RemoteInvocationServiceCall.getSignature(new String[0]));
+  }
+
+  private static int getCallCount(RemoteInvocationGenericServiceRequest request) {
+
+    assertNotNull(request);
+    int count = 0;
+    for (RemoteInvocationServiceTransactionalCalls txCalls : request.getTransactionalCalls()) {
+      count = count + txCalls.getCalls().length;
+    }
+    return count;
+  }
+
   /**
    * @return the {@link AbstractRemoteInvocationServiceCaller} to be tested.
    */
@@ -130,6 +299,15 @@ public class AbstractRemoteInvocationServiceCallerTest extends
     /** @see AbstractRemoteInvocationServiceCallerTest#getCurrentRequest(RemoteInvocationServiceCallerTestImpl) */
     private RemoteInvocationGenericServiceRequest currentRequest;
 
+    /** @see #schedule(Runnable, int) */
+    private Runnable scheduledTask;
+
+    /** The {@link RemoteInvocationServiceMethodTable} of the simulated server for the compact protocol. */
+    private RemoteInvocationServiceMethodTable serverMethodTable;
+
+    /** The last request that has been rejected because of an outdated method table. */
+    private RemoteInvocationGenericServiceRequest rejectedRequest;
+
     /**
      * The constructor.
      */
@@ -147,13 +325,28 @@ public class AbstractRemoteInvocationServiceCallerTest extends
     @SuppressWarnings({ "rawtypes", "unchecked" })
     protected void performRequest(RemoteInvocationGenericServiceRequest request, RequestBuilder builder) {
 
-      verifyNoRequest();
+      if (this.rejectedRequest != this.currentRequest) {
+        verifyNoRequest();
+      }
       assertNotNull(request);
       assertNotNull(builder);
       this.currentRequest = request;
       RemoteInvocationServiceTransactionalCalls[] txCalls = request.getTransactionalCalls();
       RemoteInvocationServiceTransactionalResults[] txResults = new RemoteInvocationServiceTransactionalResults[txCalls.length];
 
+      int methodTableId = request.getMethodTableId();
+      if ((methodTableId != 0) && (methodTableId != this.serverMethodTable.getId())) {
+        this.rejectedRequest = request;
+        for (int txIndex = 0; txIndex < txCalls.length; txIndex++) {
+          txResults[txIndex] = new RemoteInvocationServiceTransactionalResults(new ObjectMismatchException(
+              Integer.valueOf(methodTableId), Integer.valueOf(this.serverMethodTable.getId()), "methodTable"));
+        }
+        RemoteInvocationGenericServiceResponse response = new RemoteInvocationGenericServiceResponse(
+            request.getRequestId(), txResults);
+        response.setMethodTable(this.serverMethodTable);
+        handleResponse(request, builder, response);
+        return;
+      }
       for (int txIndex = 0; txIndex < txCalls.length; txIndex++) {
 
         RemoteInvocationServiceCall[] calls = txCalls[txIndex].getCalls();
@@ -166,12 +359,19 @@ public class AbstractRemoteInvocationServiceCallerTest extends
 
       RemoteInvocationGenericServiceResponse response = new RemoteInvocationGenericServiceResponse(
           request.getRequestId(), txResults);
+      if (request.isMethodTableRequested()) {
+        response.setMethodTable(this.serverMethodTable);
+      }
 
       handleResponse(request, builder, response);
     }
 
     private Serializable processCall(RemoteInvocationServiceCall currentCall) {
 
+      if (currentCall.getMethodId() > 0) {
+        assertEquals(getMagicValueKey(), this.serverMethodTable.getMethodKey(currentCall.getMethodId()));
+        return TestService.MAGIC_VALUE;
+      }
       if (TestService.class.getName().equals(currentCall.getServiceInterfaceName())) {
         if ("getMagicValue".equals(currentCall.getMethodName())) {
           assertEquals(0, currentCall.getArguments().length);
@@ -185,6 +385,16 @@ public class AbstractRemoteInvocationServiceCallerTest extends
       throw new IllegalStateException();
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void schedule(Runnable task, int delayMillis) {
+
+      assertNull(this.scheduledTask);
+      this.scheduledTask = task;
+    }
+
     /**
      * This method verifies that no request has been performed since last {@link #reset()}.
      */
@@ -199,8 +409,29 @@ public class AbstractRemoteInvocationServiceCallerTest extends
     public void reset() {
 
       this.currentRequest = null;
+      this.rejectedRequest = null;
+    }
+
+  }
+
+  /**
+   * {@link Consumer} that collects the results.
+   */
+  private static class ResultCollector implements Consumer<String> {
+
+    private final List<String> results;
+
+    public ResultCollector(List<String> results) {
+
+      super();
+      this.results = results;
     }
 
+    @Override
+    public void accept(String result) {
+
+      this.results.add(result);
+    }
   }
 
   /**
@@ -2,6 +2,9 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.service.impl.server;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.Serializable;
 
 import javax.inject.Inject;
@@ -11,8 +14,13 @@ import net.sf.mmm.service.base.RemoteInvocationGenericService;
 import net.sf.mmm.service.base.RemoteInvocationGenericServiceRequest;
 import net.sf.mmm.service.base.RemoteInvocationGenericServiceResponse;
 import net.sf.mmm.service.base.RemoteInvocationServiceCall;
+import net.sf.mmm.service.base.RemoteInvocationServiceMethodTable;
 import net.sf.mmm.service.base.RemoteInvocationServiceTransactionalCalls;
 import net.sf.mmm.service.base.RemoteInvocationServiceTransactionalResults;
+import net.sf.mmm.service.base.serializer.RemoteInvocationSerializer;
+import net.sf.mmm.service.base.serializer.RemoteInvocationSerializerCompact;
+import net.sf.mmm.service.base.serializer.RemoteInvocationSerializerJava;
+import net.sf.mmm.util.nls.api.ObjectMismatchException;
 import net.sf.mmm.test.AbstractSpringTest;
 
 import org.junit.Test;
@@ -60,4 +68,123 @@ public class RemoteInvocationGenericServiceTest extends AbstractSpringTest {
     assertSame(TestService.MAGIC_VALUE, result);
   }
 
+  /**
+   * Tests {@link RemoteInvocationGenericService#callServices(RemoteInvocationGenericServiceRequest)} with the
+   * compact protocol (handshake, call by method ID and outdated method table).
+   */
+  @Test
+  public void testCallServicesCompact() {
+
+    // given
+    RemoteInvocationServiceCall call = new RemoteInvocationServiceCall(TestService.class.getName(), "getMagicValue",
+        RemoteInvocationServiceCall.getSignature(new String[0]), new Serializable[0]);
+    RemoteInvocationGenericServiceRequest request = new RemoteInvocationGenericServiceRequest(1,
+        new RemoteInvocationServiceTransactionalCalls(call));
+    request.setMethodTableRequested(true);
+
+    // when
+    RemoteInvocationGenericServiceResponse response = this.genericService.callServices(request);
+
+    // then
+    assertSame(TestService.MAGIC_VALUE, response.getTransactionalResults()[0].getResults()[0]);
+    RemoteInvocationServiceMethodTable methodTable = response.getMethodTable();
+    assertNotNull(methodTable);
+    int methodId = methodTable.getMethodId(call.getMethodKey());
+    assertTrue(methodId > 0);
+    assertEquals(call.getMethodKey(), methodTable.getMethodKey(methodId));
+
+    // and when
+    RemoteInvocationServiceCall compactCall = new RemoteInvocationServiceCall(methodId, new Serializable[0]);
+    request = new RemoteInvocationGenericServiceRequest(2, new RemoteInvocationServiceTransactionalCalls(compactCall));
+    request.setMethodTableId(methodTable.getId());
+    response = this.genericService.callServices(request);
+
+    // then
+    assertNull(response.getMethodTable());
+    assertSame(TestService.MAGIC_VALUE, response.getTransactionalResults()[0].getResults()[0]);
+
+    // and when
+    request = new RemoteInvocationGenericServiceRequest(3, new RemoteInvocationServiceTransactionalCalls(compactCall));
+    request.setMethodTableId(methodTable.getId() + 1);
+    response = this.genericService.callServices(request);
+
+    // then
+    assertEquals(methodTable.getId(), response.getMethodTable().getId());
+    assertTrue(response.getTransactionalResults()[0].getFailure() instanceof ObjectMismatchException);
+  }
+
+  /**
+   * Tests {@link AbstractRemoteInvocationGenericServiceImpl#callServices(String, java.io.InputStream,
+   * java.io.OutputStream)} with the available {@link RemoteInvocationSerializer}s.
+   */
+  @Test
+  public void testCallServicesSerialized() throws IOException {
+
+    checkCallServicesSerialized(new RemoteInvocationSerializerJava());
+    checkCallServicesSerialized(new RemoteInvocationSerializerCompact());
+  }
+
+  /**
+   * Tests that {@link RemoteInvocationSerializerCompact} rejects a length that exceeds its
+   * {@link RemoteInvocationSerializerCompact#getMaximumLength() maximum length}.
+   */
+  @Test
+  public void testCompactSerializerMaximumLength() throws IOException {
+
+    // given
+    RemoteInvocationSerializerCompact serializer = new RemoteInvocationSerializerCompact();
+    RemoteInvocationServiceCall call = new RemoteInvocationServiceCall(1, new Serializable[] { "a", "b", "c" });
+    RemoteInvocationGenericServiceRequest request = new RemoteInvocationGenericServiceRequest(5,
+        new RemoteInvocationServiceTransactionalCalls(call));
+    ByteArrayOutputStream requestOut = new ByteArrayOutputStream();
+    serializer.writeRequest(request, requestOut);
+    byte[] data = requestOut.toByteArray();
+    assertEquals(3, serializer.readRequest(new ByteArrayInputStream(data)).getTransactionalCalls()[0].getCalls()[0]
+        .getArguments().length);
+
+    // when
+    serializer.setMaximumLength(2);
+    try {
+      serializer.readRequest(new ByteArrayInputStream(data));
+      fail("exception expected");
+    } catch (IOException e) {
+      // then
+      assertEquals("Invalid length 3", e.getMessage());
+    }
+  }
+
+  private void checkCallServicesSerialized(RemoteInvocationSerializer serializer) throws IOException {
+
+    // given
+    AbstractRemoteInvocationGenericServiceImpl serviceImpl = (AbstractRemoteInvocationGenericServiceImpl) this.genericService;
+    RemoteInvocationServiceMethodTable methodTable = serviceImpl.getMethodTable();
+    int methodId = methodTable.getMethodId(RemoteInvocationServiceMethodTable.getMethodKey(
+        TestService.class.getName(), "getMagicValue", RemoteInvocationServiceCall.getSignature(new String[0])));
+    RemoteInvocationServiceCall compactCall = new RemoteInvocationServiceCall(methodId, new Serializable[0]);
+    RemoteInvocationServiceCall call = new RemoteInvocationServiceCall(TestService.class.getName(), "getMagicValue",
+        RemoteInvocationServiceCall.getSignature(new String[0]), new Serializable[] { null, "arg", Long.valueOf(42) });
+    RemoteInvocationGenericServiceRequest request = new RemoteInvocationGenericServiceRequest(4,
+        new RemoteInvocationServiceTransactionalCalls(compactCall), new RemoteInvocationServiceTransactionalCalls(call));
+    request.setMethodTableId(methodTable.getId());
+    request.setMethodTableRequested(true);
+    ByteArrayOutputStream requestOut = new ByteArrayOutputStream();
+    serializer.writeRequest(request, requestOut);
+
+    // when
+    ByteArrayOutputStream responseOut = new ByteArrayOutputStream();
+    serviceImpl.callServices(serializer.getContentType(), new ByteArrayInputStream(requestOut.toByteArray()),
+        responseOut);
+    RemoteInvocationGenericServiceResponse response = serializer.readResponse(new ByteArrayInputStream(responseOut
+        .toByteArray()));
+
+    // then
+    assertEquals(4, response.getRequestId());
+    assertEquals(methodTable.getId(), response.getMethodTable().getId());
+    RemoteInvocationServiceTransactionalResults[] txResults = response.getTransactionalResults();
+    assertEquals(2, txResults.length);
+    assertEquals(TestService.MAGIC_VALUE, txResults[0].getResults()[0]);
+    // wrong number of arguments
+    assertNotNull(txResults[1].getFailure());
+  }
+
 }
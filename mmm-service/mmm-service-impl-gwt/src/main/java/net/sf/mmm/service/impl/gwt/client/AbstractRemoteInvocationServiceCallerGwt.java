@@ -9,6 +9,7 @@ import net.sf.mmm.service.base.gwt.RemoteInvocationGenericServiceGwt;
 import net.sf.mmm.service.base.gwt.RemoteInvocationGenericServiceGwtAsync;
 
 import com.google.gwt.core.client.GWT;
+import com.google.gwt.user.client.Timer;
 import com.google.gwt.user.client.rpc.AsyncCallback;
 
 /**
@@ -77,4 +78,21 @@ public abstract class AbstractRemoteInvocationServiceCallerGwt extends
     this.genericService.callServices(request, callback);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void schedule(final Runnable task, int delayMillis) {
+
+    Timer timer = new Timer() {
+
+      @Override
+      public void run() {
+
+        task.run();
+      }
+    };
+    timer.schedule(delayMillis);
+  }
+
 }
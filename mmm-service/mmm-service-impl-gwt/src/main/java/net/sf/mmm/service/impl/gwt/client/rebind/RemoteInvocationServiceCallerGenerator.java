@@ -6,7 +6,9 @@ import java.io.PrintWriter;
 import java.io.Serializable;
 
 import net.sf.mmm.service.api.RemoteInvocationService;
+import net.sf.mmm.service.api.RemoteInvocationServiceIdempotent;
 import net.sf.mmm.service.base.RemoteInvocationServiceCall;
+import net.sf.mmm.service.base.RemoteInvocationServiceMethodTable;
 import net.sf.mmm.service.base.client.AbstractRemoteInvocationServiceClient;
 import net.sf.mmm.service.base.gwt.RemoteInvocationGenericServiceGwtAsync;
 import net.sf.mmm.service.impl.gwt.client.AbstractRemoteInvocationServiceCallerGwt;
@@ -48,7 +50,7 @@ public class RemoteInvocationServiceCallerGenerator extends AbstractIncrementalG
   @Override
   public long getVersionId() {
 
-    return 1;
+    return 2;
   }
 
   /**
@@ -61,6 +63,7 @@ public class RemoteInvocationServiceCallerGenerator extends AbstractIncrementalG
     sourceComposerFactory.addImport(RemoteInvocationService.class.getName());
     sourceComposerFactory.addImport(RemoteInvocationGenericServiceGwtAsync.class.getName());
     sourceComposerFactory.addImport(AbstractRemoteInvocationServiceCallerGwt.class.getName());
+    sourceComposerFactory.addImport(RemoteInvocationServiceMethodTable.class.getName());
     // sourceComposerFactory.addImport(Inject.class.getName());
   }
 
@@ -105,11 +108,53 @@ public class RemoteInvocationServiceCallerGenerator extends AbstractIncrementalG
         sourceWriter.print(".class, new ");
         sourceWriter.print(generateServiceClient(type, inputType.getPackage().getName(), logger, context));
         sourceWriter.println("());");
+        generateIdempotentMethods(type, sourceWriter);
       }
     }
     generateSourceCloseBlock(sourceWriter);
   }
 
+  /**
+   * This method generates the statements to register the methods of the given <code>serviceInterface</code>
+   * that are annotated with {@link RemoteInvocationServiceIdempotent}.
+   * 
+   * @param serviceInterface is the {@link RemoteInvocationService}-interface.
+   * @param sourceWriter is the {@link SourceWriter}.
+   */
+  private void generateIdempotentMethods(JClassType serviceInterface, SourceWriter sourceWriter) {
+
+    for (JMethod method : serviceInterface.getOverridableMethods()) {
+      RemoteInvocationServiceIdempotent idempotent = method.getAnnotation(RemoteInvocationServiceIdempotent.class);
+      if (idempotent != null) {
+        sourceWriter.print("setCacheTimeToLive(");
+        sourceWriter.print(RemoteInvocationServiceMethodTable.class.getSimpleName());
+        sourceWriter.print(".getMethodKey(");
+        sourceWriter.print(serviceInterface.getQualifiedSourceName());
+        sourceWriter.print(".class.getName(), \"");
+        sourceWriter.print(method.getName());
+        sourceWriter.print("\", ");
+        sourceWriter.print(Integer.toString(getSignature(method)));
+        sourceWriter.print("), ");
+        sourceWriter.print(Long.toString(idempotent.cacheTimeToLive()));
+        sourceWriter.println("L);");
+      }
+    }
+  }
+
+  /**
+   * @param method is the {@link JMethod}.
+   * @return the {@link RemoteInvocationServiceCall#getSignature() signature} of the given <code>method</code>.
+   */
+  private static int getSignature(JMethod method) {
+
+    JParameter[] parameters = method.getParameters();
+    String[] signatureArray = new String[parameters.length];
+    for (int i = 0; i < parameters.length; i++) {
+      signatureArray[i] = parameters[i].getType().getQualifiedSourceName();
+    }
+    return RemoteInvocationServiceCall.getSignature(signatureArray);
+  }
+
   /**
    * This method generates a service-client implementation of a {@link RemoteInvocationService}-interface
    * given by <code>serviceInterface</code>.
@@ -199,7 +244,6 @@ public class RemoteInvocationServiceCallerGenerator extends AbstractIncrementalG
     sourceWriter.print(Integer.toString(parameters.length));
     sourceWriter.println("];");
 
-    String[] signatureArray = new String[parameters.length];
     // fill in arguments
     for (int i = 0; i < parameters.length; i++) {
       // assign argument statement
@@ -209,9 +253,6 @@ public class RemoteInvocationServiceCallerGenerator extends AbstractIncrementalG
       sourceWriter.print("] = ");
       sourceWriter.print(parameter.getName());
       sourceWriter.println(";");
-
-      // assign argument type for signature
-      signatureArray[i] = parameter.getType().getQualifiedSourceName();
     }
 
     // generate statement to create call
@@ -223,7 +264,7 @@ public class RemoteInvocationServiceCallerGenerator extends AbstractIncrementalG
     sourceWriter.print(".class.getName(), \"");
     sourceWriter.print(method.getName());
     sourceWriter.print("\", ");
-    sourceWriter.print(Integer.toString(RemoteInvocationServiceCall.getSignature(signatureArray)));
+    sourceWriter.print(Integer.toString(getSignature(method)));
     sourceWriter.println(", _arguments);");
 
     // add recorded call
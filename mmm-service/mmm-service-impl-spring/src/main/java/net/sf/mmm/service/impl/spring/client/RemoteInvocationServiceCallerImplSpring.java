@@ -6,24 +6,36 @@ import java.io.Serializable;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 
 import net.sf.mmm.service.api.RemoteInvocationService;
+import net.sf.mmm.service.api.RemoteInvocationServiceIdempotent;
 import net.sf.mmm.service.api.client.RemoteInvocationServiceCaller;
 import net.sf.mmm.service.base.RemoteInvocationGenericService;
 import net.sf.mmm.service.base.RemoteInvocationGenericServiceRequest;
 import net.sf.mmm.service.base.RemoteInvocationGenericServiceResponse;
 import net.sf.mmm.service.base.RemoteInvocationServiceCall;
+import net.sf.mmm.service.base.RemoteInvocationServiceMethodTable;
 import net.sf.mmm.service.base.client.AbstractRemoteInvocationServiceCaller;
 import net.sf.mmm.util.nls.api.NlsIllegalArgumentException;
 
 /**
  * This is the implementation of {@link net.sf.mmm.service.api.client.RemoteInvocationServiceCaller} using an
  * {@link #setServiceClient(RemoteInvocationGenericService) injected client-stub} (provided by
- * spring-remoting) and {@link Proxy java dynamic proxies}.
+ * spring-remoting) and {@link Proxy java dynamic proxies}. The proxy for a service interface is created
+ * only once and the signature of each invoked {@link Method} is calculated only once. Methods annotated with
+ * {@link RemoteInvocationServiceIdempotent} are automatically registered as
+ * {@link #setCacheTimeToLive(String, long) idempotent}.
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 1.0.0
@@ -35,12 +47,22 @@ public class RemoteInvocationServiceCallerImplSpring extends AbstractRemoteInvoc
   /** @see #setServiceClient(RemoteInvocationGenericService) */
   private RemoteInvocationGenericService serviceClient;
 
+  /** The cache with the proxies for the {@link RemoteInvocationService} interfaces. */
+  private final Map<Class<?>, RemoteInvocationService> proxyMap;
+
+  /** The {@link ScheduledExecutorService} to {@link #flushBatch() flush batches} or <code>null</code>. */
+  private ScheduledExecutorService scheduler;
+
+  /** @see #dispose() */
+  private boolean disposed;
+
   /**
    * The constructor.
    */
   public RemoteInvocationServiceCallerImplSpring() {
 
     super();
+    this.proxyMap = new ConcurrentHashMap<Class<?>, RemoteInvocationService>();
   }
 
   /**
@@ -57,37 +79,63 @@ public class RemoteInvocationServiceCallerImplSpring extends AbstractRemoteInvoc
    * {@inheritDoc}
    */
   @Override
-  protected <SERVICE extends RemoteInvocationService> SERVICE getServiceClient(final Class<SERVICE> serviceInterface) {
+  protected <SERVICE extends RemoteInvocationService> SERVICE getServiceClient(Class<SERVICE> serviceInterface) {
+
+    RemoteInvocationService serviceProxy = this.proxyMap.get(serviceInterface);
+    if (serviceProxy == null) {
+      serviceProxy = serviceInterface.cast(Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(),
+          new Class[] { serviceInterface }, new ServiceInvocationHandler(serviceInterface)));
+      this.proxyMap.put(serviceInterface, serviceProxy);
+    }
+    return serviceInterface.cast(serviceProxy);
+  }
 
-    InvocationHandler handler = new InvocationHandler() {
+  /**
+   * {@inheritDoc}
+   * 
+   * This implementation uses a single daemon thread so the batch is sent and the callbacks are invoked
+   * asynchronously in that thread. After {@link #dispose()} the task is run immediately in the calling thread.
+   * The task is handed to the scheduler while holding the lock so a concurrent {@link #dispose()} can not
+   * shut it down in between.
+   */
+  @Override
+  protected void schedule(Runnable task, int delayMillis) {
 
-      @Override
-      public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    synchronized (this) {
+      if (!this.disposed) {
+        if (this.scheduler == null) {
+          this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
 
-        // handle Object standard methods like equals/hashCode/toString/...
-        if (method.getDeclaringClass().equals(Object.class)) {
-          return method.invoke(proxy, args);
-        }
+            @Override
+            public Thread newThread(Runnable runnable) {
 
-        Serializable[] arguments = new Serializable[args.length];
-        for (int i = 0; i < args.length; i++) {
-          try {
-            arguments[i] = (Serializable) args[i];
-          } catch (ClassCastException e) {
-            throw new NlsIllegalArgumentException(args[i], serviceInterface.getName() + "." + method.getName() + "@arg"
-                + i, e);
-          }
+              Thread thread = new Thread(runnable, "RemoteInvocationServiceCaller-batch");
+              thread.setDaemon(true);
+              return thread;
+            }
+          });
         }
-        int signature = RemoteInvocationServiceCall.getSignature(method.getParameterTypes());
-        RemoteInvocationServiceCall call = new RemoteInvocationServiceCall(serviceInterface.getName(),
-            method.getName(), signature, arguments);
-        addCall(call, method.getReturnType());
-        return null;
+        this.scheduler.schedule(task, delayMillis, TimeUnit.MILLISECONDS);
+        return;
       }
-    };
-    SERVICE serviceProxy = serviceInterface.cast(Proxy.newProxyInstance(Thread.currentThread().getContextClassLoader(),
-        new Class[] { serviceInterface }, handler));
-    return serviceProxy;
+    }
+    task.run();
+  }
+
+  /**
+   * This method shuts down the thread used to {@link #schedule(Runnable, int) schedule} batches. Batches that
+   * are already scheduled are still sent.
+   */
+  @PreDestroy
+  public void dispose() {
+
+    synchronized (this) {
+      this.disposed = true;
+      if (this.scheduler != null) {
+        this.scheduler.shutdown();
+        this.scheduler = null;
+      }
+    }
   }
 
   /**
@@ -107,4 +155,69 @@ public class RemoteInvocationServiceCallerImplSpring extends AbstractRemoteInvoc
     this.serviceClient = serviceClient;
   }
 
+  /**
+   * This is the {@link InvocationHandler} for the proxy of a {@link RemoteInvocationService} interface.
+   */
+  private class ServiceInvocationHandler implements InvocationHandler {
+
+    /** The {@link RemoteInvocationService} interface. */
+    private final Class<?> serviceInterface;
+
+    /** The cache with the {@link RemoteInvocationServiceCall#getSignature() signatures} per {@link Method}. */
+    private final Map<Method, Integer> signatureMap;
+
+    /**
+     * The constructor.
+     * 
+     * @param serviceInterface is the {@link RemoteInvocationService} interface.
+     */
+    public ServiceInvocationHandler(Class<?> serviceInterface) {
+
+      super();
+      this.serviceInterface = serviceInterface;
+      this.signatureMap = new ConcurrentHashMap<Method, Integer>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+      // handle Object standard methods like equals/hashCode/toString/...
+      if (method.getDeclaringClass().equals(Object.class)) {
+        return method.invoke(this, args);
+      }
+
+      Serializable[] arguments;
+      if (args == null) {
+        arguments = new Serializable[0];
+      } else {
+        arguments = new Serializable[args.length];
+        for (int i = 0; i < args.length; i++) {
+          try {
+            arguments[i] = (Serializable) args[i];
+          } catch (ClassCastException e) {
+            throw new NlsIllegalArgumentException(args[i], this.serviceInterface.getName() + "." + method.getName()
+                + "@arg" + i, e);
+          }
+        }
+      }
+      Integer signature = this.signatureMap.get(method);
+      if (signature == null) {
+        signature = Integer.valueOf(RemoteInvocationServiceCall.getSignature(method.getParameterTypes()));
+        RemoteInvocationServiceIdempotent idempotent = method.getAnnotation(RemoteInvocationServiceIdempotent.class);
+        if (idempotent != null) {
+          setCacheTimeToLive(RemoteInvocationServiceMethodTable.getMethodKey(this.serviceInterface.getName(),
+              method.getName(), signature.intValue()), idempotent.cacheTimeToLive());
+        }
+        this.signatureMap.put(method, signature);
+      }
+      RemoteInvocationServiceCall call = new RemoteInvocationServiceCall(this.serviceInterface.getName(),
+          method.getName(), signature.intValue(), arguments);
+      addCall(call, method.getReturnType());
+      return null;
+    }
+  }
+
 }
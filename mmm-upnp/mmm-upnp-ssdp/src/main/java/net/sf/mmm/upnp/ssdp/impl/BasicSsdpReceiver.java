@@ -2,11 +2,11 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.upnp.ssdp.impl;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.InetAddress;
 import java.net.MulticastSocket;
+import java.nio.ByteBuffer;
 import java.util.concurrent.Executor;
 
 import javax.inject.Inject;
@@ -14,7 +14,7 @@ import javax.inject.Inject;
 import net.sf.mmm.upnp.ssdp.api.SsdpRequest;
 import net.sf.mmm.upnp.ssdp.base.AbstractSsdpReceiver;
 import net.sf.mmm.util.concurrent.base.SimpleExecutor;
-import net.sf.mmm.util.http.HttpParser;
+import net.sf.mmm.util.http.HttpRequestParser;
 import net.sf.mmm.util.io.api.IoMode;
 import net.sf.mmm.util.io.api.RuntimeIoException;
 
@@ -195,16 +195,18 @@ public abstract class BasicSsdpReceiver extends AbstractSsdpReceiver {
 
       byte[] buffer = new byte[1024];
       DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+      HttpRequestParser parser = new HttpRequestParser();
       while (this.listening) {
         try {
           // TODO: this API sucks! The method blocks until datagram was received,
           // if nothing is received and the socket is closed, an IO-Exception is
           // thrown.
+          packet.setLength(buffer.length);
           this.socket.receive(packet);
-          byte[] data = packet.getData();
-          ByteArrayInputStream stream = new ByteArrayInputStream(data);
+          ByteBuffer data = ByteBuffer.wrap(packet.getData(), packet.getOffset(), packet.getLength());
           SsdpRequest request = new SsdpRequest();
-          HttpParser.parseRequest(stream, request);
+          parser.reset(request);
+          parser.parse(data, true);
           notifyListeners(request);
         } catch (IOException e) {
           throw new RuntimeIoException(e, IoMode.READ);
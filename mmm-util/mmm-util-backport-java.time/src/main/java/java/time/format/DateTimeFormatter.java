@@ -40,6 +40,7 @@ import java.time.DateTimeException;
 import java.time.calendrical.DateTimeAccessor;
 import java.time.calendrical.DateTimeBuilder;
 import java.time.format.DateTimeFormatterBuilder.CompositePrinterParser;
+import java.time.format.DateTimeFormatterBuilder.FixedWidthPrinterParser;
 import java.time.jdk8.Jdk7Methods;
 import java.util.Arrays;
 import java.util.Locale;
@@ -76,6 +77,11 @@ public final class DateTimeFormatter {
    */
   private final CompositePrinterParser printerParser;
 
+  /**
+   * The specialized printer and parser for fixed-width formats, null if not supported by the format.
+   */
+  private final FixedWidthPrinterParser fixedWidthPrinterParser;
+
   /**
    * Constructor.
    * 
@@ -88,6 +94,7 @@ public final class DateTimeFormatter {
     this.locale = locale;
     this.symbols = symbols;
     this.printerParser = printerParser;
+    this.fixedWidthPrinterParser = FixedWidthPrinterParser.compile(printerParser, symbols);
   }
 
   // -----------------------------------------------------------------------
@@ -184,13 +191,12 @@ public final class DateTimeFormatter {
     Jdk7Methods.Objects_requireNonNull(dateTime, "dateTime");
     Jdk7Methods.Objects_requireNonNull(appendable, "appendable");
     try {
-      DateTimePrintContext context = new DateTimePrintContext(dateTime, this.locale, this.symbols);
       if (appendable instanceof StringBuilder) {
-        this.printerParser.print(context, (StringBuilder) appendable);
+        printTo(dateTime, (StringBuilder) appendable);
       } else {
         // buffer output to avoid writing to appendable in case of error
         StringBuilder buf = new StringBuilder(32);
-        this.printerParser.print(context, buf);
+        printTo(dateTime, buf);
         appendable.append(buf);
       }
     } catch (IOException ex) {
@@ -198,6 +204,20 @@ public final class DateTimeFormatter {
     }
   }
 
+  /**
+   * Prints a date-time object to the buffer using the fixed-width printer if possible.
+   * 
+   * @param dateTime the date-time object to print, not null
+   * @param buf the buffer to append to, not null
+   */
+  private void printTo(DateTimeAccessor dateTime, StringBuilder buf) {
+
+    if ((this.fixedWidthPrinterParser == null) || (this.fixedWidthPrinterParser.print(dateTime, buf) == false)) {
+      DateTimePrintContext context = new DateTimePrintContext(dateTime, this.locale, this.symbols);
+      this.printerParser.print(context, buf);
+    }
+  }
+
   // -----------------------------------------------------------------------
   /**
    * Fully parses the text producing an object of the specified type.
@@ -351,6 +371,12 @@ public final class DateTimeFormatter {
 
     Jdk7Methods.Objects_requireNonNull(text, "text");
     Jdk7Methods.Objects_requireNonNull(position, "position");
+    if (this.fixedWidthPrinterParser != null) {
+      DateTimeBuilder builder = this.fixedWidthPrinterParser.parse(text, position);
+      if (builder != null) {
+        return builder;
+      }
+    }
     DateTimeParseContext context = new DateTimeParseContext(this.locale, this.symbols);
     int pos = position.getIndex();
     pos = this.printerParser.parse(context, text, pos);
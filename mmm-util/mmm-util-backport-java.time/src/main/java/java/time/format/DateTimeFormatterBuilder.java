@@ -38,12 +38,14 @@ import static java.time.calendrical.ChronoField.OFFSET_SECONDS;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
+import java.text.ParsePosition;
 import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.calendrical.ChronoField;
+import java.time.calendrical.DateTimeAccessor;
 import java.time.calendrical.DateTimeAccessor.Query;
 import java.time.calendrical.DateTimeBuilder;
 import java.time.calendrical.DateTimeField;
@@ -2842,6 +2844,571 @@ public final class DateTimeFormatterBuilder {
     }
   }
 
+  // -----------------------------------------------------------------------
+  /**
+   * Specialized printer and parser for formats that only consist of literals, numeric values and fractions of
+   * the nano-of-second, optionally grouped in optional sections (e.g. {@code ISO_LOCAL_DATE},
+   * {@code ISO_LOCAL_TIME} or {@code ISO_LOCAL_DATE_TIME}).
+   * <p>
+   * The elements of the {@link CompositePrinterParser} are compiled into a flat array that is processed
+   * directly on the character indices of the text. Printing does not create a {@link DateTimePrintContext}
+   * and parsing does not create a {@link DateTimeParseContext} or any intermediate field values, the parsed
+   * values are stored in a {@code long} array and transferred to the {@link DateTimeBuilder} at the end.
+   * <p>
+   * This is an optimization only. Whenever the result is not obvious (e.g. a sign, a value exceeding the
+   * padded width or a parse error), the specialized printer or parser gives up without any side effect, so
+   * the caller falls back to the general {@link CompositePrinterParser} that produces the exact same result
+   * or error.
+   * 
+   * <h4>Implementation notes</h4>
+   * This class is immutable and thread-safe.
+   */
+  static final class FixedWidthPrinterParser {
+
+    /** The kind of an element printing or parsing a literal. */
+    private static final int LITERAL = 0;
+
+    /** The kind of an element printing or parsing a numeric value. */
+    private static final int NUMBER = 1;
+
+    /** The kind of an element printing or parsing the fraction of the nano-of-second. */
+    private static final int FRACTION = 2;
+
+    /** The kind of an element starting an optional section. */
+    private static final int SECTION = 3;
+
+    /** Result if the general printer-parser has to decide. */
+    private static final int UNDECIDED = -1;
+
+    /** Result if the general printer-parser would fail as well (e.g. to skip an optional section). */
+    private static final int MISMATCH = -2;
+
+    /** Array of 10 to the power of n. */
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+      long power = 1;
+      for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+        POWERS_OF_TEN[i] = power;
+        power = power * 10;
+      }
+    }
+
+    /** The compiled elements. */
+    private final Element[] elements;
+
+    /** The fields of the parsed values indexed by {@link Element#slot}. */
+    private final DateTimeField[] slotFields;
+
+    /** The decimal separator of the symbols. */
+    private final char decimalSeparator;
+
+    /**
+     * Constructor.
+     * 
+     * @param elements the compiled elements, not null
+     * @param slotFields the fields of the parsed values, not null
+     * @param decimalSeparator the decimal separator
+     */
+    private FixedWidthPrinterParser(Element[] elements, DateTimeField[] slotFields, char decimalSeparator) {
+
+      this.elements = elements;
+      this.slotFields = slotFields;
+      this.decimalSeparator = decimalSeparator;
+    }
+
+    /**
+     * Compiles the specified printer-parser.
+     * 
+     * @param printerParser the printer-parser of the formatter, not null
+     * @param symbols the symbols of the formatter, not null
+     * @return the specialized printer-parser, null if the format is not supported
+     */
+    static FixedWidthPrinterParser compile(CompositePrinterParser printerParser, DateTimeFormatSymbols symbols) {
+
+      if (printerParser.optional || symbols.getZeroDigit() != '0') {
+        return null;
+      }
+      Compiler compiler = new Compiler();
+      if (compiler.compile(printerParser.printerParsers, false) == false) {
+        return null;
+      }
+      Element[] elements = compiler.elements.toArray(new Element[compiler.elements.size()]);
+      DateTimeField[] slotFields = compiler.slotFields.toArray(new DateTimeField[compiler.slotFields.size()]);
+      return new FixedWidthPrinterParser(elements, slotFields, symbols.getDecimalSeparator());
+    }
+
+    // -----------------------------------------------------------------------
+    /**
+     * Prints the date-time object to the buffer.
+     * 
+     * @param dateTime the date-time object to print, not null
+     * @param buf the buffer to append to, not null
+     * @return true if printed, false if the buffer is unchanged and the general printer has to be used
+     */
+    boolean print(DateTimeAccessor dateTime, StringBuilder buf) {
+
+      int length = buf.length();
+      if (print(dateTime, buf, 0, this.elements.length, false) != 0) {
+        buf.setLength(length);
+        return false;
+      }
+      return true;
+    }
+
+    /**
+     * Prints the elements in the specified range.
+     * 
+     * @param dateTime the date-time object to print, not null
+     * @param buf the buffer to append to, not null
+     * @param start the index of the first element
+     * @param end the index after the last element
+     * @param optional whether the elements are in an optional section
+     * @return zero if printed, {@link #MISMATCH} if a field is not available in an optional section or
+     *         {@link #UNDECIDED}
+     */
+    private int print(DateTimeAccessor dateTime, StringBuilder buf, int start, int end, boolean optional) {
+
+      int i = start;
+      while (i < end) {
+        Element element = this.elements[i];
+        if (element.kind == LITERAL) {
+          buf.append(element.literal);
+          i++;
+        } else if (element.kind == SECTION) {
+          int sectionLength = buf.length();
+          int result = print(dateTime, buf, i + 1, element.end, true);
+          if (result == MISMATCH) {
+            buf.setLength(sectionLength);
+          } else if (result != 0) {
+            return result;
+          }
+          i = element.end;
+        } else {
+          long value;
+          try {
+            value = dateTime.getLong(element.field);
+          } catch (DateTimeException ex) {
+            return (optional ? MISMATCH : UNDECIDED);
+          }
+          boolean printed;
+          if (element.kind == NUMBER) {
+            printed = printNumber(element, value, buf);
+          } else {
+            printed = printFraction(element, value, buf);
+          }
+          if (printed == false) {
+            return UNDECIDED;
+          }
+          i++;
+        }
+      }
+      return 0;
+    }
+
+    private boolean printNumber(Element element, long value, StringBuilder buf) {
+
+      if (value < 0) {
+        return false;
+      }
+      int digits = getDigitCount(value);
+      if ((digits > element.maxWidth) || (element.exceedsPad && (digits > element.minWidth))) {
+        return false;
+      }
+      appendZeros(buf, element.minWidth - digits);
+      buf.append(value);
+      return true;
+    }
+
+    private boolean printFraction(Element element, long value, StringBuilder buf) {
+
+      if ((value < 0) || (value >= POWERS_OF_TEN[9])) {
+        return false;
+      }
+      if (value == 0) {
+        if (element.minWidth > 0) {
+          if (element.decimalPoint) {
+            buf.append(this.decimalSeparator);
+          }
+          appendZeros(buf, element.minWidth);
+        }
+        return true;
+      }
+      int scale = 9;
+      long significant = value;
+      while ((significant % 10) == 0) {
+        significant = significant / 10;
+        scale--;
+      }
+      int outputScale = Math.min(Math.max(scale, element.minWidth), element.maxWidth);
+      long digits = value / POWERS_OF_TEN[9 - outputScale];
+      if (element.decimalPoint) {
+        buf.append(this.decimalSeparator);
+      }
+      appendZeros(buf, outputScale - getDigitCount(digits));
+      buf.append(digits);
+      return true;
+    }
+
+    private static int getDigitCount(long value) {
+
+      int digits = 1;
+      while ((digits < POWERS_OF_TEN.length) && (value >= POWERS_OF_TEN[digits])) {
+        digits++;
+      }
+      return digits;
+    }
+
+    private static void appendZeros(StringBuilder buf, int count) {
+
+      for (int i = 0; i < count; i++) {
+        buf.append('0');
+      }
+    }
+
+    // -----------------------------------------------------------------------
+    /**
+     * Parses the text to a builder.
+     * 
+     * @param text the text to parse, not null
+     * @param position the position to parse from, only updated if the parse succeeds, not null
+     * @return the parsed builder, null if the general parser has to be used
+     */
+    DateTimeBuilder parse(CharSequence text, ParsePosition position) {
+
+      int pos = position.getIndex();
+      if ((pos < 0) || (pos > text.length())) {
+        return null;
+      }
+      long[] values = new long[this.slotFields.length];
+      boolean[] parsed = new boolean[this.slotFields.length];
+      pos = parse(text, pos, 0, this.elements.length, values, parsed);
+      if (pos < 0) {
+        return null;
+      }
+      DateTimeBuilder builder = new DateTimeBuilder();
+      for (int slot = 0; slot < values.length; slot++) {
+        if (parsed[slot]) {
+          builder.addFieldValue(this.slotFields[slot], values[slot]);
+        }
+      }
+      position.setIndex(pos);
+      return builder;
+    }
+
+    /**
+     * Parses the elements in the specified range.
+     * 
+     * @param text the text to parse, not null
+     * @param position the position to start parsing at, from 0 to the text length
+     * @param start the index of the first element
+     * @param end the index after the last element
+     * @param values the parsed values indexed by slot, not null
+     * @param parsed the flags indexed by slot whether a value has been parsed, not null
+     * @return the new parse position, {@link #MISMATCH} or {@link #UNDECIDED}
+     */
+    private int parse(CharSequence text, int position, int start, int end, long[] values, boolean[] parsed) {
+
+      int pos = position;
+      int i = start;
+      while (i < end) {
+        Element element = this.elements[i];
+        switch (element.kind) {
+          case LITERAL:
+            pos = parseLiteral(element, text, pos);
+            i++;
+            break;
+          case NUMBER:
+            pos = parseNumber(element, text, pos, values, parsed);
+            i++;
+            break;
+          case FRACTION:
+            pos = parseFraction(element, text, pos, values, parsed);
+            i++;
+            break;
+          default :
+            int result = parse(text, pos, i + 1, element.end, values, parsed);
+            if (result == MISMATCH) {
+              // the optional section is not present
+              for (int slot = element.slot; slot < element.endSlot; slot++) {
+                parsed[slot] = false;
+              }
+            } else {
+              pos = result;
+            }
+            i = element.end;
+            break;
+        }
+        if (pos < 0) {
+          return pos;
+        }
+      }
+      return pos;
+    }
+
+    private static int parseLiteral(Element element, CharSequence text, int pos) {
+
+      String literal = element.literal;
+      int length = literal.length();
+      if (pos + length > text.length()) {
+        return MISMATCH;
+      }
+      for (int i = 0; i < length; i++) {
+        char ch1 = text.charAt(pos + i);
+        char ch2 = literal.charAt(i);
+        if (ch1 != ch2
+            && (element.caseSensitive || (Character.toUpperCase(ch1) != Character.toUpperCase(ch2) && Character
+                .toLowerCase(ch1) != Character.toLowerCase(ch2)))) {
+          return MISMATCH;
+        }
+      }
+      return pos + length;
+    }
+
+    private static int parseNumber(Element element, CharSequence text, int pos, long[] values, boolean[] parsed) {
+
+      int limit = Math.min(pos + element.parseMaxWidth, text.length());
+      int digitsEnd = pos;
+      while ((digitsEnd < limit) && isDigit(text.charAt(digitsEnd))) {
+        digitsEnd++;
+      }
+      int parseLength = digitsEnd - pos;
+      if (parseLength < element.minWidth) {
+        return UNDECIDED;
+      }
+      // adjacent value parsing leaves the subsequent digits to the following values
+      int width = Math.max(element.minWidth, parseLength - element.subsequentWidth);
+      if ((width >= POWERS_OF_TEN.length) || (element.exceedsPad && (width > element.minWidth))) {
+        return UNDECIDED;
+      }
+      values[element.slot] = parseDigits(text, pos, pos + width);
+      parsed[element.slot] = true;
+      return pos + width;
+    }
+
+    private int parseFraction(Element element, CharSequence text, int pos, long[] values, boolean[] parsed) {
+
+      int length = text.length();
+      if (pos == length) {
+        return (element.parseMinWidth > 0 ? UNDECIDED : pos);
+      }
+      int start = pos;
+      if (element.decimalPoint) {
+        if (text.charAt(pos) != this.decimalSeparator) {
+          return (element.parseMinWidth > 0 ? UNDECIDED : pos);
+        }
+        start++;
+      }
+      int limit = Math.min(start + element.parseMaxWidth, length);
+      int digitsEnd = start;
+      while ((digitsEnd < limit) && isDigit(text.charAt(digitsEnd))) {
+        digitsEnd++;
+      }
+      int digits = digitsEnd - start;
+      if (digits < element.parseMinWidth) {
+        return UNDECIDED;
+      }
+      values[element.slot] = parseDigits(text, start, digitsEnd) * POWERS_OF_TEN[9 - digits];
+      parsed[element.slot] = true;
+      return digitsEnd;
+    }
+
+    private static boolean isDigit(char ch) {
+
+      return (ch >= '0') && (ch <= '9');
+    }
+
+    private static long parseDigits(CharSequence text, int start, int end) {
+
+      long total = 0;
+      for (int i = start; i < end; i++) {
+        total = total * 10 + (text.charAt(i) - '0');
+      }
+      return total;
+    }
+
+    @Override
+    public String toString() {
+
+      return "FixedWidth(" + this.elements.length + ")";
+    }
+
+    // -----------------------------------------------------------------------
+    /**
+     * A compiled element.
+     */
+    private static final class Element {
+
+      private final int kind;
+
+      private final String literal;
+
+      private final boolean caseSensitive;
+
+      private final DateTimeField field;
+
+      private final int minWidth;
+
+      private final int maxWidth;
+
+      private final int parseMinWidth;
+
+      private final int parseMaxWidth;
+
+      private final int subsequentWidth;
+
+      private final boolean exceedsPad;
+
+      private final boolean decimalPoint;
+
+      /** The slot of the parsed value or the first slot of an optional section. */
+      private final int slot;
+
+      /** The index after the last element of an optional section. */
+      private final int end;
+
+      /** The slot after the last slot of an optional section. */
+      private final int endSlot;
+
+      private Element(int kind, String literal, boolean caseSensitive, DateTimeField field, int minWidth,
+          int maxWidth, int parseMinWidth, int parseMaxWidth, int subsequentWidth, boolean exceedsPad,
+          boolean decimalPoint, int slot, int end, int endSlot) {
+
+        this.kind = kind;
+        this.literal = literal;
+        this.caseSensitive = caseSensitive;
+        this.field = field;
+        this.minWidth = minWidth;
+        this.maxWidth = maxWidth;
+        this.parseMinWidth = parseMinWidth;
+        this.parseMaxWidth = parseMaxWidth;
+        this.subsequentWidth = subsequentWidth;
+        this.exceedsPad = exceedsPad;
+        this.decimalPoint = decimalPoint;
+        this.slot = slot;
+        this.end = end;
+        this.endSlot = endSlot;
+      }
+    }
+
+    /**
+     * Compiles the elements of a {@link CompositePrinterParser}, tracking the parse settings.
+     */
+    private static final class Compiler {
+
+      private final List<Element> elements = new ArrayList<Element>();
+
+      private final List<DateTimeField> slotFields = new ArrayList<DateTimeField>();
+
+      private boolean caseSensitive = true;
+
+      private boolean strict = true;
+
+      /**
+       * Compiles the specified printer-parsers.
+       * 
+       * @param printerParsers the printer-parsers to compile, not null
+       * @param optional whether the printer-parsers are in an optional section
+       * @return true if compiled, false if not supported
+       */
+      boolean compile(DateTimePrinterParser[] printerParsers, boolean optional) {
+
+        for (DateTimePrinterParser pp : printerParsers) {
+          if (pp instanceof CharLiteralPrinterParser) {
+            addLiteral(String.valueOf(((CharLiteralPrinterParser) pp).literal));
+          } else if (pp instanceof StringLiteralPrinterParser) {
+            addLiteral(((StringLiteralPrinterParser) pp).literal);
+          } else if (pp.getClass() == NumberPrinterParser.class) {
+            if (addNumber((NumberPrinterParser) pp) == false) {
+              return false;
+            }
+          } else if (pp instanceof FractionPrinterParser) {
+            if (addFraction((FractionPrinterParser) pp) == false) {
+              return false;
+            }
+          } else if (pp instanceof CompositePrinterParser) {
+            CompositePrinterParser composite = (CompositePrinterParser) pp;
+            if (composite.optional) {
+              int index = this.elements.size();
+              int slot = this.slotFields.size();
+              this.elements.add(null);
+              if (compile(composite.printerParsers, true) == false) {
+                return false;
+              }
+              this.elements.set(index, new Element(SECTION, null, false, null, 0, 0, 0, 0, 0, false, false, slot,
+                  this.elements.size(), this.slotFields.size()));
+            } else if (optional) {
+              // a nested composite only discards its own output if a field is unavailable
+              return false;
+            } else if (compile(composite.printerParsers, false) == false) {
+              return false;
+            }
+          } else if ((pp instanceof SettingsParser) && (optional == false)) {
+            switch ((SettingsParser) pp) {
+              case SENSITIVE:
+                this.caseSensitive = true;
+                break;
+              case INSENSITIVE:
+                this.caseSensitive = false;
+                break;
+              case STRICT:
+                this.strict = true;
+                break;
+              case LENIENT:
+                this.strict = false;
+                break;
+            }
+          } else {
+            return false;
+          }
+        }
+        return true;
+      }
+
+      private void addLiteral(String literal) {
+
+        this.elements.add(new Element(LITERAL, literal, this.caseSensitive, null, 0, 0, 0, 0, 0, false, false, 0,
+            0, 0));
+      }
+
+      private boolean addNumber(NumberPrinterParser pp) {
+
+        boolean exceedsPad;
+        switch (pp.signStyle) {
+          case NORMAL:
+          case NOT_NEGATIVE:
+            exceedsPad = false;
+            break;
+          case EXCEEDS_PAD:
+            exceedsPad = true;
+            break;
+          default :
+            return false;
+        }
+        if (pp.minWidth >= POWERS_OF_TEN.length) {
+          return false;
+        }
+        this.elements.add(new Element(NUMBER, null, false, pp.field, pp.minWidth, pp.maxWidth, pp.minWidth,
+            pp.maxWidth + pp.subsequentWidth, pp.subsequentWidth, exceedsPad, false, this.slotFields.size(), 0, 0));
+        this.slotFields.add(pp.field);
+        return true;
+      }
+
+      private boolean addFraction(FractionPrinterParser pp) {
+
+        if (pp.field != NANO_OF_SECOND) {
+          return false;
+        }
+        int parseMinWidth = (this.strict ? pp.minWidth : 0);
+        int parseMaxWidth = (this.strict ? pp.maxWidth : 9);
+        this.elements.add(new Element(FRACTION, null, false, pp.field, pp.minWidth, pp.maxWidth, parseMinWidth,
+            parseMaxWidth, 0, false, pp.decimalPoint, this.slotFields.size(), 0, 0));
+        this.slotFields.add(pp.field);
+        return true;
+      }
+    }
+  }
+
   // -------------------------------------------------------------------------
   /**
    * Length comparator.
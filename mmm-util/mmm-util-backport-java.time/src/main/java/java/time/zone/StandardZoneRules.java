@@ -47,6 +47,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * The rules describing how the zone offset varies through the year and historically.
@@ -67,6 +68,11 @@ final class StandardZoneRules implements ZoneRules, Serializable {
    */
   private static final int LAST_CACHED_YEAR = 2100;
 
+  /**
+   * The first year to have its transitions cached in the array indexed by year.
+   */
+  private static final int FIRST_INDEXED_YEAR = 1970;
+
   /**
    * The transitions between standard offsets (epoch seconds), sorted.
    */
@@ -99,7 +105,13 @@ final class StandardZoneRules implements ZoneRules, Serializable {
   private final ZoneOffsetTransitionRule[] lastRules;
 
   /**
-   * The map of recent transitions.
+   * The cache of recent transitions indexed by {@code year - FIRST_INDEXED_YEAR}. This avoids boxing the year for
+   * the common case. Lazily created if there are {@link #lastRules}.
+   */
+  private volatile AtomicReferenceArray<ZoneOffsetTransition[]> lastRulesYearCache;
+
+  /**
+   * The map of transitions for years before {@link #FIRST_INDEXED_YEAR}. Only used as fallback.
    */
   private final ConcurrentMap<Integer, ZoneOffsetTransition[]> lastRulesCache = new ConcurrentHashMap<Integer, ZoneOffsetTransition[]>();
 
@@ -428,19 +440,64 @@ final class StandardZoneRules implements ZoneRules, Serializable {
    */
   private ZoneOffsetTransition[] findTransitionArray(int year) {
 
-    Integer yearObj = year; // should use Year class, but this saves a class load
-    ZoneOffsetTransition[] transArray = this.lastRulesCache.get(yearObj);
-    if (transArray != null) {
+    int index = year - FIRST_INDEXED_YEAR;
+    AtomicReferenceArray<ZoneOffsetTransition[]> yearCache = this.lastRulesYearCache;
+    if ((yearCache != null) && (index >= 0) && (index < yearCache.length())) {
+      ZoneOffsetTransition[] transArray = yearCache.get(index);
+      if (transArray != null) {
+        return transArray;
+      }
+    }
+    return findTransitionArraySlow(year);
+  }
+
+  /**
+   * Finds the appropriate transition array for the given year if NOT already cached in the array indexed by year.
+   * 
+   * @param year the year, not null
+   * @return the transition array, not null
+   */
+  private ZoneOffsetTransition[] findTransitionArraySlow(int year) {
+
+    if (year >= LAST_CACHED_YEAR) {
+      return createTransitionArray(year);
+    }
+    int index = year - FIRST_INDEXED_YEAR;
+    if (index < 0) {
+      Integer yearObj = year; // should use Year class, but this saves a class load
+      ZoneOffsetTransition[] transArray = this.lastRulesCache.get(yearObj);
+      if (transArray == null) {
+        transArray = createTransitionArray(year);
+        this.lastRulesCache.putIfAbsent(yearObj, transArray);
+      }
       return transArray;
     }
+    AtomicReferenceArray<ZoneOffsetTransition[]> yearCache = this.lastRulesYearCache;
+    if (yearCache == null) {
+      // benign race: worst case some transitions are computed twice
+      yearCache = new AtomicReferenceArray<ZoneOffsetTransition[]>(LAST_CACHED_YEAR - FIRST_INDEXED_YEAR);
+      this.lastRulesYearCache = yearCache;
+    }
+    ZoneOffsetTransition[] transArray = createTransitionArray(year);
+    if (!yearCache.compareAndSet(index, null, transArray)) {
+      transArray = yearCache.get(index);
+    }
+    return transArray;
+  }
+
+  /**
+   * Creates the transition array for the given year from the last rules.
+   * 
+   * @param year the year, not null
+   * @return the transition array, not null
+   */
+  private ZoneOffsetTransition[] createTransitionArray(int year) {
+
     ZoneOffsetTransitionRule[] ruleArray = this.lastRules;
-    transArray = new ZoneOffsetTransition[ruleArray.length];
+    ZoneOffsetTransition[] transArray = new ZoneOffsetTransition[ruleArray.length];
     for (int i = 0; i < ruleArray.length; i++) {
       transArray[i] = ruleArray[i].createTransition(year);
     }
-    if (year < LAST_CACHED_YEAR) {
-      this.lastRulesCache.putIfAbsent(yearObj, transArray);
-    }
     return transArray;
   }
 
@@ -71,6 +71,11 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
    */
   private final ConcurrentNavigableMap<String, Version> versions = new ConcurrentSkipListMap<String, Version>();
 
+  /**
+   * The latest version, cached to avoid a lookup in {@link #versions} for each {@link #provideRules(String)}.
+   */
+  private volatile Version latestVersion;
+
   /**
    * All the URLs that have been loaded. Uses String to avoid equals() on URL.
    */
@@ -100,7 +105,7 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
   protected ZoneRules provideRules(String zoneId) {
 
     Jdk7Methods.Objects_requireNonNull(zoneId, "zoneId");
-    ZoneRules rules = this.versions.lastEntry().getValue().getRules(zoneId);
+    ZoneRules rules = this.latestVersion.getRules(zoneId);
     if (rules == null) {
       throw new ZoneRulesException("Unknown time-zone ID: " + zoneId);
     }
@@ -147,6 +152,9 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
           updated = true;
         }
       }
+      if (updated) {
+        this.latestVersion = this.versions.lastEntry().getValue();
+      }
     } catch (Exception ex) {
       throw new ZoneRulesException("Unable to load TZDB time-zone rules: " + url, ex);
     }
@@ -155,59 +163,20 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 
   /**
    * Loads the rules from a URL, often in a jar file.
+   * <p>
+   * The file is read into memory as a whole and only indexed. The bytes of the rules are decoded lazily when a
+   * region is used for the first time (see {@link RuleData}).
    * 
    * @param url the jar file to load, not null
    * @throws Exception if an error occurs
    */
   private Iterable<Version> load(URL url) throws ClassNotFoundException, IOException {
 
+    byte[] data;
     // try (InputStream in = url.openStream()) {
     InputStream in = url.openStream();
     try {
-      DataInputStream dis = new DataInputStream(in);
-      if (dis.readByte() != 1) {
-        throw new StreamCorruptedException("File format not recognised");
-      }
-      // group
-      String groupId = dis.readUTF();
-      if ("TZDB".equals(groupId) == false) {
-        throw new StreamCorruptedException("File format not recognised");
-      }
-      // versions
-      int versionCount = dis.readShort();
-      String[] versionArray = new String[versionCount];
-      for (int i = 0; i < versionCount; i++) {
-        versionArray[i] = dis.readUTF();
-      }
-      // regions
-      int regionCount = dis.readShort();
-      String[] regionArray = new String[regionCount];
-      for (int i = 0; i < regionCount; i++) {
-        regionArray[i] = dis.readUTF();
-      }
-      this.regionIds.addAll(Arrays.asList(regionArray));
-      // rules
-      int ruleCount = dis.readShort();
-      Object[] ruleArray = new Object[ruleCount];
-      for (int i = 0; i < ruleCount; i++) {
-        byte[] bytes = new byte[dis.readShort()];
-        dis.readFully(bytes);
-        ruleArray[i] = bytes;
-      }
-      AtomicReferenceArray<Object> ruleData = new AtomicReferenceArray<Object>(ruleArray);
-      // link version-region-rules
-      Set<Version> versionSet = new HashSet<Version>(versionCount);
-      for (int i = 0; i < versionCount; i++) {
-        int versionRegionCount = dis.readShort();
-        String[] versionRegionArray = new String[versionRegionCount];
-        short[] versionRulesArray = new short[versionRegionCount];
-        for (int j = 0; j < versionRegionCount; j++) {
-          versionRegionArray[j] = regionArray[dis.readShort()];
-          versionRulesArray[j] = dis.readShort();
-        }
-        versionSet.add(new Version(versionArray[i], versionRegionArray, versionRulesArray, ruleData));
-      }
-      return versionSet;
+      data = readFully(in);
     } finally {
       try {
         in.close();
@@ -215,6 +184,79 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
         // prevent suppressing potential important exception
       }
     }
+    ByteArrayInputStream bais = new ByteArrayInputStream(data);
+    DataInputStream dis = new DataInputStream(bais);
+    if (dis.readByte() != 1) {
+      throw new StreamCorruptedException("File format not recognised");
+    }
+    // group
+    String groupId = dis.readUTF();
+    if ("TZDB".equals(groupId) == false) {
+      throw new StreamCorruptedException("File format not recognised");
+    }
+    // versions
+    int versionCount = dis.readShort();
+    String[] versionArray = new String[versionCount];
+    for (int i = 0; i < versionCount; i++) {
+      versionArray[i] = dis.readUTF();
+    }
+    // regions
+    int regionCount = dis.readShort();
+    String[] regionArray = new String[regionCount];
+    for (int i = 0; i < regionCount; i++) {
+      regionArray[i] = dis.readUTF();
+    }
+    this.regionIds.addAll(Arrays.asList(regionArray));
+    // rules (only indexed, decoded on first use)
+    int ruleCount = dis.readShort();
+    int[] ruleOffsets = new int[ruleCount];
+    int[] ruleLengths = new int[ruleCount];
+    for (int i = 0; i < ruleCount; i++) {
+      int length = dis.readShort();
+      ruleOffsets[i] = data.length - bais.available();
+      ruleLengths[i] = length;
+      if (dis.skipBytes(length) != length) {
+        throw new StreamCorruptedException("Unexpected end of file");
+      }
+    }
+    RuleData ruleData = new RuleData(data, ruleOffsets, ruleLengths);
+    // link version-region-rules
+    Set<Version> versionSet = new HashSet<Version>(versionCount);
+    for (int i = 0; i < versionCount; i++) {
+      int versionRegionCount = dis.readShort();
+      String[] versionRegionArray = new String[versionRegionCount];
+      short[] versionRulesArray = new short[versionRegionCount];
+      for (int j = 0; j < versionRegionCount; j++) {
+        versionRegionArray[j] = regionArray[dis.readShort()];
+        versionRulesArray[j] = dis.readShort();
+      }
+      versionSet.add(new Version(versionArray[i], versionRegionArray, versionRulesArray, ruleData));
+    }
+    return versionSet;
+  }
+
+  /**
+   * Reads the given stream completely.
+   * 
+   * @param in the stream to read, not null
+   * @return the bytes of the stream, not null
+   * @throws IOException if an error occurs
+   */
+  private static byte[] readFully(InputStream in) throws IOException {
+
+    byte[] buffer = new byte[64 * 1024];
+    int length = 0;
+    while (true) {
+      int count = in.read(buffer, length, buffer.length - length);
+      if (count < 0) {
+        break;
+      }
+      length += count;
+      if (length == buffer.length) {
+        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+      }
+    }
+    return Arrays.copyOf(buffer, length);
   }
 
   @Override
@@ -235,9 +277,9 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 
     private final short[] ruleIndices;
 
-    private final AtomicReferenceArray<Object> ruleData;
+    private final RuleData ruleData;
 
-    Version(String versionId, String[] regionIds, short[] ruleIndices, AtomicReferenceArray<Object> ruleData) {
+    Version(String versionId, String[] regionIds, short[] ruleIndices, RuleData ruleData) {
 
       this.ruleData = ruleData;
       this.versionId = versionId;
@@ -261,14 +303,7 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
 
     ZoneRules createRule(short index) throws Exception {
 
-      Object obj = this.ruleData.get(index);
-      if (obj instanceof byte[]) {
-        byte[] bytes = (byte[]) obj;
-        DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bytes));
-        obj = Ser.read(dis);
-        this.ruleData.set(index, obj);
-      }
-      return (ZoneRules) obj;
+      return this.ruleData.getRules(index);
     }
 
     @Override
@@ -278,4 +313,42 @@ public final class TzdbZoneRulesProvider extends ZoneRulesProvider {
     }
   }
 
+  // -----------------------------------------------------------------------
+  /**
+   * The index of the rules of a TZDB file shared by all its versions. The rules are kept as bytes of the file
+   * and only decoded on first use.
+   */
+  static final class RuleData {
+
+    private final byte[] data;
+
+    private final int[] offsets;
+
+    private final int[] lengths;
+
+    private final AtomicReferenceArray<ZoneRules> rules;
+
+    RuleData(byte[] data, int[] offsets, int[] lengths) {
+
+      this.data = data;
+      this.offsets = offsets;
+      this.lengths = lengths;
+      this.rules = new AtomicReferenceArray<ZoneRules>(offsets.length);
+    }
+
+    ZoneRules getRules(int index) throws Exception {
+
+      ZoneRules result = this.rules.get(index);
+      if (result == null) {
+        DataInputStream dis = new DataInputStream(new ByteArrayInputStream(this.data, this.offsets[index],
+            this.lengths[index]));
+        result = (ZoneRules) Ser.read(dis);
+        if (!this.rules.compareAndSet(index, null, result)) {
+          result = this.rules.get(index);
+        }
+      }
+      return result;
+    }
+  }
+
 }
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2008-2012, Stephen Colebourne & Michael Nascimento Santos
+ *
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ *  * Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ *
+ *  * Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ *  * Neither the name of JSR-310 nor the names of its contributors
+ *    may be used to endorse or promote products derived from this software
+ *    without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package java.time.format;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.calendrical.DateTimeAccessor;
+import java.time.calendrical.DateTimeBuilder;
+import java.time.format.DateTimeFormatterBuilder.CompositePrinterParser;
+import java.time.format.DateTimeFormatterBuilder.FixedWidthPrinterParser;
+import java.util.Locale;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Test FixedWidthPrinterParser.
+ */
+@Test(groups = { "implementation" })
+public class TestFixedWidthPrinterParser {
+
+  private static FixedWidthPrinterParser compile(DateTimeFormatter formatter) {
+
+    return FixedWidthPrinterParser.compile(formatter.toPrinterParser(false), formatter.getSymbols());
+  }
+
+  @DataProvider(name = "supported")
+  Object[][] data_supported() {
+
+    return new Object[][] { { DateTimeFormatters.isoLocalDate(), true }, { DateTimeFormatters.isoLocalTime(), true },
+        { DateTimeFormatters.isoLocalDateTime(), true }, { DateTimeFormatters.pattern("yyyy-MM-dd HH:mm:ss"), true },
+        { DateTimeFormatters.pattern("yyyyMMddHHmmss"), true }, { DateTimeFormatters.pattern("d.M.yyyy"), true },
+        { DateTimeFormatters.isoOffsetDateTime(), false }, { DateTimeFormatters.isoInstant(), false },
+        { DateTimeFormatters.basicIsoDate(), false }, { DateTimeFormatters.rfc1123(), false },
+        { DateTimeFormatters.pattern("dd MMM yyyy"), false }, { DateTimeFormatters.pattern("yy-MM-dd"), false }, };
+  }
+
+  @Test(dataProvider = "supported")
+  public void test_compile(DateTimeFormatter formatter, boolean supported) {
+
+    assertEquals(compile(formatter) != null, supported);
+  }
+
+  public void test_compile_localizedSymbols() {
+
+    DateTimeFormatSymbols symbols = DateTimeFormatSymbols.STANDARD.withZeroDigit('\u0660');
+    assertNull(compile(DateTimeFormatters.isoLocalDate().withSymbols(symbols)));
+  }
+
+  // -----------------------------------------------------------------------
+  @DataProvider(name = "print")
+  Object[][] data_print() {
+
+    DateTimeFormatter custom = DateTimeFormatters.pattern("yyyy-MM-dd HH:mm:ss");
+    DateTimeFormatter adjacent = DateTimeFormatters.pattern("yyyyMMddHHmmss");
+    return new Object[][] { { DateTimeFormatters.isoLocalDate(), LocalDate.of(2012, 3, 4), true },
+        { DateTimeFormatters.isoLocalDate(), LocalDate.of(12, 12, 31), true },
+        { DateTimeFormatters.isoLocalDate(), LocalDate.of(12345, 1, 1), false },
+        { DateTimeFormatters.isoLocalDate(), LocalDate.of(-1, 1, 1), false },
+        { DateTimeFormatters.isoLocalDate(), LocalTime.of(12, 30), false },
+        { DateTimeFormatters.isoLocalTime(), LocalTime.of(12, 30), true },
+        { DateTimeFormatters.isoLocalTime(), LocalTime.of(12, 30, 40), true },
+        { DateTimeFormatters.isoLocalTime(), LocalTime.of(12, 30, 40, 100000000), true },
+        { DateTimeFormatters.isoLocalTime(), LocalTime.of(12, 30, 40, 120000), true },
+        { DateTimeFormatters.isoLocalTime(), LocalTime.of(12, 30, 40, 1), true },
+        { DateTimeFormatters.isoLocalDateTime(), LocalDateTime.of(2012, 3, 4, 5, 6, 7, 890000000), true },
+        { DateTimeFormatters.isoLocalDateTime(), LocalDateTime.of(2012, 3, 4, 0, 0), true },
+        { custom, LocalDateTime.of(2012, 3, 4, 5, 6, 7), true },
+        { adjacent, LocalDateTime.of(2012, 3, 4, 5, 6, 7), true }, };
+  }
+
+  @Test(dataProvider = "print")
+  public void test_print(DateTimeFormatter formatter, DateTimeAccessor dateTime, boolean printed) {
+
+    FixedWidthPrinterParser pp = compile(formatter);
+    StringBuilder buf = new StringBuilder("EXISTING");
+    assertEquals(pp.print(dateTime, buf), printed);
+    if (printed) {
+      StringBuilder expected = new StringBuilder("EXISTING");
+      DateTimePrintContext context = new DateTimePrintContext(dateTime, Locale.ENGLISH, DateTimeFormatSymbols.STANDARD);
+      formatter.toPrinterParser(false).print(context, expected);
+      assertEquals(buf.toString(), expected.toString());
+    } else {
+      assertEquals(buf.toString(), "EXISTING");
+    }
+  }
+
+  // -----------------------------------------------------------------------
+  @DataProvider(name = "parse")
+  Object[][] data_parse() {
+
+    DateTimeFormatter custom = DateTimeFormatters.pattern("yyyy-MM-dd HH:mm:ss");
+    DateTimeFormatter adjacent = DateTimeFormatters.pattern("yyyyMMddHHmmss");
+    DateTimeFormatter variable = DateTimeFormatters.pattern("d.M.yyyy");
+    return new Object[][] { { DateTimeFormatters.isoLocalDate(), "2012-03-04", 0, true },
+        { DateTimeFormatters.isoLocalDate(), "XX2012-03-04YY", 2, true },
+        { DateTimeFormatters.isoLocalDate(), "2012-13-40", 0, true },
+        { DateTimeFormatters.isoLocalDate(), "+12345-03-04", 0, false },
+        { DateTimeFormatters.isoLocalDate(), "12345-03-04", 0, false },
+        { DateTimeFormatters.isoLocalDate(), "2012-3-04", 0, false },
+        { DateTimeFormatters.isoLocalDate(), "2012/03/04", 0, false },
+        { DateTimeFormatters.isoLocalDate(), "2012-03-0", 0, false },
+        { DateTimeFormatters.isoLocalDate(), "", 0, false },
+        { DateTimeFormatters.isoLocalTime(), "12:30", 0, true },
+        { DateTimeFormatters.isoLocalTime(), "12:30:40", 0, true },
+        { DateTimeFormatters.isoLocalTime(), "12:30:40.", 0, true },
+        { DateTimeFormatters.isoLocalTime(), "12:30:40.1", 0, true },
+        { DateTimeFormatters.isoLocalTime(), "12:30:40.123456789", 0, true },
+        { DateTimeFormatters.isoLocalTime(), "12:30:40.1234567891", 0, true },
+        { DateTimeFormatters.isoLocalTime(), "12:30:4", 0, false },
+        { DateTimeFormatters.isoLocalTime(), "12:30X", 0, true },
+        { DateTimeFormatters.isoLocalDateTime(), "2012-03-04T05:06:07.89", 0, true },
+        { DateTimeFormatters.isoLocalDateTime(), "2012-03-04t05:06", 0, true },
+        { custom, "2012-03-04 05:06:07", 0, true }, { adjacent, "20120304050607", 0, true },
+        { adjacent, "2012030405060", 0, false }, { variable, "4.3.2012", 0, true },
+        { variable, "04.03.2012", 0, true }, { variable, "-4.3.2012", 0, false }, };
+  }
+
+  @Test(dataProvider = "parse")
+  public void test_parse(DateTimeFormatter formatter, String text, int pos, boolean parsed) {
+
+    FixedWidthPrinterParser pp = compile(formatter);
+    ParsePosition position = new ParsePosition(pos);
+    DateTimeBuilder builder = pp.parse(text, position);
+    if (parsed) {
+      assertNotNull(builder);
+      DateTimeParseContext context = new DateTimeParseContext(Locale.ENGLISH, DateTimeFormatSymbols.STANDARD);
+      int expectedPos = formatter.toPrinterParser(false).parse(context, text, pos);
+      assertTrue(expectedPos >= 0);
+      assertEquals(position.getIndex(), expectedPos);
+      assertEquals(builder.getFieldValueMap(), context.toBuilder().getFieldValueMap());
+    } else {
+      assertNull(builder);
+      assertEquals(position.getIndex(), pos);
+      assertEquals(position.getErrorIndex(), -1);
+    }
+  }
+
+  public void test_formatter_roundTrip() {
+
+    DateTimeFormatter formatter = DateTimeFormatters.isoLocalDateTime();
+    LocalDateTime dateTime = LocalDateTime.of(2012, 3, 4, 5, 6, 7, 890000000);
+    String text = formatter.print(dateTime);
+    assertEquals(text, "2012-03-04T05:06:07.89");
+    assertEquals(formatter.parse(text, LocalDateTime.class), dateTime);
+    assertNull(formatter.parseToBuilder("2012-03-0X", new ParsePosition(0)));
+  }
+
+}
@@ -37,10 +37,14 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.time.zone.ZoneRules;
+import java.time.zone.ZoneRulesProvider;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Test Performance.
@@ -74,6 +78,8 @@ public class PerformanceZone {
       jsrInstantGetOffset();
       jsrRulesLocalGetOffset();
       jsrRulesInstantGetOffset();
+      jsrZonesInstantGetOffset();
+      jsrZonesZonedDateTime();
       jdkLocalGetOffset();
       jdkInstantGetOffset();
       System.out.println();
@@ -136,6 +142,52 @@ public class PerformanceZone {
     System.out.println("JSR-InR: Setup:  " + NF.format(end - start) + " ns" + list[0]);
   }
 
+  // -----------------------------------------------------------------------
+  private static ZoneId[] getZones() {
+
+    Set<String> zoneIds = new TreeSet<String>(ZoneRulesProvider.getAvailableZoneIds());
+    ZoneId[] zones = new ZoneId[zoneIds.size()];
+    int i = 0;
+    for (String zoneId : zoneIds) {
+      zones[i++] = ZoneId.of(zoneId);
+    }
+    return zones;
+  }
+
+  // -----------------------------------------------------------------------
+  private static void jsrZonesInstantGetOffset() {
+
+    ZoneId[] zones = getZones();
+    Instant instant = LocalDateTime.of(2012, 6, 1, 12, 0).toInstant(ZoneOffset.UTC);
+    ZoneOffset[] list = new ZoneOffset[SIZE];
+    long start = System.nanoTime();
+    for (int i = 0; i < SIZE; i++) {
+      list[i] = zones[i % zones.length].getRules().getOffset(instant.plusSeconds(i * 3600L));
+    }
+    long end = System.nanoTime();
+    System.out.println("JSR-InZ: " + zones.length + " zones:  " + NF.format(end - start) + " ns" + list[0]);
+  }
+
+  // -----------------------------------------------------------------------
+  private static void jsrZonesZonedDateTime() {
+
+    ZoneId[] zones = getZones();
+    LocalDateTime dt = LocalDateTime.of(2012, 6, 1, 12, 0);
+    Instant instant = dt.toInstant(ZoneOffset.UTC);
+    ZonedDateTime[] list = new ZonedDateTime[SIZE];
+    long start = System.nanoTime();
+    for (int i = 0; i < SIZE; i++) {
+      ZoneId zone = zones[i % zones.length];
+      if ((i & 1) == 0) {
+        list[i] = ZonedDateTime.ofInstant(instant.plusSeconds(i * 3600L), zone);
+      } else {
+        list[i] = ZonedDateTime.of(dt.plusHours(i), zone);
+      }
+    }
+    long end = System.nanoTime();
+    System.out.println("JSR-ZDT: " + zones.length + " zones:  " + NF.format(end - start) + " ns" + list[0]);
+  }
+
   // -----------------------------------------------------------------------
   private static void jdkLocalGetOffset() {
 
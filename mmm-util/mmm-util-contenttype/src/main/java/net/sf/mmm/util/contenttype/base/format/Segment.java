@@ -2,15 +2,10 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.util.contenttype.base.format;
 
-import java.util.List;
-import java.util.Map;
-
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
 
-import net.sf.mmm.util.contenttype.base.DecisionState;
-import net.sf.mmm.util.io.api.spi.DetectorStreamBuffer;
 import net.sf.mmm.util.nls.api.NlsIllegalArgumentException;
 
 /**
@@ -138,20 +133,4 @@ public abstract class Segment {
     }
   }
 
-  /**
-   * 
-   * @param state
-   * @param stateList
-   * @param buffer
-   * @param metadata
-   * @param eos
-   * @return
-   */
-  // public abstract boolean detect(DecisionState state, List<DecisionState> stateList,
-  public boolean detect(DecisionState state, List<DecisionState> stateList, DetectorStreamBuffer buffer,
-      Map<String, Object> metadata, boolean eos) {
-
-    return false;
-  }
-
 }
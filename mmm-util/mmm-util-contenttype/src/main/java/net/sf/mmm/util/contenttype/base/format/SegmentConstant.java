@@ -103,16 +103,21 @@ public class SegmentConstant extends Segment {
 
     NlsNullPointerException.checkNotNull(source, bytes);
     int length = bytes.length();
-    if ((length == 0) || (length % 3 != 0)) {
+    if ((length == 0) || ((length + 1) % 3 != 0)) {
       throw new NlsIllegalArgumentException(bytes, source);
     }
-    length = length / 3;
+    length = (length + 1) / 3;
     byte[] result = new byte[length];
     int start = 0;
     for (int i = 0; i < length; i++) {
-      String byteString = bytes.substring(start, start + 1);
-      result[i] = (byte) Integer.parseInt(byteString, 16);
-      if (bytes.charAt(start + 2) != '-') {
+      String byteString = bytes.substring(start, start + 2);
+      try {
+        result[i] = (byte) Integer.parseInt(byteString, 16);
+      } catch (NumberFormatException e) {
+        throw new NlsIllegalArgumentException(bytes, source, e);
+      }
+      int separatorIndex = start + 2;
+      if ((separatorIndex < bytes.length()) && (bytes.charAt(separatorIndex) != '-')) {
         throw new NlsIllegalArgumentException(bytes, source);
       }
       start = start + 3;
@@ -3,78 +3,65 @@
 package net.sf.mmm.util.contenttype.impl;
 
 import java.io.IOException;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
-import net.sf.mmm.util.contenttype.base.ContentTypeBean;
 import net.sf.mmm.util.contenttype.base.DecisionTreeNode;
-import net.sf.mmm.util.contenttype.base.format.Segment;
-import net.sf.mmm.util.contenttype.base.format.SegmentContainerSequence;
 import net.sf.mmm.util.io.api.spi.DetectorStreamBuffer;
 import net.sf.mmm.util.io.api.spi.DetectorStreamProcessor;
 
 /**
- * This is an implementation of {@link DetectorStreamProcessor} that allows to
- * detect a {@link ContentTypeBean} using {@link DecisionTreeNode}.<br/>
+ * This is an implementation of {@link DetectorStreamProcessor} that allows to detect a
+ * {@link net.sf.mmm.util.contenttype.api.ContentType} using {@link DecisionTreeNode}. Each byte of the stream
+ * is inspected at most once and only until the {@link net.sf.mmm.util.contenttype.api.ContentType} is
+ * decided. The detected {@link net.sf.mmm.util.contenttype.api.ContentType} is stored in the metadata with
+ * the key {@link #METADATA_KEY_CONTENT_TYPE}.<br/>
  * <b>ATTENTION:</b><br/>
  * This implementation is stateful and therefore NOT thread-safe.
- * 
+ *
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 1.0.0
  */
 public class ContentTypeDetectorStreamProcessor implements DetectorStreamProcessor {
 
-  private final List<ContentTypeBean> contentTypes;
+  /**
+   * The key of the {@link net.sf.mmm.util.io.api.DetectorStream#getMetadata() metadata} for the detected
+   * {@link net.sf.mmm.util.contenttype.api.ContentType}.
+   */
+  public static final String METADATA_KEY_CONTENT_TYPE = "content-type";
 
-  private List<ContentTypeDetectorStreamProcessor.DecisionState> stateList;
+  /** The current {@link DecisionTreeNode} or <code>null</code> if nothing matches. */
+  private DecisionTreeNode node;
 
   /**
    * The constructor.
-   * 
+   *
    * @param rootNode is the the top-level {@link DecisionTreeNode}.
    */
-  public ContentTypeDetectorStreamProcessor(List<ContentTypeBean> contentTypes) {
+  public ContentTypeDetectorStreamProcessor(DecisionTreeNode rootNode) {
 
     super();
-    this.contentTypes = contentTypes;
+    this.node = rootNode;
   }
 
   /**
    * {@inheritDoc}
    */
-  public void process(DetectorStreamBuffer buffer, Map<String, Object> metadata, boolean eos)
-      throws IOException {
+  public void process(DetectorStreamBuffer buffer, Map<String, Object> metadata, boolean eos) throws IOException {
 
-    if (this.stateList == null) {
-      this.stateList = new LinkedList<ContentTypeDetectorStreamProcessor.DecisionState>();
-      for (ContentTypeBean contentType : this.contentTypes) {
-        detectInitially(contentType);
-      }
+    if (this.node == null) {
+      buffer.skip();
     } else {
-
+      this.node = this.node.detect(buffer, metadata, eos);
     }
   }
 
-  protected void detectInitially(ContentTypeBean contentType) {
-
-    SegmentContainerSequence sequence = contentType.getFormat();
-    int length = sequence.getSegmentCount();
-    for (int i = 0; i < length; i++) {
-      Segment child = sequence.getSegment(i);
-
-    }
-  }
-
-  private static class DecisionState {
-
-    private ContentTypeBean contentType;
-
-    private Segment segment;
-
-    private int segmentIndex;
+  /**
+   * @return the current {@link DecisionTreeNode} or <code>null</code> if the stream does NOT match any known
+   *         {@link net.sf.mmm.util.contenttype.api.ContentType}.
+   */
+  public DecisionTreeNode getNode() {
 
+    return this.node;
   }
 
 }
@@ -2,9 +2,6 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.util.contenttype.impl;
 
-import java.util.List;
-
-import net.sf.mmm.util.contenttype.base.ContentTypeBean;
 import net.sf.mmm.util.contenttype.base.DecisionTreeNode;
 import net.sf.mmm.util.io.api.spi.DetectorStreamProcessor;
 import net.sf.mmm.util.io.base.AbstractDetectorStreamProcessorFactory;
@@ -12,7 +9,7 @@ import net.sf.mmm.util.io.base.AbstractDetectorStreamProcessorFactory;
 /**
  * This is the implementation of {@link net.sf.mmm.util.io.api.spi.DetectorStreamProcessorFactory} for
  * {@link ContentTypeDetectorStreamProcessor}.
- * 
+ *
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 1.0.0
  */
@@ -26,7 +23,18 @@ public class ContentTypeDetectorStreamProcessorFactory extends AbstractDetectorS
 
   /**
    * The constructor.
-   * 
+   *
+   * @param rootNode is the top-level {@link DecisionTreeNode} (e.g. from
+   *        {@link DecisionTreeBuilder#getRootNode()}).
+   */
+  public ContentTypeDetectorStreamProcessorFactory(DecisionTreeNode rootNode) {
+
+    this(rootNode, 0);
+  }
+
+  /**
+   * The constructor.
+   *
    * @param rootNode is the top-level {@link DecisionTreeNode}.
    * @param lookaheadCount - see {@link #getLookaheadCount()}.
    */
@@ -51,8 +59,7 @@ public class ContentTypeDetectorStreamProcessorFactory extends AbstractDetectorS
    */
   public DetectorStreamProcessor createProcessor() {
 
-    List<ContentTypeBean> contentTypes = null;
-    return new ContentTypeDetectorStreamProcessor(contentTypes);
+    return new ContentTypeDetectorStreamProcessor(this.rootNode);
   }
 
 }
@@ -8,7 +8,9 @@ import javax.inject.Singleton;
 
 import net.sf.mmm.util.contenttype.api.ContentType;
 import net.sf.mmm.util.contenttype.base.AbstractContentTypeManager;
+import net.sf.mmm.util.contenttype.base.ContentTypeList;
 import net.sf.mmm.util.contenttype.base.ContentTypeListLoader;
+import net.sf.mmm.util.io.api.spi.DetectorStreamProcessorFactory;
 
 /**
  * This is the implementation of the
@@ -26,6 +28,9 @@ public class ContentTypeManagerImpl extends AbstractContentTypeManager {
   /** @see #getTechnicalRootType() */
   private ContentType technicalRootType;
 
+  /** @see #getDetectorStreamProcessorFactory() */
+  private DetectorStreamProcessorFactory detectorStreamProcessorFactory;
+
   /**
    * The constructor.
    */
@@ -46,9 +51,13 @@ public class ContentTypeManagerImpl extends AbstractContentTypeManager {
 
     ContentTypeListLoader loader = new ContentTypeListLoader();
     loader.initialize();
-    this.rootType = loader.loadXml("classpath:net/sf/mmm/util/contenttype/contenttypes.xml")
-        .getRoot();
+    ContentTypeList contentTypeList = loader.loadXml("classpath:net/sf/mmm/util/contenttype/contenttypes.xml");
+    this.rootType = contentTypeList.getRoot();
     addContentTypeRecursively(this.rootType);
+    DecisionTreeBuilder decisionTreeBuilder = new DecisionTreeBuilder();
+    decisionTreeBuilder.addContentTypes(contentTypeList.getContentTypes());
+    this.detectorStreamProcessorFactory = new ContentTypeDetectorStreamProcessorFactory(
+        decisionTreeBuilder.getRootNode());
   }
 
   /**
@@ -82,4 +91,18 @@ public class ContentTypeManagerImpl extends AbstractContentTypeManager {
     return this.technicalRootType;
   }
 
+  /**
+   * This method gets the {@link DetectorStreamProcessorFactory} to detect the {@link ContentType} of a
+   * stream. All formats of the known {@link ContentType}s are compiled into a single decision automaton so
+   * the detection is linear to the number of bytes inspected. The result is stored in the
+   * {@link net.sf.mmm.util.io.api.DetectorStream#getMetadata() metadata} with the key
+   * {@link ContentTypeDetectorStreamProcessor#METADATA_KEY_CONTENT_TYPE}.
+   * 
+   * @return the {@link DetectorStreamProcessorFactory}.
+   */
+  public DetectorStreamProcessorFactory getDetectorStreamProcessorFactory() {
+
+    return this.detectorStreamProcessorFactory;
+  }
+
 }
@@ -0,0 +1,643 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.contenttype.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.sf.mmm.util.contenttype.api.ContentType;
+import net.sf.mmm.util.contenttype.base.ContentTypeBean;
+import net.sf.mmm.util.contenttype.base.format.Segment;
+import net.sf.mmm.util.contenttype.base.format.SegmentConstant;
+import net.sf.mmm.util.contenttype.base.format.SegmentContainer;
+import net.sf.mmm.util.contenttype.base.format.SegmentContainerChoice;
+import net.sf.mmm.util.contenttype.base.format.SegmentContainerRepeat;
+import net.sf.mmm.util.contenttype.base.format.SegmentEndOfStream;
+import net.sf.mmm.util.contenttype.base.format.SegmentRange;
+import net.sf.mmm.util.contenttype.base.format.SegmentVariableLength;
+import net.sf.mmm.util.nls.api.IllegalCaseException;
+
+/**
+ * This class compiles the {@link ContentTypeBean#getFormat() formats} of all given {@link ContentTypeBean}s
+ * into a single byte-level decision automaton. The {@link Segment}s are first translated into a
+ * non-deterministic automaton where constant prefixes become chains of byte transitions,
+ * {@link SegmentRange ranges} become byte-range transitions and {@link SegmentVariableLength variable-length}
+ * segments become any-byte transitions or loops. The automaton is then determinized lazily while the stream
+ * is processed: every {@link DecisionTreeNodeImpl} represents the set of reachable states and has a table with
+ * 256 entries for its successors. As the nodes are cached, each byte of the stream is inspected only once
+ * with a single array lookup regardless of the number of {@link ContentType}s. The accepting state of a
+ * format loops on any byte so a {@link ContentType} that has been accepted stays the result even if a more
+ * specific {@link ContentType} with a longer format fails later on.<br/>
+ * <b>NOTE:</b><br/>
+ * {@link net.sf.mmm.util.contenttype.base.format.SegmentKey Keys} and
+ * {@link net.sf.mmm.util.contenttype.base.format.SegmentValue values} are matched like
+ * {@link net.sf.mmm.util.contenttype.base.format.SegmentAny any} segments of the same length. A
+ * {@link SegmentRange} is matched byte by byte (each byte has to be in the range of the according bytes of
+ * minimum and maximum).
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 1.0.0
+ */
+public class DecisionTreeBuilder {
+
+  /**
+   * The maximum number of bytes of a {@link SegmentVariableLength} or the maximum number of occurrences of a
+   * {@link SegmentContainerRepeat} that are unrolled (separately for the minimum and the optional part).
+   * Beyond that a loop is used so the automaton may also accept a stream where the segment is shorter than
+   * its minimum length.
+   */
+  private static final int UNROLL_LIMIT = 64;
+
+  /** The index for the first byte that is NOT valid anymore. */
+  private static final int BYTE_COUNT = 256;
+
+  /** The states of the non-deterministic automaton. */
+  private final List<State> states;
+
+  /** The {@link ContentTypeBean}s that have a format. */
+  private final List<ContentTypeBean> contentTypes;
+
+  /** The specificity of the {@link #contentTypes} used for prioritization. */
+  private final List<int[]> contentTypeRanks;
+
+  /** @see #getRootType() */
+  private ContentType rootType;
+
+  /** The cache of the determinized {@link DecisionTreeNodeImpl nodes}. */
+  private final Map<StateSetKey, DecisionTreeNodeImpl> nodeCache;
+
+  /** The initial state. */
+  private final State start;
+
+  /**
+   * The constructor.
+   */
+  public DecisionTreeBuilder() {
+
+    super();
+    this.states = new ArrayList<State>();
+    this.contentTypes = new ArrayList<ContentTypeBean>();
+    this.contentTypeRanks = new ArrayList<int[]>();
+    this.nodeCache = new HashMap<StateSetKey, DecisionTreeNodeImpl>();
+    this.start = newState(-1);
+  }
+
+  /**
+   * This method adds the given {@link ContentTypeBean}s to this builder.
+   *
+   * @param types are the {@link ContentTypeBean}s to add. Types without a
+   *        {@link ContentTypeBean#getFormat() format} or that are {@link ContentTypeBean#isAbstract() abstract}
+   *        are ignored.
+   */
+  public synchronized void addContentTypes(Collection<ContentTypeBean> types) {
+
+    for (ContentTypeBean contentType : types) {
+      addContentType(contentType);
+    }
+  }
+
+  /**
+   * This method adds the given {@link ContentTypeBean} to this builder.
+   *
+   * @param contentType is the {@link ContentTypeBean} to add. It is ignored if it has no
+   *        {@link ContentTypeBean#getFormat() format} or is {@link ContentTypeBean#isAbstract() abstract}.
+   */
+  public synchronized void addContentType(ContentTypeBean contentType) {
+
+    if (this.rootType == null) {
+      ContentType type = contentType;
+      while (type.getParent() != null) {
+        type = type.getParent();
+      }
+      this.rootType = type;
+    }
+    if (contentType.isAbstract() || (contentType.getFormat() == null)) {
+      return;
+    }
+    if (!this.nodeCache.isEmpty()) {
+      // automaton already (partially) determinized
+      this.nodeCache.clear();
+    }
+    int typeIndex = this.contentTypes.size();
+    this.contentTypes.add(contentType);
+    int depth = 0;
+    ContentType parent = contentType.getParent();
+    while (parent != null) {
+      depth++;
+      parent = parent.getParent();
+    }
+    long minimumLength = contentType.getFormat().getMinimumLength();
+    this.contentTypeRanks.add(new int[] { depth, (int) Math.min(minimumLength, Integer.MAX_VALUE) });
+    State first = newState(typeIndex);
+    this.start.addEpsilon(first);
+    State end = compile(contentType.getFormat(), first, typeIndex);
+    end.accept = true;
+    if (!end.isLoop()) {
+      // once accepted the type has to remain a candidate regardless of the following bytes
+      end.addTransition(0, BYTE_COUNT - 1, end);
+    }
+  }
+
+  /**
+   * @return the root {@link ContentType} that is associated with the initial {@link DecisionTreeNodeImpl
+   *         node} before anything has been detected.
+   */
+  public ContentType getRootType() {
+
+    return this.rootType;
+  }
+
+  /**
+   * This method gets the initial {@link DecisionTreeNodeImpl node} of the decision automaton.
+   *
+   * @return the root {@link DecisionTreeNodeImpl}.
+   */
+  public synchronized DecisionTreeNodeImpl getRootNode() {
+
+    BitSet set = new BitSet(this.states.size());
+    addClosure(this.start, set);
+    return getNode(set);
+  }
+
+  /**
+   * @param owner is the index of the {@link ContentTypeBean} the state belongs to.
+   * @return the new {@link State}.
+   */
+  private State newState(int owner) {
+
+    State state = new State(this.states.size(), owner);
+    this.states.add(state);
+    return state;
+  }
+
+  /**
+   * This method compiles the given {@link Segment} appending it to the given <code>from</code> {@link State}.
+   *
+   * @param segment is the {@link Segment} to compile.
+   * @param from is the {@link State} where the <code>segment</code> starts.
+   * @param owner is the index of the {@link ContentTypeBean} the <code>segment</code> belongs to.
+   * @return the {@link State} where the <code>segment</code> ends.
+   */
+  private State compile(Segment segment, State from, int owner) {
+
+    if (segment instanceof SegmentConstant) {
+      State current = from;
+      for (byte b : ((SegmentConstant) segment).getBytes()) {
+        State next = newState(owner);
+        int value = b & 0xFF;
+        current.addTransition(value, value, next);
+        current = next;
+      }
+      return current;
+    } else if (segment instanceof SegmentRange) {
+      SegmentRange range = (SegmentRange) segment;
+      byte[] minimum = range.getBytesMinimum();
+      byte[] maximum = range.getBytesMaximum();
+      State current = from;
+      for (int i = 0; i < minimum.length; i++) {
+        State next = newState(owner);
+        current.addTransition(minimum[i] & 0xFF, maximum[i] & 0xFF, next);
+        current = next;
+      }
+      return current;
+    } else if (segment instanceof SegmentVariableLength) {
+      return compileVariableLength(segment.getMinimumLength(), segment.getMaximumLength(), from, owner);
+    } else if (segment instanceof SegmentEndOfStream) {
+      State next = newState(owner);
+      from.addEndOfStream(next);
+      return next;
+    } else if (segment instanceof SegmentContainerChoice) {
+      SegmentContainer choice = (SegmentContainer) segment;
+      State end = newState(owner);
+      int count = choice.getSegmentCount();
+      for (int i = 0; i < count; i++) {
+        State alternative = newState(owner);
+        from.addEpsilon(alternative);
+        compile(choice.getSegment(i), alternative, owner).addEpsilon(end);
+      }
+      return end;
+    } else if (segment instanceof SegmentContainerRepeat) {
+      return compileRepeat((SegmentContainerRepeat) segment, from, owner);
+    } else if (segment instanceof SegmentContainer) {
+      return compileSequence((SegmentContainer) segment, from, owner);
+    } else {
+      throw new IllegalCaseException(segment.getClass().getName());
+    }
+  }
+
+  /**
+   * @see #compile(Segment, State, int)
+   *
+   * @param sequence is the sequence to compile.
+   * @param from is the {@link State} where the <code>sequence</code> starts.
+   * @param owner is the index of the {@link ContentTypeBean} the <code>sequence</code> belongs to.
+   * @return the {@link State} where the <code>sequence</code> ends.
+   */
+  private State compileSequence(SegmentContainer sequence, State from, int owner) {
+
+    State current = from;
+    int count = sequence.getSegmentCount();
+    for (int i = 0; i < count; i++) {
+      current = compile(sequence.getSegment(i), current, owner);
+    }
+    return current;
+  }
+
+  /**
+   * @see #compile(Segment, State, int)
+   *
+   * @param repeat is the {@link SegmentContainerRepeat} to compile.
+   * @param from is the {@link State} where the <code>repeat</code> starts.
+   * @param owner is the index of the {@link ContentTypeBean} the <code>repeat</code> belongs to.
+   * @return the {@link State} where the <code>repeat</code> ends.
+   */
+  private State compileRepeat(SegmentContainerRepeat repeat, State from, int owner) {
+
+    State current = from;
+    int minimum = repeat.getMinimumOccurrence();
+    int unrolled = Math.min(minimum, UNROLL_LIMIT);
+    for (int i = 0; i < unrolled; i++) {
+      current = compileSequence(repeat, current, owner);
+    }
+    int optional = repeat.getMaximumOccurrence() - minimum;
+    if ((minimum > unrolled) || (optional > UNROLL_LIMIT)) {
+      State loopEnd = compileSequence(repeat, current, owner);
+      loopEnd.addEpsilon(current);
+      return current;
+    }
+    State end = newState(owner);
+    current.addEpsilon(end);
+    for (int i = 0; i < optional; i++) {
+      current = compileSequence(repeat, current, owner);
+      current.addEpsilon(end);
+    }
+    return end;
+  }
+
+  /**
+   * @see #compile(Segment, State, int)
+   *
+   * @param minimumLength is the {@link Segment#getMinimumLength() minimum length}.
+   * @param maximumLength is the {@link Segment#getMaximumLength() maximum length}.
+   * @param from is the {@link State} where the segment starts.
+   * @param owner is the index of the {@link ContentTypeBean} the segment belongs to.
+   * @return the {@link State} where the segment ends.
+   */
+  private State compileVariableLength(long minimumLength, long maximumLength, State from, int owner) {
+
+    State current = from;
+    long unrolled = Math.min(minimumLength, UNROLL_LIMIT);
+    for (long i = 0; i < unrolled; i++) {
+      State next = newState(owner);
+      current.addTransition(0, BYTE_COUNT - 1, next);
+      current = next;
+    }
+    long optional = maximumLength - minimumLength;
+    if ((minimumLength > unrolled) || (optional > UNROLL_LIMIT)) {
+      State loop = newState(owner);
+      current.addEpsilon(loop);
+      loop.addTransition(0, BYTE_COUNT - 1, loop);
+      return loop;
+    }
+    State end = newState(owner);
+    current.addEpsilon(end);
+    for (long i = 0; i < optional; i++) {
+      State next = newState(owner);
+      current.addTransition(0, BYTE_COUNT - 1, next);
+      next.addEpsilon(end);
+      current = next;
+    }
+    return end;
+  }
+
+  /**
+   * This method adds the given {@link State} and all {@link State}s reachable via epsilon transitions to the
+   * given {@link BitSet}.
+   *
+   * @param state is the {@link State} to add.
+   * @param set is the {@link BitSet} with the {@link State#id IDs} of the collected {@link State}s.
+   */
+  private void addClosure(State state, BitSet set) {
+
+    if (set.get(state.id)) {
+      return;
+    }
+    set.set(state.id);
+    for (State next : state.epsilons) {
+      addClosure(next, set);
+    }
+  }
+
+  /**
+   * This method gets the {@link DecisionTreeNodeImpl} for the given set of {@link State}s from the cache or
+   * creates it.
+   *
+   * @param set is the {@link BitSet} with the {@link State#id IDs} of the (epsilon closed) {@link State}s.
+   * @return the according {@link DecisionTreeNodeImpl} or <code>null</code> if the set is empty.
+   */
+  private DecisionTreeNodeImpl getNode(BitSet set) {
+
+    if (set.isEmpty()) {
+      return null;
+    }
+    StateSetKey key = new StateSetKey(set);
+    DecisionTreeNodeImpl node = this.nodeCache.get(key);
+    if (node == null) {
+      node = createNode(key.stateIds);
+      this.nodeCache.put(key, node);
+    }
+    return node;
+  }
+
+  /**
+   * This method creates a new {@link DecisionTreeNodeImpl} and determines its {@link ContentType}.
+   *
+   * @param stateIds are the {@link State#id IDs} of the {@link State}s represented by the node.
+   * @return the new {@link DecisionTreeNodeImpl}.
+   */
+  private DecisionTreeNodeImpl createNode(int[] stateIds) {
+
+    BitSet possible = new BitSet();
+    BitSet certain = new BitSet();
+    for (int id : stateIds) {
+      State state = this.states.get(id);
+      if (state.owner >= 0) {
+        possible.set(state.owner);
+        if (state.accept || (state.isLoop() && acceptsOnEndOfStream(state))) {
+          certain.set(state.owner);
+        }
+      }
+    }
+    ContentTypeBean best = getBestContentType(certain);
+    // if all types that are still possible are also certain, further bytes can not change the result
+    BitSet undecided = (BitSet) possible.clone();
+    undecided.andNot(certain);
+    boolean decided = undecided.isEmpty();
+    ContentType contentType = best;
+    if (contentType == null) {
+      contentType = this.rootType;
+    }
+    return new DecisionTreeNodeImpl(this, stateIds, contentType, decided);
+  }
+
+  /**
+   * @param state is the {@link State} to check.
+   * @return <code>true</code> if the end of the stream at the given {@link State} leads to an accepting
+   *         {@link State}.
+   */
+  private boolean acceptsOnEndOfStream(State state) {
+
+    BitSet set = new BitSet();
+    addClosure(state, set);
+    return acceptsOnEndOfStream(set) != null;
+  }
+
+  /**
+   * @param set is the {@link BitSet} with the epsilon closed {@link State}s.
+   * @return the {@link BitSet} with the indexes of the {@link ContentTypeBean}s accepted if the stream ends
+   *         at the given {@link State}s or <code>null</code> if none.
+   */
+  private BitSet acceptsOnEndOfStream(BitSet set) {
+
+    BitSet accepted = null;
+    for (int id = set.nextSetBit(0); id >= 0; id = set.nextSetBit(id + 1)) {
+      State state = this.states.get(id);
+      if (state.accept) {
+        if (accepted == null) {
+          accepted = new BitSet();
+        }
+        accepted.set(state.owner);
+      }
+      for (State next : state.endOfStreams) {
+        BitSet closure = new BitSet();
+        addClosure(next, closure);
+        for (int i = closure.nextSetBit(0); i >= 0; i = closure.nextSetBit(i + 1)) {
+          State eosState = this.states.get(i);
+          if (eosState.accept) {
+            if (accepted == null) {
+              accepted = new BitSet();
+            }
+            accepted.set(eosState.owner);
+          }
+        }
+      }
+    }
+    return accepted;
+  }
+
+  /**
+   * This method determines the most specific {@link ContentTypeBean} out of the given candidates. A type is
+   * more specific if it is deeper in the hierarchy of {@link ContentType}s or if its format is longer.
+   *
+   * @param candidates is the {@link BitSet} with the indexes of the candidate {@link ContentTypeBean}s.
+   * @return the best {@link ContentTypeBean} or <code>null</code> if <code>candidates</code> is empty.
+   */
+  private ContentTypeBean getBestContentType(BitSet candidates) {
+
+    int bestIndex = -1;
+    int[] bestRank = null;
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      int[] rank = this.contentTypeRanks.get(i);
+      if ((bestRank == null) || (rank[0] > bestRank[0]) || ((rank[0] == bestRank[0]) && (rank[1] > bestRank[1]))) {
+        bestIndex = i;
+        bestRank = rank;
+      }
+    }
+    if (bestIndex < 0) {
+      return null;
+    }
+    return this.contentTypes.get(bestIndex);
+  }
+
+  /**
+   * This method determines the successor of the given <code>node</code> for the given byte. It is only
+   * called once per node and byte value as the result is cached in the node.
+   *
+   * @param node is the current {@link DecisionTreeNodeImpl}.
+   * @param value is the unsigned value of the next byte.
+   * @return the successor node or <code>null</code> if no {@link ContentType} matches anymore.
+   */
+  synchronized DecisionTreeNodeImpl computeNext(DecisionTreeNodeImpl node, int value) {
+
+    BitSet set = new BitSet(this.states.size());
+    for (int id : node.getStateIds()) {
+      State state = this.states.get(id);
+      int size = state.transitionTargets.size();
+      for (int i = 0; i < size; i++) {
+        int range = state.transitionRanges[i];
+        if ((value >= (range >>> 8)) && (value <= (range & 0xFF))) {
+          addClosure(state.transitionTargets.get(i), set);
+        }
+      }
+    }
+    return getNode(set);
+  }
+
+  /**
+   * This method determines the final {@link DecisionTreeNodeImpl} if the stream ends at the given
+   * <code>node</code>.
+   *
+   * @param node is the current {@link DecisionTreeNodeImpl}.
+   * @return the final node or <code>null</code> if no {@link ContentType} matches.
+   */
+  synchronized DecisionTreeNodeImpl computeEndOfStream(DecisionTreeNodeImpl node) {
+
+    BitSet set = new BitSet(this.states.size());
+    for (int id : node.getStateIds()) {
+      set.set(id);
+    }
+    BitSet accepted = acceptsOnEndOfStream(set);
+    if (accepted == null) {
+      return null;
+    }
+    return new DecisionTreeNodeImpl(this, node.getStateIds(), getBestContentType(accepted), true);
+  }
+
+  /**
+   * A state of the non-deterministic automaton.
+   */
+  private static class State {
+
+    /** The unique index of this state. */
+    private final int id;
+
+    /** The index of the {@link ContentTypeBean} this state belongs to or <code>-1</code> for the start. */
+    private final int owner;
+
+    /** The byte ranges of the transitions encoded as <code>(min &lt;&lt; 8) | max</code>. */
+    private int[] transitionRanges;
+
+    /** The targets of the transitions. */
+    private final List<State> transitionTargets;
+
+    /** The targets of the epsilon transitions. */
+    private final List<State> epsilons;
+
+    /** The targets reached at the end of the stream. */
+    private final List<State> endOfStreams;
+
+    /** <code>true</code> if this state accepts the {@link #owner}. */
+    private boolean accept;
+
+    /**
+     * The constructor.
+     *
+     * @param id - see {@link #id}.
+     * @param owner - see {@link #owner}.
+     */
+    public State(int id, int owner) {
+
+      super();
+      this.id = id;
+      this.owner = owner;
+      this.transitionRanges = new int[0];
+      this.transitionTargets = new ArrayList<State>(1);
+      this.epsilons = new ArrayList<State>(1);
+      this.endOfStreams = new ArrayList<State>(1);
+    }
+
+    /**
+     * @param min is the minimum unsigned byte value.
+     * @param max is the maximum unsigned byte value.
+     * @param target is the target {@link State}.
+     */
+    public void addTransition(int min, int max, State target) {
+
+      int size = this.transitionTargets.size();
+      this.transitionRanges = Arrays.copyOf(this.transitionRanges, size + 1);
+      this.transitionRanges[size] = (min << 8) | max;
+      this.transitionTargets.add(target);
+    }
+
+    /**
+     * @param target is the target of the epsilon transition.
+     */
+    public void addEpsilon(State target) {
+
+      this.epsilons.add(target);
+    }
+
+    /**
+     * @param target is the target {@link State} reached at the end of the stream.
+     */
+    public void addEndOfStream(State target) {
+
+      this.endOfStreams.add(target);
+    }
+
+    /**
+     * @return <code>true</code> if this state loops on any byte so it stays active until the end of the
+     *         stream.
+     */
+    public boolean isLoop() {
+
+      int size = this.transitionTargets.size();
+      for (int i = 0; i < size; i++) {
+        if ((this.transitionTargets.get(i) == this) && (this.transitionRanges[i] == 0xFF)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+  }
+
+  /**
+   * The key for the cache of {@link DecisionTreeNodeImpl}s.
+   */
+  private static class StateSetKey {
+
+    /** The sorted IDs of the states. */
+    private final int[] stateIds;
+
+    /** @see #hashCode() */
+    private final int hash;
+
+    /**
+     * The constructor.
+     *
+     * @param set is the {@link BitSet} with the state IDs.
+     */
+    public StateSetKey(BitSet set) {
+
+      super();
+      int[] ids = new int[set.cardinality()];
+      int i = 0;
+      for (int id = set.nextSetBit(0); id >= 0; id = set.nextSetBit(id + 1)) {
+        ids[i++] = id;
+      }
+      this.stateIds = ids;
+      this.hash = Arrays.hashCode(ids);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+
+      return this.hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object obj) {
+
+      if (obj == this) {
+        return true;
+      }
+      if ((obj == null) || (obj.getClass() != getClass())) {
+        return false;
+      }
+      return Arrays.equals(this.stateIds, ((StateSetKey) obj).stateIds);
+    }
+  }
+
+}
@@ -6,28 +6,60 @@ import java.util.Map;
 
 import net.sf.mmm.util.contenttype.api.ContentType;
 import net.sf.mmm.util.contenttype.base.DecisionTreeNode;
+import net.sf.mmm.util.io.api.ByteArray;
 import net.sf.mmm.util.io.api.spi.DetectorStreamBuffer;
 
 /**
- * TODO: this class ...
- * 
+ * This is the implementation of {@link DecisionTreeNode} as a state of the deterministic automaton created by
+ * {@link DecisionTreeBuilder}. It has a table with the successor node for each possible byte value that is
+ * filled lazily. Nodes are immutable (except for this cache) and can be shared by multiple streams.
+ *
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 1.0.0
  */
 public class DecisionTreeNodeImpl implements DecisionTreeNode {
 
+  /** The {@link DecisionTreeBuilder} that created this node. */
+  private final DecisionTreeBuilder builder;
+
+  /** The IDs of the states of the non-deterministic automaton represented by this node. */
+  private final int[] stateIds;
+
   /** @see #getContentType() */
-  private ContentType contentType;
+  private final ContentType contentType;
+
+  /** @see #isDecided() */
+  private final boolean decided;
+
+  /** The successor nodes for each unsigned byte value. */
+  private final DecisionTreeNodeImpl[] table;
 
-  /** @see */
-  private Map<Byte, DecisionTreeNodeImpl> byte2childNodeMap;
+  /** The marker for an entry of {@link #table} that has no successor. */
+  private static final DecisionTreeNodeImpl NO_MATCH = new DecisionTreeNodeImpl(null, null, null, true);
+
+  /** @see #detect(DetectorStreamBuffer, Map, boolean) */
+  private DecisionTreeNodeImpl endOfStreamNode;
 
   /**
    * The constructor.
+   *
+   * @param builder is the {@link DecisionTreeBuilder} that created this node.
+   * @param stateIds are the IDs of the states of the non-deterministic automaton represented by this node.
+   * @param contentType is the {@link #getContentType() content-type}.
+   * @param decided - see {@link #isDecided()}.
    */
-  public DecisionTreeNodeImpl() {
+  DecisionTreeNodeImpl(DecisionTreeBuilder builder, int[] stateIds, ContentType contentType, boolean decided) {
 
     super();
+    this.builder = builder;
+    this.stateIds = stateIds;
+    this.contentType = contentType;
+    this.decided = decided;
+    if (decided) {
+      this.table = null;
+    } else {
+      this.table = new DecisionTreeNodeImpl[256];
+    }
   }
 
   /**
@@ -39,21 +71,114 @@ public class DecisionTreeNodeImpl implements DecisionTreeNode {
   }
 
   /**
-   * @param contentType is the contentType to set
+   * @return <code>true</code> if the {@link #getContentType() content-type} is final and can not change by
+   *         further data, <code>false</code> otherwise.
    */
-  public void setContentType(ContentType contentType) {
+  public boolean isDecided() {
 
-    this.contentType = contentType;
+    return this.decided;
+  }
+
+  /**
+   * @return the IDs of the states represented by this node.
+   */
+  int[] getStateIds() {
+
+    return this.stateIds;
+  }
+
+  /**
+   * This method gets the successor of this node for the given byte.
+   *
+   * @param value is the unsigned value of the next byte.
+   * @return the successor node or <code>null</code> if no {@link ContentType} matches anymore and none has
+   *         been accepted before.
+   */
+  public DecisionTreeNodeImpl next(int value) {
+
+    DecisionTreeNodeImpl next = this.table[value];
+    if (next == null) {
+      next = this.builder.computeNext(this, value);
+      if (next == null) {
+        next = NO_MATCH;
+      }
+      this.table[value] = next;
+    }
+    if (next == NO_MATCH) {
+      return null;
+    }
+    return next;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public DecisionTreeNodeImpl detect(DetectorStreamBuffer buffer, Map<String, Object> metadata, boolean eos) {
+
+    DecisionTreeNodeImpl node = this;
+    if (!this.decided) {
+      int arrayCount = buffer.getByteArrayCount();
+      for (int arrayIndex = 0; arrayIndex < arrayCount; arrayIndex++) {
+        ByteArray array = buffer.getByteArray(arrayIndex);
+        byte[] bytes = array.getBytes();
+        int max = array.getMaximumIndex();
+        for (int i = array.getCurrentIndex(); i <= max; i++) {
+          node = node.next(bytes[i] & 0xFF);
+          if ((node == null) || node.decided) {
+            break;
+          }
+        }
+        if ((node == null) || node.decided) {
+          break;
+        }
+      }
+    }
+    // the data is only inspected in place and passed through unmodified
+    buffer.skip();
+    if ((node != null) && eos && !node.decided) {
+      node = node.getEndOfStreamNode();
+    }
+    if ((node != null) && node.decided) {
+      String key = ContentTypeDetectorStreamProcessor.METADATA_KEY_CONTENT_TYPE;
+      if (!metadata.containsKey(key)) {
+        metadata.put(key, node.contentType);
+      }
+    }
+    return node;
+  }
+
+  /**
+   * @return the final node if the stream ends at this node or <code>null</code> if no {@link ContentType}
+   *         matches.
+   */
+  private DecisionTreeNodeImpl getEndOfStreamNode() {
+
+    if (this.endOfStreamNode == null) {
+      DecisionTreeNodeImpl node = this.builder.computeEndOfStream(this);
+      if (node == null) {
+        node = NO_MATCH;
+      }
+      this.endOfStreamNode = node;
+    }
+    if (this.endOfStreamNode == NO_MATCH) {
+      return null;
+    }
+    return this.endOfStreamNode;
   }
 
   /**
    * {@inheritDoc}
    */
-  public DecisionTreeNode detect(DetectorStreamBuffer buffer, Map<String, Object> metadata,
-      boolean eos) {
+  @Override
+  public String toString() {
 
-    // TODO Auto-generated method stub
-    return null;
+    StringBuilder buffer = new StringBuilder("DecisionTreeNode[");
+    buffer.append(this.contentType);
+    if (this.decided) {
+      buffer.append(",decided");
+    }
+    buffer.append(']');
+    return buffer.toString();
   }
 
 }
@@ -0,0 +1,160 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.contenttype.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import net.sf.mmm.util.contenttype.api.ContentType;
+import net.sf.mmm.util.contenttype.base.ContentTypeList;
+import net.sf.mmm.util.contenttype.base.ContentTypeListLoader;
+import net.sf.mmm.util.io.api.DetectorInputStream;
+import net.sf.mmm.util.io.api.spi.DetectorStreamProcessorFactory;
+import net.sf.mmm.util.io.impl.DetectorStreamProviderImpl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is the test-case for {@link ContentTypeDetectorStreamProcessor}.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ */
+public class ContentTypeDetectorStreamProcessorTest {
+
+  /** The {@link ContentTypeManagerImpl} to test. */
+  private static ContentTypeManagerImpl contentTypeManager;
+
+  /**
+   * @return the {@link ContentTypeManagerImpl} to test.
+   */
+  protected ContentTypeManagerImpl getContentTypeManager() {
+
+    if (contentTypeManager == null) {
+      ContentTypeManagerImpl manager = new ContentTypeManagerImpl();
+      manager.initialize();
+      contentTypeManager = manager;
+    }
+    return contentTypeManager;
+  }
+
+  /**
+   * This method streams the given <code>data</code> through the {@link ContentTypeDetectorStreamProcessor}.
+   *
+   * @param data is the data to stream.
+   * @return the detected {@link ContentType}.
+   * @throws Exception on error.
+   */
+  protected ContentType detect(byte[] data) throws Exception {
+
+    DetectorStreamProviderImpl provider = new DetectorStreamProviderImpl();
+    List<DetectorStreamProcessorFactory> processorFactoryList = new ArrayList<DetectorStreamProcessorFactory>();
+    processorFactoryList.add(getContentTypeManager().getDetectorStreamProcessorFactory());
+    provider.setProcessorFactoryList(processorFactoryList);
+    provider.initialize();
+    DetectorInputStream detectorStream = provider.wrapInputStream(new ByteArrayInputStream(data));
+    InputStream inStream = detectorStream.getStream();
+    ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+    byte[] buffer = new byte[7];
+    int count = inStream.read(buffer);
+    while (count >= 0) {
+      outStream.write(buffer, 0, count);
+      count = inStream.read(buffer);
+    }
+    inStream.close();
+    // data has to be passed through unmodified
+    Assert.assertTrue(Arrays.equals(data, outStream.toByteArray()));
+    return (ContentType) detectorStream.getMetadata().get(
+        ContentTypeDetectorStreamProcessor.METADATA_KEY_CONTENT_TYPE);
+  }
+
+  /**
+   * Tests the detection of {@link ContentType}s.
+   *
+   * @throws Exception on error.
+   */
+  @Test
+  public void testDetect() throws Exception {
+
+    ContentTypeManagerImpl manager = getContentTypeManager();
+    ContentType jpeg = manager.getContentType("JPG");
+    ContentType jpeg2000 = manager.getContentType("JPEG2000");
+    ContentType data = manager.getRootType();
+
+    Assert.assertSame(jpeg, detect(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 0x12, 0x34 }));
+    Assert.assertSame(jpeg, detect(new byte[] { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF }));
+    Assert.assertSame(jpeg2000, detect(new byte[] { 0x00, 0x00, 0x00, 0x0C, 0x6A, 0x50, 0x20, 0x20, 0x0D, 0x0A,
+        0x42 }));
+    Assert.assertSame(data, detect(new byte[] { 0x00, 0x00, 0x00, 0x0C, 0x6A, 0x50, 0x20 }));
+    Assert.assertSame(data, detect(new byte[] { (byte) 0xFF, (byte) 0xD8, 0x00 }));
+    Assert.assertSame(data, detect("Hello World".getBytes("UTF-8")));
+    Assert.assertSame(data, detect(new byte[0]));
+  }
+
+  /**
+   * Tests that a {@link ContentType} that has already been accepted is still detected if a more specific
+   * {@link ContentType} with a longer format fails later on.
+   *
+   * @throws Exception on error.
+   */
+  @Test
+  public void testDetectPrefixAfterMismatch() throws Exception {
+
+    String xml = "<content-types>" //
+        + "<content-type id=\"ROOT\" title=\"root\"/>" //
+        + "<content-type id=\"PREFIX\" title=\"prefix\" parent=\"ROOT\">"
+        + "<format><constant hex=\"41-42\"/></format></content-type>" //
+        + "<content-type id=\"LONG\" title=\"long\" parent=\"PREFIX\">"
+        + "<format><constant hex=\"41-42-43-44\"/></format></content-type>" //
+        + "</content-types>";
+    ContentTypeListLoader loader = new ContentTypeListLoader();
+    loader.initialize();
+    ContentTypeList contentTypeList = loader.loadXml(new ByteArrayInputStream(xml.getBytes("UTF-8")), "test");
+    DecisionTreeBuilder builder = new DecisionTreeBuilder();
+    builder.addContentTypes(contentTypeList.getContentTypes());
+    ContentType prefix = null;
+    ContentType longType = null;
+    for (ContentType contentType : contentTypeList.getContentTypes()) {
+      if ("PREFIX".equals(contentType.getId())) {
+        prefix = contentType;
+      } else if ("LONG".equals(contentType.getId())) {
+        longType = contentType;
+      }
+    }
+
+    Assert.assertSame(prefix, walk(builder, "ABCX"));
+    Assert.assertSame(prefix, walk(builder, "ABX"));
+    Assert.assertSame(prefix, walk(builder, "AB"));
+    Assert.assertSame(longType, walk(builder, "ABCD"));
+    Assert.assertSame(longType, walk(builder, "ABCDX"));
+    Assert.assertNull(walk(builder, "AX"));
+  }
+
+  /**
+   * This method walks the nodes of the given {@link DecisionTreeBuilder} for the given <code>data</code>.
+   *
+   * @param builder is the {@link DecisionTreeBuilder}.
+   * @param data is the data to detect.
+   * @return the {@link ContentType} of the final node at the end of the stream or <code>null</code> if none
+   *         matches.
+   */
+  private static ContentType walk(DecisionTreeBuilder builder, String data) {
+
+    DecisionTreeNodeImpl node = builder.getRootNode();
+    for (int i = 0; i < data.length(); i++) {
+      if (node.isDecided()) {
+        break;
+      }
+      node = node.next(data.charAt(i));
+      if (node == null) {
+        return null;
+      }
+    }
+    return node.getContentType();
+  }
+
+}
@@ -8,7 +8,12 @@ import net.sf.mmm.util.collection.api.MapFactory;
 
 /**
  * This is the abstract base class for a simplified {@link Map} that associates elements (
- * <code>&lt;E&gt;</code>) with {@link Class} objects.
+ * <code>&lt;E&gt;</code>) with {@link Class} objects.<br/>
+ * Besides the direct {@link #get(Class) lookup} it supports to {@link #resolve(Class) resolve} the element
+ * for an arbitrary sub-type. The result of resolving is memoized per {@link Class} via {@link ClassValue} so
+ * repetitive lookups (e.g. for type dispatching on a hot path) are O(1) without keeping the {@link Class}
+ * (and its {@link ClassLoader}) reachable. Registrations are performed copy-on-write so readers never need to
+ * lock and the memo is invalidated atomically on every {@link #put(Class, Object) put}.
  * 
  * @param <E> is the generic type of the elements contained in this map.
  * 
@@ -17,8 +22,18 @@ import net.sf.mmm.util.collection.api.MapFactory;
  */
 public abstract class AbstractClassHierarchyMap<E> {
 
+  /** The marker for a type that is {@link #resolve(Class) resolved} to <code>null</code>. */
+  private static final Object NONE = new Object();
+
+  /** The factory for {@link #classMap}. */
+  @SuppressWarnings("rawtypes")
+  private final MapFactory<Map> mapFactory;
+
   /** @see #get(Class) */
-  private final Map<Class<?>, E> classMap;
+  private volatile Map<Class<?>, E> classMap;
+
+  /** @see #resolve(Class) */
+  private volatile Resolver resolver;
 
   /**
    * The constructor.
@@ -37,7 +52,9 @@ public abstract class AbstractClassHierarchyMap<E> {
   public AbstractClassHierarchyMap(MapFactory<Map> mapFactory) {
 
     super();
+    this.mapFactory = mapFactory;
     this.classMap = mapFactory.create();
+    this.resolver = new Resolver(this.classMap);
   }
 
   /**
@@ -53,6 +70,59 @@ public abstract class AbstractClassHierarchyMap<E> {
     return this.classMap.get(type);
   }
 
+  /**
+   * This method resolves the element for the given <code>type</code>. Unlike {@link #get(Class)} this will
+   * also find an element if only a {@link Class#getSuperclass() super-class} or
+   * {@link Class#getInterfaces() super-interface} of the given <code>type</code> has been
+   * {@link #put(Class, Object) registered}. The hierarchy is traversed in the same order as for
+   * {@link #put(Class, Object) registration} and the first element found is returned. The result (including
+   * <code>null</code>) is memoized until the next {@link #put(Class, Object) registration}.
+   * 
+   * @param type is the {@link Class} for which the associated element is requested.
+   * @return the element for the given type or its closest registered super-type or <code>null</code> if no
+   *         such element is registered.
+   * @since 4.0.0
+   */
+  @SuppressWarnings("unchecked")
+  public E resolve(Class<?> type) {
+
+    Object element = this.resolver.get(type);
+    if (element == NONE) {
+      return null;
+    }
+    return (E) element;
+  }
+
+  /**
+   * This method performs the {@link #resolve(Class) resolution} recursively.
+   * 
+   * @param type is the current {@link Class} to resolve.
+   * @param map is the {@link Map} to resolve from.
+   * @return the resolved element or <code>null</code> if not found.
+   */
+  private E resolveRecursive(Class<?> type, Map<Class<?>, E> map) {
+
+    Class<?> clazz = type;
+    while (clazz != null) {
+      if (isAccepted(clazz)) {
+        E element = map.get(clazz);
+        if (element != null) {
+          return element;
+        }
+      }
+      for (Class<?> interfaceClass : clazz.getInterfaces()) {
+        if (isAccepted(interfaceClass)) {
+          E element = resolveRecursive(interfaceClass, map);
+          if (element != null) {
+            return element;
+          }
+        }
+      }
+      clazz = clazz.getSuperclass();
+    }
+    return null;
+  }
+
   /**
    * This method determines if the given <code>element</code> should be {@link #get(Class) associated} with
    * <code>currentType</code> in preference to the element <code>existing</code> that is already registered
@@ -86,10 +156,14 @@ public abstract class AbstractClassHierarchyMap<E> {
    * @return the element that was associated directly with the given <code>type</code> and has NOW been
    *         replaced with <code>element</code>.
    */
-  protected E put(Class<?> type, E element) {
-
-    E old = this.classMap.get(type);
-    putRecursive(type, element, type);
+  protected synchronized E put(Class<?> type, E element) {
+
+    Map<Class<?>, E> map = this.mapFactory.create();
+    map.putAll(this.classMap);
+    E old = map.get(type);
+    putRecursive(type, element, type, map);
+    this.classMap = map;
+    this.resolver = new Resolver(map);
     return old;
   }
 
@@ -99,13 +173,14 @@ public abstract class AbstractClassHierarchyMap<E> {
    * @param type is the current {@link Class} used as key to associate the given <code>element</code>.
    * @param element is the element to put.
    * @param elementType is the the <code>type</code> of the original {@link #put(Class, Object) put}.
+   * @param map is the {@link Map} to modify.
    */
-  private void putRecursive(Class<?> type, E element, Class<?> elementType) {
+  private void putRecursive(Class<?> type, E element, Class<?> elementType, Map<Class<?>, E> map) {
 
     Class<?> clazz = type;
     while (clazz != null) {
       if (isAccepted(clazz)) {
-        E existing = this.classMap.get(clazz);
+        E existing = map.get(clazz);
         boolean add = (existing == null);
         if (existing != null) {
           if (existing == element) {
@@ -114,12 +189,12 @@ public abstract class AbstractClassHierarchyMap<E> {
           add = isPreferable(element, elementType, existing, clazz);
         }
         if (add) {
-          this.classMap.put(clazz, element);
+          map.put(clazz, element);
         }
       }
       for (Class<?> interfaceClass : clazz.getInterfaces()) {
         if (isAccepted(interfaceClass)) {
-          putRecursive(interfaceClass, element, elementType);
+          putRecursive(interfaceClass, element, elementType, map);
         }
       }
       clazz = clazz.getSuperclass();
@@ -139,4 +214,39 @@ public abstract class AbstractClassHierarchyMap<E> {
 
     return true;
   }
+
+  /**
+   * This inner class is the {@link ClassValue} that memoizes the {@link #resolve(Class) resolution} for a
+   * specific {@link #classMap snapshot} of the registrations. It is replaced on every
+   * {@link #put(Class, Object) put}.
+   */
+  private final class Resolver extends ClassValue<Object> {
+
+    /** The {@link #classMap snapshot} to resolve from. */
+    private final Map<Class<?>, E> map;
+
+    /**
+     * The constructor.
+     * 
+     * @param map is the {@link #classMap snapshot} to resolve from.
+     */
+    private Resolver(Map<Class<?>, E> map) {
+
+      super();
+      this.map = map;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected Object computeValue(Class<?> type) {
+
+      E element = resolveRecursive(type, this.map);
+      if (element == null) {
+        return NONE;
+      }
+      return element;
+    }
+  }
 }
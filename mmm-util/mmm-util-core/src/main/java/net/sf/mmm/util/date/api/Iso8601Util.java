@@ -2,6 +2,9 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.util.date.api;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
 import java.util.Calendar;
 import java.util.regex.Pattern;
 
@@ -182,4 +185,125 @@ public interface Iso8601Util extends Iso8601UtilLimited {
    */
   void parseCalendar(String date, Calendar calendar);
 
+
+  /**
+   * This method formats the given point in time as date and time according to {@link Iso8601Util ISO 8601}
+   * with the given timezone offset. This is the fast path that neither creates a {@link Calendar} nor any
+   * other intermediate object. An offset of zero is written as 'Z'.
+   * 
+   * @param epochMillis is the point in time as milliseconds since the epoch (1970-01-01T00:00:00Z).
+   * @param offsetMillis is the timezone offset in milliseconds that is added to <code>epochMillis</code>.
+   * @param extendedDate if <code>false</code> the basic date format ("yyyyMMdd") is used, if <code>true</code>
+   *        the extended date format ("yyyy-MM-dd") is used.
+   * @param extendedTime if <code>false</code> the basic time format ("HHmmss") is used, if <code>true</code>
+   *        the extended time format ("HH:mm:ss") is used.
+   * @param extendedTimezone if <code>false</code> the basic timezone format ("+HHmm[ss]") is used, if
+   *        <code>true</code> the extended timezone format ("+HH:mm[:ss]") is used.
+   * @param buffer is where to append the formatted date and time.
+   * @since 4.0.0
+   */
+  void formatDateTime(long epochMillis, int offsetMillis, boolean extendedDate, boolean extendedTime,
+      boolean extendedTimezone, Appendable buffer);
+
+  /**
+   * This method is like {@link #formatDateTime(long, int, boolean, boolean, boolean, Appendable)} but writes
+   * into the given <code>char</code> array.
+   * 
+   * @param epochMillis is the point in time as milliseconds since the epoch (1970-01-01T00:00:00Z).
+   * @param offsetMillis is the timezone offset in milliseconds that is added to <code>epochMillis</code>.
+   * @param extendedDate - see {@link #formatDateTime(long, int, boolean, boolean, boolean, Appendable)}.
+   * @param extendedTime - see {@link #formatDateTime(long, int, boolean, boolean, boolean, Appendable)}.
+   * @param extendedTimezone - see {@link #formatDateTime(long, int, boolean, boolean, boolean, Appendable)}.
+   * @param buffer is the <code>char</code> array where to write the formatted date and time. It needs to
+   *        have at least 32 characters available from <code>start</code>.
+   * @param start is the index in <code>buffer</code> where to start writing.
+   * @return the index in <code>buffer</code> after the last written character.
+   * @since 4.0.0
+   */
+  int formatDateTime(long epochMillis, int offsetMillis, boolean extendedDate, boolean extendedTime,
+      boolean extendedTimezone, char[] buffer, int start);
+
+  /**
+   * This method formats the given {@link Instant} as date and time in UTC (e.g. "2012-12-31T23:59:59Z").
+   * 
+   * @param instant is the {@link Instant} to format.
+   * @param extendedDate - see {@link #formatDateTime(long, int, boolean, boolean, boolean, Appendable)}.
+   * @param extendedTime - see {@link #formatDateTime(long, int, boolean, boolean, boolean, Appendable)}.
+   * @param extendedTimezone - see {@link #formatDateTime(long, int, boolean, boolean, boolean, Appendable)}.
+   * @param buffer is where to append the formatted date and time.
+   * @since 4.0.0
+   */
+  void formatDateTime(Instant instant, boolean extendedDate, boolean extendedTime, boolean extendedTimezone,
+      Appendable buffer);
+
+  /**
+   * This method formats the given {@link OffsetDateTime} as date and time with its
+   * {@link OffsetDateTime#getOffset() offset}.
+   * 
+   * @param dateTime is the {@link OffsetDateTime} to format.
+   * @param extendedDate - see {@link #formatDateTime(long, int, boolean, boolean, boolean, Appendable)}.
+   * @param extendedTime - see {@link #formatDateTime(long, int, boolean, boolean, boolean, Appendable)}.
+   * @param extendedTimezone - see {@link #formatDateTime(long, int, boolean, boolean, boolean, Appendable)}.
+   * @param buffer is where to append the formatted date and time.
+   * @since 4.0.0
+   */
+  void formatDateTime(OffsetDateTime dateTime, boolean extendedDate, boolean extendedTime,
+      boolean extendedTimezone, Appendable buffer);
+
+  /**
+   * This method formats the given {@link LocalDate}.
+   * 
+   * @param date is the {@link LocalDate} to format.
+   * @param extended if <code>false</code> the basic date format ("yyyyMMdd") is used, if <code>true</code>
+   *        the extended date format ("yyyy-MM-dd") is used.
+   * @param buffer is where to append the formatted date.
+   * @since 4.0.0
+   */
+  void formatDate(LocalDate date, boolean extended, Appendable buffer);
+
+  /**
+   * This method parses the given <code>date</code> according to {@link Iso8601Util ISO 8601} directly to
+   * milliseconds since the epoch without creating any intermediate objects. If the given <code>date</code>
+   * does NOT specify a timezone, the {@link java.util.TimeZone#getDefault() default timezone} is assumed.
+   * 
+   * @param date is the date to parse.
+   * @return the parsed point in time as milliseconds since the epoch.
+   * @throws IllegalDateFormatException if the <code>date</code> is malformed.
+   * @since 4.0.0
+   */
+  long parseMillis(CharSequence date) throws IllegalDateFormatException;
+
+  /**
+   * @see #parseMillis(CharSequence)
+   * 
+   * @param date is the date to parse.
+   * @return the parsed {@link Instant}.
+   * @throws IllegalDateFormatException if the <code>date</code> is malformed.
+   * @since 4.0.0
+   */
+  Instant parseInstant(CharSequence date) throws IllegalDateFormatException;
+
+  /**
+   * This method parses the given <code>date</code> as {@link OffsetDateTime}. If the given <code>date</code>
+   * does NOT specify a timezone, the offset of the {@link java.util.TimeZone#getDefault() default timezone}
+   * is used.
+   * 
+   * @param date is the date to parse.
+   * @return the parsed {@link OffsetDateTime}.
+   * @throws IllegalDateFormatException if the <code>date</code> is malformed.
+   * @since 4.0.0
+   */
+  OffsetDateTime parseOffsetDateTime(CharSequence date) throws IllegalDateFormatException;
+
+  /**
+   * This method parses the date part of the given <code>date</code> as {@link LocalDate}. A time and
+   * timezone is ignored if present.
+   * 
+   * @param date is the date to parse.
+   * @return the parsed {@link LocalDate}.
+   * @throws IllegalDateFormatException if the <code>date</code> is malformed.
+   * @since 4.0.0
+   */
+  LocalDate parseLocalDate(CharSequence date) throws IllegalDateFormatException;
+
 }
@@ -3,22 +3,34 @@
 package net.sf.mmm.util.date.base;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.GregorianCalendar;
 import java.util.SimpleTimeZone;
 import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import javax.inject.Named;
 import javax.inject.Singleton;
 
 import net.sf.mmm.util.date.api.IllegalDateFormatException;
 import net.sf.mmm.util.date.api.Iso8601Util;
-import net.sf.mmm.util.nls.api.NlsParseException;
-import net.sf.mmm.util.scanner.base.CharSequenceScanner;
 
 /**
  * This is the implementation of the {@link net.sf.mmm.util.date.api.Iso8601Util} interface. It does NOT use
  * {@link java.text.SimpleDateFormat}. All methods of this class are fast and thread-safe.<br>
+ * The core of this implementation works directly on milliseconds since the epoch using the proleptic
+ * gregorian calendar (as <code>java.time</code>) and neither creates {@link Calendar} instances nor any other
+ * intermediate objects for formatting or parsing. The {@link Calendar} based methods are adapters that only
+ * read or write the fields of the {@link Calendar}. {@link TimeZone}s for parsed offsets are cached.<br>
+ * To give the same results for all types (also before the gregorian reform in 1582), a {@link Calendar} is
+ * formatted from its {@link Calendar#getTimeInMillis() time} and a {@link GregorianCalendar} used for parsing
+ * is switched to the proleptic gregorian calendar via {@link GregorianCalendar#setGregorianChange(Date)}.
+ * Negative years (e.g. "-0044-03-15") are supported for formatting and parsing.
  * 
  * @see #getInstance()
  * 
@@ -42,12 +54,65 @@ public final class Iso8601UtilImpl extends Iso8601UtilLimitedImpl implements Iso
   /** The UTC TimeZone. */
   private static final TimeZone TZ_UTC = TimeZone.getTimeZone(UTC_ID);
 
+  /** The number of milliseconds per second. */
+  private static final int MILLIS_PER_SECOND = 1000;
+
+  /** The number of milliseconds per minute. */
+  private static final int MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+
+  /** The number of milliseconds per hour. */
+  private static final int MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+
+  /** The number of milliseconds per day. */
+  private static final long MILLIS_PER_DAY = 24L * MILLIS_PER_HOUR;
+
+  /** The number of nanoseconds per millisecond. */
+  private static final int NANOS_PER_MILLI = 1000000;
+
+  /** The number of days of a 400 year cycle of the gregorian calendar. */
+  private static final int DAYS_PER_CYCLE = 146097;
+
+  /** The number of days from 0000-03-01 to 1970-01-01. */
+  private static final long DAYS_0000_TO_1970 = 719468L;
+
+  /** The bit-shift of the year in a packed date. */
+  private static final int PACKED_YEAR_SHIFT = 9;
+
+  /** The bit-shift of the month in a packed date. */
+  private static final int PACKED_MONTH_SHIFT = 5;
+
+  /** The bit-mask of the month in a packed date (after shifting). */
+  private static final int PACKED_MONTH_MASK = 0x0F;
+
+  /** The bit-mask of the day in a packed date. */
+  private static final int PACKED_DAY_MASK = 0x1F;
+
+  /** The maximum absolute timezone offset in milliseconds that is cached. */
+  private static final int TIME_ZONE_CACHE_MAX_OFFSET = 18 * MILLIS_PER_HOUR;
+
+  /** The granularity of the timezone offsets in milliseconds that are cached. */
+  private static final int TIME_ZONE_CACHE_STEP = 15 * MILLIS_PER_MINUTE;
+
+  /** The {@link GregorianCalendar#setGregorianChange(Date) gregorian change} for the proleptic calendar. */
+  private static final Date PROLEPTIC_GREGORIAN_CHANGE = new Date(Long.MIN_VALUE);
+
+  /** The maximum number of characters written to a <code>char</code> array. */
+  private static final int MAX_DATE_TIME_LENGTH = 32;
+
+  /**
+   * The cache for the {@link TimeZone}s of parsed offsets that are a multiple of
+   * {@link #TIME_ZONE_CACHE_STEP}. Like {@link #TZ_UTC} these instances are shared and shall never be modified.
+   */
+  private final AtomicReferenceArray<TimeZone> timeZoneCache;
+
   /**
    * The constructor.
    */
   public Iso8601UtilImpl() {
 
     super();
+    int cacheSize = ((2 * TIME_ZONE_CACHE_MAX_OFFSET) / TIME_ZONE_CACHE_STEP) + 1;
+    this.timeZoneCache = new AtomicReferenceArray<TimeZone>(cacheSize);
   }
 
   /**
@@ -75,9 +140,20 @@ public final class Iso8601UtilImpl extends Iso8601UtilLimitedImpl implements Iso
   @Override
   public void formatDate(Date date, boolean extended, Appendable buffer) {
 
-    Calendar calendar = Calendar.getInstance();
-    calendar.setTime(date);
-    formatDate(calendar, extended, buffer);
+    long millis = date.getTime();
+    long epochDay = floorDiv(millis + getDefaultOffset(millis, false), MILLIS_PER_DAY);
+    int packedDate = getPackedDate(epochDay);
+    formatDate(packedDate >> PACKED_YEAR_SHIFT, (packedDate >> PACKED_MONTH_SHIFT) & PACKED_MONTH_MASK, packedDate
+        & PACKED_DAY_MASK, extended, buffer);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void formatDate(LocalDate date, boolean extended, Appendable buffer) {
+
+    formatDate(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), extended, buffer);
   }
 
   /**
@@ -108,10 +184,12 @@ public final class Iso8601UtilImpl extends Iso8601UtilLimitedImpl implements Iso
   @Override
   public void formatDate(Calendar calendar, boolean extended, Appendable buffer) {
 
-    int year = calendar.get(Calendar.YEAR);
-    int month = calendar.get(Calendar.MONTH) + 1;
-    int day = calendar.get(Calendar.DAY_OF_MONTH);
-    formatDate(year, month, day, extended, buffer);
+    // the fields of a GregorianCalendar are julian before 1582 so the date is derived from the time instead
+    long millis = calendar.getTimeInMillis();
+    long epochDay = floorDiv(millis + calendar.getTimeZone().getOffset(millis), MILLIS_PER_DAY);
+    int packedDate = getPackedDate(epochDay);
+    formatDate(packedDate >> PACKED_YEAR_SHIFT, (packedDate >> PACKED_MONTH_SHIFT) & PACKED_MONTH_MASK, packedDate
+        & PACKED_DAY_MASK, extended, buffer);
   }
 
   /**
@@ -121,19 +199,165 @@ public final class Iso8601UtilImpl extends Iso8601UtilLimitedImpl implements Iso
   public void formatDateTime(Date date, boolean extendedDate, boolean extendedTime, boolean extendedTimeZone,
       Appendable buffer) {
 
+    formatDateTime(date.getTime(), 0, extendedDate, extendedTime, extendedTimeZone, buffer);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void formatDateTime(Instant instant, boolean extendedDate, boolean extendedTime,
+      boolean extendedTimezone, Appendable buffer) {
+
+    formatDateTime(instant.toEpochMilli(), 0, extendedDate, extendedTime, extendedTimezone, buffer);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void formatDateTime(OffsetDateTime dateTime, boolean extendedDate, boolean extendedTime,
+      boolean extendedTimezone, Appendable buffer) {
+
     try {
-      // TODO use timezone offset from date?
-      Calendar calendar = Calendar.getInstance(TZ_UTC);
-      calendar.setTime(date);
-      formatDate(calendar, extendedDate, buffer);
+      formatDate(dateTime.getYear(), dateTime.getMonthValue(), dateTime.getDayOfMonth(), extendedDate, buffer);
       buffer.append('T');
-      formatTime(calendar, extendedTime, buffer);
-      buffer.append('Z');
+      formatTime(dateTime.getHour(), dateTime.getMinute(), dateTime.getSecond(), extendedTime, buffer);
+      formatOffset(dateTime.getOffset().getTotalSeconds() * MILLIS_PER_SECOND, extendedTimezone, buffer);
     } catch (IOException e) {
       throw new IllegalStateException(e);
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void formatDateTime(long epochMillis, int offsetMillis, boolean extendedDate, boolean extendedTime,
+      boolean extendedTimezone, Appendable buffer) {
+
+    try {
+      long localMillis = epochMillis + offsetMillis;
+      long epochDay = floorDiv(localMillis, MILLIS_PER_DAY);
+      int secondOfDay = (int) ((localMillis - (epochDay * MILLIS_PER_DAY)) / MILLIS_PER_SECOND);
+      int packedDate = getPackedDate(epochDay);
+      formatDate(packedDate >> PACKED_YEAR_SHIFT, (packedDate >> PACKED_MONTH_SHIFT) & PACKED_MONTH_MASK,
+          packedDate & PACKED_DAY_MASK, extendedDate, buffer);
+      buffer.append('T');
+      formatTime(secondOfDay / 3600, (secondOfDay / 60) % 60, secondOfDay % 60, extendedTime, buffer);
+      formatOffset(offsetMillis, extendedTimezone, buffer);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int formatDateTime(long epochMillis, int offsetMillis, boolean extendedDate, boolean extendedTime,
+      boolean extendedTimezone, char[] buffer, int start) {
+
+    if ((buffer.length - start) < MAX_DATE_TIME_LENGTH) {
+      throw new IndexOutOfBoundsException(Integer.toString(start + MAX_DATE_TIME_LENGTH));
+    }
+    long localMillis = epochMillis + offsetMillis;
+    long epochDay = floorDiv(localMillis, MILLIS_PER_DAY);
+    int secondOfDay = (int) ((localMillis - (epochDay * MILLIS_PER_DAY)) / MILLIS_PER_SECOND);
+    int packedDate = getPackedDate(epochDay);
+    int index = start;
+    // date
+    int year = packedDate >> PACKED_YEAR_SHIFT;
+    if (year < 0) {
+      buffer[index++] = '-';
+      year = -year;
+    }
+    int yearDigits = 4;
+    for (int limit = 10000; (year >= limit) && (yearDigits < 10); limit = limit * 10) {
+      yearDigits++;
+    }
+    index = writeDigits(year, yearDigits, buffer, index);
+    if (extendedDate) {
+      buffer[index++] = '-';
+    }
+    index = writeDigits((packedDate >> PACKED_MONTH_SHIFT) & PACKED_MONTH_MASK, 2, buffer, index);
+    if (extendedDate) {
+      buffer[index++] = '-';
+    }
+    index = writeDigits(packedDate & PACKED_DAY_MASK, 2, buffer, index);
+    // time
+    buffer[index++] = 'T';
+    index = writeDigits(secondOfDay / 3600, 2, buffer, index);
+    if (extendedTime) {
+      buffer[index++] = ':';
+    }
+    index = writeDigits((secondOfDay / 60) % 60, 2, buffer, index);
+    if (extendedTime) {
+      buffer[index++] = ':';
+    }
+    index = writeDigits(secondOfDay % 60, 2, buffer, index);
+    // timezone
+    int offsetSeconds = offsetMillis / MILLIS_PER_SECOND;
+    if (offsetSeconds == 0) {
+      buffer[index++] = 'Z';
+    } else {
+      if (offsetSeconds < 0) {
+        buffer[index++] = '-';
+        offsetSeconds = -offsetSeconds;
+      } else {
+        buffer[index++] = '+';
+      }
+      index = writeDigits(offsetSeconds / 3600, 2, buffer, index);
+      if (extendedTimezone) {
+        buffer[index++] = ':';
+      }
+      index = writeDigits((offsetSeconds / 60) % 60, 2, buffer, index);
+      int seconds = offsetSeconds % 60;
+      if ((seconds != 0) && extendedTimezone) {
+        buffer[index++] = ':';
+        index = writeDigits(seconds, 2, buffer, index);
+      }
+    }
+    return index;
+  }
+
+  /**
+   * This method writes the given <code>number</code> with the given number of <code>digits</code>.
+   * 
+   * @param number is the non-negative number to write.
+   * @param digits is the number of digits to write (leading zeros are added if required).
+   * @param buffer is where to write the digits.
+   * @param start is the index in <code>buffer</code> where to start.
+   * @return the index after the last written digit.
+   */
+  private static int writeDigits(int number, int digits, char[] buffer, int start) {
+
+    int rest = number;
+    int end = start + digits;
+    for (int i = end - 1; i >= start; i--) {
+      buffer[i] = (char) ('0' + (rest % 10));
+      rest = rest / 10;
+    }
+    return end;
+  }
+
+  /**
+   * This method appends the given timezone offset or 'Z' if the offset is zero.
+   * 
+   * @param offsetMillis is the timezone offset in milliseconds.
+   * @param extended - see {@link #formatTimeZone(int, boolean, Appendable)}.
+   * @param buffer is where to append the offset.
+   * @throws IOException if thrown by the {@link Appendable}.
+   */
+  private void formatOffset(int offsetMillis, boolean extended, Appendable buffer) throws IOException {
+
+    if ((offsetMillis / MILLIS_PER_SECOND) == 0) {
+      buffer.append('Z');
+    } else {
+      formatTimeZone(offsetMillis, extended, buffer);
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -201,7 +425,63 @@ public final class Iso8601UtilImpl extends Iso8601UtilLimitedImpl implements Iso
   @Override
   public Date parseDate(String date) {
 
-    return parseCalendar(date).getTime();
+    return new Date(parseMillis(date));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long parseMillis(CharSequence date) {
+
+    int timeZoneIndex = indexOfTimeZone(date);
+    long localMillis = parseLocalMillis(date, timeZoneIndex);
+    if (timeZoneIndex < date.length()) {
+      return localMillis - parseOffsetMillis(date, timeZoneIndex);
+    }
+    return localMillis - getDefaultOffset(localMillis, true);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Instant parseInstant(CharSequence date) {
+
+    return Instant.ofEpochMilli(parseMillis(date));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public OffsetDateTime parseOffsetDateTime(CharSequence date) {
+
+    int timeZoneIndex = indexOfTimeZone(date);
+    long localMillis = parseLocalMillis(date, timeZoneIndex);
+    int offsetMillis;
+    if (timeZoneIndex < date.length()) {
+      offsetMillis = parseOffsetMillis(date, timeZoneIndex);
+    } else {
+      offsetMillis = getDefaultOffset(localMillis, true);
+    }
+    long epochDay = floorDiv(localMillis, MILLIS_PER_DAY);
+    int millisOfDay = (int) (localMillis - (epochDay * MILLIS_PER_DAY));
+    int packedDate = getPackedDate(epochDay);
+    return OffsetDateTime.of(packedDate >> PACKED_YEAR_SHIFT, (packedDate >> PACKED_MONTH_SHIFT) & PACKED_MONTH_MASK,
+        packedDate & PACKED_DAY_MASK, millisOfDay / MILLIS_PER_HOUR, (millisOfDay / MILLIS_PER_MINUTE) % 60,
+        (millisOfDay / MILLIS_PER_SECOND) % 60, (millisOfDay % MILLIS_PER_SECOND) * NANOS_PER_MILLI,
+        ZoneOffset.ofTotalSeconds(offsetMillis / MILLIS_PER_SECOND));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LocalDate parseLocalDate(CharSequence date) {
+
+    long localMillis = parseLocalMillis(date, indexOfTimeZone(date));
+    return LocalDate.ofEpochDay(floorDiv(localMillis, MILLIS_PER_DAY));
   }
 
   /**
@@ -210,77 +490,388 @@ public final class Iso8601UtilImpl extends Iso8601UtilLimitedImpl implements Iso
   @Override
   public Calendar parseCalendar(String date) {
 
-    Calendar calendar = Calendar.getInstance();
+    Calendar calendar = new GregorianCalendar();
     calendar.clear();
     parseCalendar(date, calendar);
     return calendar;
   }
 
   /**
-   * This method parses the timezone from the given <code>parser</code>.
-   * 
-   * @param scanner is the parser pointing to the timezone or at the end of the string
-   * @return the parsed timezone or <code>null</code> if parser already at the end of the string.
-   */
-  private TimeZone parseTimezone(CharSequenceScanner scanner) {
-
-    int pos = scanner.getCurrentIndex();
-    Integer offset = parseTimezoneOffset(scanner);
-    boolean hasOffset = offset != null;
-    if (hasOffset) {
-      int offsetMs = offset.intValue();
-      String tzName = "GMT";
-      if (offsetMs != 0) {
-        if (offsetMs < 0) {
-          tzName += "-";
+   * {@inheritDoc}<br>
+   * If the given <code>calendar</code> is a {@link GregorianCalendar}, it is switched to the proleptic
+   * gregorian calendar so the result is consistent with {@link #parseMillis(CharSequence)}.
+   */
+  @Override
+  public void parseCalendar(String date, Calendar calendar) {
+
+    if (calendar instanceof GregorianCalendar) {
+      ((GregorianCalendar) calendar).setGregorianChange(PROLEPTIC_GREGORIAN_CHANGE);
+    }
+
+    int timeZoneIndex = indexOfTimeZone(date);
+    long localMillis = parseLocalMillis(date, timeZoneIndex);
+    long epochDay = floorDiv(localMillis, MILLIS_PER_DAY);
+    int millisOfDay = (int) (localMillis - (epochDay * MILLIS_PER_DAY));
+    int packedDate = getPackedDate(epochDay);
+    int year = packedDate >> PACKED_YEAR_SHIFT;
+    int month = (packedDate >> PACKED_MONTH_SHIFT) & PACKED_MONTH_MASK;
+    int day = packedDate & PACKED_DAY_MASK;
+    if (date.indexOf('T') > 0) {
+      if (timeZoneIndex < date.length()) {
+        // also validates that nothing follows the timezone
+        int offsetMillis = parseOffsetMillis(date, timeZoneIndex);
+        if (date.charAt(timeZoneIndex) == 'Z') {
+          calendar.setTimeZone(TZ_UTC);
         } else {
-          tzName += "+";
+          calendar.setTimeZone(getTimeZone(offsetMillis));
         }
-        tzName += scanner.substring(pos, scanner.getCurrentIndex());
       }
-      return new SimpleTimeZone(offsetMs, tzName);
-    } else if (scanner.getCurrentIndex() == pos) {
-      return null;
+      calendar.set(year, month - 1, day, millisOfDay / MILLIS_PER_HOUR, (millisOfDay / MILLIS_PER_MINUTE) % 60,
+          (millisOfDay / MILLIS_PER_SECOND) % 60);
     } else {
-      // UTC
-      return TZ_UTC;
+      calendar.set(year, month - 1, day);
     }
+    calendar.set(Calendar.MILLISECOND, millisOfDay % MILLIS_PER_SECOND);
   }
 
   /**
-   * {@inheritDoc}
+   * This method gets the (cached) {@link TimeZone} for the given fixed offset.
+   * 
+   * @param offsetMillis is the timezone offset in milliseconds.
+   * @return the according {@link TimeZone}.
    */
-  @Override
-  public void parseCalendar(String date, Calendar calendar) {
+  private TimeZone getTimeZone(int offsetMillis) {
 
-    CharSequenceScanner scanner = new CharSequenceScanner(date);
-    // proceed date
-    try {
-      int[] ymd = parseDate(scanner);
-      int year = ymd[0];
-      int month = ymd[1];
-      int day = ymd[2];
-      // proceed time (and timezone)
-      char c = scanner.forceNext();
-      if (c == 'T') {
-        int[] hms = parseTime(scanner);
-        int hour = hms[0];
-        int minute = hms[1];
-        int second = hms[2];
-        TimeZone timeZone = parseTimezone(scanner);
-        if (timeZone != null) {
-          calendar.setTimeZone(timeZone);
+    if (((offsetMillis % TIME_ZONE_CACHE_STEP) != 0) || (Math.abs(offsetMillis) > TIME_ZONE_CACHE_MAX_OFFSET)) {
+      return createTimeZone(offsetMillis);
+    }
+    int index = (offsetMillis + TIME_ZONE_CACHE_MAX_OFFSET) / TIME_ZONE_CACHE_STEP;
+    TimeZone timeZone = this.timeZoneCache.get(index);
+    if (timeZone == null) {
+      // concurrent creation is harmless...
+      timeZone = createTimeZone(offsetMillis);
+      this.timeZoneCache.set(index, timeZone);
+    }
+    return timeZone;
+  }
+
+  /**
+   * @param offsetMillis is the timezone offset in milliseconds.
+   * @return a new {@link TimeZone} for the given fixed offset.
+   */
+  private TimeZone createTimeZone(int offsetMillis) {
+
+    StringBuilder id = new StringBuilder("GMT");
+    if (offsetMillis != 0) {
+      formatTimeZone(offsetMillis, true, id);
+    }
+    return new SimpleTimeZone(offsetMillis, id.toString());
+  }
+
+  /**
+   * This method determines the offset of the {@link TimeZone#getDefault() default timezone}.
+   * 
+   * @param millis is the point in time.
+   * @param local - <code>true</code> if <code>millis</code> is a local time (where the offset has already been
+   *        added), <code>false</code> if it is an absolute point in time (UTC).
+   * @return the offset in milliseconds.
+   */
+  private static int getDefaultOffset(long millis, boolean local) {
+
+    TimeZone timeZone = TimeZone.getDefault();
+    int offset = timeZone.getOffset(millis);
+    if (local) {
+      offset = timeZone.getOffset(millis - offset);
+    }
+    return offset;
+  }
+
+  /**
+   * @param date is the date to parse.
+   * @return the index of the timezone designator ('Z', '+' or '-') in the time part of <code>date</code> or
+   *         the {@link CharSequence#length() length} of <code>date</code> if there is no timezone.
+   */
+  private static int indexOfTimeZone(CharSequence date) {
+
+    int length = date.length();
+    int index = 0;
+    // skip the date part as it contains '-'
+    while ((index < length) && (date.charAt(index) != 'T')) {
+      index++;
+    }
+    while (index < length) {
+      char c = date.charAt(index);
+      if ((c == 'Z') || (c == '+') || (c == '-')) {
+        return index;
+      }
+      index++;
+    }
+    return length;
+  }
+
+  /**
+   * This method parses the date and optional time from the given <code>date</code> up to the given
+   * <code>end</code>. The format is <code>[-]yyyy[-]MM[-]dd[Thh[[:]mm[[:]ss[.SSS]]]]</code>.
+   * 
+   * @param date is the date to parse.
+   * @param end is the index where the date and time ends (the start of the timezone).
+   * @return the local date and time as milliseconds since the epoch ignoring any timezone.
+   */
+  private static long parseLocalMillis(CharSequence date, int end) {
+
+    int yearStart = 0;
+    if ((end > 0) && (date.charAt(0) == '-')) {
+      yearStart = 1;
+    }
+    int index = yearStart;
+    while ((index < end) && isDigit(date.charAt(index))) {
+      index++;
+    }
+    int digits = index - yearStart;
+    int year;
+    int month;
+    int day;
+    if (digits == 8) {
+      // "yyyyMMdd".length() == 8
+      year = parseDigits(date, yearStart, 4);
+      month = parseDigits(date, yearStart + 4, 2);
+      day = parseDigits(date, yearStart + 6, 2);
+    } else {
+      if ((digits == 0) || (digits > 9) || ((index + 6) > end) || (date.charAt(index) != '-')
+          || (date.charAt(index + 3) != '-')) {
+        throw new IllegalDateFormatException(date.toString());
+      }
+      year = parseDigits(date, yearStart, digits);
+      month = parseDigits(date, index + 1, 2);
+      day = parseDigits(date, index + 4, 2);
+      index = index + 6;
+    }
+    if (yearStart > 0) {
+      year = -year;
+    }
+    if ((month < 1) || (month > MAX_MONTH) || (day < 1) || (day > MAX_DAY_OF_MONTH)) {
+      throw new IllegalDateFormatException(date.toString());
+    }
+    long millis = getEpochDay(year, month, day) * MILLIS_PER_DAY;
+    if (index < end) {
+      if (date.charAt(index) != 'T') {
+        throw new IllegalDateFormatException(date.toString());
+      }
+      millis = millis + parseTimeMillis(date, index + 1, end);
+    }
+    return millis;
+  }
+
+  /**
+   * This method parses the time from the given <code>date</code>. The format is
+   * <code>hh[[:]mm[[:]ss[.SSS]]]</code>.
+   * 
+   * @param date is the date to parse.
+   * @param start is the index where the time starts.
+   * @param end is the index where the time ends.
+   * @return the time as milliseconds of the day.
+   */
+  private static int parseTimeMillis(CharSequence date, int start, int end) {
+
+    int hour = parseDigits(date, start, 2);
+    int index = start + 2;
+    int minute = 0;
+    int second = 0;
+    int millis = 0;
+    if (index < end) {
+      if (date.charAt(index) == ':') {
+        index++;
+      }
+      minute = parseDigits(date, index, 2);
+      index = index + 2;
+      if (index < end) {
+        if (date.charAt(index) == ':') {
+          index++;
         }
-        calendar.set(year, month - 1, day, hour, minute, second);
-      } else if (c == 0) {
-        calendar.set(year, month - 1, day);
-      } else {
-        throw new NlsParseException(scanner.toString(), PATTERN_STRING_TIME, "time", scanner.toString());
+        second = parseDigits(date, index, 2);
+        index = index + 2;
+        if (index < end) {
+          char c = date.charAt(index++);
+          if (((c != '.') && (c != ',')) || (index == end)) {
+            throw new IllegalDateFormatException(date.toString());
+          }
+          int factor = 100;
+          while (index < end) {
+            c = date.charAt(index++);
+            if (!isDigit(c)) {
+              throw new IllegalDateFormatException(date.toString());
+            }
+            millis = millis + ((c - '0') * factor);
+            factor = factor / 10;
+          }
+        }
+      }
+    }
+    if ((hour > 23) || (minute > 59) || (second > 59)) {
+      throw new IllegalDateFormatException(date.toString());
+    }
+    return (hour * MILLIS_PER_HOUR) + (minute * MILLIS_PER_MINUTE) + (second * MILLIS_PER_SECOND) + millis;
+  }
+
+  /**
+   * This method parses the timezone offset from the given <code>date</code>. The format is
+   * <code>Z|[+-]hh[[:]mm[[:]ss]]</code>.
+   * 
+   * @param date is the date to parse.
+   * @param start is the index of the timezone designator.
+   * @return the timezone offset in milliseconds.
+   */
+  private static int parseOffsetMillis(CharSequence date, int start) {
+
+    int length = date.length();
+    char c = date.charAt(start);
+    if (c == 'Z') {
+      if ((start + 1) != length) {
+        throw new IllegalDateFormatException(date.toString());
+      }
+      return 0;
+    }
+    int hour = parseDigits(date, start + 1, 2);
+    int index = start + 3;
+    int minute = 0;
+    int second = 0;
+    if (index < length) {
+      if (date.charAt(index) == ':') {
+        index++;
+      }
+      minute = parseDigits(date, index, 2);
+      index = index + 2;
+      if (index < length) {
+        if (date.charAt(index) == ':') {
+          index++;
+        }
+        second = parseDigits(date, index, 2);
+        index = index + 2;
       }
-      calendar.set(Calendar.MILLISECOND, 0);
-    } catch (Exception e) {
-      throw new IllegalDateFormatException(date, e);
     }
+    if ((index != length) || (hour > 23) || (minute > 59) || (second > 59)) {
+      throw new IllegalDateFormatException(date.toString());
+    }
+    int offset = (hour * MILLIS_PER_HOUR) + (minute * MILLIS_PER_MINUTE) + (second * MILLIS_PER_SECOND);
+    if (c == '-') {
+      offset = -offset;
+    }
+    return offset;
+  }
+
+  /**
+   * @param date is the date to parse.
+   * @param start is the index of the first digit.
+   * @param count is the number of digits to parse.
+   * @return the parsed number.
+   */
+  private static int parseDigits(CharSequence date, int start, int count) {
+
+    int end = start + count;
+    if (end > date.length()) {
+      throw new IllegalDateFormatException(date.toString());
+    }
+    int value = 0;
+    for (int i = start; i < end; i++) {
+      char c = date.charAt(i);
+      if (!isDigit(c)) {
+        throw new IllegalDateFormatException(date.toString());
+      }
+      value = (value * 10) + (c - '0');
+    }
+    return value;
+  }
+
+  /**
+   * @param c is the character to check.
+   * @return <code>true</code> if <code>c</code> is a latin digit.
+   */
+  private static boolean isDigit(char c) {
+
+    return ((c >= '0') && (c <= '9'));
+  }
+
+  /**
+   * @param dividend is the dividend.
+   * @param divisor is the positive divisor.
+   * @return the quotient rounded towards negative infinity.
+   */
+  private static long floorDiv(long dividend, long divisor) {
+
+    long quotient = dividend / divisor;
+    if ((dividend % divisor) < 0) {
+      quotient--;
+    }
+    return quotient;
+  }
+
+  /**
+   * This method converts the given date of the proleptic gregorian calendar to the epoch day.
+   * 
+   * @param year is the year.
+   * @param month is the month (1-12).
+   * @param day is the day of the month.
+   * @return the number of days since 1970-01-01.
+   */
+  private static long getEpochDay(int year, int month, int day) {
+
+    // the year is considered to start in March so the leap day is the last day of the year
+    int y = year;
+    if (month <= 2) {
+      y--;
+    }
+    int era;
+    if (y >= 0) {
+      era = y / 400;
+    } else {
+      era = (y - 399) / 400;
+    }
+    int yearOfEra = y - (era * 400);
+    int shiftedMonth;
+    if (month > 2) {
+      shiftedMonth = month - 3;
+    } else {
+      shiftedMonth = month + 9;
+    }
+    int dayOfYear = ((153 * shiftedMonth) + 2) / 5 + day - 1;
+    int dayOfEra = (yearOfEra * 365) + (yearOfEra / 4) - (yearOfEra / 100) + dayOfYear;
+    return ((long) era * DAYS_PER_CYCLE) + dayOfEra - DAYS_0000_TO_1970;
+  }
+
+  /**
+   * This method converts the given epoch day to a date of the proleptic gregorian calendar. To avoid creating
+   * an object, the year, month and day are packed into a single <code>int</code> (see
+   * {@link #PACKED_YEAR_SHIFT}, {@link #PACKED_MONTH_SHIFT}, {@link #PACKED_DAY_MASK}).
+   * 
+   * @param epochDay is the number of days since 1970-01-01.
+   * @return the packed date.
+   */
+  private static int getPackedDate(long epochDay) {
+
+    long dayOfEpoch0 = epochDay + DAYS_0000_TO_1970;
+    long era;
+    if (dayOfEpoch0 >= 0) {
+      era = dayOfEpoch0 / DAYS_PER_CYCLE;
+    } else {
+      era = (dayOfEpoch0 - DAYS_PER_CYCLE + 1) / DAYS_PER_CYCLE;
+    }
+    int dayOfEra = (int) (dayOfEpoch0 - (era * DAYS_PER_CYCLE));
+    int yearOfEra = (dayOfEra - (dayOfEra / 1460) + (dayOfEra / 36524) - (dayOfEra / (DAYS_PER_CYCLE - 1))) / 365;
+    int dayOfYear = dayOfEra - ((365 * yearOfEra) + (yearOfEra / 4) - (yearOfEra / 100));
+    // shifted month: 0 is March, 11 is February
+    int shiftedMonth = ((5 * dayOfYear) + 2) / 153;
+    int day = dayOfYear - (((153 * shiftedMonth) + 2) / 5) + 1;
+    int month;
+    if (shiftedMonth < 10) {
+      month = shiftedMonth + 3;
+    } else {
+      month = shiftedMonth - 9;
+    }
+    int year = (int) ((era * 400) + yearOfEra);
+    if (month <= 2) {
+      year++;
+    }
+    return (year << PACKED_YEAR_SHIFT) | (month << PACKED_MONTH_SHIFT) | day;
   }
 
 }
@@ -85,31 +85,68 @@ public class Iso8601UtilLimitedImpl implements Iso8601UtilLimited {
 
     try {
       // year
-      String yearString = String.valueOf(year);
-      buffer.append(yearString);
+      int absYear = year;
+      if (year < 0) {
+        buffer.append('-');
+        absYear = -year;
+      }
+      if (absYear < 1000) {
+        append2Digits(absYear / 100, buffer);
+        append2Digits(absYear % 100, buffer);
+      } else {
+        appendDigits(absYear, buffer);
+      }
       if (extended) {
         buffer.append('-');
       }
       // month
-      String monthString = String.valueOf(month);
-      if (monthString.length() < 2) {
-        buffer.append('0');
-      }
-      buffer.append(monthString);
+      append2Digits(month, buffer);
       if (extended) {
         buffer.append('-');
       }
       // day
-      String dayString = String.valueOf(day);
-      if (dayString.length() < 2) {
-        buffer.append('0');
-      }
-      buffer.append(dayString);
+      append2Digits(day, buffer);
     } catch (IOException e) {
       throw new IllegalStateException(e);
     }
   }
 
+  /**
+   * This method appends the given number with (at least) two digits.
+   * 
+   * @param number is the non-negative number to append.
+   * @param buffer is where to append the digits.
+   * @throws IOException if thrown by the {@link Appendable}.
+   */
+  protected static void append2Digits(int number, Appendable buffer) throws IOException {
+
+    if (number < 100) {
+      buffer.append((char) ('0' + (number / 10)));
+      buffer.append((char) ('0' + (number % 10)));
+    } else {
+      appendDigits(number, buffer);
+    }
+  }
+
+  /**
+   * This method appends the decimal digits of the given number without creating a {@link String}.
+   * 
+   * @param number is the non-negative number to append.
+   * @param buffer is where to append the digits.
+   * @throws IOException if thrown by the {@link Appendable}.
+   */
+  private static void appendDigits(int number, Appendable buffer) throws IOException {
+
+    int divisor = 1;
+    while ((number / divisor) >= 10) {
+      divisor = divisor * 10;
+    }
+    while (divisor > 0) {
+      buffer.append((char) ('0' + ((number / divisor) % 10)));
+      divisor = divisor / 10;
+    }
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -174,30 +211,15 @@ public class Iso8601UtilLimitedImpl implements Iso8601UtilLimited {
   public void formatTime(int hours, int minutes, int seconds, boolean extended, Appendable buffer) {
 
     try {
-      // append hours
-      String hour = String.valueOf(hours);
-      if (hour.length() < 2) {
-        buffer.append('0');
-      }
-      buffer.append(hour);
+      append2Digits(hours, buffer);
       if (extended) {
         buffer.append(':');
       }
-      String minute = String.valueOf(minutes);
-      // append minutes
-      if (minute.length() < 2) {
-        buffer.append('0');
-      }
-      buffer.append(minute);
+      append2Digits(minutes, buffer);
       if (extended) {
         buffer.append(':');
       }
-      // append seconds
-      String second = String.valueOf(seconds);
-      if (second.length() < 2) {
-        buffer.append('0');
-      }
-      buffer.append(second);
+      append2Digits(seconds, buffer);
     } catch (IOException e) {
       throw new IllegalStateException(e);
     }
@@ -218,28 +240,16 @@ public class Iso8601UtilLimitedImpl implements Iso8601UtilLimited {
         buffer.append('+');
       }
       int offsetMinutes = offsetSeconds / 60;
-      String hours = String.valueOf(offsetMinutes / 60);
-      if (hours.length() < 2) {
-        buffer.append('0');
-      }
-      buffer.append(hours);
+      append2Digits(offsetMinutes / 60, buffer);
       if (extended) {
         buffer.append(':');
       }
-      String minutes = String.valueOf(offsetMinutes % 60);
-      if (minutes.length() < 2) {
-        buffer.append('0');
-      }
-      buffer.append(minutes);
+      append2Digits(offsetMinutes % 60, buffer);
       int seconds = offsetSeconds % 60;
       if (seconds != 0) {
         if (extended) {
           buffer.append(':');
-          String secs = String.valueOf(seconds);
-          if (secs.length() < 2) {
-            buffer.append('0');
-          }
-          buffer.append(secs);
+          append2Digits(seconds, buffer);
         }
       }
     } catch (IOException e) {
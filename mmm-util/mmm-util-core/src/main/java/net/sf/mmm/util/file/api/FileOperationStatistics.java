@@ -0,0 +1,105 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.file.api;
+
+import java.io.Serializable;
+
+/**
+ * This is a simple container for the aggregated statistics of a recursive file operation such as
+ * {@link FileUtil#copyRecursive(java.io.File, java.io.File, boolean, java.io.FileFilter, boolean, int) copy}
+ * or {@link FileUtil#deleteRecursive(java.io.File, int) delete}.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public class FileOperationStatistics implements Serializable {
+
+  /** UID for serialization. */
+  private static final long serialVersionUID = -7519146278436203516L;
+
+  /** @see #getFileCount() */
+  private final long fileCount;
+
+  /** @see #getDirectoryCount() */
+  private final long directoryCount;
+
+  /** @see #getLinkCount() */
+  private final long linkCount;
+
+  /** @see #getByteCount() */
+  private final long byteCount;
+
+  /** @see #getDuration() */
+  private final long duration;
+
+  /**
+   * The constructor.
+   *
+   * @param fileCount - see {@link #getFileCount()}.
+   * @param directoryCount - see {@link #getDirectoryCount()}.
+   * @param linkCount - see {@link #getLinkCount()}.
+   * @param byteCount - see {@link #getByteCount()}.
+   * @param duration - see {@link #getDuration()}.
+   */
+  public FileOperationStatistics(long fileCount, long directoryCount, long linkCount, long byteCount,
+      long duration) {
+
+    super();
+    this.fileCount = fileCount;
+    this.directoryCount = directoryCount;
+    this.linkCount = linkCount;
+    this.byteCount = byteCount;
+    this.duration = duration;
+  }
+
+  /**
+   * @return the number of regular files that have been processed (including {@link #getLinkCount() links}).
+   */
+  public long getFileCount() {
+
+    return this.fileCount;
+  }
+
+  /**
+   * @return the number of directories that have been processed.
+   */
+  public long getDirectoryCount() {
+
+    return this.directoryCount;
+  }
+
+  /**
+   * @return the number of files that have been hard-linked instead of copied.
+   */
+  public long getLinkCount() {
+
+    return this.linkCount;
+  }
+
+  /**
+   * @return the total number of bytes of the processed files.
+   */
+  public long getByteCount() {
+
+    return this.byteCount;
+  }
+
+  /**
+   * @return the elapsed time of the operation in milliseconds.
+   */
+  public long getDuration() {
+
+    return this.duration;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+
+    return "files=" + this.fileCount + ",directories=" + this.directoryCount + ",links=" + this.linkCount
+        + ",bytes=" + this.byteCount + ",duration=" + this.duration + "ms";
+  }
+
+}
@@ -5,6 +5,7 @@ package net.sf.mmm.util.file.api;
 import java.io.File;
 import java.io.FileFilter;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import net.sf.mmm.util.component.api.ComponentSpecification;
 import net.sf.mmm.util.file.base.FileAccessPermissions;
@@ -329,6 +330,52 @@ public interface FileUtil {
   void copyRecursive(File source, File destination, boolean allowOverwrite, FileFilter filter)
       throws RuntimeIoException;
 
+  /**
+   * This method copies the file or directory given by <code>source</code> into the given
+   * <code>destination</code> like {@link #copyRecursive(File, File, boolean, FileFilter)} but copies the
+   * files concurrently using the given <code>executor</code>. The directory structure is created while
+   * walking the tree so only the file contents are transferred in parallel. This method returns after all
+   * files have been copied.
+   * 
+   * @param source is the file or directory to copy.
+   * @param destination is the final place where the copy should appear.
+   * @param allowOverwrite - if <code>false</code> and the <code>destination</code> already exists, a
+   *        {@link RuntimeIoException} is thrown, else if <code>true</code> the <code>destination</code> will
+   *        be overwritten.
+   * @param filter is a {@link FileFilter} that {@link FileFilter#accept(File) decides} which files should be
+   *        copied. It may be <code>null</code> to copy all files.
+   * @param hardLink - <code>true</code> if files should be hard-linked instead of copied where the underlying
+   *        file-system supports this, <code>false</code> to always copy the file contents. Links are only
+   *        created if <code>allowOverwrite</code> is <code>false</code> so no existing file is ever replaced by
+   *        a link. If a link can NOT be created, the file is copied.
+   * @param executor is the {@link Executor} used to copy the files.
+   * @return the {@link FileOperationStatistics} of the operation.
+   * @throws RuntimeIoException if the operation fails.
+   * @since 4.0.0
+   */
+  FileOperationStatistics copyRecursive(File source, File destination, boolean allowOverwrite, FileFilter filter,
+      boolean hardLink, Executor executor) throws RuntimeIoException;
+
+  /**
+   * This method copies the file or directory given by <code>source</code> into the given
+   * <code>destination</code> with the given number of threads.
+   * 
+   * @see #copyRecursive(File, File, boolean, FileFilter, boolean, Executor)
+   * 
+   * @param source is the file or directory to copy.
+   * @param destination is the final place where the copy should appear.
+   * @param allowOverwrite - see {@link #copyRecursive(File, File, boolean, FileFilter, boolean, Executor)}.
+   * @param filter is the optional {@link FileFilter} that decides which files should be copied.
+   * @param hardLink - see {@link #copyRecursive(File, File, boolean, FileFilter, boolean, Executor)}.
+   * @param parallelism is the maximum number of files to copy concurrently. A value less or equal to
+   *        <code>1</code> will copy sequentially in the calling thread.
+   * @return the {@link FileOperationStatistics} of the operation.
+   * @throws RuntimeIoException if the operation fails.
+   * @since 4.0.0
+   */
+  FileOperationStatistics copyRecursive(File source, File destination, boolean allowOverwrite, FileFilter filter,
+      boolean hardLink, int parallelism) throws RuntimeIoException;
+
   /**
    * This method {@link File#delete() deletes} the given <code>path</code>. If the <code>path</code> denotes a
    * {@link File#isDirectory() directory} then it will be deleted recursively.
@@ -353,6 +400,35 @@ public interface FileUtil {
    */
   int deleteChildren(File directory) throws RuntimeIoException;
 
+  /**
+   * This method {@link File#delete() deletes} the given <code>path</code> recursively like
+   * {@link #deleteRecursive(File)} but deletes the files concurrently using the given <code>executor</code>.
+   * The directories are deleted after all contained files have been removed. Symbolic links are deleted
+   * rather than followed.
+   * 
+   * @param path is the path to delete.
+   * @param executor is the {@link Executor} used to delete the files.
+   * @return the {@link FileOperationStatistics} of the operation.
+   * @throws RuntimeIoException if a file or directory could NOT be {@link File#delete() deleted}.
+   * @since 4.0.0
+   */
+  FileOperationStatistics deleteRecursive(File path, Executor executor) throws RuntimeIoException;
+
+  /**
+   * This method {@link File#delete() deletes} the given <code>path</code> recursively with the given number
+   * of threads.
+   * 
+   * @see #deleteRecursive(File, Executor)
+   * 
+   * @param path is the path to delete.
+   * @param parallelism is the maximum number of files to delete concurrently. A value less or equal to
+   *        <code>1</code> will delete sequentially in the calling thread.
+   * @return the {@link FileOperationStatistics} of the operation.
+   * @throws RuntimeIoException if a file or directory could NOT be {@link File#delete() deleted}.
+   * @since 4.0.0
+   */
+  FileOperationStatistics deleteRecursive(File path, int parallelism) throws RuntimeIoException;
+
   /**
    * This method gets all {@link File files} matching to the given <code>path</code> and <code>fileType</code>
    * . The <code>path</code> may contain {@link net.sf.mmm.util.pattern.base.PathPatternCompiler wildcards}.<br>
@@ -8,9 +8,29 @@ import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -25,14 +45,17 @@ import net.sf.mmm.util.file.api.FileAlreadyExistsException;
 import net.sf.mmm.util.file.api.FileAttributeModificationFailedException;
 import net.sf.mmm.util.file.api.FileCreationFailedException;
 import net.sf.mmm.util.file.api.FileDeletionFailedException;
+import net.sf.mmm.util.file.api.FileOperationStatistics;
 import net.sf.mmm.util.file.api.FileType;
 import net.sf.mmm.util.file.api.FileUtil;
+import net.sf.mmm.util.filter.api.Filter;
+import net.sf.mmm.util.filter.base.PatternFilter;
 import net.sf.mmm.util.io.api.IoMode;
 import net.sf.mmm.util.io.api.RuntimeIoException;
 import net.sf.mmm.util.lang.api.StringUtil;
 import net.sf.mmm.util.lang.base.StringUtilImpl;
 import net.sf.mmm.util.nls.api.NlsNullPointerException;
-import net.sf.mmm.util.pattern.api.PatternCompiler;
+import net.sf.mmm.util.pattern.base.AbstractGlobPatternCompiler;
 import net.sf.mmm.util.pattern.base.WildcardGlobPatternCompiler;
 import net.sf.mmm.util.scanner.base.CharSequenceScanner;
 
@@ -61,6 +84,19 @@ public class FileUtilImpl extends AbstractLoggableComponent implements FileUtil
    */
   private static final Pattern URL_SCHEMA_PATTERN = Pattern.compile("([a-zA-Z]+://)(.*)");
 
+  /** The compiler for the {@link PathSegment}s of {@link #getMatchingFiles(File, String, FileType)}. */
+  private static final AbstractGlobPatternCompiler PATH_SEGMENT_COMPILER = new WildcardGlobPatternCompiler();
+
+  /** The {@link Executor} that runs the tasks directly in the calling thread. */
+  private static final Executor DIRECT_EXECUTOR = new Executor() {
+
+    @Override
+    public void execute(Runnable command) {
+
+      command.run();
+    }
+  };
+
   /** @see #getInstance() */
   private static FileUtil instance;
 
@@ -481,7 +517,17 @@ public class FileUtilImpl extends AbstractLoggableComponent implements FileUtil
         FileOutputStream destinationStream = new FileOutputStream(destination)) {
 
       FileChannel sourceChannel = sourceStream.getChannel();
-      sourceChannel.transferTo(0, sourceChannel.size(), destinationStream.getChannel());
+      FileChannel destinationChannel = destinationStream.getChannel();
+      long size = sourceChannel.size();
+      long position = 0;
+      // transferTo may transfer less bytes than requested (e.g. 2GB limit on some platforms)
+      while (position < size) {
+        long count = sourceChannel.transferTo(position, size - position, destinationChannel);
+        if (count <= 0) {
+          break;
+        }
+        position = position + count;
+      }
 
     } catch (IOException e) {
       throw new RuntimeIoException(e, IoMode.COPY);
@@ -532,6 +578,40 @@ public class FileUtilImpl extends AbstractLoggableComponent implements FileUtil
     copyRecursive(source, destination, filter);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public FileOperationStatistics copyRecursive(File source, File destination, boolean allowOverwrite,
+      FileFilter filter, boolean hardLink, int parallelism) {
+
+    if (parallelism <= 1) {
+      return copyRecursive(source, destination, allowOverwrite, filter, hardLink, DIRECT_EXECUTOR);
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try {
+      return copyRecursive(source, destination, allowOverwrite, filter, hardLink, executor);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public FileOperationStatistics copyRecursive(File source, File destination, boolean allowOverwrite,
+      FileFilter filter, boolean hardLink, Executor executor) {
+
+    NlsNullPointerException.checkNotNull(Executor.class, executor);
+    if (!allowOverwrite && (destination.exists())) {
+      throw new FileAlreadyExistsException(destination);
+    }
+    CopyVisitor visitor = new CopyVisitor(source.toPath(), destination.toPath(), allowOverwrite, filter,
+        hardLink && !allowOverwrite, executor);
+    return visitor.run(EnumSet.of(FileVisitOption.FOLLOW_LINKS));
+  }
+
   /**
    * This method copies the file or directory given by <code>source</code> into the given
    * <code>destination</code>.<br>
@@ -663,6 +743,37 @@ public class FileUtilImpl extends AbstractLoggableComponent implements FileUtil
     return deleteCount;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public FileOperationStatistics deleteRecursive(File path, int parallelism) {
+
+    if (parallelism <= 1) {
+      return deleteRecursive(path, DIRECT_EXECUTOR);
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try {
+      return deleteRecursive(path, executor);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public FileOperationStatistics deleteRecursive(File path, Executor executor) {
+
+    NlsNullPointerException.checkNotNull(Executor.class, executor);
+    if (!path.exists() && !Files.isSymbolicLink(path.toPath())) {
+      return new FileOperationStatistics(0, 0, 0, 0, 0);
+    }
+    DeleteVisitor visitor = new DeleteVisitor(path.toPath(), executor);
+    return visitor.run(Collections.<FileVisitOption> emptySet());
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -685,86 +796,179 @@ public class FileUtilImpl extends AbstractLoggableComponent implements FileUtil
     }
     List<PathSegment> segmentList = new ArrayList<PathSegment>();
     // TODO initialize cwd according to absolute or relative path
-    boolean pathIsPattern = tokenizePath(path, segmentList, WildcardGlobPatternCompiler.INSTANCE);
+    boolean pathIsPattern = tokenizePath(path, segmentList, PATH_SEGMENT_COMPILER);
     PathSegment[] segments = segmentList.toArray(new PathSegment[segmentList.size()]);
-    collectMatchingFiles(cwd, segments, 0, fileType, list);
+    collectMatchingFiles(cwd, segments, fileType, list);
     return pathIsPattern;
   }
 
   /**
-   * This method adds all files matching to the given <code>path</code> and <code>fileType</code> to the
-   * <code>list</code>. The <code>path</code> may contain
-   * {@link net.sf.mmm.util.pattern.base.GlobPatternCompiler wildcards}.
+   * This method adds all files matching to the given <code>segments</code> and <code>fileType</code> to the
+   * <code>list</code>. The file tree is traversed only once in a single pass tracking all segments that can
+   * still match (like a non-deterministic automaton). Therefore directories that can NOT match are never
+   * descended and literal segments are resolved by direct lookup without listing the directory.
    * 
    * @param cwd is the current working directory and should therefore point to an existing
-   *        {@link File#isDirectory() directory}. If the given <code>path</code> is NOT
-   *        {@link File#isAbsolute() absolute} it is interpreted relative to this directory.
-   * @param segments is the path the files to collect must match. If this path is NOT
-   *        {@link File#isAbsolute() absolute} it is interpreted relative to the {@link File#isDirectory()
-   *        directory} given by <code>cwd</code>.
-   * @param segmentIndex is the current index in <code>pathChars</code> for the collection process.
+   *        {@link File#isDirectory() directory}.
+   * @param segments is the path the files to collect must match relative to <code>cwd</code>.
    * @param fileType is the type of the files to collect or <code>null</code> if files of any type are
    *        acceptable.
    * @param list is the list where to {@link List#add(Object) add} the collected files.
    */
-  private void collectMatchingFiles(File cwd, PathSegment[] segments, int segmentIndex, FileType fileType,
-      List<File> list) {
+  private void collectMatchingFiles(File cwd, PathSegment[] segments, FileType fileType, List<File> list) {
 
-    boolean lastSegment;
-    if ((segmentIndex + 1) < segments.length) {
-      lastSegment = false;
+    if (segments.length == 0) {
+      addMatchingFile(cwd, true, fileType, list);
     } else {
-      lastSegment = true;
-    }
-    Pattern pattern = segments[segmentIndex].pattern;
-    if (pattern == null) {
-      File newCwd = new File(cwd, segments[segmentIndex].string);
-      if (newCwd.exists()) {
-        if (lastSegment) {
-          if ((fileType == null) || (FileType.getType(newCwd) == fileType)) {
-            list.add(newCwd);
+      BitSet states = new BitSet(segments.length);
+      states.set(0);
+      closeStates(segments, states);
+      collectMatchingFiles(cwd, segments, states, fileType, list);
+    }
+  }
+
+  /**
+   * This method adds all files inside the given <code>directory</code> that match to the given
+   * <code>segments</code> and <code>fileType</code> to the <code>list</code>.
+   * 
+   * @param directory is the current directory.
+   * @param segments is the path the files to collect must match.
+   * @param states are the indexes of the <code>segments</code> that are to be matched by the children of
+   *        <code>directory</code>.
+   * @param fileType is the type of the files to collect or <code>null</code> if files of any type are
+   *        acceptable.
+   * @param list is the list where to {@link List#add(Object) add} the collected files.
+   */
+  private void collectMatchingFiles(File directory, PathSegment[] segments, BitSet states, FileType fileType,
+      List<File> list) {
+
+    int length = segments.length;
+    Map<String, MatchCandidate> candidates = new LinkedHashMap<String, MatchCandidate>();
+    boolean listing = false;
+    for (int i = states.nextSetBit(0); i >= 0; i = states.nextSetBit(i + 1)) {
+      PathSegment segment = segments[i];
+      if (segment.filter == null) {
+        getCandidate(candidates, segment.string).states.set(i + 1);
+      } else {
+        listing = true;
+      }
+    }
+    if (listing) {
+      String[] names = directory.list();
+      if (names != null) {
+        for (String name : names) {
+          MatchCandidate candidate = null;
+          for (int i = states.nextSetBit(0); i >= 0; i = states.nextSetBit(i + 1)) {
+            PathSegment segment = segments[i];
+            int next = -1;
+            if (segment.isGlobstar()) {
+              // "**" consumes this segment and may consume more
+              if (candidate == null) {
+                candidate = getCandidate(candidates, name);
+              }
+              candidate.states.set(i);
+              if ((i + 1) == length) {
+                next = length;
+              }
+            } else if ((segment.filter != null) && segment.filter.accept(name)) {
+              next = i + 1;
+            }
+            if (next >= 0) {
+              if (candidate == null) {
+                candidate = getCandidate(candidates, name);
+              }
+              candidate.states.set(next);
+            }
+          }
+          if (candidate != null) {
+            candidate.exists = true;
           }
-        } else if (newCwd.isDirectory()) {
-          collectMatchingFiles(newCwd, segments, segmentIndex + 1, fileType, list);
         }
       }
-    } else if ("**".equals(segments[segmentIndex].string)) {
-      collectMatchingFiles(cwd, segments, segmentIndex + 1, fileType, list);
-      File[] children = cwd.listFiles(DirectoryFilter.getInstance());
-      for (File file : children) {
-        collectMatchingFiles(file, segments, segmentIndex, fileType, list);
+    }
+    for (Map.Entry<String, MatchCandidate> entry : candidates.entrySet()) {
+      MatchCandidate candidate = entry.getValue();
+      BitSet nextStates = candidate.states;
+      File child = new File(directory, entry.getKey());
+      if (nextStates.get(length)) {
+        nextStates.clear(length);
+        addMatchingFile(child, candidate.exists, fileType, list);
       }
-    } else {
-      FileType filterType = fileType;
-      if (!lastSegment) {
-        filterType = FileType.DIRECTORY;
-      }
-      FileFilter filter = new PatternFileFilter(pattern, filterType);
-      File[] children = cwd.listFiles(filter);
-      if (lastSegment) {
-        for (File file : children) {
-          list.add(file);
-        }
-      } else {
-        for (File file : children) {
-          collectMatchingFiles(file, segments, segmentIndex + 1, fileType, list);
-        }
+      if (!nextStates.isEmpty() && child.isDirectory()) {
+        closeStates(segments, nextStates);
+        collectMatchingFiles(child, segments, nextStates, fileType, list);
       }
     }
   }
 
+  /**
+   * @param candidates is the {@link Map} with the {@link MatchCandidate}s.
+   * @param name is the name of the child.
+   * @return the {@link MatchCandidate} for the given <code>name</code> that is created if it does NOT yet
+   *         exist.
+   */
+  private static MatchCandidate getCandidate(Map<String, MatchCandidate> candidates, String name) {
+
+    MatchCandidate candidate = candidates.get(name);
+    if (candidate == null) {
+      candidate = new MatchCandidate();
+      candidates.put(name, candidate);
+    }
+    return candidate;
+  }
+
+  /**
+   * This method adds the indexes of all segments to <code>states</code> that can be reached without
+   * consuming a path segment. This is the case for the segment following a "**" that may also match no
+   * segment at all.
+   * 
+   * @param segments are the {@link PathSegment}s.
+   * @param states are the indexes of the <code>segments</code> to match.
+   */
+  private static void closeStates(PathSegment[] segments, BitSet states) {
+
+    int last = segments.length - 1;
+    for (int i = states.nextSetBit(0); (i >= 0) && (i < last); i = states.nextSetBit(i + 1)) {
+      if (segments[i].isGlobstar()) {
+        states.set(i + 1);
+      }
+    }
+  }
+
+  /**
+   * This method adds the given <code>file</code> to <code>list</code> if it exists and has the given
+   * <code>fileType</code>.
+   * 
+   * @param file is the matching file.
+   * @param exists - <code>true</code> if the <code>file</code> is known to exist, <code>false</code> if this
+   *        still has to be checked.
+   * @param fileType is the type of the files to collect or <code>null</code> if files of any type are
+   *        acceptable.
+   * @param list is the list where to {@link List#add(Object) add} the collected files.
+   */
+  private static void addMatchingFile(File file, boolean exists, FileType fileType, List<File> list) {
+
+    if (fileType == null) {
+      if (exists || file.exists()) {
+        list.add(file);
+      }
+    } else if (FileType.getType(file) == fileType) {
+      list.add(file);
+    }
+  }
+
   /**
    * This method tokenized the given <code>path</code> by adding {@link PathSegment}s to the given
    * <code>list</code>.
    * 
    * @param path is the path to tokenized
    * @param list is the list where to add the segment tokens.
-   * @param patternCompiler is the {@link PatternCompiler} used to compile the individual {@link PathSegment
-   *        segments} of the given <code>path</code>.
+   * @param patternCompiler is the {@link AbstractGlobPatternCompiler} used to compile the individual
+   *        {@link PathSegment segments} of the given <code>path</code>.
    * @return <code>true</code> if the path is a glob-pattern (contains '*' or '?'), <code>false</code>
    *         otherwise.
    */
-  private boolean tokenizePath(String path, List<PathSegment> list, PatternCompiler patternCompiler) {
+  private boolean tokenizePath(String path, List<PathSegment> list, AbstractGlobPatternCompiler patternCompiler) {
 
     char[] chars = path.toCharArray();
     getStringUtil().replace(chars, '\\', '/');
@@ -781,11 +985,11 @@ public class FileUtilImpl extends AbstractLoggableComponent implements FileUtil
             list.remove(lastIndex);
           }
         } else {
-          Pattern segmentPattern = patternCompiler.compile(segmentString);
-          if (segmentPattern != null) {
+          Filter<String> segmentFilter = patternCompiler.compileFilter(segmentString);
+          if (segmentFilter != null) {
             pathIsPattern = true;
           }
-          PathSegment segment = new PathSegment(segmentString, segmentPattern);
+          PathSegment segment = new PathSegment(segmentString, null, segmentFilter);
           list.add(segment);
         }
       }
@@ -793,6 +997,19 @@ public class FileUtilImpl extends AbstractLoggableComponent implements FileUtil
     return pathIsPattern;
   }
 
+  /**
+   * This inner class is a container for a child of a directory that is a candidate for a match.
+   */
+  private static class MatchCandidate {
+
+    /** The indexes of the segments to match for the children of the candidate. */
+    private final BitSet states = new BitSet();
+
+    /** <code>true</code> if the candidate is known to exist (from a directory listing). */
+    private boolean exists;
+
+  }
+
   /**
    * This inner class represents a segment of a glob-matching path. It is a simple container for a string and
    * a pattern.
@@ -805,6 +1022,9 @@ public class FileUtilImpl extends AbstractLoggableComponent implements FileUtil
     /** @see #getPattern() */
     private final Pattern pattern;
 
+    /** @see #getFilter() */
+    private final Filter<String> filter;
+
     /**
      * The constructor.
      * 
@@ -823,9 +1043,27 @@ public class FileUtilImpl extends AbstractLoggableComponent implements FileUtil
      */
     public PathSegment(String string, Pattern pattern) {
 
+      this(string, pattern, null);
+    }
+
+    /**
+     * The constructor.
+     * 
+     * @param string is the {@link #getString() string} of the segment.
+     * @param pattern is the <code>string</code> parsed as {@link #getPattern() pattern} or <code>null</code>.
+     * @param filter is the {@link #getFilter() filter} or <code>null</code> to derive it from
+     *        <code>pattern</code>.
+     */
+    public PathSegment(String string, Pattern pattern, Filter<String> filter) {
+
       super();
       this.pattern = pattern;
       this.string = string;
+      if ((filter == null) && (pattern != null)) {
+        this.filter = new PatternFilter(pattern);
+      } else {
+        this.filter = filter;
+      }
     }
 
     /**
@@ -841,13 +1079,33 @@ public class FileUtilImpl extends AbstractLoggableComponent implements FileUtil
     /**
      * This method gets the pattern.
      * 
-     * @return the pattern or <code>null</code> if the {@link #getString() string} is to be matched exactly.
+     * @return the pattern or <code>null</code> if the {@link #getString() string} is to be matched exactly or
+     *         the segment is only available as {@link #getFilter() filter}.
      */
     public Pattern getPattern() {
 
       return this.pattern;
     }
 
+    /**
+     * This method gets the filter that matches the name of a file against this segment.
+     * 
+     * @return the filter or <code>null</code> if the {@link #getString() string} is to be matched exactly.
+     */
+    public Filter<String> getFilter() {
+
+      return this.filter;
+    }
+
+    /**
+     * @return <code>true</code> if this segment is "**" that matches any number of path segments,
+     *         <code>false</code> otherwise.
+     */
+    public boolean isGlobstar() {
+
+      return "**".equals(this.string);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -858,4 +1116,336 @@ public class FileUtilImpl extends AbstractLoggableComponent implements FileUtil
     }
   }
 
+  /**
+   * This is the abstract base class for a {@link java.nio.file.FileVisitor} that walks a file tree and
+   * submits the actual operations on the files as tasks to an {@link Executor}. The tree is walked in the
+   * calling thread while the tasks are running so I/O of multiple files can overlap.
+   */
+  private abstract static class AbstractFileTreeVisitor extends SimpleFileVisitor<Path> {
+
+    /** The start of the file tree. */
+    protected final Path root;
+
+    /** The {@link CompletionService} for the tasks. */
+    private final CompletionService<Void> completionService;
+
+    /** The {@link IoMode} of the operation. */
+    private final IoMode mode;
+
+    /** The number of submitted tasks. */
+    private int taskCount;
+
+    /** The number of processed files. */
+    protected long fileCount;
+
+    /** The number of processed directories. */
+    protected long directoryCount;
+
+    /** The number of processed bytes. */
+    protected long byteCount;
+
+    /** The number of created links. */
+    protected final AtomicLong linkCount;
+
+    /**
+     * The constructor.
+     *
+     * @param root is the start of the file tree.
+     * @param executor is the {@link Executor} used to run the tasks.
+     * @param mode is the {@link IoMode} of the operation or <code>null</code> if undefined.
+     */
+    public AbstractFileTreeVisitor(Path root, Executor executor, IoMode mode) {
+
+      super();
+      this.root = root;
+      this.completionService = new ExecutorCompletionService<Void>(executor);
+      this.mode = mode;
+      this.linkCount = new AtomicLong();
+    }
+
+    /**
+     * @param task is the task to submit for asynchronous execution.
+     */
+    protected void submit(Callable<Void> task) {
+
+      this.completionService.submit(task);
+      this.taskCount++;
+    }
+
+    /**
+     * This method walks the file tree and waits until all tasks have completed.
+     *
+     * @param options are the {@link FileVisitOption}s.
+     * @return the {@link FileOperationStatistics}.
+     */
+    public FileOperationStatistics run(Set<FileVisitOption> options) {
+
+      long startTime = System.currentTimeMillis();
+      RuntimeException error = null;
+      try {
+        Files.walkFileTree(this.root, options, Integer.MAX_VALUE, this);
+      } catch (IOException e) {
+        error = createException(e);
+      } catch (RuntimeException e) {
+        error = e;
+      }
+      // always wait for the submitted tasks so no operation is running when this method returns
+      for (int i = 0; i < this.taskCount; i++) {
+        try {
+          this.completionService.take().get();
+        } catch (ExecutionException e) {
+          if (error == null) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+              error = (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+              throw (Error) cause;
+            } else {
+              error = createException(cause);
+            }
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw createException(e);
+        }
+      }
+      if (error == null) {
+        try {
+          complete();
+        } catch (IOException e) {
+          error = createException(e);
+        }
+      }
+      if (error != null) {
+        throw error;
+      }
+      long duration = System.currentTimeMillis() - startTime;
+      return new FileOperationStatistics(this.fileCount, this.directoryCount, this.linkCount.get(),
+          this.byteCount, duration);
+    }
+
+    /**
+     * This method is called after all tasks have successfully completed.
+     *
+     * @throws IOException if an I/O error occurred.
+     */
+    protected void complete() throws IOException {
+
+      // nothing to do by default
+    }
+
+    /**
+     * @param cause is the cause of the error.
+     * @return the according {@link RuntimeIoException}.
+     */
+    private RuntimeIoException createException(Throwable cause) {
+
+      if (this.mode == null) {
+        return new RuntimeIoException(cause);
+      }
+      return new RuntimeIoException(cause, this.mode);
+    }
+  }
+
+  /**
+   * This is the {@link AbstractFileTreeVisitor} for
+   * {@link FileUtilImpl#copyRecursive(File, File, boolean, FileFilter, boolean, Executor)}.
+   */
+  private class CopyVisitor extends AbstractFileTreeVisitor {
+
+    /** The destination of {@link #root}. */
+    private final Path destination;
+
+    /** @see FileUtilImpl#copyRecursive(File, File, boolean, FileFilter, boolean, Executor) */
+    private final boolean allowOverwrite;
+
+    /** @see FileUtilImpl#copyRecursive(File, File, boolean, FileFilter, boolean, Executor) */
+    private final FileFilter filter;
+
+    /** @see FileUtilImpl#copyRecursive(File, File, boolean, FileFilter, boolean, Executor) */
+    private final boolean hardLink;
+
+    /**
+     * The constructor.
+     *
+     * @param source is the file or directory to copy.
+     * @param destination is the final place where the copy should appear.
+     * @param allowOverwrite - <code>true</code> if existing directories may be reused.
+     * @param filter is the optional {@link FileFilter}.
+     * @param hardLink - <code>true</code> if files should be linked instead of copied if possible.
+     * @param executor is the {@link Executor} used to copy the files.
+     */
+    public CopyVisitor(Path source, Path destination, boolean allowOverwrite, FileFilter filter,
+        boolean hardLink, Executor executor) {
+
+      super(source, executor, IoMode.COPY);
+      this.destination = destination;
+      this.allowOverwrite = allowOverwrite;
+      this.filter = filter;
+      this.hardLink = hardLink;
+    }
+
+    /**
+     * @param path is a {@link Path} inside {@link #root}.
+     * @return <code>true</code> if the given <code>path</code> shall be copied, <code>false</code> otherwise.
+     */
+    private boolean accept(Path path) {
+
+      if ((this.filter == null) || path.equals(this.root)) {
+        return true;
+      }
+      return this.filter.accept(path.toFile());
+    }
+
+    /**
+     * @param path is a {@link Path} inside {@link #root}.
+     * @return the according {@link Path} inside {@link #destination}.
+     */
+    private Path getTarget(Path path) {
+
+      return this.destination.resolve(this.root.relativize(path).toString());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+
+      if (!accept(dir)) {
+        return FileVisitResult.SKIP_SUBTREE;
+      }
+      File target = getTarget(dir).toFile();
+      if (target.isDirectory()) {
+        if (!this.allowOverwrite) {
+          throw new FileAlreadyExistsException(target.getPath(), true);
+        }
+      } else {
+        boolean okay = target.mkdir();
+        if (!okay) {
+          throw new FileCreationFailedException(target.getAbsolutePath(), true);
+        }
+      }
+      this.directoryCount++;
+      return FileVisitResult.CONTINUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FileVisitResult visitFile(final Path file, BasicFileAttributes attrs) throws IOException {
+
+      if (accept(file)) {
+        final Path target = getTarget(file);
+        this.fileCount++;
+        this.byteCount = this.byteCount + attrs.size();
+        submit(new Callable<Void>() {
+
+          @Override
+          public Void call() throws Exception {
+
+            copy(file, target);
+            return null;
+          }
+        });
+      }
+      return FileVisitResult.CONTINUE;
+    }
+
+    /**
+     * This method copies or links a single file.
+     *
+     * @param file is the file to copy.
+     * @param target is the file to create.
+     */
+    private void copy(Path file, Path target) {
+
+      if (this.hardLink) {
+        try {
+          Files.createLink(target, file);
+          this.linkCount.incrementAndGet();
+          return;
+        } catch (IOException | UnsupportedOperationException e) {
+          // e.g. different file-stores - fall back to copy
+          getLogger().debug("Could not link " + target + " - copying instead.", e);
+        }
+      }
+      copyFile(file.toFile(), target.toFile());
+    }
+  }
+
+  /**
+   * This is the {@link AbstractFileTreeVisitor} for {@link FileUtilImpl#deleteRecursive(File, Executor)}.
+   * Files are deleted by the tasks while directories are collected and deleted after all tasks completed.
+   */
+  private static class DeleteVisitor extends AbstractFileTreeVisitor {
+
+    /** The directories to delete in post-order. */
+    private final List<Path> directories;
+
+    /**
+     * The constructor.
+     *
+     * @param path is the path to delete.
+     * @param executor is the {@link Executor} used to delete the files.
+     */
+    public DeleteVisitor(Path path, Executor executor) {
+
+      super(path, executor, null);
+      this.directories = new ArrayList<Path>();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FileVisitResult visitFile(final Path file, BasicFileAttributes attrs) throws IOException {
+
+      this.fileCount++;
+      this.byteCount = this.byteCount + attrs.size();
+      submit(new Callable<Void>() {
+
+        @Override
+        public Void call() throws Exception {
+
+          boolean deleted = file.toFile().delete();
+          if (!deleted) {
+            throw new FileDeletionFailedException(file.toFile());
+          }
+          return null;
+        }
+      });
+      return FileVisitResult.CONTINUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+
+      if (exc != null) {
+        throw exc;
+      }
+      this.directoryCount++;
+      this.directories.add(dir);
+      return FileVisitResult.CONTINUE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void complete() throws IOException {
+
+      for (Path dir : this.directories) {
+        boolean deleted = dir.toFile().delete();
+        if (!deleted) {
+          throw new FileDeletionFailedException(dir.toFile());
+        }
+      }
+    }
+  }
+
 }
@@ -0,0 +1,438 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.filter.base;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import net.sf.mmm.util.filter.api.FilterRule;
+import net.sf.mmm.util.pattern.base.LiteralPattern;
+
+/**
+ * This is the compiled form of a {@link FilterRuleChain} including the rules of all its parents. Instead of
+ * {@link PatternFilterRule#accept(String) matching} every {@link PatternFilterRule} one after the other, the
+ * rules are evaluated in bulk:
+ * <ul>
+ * <li>{@link LiteralPattern literal} prefix and suffix rules are looked up in a {@link LiteralTrie trie} and
+ * literal equals rules in a {@link Map}.</li>
+ * <li>All other regular expressions are combined into a single alternation where each alternative is a
+ * capturing group so the matching rule can be identified.</li>
+ * <li>Any other {@link FilterRule} is still {@link FilterRule#accept(Object) invoked} but only if no rule
+ * with a lower index already matched.</li>
+ * </ul>
+ * As the result of the first matching rule wins, every step only tracks the lowest matching rule index. The
+ * result is therefore identical to the sequential evaluation of the rules. For values that contain a
+ * {@link LiteralPattern#containsLineTerminator(CharSequence) line terminator} the rules are evaluated
+ * sequentially.
+ *
+ * @param <V> is the generic type of the value to check.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+final class CompiledFilterRuleChain<V> {
+
+  /** The index used if no rule matched. */
+  private static final int NO_MATCH = Integer.MAX_VALUE;
+
+  /** The flattened rules of the chain including the rules of the parents. */
+  private final FilterRule<V>[] rules;
+
+  /** The results of the rules that are evaluated in bulk or <code>null</code> for other rules. */
+  private final Boolean[] results;
+
+  /** The indexes of the rules that have to be {@link FilterRule#accept(Object) invoked} in ascending order. */
+  private final int[] sequentialIndexes;
+
+  /** The {@link LiteralTrie} with the {@link LiteralPattern.Kind#PREFIX prefix} rules or <code>null</code>. */
+  private final LiteralTrie prefixTrie;
+
+  /**
+   * The {@link LiteralTrie} with the reversed {@link LiteralPattern.Kind#SUFFIX suffix} rules or
+   * <code>null</code>.
+   */
+  private final LiteralTrie suffixTrie;
+
+  /** The {@link LiteralPattern.Kind#EQUALS equals} rules mapped to the lowest rule index. */
+  private final Map<String, Integer> equalsMap;
+
+  /** The literals of the {@link LiteralPattern.Kind#CONTAINS contains} rules. */
+  private final String[] containsLiterals;
+
+  /** The rule indexes of {@link #containsLiterals} in ascending order. */
+  private final int[] containsIndexes;
+
+  /** The combined alternation of the remaining regular expressions or <code>null</code>. */
+  private final Pattern combinedPattern;
+
+  /** The rule indexes of the alternatives of {@link #combinedPattern} in ascending order. */
+  private final int[] combinedIndexes;
+
+  /** The group numbers of the alternatives of {@link #combinedPattern}. */
+  private final int[] combinedGroups;
+
+  /**
+   * The constructor.
+   *
+   * @param rules are the flattened rules of the chain including the rules of the parents.
+   */
+  CompiledFilterRuleChain(FilterRule<V>[] rules) {
+
+    super();
+    this.rules = rules;
+    this.results = new Boolean[rules.length];
+    LiteralTrie prefixes = new LiteralTrie();
+    LiteralTrie suffixes = new LiteralTrie();
+    this.equalsMap = new HashMap<String, Integer>();
+    List<String> containsList = new ArrayList<String>();
+    List<Integer> containsIndexList = new ArrayList<Integer>();
+    List<Integer> combinedIndexList = new ArrayList<Integer>();
+    List<Integer> sequentialIndexList = new ArrayList<Integer>();
+    StringBuilder combined = new StringBuilder();
+    int[] groups = new int[rules.length];
+    int groupCount = 0;
+    for (int i = 0; i < rules.length; i++) {
+      FilterRule<V> rule = rules[i];
+      Pattern pattern = null;
+      Boolean result = null;
+      // subclasses may override accept so only the plain PatternFilterRule is analyzed
+      if ((rule != null) && (rule.getClass() == PatternFilterRule.class)) {
+        PatternFilterRule patternRule = (PatternFilterRule) rule;
+        pattern = patternRule.getPattern();
+        result = patternRule.getResult();
+      }
+      if ((pattern == null) || (result == null)) {
+        sequentialIndexList.add(Integer.valueOf(i));
+        continue;
+      }
+      LiteralPattern literalPattern = LiteralPattern.analyze(pattern, false);
+      if (literalPattern != null) {
+        String literal = literalPattern.getLiteral();
+        switch (literalPattern.getKind()) {
+          case EQUALS:
+            if (!this.equalsMap.containsKey(literal)) {
+              this.equalsMap.put(literal, Integer.valueOf(i));
+            }
+            break;
+          case PREFIX:
+            prefixes.add(literal, false, i);
+            break;
+          case SUFFIX:
+            suffixes.add(literal, true, i);
+            break;
+          default :
+            containsList.add(literal);
+            containsIndexList.add(Integer.valueOf(i));
+        }
+      } else if (LiteralPattern.isCombinable(pattern)) {
+        if (groupCount > 0) {
+          combined.append('|');
+        }
+        combined.append('(');
+        combined.append(pattern.pattern());
+        combined.append(')');
+        groupCount++;
+        groups[combinedIndexList.size()] = groupCount;
+        groupCount = groupCount + pattern.matcher("").groupCount();
+        combinedIndexList.add(Integer.valueOf(i));
+      } else {
+        sequentialIndexList.add(Integer.valueOf(i));
+        continue;
+      }
+      this.results[i] = result;
+    }
+    Pattern combinedRegex = null;
+    if (combinedIndexList.size() > 1) {
+      try {
+        combinedRegex = Pattern.compile(combined.toString());
+      } catch (PatternSyntaxException e) {
+        combinedRegex = null;
+      }
+    }
+    if (combinedRegex == null) {
+      // combining a single pattern would not gain anything so it is evaluated directly
+      for (Integer index : combinedIndexList) {
+        this.results[index.intValue()] = null;
+        sequentialIndexList.add(index);
+      }
+      combinedIndexList.clear();
+    }
+    this.combinedPattern = combinedRegex;
+    this.combinedIndexes = toArray(combinedIndexList);
+    this.combinedGroups = Arrays.copyOf(groups, combinedIndexList.size());
+    this.sequentialIndexes = toArray(sequentialIndexList);
+    Arrays.sort(this.sequentialIndexes);
+    this.containsLiterals = containsList.toArray(new String[containsList.size()]);
+    this.containsIndexes = toArray(containsIndexList);
+    if (prefixes.isEmpty()) {
+      this.prefixTrie = null;
+    } else {
+      this.prefixTrie = prefixes;
+    }
+    if (suffixes.isEmpty()) {
+      this.suffixTrie = null;
+    } else {
+      this.suffixTrie = suffixes;
+    }
+  }
+
+  /**
+   * @param list is the {@link List} to convert.
+   * @return the according array.
+   */
+  private static int[] toArray(List<Integer> list) {
+
+    int[] array = new int[list.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = list.get(i).intValue();
+    }
+    return array;
+  }
+
+  /**
+   * This method checks the given <code>value</code> against the rules.
+   *
+   * @see FilterRuleChain#accept(Object)
+   *
+   * @param value is the value to filter.
+   * @return <code>true</code> if the value is accepted, <code>false</code> if the value is NOT accepted, or
+   *         <code>null</code> if no rule matched.
+   */
+  Boolean accept(V value) {
+
+    if ((this.sequentialIndexes.length == this.rules.length) || !(value instanceof String)
+        || LiteralPattern.containsLineTerminator((String) value)) {
+      return acceptSequential(value);
+    }
+    String string = (String) value;
+    int best = NO_MATCH;
+    if (this.prefixTrie != null) {
+      best = this.prefixTrie.find(string, false, best);
+    }
+    if (this.suffixTrie != null) {
+      best = this.suffixTrie.find(string, true, best);
+    }
+    if (!this.equalsMap.isEmpty()) {
+      Integer index = this.equalsMap.get(string);
+      if ((index != null) && (index.intValue() < best)) {
+        best = index.intValue();
+      }
+    }
+    for (int i = 0; i < this.containsIndexes.length; i++) {
+      int index = this.containsIndexes[i];
+      if (index >= best) {
+        break;
+      }
+      if (string.contains(this.containsLiterals[i])) {
+        best = index;
+        break;
+      }
+    }
+    if ((this.combinedPattern != null) && (this.combinedIndexes[0] < best)) {
+      Matcher matcher = this.combinedPattern.matcher(string);
+      if (matcher.matches()) {
+        for (int i = 0; i < this.combinedIndexes.length; i++) {
+          int index = this.combinedIndexes[i];
+          if (index >= best) {
+            break;
+          }
+          if (matcher.start(this.combinedGroups[i]) >= 0) {
+            best = index;
+            break;
+          }
+        }
+      }
+    }
+    for (int index : this.sequentialIndexes) {
+      if (index >= best) {
+        break;
+      }
+      Boolean result = this.rules[index].accept(value);
+      if (result != null) {
+        return result;
+      }
+    }
+    if (best == NO_MATCH) {
+      return null;
+    }
+    return this.results[best];
+  }
+
+  /**
+   * This method checks the given <code>value</code> against the rules one after the other.
+   *
+   * @param value is the value to filter.
+   * @return <code>true</code> if the value is accepted, <code>false</code> if the value is NOT accepted, or
+   *         <code>null</code> if no rule matched.
+   */
+  private Boolean acceptSequential(V value) {
+
+    for (FilterRule<V> rule : this.rules) {
+      Boolean result = rule.accept(value);
+      if (result != null) {
+        return result;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * This is a simple trie of literals that maps each literal to the lowest index of a rule with that literal.
+   * It is used to find the lowest index of all literals that are a prefix (or suffix) of a given value in a
+   * single pass.
+   */
+  static final class LiteralTrie {
+
+    /** The root node that represents the empty literal. */
+    private final Node root;
+
+    /**
+     * The constructor.
+     */
+    LiteralTrie() {
+
+      super();
+      this.root = new Node();
+    }
+
+    /**
+     * @return <code>true</code> if no literal has been {@link #add(String, boolean, int) added}.
+     */
+    boolean isEmpty() {
+
+      return (this.root.index == NO_MATCH) && (this.root.keys.length == 0);
+    }
+
+    /**
+     * This method adds the given <code>literal</code>.
+     *
+     * @param literal is the literal to add.
+     * @param reverse - <code>true</code> to add the literal from its end to its start (for suffixes).
+     * @param index is the index of the according rule.
+     */
+    void add(String literal, boolean reverse, int index) {
+
+      Node node = this.root;
+      int length = literal.length();
+      for (int i = 0; i < length; i++) {
+        char c;
+        if (reverse) {
+          c = literal.charAt(length - 1 - i);
+        } else {
+          c = literal.charAt(i);
+        }
+        node = node.getOrCreateChild(c);
+      }
+      if (index < node.index) {
+        node.index = index;
+      }
+    }
+
+    /**
+     * This method finds the lowest index of all literals that are a prefix (or suffix) of the given
+     * <code>value</code>.
+     *
+     * @param value is the value to check.
+     * @param reverse - <code>true</code> to match suffixes, <code>false</code> for prefixes.
+     * @param limit is the lowest index found so far.
+     * @return the lowest index of a matching literal if less than <code>limit</code>, otherwise
+     *         <code>limit</code>.
+     */
+    int find(String value, boolean reverse, int limit) {
+
+      int best = limit;
+      Node node = this.root;
+      int length = value.length();
+      int i = 0;
+      while (node != null) {
+        if (node.index < best) {
+          best = node.index;
+        }
+        if (i >= length) {
+          break;
+        }
+        char c;
+        if (reverse) {
+          c = value.charAt(length - 1 - i);
+        } else {
+          c = value.charAt(i);
+        }
+        node = node.getChild(c);
+        i++;
+      }
+      return best;
+    }
+
+    /**
+     * A node of the {@link LiteralTrie}.
+     */
+    private static final class Node {
+
+      /** The characters of the {@link #children} in ascending order. */
+      private char[] keys;
+
+      /** The child nodes. */
+      private Node[] children;
+
+      /** The lowest index of a rule whose literal ends at this node or {@link #NO_MATCH}. */
+      private int index;
+
+      /**
+       * The constructor.
+       */
+      private Node() {
+
+        super();
+        this.keys = new char[0];
+        this.children = new Node[0];
+        this.index = NO_MATCH;
+      }
+
+      /**
+       * @param c is the character.
+       * @return the child node for the given character or <code>null</code> if no such child exists.
+       */
+      private Node getChild(char c) {
+
+        int i = Arrays.binarySearch(this.keys, c);
+        if (i < 0) {
+          return null;
+        }
+        return this.children[i];
+      }
+
+      /**
+       * @param c is the character.
+       * @return the child node for the given character that is created if it does not exist.
+       */
+      private Node getOrCreateChild(char c) {
+
+        int i = Arrays.binarySearch(this.keys, c);
+        if (i >= 0) {
+          return this.children[i];
+        }
+        int insert = -i - 1;
+        int size = this.keys.length;
+        char[] newKeys = new char[size + 1];
+        Node[] newChildren = new Node[size + 1];
+        System.arraycopy(this.keys, 0, newKeys, 0, insert);
+        System.arraycopy(this.children, 0, newChildren, 0, insert);
+        System.arraycopy(this.keys, insert, newKeys, insert + 1, size - insert);
+        System.arraycopy(this.children, insert, newChildren, insert + 1, size - insert);
+        Node child = new Node();
+        newKeys[insert] = c;
+        newChildren[insert] = child;
+        this.keys = newKeys;
+        this.children = newChildren;
+        return child;
+      }
+    }
+  }
+
+}
@@ -2,6 +2,9 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.util.filter.base;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
@@ -13,7 +16,10 @@ import net.sf.mmm.util.filter.api.Filter;
 import net.sf.mmm.util.filter.api.FilterRule;
 
 /**
- * This class implements a {@link Filter} that is based on a chain of {@link FilterRule}s.
+ * This class implements a {@link Filter} that is based on a chain of {@link FilterRule}s.<br>
+ * <b>ATTENTION:</b><br>
+ * On the first {@link #accept(Object) call} the rules of this chain and its parents are compiled. A chain
+ * must therefore NOT be modified after it has been used (e.g. by unmarshalling into it again).
  * 
  * @param <V> is the generic type of the value to check.
  * 
@@ -41,6 +47,12 @@ public class FilterRuleChain<V> implements Filter<V> {
   @XmlAttribute(name = "default-result", required = false)
   private boolean defaultResult;
 
+  /**
+   * The {@link CompiledFilterRuleChain compiled} form of this chain or <code>null</code> if NOT yet created.
+   * It is never invalidated as the chain is immutable after its first use.
+   */
+  private transient volatile CompiledFilterRuleChain<V> compiledChain;
+
   /**
    * The non-arg constructor.<br>
    * <b>NOTE:</b><br>
@@ -99,12 +111,19 @@ public class FilterRuleChain<V> implements Filter<V> {
    * {@inheritDoc}
    * 
    * This method checks all rules in the chain and returns the result of the first matching rule. If no rule
-   * matches, <code>{@link #getDefaultResult()}</code> is returned.
+   * matches, <code>{@link #getDefaultResult()}</code> is returned.<br>
+   * On the first call the rules of this chain and its parents are {@link CompiledFilterRuleChain compiled}
+   * so that literal patterns are resolved via lookups and the other patterns via a single combined regex.
    */
   @Override
   public boolean accept(V value) {
 
-    Boolean result = acceptRecursive(value);
+    CompiledFilterRuleChain<V> compiled = this.compiledChain;
+    if (compiled == null) {
+      compiled = new CompiledFilterRuleChain<V>(getAllRules());
+      this.compiledChain = compiled;
+    }
+    Boolean result = compiled.accept(value);
     if (result == null) {
       return this.defaultResult;
     } else {
@@ -113,28 +132,33 @@ public class FilterRuleChain<V> implements Filter<V> {
   }
 
   /**
-   * This method implements {@link #accept(Object)} recursively.
+   * This method gets the rules of the {@link #parent} chains followed by the rules of this chain in the order
+   * they are checked.
+   * 
+   * @return the flattened rules.
+   */
+  @SuppressWarnings("unchecked")
+  private FilterRule<V>[] getAllRules() {
+
+    List<FilterRule<V>> list = new ArrayList<FilterRule<V>>();
+    collectRules(list);
+    return list.toArray(new FilterRule[list.size()]);
+  }
+
+  /**
+   * This method adds the rules of the {@link #parent} chains and this chain recursively to the given
+   * <code>list</code>.
    * 
-   * @param value is the value to filter.
-   * @return <code>true</code> if the value is accepted, <code>false</code> if the value is NOT accepted, or
-   *         <code>null</code> if no decision is made.
+   * @param list is the {@link List} where to add the rules.
    */
-  private Boolean acceptRecursive(V value) {
+  private void collectRules(List<FilterRule<V>> list) {
 
-    Boolean result = null;
     if (this.parent != null) {
-      result = this.parent.acceptRecursive(value);
-      if (result != null) {
-        return result;
-      }
+      this.parent.collectRules(list);
     }
     for (FilterRule<V> rule : this.rules) {
-      result = rule.accept(value);
-      if (result != null) {
-        return result;
-      }
+      list.add(rule);
     }
-    return result;
   }
 
   /**
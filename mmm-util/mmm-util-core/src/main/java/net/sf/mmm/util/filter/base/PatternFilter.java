@@ -0,0 +1,62 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.filter.base;
+
+import java.util.regex.Pattern;
+
+import net.sf.mmm.util.filter.api.Filter;
+import net.sf.mmm.util.nls.api.NlsNullPointerException;
+
+/**
+ * This is an implementation of {@link Filter} that {@link #accept(String) accepts} a string if it
+ * {@link java.util.regex.Matcher#matches() matches} a given {@link Pattern}.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public class PatternFilter implements Filter<String> {
+
+  /** @see #getPattern() */
+  private final Pattern pattern;
+
+  /**
+   * The constructor.
+   * 
+   * @param pattern is the {@link #getPattern() pattern}.
+   */
+  public PatternFilter(Pattern pattern) {
+
+    super();
+    NlsNullPointerException.checkNotNull(Pattern.class, pattern);
+    this.pattern = pattern;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public boolean accept(String value) {
+
+    if (value == null) {
+      return false;
+    }
+    return this.pattern.matcher(value).matches();
+  }
+
+  /**
+   * @return the {@link Pattern} that has to {@link java.util.regex.Matcher#matches() match}.
+   */
+  public Pattern getPattern() {
+
+    return this.pattern;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+
+    return this.pattern.pattern();
+  }
+
+}
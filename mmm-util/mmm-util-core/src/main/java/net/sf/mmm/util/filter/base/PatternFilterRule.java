@@ -71,6 +71,30 @@ public class PatternFilterRule implements FilterRule<String> {
     this.result = Boolean.valueOf(resultOnMatch);
   }
 
+  /**
+   * This method gets the {@link Pattern} a value has to {@link java.util.regex.Matcher#matches() match} in
+   * order to activate this rule.
+   * 
+   * @return the pattern.
+   * @since 4.0.0
+   */
+  public Pattern getPattern() {
+
+    return this.pattern;
+  }
+
+  /**
+   * This method gets the result {@link #accept(String) returned} if the {@link #getPattern() pattern}
+   * matches.
+   * 
+   * @return the result.
+   * @since 4.0.0
+   */
+  public Boolean getResult() {
+
+    return this.result;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -6,7 +6,6 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -29,7 +28,10 @@ import net.sf.mmm.util.nls.api.NlsTemplate;
 import net.sf.mmm.util.nls.api.ObjectNotFoundException;
 
 /**
- * This is the abstract base implementation of {@link NlsBundleFactory}.
+ * This is the abstract base implementation of {@link NlsBundleFactory}. It creates a dynamic {@link Proxy} for
+ * each {@link NlsBundle} interface. The information for each method is computed only once and cached. An
+ * invocation with arguments only wraps them in an {@link NlsArgumentArrayMap} and an invocation without
+ * arguments returns a cached {@link NlsMessage}.
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 3.0.0
@@ -185,7 +187,9 @@ public abstract class AbstractNlsBundleFactory extends AbstractComponent impleme
 
     /**
      * This method converts the given <code>arguments</code> to a {@link Map} with the
-     * {@link NlsMessage#getArgument(String) arguments}.
+     * {@link NlsMessage#getArgument(String) arguments}. The {@link NlsBundleMethodInfo#getArgumentNames()
+     * argument names} have already been verified to be unique so the <code>arguments</code> are simply wrapped
+     * without copying.
      * 
      * @param method is the {@link NlsBundle}-{@link Method} that has been invoked.
      * @param methodInfo is the {@link NlsBundleMethodInfo} for the given {@link Method}.
@@ -194,15 +198,24 @@ public abstract class AbstractNlsBundleFactory extends AbstractComponent impleme
      */
     protected Map<String, Object> createArgumentMap(Method method, NlsBundleMethodInfo methodInfo, Object[] arguments) {
 
-      Map<String, Object> map = new HashMap<String, Object>();
-      String[] argumentNames = methodInfo.argumentNames;
-      for (int i = 0; i < arguments.length; i++) {
-        Object old = map.put(argumentNames[i], arguments[i]);
-        if (old != null) {
-          throw new DuplicateObjectException(method, argumentNames[i]);
-        }
+      return new NlsArgumentArrayMap(methodInfo.argumentNames, arguments);
+    }
+
+    /**
+     * This method gets the {@link NlsMessage} for an invocation without arguments. As {@link NlsMessage}s are
+     * immutable, it is created only once per method and then reused.
+     * 
+     * @param methodInfo is the {@link NlsBundleMethodInfo} of the invoked method.
+     * @return the {@link NlsMessage} without arguments.
+     */
+    protected NlsMessage getMessageWithoutArguments(NlsBundleMethodInfo methodInfo) {
+
+      NlsMessage message = methodInfo.message;
+      if (message == null) {
+        message = getMessageFactory().create(methodInfo.template);
+        methodInfo.message = message;
       }
-      return map;
+      return message;
     }
 
     /**
@@ -259,7 +272,7 @@ public abstract class AbstractNlsBundleFactory extends AbstractComponent impleme
             result = null;
           } else {
             if ((parameters == null) || (parameters.isEmpty())) {
-              result = getMessageFactory().create(methodInfo.template);
+              result = getMessageWithoutArguments(methodInfo);
             } else {
               result = getMessageFactory().create(methodInfo.template, parameters);
             }
@@ -267,7 +280,7 @@ public abstract class AbstractNlsBundleFactory extends AbstractComponent impleme
         } else {
           methodInfo = getOrCreateMethodInfo(method, args, methodName, null);
           if ((args == null) || (args.length == 0)) {
-            result = getMessageFactory().create(methodInfo.template);
+            result = getMessageWithoutArguments(methodInfo);
           } else {
             Map<String, Object> messageArguments = createArgumentMap(method, methodInfo, args);
             result = getMessageFactory().create(methodInfo.template, messageArguments);
@@ -321,6 +334,13 @@ public abstract class AbstractNlsBundleFactory extends AbstractComponent impleme
           argumentNames = StringUtil.EMPTY_STRING_ARRAY;
         } else {
           argumentNames = getArgumentNames(identifiedMethod);
+          for (int i = 1; i < argumentNames.length; i++) {
+            for (int j = 0; j < i; j++) {
+              if (argumentNames[i].equals(argumentNames[j])) {
+                throw new DuplicateObjectException(identifiedMethod, argumentNames[i]);
+              }
+            }
+          }
         }
         methodInfo = new NlsBundleMethodInfo(template, argumentNames);
         this.method2BundleInfoMap.put(methodName, methodInfo);
@@ -369,6 +389,9 @@ public abstract class AbstractNlsBundleFactory extends AbstractComponent impleme
     /** @see #getArgumentNames() */
     private final String[] argumentNames;
 
+    /** The cached {@link NlsMessage} for an invocation without arguments. */
+    private volatile NlsMessage message;
+
     /**
      * The constructor.
      * 
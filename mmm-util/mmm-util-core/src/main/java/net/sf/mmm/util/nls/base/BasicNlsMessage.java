@@ -18,11 +18,14 @@ import net.sf.mmm.util.nls.api.NlsTemplateResolver;
  */
 public abstract class BasicNlsMessage extends AbstractNlsMessage {
 
-  /** The {@link #message} as {@link NlsTemplate}. */
-  private NlsTemplate template;
+  /**
+   * The {@link #message} as {@link NlsTemplate}. It is volatile as it is lazily resolved and an instance may
+   * be shared across threads (e.g. the cached message of a bundle method without arguments).
+   */
+  private volatile NlsTemplate template;
 
   /** @see #getInternationalizedMessage() */
-  private String message;
+  private volatile String message;
 
   /** @see #getArgument(String) */
   private final Map<String, Object> arguments;
@@ -88,10 +91,12 @@ public abstract class BasicNlsMessage extends AbstractNlsMessage {
   @Override
   public String getInternationalizedMessage() {
 
-    if (this.message == null) {
-      this.message = this.template.translate(LOCALE_ROOT);
+    String result = this.message;
+    if (result == null) {
+      result = this.template.translate(LOCALE_ROOT);
+      this.message = result;
     }
-    return this.message;
+    return result;
   }
 
   /**
@@ -125,20 +130,23 @@ public abstract class BasicNlsMessage extends AbstractNlsMessage {
    */
   public NlsTemplate getTemplate(NlsTemplateResolver resolver) {
 
-    if (this.template == null) {
+    NlsTemplate result = this.template;
+    if (result == null) {
       synchronized (this) {
-        if (this.template == null) {
+        result = this.template;
+        if (result == null) {
           NlsTemplateResolver templateResolver;
           if (resolver == null) {
             templateResolver = NlsAccess.getTemplateResolver();
           } else {
             templateResolver = resolver;
           }
-          this.template = templateResolver.resolveTemplate(this.message);
+          result = templateResolver.resolveTemplate(this.message);
+          this.template = result;
         }
       }
     }
-    return this.template;
+    return result;
   }
 
 }
@@ -0,0 +1,188 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.nls.base;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This is a compact and immutable {@link Map} for the {@link net.sf.mmm.util.nls.api.NlsMessage#getArgument(String)
+ * arguments} of a {@link net.sf.mmm.util.nls.api.NlsMessage}. It is backed by an array of keys that is shared
+ * for all invocations of the same {@link net.sf.mmm.util.nls.api.NlsBundle}-method and the array of the actual
+ * arguments. Unlike a {@link java.util.HashMap} it does NOT allocate any entries or tables. As the number of
+ * arguments is typically very small, {@link #get(Object)} performs a linear search.<br/>
+ * <b>ATTENTION:</b><br/>
+ * The keys have to be unique and the arrays must NOT be modified after construction.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public class NlsArgumentArrayMap extends AbstractMap<String, Object> implements Serializable {
+
+  /** UID for serialization. */
+  private static final long serialVersionUID = 5870528429311254426L;
+
+  /** The keys (argument names). */
+  private final String[] keys;
+
+  /** The values (arguments) in the same order as the {@link #keys}. */
+  private final Object[] values;
+
+  /** @see #entrySet() */
+  private transient Set<Map.Entry<String, Object>> entrySet;
+
+  /**
+   * The constructor.
+   *
+   * @param keys are the unique keys (argument names).
+   * @param values are the values (arguments) in the same order as the given <code>keys</code>.
+   */
+  public NlsArgumentArrayMap(String[] keys, Object[] values) {
+
+    super();
+    if (keys.length != values.length) {
+      throw new IllegalArgumentException(keys.length + "!=" + values.length);
+    }
+    this.keys = keys;
+    this.values = values;
+  }
+
+  /**
+   * This method gets the index of the given <code>key</code>.
+   *
+   * @param key is the key to find.
+   * @return the index of the given <code>key</code> or <code>-1</code> if not contained.
+   */
+  private int indexOf(Object key) {
+
+    for (int i = 0; i < this.keys.length; i++) {
+      if (this.keys[i].equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Object get(Object key) {
+
+    int index = indexOf(key);
+    if (index < 0) {
+      return null;
+    }
+    return this.values[index];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean containsKey(Object key) {
+
+    return (indexOf(key) >= 0);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int size() {
+
+    return this.keys.length;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isEmpty() {
+
+    return (this.keys.length == 0);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<Map.Entry<String, Object>> entrySet() {
+
+    if (this.entrySet == null) {
+      this.entrySet = new EntrySet();
+    }
+    return this.entrySet;
+  }
+
+  /**
+   * This inner class is the {@link #entrySet() entry set} view of this map.
+   */
+  private class EntrySet extends AbstractSet<Map.Entry<String, Object>> {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<Map.Entry<String, Object>> iterator() {
+
+      return new EntryIterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int size() {
+
+      return NlsArgumentArrayMap.this.keys.length;
+    }
+  }
+
+  /**
+   * This inner class is the {@link Iterator} of the {@link EntrySet}.
+   */
+  private class EntryIterator implements Iterator<Map.Entry<String, Object>> {
+
+    /** The index of the next entry. */
+    private int index;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() {
+
+      return (this.index < NlsArgumentArrayMap.this.keys.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map.Entry<String, Object> next() {
+
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      int i = this.index++;
+      return new SimpleImmutableEntry<String, Object>(NlsArgumentArrayMap.this.keys[i],
+          NlsArgumentArrayMap.this.values[i]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove() {
+
+      throw new UnsupportedOperationException();
+    }
+  }
+
+}
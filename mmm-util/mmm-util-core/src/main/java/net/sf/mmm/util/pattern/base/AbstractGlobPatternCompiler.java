@@ -4,6 +4,8 @@ package net.sf.mmm.util.pattern.base;
 
 import java.util.regex.Pattern;
 
+import net.sf.mmm.util.filter.api.Filter;
+import net.sf.mmm.util.filter.base.PatternFilter;
 import net.sf.mmm.util.pattern.api.PatternCompiler;
 
 /**
@@ -41,6 +43,47 @@ public abstract class AbstractGlobPatternCompiler implements PatternCompiler {
     return Pattern.compile(regexPattern);
   }
 
+  /**
+   * This method compiles the given glob-<code>pattern</code> to a {@link Filter} that
+   * {@link Filter#accept(Object) accepts} exactly the strings {@link java.util.regex.Matcher#matches()
+   * matched} by the {@link #compile(String) compiled pattern}. If {@link #isSimpleGlob()} is
+   * <code>true</code>, a {@link GlobFilter} is returned that matches without a regex engine.
+   * 
+   * @param pattern is the glob-pattern to compile.
+   * @return the according {@link Filter} or <code>null</code> if {@link #compile(String)} would return
+   *         <code>null</code>.
+   * @since 4.0.0
+   */
+  public Filter<String> compileFilter(String pattern) {
+
+    if (isSimpleGlob()) {
+      if (isRequireWildcard() && (pattern.indexOf('*') < 0) && (pattern.indexOf('?') < 0)) {
+        return null;
+      }
+      return new GlobFilter(pattern);
+    }
+    Pattern regex = compile(pattern);
+    if (regex == null) {
+      return null;
+    }
+    return new PatternFilter(regex);
+  }
+
+  /**
+   * This method determines if this compiler only supports the plain wildcards <code>'*'</code> and
+   * <code>'?'</code> with the semantics of {@link GlobFilter}. In that case {@link #compileFilter(String)}
+   * can avoid regular expressions.<br/>
+   * This implementation returns <code>false</code>. Override if {@link #process(char[], int, StringBuilder)}
+   * is NOT overridden.
+   * 
+   * @return <code>true</code> if this is a simple glob-compiler, <code>false</code> otherwise.
+   * @since 4.0.0
+   */
+  protected boolean isSimpleGlob() {
+
+    return false;
+  }
+
   /**
    * This method gets the flag that determines if wildcards are required.<br>
    * This implementation always returns <code>false</code>. Override to change.
@@ -0,0 +1,112 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.pattern.base;
+
+import net.sf.mmm.util.filter.api.Filter;
+import net.sf.mmm.util.nls.api.NlsNullPointerException;
+
+/**
+ * This is an implementation of {@link Filter} that matches a string against a simple glob-pattern where
+ * only <code>'*'</code> and <code>'?'</code> are treated special (see {@link GlobPatternCompiler}). Unlike
+ * the {@link java.util.regex.Pattern} {@link GlobPatternCompiler#compile(String) compiled} from the same
+ * glob it works directly on the characters without any regex engine. It is therefore much cheaper for the
+ * typical case of matching a lot of (file-)names against a short glob.<br/>
+ * Like the according regular expression, the wildcards do NOT match line terminators.
+ * 
+ * @see AbstractGlobPatternCompiler#compileFilter(String)
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public class GlobFilter implements Filter<String> {
+
+  /** @see #getGlob() */
+  private final String glob;
+
+  /**
+   * The constructor.
+   * 
+   * @param glob is the {@link #getGlob() glob-pattern}.
+   */
+  public GlobFilter(String glob) {
+
+    super();
+    NlsNullPointerException.checkNotNull("glob", glob);
+    this.glob = glob;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  public boolean accept(String value) {
+
+    if (value == null) {
+      return false;
+    }
+    int globLength = this.glob.length();
+    int valueLength = value.length();
+    int globIndex = 0;
+    int valueIndex = 0;
+    // position of the last '*' and the value index it currently matches up to for backtracking
+    int starIndex = -1;
+    int starValueIndex = 0;
+    while (valueIndex < valueLength) {
+      char c = value.charAt(valueIndex);
+      if (globIndex < globLength) {
+        char g = this.glob.charAt(globIndex);
+        if (g == '*') {
+          starIndex = globIndex;
+          starValueIndex = valueIndex;
+          globIndex++;
+          continue;
+        } else if ((g == c) || ((g == '?') && !isLineTerminator(c))) {
+          globIndex++;
+          valueIndex++;
+          continue;
+        }
+      }
+      if (starIndex < 0) {
+        return false;
+      }
+      // let the last '*' consume one more character and retry
+      if (isLineTerminator(value.charAt(starValueIndex))) {
+        return false;
+      }
+      starValueIndex++;
+      globIndex = starIndex + 1;
+      valueIndex = starValueIndex;
+    }
+    while ((globIndex < globLength) && (this.glob.charAt(globIndex) == '*')) {
+      globIndex++;
+    }
+    return (globIndex == globLength);
+  }
+
+  /**
+   * @param c is the character to check.
+   * @return <code>true</code> if <code>c</code> is a line terminator that is NOT matched by <code>'.'</code>
+   *         in a regular expression, <code>false</code> otherwise.
+   */
+  private static boolean isLineTerminator(char c) {
+
+    return (c == '\n') || (c == '\r') || (c == '\u0085') || (c == '\u2028') || (c == '\u2029');
+  }
+
+  /**
+   * @return the glob-pattern.
+   */
+  public String getGlob() {
+
+    return this.glob;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+
+    return this.glob;
+  }
+
+}
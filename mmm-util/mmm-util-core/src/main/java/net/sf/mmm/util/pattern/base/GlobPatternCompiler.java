@@ -31,4 +31,13 @@ public class GlobPatternCompiler extends AbstractGlobPatternCompiler {
     super();
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected boolean isSimpleGlob() {
+
+    return true;
+  }
+
 }
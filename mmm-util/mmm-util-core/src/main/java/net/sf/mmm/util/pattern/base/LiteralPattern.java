@@ -0,0 +1,327 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.pattern.base;
+
+import java.util.regex.Pattern;
+
+/**
+ * This class represents a {@link Pattern} that is nothing but a literal {@link String} optionally surrounded
+ * by the anchors "^" and "$" and the wildcard ".*" (e.g. "^/doc/.*" or ".*\.pdf$" as produced by the
+ * {@link RegexInfixPatternCompiler}). Such a {@link Pattern} can be evaluated by a simple
+ * {@link String#startsWith(String) prefix}, {@link String#endsWith(String) suffix},
+ * {@link String#equals(Object) equals} or {@link String#contains(CharSequence) contains} check or grouped
+ * with other literals into a lookup structure instead of running the regex engine.<br/>
+ * <b>ATTENTION:</b><br/>
+ * The literal check is only equivalent to the {@link Pattern} if the value does NOT
+ * {@link #containsLineTerminator(CharSequence) contain a line terminator} because ".*" does not match a line
+ * terminator and "$" also matches before a trailing line terminator.
+ *
+ * @see #analyze(Pattern, boolean)
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public final class LiteralPattern {
+
+  /** The characters that have a special meaning in a regex outside of a character class. */
+  private static final String SPECIAL_CHARACTERS = "\\^$.|?*+()[]{}";
+
+  /** @see #getKind() */
+  private final Kind kind;
+
+  /** @see #getLiteral() */
+  private final String literal;
+
+  /**
+   * The constructor.
+   *
+   * @param kind is the {@link #getKind() kind}.
+   * @param literal is the {@link #getLiteral() literal}.
+   */
+  private LiteralPattern(Kind kind, String literal) {
+
+    super();
+    this.kind = kind;
+    this.literal = literal;
+  }
+
+  /**
+   * This method gets the {@link Kind} that determines how the {@link #getLiteral() literal} is checked.
+   *
+   * @return the {@link Kind}.
+   */
+  public Kind getKind() {
+
+    return this.kind;
+  }
+
+  /**
+   * This method gets the literal {@link String} of the {@link Pattern} without any anchors, wildcards or
+   * escapes.
+   *
+   * @return the literal.
+   */
+  public String getLiteral() {
+
+    return this.literal;
+  }
+
+  /**
+   * This method determines if the given <code>value</code> is matched by this literal pattern.<br/>
+   * <b>ATTENTION:</b><br/>
+   * The result is only equivalent to the original {@link Pattern} if the <code>value</code> does NOT
+   * {@link #containsLineTerminator(CharSequence) contain a line terminator}.
+   *
+   * @param value is the value to check.
+   * @return <code>true</code> if the <code>value</code> matches, <code>false</code> otherwise.
+   */
+  public boolean matches(String value) {
+
+    switch (this.kind) {
+      case EQUALS:
+        return value.equals(this.literal);
+      case PREFIX:
+        return value.startsWith(this.literal);
+      case SUFFIX:
+        return value.endsWith(this.literal);
+      default :
+        return value.contains(this.literal);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+
+    return this.kind + "[" + this.literal + "]";
+  }
+
+  /**
+   * This method analyzes the given {@link Pattern} and determines if it is a literal pattern.
+   *
+   * @param pattern is the {@link Pattern} to analyze.
+   * @param find - <code>true</code> if the {@link Pattern} is used with {@link java.util.regex.Matcher#find()}
+   *        so only "^" and "$" anchor the literal, <code>false</code> if it is used with
+   *        {@link java.util.regex.Matcher#matches()} so the literal is anchored unless preceded or followed by
+   *        ".*".
+   * @return the according {@link LiteralPattern} or <code>null</code> if the given {@link Pattern} is NOT a
+   *         literal pattern (or uses {@link Pattern#flags() flags}).
+   */
+  public static LiteralPattern analyze(Pattern pattern, boolean find) {
+
+    if ((pattern == null) || !hasDefaultFlags(pattern)) {
+      return null;
+    }
+    String regex = pattern.pattern();
+    int length = regex.length();
+    int index = 0;
+    boolean startAnchor = regex.startsWith("^");
+    if (startAnchor) {
+      index++;
+    }
+    boolean leadingWildcard = regex.startsWith(".*", index);
+    if (leadingWildcard) {
+      index = index + 2;
+    }
+    StringBuilder buffer = new StringBuilder(length);
+    while (index < length) {
+      char c = regex.charAt(index);
+      if (c == '\\') {
+        if (index + 1 >= length) {
+          return null;
+        }
+        char escaped = regex.charAt(index + 1);
+        if (escaped == 'Q') {
+          int end = regex.indexOf("\\E", index + 2);
+          if (end < 0) {
+            end = length;
+          }
+          buffer.append(regex, index + 2, end);
+          index = end + 2;
+        } else if (isAsciiLetterOrDigit(escaped)) {
+          // character classes (\d, \s, ...), boundaries (\b, ...), back-references, octal or hex escapes...
+          return null;
+        } else {
+          buffer.append(escaped);
+          index = index + 2;
+        }
+      } else if (SPECIAL_CHARACTERS.indexOf(c) >= 0) {
+        break;
+      } else {
+        buffer.append(c);
+        index++;
+      }
+    }
+    boolean trailingWildcard = regex.startsWith(".*", index);
+    if (trailingWildcard) {
+      index = index + 2;
+    }
+    boolean endAnchor = regex.startsWith("$", index);
+    if (endAnchor) {
+      index++;
+    }
+    if (index < length) {
+      return null;
+    }
+    boolean fixedStart;
+    boolean fixedEnd;
+    if (find) {
+      fixedStart = startAnchor && !leadingWildcard;
+      fixedEnd = endAnchor && !trailingWildcard;
+    } else {
+      fixedStart = !leadingWildcard;
+      fixedEnd = !trailingWildcard;
+    }
+    Kind kind;
+    if (buffer.length() == 0) {
+      if (fixedStart && fixedEnd) {
+        kind = Kind.EQUALS;
+      } else {
+        kind = Kind.CONTAINS;
+      }
+    } else if (fixedStart) {
+      if (fixedEnd) {
+        kind = Kind.EQUALS;
+      } else {
+        kind = Kind.PREFIX;
+      }
+    } else if (fixedEnd) {
+      kind = Kind.SUFFIX;
+    } else {
+      kind = Kind.CONTAINS;
+    }
+    return new LiteralPattern(kind, buffer.toString());
+  }
+
+  /**
+   * This method determines if the given {@link Pattern} can be embedded as alternative into a combined
+   * {@link Pattern} with the same meaning. This is the case if it has no {@link Pattern#flags() flags} and
+   * uses neither back-references nor named groups that would be shifted or clash in the combined
+   * {@link Pattern}. Further quotes (<code>\Q</code>) and the comments flag (<code>?x</code>) are rejected as
+   * they could swallow the enclosing group.
+   *
+   * @param pattern is the {@link Pattern} to check.
+   * @return <code>true</code> if the {@link Pattern} can be combined, <code>false</code> otherwise.
+   */
+  public static boolean isCombinable(Pattern pattern) {
+
+    if ((pattern == null) || !hasDefaultFlags(pattern)) {
+      return false;
+    }
+    String regex = pattern.pattern();
+    int length = regex.length();
+    for (int i = 0; i < length; i++) {
+      char c = regex.charAt(i);
+      if (c == '\\') {
+        i++;
+        if (i < length) {
+          char escaped = regex.charAt(i);
+          if ((escaped == 'k') || (escaped == 'Q') || ((escaped >= '0') && (escaped <= '9'))) {
+            return false;
+          }
+        }
+      } else if ((c == '(') && regex.startsWith("?", i + 1)) {
+        int j = i + 2;
+        if ((j + 1 < length) && (regex.charAt(j) == '<') && Character.isLetter(regex.charAt(j + 1))) {
+          return false;
+        }
+        while ((j < length) && (Character.isLetter(regex.charAt(j)) || (regex.charAt(j) == '-'))) {
+          if (regex.charAt(j) == 'x') {
+            return false;
+          }
+          j++;
+        }
+      }
+    }
+    return true;
+  }
+
+  /**
+   * This method determines if the given {@link Pattern} was compiled without {@link Pattern#flags() flags}.
+   * As {@link Pattern#flags()} also contains the flags of a leading inline group such as "(?i)", such a group
+   * is accepted if it is the only inline group and the {@link Pattern} compiled again without flags has the
+   * same {@link Pattern#flags() flags}.
+   *
+   * @param pattern is the {@link Pattern} to check.
+   * @return <code>true</code> if the {@link Pattern} has the default flags, <code>false</code> otherwise.
+   */
+  private static boolean hasDefaultFlags(Pattern pattern) {
+
+    int flags = pattern.flags();
+    if (flags == 0) {
+      return true;
+    }
+    String regex = pattern.pattern();
+    if (!regex.startsWith("(?")) {
+      return false;
+    }
+    int end = 2;
+    while ((end < regex.length()) && Character.isLetter(regex.charAt(end))) {
+      end++;
+    }
+    if ((end == 2) || !regex.startsWith(")", end)) {
+      return false;
+    }
+    int index = regex.indexOf("(?", end);
+    while (index >= 0) {
+      if ((index + 2 < regex.length())) {
+        char c = regex.charAt(index + 2);
+        if (Character.isLetter(c) || (c == '-')) {
+          return false;
+        }
+      }
+      index = regex.indexOf("(?", index + 2);
+    }
+    return (Pattern.compile(regex).flags() == flags);
+  }
+
+  /**
+   * This method determines if the given <code>value</code> contains a character that is a line terminator
+   * for {@link Pattern} (without {@link Pattern#UNIX_LINES}).
+   *
+   * @param value is the value to check.
+   * @return <code>true</code> if the <code>value</code> contains a line terminator, <code>false</code>
+   *         otherwise.
+   */
+  public static boolean containsLineTerminator(CharSequence value) {
+
+    int length = value.length();
+    for (int i = 0; i < length; i++) {
+      char c = value.charAt(i);
+      if ((c == '\n') || (c == '\r') || (c == '\u0085') || (c == '\u2028') || (c == '\u2029')) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param c is the character to check.
+   * @return <code>true</code> if <code>c</code> is an ASCII letter or digit.
+   */
+  private static boolean isAsciiLetterOrDigit(char c) {
+
+    return ((c >= 'a') && (c <= 'z')) || ((c >= 'A') && (c <= 'Z')) || ((c >= '0') && (c <= '9'));
+  }
+
+  /**
+   * This enum contains the available kinds of a {@link LiteralPattern}.
+   */
+  public static enum Kind {
+
+    /** The value has to be {@link String#equals(Object) equal} to the literal. */
+    EQUALS,
+
+    /** The value has to {@link String#startsWith(String) start with} the literal. */
+    PREFIX,
+
+    /** The value has to {@link String#endsWith(String) end with} the literal. */
+    SUFFIX,
+
+    /** The value has to {@link String#contains(CharSequence) contain} the literal. */
+    CONTAINS
+  }
+
+}
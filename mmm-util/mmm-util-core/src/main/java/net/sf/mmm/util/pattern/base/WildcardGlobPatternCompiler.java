@@ -32,4 +32,13 @@ public class WildcardGlobPatternCompiler extends AbstractGlobPatternCompiler {
     return true;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected boolean isSimpleGlob() {
+
+    return true;
+  }
+
 }
@@ -4,13 +4,16 @@ package net.sf.mmm.util.process.api;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.ProcessBuilder.Redirect;
 
 import net.sf.mmm.util.io.api.DevNullSource;
 import net.sf.mmm.util.io.api.DevNullTarget;
 
 /**
  * This class represents the context for a process. It is a java-bean that holds the {@link #getInStream()
- * stdin}, {@link #getOutStream() stdout} and {@link #getErrStream() stderr}.
+ * stdin}, {@link #getOutStream() stdout} and {@link #getErrStream() stderr}. Alternatively a {@link Redirect}
+ * can be configured for each of them (e.g. to read from or write to a file). In that case the operating
+ * system connects the process directly and no data has to be pumped through the JVM.
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 1.0.0
@@ -29,6 +32,15 @@ public class ProcessContext {
   /** @see #isKeepStreamsOpen() */
   private boolean keepStreamsOpen;
 
+  /** @see #getInRedirect() */
+  private Redirect inRedirect;
+
+  /** @see #getOutRedirect() */
+  private Redirect outRedirect;
+
+  /** @see #getErrRedirect() */
+  private Redirect errRedirect;
+
   /**
    * The constructor. All streams are initialized to act like <code>/dev/null</code>.
    */
@@ -106,4 +118,62 @@ public class ProcessContext {
     this.keepStreamsOpen = keepStreamsOpen;
   }
 
+  /**
+   * @return the {@link Redirect} for <code>stdin</code> of the first process or <code>null</code> to read
+   *         from the {@link #getInStream() in-stream}.
+   * @since 4.0.0
+   */
+  public Redirect getInRedirect() {
+
+    return this.inRedirect;
+  }
+
+  /**
+   * @param inRedirect is the {@link #getInRedirect() in-redirect} to set.
+   * @since 4.0.0
+   */
+  public void setInRedirect(Redirect inRedirect) {
+
+    this.inRedirect = inRedirect;
+  }
+
+  /**
+   * @return the {@link Redirect} for <code>stdout</code> of the last process or <code>null</code> to write
+   *         to the {@link #getOutStream() out-stream}.
+   * @since 4.0.0
+   */
+  public Redirect getOutRedirect() {
+
+    return this.outRedirect;
+  }
+
+  /**
+   * @param outRedirect is the {@link #getOutRedirect() out-redirect} to set.
+   * @since 4.0.0
+   */
+  public void setOutRedirect(Redirect outRedirect) {
+
+    this.outRedirect = outRedirect;
+  }
+
+  /**
+   * @return the {@link Redirect} for <code>stderr</code> of all processes or <code>null</code> to write to
+   *         the {@link #getErrStream() err-stream}. If a file is {@link Redirect#to(java.io.File) truncated}
+   *         for the first process, it is {@link Redirect#appendTo(java.io.File) appended} for the others.
+   * @since 4.0.0
+   */
+  public Redirect getErrRedirect() {
+
+    return this.errRedirect;
+  }
+
+  /**
+   * @param errRedirect is the {@link #getErrRedirect() err-redirect} to set.
+   * @since 4.0.0
+   */
+  public void setErrRedirect(Redirect errRedirect) {
+
+    this.errRedirect = errRedirect;
+  }
+
 }
@@ -42,8 +42,9 @@ public interface ProcessUtil {
    * This method executes the external {@link Process}es configured by the given <code>builders</code>. If
    * more than one {@link ProcessBuilder builder} is given, the according processes are piped.<br>
    * <b>ATTENTION:</b><br>
-   * This method spins up multiple {@link Thread threads}, especially when multiple processes are piped
-   * (2*n+1[+1] threads). Therefore you should NOT use the
+   * This method uses pooled {@link Thread threads} to pump the streams of piped processes (up to 2*n+1
+   * pumps, fewer if {@link ProcessContext#getOutRedirect() redirects} are configured). Therefore you should
+   * NOT use the
    * {@link net.sf.mmm.util.process.base.ProcessUtilImpl#getInstance() singleton} variant of this util except
    * you are writing a simple command-line client that does a simple job and then terminates. When writing a
    * server-application or library, that makes such calls repetitive, you should create your own instance of
@@ -70,8 +71,9 @@ public interface ProcessUtil {
    * This method executes the external {@link Process}es configured by the given <code>builders</code> as
    * async task. If more than one {@link ProcessBuilder builder} is given, the according processes are piped.<br>
    * <b>ATTENTION:</b><br>
-   * This method spins up multiple {@link Thread threads}, especially when multiple processes are piped
-   * (2*n+1[+1] threads). Therefore you should NOT use the
+   * This method uses pooled {@link Thread threads} to pump the streams of piped processes (up to 2*n+1
+   * pumps, fewer if {@link ProcessContext#getOutRedirect() redirects} are configured). Therefore you should
+   * NOT use the
    * {@link net.sf.mmm.util.process.base.ProcessUtilImpl#getInstance() singleton} variant of this util except
    * you are writing a simple command-line client that does a simple job and then terminates. When writing a
    * server-application or library, that makes such calls repetitive, you should create your own instance of
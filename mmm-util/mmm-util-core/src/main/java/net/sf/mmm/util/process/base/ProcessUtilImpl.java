@@ -5,12 +5,26 @@ package net.sf.mmm.util.process.base;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -18,8 +32,7 @@ import javax.inject.Singleton;
 
 import net.sf.mmm.util.component.base.AbstractLoggableComponent;
 import net.sf.mmm.util.concurrent.api.Stoppable;
-import net.sf.mmm.util.concurrent.base.SimpleExecutor;
-import net.sf.mmm.util.io.api.AsyncTransferrer;
+import net.sf.mmm.util.io.api.DevNullSource;
 import net.sf.mmm.util.io.api.StreamUtil;
 import net.sf.mmm.util.io.base.StreamUtilImpl;
 import net.sf.mmm.util.nls.api.NlsIllegalArgumentException;
@@ -28,14 +41,13 @@ import net.sf.mmm.util.process.api.ProcessContext;
 import net.sf.mmm.util.process.api.ProcessUtil;
 
 /**
- * This is the implementation of the {@link ProcessUtil} interface. <br>
- * <b>ATTENTION:</b><br>
- * The <code>execute</code>-methods spin up multiple {@link Thread threads}, especially when multiple
- * processes are piped (2*n+1[+1] threads). Therefore you should NOT use the {@link #getInstance() singleton}
- * variant of this util except you are writing a simple command-line client that does a simple job and then
- * terminates. When writing a server-application or library, that makes such calls repetitive, you should
- * create your own instance and {@link #setExecutor(Executor) configure} a thread-pool as
- * {@link java.util.concurrent.Executor}.
+ * This is the implementation of the {@link ProcessUtil} interface.<br>
+ * Wherever possible the {@link Process}es are connected directly by the operating system via
+ * {@link Redirect}s (see {@link ProcessContext#setOutRedirect(Redirect)}). The remaining streams are pumped
+ * by a pool of {@link Thread threads} bounded by {@link #setMaximumPumpThreads(int) maximum pump threads}
+ * using recycled buffers. Further, asynchronous executions do
+ * NOT park a {@link Thread} per {@link Process}. Instead a single reaper {@link Thread} polls all pending
+ * executions and completes them when all their {@link Process}es have terminated.
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 1.0.0
@@ -44,6 +56,15 @@ import net.sf.mmm.util.process.api.ProcessUtil;
 @Named(ProcessUtil.CDI_NAME)
 public class ProcessUtilImpl extends AbstractLoggableComponent implements ProcessUtil {
 
+  /** The default for {@link #setMaximumPumpThreads(int)}. */
+  public static final int DEFAULT_MAXIMUM_PUMP_THREADS = 64;
+
+  /** The default for {@link #setExitPollInterval(long)}. */
+  public static final long DEFAULT_EXIT_POLL_INTERVAL = 10;
+
+  /** The size of the buffers used to pump the data. */
+  private static final int BUFFER_SIZE = 4096;
+
   /** @see #getInstance() */
   private static ProcessUtil instance;
 
@@ -53,12 +74,31 @@ public class ProcessUtilImpl extends AbstractLoggableComponent implements Proces
   /** @see #getExecutor() */
   private Executor executor;
 
+  /** @see #setMaximumPumpThreads(int) */
+  private int maximumPumpThreads;
+
+  /** @see #setExitPollInterval(long) */
+  private long exitPollInterval;
+
+  /** The recycled buffers. */
+  private BlockingQueue<byte[]> bufferPool;
+
+  /** The pending {@link ProcessExecutor}s of asynchronous executions. */
+  private final Queue<ProcessExecutor> pendingExecutors;
+
+  /** <code>true</code> if the {@link ProcessReaper} is running. */
+  private final AtomicBoolean reaperRunning;
+
   /**
    * The constructor.
    */
   public ProcessUtilImpl() {
 
     super();
+    this.maximumPumpThreads = DEFAULT_MAXIMUM_PUMP_THREADS;
+    this.exitPollInterval = DEFAULT_EXIT_POLL_INTERVAL;
+    this.pendingExecutors = new ConcurrentLinkedQueue<ProcessExecutor>();
+    this.reaperRunning = new AtomicBoolean(false);
   }
 
   /**
@@ -90,15 +130,20 @@ public class ProcessUtilImpl extends AbstractLoggableComponent implements Proces
 
     super.doInitialize();
     if (this.executor == null) {
-      this.executor = SimpleExecutor.INSTANCE;
+      ThreadPoolExecutor threadPool = new ThreadPoolExecutor(this.maximumPumpThreads, this.maximumPumpThreads, 60L,
+          TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new PumpThreadFactory());
+      threadPool.allowCoreThreadTimeOut(true);
+      this.executor = threadPool;
     }
     if (this.streamUtil == null) {
       this.streamUtil = StreamUtilImpl.getInstance();
     }
+    this.bufferPool = new ArrayBlockingQueue<byte[]>(this.maximumPumpThreads);
   }
 
   /**
-   * This method gets the {@link Executor} used to run asynchronous tasks. It may use a thread-pool.
+   * This method gets the {@link Executor} used to pump the streams of the {@link Process}es. By default it is
+   * a thread-pool bounded by {@link #setMaximumPumpThreads(int) maximum pump threads}.
    * 
    * @return the executor.
    */
@@ -119,6 +164,35 @@ public class ProcessUtilImpl extends AbstractLoggableComponent implements Proces
     this.executor = executor;
   }
 
+  /**
+   * @param maximumPumpThreads is the maximum number of {@link Thread threads} of the default
+   *        {@link #getExecutor() executor} and the number of buffers to recycle. The default is
+   *        {@link #DEFAULT_MAXIMUM_PUMP_THREADS}. If all {@link Thread threads} are busy, further streams are
+   *        queued until a {@link Thread} becomes available.<br/>
+   *        <b>ATTENTION:</b><br/>
+   *        A {@link Process} blocks if it writes to a stream that is queued and the buffer of the operating
+   *        system is full. Therefore this value should be greater than the number of streams that are pumped
+   *        concurrently.
+   * @since 4.0.0
+   */
+  public void setMaximumPumpThreads(int maximumPumpThreads) {
+
+    getInitializationState().requireNotInitilized();
+    this.maximumPumpThreads = maximumPumpThreads;
+  }
+
+  /**
+   * @param exitPollInterval is the interval in milliseconds used to poll pending
+   *        {@link #executeAsync(ProcessContext, ProcessBuilder...) asynchronous} executions for termination.
+   *        The default is {@link #DEFAULT_EXIT_POLL_INTERVAL}.
+   * @since 4.0.0
+   */
+  public void setExitPollInterval(long exitPollInterval) {
+
+    getInitializationState().requireNotInitilized();
+    this.exitPollInterval = exitPollInterval;
+  }
+
   /**
    * This method gets the stream-util that is used by this process-util.
    * 
@@ -181,22 +255,57 @@ public class ProcessUtilImpl extends AbstractLoggableComponent implements Proces
 
     ProcessExecutor processExecutor = new ProcessExecutor(context, builders);
     AsyncProcessExecutorImpl asyncExecutor = new AsyncProcessExecutorImpl(processExecutor);
-    getExecutor().execute(asyncExecutor);
+    processExecutor.asyncExecutor = asyncExecutor;
+    this.pendingExecutors.add(processExecutor);
+    startReaper();
     return asyncExecutor;
   }
 
   /**
-   * This inner class is the default implementation of the AsyncProcessExecutor.
+   * This method starts the {@link ProcessReaper} if it is NOT already running.
+   */
+  private void startReaper() {
+
+    if (this.reaperRunning.compareAndSet(false, true)) {
+      Thread reaper = new Thread(new ProcessReaper(), "ProcessReaper");
+      reaper.setDaemon(true);
+      reaper.start();
+    }
+  }
+
+  /**
+   * This method starts the given {@link Pump} in the {@link #getExecutor() executor}.
+   * 
+   * @param pump is the {@link Pump} to start.
+   */
+  private void startPump(Pump pump) {
+
+    this.executor.execute(pump);
+  }
+
+  /**
+   * @param redirect is the {@link Redirect} to check.
+   * @return <code>true</code> if the given {@link Redirect} is a {@link Redirect#PIPE pipe} that has to be
+   *         pumped, <code>false</code> if the operating system handles the stream directly.
+   */
+  private static boolean isPipe(Redirect redirect) {
+
+    return (redirect.type() == Redirect.Type.PIPE);
+  }
+
+  /**
+   * This inner class is the default implementation of the AsyncProcessExecutor. It is completed by the
+   * {@link ProcessReaper} and never run itself.
    */
   protected static class AsyncProcessExecutorImpl extends FutureTask<Integer> implements AsyncProcessExecutor {
 
-    /** The actual task to run. */
+    /** The actual task. */
     private final ProcessExecutor executor;
 
     /**
      * The constructor.
      * 
-     * @param executor is the process-executor to call.
+     * @param executor is the process-executor.
      */
     public AsyncProcessExecutorImpl(ProcessExecutor executor) {
 
@@ -204,6 +313,26 @@ public class ProcessUtilImpl extends AbstractLoggableComponent implements Proces
       this.executor = executor;
     }
 
+    /**
+     * This method completes this executor.
+     * 
+     * @param exitCode is the {@link Process#exitValue() exit-code}.
+     */
+    protected void setExitCode(Integer exitCode) {
+
+      set(exitCode);
+    }
+
+    /**
+     * This method completes this executor with the given error.
+     * 
+     * @param error is the {@link Throwable} that caused the execution to fail.
+     */
+    protected void setError(Throwable error) {
+
+      setException(error);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -216,6 +345,175 @@ public class ProcessUtilImpl extends AbstractLoggableComponent implements Proces
 
   }
 
+  /**
+   * This inner class is the {@link ThreadFactory} for the threads of the pump pool.
+   */
+  private static class PumpThreadFactory implements ThreadFactory {
+
+    /** The counter for the thread names. */
+    private final AtomicInteger counter = new AtomicInteger();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Thread newThread(Runnable runnable) {
+
+      Thread thread = new Thread(runnable, "ProcessPump-" + this.counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+
+  }
+
+  /**
+   * This inner class is the single {@link Thread} that polls the pending asynchronous executions and
+   * completes them when their {@link Process}es have terminated. If it terminates abnormally, the
+   * {@link #reaperRunning flag} is reset and a new reaper is started for the remaining executions.
+   */
+  private class ProcessReaper implements Runnable {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+
+      Queue<ProcessExecutor> pending = ProcessUtilImpl.this.pendingExecutors;
+      AtomicBoolean running = ProcessUtilImpl.this.reaperRunning;
+      boolean released = false;
+      try {
+        while (true) {
+          Iterator<ProcessExecutor> iterator = pending.iterator();
+          while (iterator.hasNext()) {
+            ProcessExecutor processExecutor = iterator.next();
+            boolean done;
+            try {
+              done = processExecutor.poll();
+            } catch (RuntimeException e) {
+              getLogger().warn(e.getLocalizedMessage(), e);
+              processExecutor.fail(e);
+              done = true;
+            }
+            if (done) {
+              iterator.remove();
+            }
+          }
+          if (pending.isEmpty()) {
+            running.set(false);
+            // an execution may have been added after the check but before the flag was reset
+            if (pending.isEmpty() || !running.compareAndSet(false, true)) {
+              released = true;
+              return;
+            }
+          }
+          Thread.sleep(ProcessUtilImpl.this.exitPollInterval);
+        }
+      } catch (InterruptedException e) {
+        getLogger().debug("Process reaper interrupted.", e);
+      } finally {
+        if (!released) {
+          running.set(false);
+          if (!pending.isEmpty()) {
+            startReaper();
+          }
+        }
+      }
+    }
+
+  }
+
+  /**
+   * This inner class pumps the data from an {@link InputStream} to an {@link OutputStream} using a recycled
+   * buffer.
+   */
+  private class Pump implements Runnable {
+
+    /** The source to read from. */
+    private final InputStream source;
+
+    /** The destination to write to. */
+    private final OutputStream destination;
+
+    /** <code>true</code> if the {@link #destination} shall NOT be closed at the end. */
+    private final boolean keepDestinationOpen;
+
+    /** The latch to count down when done. */
+    private CountDownLatch latch;
+
+    /** <code>true</code> if stopped. */
+    private volatile boolean stopped;
+
+    /**
+     * The constructor.
+     * 
+     * @param source is the source to read from.
+     * @param destination is the destination to write to.
+     * @param keepDestinationOpen - <code>true</code> if the <code>destination</code> shall NOT be closed.
+     */
+    public Pump(InputStream source, OutputStream destination, boolean keepDestinationOpen) {
+
+      super();
+      this.source = source;
+      this.destination = destination;
+      this.keepDestinationOpen = keepDestinationOpen;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+
+      BlockingQueue<byte[]> pool = ProcessUtilImpl.this.bufferPool;
+      byte[] buffer = pool.poll();
+      if (buffer == null) {
+        buffer = new byte[BUFFER_SIZE];
+      }
+      StreamUtil streamUtility = getStreamUtil();
+      try {
+        int count = this.source.read(buffer);
+        while ((count >= 0) && !this.stopped) {
+          if (count > 0) {
+            this.destination.write(buffer, 0, count);
+            this.destination.flush();
+          }
+          count = this.source.read(buffer);
+        }
+      } catch (IOException e) {
+        if (!this.stopped) {
+          getLogger().debug("Pumping of process stream aborted.", e);
+        }
+      } finally {
+        pool.offer(buffer);
+        try {
+          streamUtility.close(this.source);
+          if (!this.keepDestinationOpen) {
+            streamUtility.close(this.destination);
+          }
+        } catch (RuntimeException e) {
+          getLogger().warn(e.getLocalizedMessage(), e);
+        } finally {
+          this.latch.countDown();
+        }
+      }
+    }
+
+    /**
+     * This method stops this pump. The source is closed so a pump that is blocked reading from it terminates.
+     */
+    public void stop() {
+
+      this.stopped = true;
+      try {
+        getStreamUtil().close(this.source);
+      } catch (RuntimeException e) {
+        getLogger().debug("Failed to close process stream.", e);
+      }
+    }
+
+  }
+
   /**
    * This inner class is does the actual execution of the {@link Process}(es).
    */
@@ -227,8 +525,17 @@ public class ProcessUtilImpl extends AbstractLoggableComponent implements Proces
     /** @see ProcessExecutor#ProcessExecutor(ProcessContext, ProcessBuilder[]) */
     private final Process[] processes;
 
-    /** @see ProcessExecutor#ProcessExecutor(ProcessContext, ProcessBuilder[]) */
-    private final AsyncTransferrer[] transferrers;
+    /** The {@link Pump}s for the streams that are NOT redirected directly. */
+    private final List<Pump> pumps;
+
+    /** The latch for the {@link #pumps}. */
+    private final CountDownLatch pumpLatch;
+
+    /** The {@link AsyncProcessExecutorImpl} to complete or <code>null</code> for synchronous execution. */
+    private AsyncProcessExecutorImpl asyncExecutor;
+
+    /** <code>true</code> if disposed. */
+    private volatile boolean disposed;
 
     /**
      * The constructor.
@@ -250,24 +557,18 @@ public class ProcessUtilImpl extends AbstractLoggableComponent implements Proces
       }
       this.context = context;
       this.processes = new Process[builders.length];
-      // n*(process.err->context.err), (n+1)*(in->out)
-      this.transferrers = new AsyncTransferrer[builders.length + builders.length + 1];
+      this.pumps = new ArrayList<Pump>();
+      configureRedirects(builders);
       boolean success = false;
       try {
-        InputStream in = context.getInStream();
-        OutputStream err = context.getErrStream();
         for (int i = 0; i < builders.length; i++) {
-          Process process = builders[i].start();
-          AsyncTransferrer inOutTransferrer = streamUtility.transferAsync(in, process.getOutputStream(), false);
-          AsyncTransferrer errTransferrer = streamUtility.transferAsync(process.getErrorStream(), err, true);
-          this.processes[i] = process;
-          in = this.processes[i].getInputStream();
-          int transferrersIndex = i + i;
-          this.transferrers[transferrersIndex] = inOutTransferrer;
-          this.transferrers[transferrersIndex + 1] = errTransferrer;
+          this.processes[i] = builders[i].start();
+        }
+        this.pumpLatch = new CountDownLatch(createPumps(builders));
+        for (Pump pump : this.pumps) {
+          pump.latch = this.pumpLatch;
+          startPump(pump);
         }
-        this.transferrers[builders.length + builders.length] = streamUtility.transferAsync(in, context.getOutStream(),
-            false);
         success = true;
       } finally {
         if (!success) {
@@ -277,31 +578,93 @@ public class ProcessUtilImpl extends AbstractLoggableComponent implements Proces
     }
 
     /**
-     * This method disposes this executor. All processes are {@link Process#destroy() destroyed} and all
-     * streams are closed.
+     * This method applies the {@link Redirect}s of the {@link ProcessContext} to the given
+     * <code>builders</code>.
+     * 
+     * @param builders are the {@link ProcessBuilder}s.
      */
-    protected void dispose() {
+    private void configureRedirects(ProcessBuilder[] builders) {
 
-      for (int i = 0; i < this.processes.length; i++) {
-        if (this.processes[i] != null) {
-          try {
-            this.processes[i].destroy();
-          } catch (RuntimeException e) {
-            getLogger().warn(e.getLocalizedMessage(), e);
+      Redirect inRedirect = this.context.getInRedirect();
+      if (inRedirect != null) {
+        builders[0].redirectInput(inRedirect);
+      }
+      Redirect outRedirect = this.context.getOutRedirect();
+      if (outRedirect != null) {
+        builders[builders.length - 1].redirectOutput(outRedirect);
+      }
+      Redirect errRedirect = this.context.getErrRedirect();
+      if (errRedirect != null) {
+        for (int i = 0; i < builders.length; i++) {
+          builders[i].redirectError(errRedirect);
+          if ((i == 0) && (errRedirect.type() == Redirect.Type.WRITE)) {
+            // do not truncate the output of the previous processes
+            errRedirect = Redirect.appendTo(errRedirect.file());
           }
-          this.processes[i] = null;
         }
       }
-      for (int i = 0; i < this.transferrers.length; i++) {
-        if (this.transferrers[i] != null) {
+    }
+
+    /**
+     * This method creates the {@link Pump}s for all streams that are NOT redirected directly.
+     * 
+     * @param builders are the {@link ProcessBuilder}s.
+     * @return the number of {@link Pump}s.
+     */
+    private int createPumps(ProcessBuilder[] builders) {
+
+      StreamUtil streamUtility = getStreamUtil();
+      InputStream in = this.context.getInStream();
+      boolean inPiped = isPipe(builders[0].redirectInput());
+      for (int i = 0; i < builders.length; i++) {
+        Process process = this.processes[i];
+        ProcessBuilder builder = builders[i];
+        if (inPiped && isPipe(builder.redirectInput())) {
+          if (in == DevNullSource.INSTANCE) {
+            // nothing to pump
+            streamUtility.close(process.getOutputStream());
+          } else {
+            this.pumps.add(new Pump(in, process.getOutputStream(), false));
+          }
+        } else if (in != null) {
+          streamUtility.close(in);
+        }
+        if (!builder.redirectErrorStream() && isPipe(builder.redirectError())) {
+          this.pumps.add(new Pump(process.getErrorStream(), this.context.getErrStream(), true));
+        }
+        inPiped = isPipe(builder.redirectOutput());
+        if (inPiped) {
+          in = process.getInputStream();
+        } else {
+          in = null;
+        }
+      }
+      if (inPiped) {
+        this.pumps.add(new Pump(in, this.context.getOutStream(), false));
+      }
+      return this.pumps.size();
+    }
+
+    /**
+     * This method disposes this executor. All processes are {@link Process#destroy() destroyed} and all
+     * streams are closed. The {@link #processes} are kept as {@link #poll()} may still access them
+     * concurrently.
+     */
+    protected void dispose() {
+
+      this.disposed = true;
+      for (Process process : this.processes) {
+        if (process != null) {
           try {
-            this.transferrers[i].cancel(true);
+            process.destroy();
           } catch (RuntimeException e) {
             getLogger().warn(e.getLocalizedMessage(), e);
           }
-          this.transferrers[i] = null;
         }
       }
+      for (Pump pump : this.pumps) {
+        pump.stop();
+      }
       StreamUtil streamUtility = getStreamUtil();
       streamUtility.close(this.context.getInStream());
       streamUtility.close(this.context.getOutStream());
@@ -317,10 +680,54 @@ public class ProcessUtilImpl extends AbstractLoggableComponent implements Proces
       dispose();
     }
 
+    /**
+     * This method {@link #dispose() disposes} this executor and completes the {@link AsyncProcessExecutorImpl}
+     * with the given error.
+     * 
+     * @param error is the {@link Throwable} that caused the execution to fail.
+     */
+    protected void fail(Throwable error) {
+
+      try {
+        dispose();
+      } catch (RuntimeException e) {
+        getLogger().debug("Failed to dispose process executor.", e);
+      }
+      this.asyncExecutor.setError(error);
+    }
+
+    /**
+     * This method checks if the {@link Process}(es) have terminated and all streams have been pumped. In that
+     * case the {@link AsyncProcessExecutorImpl} is completed.
+     * 
+     * @return <code>true</code> if this executor is done, <code>false</code> if it is still running.
+     */
+    protected boolean poll() {
+
+      if (this.disposed || this.asyncExecutor.isDone()) {
+        return true;
+      }
+      int exitCode = 0;
+      for (Process process : this.processes) {
+        try {
+          exitCode = process.exitValue();
+        } catch (IllegalThreadStateException e) {
+          // still running
+          return false;
+        }
+      }
+      if (this.pumpLatch.getCount() > 0) {
+        return false;
+      }
+      dispose();
+      this.asyncExecutor.setExitCode(Integer.valueOf(exitCode));
+      return true;
+    }
+
     /**
      * {@inheritDoc}
      * 
-     * This method executes the {@link Process}(es).
+     * This method executes the {@link Process}(es) synchronously.
      * 
      * @return the return-code of the (last) process.
      * @throws InterruptedException if a process was interrupted.
@@ -333,6 +740,7 @@ public class ProcessUtilImpl extends AbstractLoggableComponent implements Proces
         for (int i = 0; i < this.processes.length; i++) {
           returnCode = this.processes[i].waitFor();
         }
+        this.pumpLatch.await();
         return Integer.valueOf(returnCode);
       } finally {
         dispose();
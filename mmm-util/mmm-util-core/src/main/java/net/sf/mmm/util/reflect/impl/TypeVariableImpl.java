@@ -176,4 +176,5 @@ public class TypeVariableImpl<DECLARATION extends GenericDeclaration> implements
     return this.name;
   }
 
+  public java.lang.reflect.AnnotatedType[] getAnnotatedBounds() { return new java.lang.reflect.AnnotatedType[0]; }
 }
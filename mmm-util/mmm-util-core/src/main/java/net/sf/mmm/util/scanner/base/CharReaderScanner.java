@@ -0,0 +1,973 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.scanner.base;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.util.NoSuchElementException;
+
+import net.sf.mmm.util.filter.api.CharFilter;
+import net.sf.mmm.util.io.api.IoMode;
+import net.sf.mmm.util.io.api.RuntimeIoException;
+import net.sf.mmm.util.nls.api.NlsIllegalArgumentException;
+import net.sf.mmm.util.nls.api.NlsParseException;
+import net.sf.mmm.util.pool.api.CharArrayPool;
+import net.sf.mmm.util.pool.base.NoCharArrayPool;
+import net.sf.mmm.util.scanner.api.CharScannerSyntax;
+import net.sf.mmm.util.scanner.api.CharStreamScanner;
+
+/**
+ * This is the implementation of {@link CharStreamScanner} that reads its characters from a {@link Reader}. In
+ * advance to {@link CharSequenceScanner} the data does NOT have to be loaded into memory. Instead a bounded
+ * sliding window (a <code>char[]</code> {@link CharArrayPool#borrow() borrowed} from a {@link CharArrayPool})
+ * is used and refilled from the {@link Reader} on demand. Therefore the memory consumption is constant
+ * independent of the size of the input.<br>
+ * A token that is read while the window is refilled is moved to the beginning of the window so it stays
+ * contiguous. Only if a single token is longer than the entire window, it is additionally buffered on the
+ * heap. Methods such as {@link #readUntilAsView(char, boolean)} or {@link #readWhileAsView(CharFilter)}
+ * return such a token as {@link CharSequence} view on the window without copying it.<br>
+ * Methods that need to look ahead ({@link #expectStrict(String, boolean)},
+ * {@link #require(String, boolean)} and {@link #skipOver(String, boolean, CharFilter)}) are limited to
+ * {@link #getCapacity() capacity} characters of lookahead.<br>
+ * <b>ATTENTION:</b><br>
+ * You have to {@link #close()} this scanner when you are done in order to close the {@link Reader} and to
+ * {@link CharArrayPool#release(Object) release} the buffer. This implementation is NOT and has no intention
+ * to be thread-safe.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public class CharReaderScanner implements CharStreamScanner, Closeable {
+
+  /** The maximum number of characters of the {@link #getTail(int) tail} used in exceptions. */
+  private static final int MAX_TAIL_LENGTH = 32;
+
+  /** The {@link Reader} to read from. */
+  private final Reader reader;
+
+  /** The {@link CharArrayPool} where the {@link #buffer} was borrowed from. */
+  private final CharArrayPool pool;
+
+  /** The sliding window. */
+  private char[] buffer;
+
+  /** The index of the current character in {@link #buffer}. */
+  private int offset;
+
+  /** The exclusive end-index of the valid characters in {@link #buffer}. */
+  private int limit;
+
+  /** The {@link #getCurrentIndex() absolute index} of the first character in {@link #buffer}. */
+  private long bufferIndex;
+
+  /** <code>true</code> if the end of the {@link #reader} has been reached. */
+  private boolean eos;
+
+  /** The index in {@link #buffer} where the current token starts or <code>-1</code> if no token is active. */
+  private int tokenStart;
+
+  /** The characters of the current token that did NOT fit into the {@link #buffer} or <code>null</code>. */
+  private StringBuilder tokenOverflow;
+
+  /**
+   * The constructor.
+   *
+   * @param reader is the {@link Reader} to read from.
+   */
+  public CharReaderScanner(Reader reader) {
+
+    this(reader, NoCharArrayPool.INSTANCE);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param reader is the {@link Reader} to read from.
+   * @param pool is the {@link CharArrayPool} used to {@link CharArrayPool#borrow() borrow} the buffer for the
+   *        sliding window.
+   */
+  public CharReaderScanner(Reader reader, CharArrayPool pool) {
+
+    super();
+    this.reader = reader;
+    this.pool = pool;
+    this.buffer = pool.borrow();
+    this.tokenStart = -1;
+  }
+
+  /**
+   * @return the capacity of the sliding window that is also the maximum number of characters this scanner can
+   *         look ahead.
+   */
+  public int getCapacity() {
+
+    return this.buffer.length;
+  }
+
+  /**
+   * This method ensures that the {@link #buffer} contains the current character and refills it from the
+   * {@link #reader} if required.
+   *
+   * @return <code>true</code> if the current character is available at {@link #offset}, <code>false</code> if
+   *         the end of the stream has been reached.
+   */
+  private boolean fill() {
+
+    if (this.offset < this.limit) {
+      return true;
+    }
+    if (this.eos) {
+      return false;
+    }
+    if (this.tokenStart < 0) {
+      this.bufferIndex = this.bufferIndex + this.limit;
+      this.offset = 0;
+      this.limit = 0;
+    } else if (this.tokenStart > 0) {
+      // keep the current token contiguous
+      int length = this.limit - this.tokenStart;
+      System.arraycopy(this.buffer, this.tokenStart, this.buffer, 0, length);
+      this.bufferIndex = this.bufferIndex + this.tokenStart;
+      this.offset = length;
+      this.limit = length;
+      this.tokenStart = 0;
+    } else if (this.limit == this.buffer.length) {
+      // token is longer than the entire window
+      if (this.tokenOverflow == null) {
+        this.tokenOverflow = new StringBuilder(this.buffer.length * 2);
+      }
+      this.tokenOverflow.append(this.buffer, 0, this.limit);
+      this.bufferIndex = this.bufferIndex + this.limit;
+      this.offset = 0;
+      this.limit = 0;
+    }
+    return read() > 0;
+  }
+
+  /**
+   * This method reads data from the {@link #reader} into the {@link #buffer} after {@link #limit}.
+   *
+   * @return the number of characters that have been read or <code>-1</code> if the end of the stream has been
+   *         reached.
+   */
+  private int read() {
+
+    try {
+      int count;
+      do {
+        count = this.reader.read(this.buffer, this.limit, this.buffer.length - this.limit);
+      } while (count == 0);
+      if (count < 0) {
+        this.eos = true;
+      } else {
+        this.limit = this.limit + count;
+      }
+      return count;
+    } catch (IOException e) {
+      throw new RuntimeIoException(e, IoMode.READ);
+    }
+  }
+
+  /**
+   * This method ensures that the given number of characters is available in the {@link #buffer} starting at
+   * the current {@link #offset}. It may only be called if no token is active.
+   *
+   * @param count is the requested number of characters.
+   * @return the number of available characters. Will only be less than <code>count</code> if the end of the
+   *         stream has been reached.
+   */
+  private int lookahead(int count) {
+
+    int available = this.limit - this.offset;
+    if ((available >= count) || this.eos) {
+      return available;
+    }
+    if (count > this.buffer.length) {
+      throw new NlsIllegalArgumentException(Integer.toString(count), "lookahead");
+    }
+    if (this.offset > 0) {
+      System.arraycopy(this.buffer, this.offset, this.buffer, 0, available);
+      this.bufferIndex = this.bufferIndex + this.offset;
+      this.offset = 0;
+      this.limit = available;
+    }
+    while ((this.limit < count) && (read() > 0)) {
+      // read until enough data is available or the end is reached...
+    }
+    return this.limit - this.offset;
+  }
+
+  /**
+   * This method starts a new token at the current {@link #offset}.
+   */
+  private void startToken() {
+
+    this.tokenStart = this.offset;
+  }
+
+  /**
+   * This method ends the current token.
+   *
+   * @param end is the exclusive end-index of the token in {@link #buffer}.
+   * @return the token as {@link CharSequence}. Will be a view on the {@link #buffer} unless the token did NOT
+   *         fit into the buffer.
+   */
+  private CharSequence endToken(int end) {
+
+    int start = this.tokenStart;
+    this.tokenStart = -1;
+    int length = end - start;
+    if ((this.tokenOverflow == null) || (this.tokenOverflow.length() == 0)) {
+      return CharBuffer.wrap(this.buffer, start, length);
+    }
+    this.tokenOverflow.append(this.buffer, start, length);
+    String token = this.tokenOverflow.toString();
+    this.tokenOverflow.setLength(0);
+    return token;
+  }
+
+  /**
+   * This method ends the current token.
+   *
+   * @param end is the exclusive end-index of the token in {@link #buffer}.
+   * @return the token as {@link String}.
+   */
+  private String endTokenAsString(int end) {
+
+    if ((this.tokenOverflow == null) || (this.tokenOverflow.length() == 0)) {
+      int start = this.tokenStart;
+      this.tokenStart = -1;
+      return new String(this.buffer, start, end - start);
+    }
+    return endToken(end).toString();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <b>ATTENTION:</b><br>
+   * If more than {@link Integer#MAX_VALUE} characters have been consumed, the result will overflow.
+   */
+  @Override
+  public int getCurrentIndex() {
+
+    return (int) (this.bufferIndex + this.offset);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean hasNext() {
+
+    return fill();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public char next() {
+
+    if ((this.offset < this.limit) || fill()) {
+      return this.buffer[this.offset++];
+    }
+    throw new NoSuchElementException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public char forceNext() {
+
+    if ((this.offset < this.limit) || fill()) {
+      return this.buffer[this.offset++];
+    }
+    return 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public char peek() {
+
+    if ((this.offset < this.limit) || fill()) {
+      return this.buffer[this.offset];
+    }
+    throw new NoSuchElementException();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public char forcePeek() {
+
+    if ((this.offset < this.limit) || fill()) {
+      return this.buffer[this.offset];
+    }
+    return 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int readDigit() {
+
+    if (fill()) {
+      char c = this.buffer[this.offset];
+      if ((c >= '0') && (c <= '9')) {
+        this.offset++;
+        return c - '0';
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long readLong(int maxDigits) throws NumberFormatException {
+
+    if (maxDigits <= 0) {
+      throw new NlsIllegalArgumentException(Integer.toString(maxDigits), "maxDigits");
+    }
+    startToken();
+    int count = 0;
+    while ((count < maxDigits) && fill()) {
+      char c = this.buffer[this.offset];
+      if ((c < '0') || (c > '9')) {
+        break;
+      }
+      this.offset++;
+      count++;
+    }
+    String number = endTokenAsString(this.offset);
+    if (count == 0) {
+      throw new NlsParseException(getTail(MAX_TAIL_LENGTH), "[0-9]+", Number.class);
+    }
+    return Long.parseLong(number);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double readDouble() throws NumberFormatException {
+
+    return Double.parseDouble(consumeDecimal());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public float readFloat() throws NumberFormatException {
+
+    return Float.parseFloat(consumeDecimal());
+  }
+
+  /**
+   * Consumes the characters of a decimal number (double or float).
+   *
+   * @return the decimal number as {@link String}.
+   */
+  private String consumeDecimal() {
+
+    startToken();
+    boolean noSign = false;
+    boolean noExponent = false;
+    boolean noDot = false;
+    int count = 0;
+    while (fill()) {
+      char c = this.buffer[this.offset];
+      if ((c == '+') || (c == '-')) {
+        if (noSign) {
+          break;
+        } else {
+          noSign = true;
+        }
+      } else if (c == 'e') {
+        if (noExponent) {
+          break;
+        } else {
+          noExponent = true;
+          noSign = false;
+          noDot = true;
+        }
+      } else if (c == '.') {
+        if (noDot) {
+          break;
+        } else {
+          noDot = true;
+        }
+      } else if ((c < '0') || (c > '9')) {
+        break;
+      }
+      this.offset++;
+      count++;
+    }
+    String number = endTokenAsString(this.offset);
+    if (count == 0) {
+      throw new NlsParseException(getTail(MAX_TAIL_LENGTH), "([0-9.e+-]+", Number.class);
+    }
+    return number;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String read(int count) {
+
+    startToken();
+    int rest = count;
+    while ((rest > 0) && fill()) {
+      int step = this.limit - this.offset;
+      if (step > rest) {
+        step = rest;
+      }
+      this.offset = this.offset + step;
+      rest = rest - step;
+    }
+    return endTokenAsString(this.offset);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean expect(String expected, boolean ignoreCase) {
+
+    int length = expected.length();
+    for (int i = 0; i < length; i++) {
+      if (!fill()) {
+        return false;
+      }
+      char c = this.buffer[this.offset];
+      char exp = expected.charAt(i);
+      if (c != exp) {
+        if (!ignoreCase) {
+          return false;
+        }
+        if (Character.toLowerCase(c) != Character.toLowerCase(exp)) {
+          return false;
+        }
+      }
+      this.offset++;
+    }
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean expectStrict(String expected, boolean ignoreCase) {
+
+    int length = expected.length();
+    if (lookahead(length) < length) {
+      return false;
+    }
+    int index = this.offset;
+    for (int i = 0; i < length; i++) {
+      char c = this.buffer[index++];
+      char exp = expected.charAt(i);
+      if (c != exp) {
+        if (!ignoreCase) {
+          return false;
+        }
+        if (Character.toLowerCase(c) != Character.toLowerCase(exp)) {
+          return false;
+        }
+      }
+    }
+    this.offset = index;
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean expect(char expected) {
+
+    if (fill() && (this.buffer[this.offset] == expected)) {
+      this.offset++;
+      return true;
+    }
+    return false;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void require(String expected, boolean ignoreCase) throws NlsParseException {
+
+    if (!expectStrict(expected, ignoreCase)) {
+      throw new NlsParseException(getTail(expected.length()), expected, String.class);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void require(char expected) throws NlsParseException {
+
+    String value = "";
+    if (fill()) {
+      char c = this.buffer[this.offset];
+      if (c == expected) {
+        this.offset++;
+        return;
+      }
+      value = Character.toString(c);
+    }
+    throw new NlsParseException(value, Character.toString(expected), Character.class);
+  }
+
+  /**
+   * This method gets the tail of this scanner limited (truncated) to the given <code>maximum</code> number of
+   * characters without changing the state.
+   *
+   * @param maximum is the maximum number of characters to return. Will be truncated to the
+   *        {@link #getCapacity() capacity}.
+   * @return the tail of this scanner.
+   */
+  protected String getTail(int maximum) {
+
+    int count = maximum;
+    if (count > this.buffer.length) {
+      count = this.buffer.length;
+    }
+    int available = lookahead(count);
+    if (available < count) {
+      count = available;
+    }
+    return new String(this.buffer, this.offset, count);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean skipUntil(char stop) {
+
+    while (fill()) {
+      for (int i = this.offset; i < this.limit; i++) {
+        if (this.buffer[i] == stop) {
+          this.offset = i + 1;
+          return true;
+        }
+      }
+      this.offset = this.limit;
+    }
+    return false;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean skipUntil(char stop, char escape) {
+
+    boolean escapeActive = false;
+    while (fill()) {
+      char c = this.buffer[this.offset++];
+      if (c == escape) {
+        escapeActive = !escapeActive;
+      } else {
+        if ((c == stop) && (!escapeActive)) {
+          return true;
+        }
+        escapeActive = false;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String readUntil(char stop, boolean acceptEof) {
+
+    CharSequence token = readUntilAsView(stop, acceptEof);
+    if (token == null) {
+      return null;
+    }
+    return token.toString();
+  }
+
+  /**
+   * This method is like {@link #readUntil(char, boolean)} but returns the result as {@link CharSequence} that
+   * is a view on the internal buffer whenever possible to avoid copying the characters.<br>
+   * <b>ATTENTION:</b><br>
+   * The returned {@link CharSequence} is only valid until the next method of this scanner is invoked.
+   *
+   * @param stop is the character to read until.
+   * @param acceptEof if <code>true</code> EOF will be treated as <code>stop</code>, too.
+   * @return the {@link CharSequence} with all read characters excluding the <code>stop</code> character or
+   *         <code>null</code> if there was no <code>stop</code> character and <code>acceptEof</code> is
+   *         <code>false</code>.
+   */
+  public CharSequence readUntilAsView(char stop, boolean acceptEof) {
+
+    startToken();
+    while (fill()) {
+      for (int i = this.offset; i < this.limit; i++) {
+        if (this.buffer[i] == stop) {
+          this.offset = i + 1;
+          return endToken(i);
+        }
+      }
+      this.offset = this.limit;
+    }
+    CharSequence token = endToken(this.offset);
+    if (acceptEof) {
+      return token;
+    }
+    return null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String readUntil(char stop, boolean acceptEof, char escape) {
+
+    StringBuilder result = new StringBuilder();
+    while (fill()) {
+      char c = this.buffer[this.offset++];
+      if (c == escape) {
+        // lookahead
+        if (fill()) {
+          c = this.buffer[this.offset];
+          if ((escape == stop) && (c != stop)) {
+            return result.toString();
+          } else {
+            // escape character
+            result.append(c);
+            this.offset++;
+          }
+        } else if (escape == stop) {
+          return result.toString();
+        }
+      } else if (c == stop) {
+        return result.toString();
+      } else {
+        result.append(c);
+      }
+    }
+    if (acceptEof) {
+      return result.toString();
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String readUntil(char stop, boolean acceptEof, CharScannerSyntax syntax) {
+
+    StringBuilder result = new StringBuilder();
+    StringBuilder entity = null;
+    char escape = syntax.getEscape();
+    char quoteStart = syntax.getQuoteStart();
+    char altQuoteStart = syntax.getAltQuoteStart();
+    char entityStart = syntax.getEntityStart();
+    boolean escapeActive = false;
+    char quoteEnd = 0;
+    char quoteEscape = 0;
+    char entityEnd = 0;
+    boolean quoteLazy = false;
+    while (fill()) {
+      char c = this.buffer[this.offset++];
+      boolean omit = false;
+      boolean newEscapeActive = false;
+      if (quoteEnd != 0) {
+        // in quotation
+        if (escapeActive) {
+          // current character c was escaped
+          // it will be taken as is
+        } else if (c == quoteEscape) {
+          // escape in quote --> lookahead
+          if (fill()) {
+            char next = this.buffer[this.offset];
+            if (next == quoteEnd) {
+              // quoteEnd was escaped
+              omit = true;
+              newEscapeActive = true;
+            } else if (quoteEscape == quoteEnd) {
+              // quotation done
+              quoteEnd = 0;
+              omit = true;
+            }
+          } else if (quoteEscape == quoteEnd) {
+            // end reached without stop char, omit quote
+            omit = true;
+          }
+        } else if (c == quoteEnd) {
+          // quotation done
+          quoteEnd = 0;
+          omit = true;
+        }
+      } else if (entityEnd != 0) {
+        if (c == entityEnd) {
+          // entity end detected...
+          entityEnd = 0;
+          result.append(syntax.resolveEntity(entity.toString()));
+          entity.setLength(0);
+        } else {
+          entity.append(c);
+        }
+        omit = true;
+      } else if (escapeActive) {
+        // current character c was escaped
+        // it will be taken as is
+      } else if (c == stop) {
+        return result.toString();
+      } else if (c == escape) {
+        omit = true;
+        newEscapeActive = true;
+      } else if (c == entityStart) {
+        entityEnd = syntax.getEntityEnd();
+        if (entity == null) {
+          entity = new StringBuilder();
+        }
+        omit = true;
+      } else {
+        if (c == quoteStart) {
+          quoteEnd = syntax.getQuoteEnd();
+          quoteEscape = syntax.getQuoteEscape();
+          quoteLazy = syntax.isQuoteEscapeLazy();
+        } else if (c == altQuoteStart) {
+          quoteEnd = syntax.getAltQuoteEnd();
+          quoteEscape = syntax.getAltQuoteEscape();
+          quoteLazy = syntax.isAltQuoteEscapeLazy();
+        }
+        if (quoteEnd != 0) {
+          omit = true;
+          if ((quoteEnd == quoteEscape) && (c == quoteEscape) && (quoteLazy)) {
+            // lazy quotation mode active --> lookahead
+            if (fill() && (this.buffer[this.offset] == quoteEscape)) {
+              // lazy quotation detected
+              quoteEnd = 0;
+              newEscapeActive = true;
+            }
+          }
+        }
+      }
+      if (!omit) {
+        result.append(c);
+      }
+      escapeActive = newEscapeActive;
+    }
+    if (acceptEof) {
+      if (entityEnd != 0) {
+        // append unterminated entity as is
+        result.append(entity);
+      }
+      return result.toString();
+    } else {
+      return null;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String readWhile(CharFilter filter) {
+
+    return readWhileAsView(filter, Integer.MAX_VALUE).toString();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String readWhile(CharFilter filter, int max) {
+
+    return readWhileAsView(filter, max).toString();
+  }
+
+  /**
+   * This method is like {@link #readWhile(CharFilter)} but returns the result as {@link CharSequence} that is a
+   * view on the internal buffer whenever possible to avoid copying the characters.<br>
+   * <b>ATTENTION:</b><br>
+   * The returned {@link CharSequence} is only valid until the next method of this scanner is invoked.
+   *
+   * @param filter is used to {@link CharFilter#accept(char) decide} which characters should be accepted.
+   * @return a {@link CharSequence} with all characters {@link CharFilter#accept(char) accepted} by the given
+   *         <code>filter</code>. Will be empty if no character was accepted.
+   */
+  public CharSequence readWhileAsView(CharFilter filter) {
+
+    return readWhileAsView(filter, Integer.MAX_VALUE);
+  }
+
+  /**
+   * This method is like {@link #readWhile(CharFilter, int)} but returns the result as {@link CharSequence}
+   * that is a view on the internal buffer whenever possible to avoid copying the characters.<br>
+   * <b>ATTENTION:</b><br>
+   * The returned {@link CharSequence} is only valid until the next method of this scanner is invoked.
+   *
+   * @param filter is used to {@link CharFilter#accept(char) decide} which characters should be accepted.
+   * @param max is the maximum number of characters that should be read.
+   * @return a {@link CharSequence} with all characters {@link CharFilter#accept(char) accepted} by the given
+   *         <code>filter</code>. Will be empty if no character was accepted.
+   */
+  public CharSequence readWhileAsView(CharFilter filter, int max) {
+
+    startToken();
+    skipWhile(filter, max);
+    return endToken(this.offset);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean skipOver(String substring, boolean ignoreCase) {
+
+    return skipOver(substring, ignoreCase, null);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean skipOver(String substring, boolean ignoreCase, CharFilter stopFilter) {
+
+    int subLength = substring.length();
+    if (subLength == 0) {
+      return true;
+    }
+    char[] subChars;
+    if (ignoreCase) {
+      subChars = substring.toLowerCase().toCharArray();
+    } else {
+      subChars = substring.toCharArray();
+    }
+    char first = subChars[0];
+    while (lookahead(subLength) >= subLength) {
+      char c = this.buffer[this.offset++];
+      if ((stopFilter != null) && stopFilter.accept(c)) {
+        return false;
+      }
+      if (ignoreCase) {
+        c = Character.toLowerCase(c);
+      }
+      if (c == first) {
+        // found first character
+        int index = this.offset;
+        boolean found = true;
+        for (int subIndex = 1; subIndex < subLength; subIndex++) {
+          c = this.buffer[index++];
+          if (ignoreCase) {
+            c = Character.toLowerCase(c);
+          }
+          if (c != subChars[subIndex]) {
+            found = false;
+            break;
+          }
+        }
+        if (found) {
+          this.offset = index;
+          return true;
+        }
+      }
+    }
+    // substring not found (EOF)
+    while (fill()) {
+      this.offset = this.limit;
+    }
+    return false;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int skipWhile(char c) {
+
+    int count = 0;
+    while (fill()) {
+      int start = this.offset;
+      while ((this.offset < this.limit) && (this.buffer[this.offset] == c)) {
+        this.offset++;
+      }
+      count = count + (this.offset - start);
+      if (this.offset < this.limit) {
+        break;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int skipWhile(CharFilter filter) {
+
+    return skipWhile(filter, Integer.MAX_VALUE);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int skipWhile(CharFilter filter, int max) {
+
+    if (max < 0) {
+      throw new IllegalArgumentException("Max must NOT be negative: " + max);
+    }
+    int count = 0;
+    while ((count < max) && fill()) {
+      int start = this.offset;
+      int end = this.limit;
+      if ((end - start) > (max - count)) {
+        end = start + (max - count);
+      }
+      while ((this.offset < end) && filter.accept(this.buffer[this.offset])) {
+        this.offset++;
+      }
+      count = count + (this.offset - start);
+      if (this.offset < end) {
+        break;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * This method closes the underlying {@link Reader} and {@link CharArrayPool#release(Object) releases} the
+   * buffer. After that this scanner can NOT be used anymore.
+   */
+  @Override
+  public void close() {
+
+    if (this.buffer != null) {
+      this.pool.release(this.buffer);
+      this.buffer = null;
+      try {
+        this.reader.close();
+      } catch (IOException e) {
+        throw new RuntimeIoException(e, IoMode.CLOSE);
+      }
+    }
+  }
+
+}
@@ -4124,6 +4124,32 @@ public interface UnicodeUtil {
    */
   String normalize2Ascii(CharSequence text, char nonNormalizableCharaterReplacement);
 
+  /**
+   * This method appends the best possible ASCII-representation of the given <code>text</code> to the given
+   * <code>buffer</code>.
+   * 
+   * @see #normalize2Ascii(CharSequence, Appendable, char)
+   * 
+   * @param text is the text to convert.
+   * @param buffer is where to append the converted text.
+   * @since 4.0.0
+   */
+  void normalize2Ascii(CharSequence text, Appendable buffer);
+
+  /**
+   * This method appends the best possible ASCII-representation of the given <code>text</code> to the given
+   * <code>buffer</code>. This is the same as {@link #normalize2Ascii(CharSequence, char)} but avoids creating
+   * an intermediate {@link String} (e.g. when normalizing large texts for indexing).
+   * 
+   * @param text is the text to convert.
+   * @param buffer is where to append the converted text.
+   * @param nonNormalizableCharaterReplacement is the character used to replace unicode characters that have
+   *        no {@link #normalize2Ascii(char) corresponding ASCII representation}. Use {@link #NULL} to remove
+   *        these characters.
+   * @since 4.0.0
+   */
+  void normalize2Ascii(CharSequence text, Appendable buffer, char nonNormalizableCharaterReplacement);
+
   /**
    * This method determines if the given character is a dash.
    * 
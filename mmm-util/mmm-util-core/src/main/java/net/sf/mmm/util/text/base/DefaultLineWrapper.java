@@ -4,10 +4,6 @@ package net.sf.mmm.util.text.base;
 
 import java.io.IOException;
 import java.text.BreakIterator;
-import java.util.Iterator;
-import java.util.Locale;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -33,7 +29,9 @@ import net.sf.mmm.util.text.api.UnicodeUtil;
 import net.sf.mmm.util.value.api.ValueOutOfRangeException;
 
 /**
- * This is the default implementation of {@link LineWrapper}.
+ * This is the default implementation of {@link LineWrapper}.<br/>
+ * If many rows shall be wrapped with the same layout (e.g. for a large table or usage output) use
+ * {@link #createSession(TextTableInfo, TextColumnInfo...)} to reuse the state and layout of the columns.
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 2.0.0
@@ -83,6 +81,22 @@ public class DefaultLineWrapper extends AbstractLineWrapper {
     }
   }
 
+  /**
+   * This method creates a new {@link LineWrapperSession} to wrap multiple rows with the same layout. The
+   * {@link TableLayout layout}, the {@link ColumnState states} of the columns and the buffers are created only
+   * once and are reused for every {@link LineWrapperSession#wrap(Appendable, String...) row}.
+   * 
+   * @param tableInfo is the {@link TextTableInfo} for all rows.
+   * @param columnInfos are the {@link TextColumnInfo}s of the columns for all rows.
+   * @return the new {@link LineWrapperSession}.
+   * @since 4.0.0
+   */
+  public LineWrapperSession createSession(TextTableInfo tableInfo, TextColumnInfo... columnInfos) {
+
+    getInitializationState().requireInitilized();
+    return new LineWrapperSession(this, tableInfo, columnInfos);
+  }
+
   /**
    * This method calculates the {@link ColumnState#getWidth() width} of the columns to
    * {@link TextColumnInfo#WIDTH_AUTO_ADJUST auto-adjust}.
@@ -91,138 +105,13 @@ public class DefaultLineWrapper extends AbstractLineWrapper {
    * @param tableInfo is the {@link TextTableInfo} containing the available {@link TextTableInfo#getWidth()
    *        width}.
    */
-  @SuppressWarnings("null")
   protected void autoAdjustWidthOfColumns(ColumnState[] columnStates, TextTableInfo tableInfo) {
 
-    int tableWidth = tableInfo.getWidth();
-    if (tableWidth == TextColumnInfo.WIDTH_AUTO_ADJUST) {
-      // if table width is not set (auto adjust) then the width of all columns
-      // have to be set...
-      for (int i = 0; i < columnStates.length; i++) {
-        if (columnStates[i].width == TextColumnInfo.WIDTH_AUTO_ADJUST) {
-          // better exception message?
-          throw new NlsIllegalArgumentException(Integer.valueOf(tableWidth), "tableInfo.width && columnInfo[" + i
-              + "].width");
-        }
-      }
-      return;
-    }
-    if (tableWidth <= 0) {
-      throw new NlsIllegalArgumentException(Integer.valueOf(tableWidth), "tableInfo.width");
-    }
-    int autoAdjustColumnCount = 0;
-    int staticTableWidth = 0;
-    ColumnState lastAutoAdjustColumn = null;
-    long autoAdjustColumnTotalTextLength = 0;
-    // find columns that need auto adjustment and determine static width
+    TextColumnInfo[] columnInfos = new TextColumnInfo[columnStates.length];
     for (int i = 0; i < columnStates.length; i++) {
-      TextColumnInfo columnInfo = columnStates[i].getColumnInfo();
-      staticTableWidth = staticTableWidth + columnInfo.getBorderWidth();
-      int width = columnStates[i].width;
-      if (width == TextColumnInfo.WIDTH_AUTO_ADJUST) {
-        autoAdjustColumnCount++;
-        lastAutoAdjustColumn = columnStates[i];
-        autoAdjustColumnTotalTextLength = autoAdjustColumnTotalTextLength + columnStates[i].getText().length();
-      } else {
-        staticTableWidth = staticTableWidth + width;
-      }
-    }
-
-    // remaining width to be divided over the auto-adjust columns
-    int widthRemaining = tableWidth - staticTableWidth;
-    if (widthRemaining < autoAdjustColumnCount) {
-      // there is less than 1 character left for each auto-adjust columns (or
-      // less than 0 for no such column).
-      throw new ValueOutOfRangeException(Integer.valueOf(tableWidth), Integer.valueOf(staticTableWidth
-          + autoAdjustColumnCount), Integer.valueOf(Integer.MAX_VALUE), "tableInfo.width");
-    }
-
-    // perform auto adjustment...
-    if (autoAdjustColumnCount > 0) {
-      if (autoAdjustColumnCount == 1) {
-        // easy case: single column gets the remaining space
-        lastAutoAdjustColumn.width = widthRemaining;
-      } else {
-        // actual adjustment algorithm ...
-        AutoAdjustInfo[] autoAdjustInfoArray = new AutoAdjustInfo[autoAdjustColumnCount];
-        int autoAdjustInfoIndex = 0;
-        // pass 1
-        int widthUsed = 0;
-        for (int i = 0; i < columnStates.length; i++) {
-          if (columnStates[i].getColumnInfo().getWidth() == TextColumnInfo.WIDTH_AUTO_ADJUST) {
-            AutoAdjustInfo autoAdjustInfo = new AutoAdjustInfo(columnStates[i]);
-            autoAdjustInfoArray[autoAdjustInfoIndex] = autoAdjustInfo;
-            double ratio = autoAdjustInfo.getTextLengthRation(autoAdjustColumnTotalTextLength);
-            int calculatedWidth = (int) (widthRemaining * ratio);
-            if ((calculatedWidth < 1) && (ratio > 0)) {
-              // 0 is simply too small :)
-              calculatedWidth = 1;
-            }
-            if (calculatedWidth > autoAdjustInfo.lineLengthMax) {
-              // width of column should never be greater than maximum line
-              calculatedWidth = autoAdjustInfo.lineLengthMax;
-            }
-            autoAdjustInfo.columnState.setWidth(calculatedWidth);
-            widthUsed = widthUsed + calculatedWidth;
-            autoAdjustInfoIndex++;
-          }
-        }
-        int delta = widthUsed - widthRemaining;
-        if (delta != 0) {
-          SortedSet<AutoAdjustInfo> autoAdjustInfoSet = new TreeSet<DefaultLineWrapper.AutoAdjustInfo>();
-          if (delta > 0) {
-            // width is too high because of rounding errors,
-            // delta should typically be 1
-            for (AutoAdjustInfo autoAdjustInfo : autoAdjustInfoArray) {
-              if (autoAdjustInfo.columnState.width >= 2) {
-                autoAdjustInfoSet.add(autoAdjustInfo);
-              }
-            }
-            while (delta > 0) {
-              Iterator<AutoAdjustInfo> iterator = autoAdjustInfoSet.iterator();
-              if (!iterator.hasNext()) {
-                throw new NlsIllegalStateException();
-              }
-              while (iterator.hasNext()) {
-                AutoAdjustInfo autoAdjustInfo = iterator.next();
-                autoAdjustInfo.columnState.width--;
-                delta--;
-                if (delta == 0) {
-                  return;
-                }
-                if (autoAdjustInfo.columnState.width < 2) {
-                  iterator.remove();
-                }
-              }
-            }
-          } else {
-            // we have chars left to divide ...
-            for (AutoAdjustInfo autoAdjustInfo : autoAdjustInfoArray) {
-              if (autoAdjustInfo.columnState.width < autoAdjustInfo.lineLengthMax) {
-                autoAdjustInfoSet.add(autoAdjustInfo);
-              }
-            }
-            while (delta < 0) {
-              Iterator<AutoAdjustInfo> iterator = autoAdjustInfoSet.iterator();
-              if (!iterator.hasNext()) {
-                return;
-              }
-              while (iterator.hasNext()) {
-                AutoAdjustInfo autoAdjustInfo = iterator.next();
-                autoAdjustInfo.columnState.width++;
-                delta++;
-                if (delta == 0) {
-                  return;
-                }
-                if (autoAdjustInfo.columnState.width >= autoAdjustInfo.lineLengthMax) {
-                  iterator.remove();
-                }
-              }
-            }
-          }
-        }
-      }
+      columnInfos[i] = columnStates[i].getColumnInfo();
     }
+    new TableLayout(tableInfo, columnInfos).adjustWidth(columnStates);
   }
 
   /**
@@ -238,35 +127,51 @@ public class DefaultLineWrapper extends AbstractLineWrapper {
       if (columns.length == 0) {
         throw new NlsIllegalArgumentException(Integer.valueOf(0), "columns.length");
       }
-      int newLines = 0;
-      boolean todo = true;
       ColumnState[] columnStates = new ColumnState[columns.length];
       for (int i = 0; i < columns.length; i++) {
         columnStates[i] = new ColumnState(columns[i].getText(), columns[i].getColumnInfo(), this.hyphenatorBuilder);
       }
       autoAdjustWidthOfColumns(columnStates, tableInfo);
-      assert (verifyWithOfColumns(columnStates, tableInfo));
+      return appendRows(appendable, tableInfo, columnStates, new CellBuffer());
+    } catch (IOException e) {
+      throw new RuntimeIoException(e, IoMode.WRITE);
+    }
+  }
 
-      CellBuffer textFragmentBuilder = new CellBuffer();
-      while (todo) {
-        todo = false;
-        for (int columnIndex = 0; columnIndex < columnStates.length; columnIndex++) {
-          ColumnState state = columnStates[columnIndex];
-          appendable.append(state.getColumnInfo().getBorderLeft());
-          append(appendable, state, textFragmentBuilder);
-          if (!state.isComplete()) {
-            // if at least one column is not complete, we are not done...
-            todo = true;
-          }
-          appendable.append(state.getColumnInfo().getBorderRight());
+  /**
+   * This method appends the lines of the wrapped columns until all columns are {@link ColumnState#isComplete()
+   * complete}.
+   * 
+   * @param appendable is the {@link Appendable} where to append the text to.
+   * @param tableInfo is the {@link TextTableInfo}.
+   * @param columnStates are the {@link ColumnState}s with the {@link ColumnState#getWidth() width} already
+   *        adjusted.
+   * @param cellBuffer is the {@link CellBuffer} to reuse for the payload of the cells.
+   * @return the number of lines that have been appended.
+   * @throws IOException if caused by the {@link Appendable}.
+   */
+  protected int appendRows(Appendable appendable, TextTableInfo tableInfo, ColumnState[] columnStates,
+      CellBuffer cellBuffer) throws IOException {
+
+    assert (verifyWithOfColumns(columnStates, tableInfo));
+    int newLines = 0;
+    boolean todo = true;
+    while (todo) {
+      todo = false;
+      for (int columnIndex = 0; columnIndex < columnStates.length; columnIndex++) {
+        ColumnState state = columnStates[columnIndex];
+        appendable.append(state.getColumnInfo().getBorderLeft());
+        append(appendable, state, cellBuffer);
+        if (!state.isComplete()) {
+          // if at least one column is not complete, we are not done...
+          todo = true;
         }
-        appendable.append(tableInfo.getLineSeparator());
-        newLines++;
+        appendable.append(state.getColumnInfo().getBorderRight());
       }
-      return newLines;
-    } catch (IOException e) {
-      throw new RuntimeIoException(e, IoMode.WRITE);
+      appendable.append(tableInfo.getLineSeparator());
+      newLines++;
     }
+    return newLines;
   }
 
   /**
@@ -517,18 +422,15 @@ public class DefaultLineWrapper extends AbstractLineWrapper {
         int leftSpace = space / 2;
         int rightSpace = space - leftSpace;
         fill(appendable, columnInfo.getFiller(), leftSpace);
-        String rightIndent = "";
+        String indent = columnInfo.getIndent();
+        int indentLength = indent.length();
+        int rightIndex = indentLength - (indentLength / 2);
         if (doIndentThisLine) {
-          String indent = columnInfo.getIndent();
-          int indentLength = indent.length();
-          int rightIndex = indentLength - (indentLength / 2);
-          String leftIndent = indent.substring(0, rightIndex);
-          rightIndent = indent.substring(rightIndex);
-          appendable.append(leftIndent);
+          appendable.append(indent, 0, rightIndex);
         }
         appendable.append(cellBuffer.buffer);
         if (doIndentThisLine) {
-          appendable.append(rightIndent);
+          appendable.append(indent, rightIndex, indentLength);
         }
         fill(appendable, columnInfo.getFiller(), rightSpace);
         break;
@@ -596,7 +498,7 @@ public class DefaultLineWrapper extends AbstractLineWrapper {
   protected static class TextSegment {
 
     /** @see #getText() */
-    private final String text;
+    private String text;
 
     /** @see #getHyphenatedWord() */
     private final Hyphenator hyphenator;
@@ -725,9 +627,14 @@ public class DefaultLineWrapper extends AbstractLineWrapper {
    * the column and its {@link ColumnState#getColumnInfo() metadata}. Further it holds the
    * {@link ColumnState#getTextIndex() current text-index} and acts as some sort of
    * {@link ColumnState#proceedTextSegment() iterator} of {@link ColumnState#getCurrentSegment()
-   * text-segments}.
+   * text-segments}.<br/>
+   * A {@link ColumnState} can be {@link #reset(String) reset} in order to reuse it for the next row with the
+   * same {@link #getColumnInfo() column-info}.
    */
-  protected static class ColumnState extends TextColumn {
+  protected static class ColumnState {
+
+    /** @see #getColumnInfo() */
+    private final TextColumnInfo columnInfo;
 
     /** The {@link Hyphenator} to use. */
     private final Hyphenator hyphenator;
@@ -735,6 +642,15 @@ public class DefaultLineWrapper extends AbstractLineWrapper {
     /** @see #next(TextSegment) */
     private final BreakIterator breakIterator;
 
+    /** The first of the two {@link TextSegment}s that are reused for the segments of the text. */
+    private final TextSegment segment1;
+
+    /** The second of the two {@link TextSegment}s that are reused for the segments of the text. */
+    private final TextSegment segment2;
+
+    /** @see #getText() */
+    private String text;
+
     /** @see #next(TextSegment) */
     private int breakIteratorIndex;
 
@@ -759,6 +675,9 @@ public class DefaultLineWrapper extends AbstractLineWrapper {
     /** @see #getSubsequentNewlineCount() */
     private int subsequentNewlineCount;
 
+    /** @see #getLineLengthMax() */
+    private int lineLengthMax;
+
     /**
      * The constructor.
      * 
@@ -768,24 +687,103 @@ public class DefaultLineWrapper extends AbstractLineWrapper {
      */
     public ColumnState(String text, TextColumnInfo columnInfo, HyphenatorBuilder hyphenatorBuilder) {
 
-      super(text, columnInfo);
-      Locale locale = columnInfo.getLocale();
-      this.breakIterator = BreakIterator.getLineInstance(locale);
-      this.breakIterator.setText(text);
-      this.hyphenator = hyphenatorBuilder.getHyphenator(locale);
+      this(columnInfo, hyphenatorBuilder.getHyphenator(columnInfo.getLocale()));
+      reset(text);
+    }
+
+    /**
+     * The constructor for a reusable {@link ColumnState}. It has to be {@link #reset(String) reset} before it
+     * can be used.
+     * 
+     * @param columnInfo is the {@link #getColumnInfo() column-info}.
+     * @param hyphenator is the {@link Hyphenator} for the {@link TextColumnInfo#getLocale() locale} of the
+     *        column.
+     * @since 4.0.0
+     */
+    protected ColumnState(TextColumnInfo columnInfo, Hyphenator hyphenator) {
+
+      super();
+      if ((columnInfo.getIndent() == null)
+          || ((columnInfo.getWidth() != TextColumnInfo.WIDTH_AUTO_ADJUST) && (columnInfo.getIndent().length() >= columnInfo
+              .getWidth()))) {
+        throw new NlsIllegalArgumentException(columnInfo.getIndent(), "TextColumnInfo.indent");
+      }
+      this.columnInfo = columnInfo;
+      this.hyphenator = hyphenator;
+      this.breakIterator = BreakIterator.getLineInstance(columnInfo.getLocale());
+      this.segment1 = new TextSegment(null, hyphenator);
+      this.segment2 = new TextSegment(null, hyphenator);
+    }
+
+    /**
+     * This method resets this {@link ColumnState} so it starts over with the given <code>text</code>.
+     * 
+     * @param columnText is the new {@link #getText() text}.
+     * @since 4.0.0
+     */
+    public void reset(String columnText) {
+
+      this.text = columnText;
+      this.breakIterator.setText(columnText);
       this.segmentIndex = 0;
       this.textIndex = 0;
-      this.width = columnInfo.getWidth();
+      this.width = this.columnInfo.getWidth();
       this.breakIteratorIndex = 0;
       this.subsequentNewlineCount = 0;
+      this.lineLengthMax = -1;
       this.indent = false;
-      if ((columnInfo.getIndent() == null)
-          || ((columnInfo.getWidth() != TextColumnInfo.WIDTH_AUTO_ADJUST) && (columnInfo.getIndent().length() >= columnInfo
-              .getWidth()))) {
-        throw new NlsIllegalArgumentException(columnInfo.getIndent(), "TextColumnInfo.indent");
+      this.segment1.text = columnText;
+      this.segment2.text = columnText;
+      this.currentSegment = next(this.segment1);
+      this.nextSegment = next(this.segment2);
+    }
+
+    /**
+     * @return the text of this column.
+     */
+    public String getText() {
+
+      return this.text;
+    }
+
+    /**
+     * @return the {@link TextColumnInfo} of this column.
+     */
+    public TextColumnInfo getColumnInfo() {
+
+      return this.columnInfo;
+    }
+
+    /**
+     * This method gets the maximum length of a single unwrapped line of the {@link #getText() text}. It is
+     * determined lazily as it is only required for {@link TextColumnInfo#WIDTH_AUTO_ADJUST auto-adjust}
+     * columns.
+     * 
+     * @return the maximum line length.
+     * @since 4.0.0
+     */
+    public int getLineLengthMax() {
+
+      if (this.lineLengthMax < 0) {
+        int max = 0;
+        int textLength = this.text.length();
+        int index = 0;
+        while (index >= 0) {
+          int nextIndex = this.text.indexOf(StringUtil.LINE_SEPARATOR_LF, index);
+          int length = nextIndex - index;
+          if (nextIndex < 0) {
+            length = textLength - index;
+            index = -1;
+          } else {
+            index = nextIndex + 1;
+          }
+          if (length > max) {
+            max = length;
+          }
+        }
+        this.lineLengthMax = max;
       }
-      this.currentSegment = next(new TextSegment(text, this.hyphenator));
-      this.nextSegment = next(new TextSegment(text, this.hyphenator));
+      return this.lineLengthMax;
     }
 
     /**
@@ -1090,15 +1088,30 @@ public class DefaultLineWrapper extends AbstractLineWrapper {
      */
     protected int append(CharSequence text, int start, int end) {
 
-      if (text.subSequence(start, end).toString().contains("\n")) {
-        throw new IllegalStateException();
-      }
+      assert (isSingleLine(text, start, end));
       this.buffer.append(text, start, end);
       this.rest = this.rest - (end - start);
       assert (this.rest >= 0);
       return this.rest;
     }
 
+    /**
+     * @param text is the {@link CharSequence} to check.
+     * @param start is the index of the first character to check.
+     * @param end is the index of the character following the last character to check.
+     * @return <code>true</code> if the given range of <code>text</code> contains no newline, <code>false</code>
+     *         otherwise.
+     */
+    private static boolean isSingleLine(CharSequence text, int start, int end) {
+
+      for (int i = start; i < end; i++) {
+        if (text.charAt(i) == '\n') {
+          return false;
+        }
+      }
+      return true;
+    }
+
     /**
      * @see Appendable#append(char)
      * 
@@ -1135,128 +1148,211 @@ public class DefaultLineWrapper extends AbstractLineWrapper {
   }
 
   /**
+   * This inner class represents the layout of a table. It is computed once from the {@link TextTableInfo} and
+   * the {@link TextColumnInfo}s and can be reused to {@link #adjustWidth(ColumnState[]) adjust} the
+   * {@link ColumnState#getWidth() width} of the columns for any number of rows.<br/>
+   * <b>ATTENTION:</b><br/>
+   * This class is NOT thread-safe.
+   * 
    * @see DefaultLineWrapper#autoAdjustWidthOfColumns(ColumnState[], TextTableInfo)
+   * @since 4.0.0
    */
-  protected static final class AutoAdjustInfo implements Comparable<AutoAdjustInfo> {
+  protected static class TableLayout {
 
-    /** The {@link ColumnState}. */
-    private final ColumnState columnState;
+    /** The indexes of the columns to {@link TextColumnInfo#WIDTH_AUTO_ADJUST auto-adjust}. */
+    private final int[] autoAdjustColumns;
 
-    /** The number of newlines + 1. */
-    private int lineCount;
+    /** The width remaining for the {@link #autoAdjustColumns auto-adjust columns}. */
+    private final int widthRemaining;
 
-    /** The maximum length of a single unwrapped line. */
-    private int lineLengthMax;
+    /** The reusable buffer for the indexes of the columns that are adjusted due to rounding errors. */
+    private final int[] candidates;
 
     /**
      * The constructor.
      * 
-     * @param columnState is the {@link ColumnState}.
+     * @param tableInfo is the {@link TextTableInfo} containing the available {@link TextTableInfo#getWidth()
+     *        width}.
+     * @param columnInfos are the {@link TextColumnInfo}s of the columns.
      */
-    private AutoAdjustInfo(ColumnState columnState) {
+    protected TableLayout(TextTableInfo tableInfo, TextColumnInfo[] columnInfos) {
 
       super();
-      this.columnState = columnState;
-      String text = columnState.getText();
-      int textLength = text.length();
-      int index = 0;
-      while (index >= 0) {
-        this.lineCount++;
-        int nextIndex = text.indexOf(StringUtil.LINE_SEPARATOR_LF, index);
-        int length = nextIndex - index;
-        if (nextIndex < 0) {
-          length = textLength - index;
-          index = -1;
-        } else {
-          index = nextIndex + 1;
+      int tableWidth = tableInfo.getWidth();
+      if (tableWidth == TextColumnInfo.WIDTH_AUTO_ADJUST) {
+        // if table width is not set (auto adjust) then the width of all columns
+        // have to be set...
+        for (int i = 0; i < columnInfos.length; i++) {
+          if (columnInfos[i].getWidth() == TextColumnInfo.WIDTH_AUTO_ADJUST) {
+            // better exception message?
+            throw new NlsIllegalArgumentException(Integer.valueOf(tableWidth), "tableInfo.width && columnInfo[" + i
+                + "].width");
+          }
         }
-        if (length > this.lineLengthMax) {
-          this.lineLengthMax = length;
+        this.autoAdjustColumns = new int[0];
+        this.widthRemaining = 0;
+      } else {
+        if (tableWidth <= 0) {
+          throw new NlsIllegalArgumentException(Integer.valueOf(tableWidth), "tableInfo.width");
+        }
+        int autoAdjustColumnCount = 0;
+        int staticTableWidth = 0;
+        // find columns that need auto adjustment and determine static width
+        for (int i = 0; i < columnInfos.length; i++) {
+          staticTableWidth = staticTableWidth + columnInfos[i].getBorderWidth();
+          int width = columnInfos[i].getWidth();
+          if (width == TextColumnInfo.WIDTH_AUTO_ADJUST) {
+            autoAdjustColumnCount++;
+          } else {
+            staticTableWidth = staticTableWidth + width;
+          }
+        }
+        // remaining width to be divided over the auto-adjust columns
+        this.widthRemaining = tableWidth - staticTableWidth;
+        if (this.widthRemaining < autoAdjustColumnCount) {
+          // there is less than 1 character left for each auto-adjust columns (or
+          // less than 0 for no such column).
+          throw new ValueOutOfRangeException(Integer.valueOf(tableWidth), Integer.valueOf(staticTableWidth
+              + autoAdjustColumnCount), Integer.valueOf(Integer.MAX_VALUE), "tableInfo.width");
+        }
+        this.autoAdjustColumns = new int[autoAdjustColumnCount];
+        int autoAdjustIndex = 0;
+        for (int i = 0; i < columnInfos.length; i++) {
+          if (columnInfos[i].getWidth() == TextColumnInfo.WIDTH_AUTO_ADJUST) {
+            this.autoAdjustColumns[autoAdjustIndex++] = i;
+          }
         }
       }
-      // this.lineLengthAvg = textLength / this.lineCount;
-    }
-
-    /**
-     * @return the number of lines.
-     */
-    public int getLineCount() {
-
-      return this.lineCount;
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public int compareTo(AutoAdjustInfo other) {
-
-      if (other == null) {
-        throw new NlsNullPointerException(AutoAdjustInfo.class.getSimpleName());
-      }
-      return this.columnState.width - other.columnState.width;
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public int hashCode() {
-
-      final int prime = 31;
-      int result = 1;
-      result = prime * result + ((this.columnState == null) ? 0 : this.columnState.hashCode());
-      result = prime * result + this.lineCount;
-      result = prime * result + this.lineLengthMax;
-      return result;
+      this.candidates = new int[this.autoAdjustColumns.length];
     }
 
     /**
-     * {@inheritDoc}
+     * This method calculates the {@link ColumnState#getWidth() width} of the columns to
+     * {@link TextColumnInfo#WIDTH_AUTO_ADJUST auto-adjust}.
+     * 
+     * @param columnStates are the {@link ColumnState}s in the same order as the {@link TextColumnInfo}s given
+     *        at construction.
      */
-    @Override
-    public boolean equals(Object obj) {
+    public void adjustWidth(ColumnState[] columnStates) {
 
-      if (this == obj) {
-        return true;
+      int autoAdjustColumnCount = this.autoAdjustColumns.length;
+      if (autoAdjustColumnCount == 0) {
+        return;
       }
-      if (obj == null) {
-        return false;
+      if (autoAdjustColumnCount == 1) {
+        // easy case: single column gets the remaining space
+        columnStates[this.autoAdjustColumns[0]].width = this.widthRemaining;
+        return;
       }
-      if (getClass() != obj.getClass()) {
-        return false;
+      // actual adjustment algorithm ...
+      long autoAdjustColumnTotalTextLength = 0;
+      for (int columnIndex : this.autoAdjustColumns) {
+        autoAdjustColumnTotalTextLength = autoAdjustColumnTotalTextLength
+            + columnStates[columnIndex].getText().length();
       }
-      AutoAdjustInfo other = (AutoAdjustInfo) obj;
-      if (this.columnState == null) {
-        if (other.columnState != null) {
-          return false;
+      // pass 1
+      int widthUsed = 0;
+      for (int columnIndex : this.autoAdjustColumns) {
+        ColumnState columnState = columnStates[columnIndex];
+        double ratio = 0;
+        if (autoAdjustColumnTotalTextLength != 0) {
+          ratio = columnState.getText().length() / (double) autoAdjustColumnTotalTextLength;
         }
-      } else if (!this.columnState.equals(other.columnState)) {
-        return false;
-      }
-      if (this.lineCount != other.lineCount) {
-        return false;
+        int calculatedWidth = (int) (this.widthRemaining * ratio);
+        if ((calculatedWidth < 1) && (ratio > 0)) {
+          // 0 is simply too small :)
+          calculatedWidth = 1;
+        }
+        int lineLengthMax = columnState.getLineLengthMax();
+        if (calculatedWidth > lineLengthMax) {
+          // width of column should never be greater than maximum line
+          calculatedWidth = lineLengthMax;
+        }
+        columnState.width = calculatedWidth;
+        widthUsed = widthUsed + calculatedWidth;
       }
-      if (this.lineLengthMax != other.lineLengthMax) {
-        return false;
+      int delta = widthUsed - this.widthRemaining;
+      if (delta > 0) {
+        // width is too high because of rounding errors,
+        // delta should typically be 1
+        int count = collectCandidates(columnStates, true);
+        while (delta > 0) {
+          if (count == 0) {
+            throw new NlsIllegalStateException();
+          }
+          int remaining = 0;
+          for (int i = 0; i < count; i++) {
+            ColumnState columnState = columnStates[this.candidates[i]];
+            columnState.width--;
+            delta--;
+            if (delta == 0) {
+              return;
+            }
+            if (columnState.width >= 2) {
+              this.candidates[remaining++] = this.candidates[i];
+            }
+          }
+          count = remaining;
+        }
+      } else if (delta < 0) {
+        // we have chars left to divide ...
+        int count = collectCandidates(columnStates, false);
+        while (delta < 0) {
+          if (count == 0) {
+            return;
+          }
+          int remaining = 0;
+          for (int i = 0; i < count; i++) {
+            ColumnState columnState = columnStates[this.candidates[i]];
+            columnState.width++;
+            delta++;
+            if (delta == 0) {
+              return;
+            }
+            if (columnState.width < columnState.getLineLengthMax()) {
+              this.candidates[remaining++] = this.candidates[i];
+            }
+          }
+          count = remaining;
+        }
       }
-      return true;
     }
 
     /**
+     * This method collects the {@link #autoAdjustColumns auto-adjust columns} that can be shrunk or expanded
+     * into {@link #candidates} ordered by their current {@link ColumnState#getWidth() width}. Only the first
+     * column of a specific width is collected.
      * 
-     * @param totalTextLength is the total {@link String#length() length} of the {@link TextColumn#getText()
-     *        text} of all auto-adjust columns.
-     * @return the ratio of the text-length of this column according to the total text length.
+     * @param columnStates are the {@link ColumnState}s.
+     * @param shrink - <code>true</code> to collect the columns that can be shrunk, <code>false</code> to
+     *        collect the columns that can be expanded.
+     * @return the number of collected {@link #candidates}.
      */
-    public double getTextLengthRation(double totalTextLength) {
-
-      if (totalTextLength == 0) {
-        return 0;
-      } else {
-        return this.columnState.getText().length() / totalTextLength;
+    private int collectCandidates(ColumnState[] columnStates, boolean shrink) {
+
+      int count = 0;
+      for (int columnIndex : this.autoAdjustColumns) {
+        ColumnState columnState = columnStates[columnIndex];
+        int width = columnState.width;
+        boolean candidate;
+        if (shrink) {
+          candidate = (width >= 2);
+        } else {
+          candidate = (width < columnState.getLineLengthMax());
+        }
+        if (candidate) {
+          int position = count;
+          while ((position > 0) && (columnStates[this.candidates[position - 1]].width > width)) {
+            position--;
+          }
+          if ((position == 0) || (columnStates[this.candidates[position - 1]].width != width)) {
+            System.arraycopy(this.candidates, position, this.candidates, position + 1, count - position);
+            this.candidates[position] = columnIndex;
+            count++;
+          }
+        }
       }
-
+      return count;
     }
   }
 
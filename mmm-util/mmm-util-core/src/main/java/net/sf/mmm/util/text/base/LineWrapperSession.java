@@ -0,0 +1,106 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.text.base;
+
+import java.io.IOException;
+
+import net.sf.mmm.util.io.api.IoMode;
+import net.sf.mmm.util.io.api.RuntimeIoException;
+import net.sf.mmm.util.nls.api.NlsIllegalArgumentException;
+import net.sf.mmm.util.nls.api.NlsNullPointerException;
+import net.sf.mmm.util.text.api.Hyphenator;
+import net.sf.mmm.util.text.api.TextColumnInfo;
+import net.sf.mmm.util.text.api.TextTableInfo;
+import net.sf.mmm.util.text.base.DefaultLineWrapper.CellBuffer;
+import net.sf.mmm.util.text.base.DefaultLineWrapper.ColumnState;
+import net.sf.mmm.util.text.base.DefaultLineWrapper.TableLayout;
+
+/**
+ * This class is a session of a {@link DefaultLineWrapper} that wraps multiple rows with the same
+ * {@link TextTableInfo} and {@link TextColumnInfo}s. Unlike
+ * {@link DefaultLineWrapper#wrap(Appendable, TextTableInfo, net.sf.mmm.util.text.api.TextColumn...)} it
+ * creates the layout of the table, the state of the columns (including the {@link Hyphenator}s and
+ * {@link java.text.BreakIterator}s) and the buffer for the cells only once and reuses them for every
+ * {@link #wrap(Appendable, String...) row}. This is recommended when rendering large tables or reports.<br/>
+ * <b>ATTENTION:</b><br/>
+ * This class is stateful and therefore NOT thread-safe. Further the {@link TextTableInfo} and the
+ * {@link TextColumnInfo}s must NOT be modified while the session is in use.
+ * 
+ * @see DefaultLineWrapper#createSession(TextTableInfo, TextColumnInfo...)
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public class LineWrapperSession {
+
+  /** The {@link DefaultLineWrapper} that created this session. */
+  private final DefaultLineWrapper lineWrapper;
+
+  /** The {@link TextTableInfo} for all rows. */
+  private final TextTableInfo tableInfo;
+
+  /** The precomputed {@link TableLayout}. */
+  private final TableLayout layout;
+
+  /** The reused {@link ColumnState}s. */
+  private final ColumnState[] columnStates;
+
+  /** The reused {@link CellBuffer}. */
+  private final CellBuffer cellBuffer;
+
+  /**
+   * The constructor.
+   * 
+   * @param lineWrapper is the {@link DefaultLineWrapper} that creates this session.
+   * @param tableInfo is the {@link TextTableInfo} for all rows.
+   * @param columnInfos are the {@link TextColumnInfo}s of the columns for all rows.
+   */
+  protected LineWrapperSession(DefaultLineWrapper lineWrapper, TextTableInfo tableInfo,
+      TextColumnInfo... columnInfos) {
+
+    super();
+    NlsNullPointerException.checkNotNull(TextTableInfo.class, tableInfo);
+    NlsNullPointerException.checkNotNull(TextColumnInfo[].class, columnInfos);
+    if (columnInfos.length == 0) {
+      throw new NlsIllegalArgumentException(Integer.valueOf(0), "columnInfos.length");
+    }
+    this.lineWrapper = lineWrapper;
+    this.tableInfo = tableInfo;
+    this.columnStates = new ColumnState[columnInfos.length];
+    for (int i = 0; i < columnInfos.length; i++) {
+      Hyphenator hyphenator = lineWrapper.getHyphenatorBuilder().getHyphenator(columnInfos[i].getLocale());
+      this.columnStates[i] = new ColumnState(columnInfos[i], hyphenator);
+    }
+    this.layout = new TableLayout(tableInfo, columnInfos);
+    this.cellBuffer = new CellBuffer();
+  }
+
+  /**
+   * This method wraps a single row of the table. It behaves like
+   * {@link DefaultLineWrapper#wrap(Appendable, TextTableInfo, net.sf.mmm.util.text.api.TextColumn...)} but
+   * reuses the state of this session.
+   * 
+   * @param appendable is where to {@link Appendable#append(CharSequence) append} the wrapped text to.
+   * @param columnTexts are the texts of the columns in the same order as the {@link TextColumnInfo}s of this
+   *        session.
+   * @return the number of lines that have been appended.
+   */
+  public int wrap(Appendable appendable, String... columnTexts) {
+
+    NlsNullPointerException.checkNotNull(Appendable.class, appendable);
+    NlsNullPointerException.checkNotNull(String[].class, columnTexts);
+    if (columnTexts.length != this.columnStates.length) {
+      throw new NlsIllegalArgumentException(Integer.valueOf(columnTexts.length), "columnTexts.length");
+    }
+    for (int i = 0; i < columnTexts.length; i++) {
+      this.columnStates[i].reset(columnTexts[i]);
+    }
+    this.layout.adjustWidth(this.columnStates);
+    try {
+      return this.lineWrapper.appendRows(appendable, this.tableInfo, this.columnStates, this.cellBuffer);
+    } catch (IOException e) {
+      throw new RuntimeIoException(e, IoMode.WRITE);
+    }
+  }
+
+}
@@ -2,6 +2,7 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.util.text.base;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -9,6 +10,8 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import net.sf.mmm.util.filter.api.CharFilter;
+import net.sf.mmm.util.io.api.IoMode;
+import net.sf.mmm.util.io.api.RuntimeIoException;
 import net.sf.mmm.util.text.api.DiacriticalMark;
 import net.sf.mmm.util.text.api.UnicodeUtil;
 
@@ -30,105 +33,114 @@ public class UnicodeUtilImpl implements UnicodeUtil {
   /** @see #getInstance() */
   private static UnicodeUtil instance;
 
-  /** @see #normalize2Ascii(char) */
-  private static final Map<Character, String> CHARACTER_TO_ASCII_MAP;
+  /** The number of low bits of a character used as index in a block of {@link #CHARACTER_TO_ASCII_TABLE}. */
+  private static final int BLOCK_BITS = 8;
+
+  /** The mask to get the index in a block of {@link #CHARACTER_TO_ASCII_TABLE}. */
+  private static final int BLOCK_MASK = (1 << BLOCK_BITS) - 1;
+
+  /**
+   * The two-level lookup table for {@link #normalize2Ascii(char)}. It is indexed by the high byte of the
+   * character and then by the low byte. Blocks without any mapping are <code>null</code>.
+   */
+  private static final String[][] CHARACTER_TO_ASCII_TABLE;
 
   static {
-    CHARACTER_TO_ASCII_MAP = new HashMap<Character, String>();
-    CHARACTER_TO_ASCII_MAP.put(NO_BREAK_SPACE, " ");
-    CHARACTER_TO_ASCII_MAP.put(SOFT_HYPHEN, "-");
-    CHARACTER_TO_ASCII_MAP.put(MINUS_SIGN, "-");
-    CHARACTER_TO_ASCII_MAP.put(EN_DASH, "-");
+    Map<Character, String> map = new HashMap<Character, String>();
+    map.put(NO_BREAK_SPACE, " ");
+    map.put(SOFT_HYPHEN, "-");
+    map.put(MINUS_SIGN, "-");
+    map.put(EN_DASH, "-");
 
-    CHARACTER_TO_ASCII_MAP.put(EM_DASH, "-");
-    CHARACTER_TO_ASCII_MAP.put(FIGURE_DASH, "-");
-    CHARACTER_TO_ASCII_MAP.put(SWUNG_DASH, "~");
-    CHARACTER_TO_ASCII_MAP.put(HORIZONTAL_BAR, "-");
+    map.put(EM_DASH, "-");
+    map.put(FIGURE_DASH, "-");
+    map.put(SWUNG_DASH, "~");
+    map.put(HORIZONTAL_BAR, "-");
 
     // Latin letters
-    CHARACTER_TO_ASCII_MAP.put(UnicodeUtil.LATIN_SMALL_LETTER_DOTLESS_J, "j");
+    map.put(UnicodeUtil.LATIN_SMALL_LETTER_DOTLESS_J, "j");
     // German umlauts
-    CHARACTER_TO_ASCII_MAP.put(LATIN_SMALL_LETTER_SHARP_S, "ss");
-    CHARACTER_TO_ASCII_MAP.put(LATIN_SMALL_LETTER_A_WITH_DIAERESIS, "ae");
-    CHARACTER_TO_ASCII_MAP.put(LATIN_SMALL_LETTER_O_WITH_DIAERESIS, "oe");
-    CHARACTER_TO_ASCII_MAP.put(LATIN_SMALL_LETTER_U_WITH_DIAERESIS, "ue");
-    CHARACTER_TO_ASCII_MAP.put(LATIN_CAPITAL_LETTER_A_WITH_DIAERESIS, "Ae");
-    CHARACTER_TO_ASCII_MAP.put(LATIN_CAPITAL_LETTER_O_WITH_DIAERESIS, "Oe");
-    CHARACTER_TO_ASCII_MAP.put(LATIN_CAPITAL_LETTER_U_WITH_DIAERESIS, "Ue");
+    map.put(LATIN_SMALL_LETTER_SHARP_S, "ss");
+    map.put(LATIN_SMALL_LETTER_A_WITH_DIAERESIS, "ae");
+    map.put(LATIN_SMALL_LETTER_O_WITH_DIAERESIS, "oe");
+    map.put(LATIN_SMALL_LETTER_U_WITH_DIAERESIS, "ue");
+    map.put(LATIN_CAPITAL_LETTER_A_WITH_DIAERESIS, "Ae");
+    map.put(LATIN_CAPITAL_LETTER_O_WITH_DIAERESIS, "Oe");
+    map.put(LATIN_CAPITAL_LETTER_U_WITH_DIAERESIS, "Ue");
 
     // Greek letters
 
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_ALPHA, "A");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_BETA, "B");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_GAMMA, "G");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_DELTA, "D");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_EPSILON, "E");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_ZETA, "Z");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_ETA, "H");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_THETA, "Th");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_IOTA, "I");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_KAPPA, "K");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_LAMDA, "L");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_MU, "M");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_NU, "N");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_XI, "Ks");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_OMICRON, "O");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_PI, "Pa");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_RHO, "P");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_SIGMA, "S");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_TAU, "T");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_UPSILON, "Y");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_PHI, "Fi");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_CHI, "X");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_PSI, "Ps");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_OMEGA, "W");
+    // map.put(GREEK_CAPITAL_LETTER_ALPHA, "A");
+    // map.put(GREEK_CAPITAL_LETTER_BETA, "B");
+    map.put(GREEK_CAPITAL_LETTER_GAMMA, "G");
+    map.put(GREEK_CAPITAL_LETTER_DELTA, "D");
+    // map.put(GREEK_CAPITAL_LETTER_EPSILON, "E");
+    // map.put(GREEK_CAPITAL_LETTER_ZETA, "Z");
+    // map.put(GREEK_CAPITAL_LETTER_ETA, "H");
+    map.put(GREEK_CAPITAL_LETTER_THETA, "Th");
+    // map.put(GREEK_CAPITAL_LETTER_IOTA, "I");
+    // map.put(GREEK_CAPITAL_LETTER_KAPPA, "K");
+    map.put(GREEK_CAPITAL_LETTER_LAMDA, "L");
+    // map.put(GREEK_CAPITAL_LETTER_MU, "M");
+    // map.put(GREEK_CAPITAL_LETTER_NU, "N");
+    map.put(GREEK_CAPITAL_LETTER_XI, "Ks");
+    // map.put(GREEK_CAPITAL_LETTER_OMICRON, "O");
+    map.put(GREEK_CAPITAL_LETTER_PI, "Pa");
+    // map.put(GREEK_CAPITAL_LETTER_RHO, "P");
+    map.put(GREEK_CAPITAL_LETTER_SIGMA, "S");
+    // map.put(GREEK_CAPITAL_LETTER_TAU, "T");
+    map.put(GREEK_CAPITAL_LETTER_UPSILON, "Y");
+    map.put(GREEK_CAPITAL_LETTER_PHI, "Fi");
+    // map.put(GREEK_CAPITAL_LETTER_CHI, "X");
+    map.put(GREEK_CAPITAL_LETTER_PSI, "Ps");
+    map.put(GREEK_CAPITAL_LETTER_OMEGA, "W");
     // greek specials
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_DIGAMMA, "F");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_HETA, "H");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_QOPPA, "Q");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_STIGMA, "S");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_SAN, "M");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_CAPITAL_LETTER_SAMPI, "T");
-
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_ALPHA, "a");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_BETA, "b");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_GAMMA, "g");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_DELTA, "d");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_EPSILON, "e");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_ZETA, "z");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_ETA, "h");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_THETA, "th");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_IOTA, "i");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_KAPPA, "k");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_LAMDA, "l");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_MU, "m");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_NU, "n");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_XI, "ks");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_OMICRON, "o");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_PI, "pa");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_RHO, "p");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_SIGMA, "s");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_TAU, "t");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_UPSILON, "y");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_PHI, "fi");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_CHI, "x");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_PSI, "ps");
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_OMEGA, "w");
+    // map.put(GREEK_CAPITAL_LETTER_DIGAMMA, "F");
+    // map.put(GREEK_CAPITAL_LETTER_HETA, "H");
+    // map.put(GREEK_CAPITAL_LETTER_QOPPA, "Q");
+    // map.put(GREEK_CAPITAL_LETTER_STIGMA, "S");
+    // map.put(GREEK_CAPITAL_LETTER_SAN, "M");
+    // map.put(GREEK_CAPITAL_LETTER_SAMPI, "T");
+
+    map.put(GREEK_SMALL_LETTER_ALPHA, "a");
+    map.put(GREEK_SMALL_LETTER_BETA, "b");
+    map.put(GREEK_SMALL_LETTER_GAMMA, "g");
+    map.put(GREEK_SMALL_LETTER_DELTA, "d");
+    map.put(GREEK_SMALL_LETTER_EPSILON, "e");
+    map.put(GREEK_SMALL_LETTER_ZETA, "z");
+    map.put(GREEK_SMALL_LETTER_ETA, "h");
+    map.put(GREEK_SMALL_LETTER_THETA, "th");
+    map.put(GREEK_SMALL_LETTER_IOTA, "i");
+    map.put(GREEK_SMALL_LETTER_KAPPA, "k");
+    map.put(GREEK_SMALL_LETTER_LAMDA, "l");
+    map.put(GREEK_SMALL_LETTER_MU, "m");
+    map.put(GREEK_SMALL_LETTER_NU, "n");
+    map.put(GREEK_SMALL_LETTER_XI, "ks");
+    // map.put(GREEK_SMALL_LETTER_OMICRON, "o");
+    map.put(GREEK_SMALL_LETTER_PI, "pa");
+    map.put(GREEK_SMALL_LETTER_RHO, "p");
+    map.put(GREEK_SMALL_LETTER_SIGMA, "s");
+    map.put(GREEK_SMALL_LETTER_TAU, "t");
+    map.put(GREEK_SMALL_LETTER_UPSILON, "y");
+    map.put(GREEK_SMALL_LETTER_PHI, "fi");
+    map.put(GREEK_SMALL_LETTER_CHI, "x");
+    map.put(GREEK_SMALL_LETTER_PSI, "ps");
+    map.put(GREEK_SMALL_LETTER_OMEGA, "w");
     // greek specials
-    CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_DIGAMMA, "f");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_HETA, "h");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_QOPPA, "q");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_STIGMA, "s");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_SAN, "M");
-    // CHARACTER_TO_ASCII_MAP.put(GREEK_SMALL_LETTER_SAMPI, "t");
+    map.put(GREEK_SMALL_LETTER_DIGAMMA, "f");
+    // map.put(GREEK_SMALL_LETTER_HETA, "h");
+    // map.put(GREEK_SMALL_LETTER_QOPPA, "q");
+    // map.put(GREEK_SMALL_LETTER_STIGMA, "s");
+    // map.put(GREEK_SMALL_LETTER_SAN, "M");
+    // map.put(GREEK_SMALL_LETTER_SAMPI, "t");
 
     // musical symbols
-    CHARACTER_TO_ASCII_MAP.put(MUSIC_FLAT_SIGN, "b");
-    CHARACTER_TO_ASCII_MAP.put(MUSIC_SHARP_SIGN, "#");
+    map.put(MUSIC_FLAT_SIGN, "b");
+    map.put(MUSIC_SHARP_SIGN, "#");
 
     for (DiacriticalMark mark : DiacriticalMark.values()) {
       for (char composed : mark.getComposedCharacters()) {
-        if (!CHARACTER_TO_ASCII_MAP.containsKey(composed)) {
+        if (!map.containsKey(composed)) {
           Character decomposed = mark.decompose(composed);
           if (decomposed == null) {
             LoggerFactory.getLogger(UnicodeUtilImpl.class).error(
@@ -140,7 +152,7 @@ public class UnicodeUtilImpl implements UnicodeUtil {
               if (CharFilter.ASCII_LETTER_FILTER.accept(normalized)) {
                 ascii = Character.toString(normalized);
               } else {
-                ascii = CHARACTER_TO_ASCII_MAP.get(decomposed);
+                ascii = map.get(decomposed);
               }
               if (ascii == null) {
                 boolean decomposeFailed = true;
@@ -159,12 +171,13 @@ public class UnicodeUtilImpl implements UnicodeUtil {
               }
             }
             if (ascii != null) {
-              CHARACTER_TO_ASCII_MAP.put(composed, ascii);
+              map.put(composed, ascii);
             }
           }
         }
       }
     }
+    CHARACTER_TO_ASCII_TABLE = compileTable(map);
   }
 
   /**
@@ -181,7 +194,11 @@ public class UnicodeUtilImpl implements UnicodeUtil {
   @Override
   public String normalize2Ascii(char character) {
 
-    return CHARACTER_TO_ASCII_MAP.get(Character.valueOf(character));
+    String[] block = CHARACTER_TO_ASCII_TABLE[character >>> BLOCK_BITS];
+    if (block == null) {
+      return null;
+    }
+    return block[character & BLOCK_MASK];
   }
 
   /**
@@ -203,21 +220,116 @@ public class UnicodeUtilImpl implements UnicodeUtil {
       return null;
     }
     int length = text.length();
-    StringBuilder buffer = new StringBuilder(length);
-    for (int i = 0; i < length; i++) {
-      char c = text.charAt(i);
-      if (c <= 127) {
-        buffer.append(c);
-      } else {
-        String ascii = normalize2Ascii(c);
+    int start = indexOfNonAscii(text, 0, length);
+    if (start == length) {
+      // pure ASCII
+      return text.toString();
+    }
+    StringBuilder buffer = new StringBuilder(length + 16);
+    buffer.append(text, 0, start);
+    try {
+      normalize2Ascii(text, start, length, buffer, nonNormalizableCharaterReplacement);
+    } catch (IOException e) {
+      // can not happen for StringBuilder
+      throw new RuntimeIoException(e, IoMode.WRITE);
+    }
+    return buffer.toString();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void normalize2Ascii(CharSequence text, Appendable buffer) {
+
+    normalize2Ascii(text, buffer, '?');
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void normalize2Ascii(CharSequence text, Appendable buffer, char nonNormalizableCharaterReplacement) {
+
+    if (text == null) {
+      return;
+    }
+    try {
+      normalize2Ascii(text, 0, text.length(), buffer, nonNormalizableCharaterReplacement);
+    } catch (IOException e) {
+      throw new RuntimeIoException(e, IoMode.WRITE);
+    }
+  }
+
+  /**
+   * This method appends the ASCII-representation of the specified range of <code>text</code> to the given
+   * <code>buffer</code>. Runs of ASCII characters are appended at once without any lookup.
+   * 
+   * @param text is the text to convert.
+   * @param start is the index of the first character to convert.
+   * @param end is the index after the last character to convert.
+   * @param buffer is where to append the converted text.
+   * @param nonNormalizableCharaterReplacement - see {@link #normalize2Ascii(CharSequence, char)}.
+   * @throws IOException if thrown by the given <code>buffer</code>.
+   */
+  private void normalize2Ascii(CharSequence text, int start, int end, Appendable buffer,
+      char nonNormalizableCharaterReplacement) throws IOException {
+
+    int runStart = start;
+    while (runStart < end) {
+      int runEnd = indexOfNonAscii(text, runStart, end);
+      if (runEnd > runStart) {
+        buffer.append(text, runStart, runEnd);
+      }
+      if (runEnd < end) {
+        String ascii = normalize2Ascii(text.charAt(runEnd));
         if (ascii != null) {
           buffer.append(ascii);
         } else if (nonNormalizableCharaterReplacement != NULL) {
           buffer.append(nonNormalizableCharaterReplacement);
         }
       }
+      runStart = runEnd + 1;
     }
-    return buffer.toString();
+  }
+
+  /**
+   * @param text is the text to scan.
+   * @param start is the index where to start.
+   * @param end is the index where to stop.
+   * @return the index of the first non-ASCII character of <code>text</code> from <code>start</code> or
+   *         <code>end</code> if there is none.
+   */
+  private static int indexOfNonAscii(CharSequence text, int start, int end) {
+
+    for (int i = start; i < end; i++) {
+      if (text.charAt(i) > 127) {
+        return i;
+      }
+    }
+    return end;
+  }
+
+  /**
+   * This method compiles the given {@link Map} into the two-level lookup table.
+   * 
+   * @param map is the {@link Map} with the ASCII-representations.
+   * @return the {@link #CHARACTER_TO_ASCII_TABLE compiled table}.
+   */
+  private static String[][] compileTable(Map<Character, String> map) {
+
+    String[][] table = new String[1 << (16 - BLOCK_BITS)][];
+    for (Map.Entry<Character, String> entry : map.entrySet()) {
+      char c = entry.getKey().charValue();
+      int blockIndex = c >>> BLOCK_BITS;
+      String[] block = table[blockIndex];
+      if (block == null) {
+        block = new String[BLOCK_MASK + 1];
+        table[blockIndex] = block;
+      }
+      block[c & BLOCK_MASK] = entry.getValue();
+    }
+    return table;
   }
 
   /**
@@ -2,6 +2,8 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.util.transferobject.api;
 
+import java.util.List;
+
 import net.sf.mmm.util.component.api.ComponentSpecification;
 import net.sf.mmm.util.entity.api.PersistenceEntity;
 
@@ -44,6 +46,22 @@ public interface TransferObjectUtil extends TransferObjectUtilLimited {
   <ID, ENTITY extends PersistenceEntity<ID>, TO extends EntityTo<ID>> ENTITY convertToEntity(TO transferObject,
       Class<ENTITY> entityType);
 
+  /**
+   * This method converts all objects of the given {@link List} (e.g. {@link PersistenceEntity entities} to
+   * {@link EntityTo transfer-objects} or vice versa) to the type identified by the given {@link Class}. This
+   * is the bulk variant of {@link #convertFromEntity(PersistenceEntity, Class)} and
+   * {@link #convertToEntity(EntityTo, Class)} that is more efficient for large result lists.
+   * 
+   * @param <TARGET> is the generic type of the objects to create.
+   * @param sources is the {@link List} of objects to convert. May contain <code>null</code> values that are
+   *        preserved. May be <code>null</code>.
+   * @param targetType is the {@link Class} reflecting the objects to create.
+   * @return a new {@link List} with the converted objects in the same order or <code>null</code> if
+   *         <code>sources</code> is <code>null</code>.
+   * @since 4.0.0
+   */
+  <TARGET> List<TARGET> convertAll(List<?> sources, Class<TARGET> targetType);
+
   /**
    * This method recursively updates all {@link EntityTo#getModificationCounter() modification counters} of
    * the {@link EntityTo}s contained in the given {@link TransferObject}.<br/>
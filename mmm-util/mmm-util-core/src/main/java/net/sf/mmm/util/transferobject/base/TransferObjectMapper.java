@@ -0,0 +1,364 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.transferobject.base;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.TreeSet;
+
+import net.sf.mmm.util.reflect.api.GenericType;
+import net.sf.mmm.util.reflect.api.InstantiationFailedException;
+import net.sf.mmm.util.value.api.ValueConvertException;
+
+/**
+ * This is a mapper that converts instances of one specific {@link #getSourceType() source type} to instances
+ * of one specific {@link #getTargetType() target type}. It is compiled once per pair of types by
+ * {@link TransferObjectUtilImpl#getMapper(Class, Class)} and holds a {@link MethodHandle} for the
+ * constructor as well as for the getter and setter of every mapped property. Hence the expensive analysis
+ * of the types (descriptor lookup, choice of the conversion strategy) only happens once and a
+ * {@link #map(Object) mapping} is a plain sequence of direct invocations.<br/>
+ * Properties that are {@link net.sf.mmm.util.transferobject.api.TransferObject}s (e.g.
+ * {@link net.sf.mmm.util.transferobject.api.CompositeTo} or
+ * {@link net.sf.mmm.util.transferobject.api.EntityTo}) or the according entities as well as collections of
+ * such objects are mapped recursively with the according nested {@link TransferObjectMapper}. All other
+ * properties are either assigned directly (if the types are compatible) or delegated to the
+ * {@link net.sf.mmm.util.value.api.ComposedValueConverter}.<br/>
+ * <b>ATTENTION:</b><br/>
+ * As {@link TransferObjectUtilImpl#updateModificationCounter(net.sf.mmm.util.transferobject.api.TransferObject)}
+ * this mapper does not support cyclic object graphs.
+ *
+ * @param <SOURCE> is the generic type of the objects to map from.
+ * @param <TARGET> is the generic type of the objects to map to.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public class TransferObjectMapper<SOURCE, TARGET> {
+
+  /** @see #getSourceType() */
+  private final Class<SOURCE> sourceType;
+
+  /** @see #getTargetType() */
+  private final Class<TARGET> targetType;
+
+  /** The handle to the default constructor of {@link #targetType} with the type <code>()Object</code>. */
+  private final MethodHandle constructor;
+
+  /** The mappings of the individual properties. */
+  private final PropertyMapping[] propertyMappings;
+
+  /**
+   * The constructor.
+   *
+   * @param sourceType is the {@link #getSourceType() source type}.
+   * @param targetType is the {@link #getTargetType() target type}.
+   * @param constructor is the handle to the default constructor of <code>targetType</code>.
+   * @param propertyMappings are the {@link PropertyMapping}s.
+   */
+  TransferObjectMapper(Class<SOURCE> sourceType, Class<TARGET> targetType, MethodHandle constructor,
+      PropertyMapping[] propertyMappings) {
+
+    super();
+    this.sourceType = sourceType;
+    this.targetType = targetType;
+    this.constructor = constructor;
+    this.propertyMappings = propertyMappings;
+  }
+
+  /**
+   * @return the {@link Class} reflecting the objects this mapper converts from.
+   */
+  public Class<SOURCE> getSourceType() {
+
+    return this.sourceType;
+  }
+
+  /**
+   * @return the {@link Class} reflecting the objects this mapper converts to.
+   */
+  public Class<TARGET> getTargetType() {
+
+    return this.targetType;
+  }
+
+  /**
+   * This method creates a new instance of the {@link #getTargetType() target type} and {@link #copy(Object,
+   * Object) copies} the properties of the given <code>source</code> to it.
+   *
+   * @param source is the object to map. May be <code>null</code>.
+   * @return the mapped object or <code>null</code> if <code>source</code> is <code>null</code>.
+   */
+  public TARGET map(SOURCE source) {
+
+    if (source == null) {
+      return null;
+    }
+    TARGET target;
+    try {
+      target = this.targetType.cast(this.constructor.invokeExact());
+    } catch (Throwable e) {
+      throw new InstantiationFailedException(e, this.targetType);
+    }
+    copy(source, target);
+    return target;
+  }
+
+  /**
+   * This method copies all mapped properties from <code>source</code> to <code>target</code>.
+   *
+   * @param source is the object to copy the properties from. Must NOT be <code>null</code>.
+   * @param target is the object to copy the properties to. Must NOT be <code>null</code>.
+   */
+  public void copy(SOURCE source, TARGET target) {
+
+    for (PropertyMapping mapping : this.propertyMappings) {
+      mapping.copy(source, target);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public String toString() {
+
+    return this.sourceType.getName() + "->" + this.targetType.getName();
+  }
+
+  /**
+   * This inner class represents the mapping of a single property. It copies a property value from the
+   * source object to the target object.
+   */
+  static class PropertyMapping {
+
+    /** The name of the mapped property. */
+    private final String propertyName;
+
+    /** The handle to the getter of the source with the type <code>(Object)Object</code>. */
+    private final MethodHandle getter;
+
+    /** The handle to the setter of the target with the type <code>(Object,Object)void</code>. */
+    private final MethodHandle setter;
+
+    /** <code>true</code> if the property is primitive in the target so <code>null</code> is skipped. */
+    private final boolean primitive;
+
+    /** The {@link ValueMapping} or <code>null</code> for direct assignment. */
+    private final ValueMapping valueMapping;
+
+    /**
+     * The constructor.
+     *
+     * @param propertyName is the name of the property.
+     * @param getter is the handle to the getter of the source.
+     * @param setter is the handle to the setter of the target.
+     * @param primitive - see {@link #primitive}.
+     * @param valueMapping is the {@link ValueMapping} or <code>null</code> to assign the value directly.
+     */
+    PropertyMapping(String propertyName, MethodHandle getter, MethodHandle setter, boolean primitive,
+        ValueMapping valueMapping) {
+
+      super();
+      this.propertyName = propertyName;
+      this.getter = getter;
+      this.setter = setter;
+      this.primitive = primitive;
+      this.valueMapping = valueMapping;
+    }
+
+    /**
+     * Copies the property from <code>source</code> to <code>target</code>.
+     *
+     * @param source is the source object.
+     * @param target is the target object.
+     */
+    void copy(Object source, Object target) {
+
+      Object value = null;
+      try {
+        value = this.getter.invokeExact(source);
+        if (value == null) {
+          if (this.primitive) {
+            return;
+          }
+        } else if (this.valueMapping != null) {
+          value = this.valueMapping.map(value);
+        }
+        this.setter.invokeExact(target, value);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Throwable e) {
+        throw new ValueConvertException(e, value, target.getClass(), this.propertyName);
+      }
+    }
+  }
+
+  /**
+   * This is the abstract base class for the mapping of a property value that can NOT be assigned directly.
+   */
+  abstract static class ValueMapping {
+
+    /**
+     * @param value is the value to map. Will NOT be <code>null</code>.
+     * @return the mapped value.
+     */
+    abstract Object map(Object value);
+  }
+
+  /**
+   * This is the {@link ValueMapping} that delegates to the generic
+   * {@link net.sf.mmm.util.value.api.ComposedValueConverter}.
+   */
+  static class ConvertingValueMapping extends ValueMapping {
+
+    /** The {@link TransferObjectUtilImpl} providing the converter. */
+    private final TransferObjectUtilImpl util;
+
+    /** The {@link GenericType} of the target property. */
+    private final GenericType<?> targetType;
+
+    /**
+     * The constructor.
+     *
+     * @param util is the {@link TransferObjectUtilImpl}.
+     * @param targetType is the {@link GenericType} of the target property.
+     */
+    ConvertingValueMapping(TransferObjectUtilImpl util, GenericType<?> targetType) {
+
+      super();
+      this.util = util;
+      this.targetType = targetType;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Object map(Object value) {
+
+      return this.util.getComposedValueConverter().convert(value, null, this.targetType);
+    }
+  }
+
+  /**
+   * This is the {@link ValueMapping} for a nested object that is mapped via its own
+   * {@link TransferObjectMapper}. The nested mapper is resolved lazily for the runtime type of the value (e.g.
+   * for a sub-class or proxy of an entity) and the last one is remembered.
+   */
+  static class NestedValueMapping extends ValueMapping {
+
+    /** The {@link TransferObjectUtilImpl} providing the nested mappers. */
+    private final TransferObjectUtilImpl util;
+
+    /** The {@link Class} to map to. */
+    private final Class<?> targetClass;
+
+    /** The last {@link TransferObjectMapper} that has been used. */
+    private volatile TransferObjectMapper<Object, ?> mapper;
+
+    /**
+     * The constructor.
+     *
+     * @param util is the {@link TransferObjectUtilImpl}.
+     * @param targetClass is the {@link Class} to map to.
+     */
+    NestedValueMapping(TransferObjectUtilImpl util, Class<?> targetClass) {
+
+      super();
+      this.util = util;
+      this.targetClass = targetClass;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    Object map(Object value) {
+
+      if (this.targetClass.isInstance(value)) {
+        return value;
+      }
+      TransferObjectMapper<Object, ?> currentMapper = this.mapper;
+      Class<?> valueClass = value.getClass();
+      if ((currentMapper == null) || (currentMapper.sourceType != valueClass)) {
+        currentMapper = (TransferObjectMapper<Object, ?>) this.util.getMapper(valueClass, this.targetClass);
+        this.mapper = currentMapper;
+      }
+      return currentMapper.map(value);
+    }
+  }
+
+  /**
+   * This is the {@link ValueMapping} for a {@link Collection}. It always creates a new {@link Collection} so
+   * source and target never share the same instance. The items are mapped by a {@link NestedValueMapping} or
+   * copied as is.
+   */
+  static class CollectionValueMapping extends ValueMapping {
+
+    /** The {@link Class} of the target {@link Collection}. */
+    private final Class<?> collectionClass;
+
+    /** The mapping for the items of the {@link Collection} or <code>null</code> to copy them as is. */
+    private final ValueMapping itemMapping;
+
+    /**
+     * The constructor.
+     *
+     * @param collectionClass is the {@link Class} of the target {@link Collection}. Has to be assignable from
+     *        {@link ArrayList}, {@link LinkedHashSet} or {@link TreeSet}.
+     * @param itemMapping is the {@link ValueMapping} for the items or <code>null</code> if the items can be
+     *        assigned directly.
+     */
+    CollectionValueMapping(Class<?> collectionClass, ValueMapping itemMapping) {
+
+      super();
+      this.collectionClass = collectionClass;
+      this.itemMapping = itemMapping;
+    }
+
+    /**
+     * @param collectionClass is the {@link Class} of the target {@link Collection}.
+     * @return <code>true</code> if {@link CollectionValueMapping} can create an instance of the given
+     *         <code>collectionClass</code>.
+     */
+    static boolean isSupported(Class<?> collectionClass) {
+
+      return collectionClass.isAssignableFrom(ArrayList.class)
+          || collectionClass.isAssignableFrom(LinkedHashSet.class)
+          || collectionClass.isAssignableFrom(TreeSet.class);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    Object map(Object value) {
+
+      Collection<?> collection = (Collection<?>) value;
+      Collection<Object> result;
+      if (this.collectionClass.isAssignableFrom(ArrayList.class)) {
+        result = new ArrayList<Object>(collection.size());
+      } else if (this.collectionClass.isAssignableFrom(LinkedHashSet.class)) {
+        result = new LinkedHashSet<Object>(collection.size());
+      } else {
+        result = new TreeSet<Object>();
+      }
+      if (this.itemMapping == null) {
+        result.addAll(collection);
+        return result;
+      }
+      for (Object item : collection) {
+        if (item == null) {
+          result.add(null);
+        } else {
+          result.add(this.itemMapping.map(item));
+        }
+      }
+      return result;
+    }
+  }
+
+}
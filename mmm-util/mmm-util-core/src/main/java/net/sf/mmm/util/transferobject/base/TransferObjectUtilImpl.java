@@ -2,25 +2,55 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.util.transferobject.base;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import javax.inject.Inject;
 import javax.inject.Named;
 
 import net.sf.mmm.util.entity.api.PersistenceEntity;
+import net.sf.mmm.util.nls.api.NlsNullPointerException;
 import net.sf.mmm.util.pojo.descriptor.api.PojoDescriptor;
 import net.sf.mmm.util.pojo.descriptor.api.PojoDescriptorBuilder;
 import net.sf.mmm.util.pojo.descriptor.api.PojoDescriptorBuilderFactory;
 import net.sf.mmm.util.pojo.descriptor.api.PojoPropertyDescriptor;
 import net.sf.mmm.util.pojo.descriptor.api.accessor.PojoPropertyAccessorNonArg;
 import net.sf.mmm.util.pojo.descriptor.api.accessor.PojoPropertyAccessorNonArgMode;
+import net.sf.mmm.util.pojo.descriptor.api.accessor.PojoPropertyAccessorOneArg;
+import net.sf.mmm.util.pojo.descriptor.api.accessor.PojoPropertyAccessorOneArgMode;
 import net.sf.mmm.util.pojo.descriptor.impl.PojoDescriptorBuilderFactoryImpl;
+import net.sf.mmm.util.reflect.api.AccessFailedException;
+import net.sf.mmm.util.reflect.api.GenericType;
+import net.sf.mmm.util.transferobject.api.AbstractTransferObject;
 import net.sf.mmm.util.transferobject.api.EntityTo;
 import net.sf.mmm.util.transferobject.api.TransferObject;
 import net.sf.mmm.util.transferobject.api.TransferObjectUtil;
+import net.sf.mmm.util.transferobject.base.TransferObjectMapper.CollectionValueMapping;
+import net.sf.mmm.util.transferobject.base.TransferObjectMapper.ConvertingValueMapping;
+import net.sf.mmm.util.transferobject.base.TransferObjectMapper.NestedValueMapping;
+import net.sf.mmm.util.transferobject.base.TransferObjectMapper.PropertyMapping;
+import net.sf.mmm.util.transferobject.base.TransferObjectMapper.ValueMapping;
 import net.sf.mmm.util.value.api.ComposedValueConverter;
+import net.sf.mmm.util.value.impl.ComposedValueConverterImpl;
 import net.sf.mmm.util.value.impl.DefaultComposedValueConverter;
 
 /**
- * This is the implementation of {@link TransferObjectUtil}.
+ * This is the implementation of {@link TransferObjectUtil}. The conversions between entities and
+ * transfer-objects are performed by {@link TransferObjectMapper}s that are {@link #getMapper(Class, Class)
+ * compiled once} per pair of source and target type and cached afterwards. If a specific
+ * {@link net.sf.mmm.util.value.api.ValueConverter} is registered for a target type in the
+ * {@link #getComposedValueConverter() ComposedValueConverter}, the conversion to that type is delegated to
+ * the converter instead.
  * 
  * @see #getInstance()
  * 
@@ -30,9 +60,21 @@ import net.sf.mmm.util.value.impl.DefaultComposedValueConverter;
 @Named
 public class TransferObjectUtilImpl extends TransferObjectUtilLimitedImpl implements TransferObjectUtil {
 
+  /** The {@link MethodType} of a getter handle. */
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  /** The {@link MethodType} of a setter handle. */
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  /** The {@link MethodType} of a constructor handle. */
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
   /** @see #getInstance() */
   private static TransferObjectUtil instance;
 
+  /** @see #getMapper(Class, Class) */
+  private final ConcurrentMap<Class<?>, ConcurrentMap<Class<?>, TransferObjectMapper<?, ?>>> mapperMap;
+
   /** @see #getComposedValueConverter() */
   private ComposedValueConverter composedValueConverter;
 
@@ -48,6 +90,7 @@ public class TransferObjectUtilImpl extends TransferObjectUtilLimitedImpl implem
   public TransferObjectUtilImpl() {
 
     super();
+    this.mapperMap = new ConcurrentHashMap<Class<?>, ConcurrentMap<Class<?>, TransferObjectMapper<?, ?>>>();
   }
 
   /**
@@ -147,6 +190,22 @@ public class TransferObjectUtilImpl extends TransferObjectUtilLimitedImpl implem
     this.pojoDescriptorBuilder = pojoDescriptorBuilder;
   }
 
+  /**
+   * {@inheritDoc}
+   * 
+   * This implementation uses the cached {@link #getMapper(Class, Class) mapper} from the type of the given
+   * <code>template</code> to itself instead of creating the copy via reflection on every call.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public <TO extends AbstractTransferObject> TO copy(TO template) {
+
+    NlsNullPointerException.checkNotNull(AbstractTransferObject.class.getSimpleName(), template);
+    Class<TO> type = (Class<TO>) template.getClass();
+    TransferObjectMapper<TO, TO> mapper = getMapper(type, type);
+    return mapper.map(template);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -154,7 +213,10 @@ public class TransferObjectUtilImpl extends TransferObjectUtilLimitedImpl implem
   public <ID, ENTITY extends PersistenceEntity<ID>, TO extends EntityTo<ID>> TO convertFromEntity(ENTITY entity,
       Class<TO> toType) {
 
-    return this.composedValueConverter.convert(entity, null, toType);
+    if (entity == null) {
+      return null;
+    }
+    return convert(entity, toType);
   }
 
   /**
@@ -164,7 +226,294 @@ public class TransferObjectUtilImpl extends TransferObjectUtilLimitedImpl implem
   public <ID, ENTITY extends PersistenceEntity<ID>, TO extends EntityTo<ID>> ENTITY convertToEntity(TO transferObject,
       Class<ENTITY> entityType) {
 
-    return this.composedValueConverter.convert(transferObject, null, entityType);
+    if (transferObject == null) {
+      return null;
+    }
+    return convert(transferObject, entityType);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <TARGET> List<TARGET> convertAll(List<?> sources, Class<TARGET> targetType) {
+
+    if (sources == null) {
+      return null;
+    }
+    List<TARGET> result = new ArrayList<TARGET>(sources.size());
+    boolean specificConverter = hasSpecificConverter(targetType);
+    TransferObjectMapper<Object, TARGET> mapper = null;
+    for (Object source : sources) {
+      if (source == null) {
+        result.add(null);
+      } else if (specificConverter) {
+        result.add(this.composedValueConverter.convert(source, null, targetType));
+      } else {
+        Class<?> sourceType = source.getClass();
+        if ((mapper == null) || (mapper.getSourceType() != sourceType)) {
+          mapper = getMapper(sourceType, targetType);
+        }
+        result.add(mapper.map(source));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @param <TARGET> is the generic type of <code>targetType</code>.
+   * @param source is the object to convert. Must NOT be <code>null</code>.
+   * @param targetType is the {@link Class} reflecting the object to create.
+   * @return the converted object.
+   */
+  private <TARGET> TARGET convert(Object source, Class<TARGET> targetType) {
+
+    if (hasSpecificConverter(targetType)) {
+      return this.composedValueConverter.convert(source, null, targetType);
+    }
+    TransferObjectMapper<Object, TARGET> mapper = getMapper(source.getClass(), targetType);
+    return mapper.map(source);
+  }
+
+  /**
+   * This method determines if the conversion to the given <code>targetType</code> has to be delegated to the
+   * {@link #getComposedValueConverter() ComposedValueConverter} because a specific
+   * {@link net.sf.mmm.util.value.api.ValueConverter} is registered for it. If the
+   * {@link ComposedValueConverter} is NOT a {@link ComposedValueConverterImpl}, its converters can NOT be
+   * determined and the conversion is always delegated.
+   * 
+   * @param targetType is the {@link Class} reflecting the object to create.
+   * @return <code>true</code> if the conversion has to be delegated, <code>false</code> if it can be performed
+   *         by a {@link TransferObjectMapper}.
+   */
+  protected boolean hasSpecificConverter(Class<?> targetType) {
+
+    if (this.composedValueConverter instanceof ComposedValueConverterImpl) {
+      return ((ComposedValueConverterImpl) this.composedValueConverter).hasSpecificConverter(targetType);
+    }
+    return true;
+  }
+
+  /**
+   * This method gets the {@link TransferObjectMapper} for the given types. On the first call for a pair of
+   * types, the mapper is {@link #createMapper(Class, Class) created}. Afterwards it is taken from the cache.
+   *
+   * @param <SOURCE> is the generic type of <code>sourceType</code>.
+   * @param <TARGET> is the generic type of <code>targetType</code>.
+   * @param sourceType is the {@link Class} reflecting the objects to map from.
+   * @param targetType is the {@link Class} reflecting the objects to map to.
+   * @return the according {@link TransferObjectMapper}.
+   * @since 4.0.0
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public <SOURCE, TARGET> TransferObjectMapper<SOURCE, TARGET> getMapper(Class<?> sourceType,
+      Class<TARGET> targetType) {
+
+    ConcurrentMap<Class<?>, TransferObjectMapper<?, ?>> targetMap = this.mapperMap.get(sourceType);
+    if (targetMap == null) {
+      targetMap = new ConcurrentHashMap<Class<?>, TransferObjectMapper<?, ?>>();
+      ConcurrentMap<Class<?>, TransferObjectMapper<?, ?>> existingMap = this.mapperMap.putIfAbsent(sourceType,
+          targetMap);
+      if (existingMap != null) {
+        targetMap = existingMap;
+      }
+    }
+    TransferObjectMapper<?, ?> mapper = targetMap.get(targetType);
+    if (mapper == null) {
+      // concurrent creation is harmless as the mappers are stateless...
+      mapper = createMapper((Class) sourceType, targetType);
+      TransferObjectMapper<?, ?> existingMapper = targetMap.putIfAbsent(targetType, mapper);
+      if (existingMapper != null) {
+        mapper = existingMapper;
+      }
+    }
+    return (TransferObjectMapper<SOURCE, TARGET>) mapper;
+  }
+
+  /**
+   * This method creates (compiles) a new {@link TransferObjectMapper} for the given types. For each
+   * property of <code>targetType</code> with a setter and a corresponding getter in <code>sourceType</code>
+   * the mapping strategy is determined once.
+   *
+   * @see #getMapper(Class, Class)
+   *
+   * @param <SOURCE> is the generic type of <code>sourceType</code>.
+   * @param <TARGET> is the generic type of <code>targetType</code>.
+   * @param sourceType is the {@link Class} reflecting the objects to map from.
+   * @param targetType is the {@link Class} reflecting the objects to map to.
+   * @return the new {@link TransferObjectMapper}.
+   */
+  protected <SOURCE, TARGET> TransferObjectMapper<SOURCE, TARGET> createMapper(Class<SOURCE> sourceType,
+      Class<TARGET> targetType) {
+
+    MethodHandle constructor;
+    try {
+      constructor = MethodHandles.lookup().findConstructor(targetType, MethodType.methodType(void.class))
+          .asType(CONSTRUCTOR_TYPE);
+    } catch (ReflectiveOperationException e) {
+      throw new AccessFailedException(e, targetType);
+    }
+    PojoDescriptor<SOURCE> sourceDescriptor = this.pojoDescriptorBuilder.getDescriptor(sourceType);
+    PojoDescriptor<TARGET> targetDescriptor = this.pojoDescriptorBuilder.getDescriptor(targetType);
+    List<PropertyMapping> mappings = new ArrayList<PropertyMapping>();
+    for (PojoPropertyDescriptor targetPropertyDescriptor : targetDescriptor.getPropertyDescriptors()) {
+      PojoPropertyAccessorOneArg setter = targetPropertyDescriptor.getAccessor(PojoPropertyAccessorOneArgMode.SET);
+      if (setter != null) {
+        String propertyName = targetPropertyDescriptor.getName();
+        PojoPropertyAccessorNonArg getter = sourceDescriptor.getAccessor(propertyName,
+            PojoPropertyAccessorNonArgMode.GET);
+        if (getter != null) {
+          ValueMapping valueMapping = createValueMapping(getter.getPropertyType(), setter.getPropertyType());
+          boolean primitive = setter.getPropertyClass().isPrimitive();
+          mappings.add(new PropertyMapping(propertyName, createGetterHandle(getter), createSetterHandle(setter),
+              primitive, valueMapping));
+        }
+      }
+    }
+    return new TransferObjectMapper<SOURCE, TARGET>(sourceType, targetType, constructor,
+        mappings.toArray(new PropertyMapping[mappings.size()]));
+  }
+
+  /**
+   * @param sourceType is the {@link GenericType} of the source property.
+   * @param targetType is the {@link GenericType} of the target property.
+   * @return the {@link ValueMapping} to use or <code>null</code> if values can be assigned directly.
+   */
+  private ValueMapping createValueMapping(GenericType<?> sourceType, GenericType<?> targetType) {
+
+    Class<?> sourceClass = getNonPrimitiveType(sourceType.getRetrievalClass());
+    Class<?> targetClass = getNonPrimitiveType(targetType.getAssignmentClass());
+    if (targetClass.isAssignableFrom(sourceClass)) {
+      if (!Collection.class.isAssignableFrom(targetClass)) {
+        return null;
+      }
+      if (!CollectionValueMapping.isSupported(targetClass)) {
+        return new ConvertingValueMapping(this, targetType);
+      }
+      // the collection is always copied so the source and target do not share the same instance
+      Class<?> sourceItemClass = getComponentClass(sourceType);
+      Class<?> targetItemClass = getComponentClass(targetType);
+      ValueMapping itemMapping = null;
+      if (isNested(sourceItemClass, targetItemClass)) {
+        itemMapping = new NestedValueMapping(this, targetItemClass);
+      } else if (!targetItemClass.isAssignableFrom(sourceItemClass)) {
+        return new ConvertingValueMapping(this, targetType);
+      }
+      return new CollectionValueMapping(targetClass, itemMapping);
+    } else if (isNested(sourceClass, targetClass)) {
+      return new NestedValueMapping(this, targetClass);
+    } else if (Collection.class.isAssignableFrom(sourceClass) && Collection.class.isAssignableFrom(targetClass)
+        && CollectionValueMapping.isSupported(targetClass)) {
+      Class<?> targetItemClass = getComponentClass(targetType);
+      if (isNested(getComponentClass(sourceType), targetItemClass)) {
+        return new CollectionValueMapping(targetClass, new NestedValueMapping(this, targetItemClass));
+      }
+    }
+    return new ConvertingValueMapping(this, targetType);
+  }
+
+  /**
+   * @param sourceClass is the {@link Class} of the source value.
+   * @param targetClass is the {@link Class} of the target value.
+   * @return <code>true</code> if the value shall be mapped recursively by a nested
+   *         {@link TransferObjectMapper}, <code>false</code> otherwise (e.g. if a
+   *         {@link #hasSpecificConverter(Class) specific converter} is registered).
+   */
+  private boolean isNested(Class<?> sourceClass, Class<?> targetClass) {
+
+    if (!TransferObject.class.isAssignableFrom(sourceClass) && !TransferObject.class.isAssignableFrom(targetClass)) {
+      return false;
+    }
+    if (hasSpecificConverter(targetClass)) {
+      return false;
+    }
+    int modifiers = targetClass.getModifiers();
+    return !Modifier.isAbstract(modifiers) && !Modifier.isInterface(modifiers)
+        && !targetClass.isAssignableFrom(sourceClass);
+  }
+
+  /**
+   * @param type is the {@link GenericType} of a {@link Collection}.
+   * @return the {@link Class} of the items or {@link Object} if unknown.
+   */
+  private static Class<?> getComponentClass(GenericType<?> type) {
+
+    GenericType<?> componentType = type.getComponentType();
+    if (componentType == null) {
+      return Object.class;
+    }
+    return componentType.getRetrievalClass();
+  }
+
+  /**
+   * @param type is the {@link Class} to convert.
+   * @return the according wrapper type if <code>type</code> is primitive, else <code>type</code> itself.
+   */
+  private static Class<?> getNonPrimitiveType(Class<?> type) {
+
+    if (type.isPrimitive()) {
+      return MethodType.methodType(type).wrap().returnType();
+    }
+    return type;
+  }
+
+  /**
+   * @param getter is the {@link PojoPropertyAccessorNonArg getter}.
+   * @return the {@link MethodHandle} of the type <code>(Object)Object</code> for the given <code>getter</code>.
+   */
+  private static MethodHandle createGetterHandle(PojoPropertyAccessorNonArg getter) {
+
+    MethodHandle handle = null;
+    AccessibleObject accessibleObject = getter.getAccessibleObject();
+    try {
+      if (accessibleObject instanceof Method) {
+        handle = MethodHandles.lookup().unreflect((Method) accessibleObject);
+      } else if (accessibleObject instanceof Field) {
+        handle = MethodHandles.lookup().unreflectGetter((Field) accessibleObject);
+      }
+    } catch (IllegalAccessException e) {
+      // not accessible for us, fall back to the accessor itself...
+      handle = null;
+    }
+    if (handle == null) {
+      try {
+        handle = MethodHandles.publicLookup()
+            .findVirtual(PojoPropertyAccessorNonArg.class, "invoke", GETTER_TYPE).bindTo(getter);
+      } catch (ReflectiveOperationException e) {
+        throw new AccessFailedException(e, accessibleObject);
+      }
+    }
+    return handle.asType(GETTER_TYPE);
+  }
+
+  /**
+   * @param setter is the {@link PojoPropertyAccessorOneArg setter}.
+   * @return the {@link MethodHandle} of the type <code>(Object,Object)void</code> for the given
+   *         <code>setter</code>.
+   */
+  private static MethodHandle createSetterHandle(PojoPropertyAccessorOneArg setter) {
+
+    MethodHandle handle = null;
+    AccessibleObject accessibleObject = setter.getAccessibleObject();
+    try {
+      if (accessibleObject instanceof Method) {
+        handle = MethodHandles.lookup().unreflect((Method) accessibleObject);
+      } else if (accessibleObject instanceof Field) {
+        handle = MethodHandles.lookup().unreflectSetter((Field) accessibleObject);
+      }
+    } catch (IllegalAccessException e) {
+      // not accessible for us, fall back to the accessor itself...
+      handle = null;
+    }
+    if (handle == null) {
+      try {
+        handle = MethodHandles.publicLookup().findVirtual(PojoPropertyAccessorOneArg.class, "invoke",
+            MethodType.methodType(Object.class, Object.class, Object.class)).bindTo(setter);
+      } catch (ReflectiveOperationException e) {
+        throw new AccessFailedException(e, accessibleObject);
+      }
+    }
+    return handle.asType(SETTER_TYPE);
   }
 
   /**
@@ -0,0 +1,137 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.transformer.base;
+
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import net.sf.mmm.util.pattern.base.LiteralPattern;
+import net.sf.mmm.util.transformer.api.StringTransformerRule;
+
+/**
+ * This is the compiled form of a {@link StringTransformerChain} including the rules of all its parents. A
+ * {@link RegexStringTransformerRule} returns the given value unchanged if its pattern is NOT
+ * {@link java.util.regex.Matcher#find() found}. Therefore rules can be skipped safely if it is known in
+ * advance that they will not match:
+ * <ul>
+ * <li>For a {@link LiteralPattern literal} pattern (e.g. "^/doc/" or "\.txt$") this is determined by a
+ * simple {@link String#startsWith(String) prefix}, {@link String#endsWith(String) suffix},
+ * {@link String#equals(Object) equals} or {@link String#contains(CharSequence) contains} check.</li>
+ * <li>All other regular expressions are combined into a single alternation. If this alternation is NOT found
+ * in the current value, none of these rules can match. This check is only repeated when a rule has actually
+ * changed the value.</li>
+ * </ul>
+ * The rules that may match are still {@link StringTransformerRule#transform(Object) invoked} in their order
+ * so the result is identical to the sequential evaluation of the rules.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+final class CompiledStringTransformerChain {
+
+  /** The flattened rules of the chain including the rules of the parents. */
+  private final StringTransformerRule[] rules;
+
+  /** The {@link LiteralPattern}s of the rules or <code>null</code> if NOT literal. */
+  private final LiteralPattern[] literalPatterns;
+
+  /** The flags indicating if a rule is part of the {@link #combinedPattern}. */
+  private final boolean[] combined;
+
+  /** The combined alternation of the non-literal patterns or <code>null</code>. */
+  private final Pattern combinedPattern;
+
+  /**
+   * The constructor.
+   *
+   * @param rules are the flattened rules of the chain including the rules of the parents.
+   */
+  CompiledStringTransformerChain(StringTransformerRule[] rules) {
+
+    super();
+    this.rules = rules;
+    this.literalPatterns = new LiteralPattern[rules.length];
+    this.combined = new boolean[rules.length];
+    StringBuilder buffer = new StringBuilder();
+    int combinedCount = 0;
+    for (int i = 0; i < rules.length; i++) {
+      StringTransformerRule rule = rules[i];
+      // subclasses may override transform so only the plain RegexStringTransformerRule is analyzed
+      if ((rule != null) && (rule.getClass() == RegexStringTransformerRule.class)) {
+        Pattern pattern = ((RegexStringTransformerRule) rule).getPattern();
+        LiteralPattern literalPattern = LiteralPattern.analyze(pattern, true);
+        if (literalPattern != null) {
+          this.literalPatterns[i] = literalPattern;
+        } else if (LiteralPattern.isCombinable(pattern)) {
+          if (combinedCount > 0) {
+            buffer.append('|');
+          }
+          buffer.append("(?:");
+          buffer.append(pattern.pattern());
+          buffer.append(')');
+          this.combined[i] = true;
+          combinedCount++;
+        }
+      }
+    }
+    Pattern combinedRegex = null;
+    if (combinedCount > 1) {
+      try {
+        combinedRegex = Pattern.compile(buffer.toString());
+      } catch (PatternSyntaxException e) {
+        combinedRegex = null;
+      }
+    }
+    if (combinedRegex == null) {
+      // combining a single pattern would not gain anything so it is evaluated directly
+      for (int i = 0; i < this.combined.length; i++) {
+        this.combined[i] = false;
+      }
+    }
+    this.combinedPattern = combinedRegex;
+  }
+
+  /**
+   * This method transforms the given value by the rules.
+   *
+   * @see StringTransformerChain#transform(String)
+   *
+   * @param original is the original value.
+   * @return the transformed result.
+   */
+  String transform(String original) {
+
+    String value = original;
+    boolean literalCheck = !LiteralPattern.containsLineTerminator(value);
+    boolean combinedFound = true;
+    String combinedValue = null;
+    for (int i = 0; i < this.rules.length; i++) {
+      if (literalCheck) {
+        LiteralPattern literalPattern = this.literalPatterns[i];
+        if ((literalPattern != null) && !literalPattern.matches(value)) {
+          continue;
+        }
+      }
+      if (this.combined[i]) {
+        if (combinedValue != value) {
+          combinedFound = this.combinedPattern.matcher(value).find();
+          combinedValue = value;
+        }
+        if (!combinedFound) {
+          continue;
+        }
+      }
+      StringTransformerRule rule = this.rules[i];
+      String transformed = rule.transform(value);
+      if (transformed != value) {
+        if (rule.isStopOnMatch()) {
+          return transformed;
+        }
+        value = transformed;
+        literalCheck = !LiteralPattern.containsLineTerminator(value);
+      }
+    }
+    return value;
+  }
+
+}
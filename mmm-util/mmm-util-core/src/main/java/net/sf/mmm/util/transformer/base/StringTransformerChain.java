@@ -2,6 +2,10 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.util.transformer.base;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAttribute;
@@ -39,6 +43,12 @@ public class StringTransformerChain implements Transformer<String> {
   @XmlElement(name = "regex", type = RegexStringTransformerRule.class)
   private StringTransformerRule[] rules;
 
+  /**
+   * The {@link CompiledStringTransformerChain compiled} form of this chain or <code>null</code> if NOT yet
+   * created.
+   */
+  private transient volatile CompiledStringTransformerChain compiledChain;
+
   /**
    * The non-arg constructor.<br>
    * <b>NOTE:</b><br>
@@ -79,38 +89,34 @@ public class StringTransformerChain implements Transformer<String> {
 
   /**
    * {@inheritDoc}
+   * 
+   * On the first call the rules of this chain and its parents are {@link CompiledStringTransformerChain
+   * compiled} so that rules that can NOT match are skipped via literal checks and a single combined regex.
    */
   public String transform(String original) {
 
-    return transformRecursive(original, new State());
+    CompiledStringTransformerChain compiled = this.compiledChain;
+    if (compiled == null) {
+      List<StringTransformerRule> list = new ArrayList<StringTransformerRule>();
+      collectRules(list);
+      compiled = new CompiledStringTransformerChain(list.toArray(new StringTransformerRule[list.size()]));
+      this.compiledChain = compiled;
+    }
+    return compiled.transform(original);
   }
 
   /**
-   * This method implements {@link #transform(String)} recursively.
+   * This method adds the rules of the {@link #parent} chains and this chain recursively to the given
+   * <code>list</code> in the order they are applied.
    * 
-   * @param original is the original value.
-   * @param state is the {@link State} used to indicate if a {@link StringTransformerRule rule} causes the
-   *        chain to {@link State#stop}.
-   * @return the transformed result.
+   * @param list is the {@link List} where to add the rules.
    */
-  private String transformRecursive(String original, State state) {
+  private void collectRules(List<StringTransformerRule> list) {
 
-    String value = original;
     if (this.parent != null) {
-      value = this.parent.transformRecursive(original, state);
-      if (state.stop) {
-        return value;
-      }
-    }
-    for (StringTransformerRule rule : this.rules) {
-      String transformed = rule.transform(value);
-      if ((transformed != value) && (rule.isStopOnMatch())) {
-        state.stop = true;
-        return transformed;
-      }
-      value = transformed;
+      this.parent.collectRules(list);
     }
-    return value;
+    Collections.addAll(list, this.rules);
   }
 
   /**
@@ -2,8 +2,8 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.util.validation.base;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 
 import net.sf.mmm.util.validation.api.ValidationFailure;
@@ -20,10 +20,10 @@ import net.sf.mmm.util.validation.api.ValidationState;
 public class ValidationStateImpl implements ValidationState {
 
   /** @see #onFailure(ValidationFailure) */
-  private final List<ValidationFailure> failureList;
+  private List<ValidationFailure> failureList;
 
   /** @see #getFailureList() */
-  private final List<ValidationFailure> failureView;
+  private List<ValidationFailure> failureView;
 
   /**
    * The constructor.
@@ -31,8 +31,8 @@ public class ValidationStateImpl implements ValidationState {
   public ValidationStateImpl() {
 
     super();
-    this.failureList = new LinkedList<ValidationFailure>();
-    this.failureView = Collections.unmodifiableList(this.failureList);
+    // list is created lazily so the success path of a validation does not allocate anything
+    this.failureView = Collections.emptyList();
   }
 
   /**
@@ -41,7 +41,7 @@ public class ValidationStateImpl implements ValidationState {
   @Override
   public boolean isValid() {
 
-    return this.failureList.isEmpty();
+    return (this.failureList == null);
   }
 
   /**
@@ -50,6 +50,10 @@ public class ValidationStateImpl implements ValidationState {
   @Override
   public void onFailure(ValidationFailure failure) {
 
+    if (this.failureList == null) {
+      this.failureList = new ArrayList<ValidationFailure>();
+      this.failureView = Collections.unmodifiableList(this.failureList);
+    }
     this.failureList.add(failure);
   }
 
@@ -71,6 +75,9 @@ public class ValidationStateImpl implements ValidationState {
   @Override
   public int getFailureCount() {
 
+    if (this.failureList == null) {
+      return 0;
+    }
     return this.failureList.size();
   }
 
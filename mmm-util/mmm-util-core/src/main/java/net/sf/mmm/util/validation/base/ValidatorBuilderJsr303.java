@@ -9,7 +9,9 @@ import javax.validation.groups.Default;
 import net.sf.mmm.util.pojo.path.api.TypedProperty;
 
 /**
- * This is a builder to create multiple instances of {@link ValidatorJsr303}.
+ * This is a builder to create multiple instances of {@link ValidatorJsr303}. Validators for properties are
+ * taken from a {@link ValidatorPlanJsr303} so the constraint meta-data is only resolved once per
+ * {@link net.sf.mmm.util.pojo.api.Pojo} type and property.
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  * @since 3.1.0
@@ -22,6 +24,9 @@ public class ValidatorBuilderJsr303 extends AbstractValidatorBuilder {
   /** @see #newValidator(Class, String) */
   private Class<?>[] groups;
 
+  /** @see #getPlan() */
+  private ValidatorPlanJsr303 plan;
+
   /**
    * The constructor.
    */
@@ -64,6 +69,20 @@ public class ValidatorBuilderJsr303 extends AbstractValidatorBuilder {
   public void setGroups(Class<?>[] groups) {
 
     this.groups = groups;
+    this.plan = null;
+  }
+
+  /**
+   * @return the {@link ValidatorPlanJsr303} for the current {@link #getValidator() validator} and
+   *         {@link #getGroups() groups}.
+   * @since 4.0.0
+   */
+  public ValidatorPlanJsr303 getPlan() {
+
+    if (this.plan == null) {
+      this.plan = new ValidatorPlanJsr303(this.validator, this.groups);
+    }
+    return this.plan;
   }
 
   /**
@@ -79,10 +98,9 @@ public class ValidatorBuilderJsr303 extends AbstractValidatorBuilder {
    * {@inheritDoc}
    */
   @Override
-  @SuppressWarnings({ "unchecked", "rawtypes" })
   public AbstractValidator<?> newValidator(Class<?> pojoType, String property, Class<?> propertyType) {
 
-    return new ValidatorJsr303(this.validator, pojoType, property, propertyType, this.groups);
+    return getPlan().getPropertyValidator(pojoType, property, propertyType);
   }
 
   /**
@@ -91,6 +109,6 @@ public class ValidatorBuilderJsr303 extends AbstractValidatorBuilder {
   @Override
   public <T> AbstractValidator<T> newValidator(Class<?> pojoType, TypedProperty<T> property, Class<T> propertyType) {
 
-    return new ValidatorJsr303<T>(this.validator, pojoType, property.getPojoPath(), propertyType, this.groups);
+    return getPlan().getPropertyValidator(pojoType, property.getPojoPath(), propertyType);
   }
 }
@@ -3,13 +3,13 @@
 package net.sf.mmm.util.validation.base;
 
 import java.lang.annotation.Annotation;
+import java.util.Collections;
 import java.util.Set;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
 import javax.validation.constraints.NotNull;
 import javax.validation.groups.Default;
-import javax.validation.metadata.BeanDescriptor;
 import javax.validation.metadata.ConstraintDescriptor;
 import javax.validation.metadata.PropertyDescriptor;
 
@@ -47,6 +47,9 @@ public class ValidatorJsr303<V> extends AbstractValidator<V> {
   /** @see #isMandatory() */
   private final boolean mandatory;
 
+  /** @see #isConstrained() */
+  private final boolean constrained;
+
   /**
    * The constructor.
    * 
@@ -107,6 +110,23 @@ public class ValidatorJsr303<V> extends AbstractValidator<V> {
   public ValidatorJsr303(Validator validator, Class<?> pojoType, String property, Class<?> propertyType,
       Class<?>... groups) {
 
+    this(validator, pojoType, property, propertyType, getPropertyDescriptor(validator, pojoType, property), groups);
+  }
+
+  /**
+   * The constructor for a {@link ValidatorPlanJsr303} that has already resolved the {@link PropertyDescriptor}.
+   * 
+   * @param validator is the {@link Validator} instance.
+   * @param pojoType is the type of the {@link net.sf.mmm.util.pojo.api.Pojo} to validate.
+   * @param property is the property to validate or <code>null</code> to validate the entire object.
+   * @param propertyType is the {@link #getPropertyType() property type}.
+   * @param propertyDescriptor is the {@link PropertyDescriptor} of the <code>property</code> or
+   *        <code>null</code> if the property has no constraints.
+   * @param groups are the {@link Validator#validate(Object, Class...) groups to use for validation}.
+   */
+  ValidatorJsr303(Validator validator, Class<?> pojoType, String property, Class<?> propertyType,
+      PropertyDescriptor propertyDescriptor, Class<?>... groups) {
+
     super();
     NlsNullPointerException.checkNotNull(Validator.class, validator);
     NlsNullPointerException.checkNotNull("pojoType", pojoType);
@@ -119,7 +139,27 @@ public class ValidatorJsr303<V> extends AbstractValidator<V> {
     this.property = property;
     this.propertyType = propertyType;
     this.groups = groups;
-    this.mandatory = calculateMandatoryFlag();
+    if ((property == null) || (property.indexOf('.') >= 0)) {
+      // entire object or nested property path that can not be resolved via BeanDescriptor
+      this.constrained = true;
+    } else {
+      this.constrained = (propertyDescriptor != null) && propertyDescriptor.hasConstraints();
+    }
+    this.mandatory = calculateMandatoryFlag(propertyDescriptor);
+  }
+
+  /**
+   * @param validator is the {@link Validator} instance.
+   * @param pojoType is the type of the {@link net.sf.mmm.util.pojo.api.Pojo} to validate.
+   * @param property is the property to validate or <code>null</code> to validate the entire object.
+   * @return the {@link PropertyDescriptor} or <code>null</code> if NOT available.
+   */
+  private static PropertyDescriptor getPropertyDescriptor(Validator validator, Class<?> pojoType, String property) {
+
+    if ((property == null) || (validator == null) || (pojoType == null)) {
+      return null;
+    }
+    return validator.getConstraintsForClass(pojoType).getConstraintsForProperty(property);
   }
 
   /**
@@ -132,17 +172,26 @@ public class ValidatorJsr303<V> extends AbstractValidator<V> {
   }
 
   /**
+   * @return <code>true</code> if this validator has constraints to check, <code>false</code> if the
+   *         {@link #getProperty() property} is not constrained so {@link #validate(Object, Object) validation}
+   *         will always succeed without invoking the {@link Validator}.
+   * @since 4.0.0
+   */
+  public boolean isConstrained() {
+
+    return this.constrained;
+  }
+
+  /**
+   * @param propertyDescriptor is the {@link PropertyDescriptor} or <code>null</code>.
    * @return the calculated value for {@link #isMandatory()}.
    */
-  private boolean calculateMandatoryFlag() {
+  private boolean calculateMandatoryFlag(PropertyDescriptor propertyDescriptor) {
 
-    // This is quite a stupid way to figure this out...
     if (this.property != null) {
       if ((this.propertyType != null) && this.propertyType.isPrimitive()) {
         return true;
       }
-      BeanDescriptor beanDescriptor = this.validator.getConstraintsForClass(this.pojoType);
-      PropertyDescriptor propertyDescriptor = beanDescriptor.getConstraintsForProperty(this.property);
       if (propertyDescriptor == null) {
         // not annotated
         return false;
@@ -156,10 +205,6 @@ public class ValidatorJsr303<V> extends AbstractValidator<V> {
           return true;
         }
       }
-      // Set<ConstraintViolation<?>> violationSet = validateJsr303(null);
-      // if (!violationSet.isEmpty()) {
-      // return true;
-      // }
     }
     return false;
   }
@@ -174,7 +219,21 @@ public class ValidatorJsr303<V> extends AbstractValidator<V> {
       return new ValidationFailureImpl(Mandatory.class.getSimpleName(), valueSource, createBundle(
           NlsBundleUtilCoreRoot.class).errorMandatory());
     }
-    Set<ConstraintViolation<?>> violationSet = validateJsr303(value);
+    if (!this.constrained) {
+      return null;
+    }
+    return createValidationFailure(validateJsr303(value), valueSource);
+  }
+
+  /**
+   * Creates the {@link ValidationFailure} for the given {@link Set} of {@link ConstraintViolation}s.
+   * 
+   * @param violationSet is the {@link Set} of {@link ConstraintViolation}s.
+   * @param valueSource is the source of the value. May be <code>null</code>.
+   * @return the {@link ValidationFailure} or <code>null</code> if the given {@link Set} is empty.
+   */
+  private ValidationFailure createValidationFailure(Set<ConstraintViolation<?>> violationSet, Object valueSource) {
+
     int size = violationSet.size();
     if (size == 1) {
       ConstraintViolation<?> violation = violationSet.iterator().next();
@@ -202,7 +261,7 @@ public class ValidatorJsr303<V> extends AbstractValidator<V> {
     Set set;
     if (this.property == null) {
       if (value == null) {
-        return null;
+        return Collections.emptySet();
       }
       set = this.validator.validate(value, this.groups);
     } else {
@@ -0,0 +1,191 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.validation.base;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.validation.Validator;
+import javax.validation.groups.Default;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+
+import net.sf.mmm.util.nls.api.NlsNullPointerException;
+
+/**
+ * This is the compiled validation plan for {@link javax.validation} (JSR 303). The constraint meta-data of a
+ * {@link net.sf.mmm.util.pojo.api.Pojo} type is resolved only once via
+ * {@link Validator#getConstraintsForClass(Class)} and cached together with the according
+ * {@link ValidatorJsr303} instances for each property. This avoids that the meta-data is queried again and
+ * again whenever a form is bound or validated. Properties without constraints are skipped entirely without
+ * asking the {@link Validator}. As each field of a form is validated by its own cached
+ * {@link #getPropertyValidator(Class, String, Class) property validator}, a change only re-validates the
+ * changed property.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public class ValidatorPlanJsr303 {
+
+  /** @see #getValidator() */
+  private final Validator validator;
+
+  /** @see #getGroups() */
+  private final Class<?>[] groups;
+
+  /** @see #getBeanPlan(Class) */
+  private final Map<Class<?>, BeanPlan> beanPlanMap;
+
+  /**
+   * The constructor.
+   *
+   * @param validator is the {@link Validator} instance.
+   */
+  public ValidatorPlanJsr303(Validator validator) {
+
+    this(validator, Default.class);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param validator is the {@link Validator} instance.
+   * @param groups are the {@link Validator#validate(Object, Class...) groups to use for validation}.
+   */
+  public ValidatorPlanJsr303(Validator validator, Class<?>... groups) {
+
+    super();
+    NlsNullPointerException.checkNotNull(Validator.class, validator);
+    NlsNullPointerException.checkNotNull("groups", groups);
+    this.validator = validator;
+    this.groups = groups;
+    this.beanPlanMap = new HashMap<Class<?>, BeanPlan>();
+  }
+
+  /**
+   * @return the {@link Validator} instance.
+   */
+  public Validator getValidator() {
+
+    return this.validator;
+  }
+
+  /**
+   * @return the {@link Validator#validate(Object, Class...) groups to use for validation}.
+   */
+  public Class<?>[] getGroups() {
+
+    return this.groups;
+  }
+
+  /**
+   * This method gets the cached {@link BeanPlan} for the given <code>pojoType</code> and compiles it on the
+   * first call.
+   *
+   * @param pojoType is the type of the {@link net.sf.mmm.util.pojo.api.Pojo}.
+   * @return the according {@link BeanPlan}.
+   */
+  private synchronized BeanPlan getBeanPlan(Class<?> pojoType) {
+
+    BeanPlan plan = this.beanPlanMap.get(pojoType);
+    if (plan == null) {
+      plan = new BeanPlan(pojoType);
+      this.beanPlanMap.put(pojoType, plan);
+    }
+    return plan;
+  }
+
+  /**
+   * This method gets the cached {@link PropertyDescriptor} for the given property.
+   *
+   * @param pojoType is the type of the {@link net.sf.mmm.util.pojo.api.Pojo}.
+   * @param property is the name of the property.
+   * @return the {@link PropertyDescriptor} or <code>null</code> if the property has no constraints.
+   */
+  public PropertyDescriptor getPropertyDescriptor(Class<?> pojoType, String property) {
+
+    return getBeanPlan(pojoType).beanDescriptor.getConstraintsForProperty(property);
+  }
+
+  /**
+   * This method gets the {@link ValidatorJsr303} for the given property. The validator is created only once
+   * and then shared for the same <code>pojoType</code> and <code>property</code>.
+   *
+   * @param <V> is the generic type of the property.
+   * @param pojoType is the type of the {@link net.sf.mmm.util.pojo.api.Pojo}.
+   * @param property is the name of the property to validate.
+   * @param propertyType is the {@link ValidatorJsr303#getPropertyType() property type}. May be
+   *        <code>null</code>.
+   * @return the according {@link ValidatorJsr303}.
+   */
+  @SuppressWarnings("unchecked")
+  public <V> ValidatorJsr303<V> getPropertyValidator(Class<?> pojoType, String property, Class<V> propertyType) {
+
+    NlsNullPointerException.checkNotNull("property", property);
+    return (ValidatorJsr303<V>) getBeanPlan(pojoType).getPropertyValidator(property, propertyType);
+  }
+
+  /**
+   * This inner class is the compiled plan for a single {@link net.sf.mmm.util.pojo.api.Pojo} type.
+   */
+  private class BeanPlan {
+
+    /** The type of the {@link net.sf.mmm.util.pojo.api.Pojo}. */
+    private final Class<?> pojoType;
+
+    /** The {@link BeanDescriptor} of {@link #pojoType}. */
+    private final BeanDescriptor beanDescriptor;
+
+    /** The {@link ValidatorJsr303} instances for the properties. */
+    private final Map<String, ValidatorJsr303<?>> validatorMap;
+
+    /**
+     * The constructor.
+     *
+     * @param pojoType is the type of the {@link net.sf.mmm.util.pojo.api.Pojo}.
+     */
+    public BeanPlan(Class<?> pojoType) {
+
+      super();
+      this.pojoType = pojoType;
+      this.beanDescriptor = ValidatorPlanJsr303.this.validator.getConstraintsForClass(pojoType);
+      this.validatorMap = new HashMap<String, ValidatorJsr303<?>>();
+    }
+
+    /**
+     * @param property is the name of the property.
+     * @param propertyType is the type of the property or <code>null</code> if unknown.
+     * @return the cached {@link ValidatorJsr303}.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    public synchronized ValidatorJsr303<?> getPropertyValidator(String property, Class<?> propertyType) {
+
+      ValidatorJsr303<?> propertyValidator = this.validatorMap.get(property);
+      if ((propertyValidator != null) && (propertyType != null)
+          && (propertyValidator.getPropertyType() != propertyType)) {
+        if (propertyValidator.getPropertyType() != null) {
+          // should not happen - property used with inconsistent types, do not pollute the cache
+          return new ValidatorJsr303(ValidatorPlanJsr303.this.validator, this.pojoType, property, propertyType,
+              getPropertyDescriptor(property), ValidatorPlanJsr303.this.groups);
+        }
+        propertyValidator = null;
+      }
+      if (propertyValidator == null) {
+        propertyValidator = new ValidatorJsr303(ValidatorPlanJsr303.this.validator, this.pojoType, property,
+            propertyType, getPropertyDescriptor(property), ValidatorPlanJsr303.this.groups);
+        this.validatorMap.put(property, propertyValidator);
+      }
+      return propertyValidator;
+    }
+
+    /**
+     * @param property is the name of the property.
+     * @return the {@link PropertyDescriptor} or <code>null</code> if NOT constrained.
+     */
+    private PropertyDescriptor getPropertyDescriptor(String property) {
+
+      return this.beanDescriptor.getConstraintsForProperty(property);
+    }
+  }
+
+}
@@ -211,6 +211,31 @@ public class ComposedValueConverterImpl extends AbstractComposedValueConverter {
     return (T) convertRecursive(value, valueSource, targetType, targetClass, null, converterMap);
   }
 
+  /**
+   * This method determines if a {@link ValueConverter} is registered for a
+   * {@link ValueConverter#getTargetType() target-type} that is more specific than {@link Object} and
+   * applicable for the given <code>targetClass</code>. Generic converters such as
+   * {@link ValueConverterToCompatiblePojo} are therefore ignored.
+   * 
+   * @param targetClass is the {@link Class} to convert to.
+   * @return <code>true</code> if a specific {@link ValueConverter} is registered for <code>targetClass</code>,
+   *         <code>false</code> otherwise.
+   * @since 4.0.0
+   */
+  public boolean hasSpecificConverter(Class<?> targetClass) {
+
+    TargetClass2ConverterMap converterMap;
+    Class<?> type = targetClass;
+    if (type.isArray()) {
+      converterMap = this.targetArrayClass2converterMap;
+      type = type.getComponentType();
+    } else {
+      converterMap = this.targetClass2converterMap;
+    }
+    ComposedTargetTypeConverter<?> converter = converterMap.resolve(type);
+    return (converter != null) && (converter.getTargetType() != Object.class);
+  }
+
   /**
    * This method determines if the given <code>converter</code> is applicable for the given
    * <code>targetType</code>.
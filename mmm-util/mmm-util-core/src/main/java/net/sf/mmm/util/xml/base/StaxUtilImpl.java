@@ -27,6 +27,7 @@ import net.sf.mmm.util.value.base.StringValueConverterImpl;
 import net.sf.mmm.util.xml.api.StaxUtil;
 import net.sf.mmm.util.xml.api.XmlException;
 import net.sf.mmm.util.xml.api.XmlGenericException;
+import net.sf.mmm.util.xml.impl.stax.XIncludeCache;
 import net.sf.mmm.util.xml.impl.stax.XIncludeStreamReader;
 
 /**
@@ -51,6 +52,9 @@ public final class StaxUtilImpl extends AbstractLoggableComponent implements Sta
   /** @see #getValueConverter() */
   private StringValueConverter valueConverter;
 
+  /** @see #getXIncludeCache() */
+  private XIncludeCache xIncludeCache;
+
   /**
    * The constructor.
    */
@@ -138,6 +142,28 @@ public final class StaxUtilImpl extends AbstractLoggableComponent implements Sta
     this.xmlInputFactory = xmlInputFactory;
   }
 
+  /**
+   * This method gets the {@link XIncludeCache} used by {@link #createXmlStreamReader(DataResource, boolean)}
+   * to avoid re-parsing XML fragments that are included multiple times.
+   * 
+   * @return the {@link XIncludeCache}.
+   * @since 4.0.0
+   */
+  public XIncludeCache getXIncludeCache() {
+
+    return this.xIncludeCache;
+  }
+
+  /**
+   * @param xIncludeCache is the {@link XIncludeCache} to set.
+   * @since 4.0.0
+   */
+  public void setXIncludeCache(XIncludeCache xIncludeCache) {
+
+    getInitializationState().requireNotInitilized();
+    this.xIncludeCache = xIncludeCache;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -154,6 +180,9 @@ public final class StaxUtilImpl extends AbstractLoggableComponent implements Sta
     if (this.xmlOutputFactory == null) {
       this.xmlOutputFactory = XMLOutputFactory.newInstance();
     }
+    if (this.xIncludeCache == null) {
+      this.xIncludeCache = new XIncludeCache();
+    }
   }
 
   /**
@@ -189,7 +218,7 @@ public final class StaxUtilImpl extends AbstractLoggableComponent implements Sta
   public XMLStreamReader createXmlStreamReader(DataResource resource, boolean xIncludeAware) throws XmlException {
 
     if (xIncludeAware) {
-      return new XIncludeStreamReader(this.xmlInputFactory, resource);
+      return new XIncludeStreamReader(this.xmlInputFactory, resource, this.xIncludeCache);
     } else {
       // closing of stream has to be performed via XMLStreamReader.close()
       // however the strange StAX specification prevents this...
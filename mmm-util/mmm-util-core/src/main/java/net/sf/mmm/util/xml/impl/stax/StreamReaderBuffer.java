@@ -0,0 +1,998 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.xml.impl.stax;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.namespace.QName;
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * This is an immutable buffer containing the pre-tokenized events of an {@link XMLStreamReader}. It is
+ * {@link #record(XMLStreamReader, String) recorded} once from an {@link XMLStreamReader} and can then be
+ * replayed as often as desired via {@link #createStreamReader()} without re-parsing the original XML. As the
+ * buffer is immutable it can be safely shared between threads.<br/>
+ * If only a fragment of a document is recorded (e.g. via XPointer), the namespaces declared by the omitted
+ * ancestors are lost. Therefore the namespaces used within the fragment but declared outside of it are added
+ * to the {@link XMLStreamReader#getNamespaceCount() namespace declarations} of the top-level elements of the
+ * fragment.
+ *
+ * @see XIncludeCache
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public final class StreamReaderBuffer {
+
+  /** An empty {@link String} array. */
+  private static final String[] NO_STRINGS = new String[0];
+
+  /** An empty {@link QName} array. */
+  private static final QName[] NO_NAMES = new QName[0];
+
+  /** The recorded events. */
+  private final Event[] events;
+
+  /** @see Location#getSystemId() */
+  private final String systemId;
+
+  /**
+   * The constructor.
+   *
+   * @param events are the recorded {@link Event}s.
+   * @param systemId is the {@link Location#getSystemId() system ID}.
+   */
+  private StreamReaderBuffer(Event[] events, String systemId) {
+
+    super();
+    this.events = events;
+    this.systemId = systemId;
+  }
+
+  /**
+   * This method records the events of the given {@link XMLStreamReader} starting with its current event until
+   * its end is reached. The given <code>reader</code> will NOT be closed by this method.
+   *
+   * @param reader is the {@link XMLStreamReader} to record.
+   * @param systemId is the {@link Location#getSystemId() system ID} to use for replayed {@link Location}s. May
+   *        be <code>null</code>.
+   * @return the {@link StreamReaderBuffer} with the recorded events.
+   * @throws XMLStreamException if the given <code>reader</code> failed.
+   */
+  public static StreamReaderBuffer record(XMLStreamReader reader, String systemId) throws XMLStreamException {
+
+    List<Event> eventList = new ArrayList<Event>();
+    List<Event> openElements = new ArrayList<Event>();
+    Map<String, String> inheritedNamespaces = new LinkedHashMap<String, String>();
+    int rootIndex = -1;
+    while (true) {
+      Event event = new Event(reader);
+      eventList.add(event);
+      if (event.type == XMLStreamConstants.START_ELEMENT) {
+        if (openElements.isEmpty()) {
+          rootIndex = eventList.size() - 1;
+        }
+        openElements.add(event);
+        collectInheritedNamespace(event.name, true, openElements, inheritedNamespaces);
+        for (QName attributeName : event.attributeNames) {
+          collectInheritedNamespace(attributeName, false, openElements, inheritedNamespaces);
+        }
+      } else if ((event.type == XMLStreamConstants.END_ELEMENT) && !openElements.isEmpty()) {
+        openElements.remove(openElements.size() - 1);
+        if (openElements.isEmpty() && !inheritedNamespaces.isEmpty()) {
+          Event root = eventList.get(rootIndex);
+          eventList.set(rootIndex, new Event(root, inheritedNamespaces));
+          inheritedNamespaces.clear();
+        }
+      }
+      if (!reader.hasNext()) {
+        break;
+      }
+      reader.next();
+    }
+    return new StreamReaderBuffer(eventList.toArray(new Event[eventList.size()]), systemId);
+  }
+
+  /**
+   * This method collects the namespace of the given {@link QName} if it is NOT declared within the recorded
+   * elements and therefore has been inherited from an ancestor that is NOT part of the recording.
+   *
+   * @param qname is the {@link QName} of an element or attribute.
+   * @param element - <code>true</code> for the name of an element, <code>false</code> for an attribute
+   *        (that is NOT affected by the default namespace).
+   * @param openElements are the recorded {@link Event}s of the currently open elements.
+   * @param inheritedNamespaces is the {@link Map} where to add the inherited namespaces.
+   */
+  private static void collectInheritedNamespace(QName qname, boolean element, List<Event> openElements,
+      Map<String, String> inheritedNamespaces) {
+
+    String prefix = normalizePrefix(qname.getPrefix());
+    if (!element && (prefix.length() == 0)) {
+      return;
+    }
+    String uri = qname.getNamespaceURI();
+    if ((uri == null) || (uri.length() == 0) || XMLConstants.XML_NS_PREFIX.equals(prefix)
+        || inheritedNamespaces.containsKey(prefix)) {
+      return;
+    }
+    for (int i = openElements.size() - 1; i >= 0; i--) {
+      Event openElement = openElements.get(i);
+      for (String declaredPrefix : openElement.namespacePrefixes) {
+        if (prefix.equals(normalizePrefix(declaredPrefix))) {
+          return;
+        }
+      }
+    }
+    inheritedNamespaces.put(prefix, uri);
+  }
+
+  /**
+   * @param prefix is the namespace prefix as returned by {@link XMLStreamReader#getNamespacePrefix(int)}.
+   * @return the given <code>prefix</code> or the empty {@link String} for the default namespace.
+   */
+  private static String normalizePrefix(String prefix) {
+
+    if (prefix == null) {
+      return XMLConstants.DEFAULT_NS_PREFIX;
+    }
+    return prefix;
+  }
+
+  /**
+   * @return the number of recorded events.
+   */
+  public int getEventCount() {
+
+    return this.events.length;
+  }
+
+  /**
+   * This method creates a new {@link XMLStreamReader} that replays the recorded events. The returned reader
+   * is positioned on the first recorded event.
+   *
+   * @return the new {@link XMLStreamReader}.
+   */
+  public XMLStreamReader createStreamReader() {
+
+    return new BufferedStreamReader();
+  }
+
+  /**
+   * This inner class represents a single recorded event.
+   */
+  private static final class Event {
+
+    /** @see XMLStreamReader#getEventType() */
+    private final int type;
+
+    /** @see XMLStreamReader#getName() */
+    private final QName name;
+
+    /** @see XMLStreamReader#getText() */
+    private final String text;
+
+    /** @see XMLStreamReader#getPIData() */
+    private final String data;
+
+    /** @see XMLStreamReader#getAttributeName(int) */
+    private final QName[] attributeNames;
+
+    /** @see XMLStreamReader#getAttributeValue(int) */
+    private final String[] attributeValues;
+
+    /** @see XMLStreamReader#getAttributeType(int) */
+    private final String[] attributeTypes;
+
+    /** @see XMLStreamReader#getNamespacePrefix(int) */
+    private final String[] namespacePrefixes;
+
+    /** @see XMLStreamReader#getNamespaceURI(int) */
+    private final String[] namespaceUris;
+
+    /** @see Location#getLineNumber() */
+    private final int lineNumber;
+
+    /** @see Location#getColumnNumber() */
+    private final int columnNumber;
+
+    /** @see Location#getCharacterOffset() */
+    private final int characterOffset;
+
+    /**
+     * The constructor.
+     *
+     * @param reader is the {@link XMLStreamReader} positioned on the event to record.
+     */
+    public Event(XMLStreamReader reader) {
+
+      super();
+      this.type = reader.getEventType();
+      Location location = reader.getLocation();
+      if (location == null) {
+        this.lineNumber = -1;
+        this.columnNumber = -1;
+        this.characterOffset = -1;
+      } else {
+        this.lineNumber = location.getLineNumber();
+        this.columnNumber = location.getColumnNumber();
+        this.characterOffset = location.getCharacterOffset();
+      }
+      QName qname = null;
+      String string = null;
+      String piData = null;
+      QName[] attNames = NO_NAMES;
+      String[] attValues = NO_STRINGS;
+      String[] attTypes = NO_STRINGS;
+      String[] nsPrefixes = NO_STRINGS;
+      String[] nsUris = NO_STRINGS;
+      switch (this.type) {
+        case XMLStreamConstants.START_ELEMENT:
+          int attributeCount = reader.getAttributeCount();
+          if (attributeCount > 0) {
+            attNames = new QName[attributeCount];
+            attValues = new String[attributeCount];
+            attTypes = new String[attributeCount];
+            for (int i = 0; i < attributeCount; i++) {
+              attNames[i] = reader.getAttributeName(i);
+              attValues[i] = reader.getAttributeValue(i);
+              attTypes[i] = reader.getAttributeType(i);
+            }
+          }
+          // fall through
+        case XMLStreamConstants.END_ELEMENT:
+          qname = reader.getName();
+          int namespaceCount = reader.getNamespaceCount();
+          if (namespaceCount > 0) {
+            nsPrefixes = new String[namespaceCount];
+            nsUris = new String[namespaceCount];
+            for (int i = 0; i < namespaceCount; i++) {
+              nsPrefixes[i] = reader.getNamespacePrefix(i);
+              nsUris[i] = reader.getNamespaceURI(i);
+            }
+          }
+          break;
+        case XMLStreamConstants.PROCESSING_INSTRUCTION:
+          string = reader.getPITarget();
+          piData = reader.getPIData();
+          break;
+        case XMLStreamConstants.ENTITY_REFERENCE:
+          qname = new QName(reader.getLocalName());
+          string = reader.getText();
+          break;
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+        case XMLStreamConstants.COMMENT:
+        case XMLStreamConstants.DTD:
+          string = reader.getText();
+          break;
+        case XMLStreamConstants.START_DOCUMENT:
+          string = reader.getVersion();
+          piData = reader.getCharacterEncodingScheme();
+          break;
+        default :
+          // nothing to record...
+      }
+      this.name = qname;
+      this.text = string;
+      this.data = piData;
+      this.attributeNames = attNames;
+      this.attributeValues = attValues;
+      this.attributeTypes = attTypes;
+      this.namespacePrefixes = nsPrefixes;
+      this.namespaceUris = nsUris;
+    }
+
+    /**
+     * The constructor for a copy of a {@link XMLStreamConstants#START_ELEMENT start element} that
+     * additionally declares the given inherited namespaces.
+     *
+     * @param template is the {@link Event} to copy.
+     * @param inheritedNamespaces are the inherited namespaces to declare (prefix mapped to URI).
+     */
+    public Event(Event template, Map<String, String> inheritedNamespaces) {
+
+      super();
+      this.type = template.type;
+      this.name = template.name;
+      this.text = template.text;
+      this.data = template.data;
+      this.attributeNames = template.attributeNames;
+      this.attributeValues = template.attributeValues;
+      this.attributeTypes = template.attributeTypes;
+      this.lineNumber = template.lineNumber;
+      this.columnNumber = template.columnNumber;
+      this.characterOffset = template.characterOffset;
+      int declaredCount = template.namespacePrefixes.length;
+      int count = declaredCount + inheritedNamespaces.size();
+      this.namespacePrefixes = new String[count];
+      this.namespaceUris = new String[count];
+      System.arraycopy(template.namespacePrefixes, 0, this.namespacePrefixes, 0, declaredCount);
+      System.arraycopy(template.namespaceUris, 0, this.namespaceUris, 0, declaredCount);
+      int i = declaredCount;
+      for (Map.Entry<String, String> entry : inheritedNamespaces.entrySet()) {
+        String prefix = entry.getKey();
+        if (prefix.length() == 0) {
+          // the default namespace is represented as null
+          prefix = null;
+        }
+        this.namespacePrefixes[i] = prefix;
+        this.namespaceUris[i] = entry.getValue();
+        i++;
+      }
+    }
+  }
+
+  /**
+   * This inner class is the {@link XMLStreamReader} replaying the recorded {@link Event}s.
+   */
+  private class BufferedStreamReader implements XMLStreamReader, NamespaceContext, Location {
+
+    /** The index of the current {@link Event}. */
+    private int index;
+
+    /** The current {@link Event}. */
+    private Event event;
+
+    /**
+     * The stack of the {@link Event}s for the currently open elements used to resolve namespaces.
+     */
+    private final List<Event> elementStack;
+
+    /**
+     * The constructor.
+     */
+    public BufferedStreamReader() {
+
+      super();
+      this.index = 0;
+      this.event = StreamReaderBuffer.this.events[0];
+      this.elementStack = new ArrayList<Event>();
+      updateElementStack();
+    }
+
+    /**
+     * Updates the {@link #elementStack} after the {@link #event} has changed.
+     */
+    private void updateElementStack() {
+
+      if (this.event.type == XMLStreamConstants.START_ELEMENT) {
+        this.elementStack.add(this.event);
+      } else if (this.event.type == XMLStreamConstants.END_ELEMENT) {
+        int size = this.elementStack.size();
+        if (size > 0) {
+          this.elementStack.remove(size - 1);
+        }
+      }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object getProperty(String name) throws IllegalArgumentException {
+
+      if (name == null) {
+        throw new IllegalArgumentException("name");
+      }
+      return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int next() throws XMLStreamException {
+
+      if (!hasNext()) {
+        throw new XMLStreamException("No more events available.", this);
+      }
+      this.index++;
+      this.event = StreamReaderBuffer.this.events[this.index];
+      updateElementStack();
+      return this.event.type;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void require(int type, String namespaceURI, String localName) throws XMLStreamException {
+
+      if (type != this.event.type) {
+        throw new XMLStreamException("Expected event " + type + " but found " + this.event.type, this);
+      }
+      if ((namespaceURI != null) && !namespaceURI.equals(getNamespaceURI())) {
+        throw new XMLStreamException("Expected namespace " + namespaceURI, this);
+      }
+      if ((localName != null) && !localName.equals(getLocalName())) {
+        throw new XMLStreamException("Expected local name " + localName, this);
+      }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getElementText() throws XMLStreamException {
+
+      if (this.event.type != XMLStreamConstants.START_ELEMENT) {
+        throw new XMLStreamException("Expected START_ELEMENT.", this);
+      }
+      StringBuilder buffer = new StringBuilder();
+      int eventType = next();
+      while (eventType != XMLStreamConstants.END_ELEMENT) {
+        if ((eventType == XMLStreamConstants.CHARACTERS) || (eventType == XMLStreamConstants.CDATA)
+            || (eventType == XMLStreamConstants.SPACE) || (eventType == XMLStreamConstants.ENTITY_REFERENCE)) {
+          buffer.append(this.event.text);
+        } else if ((eventType != XMLStreamConstants.PROCESSING_INSTRUCTION)
+            && (eventType != XMLStreamConstants.COMMENT)) {
+          throw new XMLStreamException("Unexpected event " + eventType + " in element text.", this);
+        }
+        eventType = next();
+      }
+      return buffer.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int nextTag() throws XMLStreamException {
+
+      int eventType = next();
+      while (((eventType == XMLStreamConstants.CHARACTERS || eventType == XMLStreamConstants.CDATA) && isWhiteSpace())
+          || eventType == XMLStreamConstants.SPACE || eventType == XMLStreamConstants.PROCESSING_INSTRUCTION
+          || eventType == XMLStreamConstants.COMMENT) {
+        eventType = next();
+      }
+      if ((eventType != XMLStreamConstants.START_ELEMENT) && (eventType != XMLStreamConstants.END_ELEMENT)) {
+        throw new XMLStreamException("expected start or end tag (but found " + eventType + ")", this);
+      }
+      return eventType;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNext() throws XMLStreamException {
+
+      return (this.index + 1) < StreamReaderBuffer.this.events.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() throws XMLStreamException {
+
+      // nothing to do...
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getNamespaceURI(String prefix) {
+
+      if (prefix == null) {
+        throw new IllegalArgumentException("prefix");
+      }
+      if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+        return XMLConstants.XML_NS_URI;
+      } else if (XMLConstants.XMLNS_ATTRIBUTE.equals(prefix)) {
+        return XMLConstants.XMLNS_ATTRIBUTE_NS_URI;
+      }
+      for (int i = this.elementStack.size() - 1; i >= 0; i--) {
+        Event element = this.elementStack.get(i);
+        for (int nsIndex = 0; nsIndex < element.namespacePrefixes.length; nsIndex++) {
+          if (prefix.equals(normalizePrefix(element.namespacePrefixes[nsIndex]))) {
+            return element.namespaceUris[nsIndex];
+          }
+        }
+        // the element name itself is bound to its namespace in scope...
+        if (prefix.equals(element.name.getPrefix())) {
+          return element.name.getNamespaceURI();
+        }
+      }
+      return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getPrefix(String namespaceURI) {
+
+      Iterator<String> iterator = getPrefixes(namespaceURI);
+      if (iterator.hasNext()) {
+        return iterator.next();
+      }
+      return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<String> getPrefixes(String namespaceURI) {
+
+      if (namespaceURI == null) {
+        throw new IllegalArgumentException("namespaceURI");
+      }
+      List<String> prefixes = new ArrayList<String>();
+      for (int i = this.elementStack.size() - 1; i >= 0; i--) {
+        Event element = this.elementStack.get(i);
+        for (int nsIndex = 0; nsIndex < element.namespacePrefixes.length; nsIndex++) {
+          if (namespaceURI.equals(element.namespaceUris[nsIndex])) {
+            String prefix = normalizePrefix(element.namespacePrefixes[nsIndex]);
+            if (!prefixes.contains(prefix) && namespaceURI.equals(getNamespaceURI(prefix))) {
+              prefixes.add(prefix);
+            }
+          }
+        }
+      }
+      return Collections.unmodifiableList(prefixes).iterator();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isStartElement() {
+
+      return (this.event.type == XMLStreamConstants.START_ELEMENT);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isEndElement() {
+
+      return (this.event.type == XMLStreamConstants.END_ELEMENT);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isCharacters() {
+
+      return (this.event.type == XMLStreamConstants.CHARACTERS);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isWhiteSpace() {
+
+      int type = this.event.type;
+      if (type == XMLStreamConstants.SPACE) {
+        return true;
+      }
+      if ((type != XMLStreamConstants.CHARACTERS) && (type != XMLStreamConstants.CDATA)) {
+        return false;
+      }
+      String text = this.event.text;
+      for (int i = 0; i < text.length(); i++) {
+        char c = text.charAt(i);
+        if ((c != ' ') && (c != '\t') && (c != '\n') && (c != '\r')) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAttributeValue(String namespaceURI, String localName) {
+
+      QName[] names = this.event.attributeNames;
+      for (int i = 0; i < names.length; i++) {
+        QName attributeName = names[i];
+        if (attributeName.getLocalPart().equals(localName)) {
+          if ((namespaceURI == null) || namespaceURI.equals(attributeName.getNamespaceURI())) {
+            return this.event.attributeValues[i];
+          }
+        }
+      }
+      return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getAttributeCount() {
+
+      return this.event.attributeNames.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public QName getAttributeName(int attributeIndex) {
+
+      return this.event.attributeNames[attributeIndex];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAttributeNamespace(int attributeIndex) {
+
+      return this.event.attributeNames[attributeIndex].getNamespaceURI();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAttributeLocalName(int attributeIndex) {
+
+      return this.event.attributeNames[attributeIndex].getLocalPart();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAttributePrefix(int attributeIndex) {
+
+      return this.event.attributeNames[attributeIndex].getPrefix();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAttributeType(int attributeIndex) {
+
+      return this.event.attributeTypes[attributeIndex];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getAttributeValue(int attributeIndex) {
+
+      return this.event.attributeValues[attributeIndex];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isAttributeSpecified(int attributeIndex) {
+
+      return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getNamespaceCount() {
+
+      return this.event.namespacePrefixes.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getNamespacePrefix(int namespaceIndex) {
+
+      return this.event.namespacePrefixes[namespaceIndex];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getNamespaceURI(int namespaceIndex) {
+
+      return this.event.namespaceUris[namespaceIndex];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public NamespaceContext getNamespaceContext() {
+
+      return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getEventType() {
+
+      return this.event.type;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getText() {
+
+      if (this.event.type == XMLStreamConstants.PROCESSING_INSTRUCTION) {
+        throw new IllegalStateException("No text for event " + this.event.type);
+      }
+      return this.event.text;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char[] getTextCharacters() {
+
+      return getText().toCharArray();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTextCharacters(int sourceStart, char[] target, int targetStart, int length)
+        throws XMLStreamException {
+
+      String text = getText();
+      int end = Math.min(text.length(), sourceStart + length);
+      if (end <= sourceStart) {
+        return 0;
+      }
+      text.getChars(sourceStart, end, target, targetStart);
+      return end - sourceStart;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTextStart() {
+
+      return 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getTextLength() {
+
+      return getText().length();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getEncoding() {
+
+      return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasText() {
+
+      switch (this.event.type) {
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+        case XMLStreamConstants.COMMENT:
+        case XMLStreamConstants.DTD:
+        case XMLStreamConstants.ENTITY_REFERENCE:
+          return true;
+        default :
+          return false;
+      }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Location getLocation() {
+
+      return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public QName getName() {
+
+      if (!hasName()) {
+        throw new IllegalStateException("No name for event " + this.event.type);
+      }
+      return this.event.name;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getLocalName() {
+
+      if (this.event.name == null) {
+        throw new IllegalStateException("No local name for event " + this.event.type);
+      }
+      return this.event.name.getLocalPart();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasName() {
+
+      return isStartElement() || isEndElement();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getNamespaceURI() {
+
+      if (hasName()) {
+        String namespaceUri = this.event.name.getNamespaceURI();
+        if (namespaceUri.length() > 0) {
+          return namespaceUri;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getPrefix() {
+
+      if (hasName()) {
+        return this.event.name.getPrefix();
+      }
+      return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getVersion() {
+
+      if (this.event.type == XMLStreamConstants.START_DOCUMENT) {
+        return this.event.text;
+      }
+      return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isStandalone() {
+
+      return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean standaloneSet() {
+
+      return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getCharacterEncodingScheme() {
+
+      if (this.event.type == XMLStreamConstants.START_DOCUMENT) {
+        return this.event.data;
+      }
+      return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getPITarget() {
+
+      if (this.event.type == XMLStreamConstants.PROCESSING_INSTRUCTION) {
+        return this.event.text;
+      }
+      return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getPIData() {
+
+      if (this.event.type == XMLStreamConstants.PROCESSING_INSTRUCTION) {
+        return this.event.data;
+      }
+      return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getLineNumber() {
+
+      return this.event.lineNumber;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getColumnNumber() {
+
+      return this.event.columnNumber;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getCharacterOffset() {
+
+      return this.event.characterOffset;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getPublicId() {
+
+      return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String getSystemId() {
+
+      return StreamReaderBuffer.this.systemId;
+    }
+  }
+
+}
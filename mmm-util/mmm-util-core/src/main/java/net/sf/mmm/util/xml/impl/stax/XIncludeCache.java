@@ -0,0 +1,208 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.xml.impl.stax;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.sf.mmm.util.resource.api.DataResource;
+
+/**
+ * This is a thread-safe cache for resolved XIncludes used by {@link XIncludeStreamReader}. It maps the
+ * {@link DataResource#getUri() URI} of an included {@link DataResource} together with the optional XPointer
+ * expression to the {@link StreamReaderBuffer} containing the pre-tokenized events of the inclusion. Therefore
+ * a fragment that is included multiple times only has to be parsed once and is replayed afterwards.<br/>
+ * If the {@link DataResource} provides a {@link DataResource#getLastModificationDate() modification date}, a
+ * cached entry is discarded as soon as the resource has been {@link DataResource#isModifiedSince(Date)
+ * modified}.<br/>
+ * The cache is bounded to a {@link #getMaximumSize() maximum size}. If it is exceeded, the least recently used
+ * entry is evicted. This also applies to entries of resources without a modification date.
+ *
+ * @see net.sf.mmm.util.xml.base.StaxUtilImpl#setXIncludeCache(XIncludeCache)
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public class XIncludeCache {
+
+  /** The default {@link #getMaximumSize() maximum size}. */
+  public static final int DEFAULT_MAXIMUM_SIZE = 256;
+
+  /** @see #get(DataResource, String) */
+  private final Map<String, Entry> cache;
+
+  /** @see #getMaximumSize() */
+  private final int maximumSize;
+
+  /**
+   * The constructor using the {@link #DEFAULT_MAXIMUM_SIZE}.
+   */
+  public XIncludeCache() {
+
+    this(DEFAULT_MAXIMUM_SIZE);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param maximumSize is the {@link #getMaximumSize() maximum size}.
+   */
+  public XIncludeCache(int maximumSize) {
+
+    super();
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException(Integer.toString(maximumSize));
+    }
+    this.maximumSize = maximumSize;
+    this.cache = new LruMap(maximumSize);
+  }
+
+  /**
+   * @return the maximum number of cached inclusions. If exceeded, the least recently used inclusion is
+   *         evicted.
+   */
+  public int getMaximumSize() {
+
+    return this.maximumSize;
+  }
+
+  /**
+   * This method gets the cached {@link StreamReaderBuffer} for the given parameters.
+   *
+   * @param resource is the included {@link DataResource}.
+   * @param xpointer is the XPointer expression or <code>null</code> if the entire resource is included.
+   * @return the cached {@link StreamReaderBuffer} or <code>null</code> if NOT cached or outdated.
+   */
+  public StreamReaderBuffer get(DataResource resource, String xpointer) {
+
+    String key = createKey(resource, xpointer);
+    Entry entry;
+    synchronized (this.cache) {
+      entry = this.cache.get(key);
+    }
+    if (entry == null) {
+      return null;
+    }
+    if (entry.modificationDate != null) {
+      if (Boolean.TRUE.equals(resource.isModifiedSince(entry.modificationDate))) {
+        synchronized (this.cache) {
+          if (this.cache.get(key) == entry) {
+            this.cache.remove(key);
+          }
+        }
+        return null;
+      }
+    }
+    return entry.buffer;
+  }
+
+  /**
+   * This method puts the given {@link StreamReaderBuffer} into this cache.
+   *
+   * @param resource is the included {@link DataResource}.
+   * @param xpointer is the XPointer expression or <code>null</code> if the entire resource is included.
+   * @param buffer is the {@link StreamReaderBuffer} with the recorded inclusion.
+   */
+  public void put(DataResource resource, String xpointer, StreamReaderBuffer buffer) {
+
+    Entry entry = new Entry(buffer, resource.getLastModificationDate());
+    String key = createKey(resource, xpointer);
+    synchronized (this.cache) {
+      this.cache.put(key, entry);
+    }
+  }
+
+  /**
+   * This method removes all cached inclusions.
+   */
+  public void clear() {
+
+    synchronized (this.cache) {
+      this.cache.clear();
+    }
+  }
+
+  /**
+   * @return the number of cached inclusions.
+   */
+  public int getSize() {
+
+    synchronized (this.cache) {
+      return this.cache.size();
+    }
+  }
+
+  /**
+   * @param resource is the included {@link DataResource}.
+   * @param xpointer is the XPointer expression or <code>null</code>.
+   * @return the key for the cache.
+   */
+  protected String createKey(DataResource resource, String xpointer) {
+
+    String uri = resource.getUri();
+    if (xpointer == null) {
+      return uri;
+    }
+    return uri + '#' + xpointer;
+  }
+
+  /**
+   * A {@link LinkedHashMap} in access-order that evicts the least recently used entry if the maximum size is
+   * exceeded.
+   */
+  private static class LruMap extends LinkedHashMap<String, Entry> {
+
+    /** UID for serialization. */
+    private static final long serialVersionUID = 1L;
+
+    /** @see #removeEldestEntry(java.util.Map.Entry) */
+    private final int maximumSize;
+
+    /**
+     * The constructor.
+     *
+     * @param maximumSize is the maximum number of entries.
+     */
+    public LruMap(int maximumSize) {
+
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+
+      return (size() > this.maximumSize);
+    }
+  }
+
+  /**
+   * A single entry of the cache.
+   */
+  private static class Entry {
+
+    /** The recorded inclusion. */
+    private final StreamReaderBuffer buffer;
+
+    /** The modification date of the resource at the time it was recorded or <code>null</code>. */
+    private final Date modificationDate;
+
+    /**
+     * The constructor.
+     *
+     * @param buffer is the {@link StreamReaderBuffer}.
+     * @param modificationDate is the modification date or <code>null</code>.
+     */
+    public Entry(StreamReaderBuffer buffer, Date modificationDate) {
+
+      super();
+      this.buffer = buffer;
+      this.modificationDate = modificationDate;
+    }
+  }
+
+}
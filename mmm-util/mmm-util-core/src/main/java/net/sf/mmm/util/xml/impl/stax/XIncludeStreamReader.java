@@ -29,8 +29,12 @@ import org.slf4j.LoggerFactory;
  * adding support for XInclude.<br>
  * For details about XInclude see: <a
  * href="http://www.w3.org/TR/xinclude/">http://www.w3.org/TR/xinclude/</a>.<br>
+ * If an {@link XIncludeCache} is given, XML inclusions are parsed only once and replayed from the cache for
+ * any further inclusion of the same resource and XPointer.<br/>
  * <b>ATTENTION:</b><br/>
- * Please note that currently only plain XML inclusion is currently supported and no XPointer.
+ * Please note that XPointer is currently only supported for the expression <code>element(/1/*)</code> that
+ * includes the children of the root element. Namespaces declared by the root element or its ancestors are
+ * retained for the included elements.
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  */
@@ -45,6 +49,9 @@ public class XIncludeStreamReader extends StreamReaderProxy {
   /** The factory used to create additional readers. */
   private final XMLInputFactory factory;
 
+  /** The cache for resolved inclusions or <code>null</code> for no caching. */
+  private final XIncludeCache cache;
+
   /** The reader to the main document. */
   private final XMLStreamReader mainReader;
 
@@ -86,7 +93,22 @@ public class XIncludeStreamReader extends StreamReaderProxy {
    */
   public XIncludeStreamReader(XMLInputFactory factory, DataResource resource) {
 
-    this(factory, resource, null);
+    this(factory, resource, (XIncludeCache) null);
+  }
+
+  /**
+   * The constructor.
+   * 
+   * @param factory is the {@link XMLInputFactory} required to create new {@link XMLStreamReader} instances
+   *        for includes.
+   * @param resource is the {@link DataResource} pointing to the XML content.
+   * @param cache is the {@link XIncludeCache} used to avoid re-parsing of inclusions or <code>null</code> to
+   *        disable caching.
+   * @since 4.0.0
+   */
+  public XIncludeStreamReader(XMLInputFactory factory, DataResource resource, XIncludeCache cache) {
+
+    this(factory, resource, null, cache);
   }
 
   /**
@@ -101,9 +123,27 @@ public class XIncludeStreamReader extends StreamReaderProxy {
   protected XIncludeStreamReader(XMLInputFactory factory, DataResource resource, XIncludeStreamReader parent)
       throws XmlException, RuntimeIoException {
 
+    this(factory, resource, parent, null);
+  }
+
+  /**
+   * The constructor.
+   * 
+   * @param factory is the input factory used to create raw XML-readers.
+   * @param resource is where to read the XML from.
+   * @param parent is the parent {@link XMLStreamReader}.
+   * @param cache is the {@link XIncludeCache} or <code>null</code>.
+   * @throws XmlException in case of an XML error.
+   * @throws RuntimeIoException is case of an input/output error.
+   * @since 4.0.0
+   */
+  protected XIncludeStreamReader(XMLInputFactory factory, DataResource resource, XIncludeStreamReader parent,
+      XIncludeCache cache) throws XmlException, RuntimeIoException {
+
     super();
     this.parent = parent;
     this.factory = factory;
+    this.cache = cache;
     this.resource = resource;
 
     this.inputStream = resource.openStream();
@@ -203,12 +243,7 @@ public class XIncludeStreamReader extends StreamReaderProxy {
       // determine inclusion format type...
       String parse = getAttributeValue(null, "parse");
       if ((parse == null) || ("xml".equals(parse))) {
-        this.includeReader = new XIncludeStreamReader(this.factory, includeResource, this);
-        if (xpointer != null) {
-          // shorthand form: id
-          // scheme-based form: e.g. element(/1/*)
-          this.includeReader = new XPointerStreamReader(this.includeReader, xpointer);
-        }
+        this.includeReader = createIncludeReader(includeResource, xpointer);
         eventType = this.includeReader.nextTag();
         setParent(this.includeReader);
         // we ascend the XML until the initial include is closed.
@@ -249,6 +284,43 @@ public class XIncludeStreamReader extends StreamReaderProxy {
     return eventType;
   }
 
+  /**
+   * This method creates the {@link XMLStreamReader} for an XML inclusion. If an {@link XIncludeCache} is
+   * configured the inclusion is recorded on its first occurrence and replayed from the cache afterwards.
+   * 
+   * @param includeResource is the {@link DataResource} to include.
+   * @param xpointer is the XPointer expression or <code>null</code>.
+   * @return the {@link XMLStreamReader} for the inclusion.
+   * @throws XMLStreamException if the XML stream processing caused an error.
+   */
+  protected XMLStreamReader createIncludeReader(DataResource includeResource, String xpointer)
+      throws XMLStreamException {
+
+    if (this.cache != null) {
+      StreamReaderBuffer buffer = this.cache.get(includeResource, xpointer);
+      if (buffer != null) {
+        return buffer.createStreamReader();
+      }
+    }
+    XMLStreamReader reader = new XIncludeStreamReader(this.factory, includeResource, this, this.cache);
+    if (xpointer != null) {
+      // shorthand form: id
+      // scheme-based form: e.g. element(/1/*)
+      reader = new XPointerStreamReader(reader, xpointer);
+    }
+    if (this.cache == null) {
+      return reader;
+    }
+    StreamReaderBuffer buffer;
+    try {
+      buffer = StreamReaderBuffer.record(reader, includeResource.getUri());
+    } finally {
+      reader.close();
+    }
+    this.cache.put(includeResource, xpointer, buffer);
+    return buffer.createStreamReader();
+  }
+
   /**
    * This method ascends the XML until the initial include is closed.
    * 
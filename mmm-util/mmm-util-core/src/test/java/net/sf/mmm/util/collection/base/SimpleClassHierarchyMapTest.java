@@ -0,0 +1,46 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.collection.base;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is the test-case for {@link SimpleClassHierarchyMap}.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ */
+public class SimpleClassHierarchyMapTest {
+
+  /**
+   * Tests {@link SimpleClassHierarchyMap#get(Class)} and {@link SimpleClassHierarchyMap#resolve(Class)}.
+   */
+  @Test
+  public void testGetAndResolve() {
+
+    SimpleClassHierarchyMap<String> map = new SimpleClassHierarchyMap<String>();
+    map.put(List.class, "list");
+
+    Assert.assertEquals("list", map.get(List.class));
+    Assert.assertEquals("list", map.get(Collection.class));
+    Assert.assertNull(map.get(ArrayList.class));
+    Assert.assertEquals("list", map.resolve(ArrayList.class));
+    Assert.assertEquals("list", map.resolve(LinkedList.class));
+    Assert.assertNull(map.resolve(String.class));
+    // memoized negative result must be invalidated by put
+    map.put(Serializable.class, "serializable");
+    Assert.assertEquals("serializable", map.resolve(String.class));
+    // more specific registration has to win after invalidation
+    map.put(ArrayList.class, "array-list");
+    Assert.assertEquals("array-list", map.resolve(ArrayList.class));
+    Assert.assertEquals("list", map.resolve(LinkedList.class));
+    Assert.assertEquals("list", map.resolve(List.class));
+  }
+
+}
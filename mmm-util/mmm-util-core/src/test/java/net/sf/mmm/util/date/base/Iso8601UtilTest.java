@@ -3,6 +3,10 @@
 package net.sf.mmm.util.date.base;
 
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -10,6 +14,7 @@ import java.util.TimeZone;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import net.sf.mmm.util.date.api.IllegalDateFormatException;
 import net.sf.mmm.util.date.api.Iso8601Util;
 
 import org.junit.Assert;
@@ -134,4 +139,125 @@ public class Iso8601UtilTest {
         parsed.getTimeZone().getOffset(parsed.getTimeInMillis()));
   }
 
+  @Test
+  public void testEpochMillis() {
+
+    Iso8601Util util = getIso8601Util();
+    Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+    calendar.clear();
+    calendar.set(1999, Calendar.DECEMBER, 31, 23, 59, 58);
+    long millis = calendar.getTimeInMillis();
+    StringBuilder buffer = new StringBuilder();
+    util.formatDateTime(millis, 0, true, true, true, buffer);
+    Assert.assertEquals("1999-12-31T23:59:58Z", buffer.toString());
+    buffer.setLength(0);
+    util.formatDateTime(millis, -2 * 60 * 60 * 1000, false, false, false, buffer);
+    Assert.assertEquals("19991231T215958-0200", buffer.toString());
+    char[] chars = new char[40];
+    int end = util.formatDateTime(millis, 90 * 60 * 1000, true, true, true, chars, 2);
+    Assert.assertEquals("2000-01-01T01:29:58+01:30", new String(chars, 2, end - 2));
+
+    Assert.assertEquals(millis, util.parseMillis("1999-12-31T23:59:58Z"));
+    Assert.assertEquals(millis, util.parseMillis("19991231T235958Z"));
+    Assert.assertEquals(millis, util.parseMillis("2000-01-01T01:29:58+01:30"));
+    Assert.assertEquals(millis + 123, util.parseMillis("1999-12-31T23:59:58.123Z"));
+    Assert.assertEquals(millis, util.parseDate("1999-12-31T21:59:58-02:00").getTime());
+    // before the epoch
+    Assert.assertEquals(-1000L, util.parseMillis("1969-12-31T23:59:59Z"));
+    buffer.setLength(0);
+    util.formatDateTime(-1000L, 0, true, true, true, buffer);
+    Assert.assertEquals("1969-12-31T23:59:59Z", buffer.toString());
+    // leap years
+    for (String date : new String[] { "2000-02-29T12:00:00Z", "2100-03-01T00:00:00Z", "1600-02-29T00:00:00Z",
+        "0001-01-01T00:00:00Z", "9999-12-31T23:59:59Z" }) {
+      buffer.setLength(0);
+      util.formatDateTime(util.parseMillis(date), 0, true, true, true, buffer);
+      Assert.assertEquals(date, buffer.toString());
+      Assert.assertEquals(Instant.parse(date).toEpochMilli(), util.parseMillis(date));
+    }
+  }
+
+  @Test
+  public void testJavaTime() {
+
+    Iso8601Util util = getIso8601Util();
+    StringBuilder buffer = new StringBuilder();
+    util.formatDateTime(Instant.ofEpochMilli(0), true, true, true, buffer);
+    Assert.assertEquals("1970-01-01T00:00:00Z", buffer.toString());
+    Assert.assertEquals(Instant.ofEpochMilli(0), util.parseInstant(buffer));
+
+    OffsetDateTime dateTime = OffsetDateTime.of(2012, 6, 30, 12, 34, 56, 0, ZoneOffset.ofHours(-5));
+    buffer.setLength(0);
+    util.formatDateTime(dateTime, true, true, true, buffer);
+    Assert.assertEquals("2012-06-30T12:34:56-05:00", buffer.toString());
+    Assert.assertEquals(dateTime, util.parseOffsetDateTime(buffer));
+
+    LocalDate date = LocalDate.of(2012, 2, 29);
+    buffer.setLength(0);
+    util.formatDate(date, false, buffer);
+    Assert.assertEquals("20120229", buffer.toString());
+    Assert.assertEquals(date, util.parseLocalDate(buffer));
+    Assert.assertEquals(date, util.parseLocalDate("2012-02-29T23:59:59+01:00"));
+  }
+
+  @Test
+  public void testBeforeGregorianReform() {
+
+    Iso8601Util util = getIso8601Util();
+    String date = "1500-03-01T12:00:00Z";
+    long millis = util.parseMillis(date);
+    Assert.assertEquals(Instant.parse(date).toEpochMilli(), millis);
+    Calendar calendar = util.parseCalendar(date);
+    Assert.assertEquals(millis, calendar.getTimeInMillis());
+    // the timezone of a calendar is always formatted as offset
+    String calendarDate = "1500-03-01T12:00:00+00:00";
+    Assert.assertEquals(calendarDate, util.formatDateTime(calendar));
+    // a calendar with the default (julian) reform is formatted according to its time
+    Calendar julianCalendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"), Locale.ROOT);
+    julianCalendar.setTimeInMillis(millis);
+    Assert.assertEquals(calendarDate, util.formatDateTime(julianCalendar));
+    StringBuilder buffer = new StringBuilder();
+    util.formatDate(new Date(millis), true, buffer);
+    Assert.assertEquals(util.formatDate(calendar), buffer.toString().substring(0, 10));
+  }
+
+  @Test
+  public void testNegativeYear() {
+
+    Iso8601Util util = getIso8601Util();
+    for (String date : new String[] { "-0044-03-15T12:00:00Z", "-12345-01-01T00:00:00Z", "0000-02-29T00:00:00Z" }) {
+      long millis = util.parseMillis(date);
+      StringBuilder buffer = new StringBuilder();
+      util.formatDateTime(millis, 0, true, true, true, buffer);
+      Assert.assertEquals(date, buffer.toString());
+      char[] chars = new char[40];
+      int end = util.formatDateTime(millis, 0, true, true, true, chars, 0);
+      Assert.assertEquals(date, new String(chars, 0, end));
+      Assert.assertEquals(date.replace("Z", "+00:00"), util.formatDateTime(util.parseCalendar(date)));
+    }
+    Assert.assertEquals(LocalDate.of(-44, 3, 15), util.parseLocalDate("-00440315"));
+  }
+
+  @Test
+  public void testIllegalFormat() {
+
+    for (String date : new String[] { "", "1999", "1999-13-01", "1999-12-32", "1999-12-31T24:00:00Z",
+        "1999-12-31T23:60:00", "1999-12-31X", "1999-12-31T23:59:59+0", "1999-12-31T23:59:59Zx" }) {
+      try {
+        getIso8601Util().parseMillis(date);
+        Assert.fail("Exception expected for " + date);
+      } catch (IllegalDateFormatException e) {
+        // expected
+      }
+    }
+    for (String date : new String[] { "1999-12-31T23:59:59Zx", "1999-12-31T23:59:59+01:00x", "--1999-12-31" }) {
+      try {
+        getIso8601Util().parseCalendar(date);
+        Assert.fail("Exception expected for " + date);
+      } catch (IllegalDateFormatException e) {
+        // expected
+      }
+    }
+  }
+
 }
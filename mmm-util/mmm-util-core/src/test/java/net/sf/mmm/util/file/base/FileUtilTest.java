@@ -5,6 +5,7 @@ package net.sf.mmm.util.file.base;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -12,6 +13,8 @@ import java.io.IOException;
 import java.util.Properties;
 import java.util.UUID;
 
+import net.sf.mmm.util.file.api.FileAlreadyExistsException;
+import net.sf.mmm.util.file.api.FileOperationStatistics;
 import net.sf.mmm.util.file.api.FileType;
 import net.sf.mmm.util.file.api.FileUtil;
 
@@ -254,4 +257,66 @@ public class FileUtilTest {
     assertFalse(copyDir.exists());
   }
 
+  /**
+   * Tests {@link FileUtil#copyRecursive(File, File, boolean, java.io.FileFilter, boolean, int)} and
+   * {@link FileUtil#deleteRecursive(File, int)}.
+   */
+  @Test
+  public void testParallelCopyAndDelete() throws IOException {
+
+    FileUtil util = getFileUtil();
+    File tempDir = util.getTemporaryDirectory();
+    String uidName = "mmm-" + UUID.randomUUID();
+    File subdir = new File(tempDir, uidName);
+    File originalFile = new File("src/test/resources/net/sf/mmm/util/file/testdata.properties");
+    int fileCount = 0;
+    for (int i = 0; i < 4; i++) {
+      File folder = new File(subdir, "folder" + i);
+      assertTrue(folder.mkdirs());
+      for (int j = 0; j < 5; j++) {
+        util.copyFile(originalFile, new File(folder, "file" + j + ".properties"));
+        fileCount++;
+      }
+    }
+    File copyDir = new File(tempDir, uidName + "-copy");
+    FileOperationStatistics statistics = util.copyRecursive(subdir, copyDir, false, null, false, 4);
+    assertEquals(fileCount, statistics.getFileCount());
+    assertEquals(5, statistics.getDirectoryCount());
+    assertEquals(0, statistics.getLinkCount());
+    assertEquals(fileCount * originalFile.length(), statistics.getByteCount());
+    checkTestdata(originalFile, new File(copyDir, "folder3/file4.properties"));
+    File[] matchingFiles = util.getMatchingFiles(copyDir, "*/*.properties", FileType.FILE);
+    assertEquals(fileCount, matchingFiles.length);
+    matchingFiles = util.getMatchingFiles(copyDir, "**/file4.properties", FileType.FILE);
+    assertEquals(4, matchingFiles.length);
+    matchingFiles = util.getMatchingFiles(copyDir, "folder1/file?.properties", FileType.FILE);
+    assertEquals(5, matchingFiles.length);
+    matchingFiles = util.getMatchingFiles(copyDir, "**/folder2/**", null);
+    assertEquals(5, matchingFiles.length);
+    matchingFiles = util.getMatchingFiles(copyDir, "**/folder?/../folder0/file0.properties", null);
+    assertEquals(1, matchingFiles.length);
+    try {
+      util.copyRecursive(subdir, copyDir, false, null, false, 4);
+      fail("Exception expected");
+    } catch (FileAlreadyExistsException e) {
+      // expected
+    }
+    // hard-link copy (falls back to copy if links are not supported)
+    File linkDir = new File(tempDir, uidName + "-link");
+    statistics = util.copyRecursive(subdir, linkDir, false, null, true, 2);
+    assertEquals(fileCount, statistics.getFileCount());
+    checkTestdata(originalFile, new File(linkDir, "folder0/file0.properties"));
+    // delete recursive
+    statistics = util.deleteRecursive(copyDir, 4);
+    assertEquals(fileCount, statistics.getFileCount());
+    assertEquals(5, statistics.getDirectoryCount());
+    assertFalse(copyDir.exists());
+    util.deleteRecursive(linkDir, 1);
+    assertFalse(linkDir.exists());
+    checkTestdata(originalFile, new File(subdir, "folder0/file0.properties"));
+    util.deleteRecursive(subdir, 4);
+    assertFalse(subdir.exists());
+    assertEquals(0, util.deleteRecursive(subdir, 4).getFileCount());
+  }
+
 }
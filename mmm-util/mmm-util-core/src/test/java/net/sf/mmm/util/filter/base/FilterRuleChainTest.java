@@ -2,9 +2,15 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.util.filter.base;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
 import org.junit.Test;
 
 import net.sf.mmm.util.filter.api.FilterRule;
@@ -19,6 +25,16 @@ import net.sf.mmm.util.filter.base.PatternFilterRule;
 @SuppressWarnings("all")
 public class FilterRuleChainTest {
 
+  /** Patterns for {@link #testCompiledEquivalence()} including literal, combinable and other patterns. */
+  private static final String[] PATTERNS = new String[] { "^/doc/", "^/doc", "\\.pdf$", "(?i)\\.pdf$",
+      "\\.(xml|xsl)$", "^/data/config\\.xml$", "config", "/a/", "^/a/b$", "(a|b)+/c", "[0-9]{2}", "^/[a-c]+/",
+      "(x)(y)?z", "\\Q/a.\\E", "a.b", "^$", ".*", "\\bfoo", "(\\w)\\1", "(?<n>a)b", "(?x) a b # c", "^.*\\.txt$",
+      "doc/.*", "/\\.", "\\.$", "^/doc/.*$", "^/doc/.*\\.pdf$", "^\\$x" };
+
+  /** Tokens for the values of {@link #testCompiledEquivalence()}. */
+  private static final String[] TOKENS = new String[] { "/", "doc", "data", "a", "b", "c", "x", "y", "z", ".",
+      "pdf", "PDF", "xml", "config", "12", "foo", "aa", "txt", "$", "\n" };
+
   private void check(FilterRuleChain chain) {
 
     assertTrue(chain.accept("/doc/manual.pdf"));
@@ -46,4 +62,80 @@ public class FilterRuleChainTest {
     assertFalse(extendedChain.accept("/foo/bar/file.bar"));
   }
 
+  private FilterRule<String> createRule(Random random) {
+
+    int index = random.nextInt(PATTERNS.length + 2);
+    boolean result = random.nextBoolean();
+    if (index == PATTERNS.length) {
+      return new PatternFilterRule(Pattern.compile(".*\\.PDF", Pattern.CASE_INSENSITIVE), result);
+    } else if (index > PATTERNS.length) {
+      // custom rule that is NOT a PatternFilterRule
+      return new FilterRule<String>() {
+
+        public Boolean accept(String value) {
+
+          if (value.length() == 7) {
+            return Boolean.TRUE;
+          }
+          return null;
+        }
+      };
+    }
+    return new PatternFilterRule(PATTERNS[index], result);
+  }
+
+  private FilterRuleChain<String> createChain(Random random, int depth, List<FilterRule<String>> allRules) {
+
+    FilterRuleChain<String> parent = null;
+    if ((depth > 0) && random.nextBoolean()) {
+      parent = createChain(random, depth - 1, allRules);
+    }
+    FilterRule<String>[] rules = new FilterRule[random.nextInt(10)];
+    for (int i = 0; i < rules.length; i++) {
+      rules[i] = createRule(random);
+      allRules.add(rules[i]);
+    }
+    return new FilterRuleChain<String>("chain" + depth, parent, random.nextBoolean(), rules);
+  }
+
+  private Boolean acceptSequential(List<FilterRule<String>> rules, String value) {
+
+    for (FilterRule<String> rule : rules) {
+      Boolean result = rule.accept(value);
+      if (result != null) {
+        return result;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Checks that a {@link FilterRuleChain} (that is compiled internally) returns the same results as the
+   * sequential evaluation of its rules for random rules and values.
+   */
+  @Test
+  public void testCompiledEquivalence() {
+
+    Random random = new Random(4711);
+    for (int chainCount = 0; chainCount < 300; chainCount++) {
+      // the rules of the parents are checked first
+      List<FilterRule<String>> allRules = new ArrayList<FilterRule<String>>();
+      FilterRuleChain<String> chain = createChain(random, 2, allRules);
+      for (int valueCount = 0; valueCount < 200; valueCount++) {
+        StringBuilder buffer = new StringBuilder();
+        int tokenCount = random.nextInt(9);
+        for (int i = 0; i < tokenCount; i++) {
+          buffer.append(TOKENS[random.nextInt(TOKENS.length)]);
+        }
+        String value = buffer.toString();
+        boolean expected = chain.getDefaultResult();
+        Boolean result = acceptSequential(allRules, value);
+        if (result != null) {
+          expected = result.booleanValue();
+        }
+        assertEquals(chain + ":" + value, Boolean.valueOf(expected), Boolean.valueOf(chain.accept(value)));
+      }
+    }
+  }
+
 }
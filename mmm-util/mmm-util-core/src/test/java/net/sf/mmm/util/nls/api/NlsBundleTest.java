@@ -36,12 +36,18 @@ public class NlsBundleTest {
     // test without arguments
     NlsMessage infoAnd = bundle.infoAnd();
     verifyInfoAnd(infoAnd);
+    // messages without arguments are immutable and therefore cached
+    Assert.assertSame(infoAnd, bundle.infoAnd());
 
     // test with arguments
     String object = "myObject";
     String key = "myKey";
     NlsMessage errorObjectNotFound = bundle.errorObjectNotFound(object, key);
     verifyErrorObjectNotFound(object, key, errorObjectNotFound);
+    Assert.assertEquals(object, errorObjectNotFound.getArgument(NlsObject.KEY_OBJECT));
+    Assert.assertEquals(key, errorObjectNotFound.getArgument(NlsObject.KEY_KEY));
+    Assert.assertNull(errorObjectNotFound.getArgument("undefined"));
+    Assert.assertNotSame(errorObjectNotFound, bundle.errorObjectNotFound(object, key));
   }
 
   /**
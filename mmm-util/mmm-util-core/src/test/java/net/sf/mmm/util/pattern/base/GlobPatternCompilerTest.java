@@ -4,11 +4,16 @@ package net.sf.mmm.util.pattern.base;
 
 import static net.sf.mmm.util.pattern.base.PatternAssert.assertMatches;
 import static net.sf.mmm.util.pattern.base.PatternAssert.assertMatchesNot;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.util.regex.Pattern;
 
 import org.junit.Test;
 
+import net.sf.mmm.util.filter.api.Filter;
 import net.sf.mmm.util.pattern.api.PatternCompiler;
 import net.sf.mmm.util.pattern.base.GlobPatternCompiler;
 
@@ -39,4 +44,23 @@ public class GlobPatternCompilerTest {
     assertMatches(pattern, string);
   }
 
+  @Test
+  public void testGlobFilter() {
+
+    AbstractGlobPatternCompiler compiler = new GlobPatternCompiler();
+    String[] globs = new String[] { "a*b.c?d", "*", "?", "**", "*a*", "a*a", "*.txt", "a?*", "", "(a|b)*" };
+    String[] values = new String[] { "ab.cxd", "a/x/b.cXd", "abxcxd", "", "a", "aa", "aXa", "b", "foo.txt",
+        "foo.txt.bak", "a\nb", "(a|b)", "(a|b)x" };
+    for (String glob : globs) {
+      Filter<String> filter = compiler.compileFilter(glob);
+      assertTrue(filter instanceof GlobFilter);
+      Pattern pattern = compiler.compile(glob);
+      for (String value : values) {
+        assertEquals(glob + " ~ " + value, pattern.matcher(value).matches(), filter.accept(value));
+      }
+    }
+    assertNull(new WildcardGlobPatternCompiler().compileFilter("foo.txt"));
+    assertFalse(new PathPatternCompiler().compileFilter("**/*.txt") instanceof GlobFilter);
+  }
+
 }
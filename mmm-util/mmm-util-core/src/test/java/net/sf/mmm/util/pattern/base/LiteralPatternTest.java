@@ -0,0 +1,93 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.pattern.base;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+import net.sf.mmm.util.pattern.base.LiteralPattern.Kind;
+
+/**
+ * This is the test-case for {@link LiteralPattern}.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ */
+@SuppressWarnings("all")
+public class LiteralPatternTest {
+
+  private void check(String regex, boolean find, Kind kind, String literal) {
+
+    LiteralPattern literalPattern = LiteralPattern.analyze(Pattern.compile(regex), find);
+    assertEquals(kind, literalPattern.getKind());
+    assertEquals(literal, literalPattern.getLiteral());
+  }
+
+  private void checkNull(String regex) {
+
+    assertNull(LiteralPattern.analyze(Pattern.compile(regex), false));
+    assertNull(LiteralPattern.analyze(Pattern.compile(regex), true));
+  }
+
+  @Test
+  public void testAnalyzeMatches() {
+
+    check("^/doc/.*", false, Kind.PREFIX, "/doc/");
+    check(".*\\.pdf$", false, Kind.SUFFIX, ".pdf");
+    check(".*config.*", false, Kind.CONTAINS, "config");
+    check("^/a/b$", false, Kind.EQUALS, "/a/b");
+    check("/a/b", false, Kind.EQUALS, "/a/b");
+    check(".*\\Q/a.\\E.*", false, Kind.CONTAINS, "/a.");
+    check(".*", false, Kind.CONTAINS, "");
+  }
+
+  @Test
+  public void testAnalyzeFind() {
+
+    check("^/doc/", true, Kind.PREFIX, "/doc/");
+    check("\\.pdf$", true, Kind.SUFFIX, ".pdf");
+    check("config", true, Kind.CONTAINS, "config");
+    check("^/a/b$", true, Kind.EQUALS, "/a/b");
+    check("^.*\\.txt$", true, Kind.SUFFIX, ".txt");
+    check("^/doc/.*$", true, Kind.PREFIX, "/doc/");
+  }
+
+  @Test
+  public void testAnalyzeNoLiteral() {
+
+    checkNull("(?i)\\.pdf$");
+    checkNull("\\.(xml|xsl)$");
+    checkNull("a.b");
+    checkNull("ab?");
+    checkNull("\\bfoo");
+    checkNull("^/doc/.*\\.pdf$");
+    assertNull(LiteralPattern.analyze(Pattern.compile("\\.pdf$", Pattern.CASE_INSENSITIVE), true));
+  }
+
+  @Test
+  public void testCombinable() {
+
+    assertTrue(LiteralPattern.isCombinable(Pattern.compile("(?i)\\.(xml|xsl)$")));
+    assertTrue(LiteralPattern.isCombinable(Pattern.compile("(?<=a)b")));
+    assertFalse(LiteralPattern.isCombinable(Pattern.compile("(\\w)\\1")));
+    assertFalse(LiteralPattern.isCombinable(Pattern.compile("(?<n>a)\\k<n>")));
+    assertFalse(LiteralPattern.isCombinable(Pattern.compile("(?<n>a)b")));
+    assertFalse(LiteralPattern.isCombinable(Pattern.compile("\\Qa)")));
+    assertFalse(LiteralPattern.isCombinable(Pattern.compile("(?ix)a # b")));
+    assertFalse(LiteralPattern.isCombinable(Pattern.compile("a", Pattern.CASE_INSENSITIVE)));
+  }
+
+  @Test
+  public void testContainsLineTerminator() {
+
+    assertFalse(LiteralPattern.containsLineTerminator("/doc/manual.pdf"));
+    assertTrue(LiteralPattern.containsLineTerminator("/doc/\n"));
+    assertTrue(LiteralPattern.containsLineTerminator(" "));
+  }
+
+}
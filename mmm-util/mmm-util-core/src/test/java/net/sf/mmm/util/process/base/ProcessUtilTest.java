@@ -4,17 +4,22 @@ package net.sf.mmm.util.process.base;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.lang.ProcessBuilder.Redirect;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import net.sf.mmm.util.io.base.StreamUtilImpl;
 import net.sf.mmm.util.lang.api.StringUtil;
 import net.sf.mmm.util.process.api.AsyncProcessExecutor;
 import net.sf.mmm.util.process.api.ProcessContext;
@@ -153,6 +158,237 @@ public class ProcessUtilTest {
     assertEquals(expectedErrString, errString);
   }
 
+  @Test
+  public void testExecuteRedirect() throws Exception {
+
+    File outFile = File.createTempFile("mmm-process-out", ".txt");
+    File errFile = File.createTempFile("mmm-process-err", ".txt");
+    try {
+      ProcessContext context = new ProcessContext();
+      context.setOutRedirect(Redirect.to(outFile));
+      context.setErrRedirect(Redirect.to(errFile));
+      ProcessBuilder app1Builder = new ProcessBuilder("java", "-classpath", CLASSPATH, PipeApp1.class.getName());
+      ProcessBuilder app2Builder = new ProcessBuilder("java", "-classpath", CLASSPATH, PipeApp2.class.getName());
+      int exitCode = getProcessUtil().execute(context, app1Builder, app2Builder);
+      assertEquals(0, exitCode);
+      StringBuilder expectedOutString = new StringBuilder(30);
+      for (int i = 1; i <= 10; i++) {
+        expectedOutString.append(Integer.toString(i));
+        expectedOutString.append(LINE_SEPARATOR);
+      }
+      assertEquals(expectedOutString.toString(), readFile(outFile));
+      // the error output of both processes is appended to the same file
+      String expectedErrString = PipeApp1.class.getSimpleName() + " done." + LINE_SEPARATOR
+          + PipeApp2.class.getSimpleName() + " done." + LINE_SEPARATOR;
+      assertEquals(expectedErrString, readFile(errFile));
+    } finally {
+      outFile.delete();
+      errFile.delete();
+    }
+  }
+
+  @Test
+  public void testExecuteAsyncReaper() throws Exception {
+
+    ProcessUtilImpl processUtil = createProcessUtil(4);
+    AsyncProcessExecutor[] executors = new AsyncProcessExecutor[3];
+    ByteArrayOutputStream[] outStreams = new ByteArrayOutputStream[executors.length];
+    for (int i = 0; i < executors.length; i++) {
+      ProcessContext context = new ProcessContext();
+      outStreams[i] = new ByteArrayOutputStream();
+      context.setOutStream(outStreams[i]);
+      ProcessBuilder builder = new ProcessBuilder("java", "-classpath", CLASSPATH, PipeApp1.class.getName());
+      executors[i] = processUtil.executeAsync(context, builder);
+    }
+    for (int i = 0; i < executors.length; i++) {
+      assertEquals(0, executors[i].get(30, TimeUnit.SECONDS).intValue());
+      assertTrue(new String(outStreams[i].toByteArray()).startsWith("10" + LINE_SEPARATOR));
+    }
+    // the reaper terminates when idle and has to be restarted for further executions
+    Thread.sleep(100);
+    ProcessBuilder builder = new ProcessBuilder("java", "-classpath", CLASSPATH, PipeApp1.class.getName());
+    AsyncProcessExecutor executor = processUtil.executeAsync(new ProcessContext(), builder);
+    assertEquals(0, executor.get(30, TimeUnit.SECONDS).intValue());
+  }
+
+  @Test
+  public void testExecutePumpPoolBounded() throws Exception {
+
+    ProcessUtilImpl processUtil = createProcessUtil(2);
+    ProcessContext context = new ProcessContext();
+    ByteArrayOutputStream outStream = new ByteArrayOutputStream();
+    context.setOutStream(outStream);
+    ByteArrayOutputStream errStream = new ByteArrayOutputStream();
+    context.setErrStream(errStream);
+    ProcessBuilder app1Builder = new ProcessBuilder("java", "-classpath", CLASSPATH, PipeApp1.class.getName());
+    ProcessBuilder app2Builder = new ProcessBuilder("java", "-classpath", CLASSPATH, PipeApp2.class.getName());
+    // four streams to pump: stderr of both processes, the pipe between them and stdout of the last one
+    int exitCode = processUtil.execute(context, app1Builder, app2Builder);
+    assertEquals(0, exitCode);
+    assertTrue(new String(outStream.toByteArray()).startsWith("1" + LINE_SEPARATOR + "2" + LINE_SEPARATOR));
+    ThreadPoolExecutor pool = (ThreadPoolExecutor) processUtil.getExecutor();
+    assertEquals(4, pool.getTaskCount());
+    assertTrue("Largest pool size was " + pool.getLargestPoolSize(), pool.getLargestPoolSize() <= 2);
+  }
+
+  @Test
+  public void testExecuteAsyncCancelStopsPumps() throws Exception {
+
+    ProcessUtilImpl processUtil = createProcessUtil(4);
+    ProcessContext context = new ProcessContext();
+    BlockingInputStream inStream = new BlockingInputStream();
+    context.setInStream(inStream);
+    ProcessBuilder builder = new ProcessBuilder("java", "-classpath", CLASSPATH, SleepApp.class.getName());
+    AsyncProcessExecutor executor = processUtil.executeAsync(context, builder);
+    inStream.awaitRead();
+    assertTrue(executor.cancel(true));
+    awaitPumpsDone(processUtil);
+    assertTrue(inStream.isClosed());
+  }
+
+  @Test
+  public void testExecuteAsyncCancelWhilePending() throws Exception {
+
+    ProcessUtilImpl processUtil = new ProcessUtilImpl();
+    processUtil.setExitPollInterval(1);
+    processUtil.initialize();
+    ProcessBuilder sleepBuilder = new ProcessBuilder("java", "-classpath", CLASSPATH, SleepApp.class.getName());
+    AsyncProcessExecutor sleepExecutor = processUtil.executeAsync(new ProcessContext(), sleepBuilder);
+    AsyncProcessExecutor[] executors = new AsyncProcessExecutor[2];
+    for (int i = 0; i < executors.length; i++) {
+      ProcessBuilder builder = new ProcessBuilder("java", "-classpath", CLASSPATH, PipeApp1.class.getName());
+      executors[i] = processUtil.executeAsync(new ProcessContext(), builder);
+    }
+    // cancel executions while the reaper is polling the pending ones
+    for (int i = 0; i < 5; i++) {
+      AsyncProcessExecutor executor = processUtil.executeAsync(new ProcessContext(), sleepBuilder);
+      assertTrue(executor.cancel(true));
+    }
+    for (int i = 0; i < executors.length; i++) {
+      assertEquals(0, executors[i].get(30, TimeUnit.SECONDS).intValue());
+    }
+    assertFalse(sleepExecutor.isDone());
+    assertTrue(sleepExecutor.cancel(true));
+    ProcessBuilder builder = new ProcessBuilder("java", "-classpath", CLASSPATH, PipeApp1.class.getName());
+    AsyncProcessExecutor executor = processUtil.executeAsync(new ProcessContext(), builder);
+    assertEquals(0, executor.get(30, TimeUnit.SECONDS).intValue());
+    assertEquals(0, processUtil.execute(new ProcessContext(), 30, TimeUnit.SECONDS, builder));
+  }
+
+  @Test
+  public void testExecuteTimeoutStopsPumps() throws Exception {
+
+    ProcessUtilImpl processUtil = createProcessUtil(4);
+    ProcessContext context = new ProcessContext();
+    BlockingInputStream inStream = new BlockingInputStream();
+    context.setInStream(inStream);
+    ProcessBuilder builder = new ProcessBuilder("java", "-classpath", CLASSPATH, SleepApp.class.getName());
+    try {
+      processUtil.execute(context, 200, TimeUnit.MILLISECONDS, builder);
+      fail("TimeoutException expected!");
+    } catch (TimeoutException e) {
+      // expected
+    }
+    awaitPumpsDone(processUtil);
+    assertTrue(inStream.isClosed());
+  }
+
+  /**
+   * @param file is the {@link File} to read.
+   * @return the content of the given {@link File}.
+   */
+  private static String readFile(File file) throws IOException {
+
+    return StreamUtilImpl.getInstance().read(new FileReader(file));
+  }
+
+  /**
+   * @param maximumPumpThreads is the {@link ProcessUtilImpl#setMaximumPumpThreads(int) maximum pump threads}.
+   * @return a new and initialized {@link ProcessUtilImpl} with its own pump pool.
+   */
+  private static ProcessUtilImpl createProcessUtil(int maximumPumpThreads) {
+
+    ProcessUtilImpl processUtil = new ProcessUtilImpl();
+    processUtil.setMaximumPumpThreads(maximumPumpThreads);
+    processUtil.initialize();
+    return processUtil;
+  }
+
+  /**
+   * Waits until all pumps of the given {@link ProcessUtilImpl} have terminated.
+   * 
+   * @param processUtil is the {@link ProcessUtilImpl}.
+   */
+  private static void awaitPumpsDone(ProcessUtilImpl processUtil) throws InterruptedException {
+
+    ThreadPoolExecutor pool = (ThreadPoolExecutor) processUtil.getExecutor();
+    long end = System.currentTimeMillis() + 10000;
+    while (pool.getCompletedTaskCount() < pool.getTaskCount()) {
+      assertTrue("Pumps still running: " + pool.getActiveCount(), System.currentTimeMillis() < end);
+      Thread.sleep(10);
+    }
+  }
+
+  /**
+   * An {@link InputStream} that blocks on {@link #read()} until it is {@link #close() closed}.
+   */
+  protected static class BlockingInputStream extends InputStream {
+
+    private boolean closed;
+
+    private boolean reading;
+
+    /**
+     * @return <code>true</code> if this stream was {@link #close() closed}.
+     */
+    public synchronized boolean isClosed() {
+
+      return this.closed;
+    }
+
+    /**
+     * Waits until a {@link #read()} is blocking.
+     */
+    public synchronized void awaitRead() throws InterruptedException {
+
+      long end = System.currentTimeMillis() + 10000;
+      while (!this.reading) {
+        long delay = end - System.currentTimeMillis();
+        assertTrue("no read", delay > 0);
+        wait(delay);
+      }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void close() throws IOException {
+
+      this.closed = true;
+      notifyAll();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized int read() throws IOException {
+
+      this.reading = true;
+      notifyAll();
+      while (!this.closed) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+      }
+      throw new IOException("Stream closed");
+    }
+
+  }
+
   protected static class DummyInputStream extends InputStream {
 
     private volatile boolean closed;
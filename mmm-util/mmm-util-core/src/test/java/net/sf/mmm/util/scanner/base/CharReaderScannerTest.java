@@ -0,0 +1,196 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.scanner.base;
+
+import java.io.StringReader;
+
+import net.sf.mmm.util.filter.api.CharFilter;
+import net.sf.mmm.util.filter.base.ListCharFilter;
+import net.sf.mmm.util.nls.api.NlsParseException;
+import net.sf.mmm.util.pool.impl.CharArrayPoolImpl;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is the test-case for {@link CharReaderScanner}. It uses a tiny window so buffer refills occur in the
+ * middle of nearly every token.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ */
+@SuppressWarnings("all")
+public class CharReaderScannerTest {
+
+  private CharReaderScanner scanner(String string) {
+
+    return new CharReaderScanner(new StringReader(string), new CharArrayPoolImpl(1, 8));
+  }
+
+  @Test
+  public void testReadUntil() {
+
+    CharReaderScanner scanner = scanner("string");
+    Assert.assertEquals("stri", scanner.readUntil('n', false));
+    Assert.assertEquals(5, scanner.getCurrentIndex());
+    Assert.assertEquals('g', scanner.next());
+    Assert.assertFalse(scanner.hasNext());
+
+    scanner = scanner("string");
+    Assert.assertNull(scanner.readUntil('x', false));
+    Assert.assertFalse(scanner.hasNext());
+
+    scanner = scanner("string");
+    Assert.assertEquals("string", scanner.readUntil('x', true));
+    Assert.assertEquals(6, scanner.getCurrentIndex());
+  }
+
+  @Test
+  public void testReadUntilAsView() {
+
+    CharReaderScanner scanner = scanner("ab,cd,efghijklmn,o");
+    Assert.assertEquals("ab", scanner.readUntilAsView(',', false).toString());
+    Assert.assertEquals("cd", scanner.readUntilAsView(',', false).toString());
+    // longer than the window
+    Assert.assertEquals("efghijklmn", scanner.readUntilAsView(',', false).toString());
+    Assert.assertEquals("o", scanner.readUntilAsView(',', true).toString());
+    scanner.close();
+  }
+
+  @Test
+  public void testReadUntilWithEscape() {
+
+    CharReaderScanner scanner = scanner("bla\"Quotet text with \\\" and \\\\ inside!\"bla");
+    Assert.assertEquals("bla", scanner.readUntil('"', false));
+    Assert.assertEquals("Quotet text with \" and \\ inside!", scanner.readUntil('"', false, '\\'));
+    Assert.assertEquals("bla", scanner.readUntil('\0', true));
+
+    scanner = scanner("bla\"Quotet text with \"\" and \\ inside!\"bla");
+    Assert.assertEquals("bla", scanner.readUntil('"', false));
+    Assert.assertEquals("Quotet text with \" and \\ inside!", scanner.readUntil('"', false, '"'));
+    Assert.assertEquals("bla", scanner.readUntil('\0', true));
+  }
+
+  @Test
+  public void testReadUntilWithSyntax() {
+
+    SimpleCharScannerSyntax syntax = new SimpleCharScannerSyntax() {
+
+      public String resolveEntity(String entity) {
+
+        if ("lt".equals(entity)) {
+          return "<";
+        } else if ("gt".equals(entity)) {
+          return ">";
+        }
+        return super.resolveEntity(entity);
+      }
+    };
+    syntax.setEscape('\\');
+    syntax.setQuote('"');
+    syntax.setQuoteEscape('$');
+    syntax.setAltQuote('\'');
+    syntax.setAltQuoteEscape('\'');
+    syntax.setEntityStart('&');
+    syntax.setEntityEnd(';');
+    String input = "Hi \"$\"quote$\"\", 'a''l\\t' and \\\"esc\\'&lt;&gt;&lt;x&gt;!";
+    CharReaderScanner scanner = scanner(input);
+    String result = scanner.readUntil('!', false, syntax);
+    Assert.assertEquals(new CharSequenceScanner(input).readUntil('!', false, syntax), result);
+    Assert.assertEquals("Hi \"quote\", a'l\\t and \"esc'<><x>", result);
+    Assert.assertFalse(scanner.hasNext());
+
+    scanner = scanner("Hi 'qu''ote'");
+    Assert.assertEquals("Hi qu'ote", scanner.readUntil('\0', true, syntax));
+    Assert.assertFalse(scanner.hasNext());
+
+    syntax = new SimpleCharScannerSyntax();
+    syntax.setQuote('\'');
+    syntax.setQuoteEscape('\'');
+    syntax.setQuoteEscapeLazy(true);
+    Assert.assertEquals("'a''b'c", scanner("''a''''b'''c'").readUntil('\0', true, syntax));
+  }
+
+  @Test
+  public void testExpectAndRequire() {
+
+    CharReaderScanner scanner = scanner("hello world this is cool!");
+    Assert.assertTrue(scanner.expect("hello ", false));
+    Assert.assertFalse(scanner.expectStrict("worlD", false));
+    Assert.assertEquals(6, scanner.getCurrentIndex());
+    Assert.assertTrue(scanner.expectStrict("WORLD", true));
+    scanner.require(' ');
+    scanner.require("this", false);
+    Assert.assertTrue(scanner.expect(' '));
+    try {
+      scanner.require("isn't", false);
+      Assert.fail("Exception expected");
+    } catch (NlsParseException e) {
+      // expected
+    }
+    Assert.assertEquals("is cool!", scanner.read(Integer.MAX_VALUE));
+  }
+
+  @Test
+  public void testSkipOver() {
+
+    CharReaderScanner scanner = scanner("xxYzFOOxYztheend");
+    Assert.assertTrue(scanner.skipOver("xYz", false));
+    Assert.assertTrue(scanner.expect("FOO", false));
+    Assert.assertTrue(scanner.skipOver("XYZ", true));
+    Assert.assertEquals("theend", scanner.read(Integer.MAX_VALUE));
+
+    scanner = scanner("abc;xyz");
+    Assert.assertFalse(scanner.skipOver("xyz", false, new ListCharFilter(true, ';')));
+    Assert.assertEquals('x', scanner.next());
+    Assert.assertFalse(scanner.skipOver("nothing", false));
+    Assert.assertFalse(scanner.hasNext());
+  }
+
+  @Test
+  public void testNumbers() {
+
+    CharReaderScanner scanner = scanner("1234567890123,42.5e-3 -0.5f");
+    Assert.assertEquals(1234567890123L, scanner.readLong(19));
+    Assert.assertTrue(scanner.expect(','));
+    Assert.assertEquals(42.5e-3, scanner.readDouble(), 0);
+    Assert.assertEquals(1, scanner.skipWhile(' '));
+    Assert.assertEquals(-0.5f, scanner.readFloat(), 0);
+    Assert.assertEquals(-1, scanner.readDigit());
+    Assert.assertEquals('f', scanner.forceNext());
+    Assert.assertEquals(0, scanner.forceNext());
+    Assert.assertEquals(0, scanner.forcePeek());
+  }
+
+  @Test
+  public void testWhile() {
+
+    CharReaderScanner scanner = scanner("abcdefghij0123456789xyz");
+    Assert.assertEquals(3, scanner.skipWhile(CharFilter.ASCII_LETTER_FILTER, 3));
+    Assert.assertEquals("defghij", scanner.readWhile(CharFilter.ASCII_LETTER_FILTER));
+    Assert.assertEquals("0123", scanner.readWhile(CharFilter.LATIN_DIGIT_FILTER, 4));
+    Assert.assertEquals("456789", scanner.readWhileAsView(CharFilter.LATIN_DIGIT_FILTER).toString());
+    Assert.assertTrue(scanner.skipUntil('y'));
+    Assert.assertEquals('z', scanner.peek());
+  }
+
+  @Test
+  public void testLargeInput() {
+
+    StringBuilder buffer = new StringBuilder();
+    int count = 20000;
+    for (int i = 0; i < count; i++) {
+      buffer.append(i);
+      buffer.append(';');
+    }
+    CharReaderScanner scanner = scanner(buffer.toString());
+    for (int i = 0; i < count; i++) {
+      Assert.assertEquals(i, scanner.readLong(19));
+      scanner.require(';');
+    }
+    Assert.assertFalse(scanner.hasNext());
+    Assert.assertEquals(buffer.length(), scanner.getCurrentIndex());
+    Assert.assertEquals(8, scanner.getCapacity());
+    scanner.close();
+  }
+
+}
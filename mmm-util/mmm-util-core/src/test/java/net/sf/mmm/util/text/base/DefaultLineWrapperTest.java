@@ -319,6 +319,45 @@ public class DefaultLineWrapperTest {
     }
   }
 
+  /**
+   * Tests {@link DefaultLineWrapper#createSession(TextTableInfo, TextColumnInfo...)} and verifies that a
+   * {@link LineWrapperSession} produces the same result as {@link LineWrapper#wrap(Appendable, TextTableInfo,
+   * TextColumn...)} for multiple rows.
+   */
+  @Test
+  public void testSession() {
+
+    DefaultLineWrapper wrapper = new DefaultLineWrapper();
+    wrapper.initialize();
+    TextTableInfo tableInfo = new TextTableInfo();
+    tableInfo.setWidth(60);
+    TextColumnInfo[] columnInfos = new TextColumnInfo[3];
+    for (int i = 0; i < columnInfos.length; i++) {
+      columnInfos[i] = createColumnInfo(i);
+    }
+    columnInfos[0].setWidth(10);
+    String[][] rows = new String[][] {
+        { "--help", "Print this help and exit. No other option is processed in this case.",
+            "This option has no arguments and can not be combined with other options." },
+        { "--verbose", "Enables verbose output of all messages including debug messages.",
+            "Hello world! This is wrapped text.\nIt wraps perfectly well!" },
+        { "--file-with-a-long-name", "The file to process. It has to exist and be readable.",
+            "Extraordinary long and therefore un-hyphenate-able words are wrapped anyhow." } };
+    LineWrapperSession session = wrapper.createSession(tableInfo, columnInfos);
+    for (String[] row : rows) {
+      TextColumn[] columns = new TextColumn[row.length];
+      for (int i = 0; i < row.length; i++) {
+        columns[i] = new TextColumn(row[i], columnInfos[i]);
+      }
+      StringBuilder expected = new StringBuilder();
+      int expectedLines = wrapper.wrap(expected, tableInfo, columns);
+      StringBuilder buffer = new StringBuilder();
+      Assert.assertEquals(expectedLines, session.wrap(buffer, row));
+      Assert.assertEquals(expected.toString(), buffer.toString());
+      checkWrappedColumnText(buffer, tableInfo, columns);
+    }
+  }
+
   /**
    * Inner class for the state of a text column.
    */
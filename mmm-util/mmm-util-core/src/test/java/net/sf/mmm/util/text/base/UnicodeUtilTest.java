@@ -48,4 +48,49 @@ public class UnicodeUtilTest extends Assert {
     assertEquals("voila maitre asteroide", util.normalize2Ascii("voilà maître astéroïde"));
   }
 
+  /**
+   * Test for {@link UnicodeUtil#normalize2Ascii(CharSequence, Appendable, char)} and the pure ASCII fast
+   * path.
+   */
+  @Test
+  public void testNormalizeToAsciiAppendable() {
+
+    UnicodeUtil util = getUnicodeUtil();
+    String ascii = "Hello World";
+    assertSame(ascii, util.normalize2Ascii(ascii));
+    StringBuilder buffer = new StringBuilder("x");
+    util.normalize2Ascii("Grüße ans Schloß \u4E16!", buffer, UnicodeUtil.NULL);
+    assertEquals("xGruesse ans Schloss !", buffer.toString());
+    buffer.setLength(0);
+    util.normalize2Ascii("\u4E16", buffer);
+    assertEquals("?", buffer.toString());
+  }
+
+  /**
+   * Test that {@link UnicodeUtil#normalize2Ascii(CharSequence, char)} is consistent with
+   * {@link UnicodeUtil#normalize2Ascii(char)} for all characters.
+   */
+  @Test
+  public void testNormalizeToAsciiAllCharacters() {
+
+    UnicodeUtil util = getUnicodeUtil();
+    StringBuilder text = new StringBuilder(Character.MAX_VALUE + 1);
+    StringBuilder expected = new StringBuilder(Character.MAX_VALUE + 1);
+    for (int i = 0; i <= Character.MAX_VALUE; i++) {
+      char c = (char) i;
+      text.append(c);
+      if (c <= 127) {
+        expected.append(c);
+      } else {
+        String ascii = util.normalize2Ascii(c);
+        if (ascii != null) {
+          expected.append(ascii);
+        }
+      }
+    }
+    assertEquals(expected.toString(), util.normalize2Ascii(text, UnicodeUtil.NULL));
+    assertEquals("ae", util.normalize2Ascii('\u00E4'));
+    assertNull(util.normalize2Ascii('a'));
+  }
+
 }
@@ -2,10 +2,18 @@
  * http://www.apache.org/licenses/LICENSE-2.0 */
 package net.sf.mmm.util.transferobject.base;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import net.sf.mmm.util.transferobject.api.TransferObjectUtil;
 import net.sf.mmm.util.transferobject.base.example.common.Address;
 import net.sf.mmm.util.transferobject.base.example.logic.AddressEto;
+import net.sf.mmm.util.transferobject.base.example.logic.CustomerEto;
 import net.sf.mmm.util.transferobject.base.example.persistence.AddressEntity;
+import net.sf.mmm.util.transferobject.base.example.persistence.CustomerEntity;
+import net.sf.mmm.util.value.base.AbstractSimpleValueConverter;
+import net.sf.mmm.util.value.impl.DefaultComposedValueConverter;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -65,6 +73,30 @@ public class TransferObjectUtilTest extends Assert {
     assertEquals(address, clone);
   }
 
+  /**
+   * Tests {@link TransferObjectUtil#copy(net.sf.mmm.util.transferobject.api.AbstractTransferObject)} via the
+   * cached mapper in comparison to the reflective copy of {@link TransferObjectUtilLimitedImpl}.
+   */
+  @Test
+  public void testCopy() {
+
+    // given
+    TransferObjectUtil util = getTransferObjectUtil();
+    AddressEto address = new AddressEto();
+    fillAddress(address);
+
+    // when
+    AddressEto copy = util.copy(address);
+    AddressEto reflectiveCopy = new TransferObjectUtilLimitedImpl().copy(address);
+
+    // then
+    assertNotSame(address, copy);
+    assertSame(AddressEto.class, copy.getClass());
+    verifyAddress(copy);
+    assertEquals(reflectiveCopy, copy);
+    assertEquals(address, util.copy(copy));
+  }
+
   /**
    * Tests {@link TransferObjectUtil#convertFromEntity(net.sf.mmm.util.entity.api.PersistenceEntity, Class)}.
    */
@@ -87,6 +119,127 @@ public class TransferObjectUtilTest extends Assert {
     assertEquals(addressEntity, clone);
   }
 
+  /**
+   * Tests {@link TransferObjectUtil#convertFromEntity(net.sf.mmm.util.entity.api.PersistenceEntity, Class)}
+   * with nested {@link net.sf.mmm.util.transferobject.api.EntityTo}s and collections.
+   */
+  @Test
+  public void testConvertNested() {
+
+    // given
+    TransferObjectUtil util = getTransferObjectUtil();
+    CustomerEntity customerEntity = new CustomerEntity();
+    customerEntity.setName("Hercules");
+    customerEntity.setAge(42);
+    AddressEntity addressEntity = new AddressEntity();
+    fillAddress(addressEntity);
+    customerEntity.setAddress(addressEntity);
+    AddressEntity deliveryAddressEntity = new AddressEntity();
+    fillAddress(deliveryAddressEntity);
+    customerEntity.setDeliveryAddresses(Arrays.asList(deliveryAddressEntity, addressEntity));
+
+    // when
+    CustomerEto customerEto = util.convertFromEntity(customerEntity, CustomerEto.class);
+    CustomerEntity clone = util.convertToEntity(customerEto, CustomerEntity.class);
+
+    // then
+    assertEquals("Hercules", customerEto.getName());
+    assertEquals(42, customerEto.getAge());
+    verifyAddress(customerEto.getAddress());
+    assertEquals(2, customerEto.getDeliveryAddresses().size());
+    for (Object address : customerEto.getDeliveryAddresses()) {
+      assertSame(AddressEto.class, address.getClass());
+      verifyAddress((Address) address);
+    }
+    assertEquals("Hercules", clone.getName());
+    assertEquals(42, clone.getAge());
+    assertSame(AddressEntity.class, clone.getAddress().getClass());
+    assertEquals(addressEntity, clone.getAddress());
+    assertEquals(customerEntity.getDeliveryAddresses(), clone.getDeliveryAddresses());
+    assertSame(AddressEntity.class, clone.getDeliveryAddresses().get(0).getClass());
+  }
+
+  /**
+   * Tests {@link TransferObjectUtil#convertAll(List, Class)}.
+   */
+  @Test
+  public void testConvertAll() {
+
+    // given
+    TransferObjectUtil util = getTransferObjectUtil();
+    List<AddressEntity> entities = new ArrayList<AddressEntity>();
+    for (int i = 0; i < 3; i++) {
+      AddressEntity addressEntity = new AddressEntity();
+      fillAddress(addressEntity);
+      entities.add(addressEntity);
+    }
+    entities.add(null);
+
+    // when
+    List<AddressEto> etos = util.convertAll(entities, AddressEto.class);
+
+    // then
+    assertEquals(4, etos.size());
+    for (int i = 0; i < 3; i++) {
+      verifyAddress(etos.get(i));
+    }
+    assertNull(etos.get(3));
+    assertNull(util.convertAll(null, AddressEto.class));
+  }
+
+  /**
+   * Tests that collections are copied even if their items can be assigned directly.
+   */
+  @Test
+  public void testCopyCollection() {
+
+    // given
+    TransferObjectUtilImpl util = (TransferObjectUtilImpl) TransferObjectUtilImpl.getInstance();
+    CustomerEto customer = new CustomerEto();
+    AddressEto address = new AddressEto();
+    fillAddress(address);
+    List<AddressEto> deliveryAddresses = new ArrayList<AddressEto>();
+    deliveryAddresses.add(address);
+    customer.setDeliveryAddresses(deliveryAddresses);
+
+    // when
+    CustomerEto copy = util.getMapper(CustomerEto.class, CustomerEto.class).map(customer);
+
+    // then
+    assertNotSame(deliveryAddresses, copy.getDeliveryAddresses());
+    assertEquals(deliveryAddresses, copy.getDeliveryAddresses());
+  }
+
+  /**
+   * Tests that a {@link net.sf.mmm.util.value.api.ValueConverter} registered for a target type is used
+   * instead of the generic mapping.
+   */
+  @Test
+  public void testConvertWithSpecificConverter() {
+
+    // given
+    DefaultComposedValueConverter converter = new DefaultComposedValueConverter();
+    converter.addConverterComponent(new ValueConverterToAddressEto());
+    converter.initialize();
+    TransferObjectUtilImpl util = new TransferObjectUtilImpl();
+    util.setComposedValueConverter(converter);
+    util.initialize();
+    CustomerEntity customerEntity = new CustomerEntity();
+    AddressEntity addressEntity = new AddressEntity();
+    fillAddress(addressEntity);
+    customerEntity.setAddress(addressEntity);
+    customerEntity.setDeliveryAddresses(Arrays.asList(addressEntity));
+
+    // when
+    AddressEto addressEto = util.convertFromEntity(addressEntity, AddressEto.class);
+    CustomerEto customerEto = util.convertFromEntity(customerEntity, CustomerEto.class);
+
+    // then
+    assertEquals(ValueConverterToAddressEto.CITY, addressEto.getCity());
+    assertEquals(ValueConverterToAddressEto.CITY, customerEto.getAddress().getCity());
+    assertEquals(ValueConverterToAddressEto.CITY, customerEto.getDeliveryAddresses().get(0).getCity());
+  }
+
   /**
    * @param address is the {@link Address} to verify for the expected test attributes (see constants).
    */
@@ -113,4 +266,40 @@ public class TransferObjectUtilTest extends Assert {
     address.setStreet(STREET);
     address.setZip(ZIP);
   }
+
+  /**
+   * A custom converter from {@link AddressEntity} to {@link AddressEto} that only sets the city.
+   */
+  private static class ValueConverterToAddressEto extends AbstractSimpleValueConverter<AddressEntity, AddressEto> {
+
+    /** The {@link AddressEto#getCity() city} of the converted {@link AddressEto}. */
+    private static final String CITY = "Converted";
+
+    /**
+     * {@inheritDoc}
+     */
+    public Class<AddressEntity> getSourceType() {
+
+      return AddressEntity.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    public Class<AddressEto> getTargetType() {
+
+      return AddressEto.class;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends AddressEto> T convert(AddressEntity value, Object valueSource, Class<T> targetClass) {
+
+      AddressEto eto = new AddressEto();
+      eto.setCity(CITY);
+      return (T) eto;
+    }
+  }
 }
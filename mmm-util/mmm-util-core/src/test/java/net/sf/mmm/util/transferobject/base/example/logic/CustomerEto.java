@@ -0,0 +1,104 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.transferobject.base.example.logic;
+
+import java.util.List;
+
+import net.sf.mmm.util.transferobject.api.EntityTo;
+
+/**
+ * This is an {@link EntityTo} for a customer that references other {@link EntityTo}s.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public class CustomerEto extends EntityTo<Long> {
+
+  /** UID for serialization. */
+  private static final long serialVersionUID = 6015294867105873398L;
+
+  /** @see #getName() */
+  private String name;
+
+  /** @see #getAge() */
+  private int age;
+
+  /** @see #getAddress() */
+  private AddressEto address;
+
+  /** @see #getDeliveryAddresses() */
+  private List<AddressEto> deliveryAddresses;
+
+  /**
+   * The constructor.
+   */
+  public CustomerEto() {
+
+    super();
+  }
+
+  /**
+   * @return the name of the customer.
+   */
+  public String getName() {
+
+    return this.name;
+  }
+
+  /**
+   * @param name is the name to set.
+   */
+  public void setName(String name) {
+
+    this.name = name;
+  }
+
+  /**
+   * @return the age of the customer.
+   */
+  public int getAge() {
+
+    return this.age;
+  }
+
+  /**
+   * @param age is the age to set.
+   */
+  public void setAge(int age) {
+
+    this.age = age;
+  }
+
+  /**
+   * @return the main address.
+   */
+  public AddressEto getAddress() {
+
+    return this.address;
+  }
+
+  /**
+   * @param address is the address to set.
+   */
+  public void setAddress(AddressEto address) {
+
+    this.address = address;
+  }
+
+  /**
+   * @return the delivery addresses.
+   */
+  public List<AddressEto> getDeliveryAddresses() {
+
+    return this.deliveryAddresses;
+  }
+
+  /**
+   * @param deliveryAddresses are the delivery addresses to set.
+   */
+  public void setDeliveryAddresses(List<AddressEto> deliveryAddresses) {
+
+    this.deliveryAddresses = deliveryAddresses;
+  }
+
+}
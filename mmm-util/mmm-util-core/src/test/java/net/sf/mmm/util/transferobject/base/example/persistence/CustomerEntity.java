@@ -0,0 +1,111 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.transferobject.base.example.persistence;
+
+import java.util.List;
+
+import javax.persistence.Entity;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+
+import net.sf.mmm.util.entity.api.PersistenceEntity;
+
+/**
+ * This is a {@link PersistenceEntity} for a customer that references other entities.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+@Entity
+public class CustomerEntity extends AbstractEntity<Long> {
+
+  /** UID for serialization. */
+  private static final long serialVersionUID = -2465392736251370842L;
+
+  /** @see #getName() */
+  private String name;
+
+  /** @see #getAge() */
+  private int age;
+
+  /** @see #getAddress() */
+  private AddressEntity address;
+
+  /** @see #getDeliveryAddresses() */
+  private List<AddressEntity> deliveryAddresses;
+
+  /**
+   * The constructor.
+   */
+  public CustomerEntity() {
+
+    super();
+  }
+
+  /**
+   * @return the name of the customer.
+   */
+  public String getName() {
+
+    return this.name;
+  }
+
+  /**
+   * @param name is the name to set.
+   */
+  public void setName(String name) {
+
+    this.name = name;
+  }
+
+  /**
+   * @return the age of the customer.
+   */
+  public int getAge() {
+
+    return this.age;
+  }
+
+  /**
+   * @param age is the age to set.
+   */
+  public void setAge(int age) {
+
+    this.age = age;
+  }
+
+  /**
+   * @return the main address.
+   */
+  @OneToOne
+  public AddressEntity getAddress() {
+
+    return this.address;
+  }
+
+  /**
+   * @param address is the address to set.
+   */
+  public void setAddress(AddressEntity address) {
+
+    this.address = address;
+  }
+
+  /**
+   * @return the delivery addresses.
+   */
+  @OneToMany
+  public List<AddressEntity> getDeliveryAddresses() {
+
+    return this.deliveryAddresses;
+  }
+
+  /**
+   * @param deliveryAddresses are the delivery addresses to set.
+   */
+  public void setDeliveryAddresses(List<AddressEntity> deliveryAddresses) {
+
+    this.deliveryAddresses = deliveryAddresses;
+  }
+
+}
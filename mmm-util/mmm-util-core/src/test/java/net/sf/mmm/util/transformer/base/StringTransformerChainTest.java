@@ -3,13 +3,18 @@
 package net.sf.mmm.util.transformer.base;
 
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
 
 import javax.xml.bind.JAXBContext;
 
 import junit.framework.TestCase;
 import net.sf.mmm.util.resource.base.ClasspathResource;
+import net.sf.mmm.util.transformer.api.StringTransformerRule;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -22,6 +27,19 @@ import org.junit.Test;
 @SuppressWarnings("all")
 public class StringTransformerChainTest {
 
+  /** Patterns for {@link #testCompiledEquivalence()} including literal, combinable and other patterns. */
+  private static final String[] PATTERNS = new String[] { "^/doc/", "^/doc", "\\.pdf$", "(?i)\\.pdf$",
+      "\\.(xml|xsl)$", "^/data/config\\.xml$", "config", "/a/", "^/a/b$", "(a|b)+/c", "[0-9]{2}", "^/[a-c]+/",
+      "(x)(y)?z", "\\Q/a.\\E", "a.b", "^$", ".*", "\\bfoo", "(\\w)\\1", "(?<n>a)b", "^.*\\.txt$", "doc/.*", "/\\.",
+      "\\.$", "^/doc/.*$", "^\\$x", "x*", "$" };
+
+  /** Replacements for {@link #testCompiledEquivalence()}. */
+  private static final String[] REPLACEMENTS = new String[] { "", "/", "doc", "a", ".txt", "\n", "$0$0" };
+
+  /** Tokens for the values of {@link #testCompiledEquivalence()}. */
+  private static final String[] TOKENS = new String[] { "/", "doc", "data", "a", "b", "c", "x", "y", "z", ".",
+      "pdf", "PDF", "xml", "config", "12", "foo", "aa", "txt", "$", "\n" };
+
   @Test
   public void testUnmarshall() throws Exception {
 
@@ -46,4 +64,62 @@ public class StringTransformerChainTest {
       inStream.close();
     }
   }
+
+  private StringTransformerChain createChain(Random random, int depth, List<StringTransformerRule> allRules) {
+
+    StringTransformerChain parent = null;
+    if ((depth > 0) && random.nextBoolean()) {
+      parent = createChain(random, depth - 1, allRules);
+    }
+    StringTransformerRule[] rules = new StringTransformerRule[random.nextInt(10)];
+    for (int i = 0; i < rules.length; i++) {
+      Pattern pattern;
+      if (random.nextInt(20) == 0) {
+        pattern = Pattern.compile("\\.PDF$", Pattern.CASE_INSENSITIVE);
+      } else {
+        pattern = Pattern.compile(PATTERNS[random.nextInt(PATTERNS.length)]);
+      }
+      rules[i] = new RegexStringTransformerRule(pattern, REPLACEMENTS[random.nextInt(REPLACEMENTS.length)],
+          random.nextBoolean(), random.nextInt(4) == 0);
+      allRules.add(rules[i]);
+    }
+    return new StringTransformerChain("chain" + depth, parent, rules);
+  }
+
+  private String transformSequential(List<StringTransformerRule> rules, String original) {
+
+    String value = original;
+    for (StringTransformerRule rule : rules) {
+      String transformed = rule.transform(value);
+      if ((transformed != value) && (rule.isStopOnMatch())) {
+        return transformed;
+      }
+      value = transformed;
+    }
+    return value;
+  }
+
+  /**
+   * Checks that a {@link StringTransformerChain} (that is compiled internally) returns the same results as
+   * the sequential evaluation of its rules for random rules and values.
+   */
+  @Test
+  public void testCompiledEquivalence() {
+
+    Random random = new Random(4711);
+    for (int chainCount = 0; chainCount < 300; chainCount++) {
+      // the rules of the parents are applied first
+      List<StringTransformerRule> allRules = new ArrayList<StringTransformerRule>();
+      StringTransformerChain chain = createChain(random, 2, allRules);
+      for (int valueCount = 0; valueCount < 200; valueCount++) {
+        StringBuilder buffer = new StringBuilder();
+        int tokenCount = random.nextInt(9);
+        for (int i = 0; i < tokenCount; i++) {
+          buffer.append(TOKENS[random.nextInt(TOKENS.length)]);
+        }
+        String value = buffer.toString();
+        Assert.assertEquals(value, transformSequential(allRules, value), chain.transform(value));
+      }
+    }
+  }
 }
@@ -0,0 +1,100 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.validation.base;
+
+import javax.validation.Validator;
+import javax.validation.constraints.Max;
+
+import net.sf.mmm.util.validation.api.ValidationFailure;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is the test-case for {@link ValidatorPlanJsr303}.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ * @since 4.0.0
+ */
+public class ValidatorPlanJsr303Test extends Assert {
+
+  /**
+   * @return the {@link Validator} to use for testing.
+   */
+  protected Validator getValidator() {
+
+    return new ValidatorJsr303Test().getValidator();
+  }
+
+  /**
+   * Tests {@link ValidatorPlanJsr303#getPropertyValidator(Class, String, Class)}.
+   */
+  @Test
+  public void testPropertyValidator() {
+
+    ValidatorPlanJsr303 plan = new ValidatorPlanJsr303(getValidator());
+    ValidatorJsr303<String> mandatoryValidator = plan.getPropertyValidator(PlanBean.class, "mandatoryString",
+        String.class);
+    assertSame(mandatoryValidator, plan.getPropertyValidator(PlanBean.class, "mandatoryString", String.class));
+    assertTrue(mandatoryValidator.isConstrained());
+    assertTrue(mandatoryValidator.isMandatory());
+    assertNull(mandatoryValidator.validate("value"));
+    ValidationFailure failure = mandatoryValidator.validate(null);
+    assertNotNull(failure);
+    assertEquals("has to be filled", failure.getMessage());
+
+    ValidatorJsr303<String> unconstrainedValidator = plan.getPropertyValidator(PlanBean.class, "comment",
+        String.class);
+    assertFalse(unconstrainedValidator.isConstrained());
+    assertFalse(unconstrainedValidator.isMandatory());
+    assertNull(unconstrainedValidator.validate(null));
+
+    ValidatorJsr303<Integer> primitiveValidator = plan.getPropertyValidator(PlanBean.class, "count", int.class);
+    assertTrue(primitiveValidator.isMandatory());
+    assertNotNull(primitiveValidator.validate(null));
+    assertNotNull(primitiveValidator.validate(Integer.valueOf(42)));
+    assertNull(primitiveValidator.validate(Integer.valueOf(7)));
+  }
+
+  @SuppressWarnings("javadoc")
+  public static class PlanBean {
+
+    @Mandatory
+    private String mandatoryString;
+
+    @Max(10)
+    private int count;
+
+    private String comment;
+
+    public String getMandatoryString() {
+
+      return this.mandatoryString;
+    }
+
+    public void setMandatoryString(String mandatoryString) {
+
+      this.mandatoryString = mandatoryString;
+    }
+
+    public int getCount() {
+
+      return this.count;
+    }
+
+    public void setCount(int count) {
+
+      this.count = count;
+    }
+
+    public String getComment() {
+
+      return this.comment;
+    }
+
+    public void setComment(String comment) {
+
+      this.comment = comment;
+    }
+  }
+}
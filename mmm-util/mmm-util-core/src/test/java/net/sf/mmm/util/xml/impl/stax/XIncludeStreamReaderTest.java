@@ -0,0 +1,154 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.xml.impl.stax;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamReader;
+
+import net.sf.mmm.util.resource.api.DataResource;
+import net.sf.mmm.util.resource.base.ClasspathResource;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * This is the test-case for {@link XIncludeStreamReader}.
+ * 
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ */
+public class XIncludeStreamReaderTest {
+
+  /** The expected result of {@link #read(XMLStreamReader)}. */
+  private static final String EXPECTED = "<root><item id=1>first</item><item id=2>second</item><middle name=middle></middle>"
+      + "<item id=1>first</item><item id=2>second</item>"
+      + "<fragment><item id=1>first</item><item id=2>second</item></fragment><fallback></fallback></root>";
+
+  /**
+   * @param reader is the {@link XMLStreamReader} to read.
+   * @return a simplified textual representation of the XML.
+   */
+  private String read(XMLStreamReader reader) throws Exception {
+
+    StringBuilder buffer = new StringBuilder();
+    try {
+      while (reader.hasNext()) {
+        int eventType = reader.next();
+        if (eventType == XMLStreamConstants.START_ELEMENT) {
+          buffer.append('<');
+          buffer.append(reader.getLocalName());
+          for (int i = 0; i < reader.getAttributeCount(); i++) {
+            buffer.append(' ');
+            buffer.append(reader.getAttributeLocalName(i));
+            buffer.append('=');
+            buffer.append(reader.getAttributeValue(i));
+          }
+          buffer.append('>');
+        } else if (eventType == XMLStreamConstants.END_ELEMENT) {
+          buffer.append("</");
+          buffer.append(reader.getLocalName());
+          buffer.append('>');
+        } else if ((eventType == XMLStreamConstants.CHARACTERS) && !reader.isWhiteSpace()) {
+          buffer.append(reader.getText());
+        }
+      }
+    } finally {
+      reader.close();
+    }
+    return buffer.toString();
+  }
+
+  /**
+   * @return the {@link DataResource} of the test XML.
+   */
+  private DataResource getResource() {
+
+    return new ClasspathResource(XIncludeStreamReaderTest.class, ".xml", true);
+  }
+
+  /**
+   * Tests XInclude without {@link XIncludeCache}.
+   */
+  @Test
+  public void testWithoutCache() throws Exception {
+
+    XMLStreamReader reader = new XIncludeStreamReader(XMLInputFactory.newInstance(), getResource());
+    Assert.assertEquals(EXPECTED, read(reader));
+  }
+
+  /**
+   * Tests XInclude with {@link XIncludeCache}.
+   */
+  @Test
+  public void testWithCache() throws Exception {
+
+    XIncludeCache cache = new XIncludeCache();
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    Assert.assertEquals(EXPECTED, read(new XIncludeStreamReader(factory, getResource(), cache)));
+    Assert.assertEquals(2, cache.getSize());
+    // now everything is replayed from the cache...
+    Assert.assertEquals(EXPECTED, read(new XIncludeStreamReader(factory, getResource(), cache)));
+    Assert.assertEquals(2, cache.getSize());
+  }
+
+  /**
+   * Tests that {@link StreamReaderBuffer} replays the namespace information of the recorded XML.
+   */
+  @Test
+  public void testStreamReaderBufferNamespaces() throws Exception {
+
+    DataResource fragment = getResource().navigate("XIncludeStreamReaderTestFragment.xml");
+    XMLStreamReader xmlReader = XMLInputFactory.newInstance().createXMLStreamReader(fragment.openStream());
+    StreamReaderBuffer buffer = StreamReaderBuffer.record(xmlReader, fragment.getUri());
+    XMLStreamReader reader = buffer.createStreamReader();
+    Assert.assertEquals(XMLStreamConstants.START_DOCUMENT, reader.getEventType());
+    Assert.assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag());
+    Assert.assertEquals("fragment", reader.getLocalName());
+    Assert.assertEquals(1, reader.getNamespaceCount());
+    Assert.assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag());
+    Assert.assertEquals("item", reader.getLocalName());
+    Assert.assertEquals("http://m-m-m.sf.net/test/fragment", reader.getNamespaceURI());
+    Assert.assertEquals("f", reader.getNamespaceContext().getPrefix("http://m-m-m.sf.net/test/fragment"));
+    Assert.assertEquals("1", reader.getAttributeValue(null, "id"));
+    Assert.assertEquals("first", reader.getElementText());
+  }
+
+  /**
+   * Tests that {@link StreamReaderBuffer} retains the namespaces declared outside of a recorded XPointer
+   * fragment.
+   */
+  @Test
+  public void testStreamReaderBufferInheritedNamespaces() throws Exception {
+
+    DataResource fragment = getResource().navigate("XIncludeStreamReaderTestFragment.xml");
+    XMLStreamReader xmlReader = XMLInputFactory.newInstance().createXMLStreamReader(fragment.openStream());
+    XMLStreamReader xpointerReader = new XPointerStreamReader(xmlReader, "element(/1/*)");
+    StreamReaderBuffer buffer = StreamReaderBuffer.record(xpointerReader, fragment.getUri());
+    XMLStreamReader reader = buffer.createStreamReader();
+    for (int i = 0; i < 2; i++) {
+      Assert.assertEquals(XMLStreamConstants.START_ELEMENT, reader.nextTag());
+      Assert.assertEquals("item", reader.getLocalName());
+      Assert.assertEquals(1, reader.getNamespaceCount());
+      Assert.assertEquals("f", reader.getNamespacePrefix(0));
+      Assert.assertEquals("http://m-m-m.sf.net/test/fragment", reader.getNamespaceURI(0));
+      Assert.assertEquals("http://m-m-m.sf.net/test/fragment", reader.getNamespaceContext().getNamespaceURI("f"));
+      reader.getElementText();
+    }
+  }
+
+  /**
+   * Tests that {@link XIncludeCache} evicts the least recently used entry if its maximum size is exceeded.
+   */
+  @Test
+  public void testCacheEviction() throws Exception {
+
+    XIncludeCache cache = new XIncludeCache(1);
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    Assert.assertEquals(EXPECTED, read(new XIncludeStreamReader(factory, getResource(), cache)));
+    Assert.assertEquals(1, cache.getSize());
+    DataResource fragment = getResource().navigate("XIncludeStreamReaderTestFragment.xml");
+    Assert.assertNull(cache.get(fragment, "element(/1/*)"));
+    Assert.assertNotNull(cache.get(fragment, null));
+  }
+
+}
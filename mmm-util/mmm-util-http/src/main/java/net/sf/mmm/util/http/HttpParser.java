@@ -4,13 +4,14 @@ package net.sf.mmm.util.http;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 import net.sf.mmm.util.filter.api.CharFilter;
-import net.sf.mmm.util.scanner.base.CharSequenceScanner;
 
 /**
- * This is a utility class used to parse {@link HttpMessage HTTP-messages}.
+ * This is a utility class used to parse {@link HttpMessage HTTP-messages} from an {@link InputStream}. For
+ * non-blocking I/O use {@link HttpRequestParser} directly.
  * 
  * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
  */
@@ -20,7 +21,7 @@ public final class HttpParser {
   private static final Charset CHARSET_US_ASCII = Charset.forName("US-ASCII");
 
   /** char-filter for a token as defined by the HTTP specification */
-  private static final CharFilter TOKEN_FILTER = new CharFilter() {
+  static final CharFilter TOKEN_FILTER = new CharFilter() {
 
     /**
      * {@inheritDoc}
@@ -50,91 +51,6 @@ public final class HttpParser {
     super();
   }
 
-  /**
-   * This method parses a single line of an HTTP header from the given <code>stream</code>. It (re)uses the
-   * given <code>buffer</code> to cache bytes while reading. To convert the read bytes to a string the given
-   * <code>charset</code> is used.
-   * 
-   * @param stream is the input stream to read from.
-   * @param buffer is where the bytes can be cached.
-   * @param charset is used to convert the bytes to a string.
-   * @return the parsed string or <code>null</code> if the <code>stream</code> is already at EOF.
-   * @throws IOException if the operation failes with an I/O problem.
-   */
-  private static String parseLine(InputStream stream, byte[] buffer, Charset charset) throws IOException {
-
-    StringBuffer stringBuffer = null;
-    int c = stream.read();
-    if (c < 0) {
-      // EOF
-      return null;
-    }
-    int bufferIndex = 0;
-    while (c >= 0) {
-      if (c == '\n') {
-        break;
-      } else if (c != '\r') {
-        buffer[bufferIndex++] = (byte) c;
-        if (bufferIndex == buffer.length) {
-          String part = new String(buffer, 0, bufferIndex, charset);
-          if (stringBuffer == null) {
-            stringBuffer = new StringBuffer(part);
-          } else {
-            stringBuffer.append(part);
-          }
-          bufferIndex = 0;
-        }
-      }
-      c = stream.read();
-    }
-    String s = new String(buffer, 0, bufferIndex, charset);
-    if (stringBuffer != null) {
-      stringBuffer.append(s);
-      s = stringBuffer.toString();
-    }
-    return s;
-  }
-
-  /**
-   * This method parses the HTTP header properties from the given <code>stream</code>. This method should be
-   * called after the first line has been read and an HTTP-version greator or equal to "1.0" has been
-   * detected.
-   * 
-   * @param stream is the stream to read from.
-   * @param message is the HTTP-message where to {@link HttpMessage#setHeaderProperty(String, String) set} the
-   *        parsed properties.
-   * @param charset is the charset used to parse the properties.
-   * @param buffer is a buffer used to cache bytes.
-   * @throws IOException if the operation failes with an I/O problem.
-   */
-  private static void parseProperties(InputStream stream, HttpMessage message, Charset charset, byte[] buffer)
-      throws IOException {
-
-    String line = parseLine(stream, buffer, charset);
-    String currentProperty = null;
-    while ((line != null) && (line.length() > 0)) {
-      char c = line.charAt(0);
-      if ((c == ' ') || (c == '\t')) {
-        // LWS
-        if (currentProperty != null) {
-          message.appendHeaderProperty(currentProperty, line);
-        }
-      } else {
-        CharSequenceScanner parser = new CharSequenceScanner(line);
-        String property = parser.readWhile(TOKEN_FILTER);
-        c = parser.forceNext();
-        if (c == ':') {
-          c = parser.forceNext();
-          parser.skipWhile(CharFilter.WHITESPACE_FILTER);
-          currentProperty = property;
-          String value = parser.read(Integer.MAX_VALUE);
-          message.appendHeaderProperty(property, value);
-        }
-      }
-      line = parseLine(stream, buffer, charset);
-    }
-  }
-
   /**
    * This method parses the HTTP-header from the given <code>stream</code> and applies all information to the
    * given <code>request</code>. After this method has been called, the given <code>stream</code> is pointing
@@ -163,29 +79,84 @@ public final class HttpParser {
    */
   public static void parseRequest(InputStream stream, HttpRequest request, Charset charset) throws IOException {
 
+    HttpRequestParser parser = new HttpRequestParser(charset);
+    parser.reset(request);
     byte[] buffer = new byte[256];
-    String line = parseLine(stream, buffer, charset);
-    CharSequenceScanner parser = new CharSequenceScanner(line);
-    String method = parser.readUntil(' ', false);
-    if (method == null) {
-      throw new IllegalStateException("Illegal HTTP header!");
+    ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+    boolean markSupported = stream.markSupported();
+    boolean done = false;
+    while (!done) {
+      int length;
+      if (markSupported) {
+        stream.mark(buffer.length);
+        length = stream.read(buffer);
+      } else {
+        length = readLine(stream, buffer);
+      }
+      if (length < 0) {
+        byteBuffer.clear();
+        byteBuffer.limit(0);
+        done = parser.parse(byteBuffer, true);
+      } else {
+        byteBuffer.clear();
+        byteBuffer.limit(length);
+        done = parser.parse(byteBuffer);
+        if (done && markSupported) {
+          // only consume the header
+          stream.reset();
+          skip(stream, byteBuffer.position());
+        }
+      }
+    }
+  }
+
+  /**
+   * This method reads bytes from the given <code>stream</code> up to the next line-feed. As the header may end
+   * with any line, it never reads beyond the end of a line.
+   * 
+   * @param stream is the input stream to read from.
+   * @param buffer is where the bytes are read to.
+   * @return the number of bytes read or <code>-1</code> if the <code>stream</code> is already at EOF.
+   * @throws IOException if the operation failes with an I/O problem.
+   */
+  private static int readLine(InputStream stream, byte[] buffer) throws IOException {
+
+    int length = 0;
+    while (length < buffer.length) {
+      int c = stream.read();
+      if (c < 0) {
+        break;
+      }
+      buffer[length++] = (byte) c;
+      if (c == '\n') {
+        break;
+      }
     }
-    request.setMethod(method.toUpperCase());
-    String uri = parser.readUntil(' ', true);
-    if (uri == null) {
-      throw new IllegalStateException("Illegal HTTP header!");
+    if (length == 0) {
+      return -1;
     }
-    request.setUri(uri);
-    if (parser.hasNext()) {
-      boolean compliant = parser.expect(HttpMessage.VERSION_PREFIX, true);
-      if (!compliant) {
-        throw new IllegalStateException("Illegal HTTP header!");
+    return length;
+  }
+
+  /**
+   * This method skips the given number of bytes from the given <code>stream</code>.
+   * 
+   * @param stream is the input stream to skip.
+   * @param count is the number of bytes to skip.
+   * @throws IOException if the operation failes with an I/O problem.
+   */
+  private static void skip(InputStream stream, int count) throws IOException {
+
+    long remaining = count;
+    while (remaining > 0) {
+      long skipped = stream.skip(remaining);
+      if (skipped <= 0) {
+        if (stream.read() < 0) {
+          return;
+        }
+        skipped = 1;
       }
-      String version = parser.read(Integer.MAX_VALUE);
-      request.setVersion(version);
-      parseProperties(stream, request, charset, buffer);
-    } else {
-      request.setVersion(HttpMessage.VERSION_0_9);
+      remaining = remaining - skipped;
     }
   }
 
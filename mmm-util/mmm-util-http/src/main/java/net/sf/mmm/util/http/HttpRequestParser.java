@@ -0,0 +1,457 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.http;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import net.sf.mmm.util.filter.api.CharFilter;
+
+/**
+ * This is a parser for the header of an {@link HttpRequest} that operates on {@link ByteBuffer}s. Unlike
+ * reading from an {@link java.io.InputStream} it never blocks: the data is {@link #parse(ByteBuffer) fed}
+ * incrementally as it arrives (e.g. from a non-blocking {@link java.nio.channels.SocketChannel} or from a
+ * datagram) and the parser keeps its state between the calls.<br/>
+ * The lines are scanned for the line-feed in bulk and decoded directly from the bytes. Only a line that is
+ * split across multiple calls is copied into an internal buffer that is reused. Recurring header names are
+ * interned in a small cache so the same {@link String} instances are reused.<br/>
+ * <b>ATTENTION:</b><br/>
+ * An instance of this class is NOT thread-safe. However it can be reused for multiple requests via
+ * {@link #reset(HttpRequest)}. The {@link Charset} has to be ASCII compatible as required for HTTP.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ */
+public class HttpRequestParser {
+
+  /** the default encoding */
+  private static final Charset CHARSET_US_ASCII = Charset.forName("US-ASCII");
+
+  /** The default maximum length of a single line. */
+  private static final int DEFAULT_MAX_LINE_LENGTH = 8192;
+
+  /** The size of the {@link #names} cache (has to be a power of two). */
+  private static final int NAME_CACHE_SIZE = 128;
+
+  /** The names that are initially {@link #internName(byte[], int, int) interned}. */
+  private static final String[] COMMON_NAMES = new String[] { HttpRequest.METHOD_GET, HttpRequest.METHOD_HEAD,
+      HttpRequest.METHOD_POST, HttpRequest.METHOD_PUT, HttpRequest.METHOD_DELETE, HttpRequest.METHOD_OPTIONS,
+      HttpRequest.METHOD_TRACE, HttpRequest.METHOD_CONNECT, HttpRequest.METHOD_NOTIFY, HttpRequest.METHOD_M_SEARCH,
+      HttpMessage.HEADER_PROPERTY_CONTENT_ENCODING, HttpMessage.HEADER_PROPERTY_CONTENT_LENGTH,
+      HttpMessage.HEADER_PROPERTY_CONTENT_TYPE, HttpMessage.HEADER_PROPERTY_CACHE_CONTROL,
+      HttpMessage.HEADER_PROPERTY_DATE, HttpMessage.HEADER_PROPERTY_EXPIRES, HttpMessage.HEADER_PROPERTY_FROM,
+      HttpMessage.HEADER_PROPERTY_IF_MODIFIED_SINCE, HttpMessage.HEADER_PROPERTY_LAST_MODIFIED,
+      HttpMessage.HEADER_PROPERTY_LOCATION, HttpMessage.HEADER_PROPERTY_PRAGMA, HttpMessage.HEADER_PROPERTY_REFERER,
+      HttpMessage.HEADER_PROPERTY_SERVER, HttpMessage.HEADER_PROPERTY_USER_AGENT,
+      HttpMessage.HEADER_PROPERTY_WWW_AUTHENTICATE, HttpMessage.HEADER_PROPERTY_HOST, "Accept", "Accept-Encoding",
+      "Accept-Language", "Connection", "Transfer-Encoding" };
+
+  /**
+   * The bytes accepted by {@link HttpParser#TOKEN_FILTER}. Bytes outside of the ASCII range are accepted as
+   * the characters they are decoded to are accepted.
+   */
+  private static final boolean[] TOKEN_BYTES = new boolean[256];
+
+  /** The ASCII bytes accepted by {@link CharFilter#WHITESPACE_FILTER}. */
+  private static final boolean[] WHITESPACE_BYTES = new boolean[128];
+
+  static {
+    for (int i = 0; i < TOKEN_BYTES.length; i++) {
+      TOKEN_BYTES[i] = (i >= 128) || HttpParser.TOKEN_FILTER.accept((char) i);
+    }
+    for (int i = 0; i < WHITESPACE_BYTES.length; i++) {
+      WHITESPACE_BYTES[i] = CharFilter.WHITESPACE_FILTER.accept((char) i);
+    }
+  }
+
+  /** State while parsing the request-line. */
+  private static final int STATE_REQUEST_LINE = 0;
+
+  /** State while parsing the header properties. */
+  private static final int STATE_PROPERTIES = 1;
+
+  /** State when the header has been parsed completely. */
+  private static final int STATE_DONE = 2;
+
+  /** @see #HttpRequestParser(Charset, int) */
+  private final Charset charset;
+
+  /** @see #HttpRequestParser(Charset, int) */
+  private final int maxLineLength;
+
+  /** The cache of interned names indexed by their {@link String#hashCode() hash}. */
+  private final String[] names;
+
+  /** The buffer for a line that is split across multiple calls of {@link #parse(ByteBuffer)}. */
+  private ByteBuffer lineBuffer;
+
+  /** The buffer used to decode ASCII bytes. */
+  private char[] chars;
+
+  /** @see #reset(HttpRequest) */
+  private HttpRequest request;
+
+  /** The name of the current header property for continuation lines. */
+  private String currentProperty;
+
+  /** The current state. */
+  private int state;
+
+  /**
+   * The constructor using US-ASCII as {@link Charset}.
+   */
+  public HttpRequestParser() {
+
+    this(CHARSET_US_ASCII, DEFAULT_MAX_LINE_LENGTH);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param charset is the {@link Charset} used to convert the bytes to strings. It has to be ASCII compatible.
+   */
+  public HttpRequestParser(Charset charset) {
+
+    this(charset, DEFAULT_MAX_LINE_LENGTH);
+  }
+
+  /**
+   * The constructor.
+   *
+   * @param charset is the {@link Charset} used to convert the bytes to strings. It has to be ASCII compatible.
+   * @param maxLineLength is the maximum length of a single line in bytes. A longer line is rejected as illegal.
+   */
+  public HttpRequestParser(Charset charset, int maxLineLength) {
+
+    super();
+    this.charset = charset;
+    this.maxLineLength = maxLineLength;
+    this.names = new String[NAME_CACHE_SIZE];
+    for (String name : COMMON_NAMES) {
+      this.names[getNameIndex(name.hashCode())] = name;
+    }
+    this.lineBuffer = ByteBuffer.allocate(256);
+    this.chars = new char[256];
+    this.state = STATE_DONE;
+  }
+
+  /**
+   * This method starts parsing a new request. It has to be called before the first invocation of
+   * {@link #parse(ByteBuffer)} and may be called again to reuse this parser for the next request.
+   *
+   * @param httpRequest is where to apply the parsed information to. Simply supply a new instance.
+   */
+  public void reset(HttpRequest httpRequest) {
+
+    this.request = httpRequest;
+    this.currentProperty = null;
+    this.lineBuffer.clear();
+    this.state = STATE_REQUEST_LINE;
+  }
+
+  /**
+   * This method determines if the header of the current request has been parsed completely.
+   *
+   * @return <code>true</code> if the header is complete, <code>false</code> if more data is required.
+   */
+  public boolean isDone() {
+
+    return (this.state == STATE_DONE);
+  }
+
+  /**
+   * This method parses the available bytes of the given <code>buffer</code>.
+   *
+   * @see #parse(ByteBuffer, boolean)
+   *
+   * @param buffer is the buffer with the next bytes of the request.
+   * @return <code>true</code> if the header is complete, <code>false</code> if more data is required.
+   */
+  public boolean parse(ByteBuffer buffer) {
+
+    return parse(buffer, false);
+  }
+
+  /**
+   * This method parses the available bytes of the given <code>buffer</code>. Bytes of an incomplete line are
+   * buffered internally so the next call continues where this one stopped. When the header is complete, the
+   * {@link ByteBuffer#position() position} of the <code>buffer</code> is pointing to the beginning of the
+   * HTTP-body and the remaining bytes are NOT consumed.
+   *
+   * @param buffer is the buffer with the next bytes of the request.
+   * @param endOfInput - <code>true</code> if no more bytes will follow (e.g. EOF or the end of a datagram),
+   *        <code>false</code> otherwise. In the first case the header is completed with the bytes available.
+   * @return <code>true</code> if the header is complete, <code>false</code> if more data is required.
+   */
+  public boolean parse(ByteBuffer buffer, boolean endOfInput) {
+
+    if (this.request == null) {
+      throw new IllegalStateException("No request to parse!");
+    }
+    while ((this.state != STATE_DONE) && buffer.hasRemaining()) {
+      int start = buffer.position();
+      int end = buffer.limit();
+      int lineEnd = indexOfLineFeed(buffer, start, end);
+      if (lineEnd < 0) {
+        appendLine(buffer, start, end);
+        buffer.position(end);
+      } else {
+        buffer.position(lineEnd + 1);
+        if ((this.lineBuffer.position() == 0) && buffer.hasArray()) {
+          // zero-copy
+          if ((lineEnd - start) > this.maxLineLength) {
+            throw new IllegalStateException("Illegal HTTP header!");
+          }
+          int offset = buffer.arrayOffset();
+          parseLine(buffer.array(), offset + start, offset + lineEnd);
+        } else {
+          appendLine(buffer, start, lineEnd);
+          parseLine(this.lineBuffer.array(), 0, this.lineBuffer.position());
+          this.lineBuffer.clear();
+        }
+      }
+    }
+    if (endOfInput && (this.state != STATE_DONE)) {
+      if (this.lineBuffer.position() > 0) {
+        parseLine(this.lineBuffer.array(), 0, this.lineBuffer.position());
+        this.lineBuffer.clear();
+      } else if (this.state == STATE_REQUEST_LINE) {
+        throw new IllegalStateException("Illegal HTTP header!");
+      }
+      this.state = STATE_DONE;
+    }
+    return (this.state == STATE_DONE);
+  }
+
+  /**
+   * This method finds the next line-feed.
+   *
+   * @param buffer is the buffer to scan.
+   * @param start is the index where to start.
+   * @param end is the index where to stop.
+   * @return the index of the line-feed or <code>-1</code> if NOT found.
+   */
+  private static int indexOfLineFeed(ByteBuffer buffer, int start, int end) {
+
+    if (buffer.hasArray()) {
+      byte[] bytes = buffer.array();
+      int offset = buffer.arrayOffset();
+      for (int i = start + offset; i < end + offset; i++) {
+        if (bytes[i] == '\n') {
+          return i - offset;
+        }
+      }
+    } else {
+      for (int i = start; i < end; i++) {
+        if (buffer.get(i) == '\n') {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * This method appends the specified bytes of an incomplete line to the {@link #lineBuffer}.
+   *
+   * @param buffer is the buffer to copy from.
+   * @param start is the index of the first byte to copy.
+   * @param end is the index after the last byte to copy.
+   */
+  private void appendLine(ByteBuffer buffer, int start, int end) {
+
+    int length = end - start;
+    int required = this.lineBuffer.position() + length;
+    if (required > this.maxLineLength) {
+      throw new IllegalStateException("Illegal HTTP header!");
+    }
+    if (required > this.lineBuffer.capacity()) {
+      int capacity = Math.min(Math.max(required, this.lineBuffer.capacity() * 2), this.maxLineLength);
+      ByteBuffer newBuffer = ByteBuffer.allocate(capacity);
+      this.lineBuffer.flip();
+      newBuffer.put(this.lineBuffer);
+      this.lineBuffer = newBuffer;
+    }
+    ByteBuffer source = buffer.duplicate();
+    source.limit(end);
+    source.position(start);
+    this.lineBuffer.put(source);
+  }
+
+  /**
+   * This method parses a single line.
+   *
+   * @param bytes are the bytes containing the line.
+   * @param start is the index of the first byte of the line.
+   * @param lineEnd is the index of the line-feed terminating the line.
+   */
+  private void parseLine(byte[] bytes, int start, int lineEnd) {
+
+    int end = lineEnd;
+    while ((end > start) && (bytes[end - 1] == '\r')) {
+      end--;
+    }
+    if (this.state == STATE_REQUEST_LINE) {
+      parseRequestLine(bytes, start, end);
+    } else {
+      parseProperty(bytes, start, end);
+    }
+  }
+
+  /**
+   * This method parses the request-line (e.g. "GET / HTTP/1.1").
+   *
+   * @param bytes are the bytes containing the line.
+   * @param start is the index of the first byte of the line.
+   * @param end is the index after the last byte of the line.
+   */
+  private void parseRequestLine(byte[] bytes, int start, int end) {
+
+    int methodEnd = indexOf(bytes, start, end, ' ');
+    if (methodEnd < 0) {
+      throw new IllegalStateException("Illegal HTTP header!");
+    }
+    this.request.setMethod(internName(bytes, start, methodEnd).toUpperCase());
+    int uriStart = methodEnd + 1;
+    int uriEnd = indexOf(bytes, uriStart, end, ' ');
+    if (uriEnd < 0) {
+      uriEnd = end;
+    }
+    this.request.setUri(decode(bytes, uriStart, uriEnd));
+    int versionStart = uriEnd + 1;
+    if (versionStart < end) {
+      int versionEnd = versionStart + HttpMessage.VERSION_PREFIX.length();
+      if ((versionEnd > end)
+          || !HttpMessage.VERSION_PREFIX.equalsIgnoreCase(decode(bytes, versionStart, versionEnd))) {
+        throw new IllegalStateException("Illegal HTTP header!");
+      }
+      this.request.setVersion(decode(bytes, versionEnd, end));
+      this.state = STATE_PROPERTIES;
+    } else {
+      this.request.setVersion(HttpMessage.VERSION_0_9);
+      this.state = STATE_DONE;
+    }
+  }
+
+  /**
+   * This method parses a line of the header properties. An empty line terminates the header.
+   *
+   * @param bytes are the bytes containing the line.
+   * @param start is the index of the first byte of the line.
+   * @param end is the index after the last byte of the line.
+   */
+  private void parseProperty(byte[] bytes, int start, int end) {
+
+    if (start == end) {
+      this.state = STATE_DONE;
+      return;
+    }
+    byte first = bytes[start];
+    if ((first == ' ') || (first == '\t')) {
+      // LWS
+      if (this.currentProperty != null) {
+        this.request.appendHeaderProperty(this.currentProperty, decode(bytes, start, end));
+      }
+    } else {
+      int nameEnd = start;
+      while ((nameEnd < end) && TOKEN_BYTES[bytes[nameEnd] & 0xFF]) {
+        nameEnd++;
+      }
+      if ((nameEnd < end) && (bytes[nameEnd] == ':')) {
+        String property = internName(bytes, start, nameEnd);
+        int valueStart = nameEnd + 1;
+        while ((valueStart < end) && (bytes[valueStart] >= 0) && WHITESPACE_BYTES[bytes[valueStart]]) {
+          valueStart++;
+        }
+        this.currentProperty = property;
+        this.request.appendHeaderProperty(property, decode(bytes, valueStart, end));
+      }
+    }
+  }
+
+  /**
+   * @param bytes are the bytes to scan.
+   * @param start is the index where to start.
+   * @param end is the index where to stop.
+   * @param b is the byte to find.
+   * @return the index of the given byte or <code>-1</code> if NOT found.
+   */
+  private static int indexOf(byte[] bytes, int start, int end, char b) {
+
+    for (int i = start; i < end; i++) {
+      if (bytes[i] == b) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * @param hash is the {@link String#hashCode() hash} of a name.
+   * @return the index of the name in the {@link #names} cache.
+   */
+  private static int getNameIndex(int hash) {
+
+    return (hash ^ (hash >>> 16)) & (NAME_CACHE_SIZE - 1);
+  }
+
+  /**
+   * This method decodes a name (method or header property) and reuses the {@link String} instance if the same
+   * name has been decoded before.
+   *
+   * @param bytes are the bytes containing the name.
+   * @param start is the index of the first byte of the name.
+   * @param end is the index after the last byte of the name.
+   * @return the decoded name.
+   */
+  private String internName(byte[] bytes, int start, int end) {
+
+    int hash = 0;
+    for (int i = start; i < end; i++) {
+      byte b = bytes[i];
+      if (b < 0) {
+        return decode(bytes, start, end);
+      }
+      hash = 31 * hash + b;
+    }
+    int index = getNameIndex(hash);
+    String name = this.names[index];
+    if ((name != null) && (name.length() == end - start)) {
+      int i = 0;
+      while ((i < name.length()) && (name.charAt(i) == bytes[start + i])) {
+        i++;
+      }
+      if (i == name.length()) {
+        return name;
+      }
+    }
+    name = decode(bytes, start, end);
+    this.names[index] = name;
+    return name;
+  }
+
+  /**
+   * This method decodes the specified bytes. ASCII bytes are converted directly while other bytes are decoded
+   * using the {@link Charset}.
+   *
+   * @param bytes are the bytes to decode.
+   * @param start is the index of the first byte to decode.
+   * @param end is the index after the last byte to decode.
+   * @return the decoded string.
+   */
+  private String decode(byte[] bytes, int start, int end) {
+
+    int length = end - start;
+    if (length > this.chars.length) {
+      this.chars = new char[Math.max(length, this.chars.length * 2)];
+    }
+    for (int i = 0; i < length; i++) {
+      byte b = bytes[start + i];
+      if (b < 0) {
+        return new String(bytes, start, length, this.charset);
+      }
+      this.chars[i] = (char) b;
+    }
+    return new String(this.chars, 0, length);
+  }
+
+}
@@ -0,0 +1,165 @@
+/* Copyright (c) The m-m-m Team, Licensed under the Apache License, Version 2.0
+ * http://www.apache.org/licenses/LICENSE-2.0 */
+package net.sf.mmm.util.http;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.junit.Test;
+
+/**
+ * This is a test-case for {@link HttpRequestParser} and {@link HttpParser}.
+ *
+ * @author Joerg Hohwiller (hohwille at users.sourceforge.net)
+ */
+@SuppressWarnings("all")
+public class HttpRequestParserTest {
+
+  private static final String HEADER = "NOTIFY * HTTP/1.1\r\n" + "HOST: 239.255.255.250:1900\r\n"
+      + "Cache-Control: max-age=1800\r\n" + "X-Folded: foo\r\n" + " bar\r\n" + "Content-Length:3\r\n" + "\r\n";
+
+  private static final String BODY = "xyz";
+
+  private static final Charset CHARSET = Charset.forName("US-ASCII");
+
+  private void checkRequest(HttpRequest request) {
+
+    assertEquals(HttpRequest.METHOD_NOTIFY, request.getMethod());
+    assertEquals("*", request.getUri());
+    assertEquals(HttpMessage.VERSION_1_1, request.getVersion());
+    assertEquals("239.255.255.250:1900", request.getHeaderProperty(HttpMessage.HEADER_PROPERTY_HOST));
+    assertEquals(1800, request.getCacheControlMaxAge());
+    assertEquals("foo bar", request.getHeaderProperty("x-folded"));
+    assertEquals(Long.valueOf(3), request.getContentLength());
+  }
+
+  @Test
+  public void testParseAtOnce() {
+
+    ByteBuffer buffer = ByteBuffer.wrap((HEADER + BODY).getBytes(CHARSET));
+    HttpRequestParser parser = new HttpRequestParser();
+    HttpRequest request = new HttpRequest();
+    parser.reset(request);
+    assertTrue(parser.parse(buffer));
+    assertTrue(parser.isDone());
+    checkRequest(request);
+    assertEquals(HEADER.length(), buffer.position());
+    assertEquals(BODY.length(), buffer.remaining());
+  }
+
+  @Test
+  public void testParseIncremental() {
+
+    byte[] data = (HEADER + BODY).getBytes(CHARSET);
+    HttpRequestParser parser = new HttpRequestParser();
+    // reuse parser for various split sizes and direct buffers
+    for (int chunkSize = 1; chunkSize <= 7; chunkSize++) {
+      HttpRequest request = new HttpRequest();
+      parser.reset(request);
+      int offset = 0;
+      boolean done = false;
+      ByteBuffer chunk = null;
+      while (!done) {
+        int length = Math.min(chunkSize, data.length - offset);
+        chunk = ByteBuffer.allocateDirect(length);
+        chunk.put(data, offset, length);
+        chunk.flip();
+        done = parser.parse(chunk);
+        offset = offset + chunk.position();
+      }
+      checkRequest(request);
+      assertEquals(HEADER.length(), offset);
+    }
+  }
+
+  @Test
+  public void testParseEndOfInput() {
+
+    HttpRequestParser parser = new HttpRequestParser();
+    HttpRequest request = new HttpRequest();
+    parser.reset(request);
+    assertTrue(parser.parse(ByteBuffer.wrap("get /index.html".getBytes(CHARSET)), true));
+    assertEquals(HttpRequest.METHOD_GET, request.getMethod());
+    assertEquals("/index.html", request.getUri());
+    assertEquals(HttpMessage.VERSION_0_9, request.getVersion());
+
+    request = new HttpRequest();
+    parser.reset(request);
+    assertFalse(parser.parse(ByteBuffer.wrap("GET / HTTP/1.0\nHost: localhost".getBytes(CHARSET))));
+    assertTrue(parser.parse(ByteBuffer.allocate(0), true));
+    assertEquals(HttpMessage.VERSION_1_0, request.getVersion());
+    assertEquals("localhost", request.getHeaderProperty(HttpMessage.HEADER_PROPERTY_HOST));
+
+    parser.reset(new HttpRequest());
+    try {
+      parser.parse(ByteBuffer.wrap("GET / FTP/1.0\r\n".getBytes(CHARSET)));
+      fail("Exception expected");
+    } catch (IllegalStateException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void testMaxLineLength() {
+
+    byte[] data = "GET /a/very/long/uri HTTP/1.1\r\n\r\n".getBytes(CHARSET);
+    // the limit has to be independent of how the bytes are split
+    for (int chunkSize = 1; chunkSize <= data.length; chunkSize = chunkSize * 2) {
+      HttpRequestParser parser = new HttpRequestParser(CHARSET, 10);
+      parser.reset(new HttpRequest());
+      try {
+        for (int offset = 0; offset < data.length; offset = offset + chunkSize) {
+          parser.parse(ByteBuffer.wrap(data, offset, Math.min(chunkSize, data.length - offset)));
+        }
+        fail("Exception expected for chunk size " + chunkSize);
+      } catch (IllegalStateException e) {
+        // expected
+      }
+    }
+  }
+
+  @Test
+  public void testInternNames() {
+
+    HttpRequestParser parser = new HttpRequestParser();
+    HttpRequest request1 = new HttpRequest();
+    parser.reset(request1);
+    parser.parse(ByteBuffer.wrap(HEADER.getBytes(CHARSET)));
+    HttpRequest request2 = new HttpRequest();
+    parser.reset(request2);
+    parser.parse(ByteBuffer.wrap(HEADER.getBytes(CHARSET)));
+    assertSame(HttpRequest.METHOD_NOTIFY, request1.getMethod());
+    assertSame(request1.getMethod(), request2.getMethod());
+  }
+
+  @Test
+  public void testParseStream() throws Exception {
+
+    byte[] data = (HEADER + BODY).getBytes(CHARSET);
+    HttpRequest request = new HttpRequest();
+    InputStream stream = new ByteArrayInputStream(data);
+    HttpParser.parseRequest(stream, request);
+    checkRequest(request);
+    assertEquals('x', stream.read());
+
+    // stream without mark support must not be read beyond the header
+    request = new HttpRequest();
+    stream = new FilterInputStream(new ByteArrayInputStream(data)) {
+
+      @Override
+      public boolean markSupported() {
+
+        return false;
+      }
+    };
+    HttpParser.parseRequest(stream, request);
+    checkRequest(request);
+    assertEquals('x', stream.read());
+  }
+
+}